@@ -0,0 +1,371 @@
+/*
+ * Copyright (C) 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.cloud.teleport.v2.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.UnsynchronizedAppenderBase;
+import java.io.PrintStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * An appender writing the same Json lines as {@link JsonAppender}, from a background thread.
+ *
+ * <p>The logging threads only add their events to a bounded, lock-free ring buffer. A single worker
+ * thread serializes the events, into buffers it reuses, and writes them to stderr in batches. When
+ * the buffer is full, the {@link OverflowPolicy} of the logger of an event decides whether it is
+ * dropped, sampled or written by the logging thread. Events of level WARN and above are never
+ * dropped. The worker thread is parked while the buffer is empty, and woken up by the next event.
+ *
+ * <p>The appender is opt-in, {@code logback.xml} uses the synchronous {@link JsonAppender}. Example
+ * configuration, with a shutdown hook so that the buffered events are written when the JVM exits:
+ *
+ * <pre>{@code
+ * <shutdownHook/>
+ * <appender name="JSON" class="com.google.cloud.teleport.v2.logging.AsyncJsonAppender">
+ *   <bufferSize>8192</bufferSize>
+ *   <overflowPolicy>DROP</overflowPolicy>
+ *   <loggerOverflowPolicy>com.example.ChattyFn=SAMPLE:100</loggerOverflowPolicy>
+ * </appender>
+ * }</pre>
+ *
+ * <p>The number of emitted and dropped events is available from {@link #getEmittedEvents()} and
+ * {@link #getDroppedEvents()}, and dropped events are reported on stderr at most every {@value
+ * #DROP_REPORT_INTERVAL_SECONDS} seconds.
+ */
+public class AsyncJsonAppender extends UnsynchronizedAppenderBase<ILoggingEvent> {
+
+  static final int DEFAULT_BUFFER_SIZE = 8192;
+  static final long DEFAULT_MAX_FLUSH_TIME_MILLIS = 1000;
+  static final long DROP_REPORT_INTERVAL_SECONDS = 10;
+
+  // Maximum number of events serialized before they are written to stderr.
+  private static final int MAX_BATCH_SIZE = 256;
+
+  // Held while writing to stderr, so that the lines written by the worker and by logging threads
+  // on overflow are never interleaved.
+  private static final Object STDERR_LOCK = new Object();
+
+  private int bufferSize = DEFAULT_BUFFER_SIZE;
+  private long maxFlushTimeMillis = DEFAULT_MAX_FLUSH_TIME_MILLIS;
+  private OverflowPolicy overflowPolicy = OverflowPolicy.DROP;
+  // Policies by logger name, the longest matching logger name wins.
+  private final TreeMap<String, OverflowPolicy> loggerOverflowPolicies = new TreeMap<>();
+  private final Map<String, OverflowPolicy> resolvedOverflowPolicies = new ConcurrentHashMap<>();
+
+  private final AtomicLong enqueuedEvents = new AtomicLong();
+  private final AtomicLong emittedEvents = new AtomicLong();
+  private final AtomicLong droppedEvents = new AtomicLong();
+  // Number of enqueued events the worker wrote, only written by the worker.
+  private volatile long processedEvents;
+  // Whether the worker is parked, or about to park, waiting for events.
+  private volatile boolean workerIdle;
+
+  private BoundedRingBuffer<ILoggingEvent> buffer;
+  private Thread worker;
+
+  /** Sets the number of events buffered for the worker thread, rounded up to a power of two. */
+  public void setBufferSize(int bufferSize) {
+    this.bufferSize = bufferSize;
+  }
+
+  public int getBufferSize() {
+    return bufferSize;
+  }
+
+  /** Sets how long {@link #stop()} waits for the buffered events to be written. */
+  public void setMaxFlushTimeMillis(long maxFlushTimeMillis) {
+    this.maxFlushTimeMillis = maxFlushTimeMillis;
+  }
+
+  public long getMaxFlushTimeMillis() {
+    return maxFlushTimeMillis;
+  }
+
+  /** Sets the overflow policy of the loggers without one of their own, DROP by default. */
+  public void setOverflowPolicy(String overflowPolicy) {
+    try {
+      this.overflowPolicy = OverflowPolicy.parse(overflowPolicy);
+    } catch (IllegalArgumentException e) {
+      addError(e.getMessage());
+    }
+  }
+
+  public String getOverflowPolicy() {
+    return overflowPolicy.toString();
+  }
+
+  /**
+   * Sets the overflow policy of a logger and its descendants, as {@code <logger name>=<policy>}.
+   */
+  public void addLoggerOverflowPolicy(String loggerOverflowPolicy) {
+    int separator = loggerOverflowPolicy.lastIndexOf('=');
+    if (separator <= 0) {
+      addError(
+          "Invalid logger overflow policy '"
+              + loggerOverflowPolicy
+              + "', expected <logger name>=<policy>");
+      return;
+    }
+    try {
+      loggerOverflowPolicies.put(
+          loggerOverflowPolicy.substring(0, separator).trim(),
+          OverflowPolicy.parse(loggerOverflowPolicy.substring(separator + 1)));
+    } catch (IllegalArgumentException e) {
+      addError(e.getMessage());
+    }
+  }
+
+  /** Returns the number of events written to stderr. */
+  public long getEmittedEvents() {
+    return emittedEvents.get();
+  }
+
+  /** Returns the number of events dropped because the buffer was full. */
+  public long getDroppedEvents() {
+    return droppedEvents.get();
+  }
+
+  @Override
+  public void start() {
+    if (isStarted()) {
+      return;
+    }
+    if (bufferSize < 1) {
+      addError("Invalid buffer size " + bufferSize);
+      return;
+    }
+    buffer = new BoundedRingBuffer<>(bufferSize);
+    worker = new Thread(new Worker(), "AsyncJsonAppender-" + getName());
+    worker.setDaemon(true);
+    super.start();
+    worker.start();
+  }
+
+  @Override
+  public void stop() {
+    if (!isStarted()) {
+      return;
+    }
+    // The worker writes the remaining events, and exits once the buffer is empty.
+    super.stop();
+    LockSupport.unpark(worker);
+    try {
+      worker.join(maxFlushTimeMillis);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    int remaining = buffer.size();
+    if (worker.isAlive() && remaining > 0) {
+      droppedEvents.addAndGet(remaining);
+      addWarn(remaining + " log events were not written within " + maxFlushTimeMillis + "ms");
+    }
+  }
+
+  @Override
+  protected void append(ILoggingEvent event) {
+    // The worker formats the event later, capture what may change in between.
+    event.prepareForDeferredProcessing();
+    if (buffer.offer(event)) {
+      enqueuedEvents.incrementAndGet();
+      if (workerIdle) {
+        LockSupport.unpark(worker);
+      }
+      return;
+    }
+    if (event.getLevel().isGreaterOrEqual(Level.WARN)
+        || overflowPolicy(event.getLoggerName()).writeOverflowingEvent()) {
+      StringBuilder message = new StringBuilder(128);
+      JsonAppender.appendMessage(event, message);
+      StringBuilder out = new StringBuilder(message.length() + 32);
+      JsonAppender.appendJson(message, event.getLevel().toString(), out);
+      PrintStream err = System.err;
+      synchronized (STDERR_LOCK) {
+        err.print(out);
+        err.flush();
+      }
+      emittedEvents.incrementAndGet();
+    } else {
+      droppedEvents.incrementAndGet();
+    }
+  }
+
+  /** Returns the overflow policy of a logger. */
+  OverflowPolicy overflowPolicy(String loggerName) {
+    return resolvedOverflowPolicies.computeIfAbsent(loggerName, this::resolveOverflowPolicy);
+  }
+
+  private OverflowPolicy resolveOverflowPolicy(String loggerName) {
+    String name = loggerName;
+    while (true) {
+      OverflowPolicy policy = loggerOverflowPolicies.get(name);
+      if (policy != null) {
+        return policy;
+      }
+      int separator = name.lastIndexOf('.');
+      if (separator < 0) {
+        return overflowPolicy;
+      }
+      name = name.substring(0, separator);
+    }
+  }
+
+  /**
+   * Waits until the worker wrote all the events enqueued so far, returns false on timeout.
+   *
+   * <p>Only meant for tests, which read stderr right after logging.
+   */
+  boolean awaitWritten(long timeoutMillis) {
+    long target = enqueuedEvents.get();
+    long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+    while (processedEvents < target) {
+      if (System.nanoTime() > deadline) {
+        return false;
+      }
+      Thread.yield();
+    }
+    return true;
+  }
+
+  /** Serializes the buffered events and writes them to stderr, reusing its buffers. */
+  private class Worker implements Runnable {
+
+    private final StringBuilder message = new StringBuilder(1024);
+    private final StringBuilder out = new StringBuilder(16 * 1024);
+    private final CharsetEncoder encoder =
+        StandardCharsets.UTF_8
+            .newEncoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    private final ByteBuffer bytes = ByteBuffer.allocate(16 * 1024);
+
+    private long reportedDrops;
+    private long lastDropReportNanos = System.nanoTime();
+
+    @Override
+    public void run() {
+      while (true) {
+        int batchSize = drain();
+        if (batchSize > 0) {
+          continue;
+        }
+        if (!isStarted()) {
+          return;
+        }
+        reportDrops();
+        park();
+      }
+    }
+
+    /**
+     * Parks until an event is enqueued or the appender is stopped, or until unreported drops are
+     * due to be reported.
+     *
+     * <p>The idle flag is set before the buffer is checked a last time, and the logging threads
+     * check it after enqueuing, so that one of them always sees the other and no wakeup is lost.
+     */
+    private void park() {
+      workerIdle = true;
+      try {
+        if (buffer.size() > 0 || !isStarted()) {
+          return;
+        }
+        if (droppedEvents.get() != reportedDrops) {
+          LockSupport.parkNanos(
+              this,
+              lastDropReportNanos
+                  + TimeUnit.SECONDS.toNanos(DROP_REPORT_INTERVAL_SECONDS)
+                  - System.nanoTime());
+        } else {
+          LockSupport.park(this);
+        }
+      } finally {
+        workerIdle = false;
+      }
+    }
+
+    /** Writes a batch of events, returns its size. */
+    private int drain() {
+      int batchSize = 0;
+      ILoggingEvent event;
+      while (batchSize < MAX_BATCH_SIZE && (event = buffer.poll()) != null) {
+        message.setLength(0);
+        JsonAppender.appendMessage(event, message);
+        JsonAppender.appendJson(message, event.getLevel().toString(), out);
+        batchSize++;
+      }
+      if (batchSize > 0) {
+        write();
+        emittedEvents.addAndGet(batchSize);
+        processedEvents += batchSize;
+      }
+      return batchSize;
+    }
+
+    private void reportDrops() {
+      long dropped = droppedEvents.get();
+      long now = System.nanoTime();
+      if (dropped == reportedDrops
+          || now - lastDropReportNanos < TimeUnit.SECONDS.toNanos(DROP_REPORT_INTERVAL_SECONDS)) {
+        return;
+      }
+      message.setLength(0);
+      message
+          .append(AsyncJsonAppender.class.getName())
+          .append(" - ")
+          .append(dropped - reportedDrops)
+          .append(" log events were dropped because the logging buffer was full");
+      JsonAppender.appendJson(message, Level.WARN.toString(), out);
+      write();
+      reportedDrops = dropped;
+      lastDropReportNanos = now;
+    }
+
+    /** Encodes the serialized events into the reused byte buffer and writes them to stderr. */
+    private void write() {
+      // System.err is read on every write, as it may be replaced, for example by tests.
+      PrintStream err = System.err;
+      CharBuffer chars = CharBuffer.wrap(out);
+      encoder.reset();
+      synchronized (STDERR_LOCK) {
+        while (encoder.encode(chars, bytes, true).isOverflow()) {
+          flushBytes(err);
+        }
+        while (encoder.flush(bytes).isOverflow()) {
+          flushBytes(err);
+        }
+        flushBytes(err);
+        err.flush();
+      }
+      out.setLength(0);
+    }
+
+    private void flushBytes(PrintStream err) {
+      err.write(bytes.array(), 0, bytes.position());
+      bytes.clear();
+    }
+  }
+}
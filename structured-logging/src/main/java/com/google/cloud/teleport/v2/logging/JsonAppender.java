@@ -31,6 +31,12 @@ public class JsonAppender extends UnsynchronizedAppenderBase<ILoggingEvent> {
   @Override
   protected void append(ILoggingEvent event) {
     StringBuilder message = new StringBuilder(128);
+    appendMessage(event, message);
+    System.err.println(gson.toJson(new JsonEntry(message, event.getLevel().toString())));
+  }
+
+  /** Appends the message of an event, with its logger name and stack trace, to a buffer. */
+  static void appendMessage(ILoggingEvent event, StringBuilder message) {
     message.append(event.getLoggerName()).append(" - ");
     message.append(event.getFormattedMessage());
     if (event.getThrowableProxy() != null) {
@@ -38,7 +44,12 @@ public class JsonAppender extends UnsynchronizedAppenderBase<ILoggingEvent> {
           .append(CoreConstants.LINE_SEPARATOR)
           .append(ThrowableProxyUtil.asString(event.getThrowableProxy()));
     }
-    System.err.println(gson.toJson(new JsonEntry(message, event.getLevel().toString())));
+  }
+
+  /** Appends an entry, as a line of Json, to a buffer. */
+  static void appendJson(CharSequence message, String severity, StringBuilder out) {
+    gson.toJson(new JsonEntry(message, severity), out);
+    out.append(CoreConstants.LINE_SEPARATOR);
   }
 
   private static final class JsonEntry {
@@ -0,0 +1,88 @@
+/*
+ * Copyright (C) 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.cloud.teleport.v2.logging;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * What {@link AsyncJsonAppender} does with an event when its buffer is full.
+ *
+ * <ul>
+ *   <li>{@code DROP}: the event is dropped.
+ *   <li>{@code WRITE}: the event is written by the logging thread, which waits for stderr.
+ *   <li>{@code SAMPLE:n}: one event out of {@code n} is written by the logging thread, the others
+ *       are dropped.
+ * </ul>
+ */
+final class OverflowPolicy {
+
+  static final OverflowPolicy DROP = new OverflowPolicy("DROP", 0);
+  static final OverflowPolicy WRITE = new OverflowPolicy("WRITE", 1);
+
+  private static final String SAMPLE_PREFIX = "SAMPLE:";
+
+  private final String name;
+  // Write one overflowing event out of sampleRate, never if 0.
+  private final long sampleRate;
+  private final AtomicLong overflowingEvents = new AtomicLong();
+
+  private OverflowPolicy(String name, long sampleRate) {
+    this.name = name;
+    this.sampleRate = sampleRate;
+  }
+
+  /**
+   * Parses {@code DROP}, {@code WRITE} or {@code SAMPLE:n}.
+   *
+   * @throws IllegalArgumentException if the policy is not valid.
+   */
+  static OverflowPolicy parse(String policy) {
+    String value = policy.trim().toUpperCase();
+    if (value.equals(DROP.name)) {
+      return DROP;
+    }
+    if (value.equals(WRITE.name)) {
+      return WRITE;
+    }
+    if (value.startsWith(SAMPLE_PREFIX)) {
+      long rate;
+      try {
+        rate = Long.parseLong(value.substring(SAMPLE_PREFIX.length()).trim());
+      } catch (NumberFormatException e) {
+        rate = 0;
+      }
+      if (rate > 0) {
+        // Every sampling policy counts the events of its own loggers.
+        return new OverflowPolicy(SAMPLE_PREFIX + rate, rate);
+      }
+    }
+    throw new IllegalArgumentException(
+        "Invalid overflow policy '" + policy + "', expected DROP, WRITE or SAMPLE:<n> with n > 0");
+  }
+
+  /** Returns true if an event that does not fit in the buffer should be written anyway. */
+  boolean writeOverflowingEvent() {
+    if (sampleRate <= 1) {
+      return sampleRate == 1;
+    }
+    return overflowingEvents.getAndIncrement() % sampleRate == 0;
+  }
+
+  @Override
+  public String toString() {
+    return name;
+  }
+}
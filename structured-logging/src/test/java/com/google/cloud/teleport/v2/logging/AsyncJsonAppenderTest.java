@@ -0,0 +1,191 @@
+/*
+ * Copyright (C) 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.cloud.teleport.v2.logging;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/** Tests for {@link AsyncJsonAppender}. */
+public class AsyncJsonAppenderTest {
+
+  private static final Gson GSON = new Gson();
+
+  private final ByteArrayOutputStream errContent = new ByteArrayOutputStream();
+  private final PrintStream originalErr = System.err;
+
+  @Before
+  public void setUpStreams() {
+    System.setErr(new PrintStream(errContent));
+  }
+
+  @After
+  public void restoreStreams() {
+    System.setErr(originalErr);
+  }
+
+  @Test
+  public void testRingBufferIsBounded() {
+    BoundedRingBuffer<Integer> buffer = new BoundedRingBuffer<>(3);
+    assertThat(buffer.capacity()).isEqualTo(4);
+    for (int i = 0; i < 4; i++) {
+      assertThat(buffer.offer(i)).isTrue();
+    }
+    assertThat(buffer.offer(4)).isFalse();
+    assertThat(buffer.poll()).isEqualTo(0);
+    assertThat(buffer.offer(5)).isTrue();
+    assertThat(buffer.size()).isEqualTo(4);
+    assertThat(buffer.poll()).isEqualTo(1);
+    assertThat(buffer.poll()).isEqualTo(2);
+    assertThat(buffer.poll()).isEqualTo(3);
+    assertThat(buffer.poll()).isEqualTo(5);
+    assertThat(buffer.poll()).isNull();
+  }
+
+  @Test
+  public void testSampleOverflowPolicy() {
+    OverflowPolicy policy = OverflowPolicy.parse("sample:3");
+    assertThat(policy.toString()).isEqualTo("SAMPLE:3");
+    assertThat(policy.writeOverflowingEvent()).isTrue();
+    assertThat(policy.writeOverflowingEvent()).isFalse();
+    assertThat(policy.writeOverflowingEvent()).isFalse();
+    assertThat(policy.writeOverflowingEvent()).isTrue();
+    assertThat(OverflowPolicy.DROP.writeOverflowingEvent()).isFalse();
+    assertThat(OverflowPolicy.WRITE.writeOverflowingEvent()).isTrue();
+  }
+
+  @Test
+  public void testOverflowPolicyOfLoggers() {
+    AsyncJsonAppender appender = new AsyncJsonAppender();
+    appender.setContext(new LoggerContext());
+    appender.addLoggerOverflowPolicy("com.example=WRITE");
+    appender.addLoggerOverflowPolicy("com.example.Chatty=SAMPLE:10");
+    appender.addLoggerOverflowPolicy("com.example.Invalid=SAMPLE");
+
+    assertThat(appender.overflowPolicy("com.example.Other").toString()).isEqualTo("WRITE");
+    assertThat(appender.overflowPolicy("com.example.Chatty").toString()).isEqualTo("SAMPLE:10");
+    assertThat(appender.overflowPolicy("com.example.Chatty.Fn").toString()).isEqualTo("SAMPLE:10");
+    assertThat(appender.overflowPolicy("com.example.Invalid").toString()).isEqualTo("WRITE");
+    assertThat(appender.overflowPolicy("com.examples.Other").toString()).isEqualTo("DROP");
+  }
+
+  @Test
+  public void testInvalidOverflowPolicyIsIgnored() {
+    AsyncJsonAppender appender = new AsyncJsonAppender();
+    appender.setContext(new LoggerContext());
+    appender.setOverflowPolicy("WRITE");
+    appender.setOverflowPolicy("BLOCK");
+    assertThat(appender.getOverflowPolicy()).isEqualTo("WRITE");
+  }
+
+  @Test
+  public void testEventsAreWrittenInOrder() {
+    LoggerContext context = new LoggerContext();
+    AsyncJsonAppender appender = new AsyncJsonAppender();
+    appender.setContext(context);
+    appender.setName("JSON");
+    appender.start();
+    Logger logger = context.getLogger("TestLogger");
+    logger.addAppender(appender);
+    for (int i = 0; i < 1000; i++) {
+      logger.info("message {}", i);
+    }
+    assertThat(appender.awaitWritten(10000)).isTrue();
+    appender.stop();
+
+    String[] lines = errContent.toString(StandardCharsets.UTF_8).split("\\R");
+    assertThat(lines).hasLength(1000);
+    for (int i = 0; i < 1000; i++) {
+      JsonObject entry = GSON.fromJson(lines[i], JsonObject.class);
+      assertThat(entry.get("message").getAsString()).isEqualTo("TestLogger - message " + i);
+      assertThat(entry.get("severity").getAsString()).isEqualTo("INFO");
+    }
+    assertThat(appender.getEmittedEvents()).isEqualTo(1000);
+    assertThat(appender.getDroppedEvents()).isEqualTo(0);
+  }
+
+  @Test
+  public void testIdleWorkerIsWokenUp() throws Exception {
+    LoggerContext context = new LoggerContext();
+    AsyncJsonAppender appender = new AsyncJsonAppender();
+    appender.setContext(context);
+    appender.setName("JSON");
+    appender.start();
+    Logger logger = context.getLogger("TestLogger");
+    logger.addAppender(appender);
+
+    logger.info("first");
+    assertThat(appender.awaitWritten(10000)).isTrue();
+    // Let the worker park on the empty buffer.
+    Thread.sleep(100);
+    logger.info("second");
+    assertThat(appender.awaitWritten(10000)).isTrue();
+    appender.stop();
+
+    assertThat(errContent.toString(StandardCharsets.UTF_8).split("\\R")).hasLength(2);
+  }
+
+  @Test
+  public void testOverflowingEventsAreNotInterleaved() throws Exception {
+    LoggerContext context = new LoggerContext();
+    AsyncJsonAppender appender = new AsyncJsonAppender();
+    appender.setContext(context);
+    appender.setName("JSON");
+    appender.setBufferSize(2);
+    appender.setOverflowPolicy("WRITE");
+    appender.start();
+    Logger logger = context.getLogger("TestLogger");
+    logger.addAppender(appender);
+    String padding = "x".repeat(20 * 1024);
+
+    List<Thread> threads = new ArrayList<>();
+    for (int t = 0; t < 4; t++) {
+      Thread thread =
+          new Thread(
+              () -> {
+                for (int i = 0; i < 100; i++) {
+                  logger.info("{} {}", i, padding);
+                }
+              });
+      thread.start();
+      threads.add(thread);
+    }
+    for (Thread thread : threads) {
+      thread.join();
+    }
+    assertThat(appender.awaitWritten(10000)).isTrue();
+    appender.stop();
+
+    String[] lines = errContent.toString(StandardCharsets.UTF_8).split("\\R");
+    assertThat(lines).hasLength(400);
+    for (String line : lines) {
+      assertThat(GSON.fromJson(line, JsonObject.class).get("message").getAsString())
+          .endsWith(padding);
+    }
+    assertThat(appender.getEmittedEvents()).isEqualTo(400);
+  }
+}
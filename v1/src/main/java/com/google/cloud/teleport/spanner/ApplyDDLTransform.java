@@ -15,14 +15,30 @@
  */
 package com.google.cloud.teleport.spanner;
 
+import com.google.api.core.ApiFuture;
 import com.google.api.gax.longrunning.OperationFuture;
+import com.google.cloud.Timestamp;
+import com.google.cloud.spanner.Database;
 import com.google.cloud.spanner.DatabaseAdminClient;
+import com.google.cloud.spanner.SpannerException;
 import com.google.cloud.teleport.spanner.ddl.Ddl;
 import com.google.cloud.teleport.spanner.spannerio.SpannerAccessor;
 import com.google.cloud.teleport.spanner.spannerio.SpannerConfig;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
 import com.google.spanner.admin.database.v1.UpdateDatabaseDdlMetadata;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import javax.annotation.Nullable;
+import org.apache.beam.sdk.metrics.Metrics;
 import org.apache.beam.sdk.options.ValueProvider;
 import org.apache.beam.sdk.transforms.DoFn;
 import org.apache.beam.sdk.transforms.PTransform;
@@ -35,6 +51,10 @@ import org.slf4j.LoggerFactory;
 /**
  * A Beam transform that applies the DDL statements passed in a Cloud Spanner database and outputs
  * the original {@link Ddl}.
+ *
+ * <p>The schema change operations are submitted with IDs derived from their statements, so that a
+ * retried or restarted import resumes waiting for the operations it already submitted. While
+ * waiting, the progress of every statement is reported as a gauge.
  */
 class ApplyDDLTransform extends PTransform<PCollection<Ddl>, PCollection<Ddl>> {
 
@@ -45,6 +65,14 @@ class ApplyDDLTransform extends PTransform<PCollection<Ddl>, PCollection<Ddl>> {
   private final String statementType;
   private static final Logger LOG = LoggerFactory.getLogger(ApplyDDLTransform.class);
 
+  // Interval between two progress reports of a schema change operation.
+  private static final long PROGRESS_REPORT_INTERVAL_SECONDS = 30;
+
+  private static final Pattern DDL_OBJECT_NAME =
+      Pattern.compile(
+          "(?:INDEX|CONSTRAINT|STREAM)\\s+(?:IF\\s+NOT\\s+EXISTS\\s+)?[`\"]?([^\\s`\"(]+)",
+          Pattern.CASE_INSENSITIVE);
+
   /**
    * Default constructor.
    *
@@ -110,23 +138,21 @@ class ApplyDDLTransform extends PTransform<PCollection<Ddl>, PCollection<Ddl>> {
                         "Applying {} {} DDL statements in parallel mode.",
                         statements.size(),
                         statementType);
+                    Timestamp databaseCreateTime = databaseCreateTime(databaseAdminClient);
                     List<OperationFuture<Void, UpdateDatabaseDdlMetadata>> operations =
-                        new java.util.ArrayList<>();
+                        new ArrayList<>();
                     for (String statement : statements) {
+                      List<String> operationStatements = Arrays.asList(statement);
                       operations.add(
                           databaseAdminClient.updateDatabaseDdl(
                               spannerConfig.getInstanceId().get(),
                               spannerConfig.getDatabaseId().get(),
-                              java.util.Arrays.asList(statement),
-                              null));
+                              operationStatements,
+                              operationId(statementType, databaseCreateTime, operationStatements)));
                     }
                     if (waitForApply.get()) {
-                      for (OperationFuture<Void, UpdateDatabaseDdlMetadata> op : operations) {
-                        try {
-                          op.get();
-                        } catch (InterruptedException | ExecutionException e) {
-                          throw new RuntimeException(e);
-                        }
+                      for (int i = 0; i < operations.size(); i++) {
+                        waitForOperation(operations.get(i), statements.subList(i, i + 1));
                       }
                     }
                   }
@@ -144,16 +170,127 @@ class ApplyDDLTransform extends PTransform<PCollection<Ddl>, PCollection<Ddl>> {
                             spannerConfig.getInstanceId().get(),
                             spannerConfig.getDatabaseId().get(),
                             statements,
-                            null);
+                            operationId(
+                                statementType,
+                                databaseCreateTime(databaseAdminClient),
+                                statements));
                     if (waitForApply.get()) {
+                      waitForOperation(op, statements);
+                    }
+                  }
+
+                  /**
+                   * Returns the creation time of the database, which tells the operations of this
+                   * database apart from those of a previous database with the same name, or null if
+                   * it is unknown.
+                   */
+                  private @Nullable Timestamp databaseCreateTime(
+                      DatabaseAdminClient databaseAdminClient) {
+                    try {
+                      Database database =
+                          databaseAdminClient.getDatabase(
+                              spannerConfig.getInstanceId().get(),
+                              spannerConfig.getDatabaseId().get());
+                      return database == null ? null : database.getCreateTime();
+                    } catch (SpannerException e) {
+                      LOG.warn("Could not read the creation time of the database.", e);
+                      return null;
+                    }
+                  }
+
+                  /**
+                   * Waits for a schema change operation, periodically reporting the progress of its
+                   * statements.
+                   */
+                  private void waitForOperation(
+                      OperationFuture<Void, UpdateDatabaseDdlMetadata> op,
+                      List<String> statements) {
+                    while (true) {
                       try {
-                        op.get();
+                        op.get(PROGRESS_REPORT_INTERVAL_SECONDS, TimeUnit.SECONDS);
+                        reportProgress(statements, null);
+                        return;
+                      } catch (TimeoutException e) {
+                        reportProgress(statements, peekMetadata(op));
                       } catch (InterruptedException | ExecutionException e) {
                         throw new RuntimeException(e);
                       }
                     }
                   }
+
+                  private @Nullable UpdateDatabaseDdlMetadata peekMetadata(
+                      OperationFuture<Void, UpdateDatabaseDdlMetadata> op) {
+                    ApiFuture<UpdateDatabaseDdlMetadata> metadata = op.peekMetadata();
+                    if (metadata == null || !metadata.isDone()) {
+                      return null;
+                    }
+                    try {
+                      return metadata.get();
+                    } catch (InterruptedException | ExecutionException e) {
+                      return null;
+                    }
+                  }
+
+                  /**
+                   * Reports the progress of the statements of an operation, in percent, as one
+                   * gauge per statement. A null metadata reports all statements as complete.
+                   */
+                  private void reportProgress(
+                      List<String> statements, @Nullable UpdateDatabaseDdlMetadata metadata) {
+                    for (int i = 0; i < statements.size(); i++) {
+                      long percent = 100;
+                      if (metadata != null) {
+                        percent =
+                            i < metadata.getProgressCount()
+                                ? metadata.getProgress(i).getProgressPercent()
+                                : (i < metadata.getCommitTimestampsCount() ? 100 : 0);
+                      }
+                      String name = ddlObjectName(statements.get(i));
+                      Metrics.gauge(
+                              ApplyDDLTransform.class,
+                              String.format("%s_progress_percent_%s", statementType, name))
+                          .set(percent);
+                      if (metadata != null) {
+                        LOG.info("{} {} is {}% complete.", statementType, name, percent);
+                      }
+                    }
+                  }
                 })
             .withSideInputs(pendingDDLStatements));
   }
+
+  /**
+   * Returns the ID of the schema change operation that applies the given statements, or null if the
+   * database creation time is unknown.
+   *
+   * <p>The ID only depends on the database and the statements. When a failed bundle is retried, or
+   * the import job is restarted, resubmitting the statements with the same ID resumes waiting for
+   * the operation that was submitted first, instead of applying the statements again.
+   */
+  @VisibleForTesting
+  static @Nullable String operationId(
+      String statementType, @Nullable Timestamp databaseCreateTime, List<String> statements) {
+    if (databaseCreateTime == null) {
+      return null;
+    }
+    Hasher hasher = Hashing.sha256().newHasher();
+    hasher.putString(databaseCreateTime.toString(), StandardCharsets.UTF_8);
+    for (String statement : statements) {
+      hasher.putString(";", StandardCharsets.UTF_8).putString(statement, StandardCharsets.UTF_8);
+    }
+    return String.format(
+        "import_%s_%s",
+        statementType.toLowerCase().replaceAll("[^a-z0-9_]", "_"),
+        hasher.hash().toString().substring(0, 32));
+  }
+
+  /** Returns the name of the index, constraint or change stream created by a statement. */
+  @VisibleForTesting
+  static String ddlObjectName(String statement) {
+    Matcher matcher = DDL_OBJECT_NAME.matcher(statement);
+    if (matcher.find()) {
+      return matcher.group(1);
+    }
+    return Integer.toHexString(statement.hashCode());
+  }
 }
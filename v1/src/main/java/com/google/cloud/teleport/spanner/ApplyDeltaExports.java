@@ -0,0 +1,345 @@
+/*
+ * Copyright (C) 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.cloud.teleport.spanner;
+
+import com.google.cloud.Timestamp;
+import com.google.cloud.spanner.Mutation;
+import com.google.cloud.teleport.spanner.DeltaRecords.Change;
+import com.google.cloud.teleport.spanner.ddl.Ddl;
+import com.google.cloud.teleport.spanner.ddl.Table;
+import com.google.cloud.teleport.spanner.proto.ExportProtos.DeltaExport;
+import com.google.cloud.teleport.spanner.proto.ExportProtos.Export;
+import com.google.cloud.teleport.spanner.spannerio.MutationGroup;
+import com.google.cloud.teleport.spanner.spannerio.MutationSizeEstimator;
+import com.google.cloud.teleport.spanner.spannerio.SpannerAccessor;
+import com.google.cloud.teleport.spanner.spannerio.SpannerConfig;
+import com.google.cloud.teleport.spanner.spannerio.SpannerIO;
+import com.google.common.base.Splitter;
+import com.google.common.base.Strings;
+import com.google.common.collect.Iterables;
+import com.google.protobuf.util.JsonFormat;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.channels.Channels;
+import java.util.ArrayList;
+import java.util.List;
+import org.apache.avro.file.DataFileStream;
+import org.apache.avro.generic.GenericDatumReader;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.beam.sdk.coders.KvCoder;
+import org.apache.beam.sdk.coders.SerializableCoder;
+import org.apache.beam.sdk.coders.StringUtf8Coder;
+import org.apache.beam.sdk.io.FileSystems;
+import org.apache.beam.sdk.io.fs.EmptyMatchTreatment;
+import org.apache.beam.sdk.io.fs.MatchResult;
+import org.apache.beam.sdk.options.ValueProvider;
+import org.apache.beam.sdk.transforms.Create;
+import org.apache.beam.sdk.transforms.DoFn;
+import org.apache.beam.sdk.transforms.GroupByKey;
+import org.apache.beam.sdk.transforms.PTransform;
+import org.apache.beam.sdk.transforms.ParDo;
+import org.apache.beam.sdk.transforms.Reshuffle;
+import org.apache.beam.sdk.transforms.Wait;
+import org.apache.beam.sdk.values.KV;
+import org.apache.beam.sdk.values.PBegin;
+import org.apache.beam.sdk.values.PCollection;
+import org.apache.beam.sdk.values.PCollectionTuple;
+import org.apache.beam.sdk.values.PCollectionView;
+import org.apache.beam.sdk.values.TupleTag;
+import org.apache.beam.sdk.values.TupleTagList;
+
+/**
+ * Applies a sequence of incremental exports, created by {@link ExportDeltaTransform}, on top of an
+ * imported base export.
+ *
+ * <p>The changes of all exports are grouped by row and folded, in commit order, into a single
+ * mutation per row, see {@link DeltaRecords#toMutation}. Inserts and updates are written parents
+ * first, deletes children first, so that every mutation is valid for interleaved tables.
+ *
+ * <p>The directories of the exports are a {@link ValueProvider}, so the stages are part of every
+ * import. They are written by {@link WriteDeltaStage} rather than {@link SpannerIO#write()}, which
+ * would read the schema of the database once per stage even when there is nothing to apply.
+ */
+class ApplyDeltaExports extends PTransform<PBegin, PCollection<Void>> {
+
+  // One output per stage, see stage().
+  private static final List<TupleTag<Mutation>> STAGE_TAGS = stageTags();
+
+  private final SpannerConfig spannerConfig;
+  private final ValueProvider<String> deltaDirectories;
+  private final PCollectionView<Export> manifestView;
+  private final PCollectionView<Ddl> ddlView;
+  private final PCollection<?> previousComputation;
+
+  /**
+   * @param spannerConfig database to write to.
+   * @param deltaDirectories comma separated directories of the incremental exports, in order.
+   * @param manifestView manifest of the base export.
+   * @param ddlView schema of the database, once it was created.
+   * @param previousComputation writes of the base export to wait for.
+   */
+  ApplyDeltaExports(
+      SpannerConfig spannerConfig,
+      ValueProvider<String> deltaDirectories,
+      PCollectionView<Export> manifestView,
+      PCollectionView<Ddl> ddlView,
+      PCollection<?> previousComputation) {
+    this.spannerConfig = spannerConfig;
+    this.deltaDirectories = deltaDirectories;
+    this.manifestView = manifestView;
+    this.ddlView = ddlView;
+    this.previousComputation = previousComputation;
+  }
+
+  @Override
+  public PCollection<Void> expand(PBegin begin) {
+    PCollectionTuple mutations =
+        begin
+            .apply("Delta directories", Create.ofProvider(deltaDirectories, StringUtf8Coder.of()))
+            .apply("Wait for base export", Wait.on(previousComputation))
+            .apply(
+                "List delta files",
+                ParDo.of(new ListDeltaFiles(manifestView)).withSideInputs(manifestView))
+            .apply("Shuffle delta files", Reshuffle.viaRandomKey())
+            .apply("Read delta files", ParDo.of(new ReadDeltaFile()))
+            .setCoder(KvCoder.of(StringUtf8Coder.of(), SerializableCoder.of(Change.class)))
+            .apply("Group changes by row", GroupByKey.create())
+            .apply(
+                "Changes as mutations",
+                ParDo.of(new ToMutation(ddlView))
+                    .withSideInputs(ddlView)
+                    .withOutputTags(
+                        STAGE_TAGS.get(0),
+                        TupleTagList.of(
+                            new ArrayList<TupleTag<?>>(STAGE_TAGS.subList(1, STAGE_TAGS.size())))));
+
+    PCollection<?> previous = previousComputation;
+    PCollection<Void> output = null;
+    for (int stage = 0; stage < STAGE_TAGS.size(); stage++) {
+      output =
+          mutations
+              .get(STAGE_TAGS.get(stage))
+              .setCoder(SerializableCoder.of(Mutation.class))
+              .apply("Wait for previous delta stage " + stage, Wait.on(previous))
+              .apply(
+                  "Write delta mutations " + stage, ParDo.of(new WriteDeltaStage(spannerConfig)));
+      previous = output;
+    }
+    return output;
+  }
+
+  private static List<TupleTag<Mutation>> stageTags() {
+    List<TupleTag<Mutation>> tags = new ArrayList<>();
+    for (int i = 0; i < 2 * ImportTransform.MAX_DEPTH; i++) {
+      tags.add(new TupleTag<>("deltaStage" + i));
+    }
+    return tags;
+  }
+
+  /**
+   * Returns the order in which the mutations of a table are written. Inserts and updates of a table
+   * are written after those of its parent, deletes before those of its parent.
+   */
+  static int stage(Ddl ddl, Table table, Mutation mutation) {
+    int depth = 0;
+    for (Table parent = table;
+        !Strings.isNullOrEmpty(parent.interleaveInParent());
+        parent = ddl.table(parent.interleaveInParent())) {
+      depth++;
+    }
+    return mutation.getOperation() == Mutation.Op.DELETE
+        ? 2 * ImportTransform.MAX_DEPTH - 1 - depth
+        : depth;
+  }
+
+  /**
+   * Lists the delta files of every incremental export, along with the position of the export in the
+   * sequence. Checks that every export starts where the previous one ended.
+   */
+  static class ListDeltaFiles extends DoFn<String, KV<String, Integer>> {
+
+    private final PCollectionView<Export> manifestView;
+
+    ListDeltaFiles(PCollectionView<Export> manifestView) {
+      this.manifestView = manifestView;
+    }
+
+    @ProcessElement
+    public void processElement(ProcessContext c) throws IOException {
+      Export base = c.sideInput(manifestView);
+      String previousEndTime = base.getSnapshotTime();
+      List<String> directories =
+          Splitter.on(',').trimResults().omitEmptyStrings().splitToList(c.element());
+      for (int i = 0; i < directories.size(); i++) {
+        String directory = directories.get(i);
+        DeltaExport delta = readManifest(directory);
+        if (delta.getDialect() != base.getDialect()) {
+          throw new IllegalArgumentException(
+              String.format(
+                  "Dialect mismatches: Dialect of the incremental export in %s (%s) is different"
+                      + " from the one of the base export (%s).",
+                  directory, delta.getDialect(), base.getDialect()));
+        }
+        if (!Strings.isNullOrEmpty(previousEndTime)
+            && !Timestamp.parseTimestamp(previousEndTime)
+                .equals(Timestamp.parseTimestamp(delta.getStartTime()))) {
+          throw new IllegalArgumentException(
+              String.format(
+                  "The incremental export in %s starts at %s, but the previous export ends at %s.",
+                  directory, delta.getStartTime(), previousEndTime));
+        }
+        previousEndTime = delta.getEndTime();
+        for (Export.Table table : delta.getTablesList()) {
+          for (String dataFiles : table.getDataFilesList()) {
+            MatchResult match =
+                FileSystems.match(
+                    GcsUtil.joinPath(directory, dataFiles), EmptyMatchTreatment.ALLOW);
+            for (MatchResult.Metadata metadata : match.metadata()) {
+              c.output(KV.of(metadata.resourceId().toString(), i));
+            }
+          }
+        }
+      }
+    }
+
+    private static DeltaExport readManifest(String directory) throws IOException {
+      MatchResult.Metadata metadata =
+          FileSystems.matchSingleFileSpec(
+              GcsUtil.joinPath(directory, DeltaRecords.DELTA_MANIFEST_FILE));
+      DeltaExport.Builder result = DeltaExport.newBuilder();
+      try (InputStream stream = Channels.newInputStream(FileSystems.open(metadata.resourceId()))) {
+        Reader reader = new InputStreamReader(stream);
+        JsonFormat.parser().merge(reader, result);
+      }
+      return result.build();
+    }
+  }
+
+  /** Reads the changes of a delta file, keyed by the row they modify. */
+  private static class ReadDeltaFile extends DoFn<KV<String, Integer>, KV<String, Change>> {
+
+    @ProcessElement
+    public void processElement(ProcessContext c) throws IOException {
+      String file = c.element().getKey();
+      int deltaIndex = c.element().getValue();
+      MatchResult.Metadata metadata = FileSystems.matchSingleFileSpec(file);
+      try (DataFileStream<GenericRecord> records =
+          new DataFileStream<>(
+              Channels.newInputStream(FileSystems.open(metadata.resourceId())),
+              new GenericDatumReader<>(DeltaRecords.SCHEMA))) {
+        for (GenericRecord record : records) {
+          Change change = DeltaRecords.fromAvroRecord(deltaIndex, record);
+          c.output(KV.of(DeltaRecords.rowKey(change), change));
+        }
+      }
+    }
+  }
+
+  /** Folds the changes of a row into a mutation, output to the stage it is written in. */
+  private static class ToMutation extends DoFn<KV<String, Iterable<Change>>, Mutation> {
+
+    private final PCollectionView<Ddl> ddlView;
+
+    ToMutation(PCollectionView<Ddl> ddlView) {
+      this.ddlView = ddlView;
+    }
+
+    @ProcessElement
+    public void processElement(ProcessContext c) {
+      Ddl ddl = c.sideInput(ddlView);
+      Iterable<Change> changes = c.element().getValue();
+      String tableName = changes.iterator().next().tableName();
+      Table table = ddl.table(tableName);
+      if (table == null) {
+        throw new IllegalArgumentException(
+            String.format(
+                "Table %s of the incremental export does not exist in the base export.",
+                tableName));
+      }
+      Mutation mutation = DeltaRecords.toMutation(table, changes);
+      if (mutation != null) {
+        c.output(STAGE_TAGS.get(stage(ddl, table, mutation)), mutation);
+      }
+    }
+  }
+
+  /**
+   * Writes the mutations of a stage in batches of the same size as the writes of the base export.
+   * Unlike {@link SpannerIO#write()}, it does not read the schema of the database and only connects
+   * to it once it receives a mutation, so an import without incremental exports does not pay for
+   * the stages.
+   */
+  static class WriteDeltaStage extends DoFn<Mutation, Void> {
+    private static final long MAX_BATCH_CELLS = 10000;
+    private static final long MAX_BATCH_BYTES = 1024 * 1024;
+
+    private final SpannerConfig spannerConfig;
+
+    private transient SpannerAccessor spannerAccessor;
+    private transient List<Mutation> batch;
+    private transient long batchCells;
+    private transient long batchBytes;
+
+    WriteDeltaStage(SpannerConfig spannerConfig) {
+      this.spannerConfig = spannerConfig;
+    }
+
+    @StartBundle
+    public void startBundle() {
+      batch = new ArrayList<>();
+      batchCells = 0;
+      batchBytes = 0;
+    }
+
+    @ProcessElement
+    public void processElement(ProcessContext c) {
+      Mutation mutation = c.element();
+      batch.add(mutation);
+      batchCells +=
+          mutation.getOperation() == Mutation.Op.DELETE ? 1 : Iterables.size(mutation.getColumns());
+      batchBytes += MutationSizeEstimator.sizeOf(MutationGroup.create(mutation));
+      if (batchCells >= MAX_BATCH_CELLS || batchBytes >= MAX_BATCH_BYTES) {
+        flush();
+      }
+    }
+
+    @FinishBundle
+    public void finishBundle() {
+      flush();
+    }
+
+    @Teardown
+    public void teardown() {
+      if (spannerAccessor != null) {
+        spannerAccessor.close();
+      }
+    }
+
+    private void flush() {
+      if (batch.isEmpty()) {
+        return;
+      }
+      if (spannerAccessor == null) {
+        spannerAccessor = SpannerAccessor.getOrCreate(spannerConfig);
+      }
+      // Deletes, replaces and insert-or-updates can be applied more than once.
+      spannerAccessor.getDatabaseClient().writeAtLeastOnce(batch);
+      startBundle();
+    }
+  }
+}
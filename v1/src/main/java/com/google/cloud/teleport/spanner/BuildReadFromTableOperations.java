@@ -86,7 +86,8 @@ class BuildReadFromTableOperations
                       PartitionOptions.newBuilder().setMaxPartitions(MAX_PARTITIONS).build();
 
                   // Also have to export table name to be able to identify which row belongs to
-                  // which table.
+                  // which table. The query is named after the table, so that it can be split
+                  // by key range and reported on per table.
                   ReadOperation read;
                   switch (ddl.dialect()) {
                     case GOOGLE_STANDARD_SQL:
@@ -98,6 +99,7 @@ class BuildReadFromTableOperations
                                       table.name(),
                                       columnsListAsString,
                                       quoteIdentifier(table.name(), Dialect.GOOGLE_STANDARD_SQL)))
+                              .withQueryName(table.name())
                               .withPartitionOptions(partitionOptions);
                       break;
                     case POSTGRESQL:
@@ -109,6 +111,7 @@ class BuildReadFromTableOperations
                                       table.name(),
                                       columnsListAsString,
                                       quoteIdentifier(table.name(), Dialect.POSTGRESQL)))
+                              .withQueryName(table.name())
                               .withPartitionOptions(partitionOptions);
                       break;
                     default:
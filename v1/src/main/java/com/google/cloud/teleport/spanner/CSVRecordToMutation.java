@@ -18,10 +18,13 @@ package com.google.cloud.teleport.spanner;
 import com.google.cloud.ByteArray;
 import com.google.cloud.spanner.Mutation;
 import com.google.cloud.spanner.Value;
+import com.google.cloud.teleport.spanner.ddl.Column;
 import com.google.cloud.teleport.spanner.ddl.Ddl;
 import com.google.cloud.teleport.spanner.ddl.Table;
 import com.google.cloud.teleport.spanner.proto.TextImportProtos.ImportManifest.TableManifest;
 import com.google.common.base.Strings;
+import com.google.common.base.Supplier;
+import com.google.common.base.Suppliers;
 import com.google.common.primitives.Longs;
 import java.io.IOException;
 import java.time.DateTimeException;
@@ -32,6 +35,7 @@ import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
 import java.time.temporal.TemporalAccessor;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -56,6 +60,8 @@ import org.apache.commons.lang3.StringUtils;
  */
 class CSVRecordToMutation extends DoFn<KV<String, CSVRecord>, Mutation> {
 
+  private static final String DEFAULT_DATE_FORMAT = "yyyy-M[M]-d[d][' 00:00:00']";
+
   // Schema of the destination Spanner database.
   private final PCollectionView<Ddl> ddlView;
   private final PCollectionView<Map<String, List<TableManifest.Column>>> tableColumnsView;
@@ -64,7 +70,10 @@ class CSVRecordToMutation extends DoFn<KV<String, CSVRecord>, Mutation> {
   private final ValueProvider<String> invalidOutputPath;
   private final TupleTag<String> errorTag;
 
-  private Mutation.WriteBuilder writeBuilder = null;
+  // The converters of the tables seen by this instance, compiled for the schema they were built
+  // from.
+  private transient Ddl convertersDdl;
+  private transient Map<String, TableConverter> converters;
 
   public CSVRecordToMutation(
       PCollectionView<Ddl> ddlView,
@@ -89,13 +98,10 @@ class CSVRecordToMutation extends DoFn<KV<String, CSVRecord>, Mutation> {
      */
     KV<String, CSVRecord> kv = c.element();
     String tableName = kv.getKey();
-    Ddl ddl = c.sideInput(ddlView);
-    Map<String, List<TableManifest.Column>> tableColumnsMap = c.sideInput(tableColumnsView);
-    Table table = ddl.table(tableName);
+    TableConverter converter = converter(c, tableName);
     CSVRecord row = kv.getValue();
-    writeBuilder = Mutation.newInsertOrUpdateBuilder(table.name());
     try {
-      c.output(parseRow(writeBuilder, row, table, tableColumnsMap.get(tableName)));
+      c.output(converter.convert(row));
     } catch (Exception e) {
 
       // Send to error tag only if output path is given, otherwise, throw exception.
@@ -105,192 +111,260 @@ class CSVRecordToMutation extends DoFn<KV<String, CSVRecord>, Mutation> {
             StreamSupport.stream(row.spliterator(), false).collect(Collectors.joining(",")));
       } else {
         throw new RuntimeException(
-            String.format("Error to parseRow. row: %s, table: %s", row, table), e);
+            String.format("Error to parseRow. row: %s, table: %s", row, converter.table), e);
       }
     }
   }
 
+  /** Returns the converter of a table, compiling it on the first row of the table. */
+  private TableConverter converter(ProcessContext c, String tableName) {
+    Ddl ddl = c.sideInput(ddlView);
+    if (converters == null || convertersDdl != ddl) {
+      converters = new HashMap<>();
+      convertersDdl = ddl;
+    }
+    TableConverter converter = converters.get(tableName);
+    if (converter == null) {
+      converter =
+          new TableConverter(
+              ddl.table(tableName),
+              c.sideInput(tableColumnsView).get(tableName),
+              dateFormat.get(),
+              timestampFormat.get());
+      converters.put(tableName, converter);
+    }
+    return converter;
+  }
+
+  /** Parses the text of a cell, which is null or empty for NULL values, into a {@link Value}. */
+  @FunctionalInterface
+  interface CellParser {
+    Value parse(String cellValue);
+  }
+
   /**
-   * Takes a {@link CSVRecord} and converts it into a Mutation object base on the input table's
-   * schema.
-   *
-   * @param builder MutationBuilder to construct
-   * @param row CSVRecord parsed list of data cell
-   * @param table table with column names and column data types
-   * @return the Mutation object built from the CSVRecord
+   * Converts the CSV rows of a table into {@link Mutation} objects. The name and the parser of the
+   * column of every position of the rows are resolved from the table's schema, and from the
+   * manifest's column list if any, once per table rather than for every cell.
    */
-  protected final Mutation parseRow(
-      Mutation.WriteBuilder builder,
-      CSVRecord row,
-      Table table,
-      List<TableManifest.Column> manifestColumns)
-      throws IllegalArgumentException {
-    // The input row's column count could be less than or equal to that of DB schema's.
-    if (row.size() > table.columns().size()) {
-      throw new RuntimeException(
-          String.format(
-              "Parsed row's column count is larger than that of the schema's. "
-                  + "Row size: %d, Column size: %d, Row content: %s",
-              row.size(), table.columns().size(), row.toString()));
+  static final class TableConverter {
+
+    private final Table table;
+    private final boolean hasManifestColumns;
+    private final int manifestColumnCount;
+    private final String[] columnNames;
+    private final CellParser[] parsers;
+
+    /**
+     * @param table table with column names and column data types
+     * @param manifestColumns the columns of the rows given in the manifest, or empty to use the
+     *     columns of the table
+     * @param dateFormat pattern of DATE values, or null for the default one
+     * @param timestampFormat pattern of TIMESTAMP values, or null for ISO instants
+     */
+    TableConverter(
+        Table table,
+        List<TableManifest.Column> manifestColumns,
+        String dateFormat,
+        String timestampFormat) {
+      this.table = table;
+      this.hasManifestColumns = manifestColumns != null && manifestColumns.size() > 0;
+      this.manifestColumnCount = manifestColumns == null ? 0 : manifestColumns.size();
+      // A row can not have more cells than the table has columns.
+      int width = table.columns().size();
+      this.columnNames = new String[width];
+      this.parsers = new CellParser[width];
+      for (int i = 0; i < width && (!hasManifestColumns || i < manifestColumnCount); i++) {
+        // If column info is provided in manifest, we use the name from manifest.
+        // Otherwise, we use the column name read from DB.
+        String columnName =
+            hasManifestColumns
+                ? manifestColumns.get(i).getColumnName()
+                : table.columns().get(i).name();
+        columnNames[i] = columnName;
+        Column column = table.column(columnName);
+        parsers[i] =
+            column == null
+                ? cellValue -> {
+                  throw new IllegalArgumentException(
+                      "Unknown column " + columnName + " of table " + table.name());
+                }
+                : cellParser(column.type(), dateFormat, timestampFormat);
+      }
     }
 
-    if (manifestColumns.size() > 0 && row.size() > manifestColumns.size()) {
-      throw new RuntimeException(
-          String.format(
-              "Parsed row's column count is larger than that of the manifest's column list. "
-                  + "Row size: %d, Manifest column size: %d, Row content: %s",
-              row.size(), manifestColumns.size(), row.toString()));
+    /**
+     * Takes a {@link CSVRecord} and converts it into a Mutation object base on the table's schema.
+     *
+     * @param row CSVRecord parsed list of data cell
+     * @return the Mutation object built from the CSVRecord
+     */
+    Mutation convert(CSVRecord row) throws IllegalArgumentException {
+      // The input row's column count could be less than or equal to that of DB schema's.
+      if (row.size() > columnNames.length) {
+        throw new RuntimeException(
+            String.format(
+                "Parsed row's column count is larger than that of the schema's. "
+                    + "Row size: %d, Column size: %d, Row content: %s",
+                row.size(), columnNames.length, row.toString()));
+      }
+
+      if (hasManifestColumns && row.size() > manifestColumnCount) {
+        throw new RuntimeException(
+            String.format(
+                "Parsed row's column count is larger than that of the manifest's column list. "
+                    + "Row size: %d, Manifest column size: %d, Row content: %s",
+                row.size(), manifestColumnCount, row.toString()));
+      }
+
+      // Extract cell by cell and construct Mutation object
+      Mutation.WriteBuilder builder = Mutation.newInsertOrUpdateBuilder(table.name());
+      for (int i = 0; i < row.size(); i++) {
+        builder.set(columnNames[i]).to(parsers[i].parse(row.get(i)));
+      }
+      return builder.build();
     }
+  }
 
-    // Extract cell by cell and construct Mutation object
-    for (int i = 0; i < row.size(); i++) {
-      // If column info is provided in manifest, we use the name from manifest.
-      // Otherwise, we use the column name read from DB.
-      String columnName =
-          manifestColumns != null && manifestColumns.size() > 0
-              ? manifestColumns.get(i).getColumnName()
-              : table.columns().get(i).name();
-      com.google.cloud.teleport.spanner.common.Type columnType = table.column(columnName).type();
-      String cellValue = row.get(i);
-      boolean isNullValue = Strings.isNullOrEmpty(cellValue);
-      Value columnValue = null;
-      // TODO: make the tests below match Spanner's SQL literal rules wherever possible,
-      // in terms of how input is accepted, and throw exceptions on invalid input.
-      switch (columnType.getCode()) {
-        case BOOL:
-        case PG_BOOL:
-          if (isNullValue) {
-            columnValue = Value.bool(null);
+  /** Returns the parser of the cells of a column of the given type. */
+  private static CellParser cellParser(
+      com.google.cloud.teleport.spanner.common.Type columnType,
+      String dateFormat,
+      String timestampFormat) {
+    // TODO: make the tests below match Spanner's SQL literal rules wherever possible,
+    // in terms of how input is accepted, and throw exceptions on invalid input.
+    switch (columnType.getCode()) {
+      case BOOL:
+      case PG_BOOL:
+        return cellValue -> {
+          if (Strings.isNullOrEmpty(cellValue)) {
+            return Value.bool(null);
+          }
+          Boolean bCellValue;
+          if (cellValue.trim().equalsIgnoreCase("true")) {
+            bCellValue = Boolean.TRUE;
+          } else if (cellValue.trim().equalsIgnoreCase("false")) {
+            bCellValue = Boolean.FALSE;
           } else {
-            Boolean bCellValue;
-            if (cellValue.trim().equalsIgnoreCase("true")) {
-              bCellValue = Boolean.TRUE;
-            } else if (cellValue.trim().equalsIgnoreCase("false")) {
-              bCellValue = Boolean.FALSE;
-            } else {
-              try {
-                int num = Integer.parseInt(cellValue.trim());
-                bCellValue = (num == 0) ? Boolean.FALSE : Boolean.TRUE;
-              } catch (NumberFormatException e) {
-                throw new IllegalArgumentException(
-                    cellValue.trim() + " is not recognizable value " + "for BOOL type");
-              }
+            try {
+              int num = Integer.parseInt(cellValue.trim());
+              bCellValue = (num == 0) ? Boolean.FALSE : Boolean.TRUE;
+            } catch (NumberFormatException e) {
+              throw new IllegalArgumentException(
+                  cellValue.trim() + " is not recognizable value " + "for BOOL type");
             }
-            columnValue = Value.bool(bCellValue);
           }
-          break;
-        case INT64:
-        case PG_INT8:
-          columnValue =
-              isNullValue ? Value.int64(null) : Value.int64(Long.valueOf(cellValue.trim()));
-          break;
-        case FLOAT32:
-        case PG_FLOAT4:
-          columnValue =
-              isNullValue ? Value.float32(null) : Value.float32(Float.valueOf(cellValue.trim()));
-          break;
-        case FLOAT64:
-        case PG_FLOAT8:
-          columnValue =
-              isNullValue ? Value.float64(null) : Value.float64(Double.valueOf(cellValue.trim()));
-          break;
-        case STRING:
-        case PG_VARCHAR:
-        case PG_TEXT:
-          columnValue = Value.string(cellValue);
-          break;
-        case UUID:
-        case PG_UUID:
-          columnValue = Value.string(isNullValue ? null : cellValue);
-          break;
-        case DATE:
-        case PG_DATE:
-          if (isNullValue) {
-            columnValue = Value.date(null);
-          } else {
-            LocalDate dt =
-                LocalDate.parse(
-                    cellValue.trim(),
+          return Value.bool(bCellValue);
+        };
+      case INT64:
+      case PG_INT8:
+        return cellValue ->
+            Strings.isNullOrEmpty(cellValue)
+                ? Value.int64(null)
+                : Value.int64(Long.parseLong(cellValue.trim()));
+      case FLOAT32:
+      case PG_FLOAT4:
+        return cellValue ->
+            Strings.isNullOrEmpty(cellValue)
+                ? Value.float32(null)
+                : Value.float32(Float.parseFloat(cellValue.trim()));
+      case FLOAT64:
+      case PG_FLOAT8:
+        return cellValue ->
+            Strings.isNullOrEmpty(cellValue)
+                ? Value.float64(null)
+                : Value.float64(Double.parseDouble(cellValue.trim()));
+      case STRING:
+      case PG_VARCHAR:
+      case PG_TEXT:
+        return Value::string;
+      case UUID:
+      case PG_UUID:
+        return cellValue -> Value.string(Strings.isNullOrEmpty(cellValue) ? null : cellValue);
+      case DATE:
+      case PG_DATE:
+        // Compiled on the first non-null cell, so that an invalid pattern fails that row, which is
+        // sent to the error output like any other unparsable row.
+        Supplier<DateTimeFormatter> dateFormatter =
+            Suppliers.memoize(
+                () ->
                     DateTimeFormatter.ofPattern(
-                        dateFormat.get() == null
-                            ? "yyyy-M[M]-d[d][' 00:00:00']"
-                            : dateFormat.get()));
-            columnValue =
-                Value.date(
-                    com.google.cloud.Date.fromYearMonthDay(
-                        dt.getYear(), dt.getMonthValue(), dt.getDayOfMonth()));
+                        dateFormat == null ? DEFAULT_DATE_FORMAT : dateFormat));
+        return cellValue -> {
+          if (Strings.isNullOrEmpty(cellValue)) {
+            return Value.date(null);
           }
-          break;
-        case TIMESTAMP:
-        case PG_TIMESTAMPTZ:
-        case PG_SPANNER_COMMIT_TIMESTAMP:
-          if (isNullValue) {
-            columnValue = Value.timestamp(null);
-          } else {
-            // Timestamp is either a long integer representing Unix epoch time or a string, which
-            // will be parsed using the pattern corresponding to the timestampFormat flag.
-            Long microseconds = Longs.tryParse(cellValue);
-            if (microseconds != null) {
-              columnValue =
-                  Value.timestamp(com.google.cloud.Timestamp.ofTimeMicroseconds(microseconds));
-            } else {
-              DateTimeFormatter formatter =
-                  timestampFormat.get() == null
-                      ? DateTimeFormatter.ISO_INSTANT
-                      : DateTimeFormatter.ofPattern(timestampFormat.get());
-              TemporalAccessor temporalAccessor = formatter.parse(cellValue.trim());
-
-              Instant ts;
-              try {
-                ts = Instant.from(temporalAccessor);
-              } catch (DateTimeException e) {
-                // Date format may not be converted because it lacks timezone, retry with UTC
-                LocalDateTime localDateTime = LocalDateTime.from(temporalAccessor);
-                ZonedDateTime zonedDateTime = ZonedDateTime.of(localDateTime, ZoneOffset.UTC);
-                ts = Instant.from(zonedDateTime);
-              }
+          LocalDate dt = LocalDate.parse(cellValue.trim(), dateFormatter.get());
+          return Value.date(
+              com.google.cloud.Date.fromYearMonthDay(
+                  dt.getYear(), dt.getMonthValue(), dt.getDayOfMonth()));
+        };
+      case TIMESTAMP:
+      case PG_TIMESTAMPTZ:
+      case PG_SPANNER_COMMIT_TIMESTAMP:
+        Supplier<DateTimeFormatter> timestampFormatter =
+            Suppliers.memoize(
+                () ->
+                    timestampFormat == null
+                        ? DateTimeFormatter.ISO_INSTANT
+                        : DateTimeFormatter.ofPattern(timestampFormat));
+        return cellValue -> {
+          if (Strings.isNullOrEmpty(cellValue)) {
+            return Value.timestamp(null);
+          }
+          // Timestamp is either a long integer representing Unix epoch time or a string, which
+          // will be parsed using the pattern corresponding to the timestampFormat flag.
+          Long microseconds = Longs.tryParse(cellValue);
+          if (microseconds != null) {
+            return Value.timestamp(com.google.cloud.Timestamp.ofTimeMicroseconds(microseconds));
+          }
+          TemporalAccessor temporalAccessor = timestampFormatter.get().parse(cellValue.trim());
 
-              columnValue =
-                  Value.timestamp(
-                      com.google.cloud.Timestamp.ofTimeSecondsAndNanos(
-                          ts.getEpochSecond(), ts.getNano()));
-            }
+          Instant ts;
+          try {
+            ts = Instant.from(temporalAccessor);
+          } catch (DateTimeException e) {
+            // Date format may not be converted because it lacks timezone, retry with UTC
+            LocalDateTime localDateTime = LocalDateTime.from(temporalAccessor);
+            ZonedDateTime zonedDateTime = ZonedDateTime.of(localDateTime, ZoneOffset.UTC);
+            ts = Instant.from(zonedDateTime);
           }
-          break;
-        case NUMERIC:
-        case JSON:
-        case PG_JSONB:
-          columnValue = isNullValue ? Value.string(null) : Value.string(cellValue.trim());
-          break;
-        case PG_NUMERIC:
-          columnValue = isNullValue ? Value.pgNumeric(null) : Value.pgNumeric(cellValue.trim());
-          break;
-        case BYTES:
-        case PG_BYTEA:
-          columnValue =
-              isNullValue ? Value.bytes(null) : Value.bytes(ByteArray.fromBase64(cellValue.trim()));
-          break;
-        case PROTO:
-          columnValue =
-              isNullValue
-                  ? Value.protoMessage(null, columnType.getProtoTypeFqn())
-                  : Value.protoMessage(
-                      ByteArray.fromBase64(cellValue.trim()), columnType.getProtoTypeFqn());
-          break;
-        case ENUM:
-          columnValue =
-              isNullValue
-                  ? Value.protoEnum(null, columnType.getProtoTypeFqn())
-                  : Value.protoEnum(Long.valueOf(cellValue.trim()), columnType.getProtoTypeFqn());
-          break;
-        default:
+
+          return Value.timestamp(
+              com.google.cloud.Timestamp.ofTimeSecondsAndNanos(ts.getEpochSecond(), ts.getNano()));
+        };
+      case NUMERIC:
+      case JSON:
+      case PG_JSONB:
+        return cellValue ->
+            Strings.isNullOrEmpty(cellValue) ? Value.string(null) : Value.string(cellValue.trim());
+      case PG_NUMERIC:
+        return cellValue ->
+            Strings.isNullOrEmpty(cellValue)
+                ? Value.pgNumeric(null)
+                : Value.pgNumeric(cellValue.trim());
+      case BYTES:
+      case PG_BYTEA:
+        return cellValue ->
+            Strings.isNullOrEmpty(cellValue)
+                ? Value.bytes(null)
+                : Value.bytes(ByteArray.fromBase64(cellValue.trim()));
+      case PROTO:
+        return cellValue ->
+            Strings.isNullOrEmpty(cellValue)
+                ? Value.protoMessage(null, columnType.getProtoTypeFqn())
+                : Value.protoMessage(
+                    ByteArray.fromBase64(cellValue.trim()), columnType.getProtoTypeFqn());
+      case ENUM:
+        return cellValue ->
+            Strings.isNullOrEmpty(cellValue)
+                ? Value.protoEnum(null, columnType.getProtoTypeFqn())
+                : Value.protoEnum(Long.parseLong(cellValue.trim()), columnType.getProtoTypeFqn());
+      default:
+        return cellValue -> {
           throw new IllegalArgumentException(
               "Unrecognized column data type: " + columnType.getCode());
-      }
-
-      builder.set(columnName).to(columnValue);
+        };
     }
-
-    return builder.build();
   }
 }
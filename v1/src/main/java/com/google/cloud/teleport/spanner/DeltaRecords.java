@@ -0,0 +1,438 @@
+/*
+ * Copyright (C) 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.cloud.teleport.spanner;
+
+import com.google.auto.value.AutoValue;
+import com.google.cloud.ByteArray;
+import com.google.cloud.Date;
+import com.google.cloud.Timestamp;
+import com.google.cloud.spanner.Key;
+import com.google.cloud.spanner.Mutation;
+import com.google.cloud.spanner.Value;
+import com.google.cloud.teleport.spanner.common.Type;
+import com.google.cloud.teleport.spanner.ddl.Column;
+import com.google.cloud.teleport.spanner.ddl.IndexColumn;
+import com.google.cloud.teleport.spanner.ddl.Table;
+import com.google.cloud.teleport.spanner.spannerio.changestreams.model.DataChangeRecord;
+import com.google.cloud.teleport.spanner.spannerio.changestreams.model.Mod;
+import com.google.common.collect.ComparisonChain;
+import com.google.common.collect.Ordering;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Function;
+import javax.annotation.Nullable;
+import org.apache.avro.Schema;
+import org.apache.avro.SchemaBuilder;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.avro.generic.GenericRecordBuilder;
+
+/**
+ * Converts the changes read from a change stream to the Avro records of an incremental export, and
+ * the records of a sequence of incremental exports back to {@link Mutation}s.
+ *
+ * <p>Every record holds a single modified row. Keys and new values are kept as the JSON the change
+ * stream returns them in, so that the files do not depend on the schema of the tables. They are
+ * converted to Spanner values using the schema of the table when the changes are imported.
+ */
+public final class DeltaRecords {
+
+  /** Name of the summary file of an incremental export. */
+  public static final String DELTA_MANIFEST_FILE = "spanner-delta.json";
+
+  /** Name of the summary file of a full export. */
+  public static final String EXPORT_MANIFEST_FILE = "spanner-export.json";
+
+  /** Schema of the records of the delta Avro files. */
+  public static final Schema SCHEMA =
+      SchemaBuilder.record("SpannerDeltaRecord")
+          .namespace("com.google.cloud.teleport.spanner")
+          .fields()
+          .requiredString("table_name")
+          .requiredString("commit_timestamp")
+          .requiredString("server_transaction_id")
+          .requiredString("record_sequence")
+          .requiredInt("mod_index")
+          .requiredString("mod_type")
+          .requiredString("keys_json")
+          .optionalString("new_values_json")
+          .endRecord();
+
+  private DeltaRecords() {}
+
+  /** Returns the prefix of the delta Avro files of a table. */
+  static String deltaFilePrefix(String tableName) {
+    return tableName + "-delta.avro";
+  }
+
+  /** Returns one Avro record per row modified by a change stream record. */
+  public static List<GenericRecord> toAvroRecords(DataChangeRecord record) {
+    List<GenericRecord> result = new ArrayList<>();
+    List<Mod> mods = record.getMods();
+    for (int i = 0; i < mods.size(); i++) {
+      Mod mod = mods.get(i);
+      result.add(
+          new GenericRecordBuilder(SCHEMA)
+              .set("table_name", record.getTableName())
+              .set("commit_timestamp", record.getCommitTimestamp().toString())
+              .set("server_transaction_id", record.getServerTransactionId())
+              .set("record_sequence", record.getRecordSequence())
+              .set("mod_index", i)
+              .set("mod_type", record.getModType().name())
+              .set("keys_json", mod.getKeysJson())
+              .set("new_values_json", mod.getNewValuesJson())
+              .build());
+    }
+    return result;
+  }
+
+  /**
+   * Reads a delta Avro record.
+   *
+   * @param deltaIndex position of the incremental export the record belongs to in the sequence of
+   *     exports being imported.
+   * @param record record conforming to {@link #SCHEMA}.
+   */
+  public static Change fromAvroRecord(int deltaIndex, GenericRecord record) {
+    Object newValues = record.get("new_values_json");
+    return new AutoValue_DeltaRecords_Change(
+        deltaIndex,
+        Timestamp.parseTimestamp(record.get("commit_timestamp").toString()),
+        record.get("record_sequence").toString(),
+        (Integer) record.get("mod_index"),
+        record.get("table_name").toString(),
+        record.get("mod_type").toString(),
+        record.get("keys_json").toString(),
+        newValues == null ? null : newValues.toString());
+  }
+
+  /** Returns a key that identifies the row modified by a change. */
+  public static String rowKey(Change change) {
+    JsonObject keys = JsonParser.parseString(change.keysJson()).getAsJsonObject();
+    Map<String, String> sortedKeys = new TreeMap<>();
+    for (Map.Entry<String, JsonElement> entry : keys.entrySet()) {
+      sortedKeys.put(entry.getKey(), entry.getValue().toString());
+    }
+    return change.tableName() + sortedKeys;
+  }
+
+  /** A modification of a single row, ordered by the time it was committed. */
+  @AutoValue
+  public abstract static class Change implements Comparable<Change>, Serializable {
+
+    public abstract int deltaIndex();
+
+    public abstract Timestamp commitTimestamp();
+
+    public abstract String recordSequence();
+
+    public abstract int modIndex();
+
+    public abstract String tableName();
+
+    public abstract String modType();
+
+    public abstract String keysJson();
+
+    @Nullable
+    public abstract String newValuesJson();
+
+    @Override
+    public int compareTo(Change other) {
+      return ComparisonChain.start()
+          .compare(deltaIndex(), other.deltaIndex())
+          .compare(commitTimestamp(), other.commitTimestamp())
+          .compare(recordSequence(), other.recordSequence())
+          .compare(modIndex(), other.modIndex())
+          .result();
+    }
+  }
+
+  /** State of a row after a sequence of changes, relative to the state it had before them. */
+  private enum RowState {
+    UNCHANGED,
+    UPDATED,
+    REPLACED,
+    DELETED
+  }
+
+  /**
+   * Folds the changes of a single row into the mutation that has the same net effect.
+   *
+   * <p>An insert, or any change following a delete, replaces the whole row. Updates of a row that
+   * existed before the changes only set the columns they modified.
+   *
+   * @param table schema of the table of the row.
+   * @param changes changes of the row, in any order.
+   * @return the mutation, or null if there are no changes.
+   */
+  @Nullable
+  public static Mutation toMutation(Table table, Iterable<Change> changes) {
+    RowState state = RowState.UNCHANGED;
+    JsonObject keys = null;
+    Map<String, JsonElement> values = new LinkedHashMap<>();
+    for (Change change : Ordering.natural().sortedCopy(changes)) {
+      keys = JsonParser.parseString(change.keysJson()).getAsJsonObject();
+      switch (change.modType()) {
+        case "INSERT":
+          values.clear();
+          putAll(values, keys);
+          putAll(values, change.newValuesJson());
+          state = RowState.REPLACED;
+          break;
+        case "UPDATE":
+          putAll(values, keys);
+          putAll(values, change.newValuesJson());
+          // Updates only replace the row if it was inserted or deleted by an earlier change.
+          state =
+              state == RowState.UNCHANGED || state == RowState.UPDATED
+                  ? RowState.UPDATED
+                  : RowState.REPLACED;
+          break;
+        case "DELETE":
+          values.clear();
+          state = RowState.DELETED;
+          break;
+        default:
+          throw new IllegalArgumentException(
+              String.format(
+                  "Unsupported mod type %s of table %s", change.modType(), change.tableName()));
+      }
+    }
+    if (state == RowState.UNCHANGED) {
+      return null;
+    }
+    if (state == RowState.DELETED) {
+      return Mutation.delete(table.name(), toKey(table, keys));
+    }
+    Mutation.WriteBuilder builder =
+        state == RowState.REPLACED
+            ? Mutation.newReplaceBuilder(table.name())
+            : Mutation.newInsertOrUpdateBuilder(table.name());
+    for (Map.Entry<String, JsonElement> entry : values.entrySet()) {
+      Column column = table.column(entry.getKey());
+      if (column == null) {
+        throw new IllegalArgumentException(
+            String.format(
+                "Cannot find column %s of table %s", entry.getKey(), table.prettyPrint()));
+      }
+      if (column.isGenerated()) {
+        // Spanner will compute generated column values automatically.
+        continue;
+      }
+      builder.set(column.name()).to(toValue(column.type(), entry.getValue()));
+    }
+    return builder.build();
+  }
+
+  private static void putAll(Map<String, JsonElement> values, @Nullable String json) {
+    if (json != null) {
+      putAll(values, JsonParser.parseString(json).getAsJsonObject());
+    }
+  }
+
+  private static void putAll(Map<String, JsonElement> values, JsonObject json) {
+    for (Map.Entry<String, JsonElement> entry : json.entrySet()) {
+      values.put(entry.getKey(), entry.getValue());
+    }
+  }
+
+  /** Builds the key of a row from the JSON object of its key columns. */
+  static Key toKey(Table table, JsonObject keys) {
+    Key.Builder builder = Key.newBuilder();
+    for (IndexColumn keyColumn : table.primaryKeys()) {
+      Column column = table.column(keyColumn.name());
+      JsonElement json = keys.get(keyColumn.name());
+      if (json == null || json.isJsonNull()) {
+        builder.append((String) null);
+        continue;
+      }
+      switch (column.type().getCode()) {
+        case BOOL:
+        case PG_BOOL:
+          builder.append(json.getAsBoolean());
+          break;
+        case INT64:
+        case PG_INT8:
+        case ENUM:
+          builder.append(Long.parseLong(json.getAsString()));
+          break;
+        case FLOAT32:
+        case PG_FLOAT4:
+          builder.append(Float.parseFloat(json.getAsString()));
+          break;
+        case FLOAT64:
+        case PG_FLOAT8:
+          builder.append(Double.parseDouble(json.getAsString()));
+          break;
+        case STRING:
+        case PG_VARCHAR:
+        case PG_TEXT:
+        case UUID:
+        case PG_UUID:
+        case PG_NUMERIC:
+          builder.append(json.getAsString());
+          break;
+        case NUMERIC:
+          builder.append(new BigDecimal(json.getAsString()));
+          break;
+        case BYTES:
+        case PG_BYTEA:
+        case PROTO:
+          builder.append(ByteArray.fromBase64(json.getAsString()));
+          break;
+        case TIMESTAMP:
+        case PG_TIMESTAMPTZ:
+        case PG_SPANNER_COMMIT_TIMESTAMP:
+          builder.append(Timestamp.parseTimestamp(json.getAsString()));
+          break;
+        case DATE:
+        case PG_DATE:
+          builder.append(Date.parseDate(json.getAsString()));
+          break;
+        default:
+          throw new IllegalArgumentException(
+              String.format(
+                  "Cannot convert key column %s of table %s", column.name(), table.name()));
+      }
+    }
+    return builder.build();
+  }
+
+  /**
+   * Converts a value, as encoded in the JSON of a change stream record, to a Spanner value of the
+   * given type. INT64 and NUMERIC values are encoded as strings, BYTES values as base64 strings and
+   * TIMESTAMP and DATE values as RFC 3339 strings.
+   */
+  static Value toValue(Type type, @Nullable JsonElement json) {
+    boolean isNull = json == null || json.isJsonNull();
+    switch (type.getCode()) {
+      case BOOL:
+      case PG_BOOL:
+        return Value.bool(isNull ? null : json.getAsBoolean());
+      case INT64:
+      case PG_INT8:
+      case ENUM:
+        return Value.int64(isNull ? null : Long.parseLong(json.getAsString()));
+      case FLOAT32:
+      case PG_FLOAT4:
+        return Value.float32(isNull ? null : Float.parseFloat(json.getAsString()));
+      case FLOAT64:
+      case PG_FLOAT8:
+        return Value.float64(isNull ? null : Double.parseDouble(json.getAsString()));
+      case STRING:
+      case PG_VARCHAR:
+      case PG_TEXT:
+      case UUID:
+      case PG_UUID:
+        return Value.string(isNull ? null : json.getAsString());
+      case JSON:
+        return Value.json(isNull ? null : jsonText(json));
+      case PG_JSONB:
+        return Value.pgJsonb(isNull ? null : jsonText(json));
+      case BYTES:
+      case PG_BYTEA:
+      case PROTO:
+        return Value.bytes(isNull ? null : ByteArray.fromBase64(json.getAsString()));
+      case TIMESTAMP:
+      case PG_TIMESTAMPTZ:
+      case PG_SPANNER_COMMIT_TIMESTAMP:
+        return Value.timestamp(isNull ? null : Timestamp.parseTimestamp(json.getAsString()));
+      case DATE:
+      case PG_DATE:
+        return Value.date(isNull ? null : Date.parseDate(json.getAsString()));
+      case NUMERIC:
+        return Value.numeric(isNull ? null : new BigDecimal(json.getAsString()));
+      case PG_NUMERIC:
+        return Value.pgNumeric(isNull ? null : json.getAsString());
+      case ARRAY:
+      case PG_ARRAY:
+        return toArrayValue(type.getArrayElementType(), isNull ? null : json.getAsJsonArray());
+      default:
+        throw new IllegalArgumentException("Cannot convert values of type " + type);
+    }
+  }
+
+  private static Value toArrayValue(Type elementType, @Nullable JsonArray json) {
+    switch (elementType.getCode()) {
+      case BOOL:
+      case PG_BOOL:
+        return Value.boolArray(toList(json, JsonElement::getAsBoolean));
+      case INT64:
+      case PG_INT8:
+      case ENUM:
+        return Value.int64Array(toList(json, e -> Long.parseLong(e.getAsString())));
+      case FLOAT32:
+      case PG_FLOAT4:
+        return Value.float32Array(toList(json, e -> Float.parseFloat(e.getAsString())));
+      case FLOAT64:
+      case PG_FLOAT8:
+        return Value.float64Array(toList(json, e -> Double.parseDouble(e.getAsString())));
+      case STRING:
+      case PG_VARCHAR:
+      case PG_TEXT:
+      case UUID:
+      case PG_UUID:
+        return Value.stringArray(toList(json, JsonElement::getAsString));
+      case JSON:
+        return Value.jsonArray(toList(json, DeltaRecords::jsonText));
+      case PG_JSONB:
+        return Value.pgJsonbArray(toList(json, DeltaRecords::jsonText));
+      case BYTES:
+      case PG_BYTEA:
+      case PROTO:
+        return Value.bytesArray(toList(json, e -> ByteArray.fromBase64(e.getAsString())));
+      case TIMESTAMP:
+      case PG_TIMESTAMPTZ:
+      case PG_SPANNER_COMMIT_TIMESTAMP:
+        return Value.timestampArray(toList(json, e -> Timestamp.parseTimestamp(e.getAsString())));
+      case DATE:
+      case PG_DATE:
+        return Value.dateArray(toList(json, e -> Date.parseDate(e.getAsString())));
+      case NUMERIC:
+        return Value.numericArray(toList(json, e -> new BigDecimal(e.getAsString())));
+      case PG_NUMERIC:
+        return Value.pgNumericArray(toList(json, JsonElement::getAsString));
+      default:
+        throw new IllegalArgumentException("Cannot convert arrays of type " + elementType);
+    }
+  }
+
+  @Nullable
+  private static <T> List<T> toList(@Nullable JsonArray json, Function<JsonElement, T> converter) {
+    if (json == null) {
+      return null;
+    }
+    List<T> result = new ArrayList<>(json.size());
+    for (JsonElement element : json) {
+      result.add(element.isJsonNull() ? null : converter.apply(element));
+    }
+    return result;
+  }
+
+  /** JSON columns are returned as strings holding the JSON document. */
+  private static String jsonText(JsonElement json) {
+    return json.isJsonPrimitive() ? json.getAsString() : json.toString();
+  }
+}
@@ -0,0 +1,171 @@
+/*
+ * Copyright (C) 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.cloud.teleport.spanner;
+
+import com.google.cloud.Timestamp;
+import com.google.cloud.spanner.Options.RpcPriority;
+import com.google.cloud.spanner.SpannerOptions;
+import com.google.cloud.teleport.spanner.spannerio.SpannerConfig;
+import com.google.common.base.Strings;
+import org.apache.beam.sdk.Pipeline;
+import org.apache.beam.sdk.options.Default;
+import org.apache.beam.sdk.options.Description;
+import org.apache.beam.sdk.options.PipelineOptions;
+import org.apache.beam.sdk.options.PipelineOptionsFactory;
+import org.apache.beam.sdk.options.Validation;
+
+/**
+ * Pipeline that incrementally exports the changes committed to a Cloud Spanner database since a
+ * previous export, using {@link ExportDeltaTransform}.
+ *
+ * <p>The previous export is either a full export created by {@link ExportPipeline}, or an
+ * incremental export created by this pipeline. The changes are read from a change stream, which
+ * must watch all tables of the database and retain changes for longer than the time between two
+ * exports.
+ *
+ * <p>Unlike {@link ExportPipeline}, this pipeline can not be staged as a classic template: the
+ * change stream connector, and the start time read from the previous export, are configured when
+ * the pipeline is constructed. Launch it directly, for example with {@code mvn exec:java}.
+ */
+public class ExportDeltaPipeline {
+
+  /** Options for the incremental export pipeline. */
+  public interface ExportDeltaPipelineOptions extends PipelineOptions {
+    @Description("The instance ID of the Spanner database that you want to export.")
+    @Validation.Required
+    String getInstanceId();
+
+    void setInstanceId(String value);
+
+    @Description("The database ID of the Spanner database that you want to export.")
+    @Validation.Required
+    String getDatabaseId();
+
+    void setDatabaseId(String value);
+
+    @Description(
+        "The ID of the Google Cloud project that contains the Spanner database. Defaults to the"
+            + " project of the pipeline.")
+    String getSpannerProjectId();
+
+    void setSpannerProjectId(String value);
+
+    @Description("The change stream to read the changes from.")
+    @Validation.Required
+    String getChangeStreamName();
+
+    void setChangeStreamName(String value);
+
+    @Description(
+        "The Cloud Storage directory of the previous full or incremental export. Changes committed"
+            + " after it are exported.")
+    @Validation.Required
+    String getPreviousExportDir();
+
+    void setPreviousExportDir(String value);
+
+    @Description("The Cloud Storage directory to write the incremental export to.")
+    @Validation.Required
+    String getOutputDir();
+
+    void setOutputDir(String value);
+
+    @Description(
+        "The commit timestamp, in RFC 3339 format, to export changes until. Defaults to the time"
+            + " the pipeline is constructed.")
+    @Default.String("")
+    String getEndTime();
+
+    void setEndTime(String value);
+
+    @Description(
+        "The instance of the database that stores the change stream metadata. Defaults to the"
+            + " instance of the exported database.")
+    String getMetadataInstanceId();
+
+    void setMetadataInstanceId(String value);
+
+    @Description(
+        "The database that stores the change stream metadata. Defaults to the exported database.")
+    String getMetadataDatabaseId();
+
+    void setMetadataDatabaseId(String value);
+
+    @Description("The request priority of the change stream queries.")
+    @Default.Enum("HIGH")
+    RpcPriority getSpannerPriority();
+
+    void setSpannerPriority(RpcPriority value);
+
+    @Description("The number of delta Avro files written for every modified table.")
+    @Default.Integer(4)
+    Integer getShardsPerTable();
+
+    void setShardsPerTable(Integer value);
+  }
+
+  /**
+   * Runs a pipeline to export the changes committed to a Cloud Spanner database since a previous
+   * export.
+   *
+   * @param args arguments to the pipeline
+   */
+  public static void main(String[] args) {
+    ExportDeltaPipelineOptions options =
+        PipelineOptionsFactory.fromArgs(args).withValidation().as(ExportDeltaPipelineOptions.class);
+
+    Pipeline p = Pipeline.create(options);
+
+    SpannerConfig spannerConfig =
+        SpannerConfig.create()
+            .withProjectId(
+                Strings.isNullOrEmpty(options.getSpannerProjectId())
+                    ? SpannerOptions.getDefaultProjectId()
+                    : options.getSpannerProjectId())
+            .withInstanceId(options.getInstanceId())
+            .withDatabaseId(options.getDatabaseId())
+            .withRpcPriority(options.getSpannerPriority());
+
+    Timestamp startTime =
+        ExportDeltaTransform.readPreviousExportTime(options.getPreviousExportDir());
+    Timestamp endTime =
+        Strings.isNullOrEmpty(options.getEndTime())
+            ? Timestamp.now()
+            : Timestamp.parseTimestamp(options.getEndTime());
+    if (endTime.compareTo(Timestamp.now()) > 0) {
+      throw new IllegalArgumentException("End time is in the future " + endTime);
+    }
+
+    p.begin()
+        .apply(
+            "Run Incremental Export",
+            new ExportDeltaTransform(
+                spannerConfig,
+                options.getChangeStreamName(),
+                Strings.isNullOrEmpty(options.getMetadataInstanceId())
+                    ? options.getInstanceId()
+                    : options.getMetadataInstanceId(),
+                Strings.isNullOrEmpty(options.getMetadataDatabaseId())
+                    ? options.getDatabaseId()
+                    : options.getMetadataDatabaseId(),
+                startTime,
+                endTime,
+                options.getSpannerPriority(),
+                options.getOutputDir(),
+                options.getShardsPerTable()));
+    p.run();
+  }
+}
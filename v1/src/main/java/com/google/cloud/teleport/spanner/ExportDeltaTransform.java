@@ -0,0 +1,311 @@
+/*
+ * Copyright (C) 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.cloud.teleport.spanner;
+
+import com.google.cloud.Timestamp;
+import com.google.cloud.spanner.Dialect;
+import com.google.cloud.spanner.Options.RpcPriority;
+import com.google.cloud.teleport.spanner.proto.ExportProtos.DeltaExport;
+import com.google.cloud.teleport.spanner.proto.ExportProtos.Export;
+import com.google.cloud.teleport.spanner.proto.ExportProtos.ProtoDialect;
+import com.google.cloud.teleport.spanner.spannerio.SpannerConfig;
+import com.google.cloud.teleport.spanner.spannerio.SpannerIO;
+import com.google.cloud.teleport.spanner.spannerio.changestreams.model.DataChangeRecord;
+import com.google.common.base.Strings;
+import com.google.protobuf.util.JsonFormat;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import javax.annotation.Nullable;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.beam.sdk.coders.StringUtf8Coder;
+import org.apache.beam.sdk.extensions.avro.coders.AvroCoder;
+import org.apache.beam.sdk.extensions.avro.io.AvroIO;
+import org.apache.beam.sdk.io.FileIO;
+import org.apache.beam.sdk.io.FileSystems;
+import org.apache.beam.sdk.io.WriteFilesResult;
+import org.apache.beam.sdk.io.fs.EmptyMatchTreatment;
+import org.apache.beam.sdk.io.fs.MatchResult;
+import org.apache.beam.sdk.io.fs.ResourceId;
+import org.apache.beam.sdk.transforms.Combine;
+import org.apache.beam.sdk.transforms.Distinct;
+import org.apache.beam.sdk.transforms.DoFn;
+import org.apache.beam.sdk.transforms.Keys;
+import org.apache.beam.sdk.transforms.PTransform;
+import org.apache.beam.sdk.transforms.ParDo;
+import org.apache.beam.sdk.transforms.View;
+import org.apache.beam.sdk.util.MimeTypes;
+import org.apache.beam.sdk.values.PBegin;
+import org.apache.beam.sdk.values.PCollection;
+import org.apache.beam.sdk.values.PCollectionView;
+import org.apache.beam.sdk.values.PDone;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Exports the changes committed to a Cloud Spanner database after a previous export, as read from a
+ * change stream.
+ *
+ * <p>The changes committed in {@code (startTime, endTime]} are written as one set of delta Avro
+ * files per modified table, see {@link DeltaRecords#SCHEMA}, along with a summary file
+ * 'spanner-delta.json'. For example, for a database in which only the Singers table was modified,
+ * the transform writes the following file set. <code>
+ *  Singers-delta.avro-00000-of-00002
+ *  Singers-delta.avro-00001-of-00002
+ *  spanner-delta.json
+ * </code>
+ *
+ * <p>A full export followed by a chain of incremental exports, each starting where the previous one
+ * ended, can be imported with {@link ImportTransform}.
+ */
+public class ExportDeltaTransform extends PTransform<PBegin, PDone> {
+  private static final Logger LOG = LoggerFactory.getLogger(ExportDeltaTransform.class);
+
+  private final SpannerConfig spannerConfig;
+  private final String changeStreamName;
+  private final String metadataInstanceId;
+  private final String metadataDatabaseId;
+  private final Timestamp startTime;
+  private final Timestamp endTime;
+  private final RpcPriority rpcPriority;
+  private final String outputDir;
+  private final int shardsPerTable;
+
+  /**
+   * @param spannerConfig database to export.
+   * @param changeStreamName change stream to read, it must watch all the exported tables.
+   * @param metadataInstanceId instance of the change stream metadata database.
+   * @param metadataDatabaseId database to store the change stream metadata table in.
+   * @param startTime commit timestamp to read changes after, exclusive.
+   * @param endTime commit timestamp to read changes until, inclusive.
+   * @param rpcPriority priority of the change stream queries.
+   * @param outputDir directory to write the files to.
+   * @param shardsPerTable number of delta files written per table.
+   */
+  public ExportDeltaTransform(
+      SpannerConfig spannerConfig,
+      String changeStreamName,
+      String metadataInstanceId,
+      String metadataDatabaseId,
+      Timestamp startTime,
+      Timestamp endTime,
+      RpcPriority rpcPriority,
+      String outputDir,
+      int shardsPerTable) {
+    this.spannerConfig = spannerConfig;
+    this.changeStreamName = changeStreamName;
+    this.metadataInstanceId = metadataInstanceId;
+    this.metadataDatabaseId = metadataDatabaseId;
+    this.startTime = startTime;
+    this.endTime = endTime;
+    this.rpcPriority = rpcPriority;
+    this.outputDir = outputDir;
+    this.shardsPerTable = shardsPerTable;
+  }
+
+  @Override
+  public PDone expand(PBegin begin) {
+    if (startTime.compareTo(endTime) >= 0) {
+      throw new IllegalArgumentException(
+          String.format("End time %s must be after start time %s", endTime, startTime));
+    }
+    PCollectionView<Dialect> dialectView =
+        begin
+            .apply("Read Dialect", new ReadDialect(spannerConfig))
+            .apply("Dialect As PCollectionView", View.asSingleton());
+
+    PCollection<GenericRecord> records =
+        begin
+            .apply(
+                "Read change stream",
+                SpannerIO.readChangeStream()
+                    .withSpannerConfig(spannerConfig)
+                    .withChangeStreamName(changeStreamName)
+                    .withMetadataInstance(metadataInstanceId)
+                    .withMetadataDatabase(metadataDatabaseId)
+                    .withInclusiveStartAt(nextTimestamp(startTime))
+                    .withInclusiveEndAt(endTime)
+                    .withRpcPriority(rpcPriority))
+            .apply(
+                "Change stream records as Avro",
+                ParDo.of(
+                    new DoFn<DataChangeRecord, GenericRecord>() {
+
+                      @ProcessElement
+                      public void processElement(ProcessContext c) {
+                        for (GenericRecord record : DeltaRecords.toAvroRecords(c.element())) {
+                          c.output(record);
+                        }
+                      }
+                    }))
+            .setCoder(AvroCoder.of(DeltaRecords.SCHEMA));
+
+    // The change stream is unbounded, the files and the manifest are written once its watermark
+    // reaches the end time and the global window fires.
+    WriteFilesResult<String> files =
+        records.apply(
+            "Write delta files",
+            FileIO.<String, GenericRecord>writeDynamic()
+                .by(record -> record.get("table_name").toString())
+                .withDestinationCoder(StringUtf8Coder.of())
+                .via(AvroIO.sink(DeltaRecords.SCHEMA))
+                .to(outputDir)
+                .withNaming(
+                    table ->
+                        (window, pane, numShards, shardIndex, compression) ->
+                            String.format(
+                                "%s-%05d-of-%05d",
+                                DeltaRecords.deltaFilePrefix(table), shardIndex, numShards))
+                .withNumShards(shardsPerTable));
+
+    files
+        .getPerDestinationOutputFilenames()
+        .apply("Modified tables", Keys.create())
+        .apply("Distinct modified tables", Distinct.create())
+        .apply("Combine modified tables", Combine.globally(AsList.fn()))
+        .apply(
+            "Write delta manifest",
+            ParDo.of(
+                    new WriteDeltaManifest(
+                        startTime, endTime, changeStreamName, outputDir, dialectView))
+                .withSideInputs(dialectView));
+    return PDone.in(begin.getPipeline());
+  }
+
+  /** Writes the summary file of the incremental export. */
+  static class WriteDeltaManifest extends DoFn<List<String>, Void> {
+
+    private final Timestamp startTime;
+    private final Timestamp endTime;
+    private final String changeStreamName;
+    private final String outputDir;
+    private final PCollectionView<Dialect> dialectView;
+
+    WriteDeltaManifest(
+        Timestamp startTime,
+        Timestamp endTime,
+        String changeStreamName,
+        String outputDir,
+        PCollectionView<Dialect> dialectView) {
+      this.startTime = startTime;
+      this.endTime = endTime;
+      this.changeStreamName = changeStreamName;
+      this.outputDir = outputDir;
+      this.dialectView = dialectView;
+    }
+
+    @ProcessElement
+    public void processElement(ProcessContext c) throws IOException {
+      List<String> tables = new ArrayList<>(c.element());
+      Collections.sort(tables);
+      DeltaExport.Builder manifest =
+          DeltaExport.newBuilder()
+              .setStartTime(startTime.toString())
+              .setEndTime(endTime.toString())
+              .setChangeStreamName(changeStreamName)
+              .setDialect(ProtoDialect.valueOf(c.sideInput(dialectView).name()));
+      for (String table : tables) {
+        manifest.addTables(
+            Export.Table.newBuilder()
+                .setName(table)
+                .addDataFiles(DeltaRecords.deltaFilePrefix(table) + "-*"));
+      }
+      ResourceId resourceId =
+          FileSystems.matchNewResource(
+              GcsUtil.joinPath(outputDir, DeltaRecords.DELTA_MANIFEST_FILE), false);
+      try (Writer writer =
+          Channels.newWriter(
+              FileSystems.create(resourceId, MimeTypes.TEXT), StandardCharsets.UTF_8.name())) {
+        writer.write(JsonFormat.printer().print(manifest.build()));
+      }
+      LOG.info("Exported changes of {} tables to {}", tables.size(), outputDir);
+    }
+  }
+
+  /**
+   * Returns the commit timestamp up to which a previous export holds the data of the database: the
+   * snapshot time of a full export, or the end time of an incremental export.
+   *
+   * @param exportDir directory of the previous export.
+   */
+  public static Timestamp readPreviousExportTime(String exportDir) {
+    String deltaManifest = readFile(GcsUtil.joinPath(exportDir, DeltaRecords.DELTA_MANIFEST_FILE));
+    String exportManifest =
+        deltaManifest == null
+            ? readFile(GcsUtil.joinPath(exportDir, DeltaRecords.EXPORT_MANIFEST_FILE))
+            : null;
+    try {
+      if (deltaManifest != null) {
+        DeltaExport.Builder delta = DeltaExport.newBuilder();
+        JsonFormat.parser().merge(deltaManifest, delta);
+        return Timestamp.parseTimestamp(delta.getEndTime());
+      }
+      if (exportManifest != null) {
+        Export.Builder export = Export.newBuilder();
+        JsonFormat.parser().ignoringUnknownFields().merge(exportManifest, export);
+        if (Strings.isNullOrEmpty(export.getSnapshotTime())) {
+          throw new IllegalArgumentException(
+              "The export in "
+                  + exportDir
+                  + " does not record its snapshot time, it was created by an older version of"
+                  + " the export pipeline.");
+        }
+        return Timestamp.parseTimestamp(export.getSnapshotTime());
+      }
+    } catch (IOException e) {
+      throw new RuntimeException(e);
+    }
+    throw new IllegalArgumentException("No Cloud Spanner export found in " + exportDir);
+  }
+
+  @Nullable
+  private static String readFile(String path) {
+    try {
+      MatchResult match = FileSystems.match(path, EmptyMatchTreatment.ALLOW);
+      if (match.metadata().isEmpty()) {
+        return null;
+      }
+      try (InputStream stream =
+          Channels.newInputStream(FileSystems.open(match.metadata().get(0).resourceId()))) {
+        Reader reader = new InputStreamReader(stream, StandardCharsets.UTF_8);
+        StringBuilder result = new StringBuilder();
+        char[] buffer = new char[8192];
+        int read;
+        while ((read = reader.read(buffer)) != -1) {
+          result.append(buffer, 0, read);
+        }
+        return result.toString();
+      }
+    } catch (IOException e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+  /** Returns the smallest timestamp after {@code timestamp}. */
+  static Timestamp nextTimestamp(Timestamp timestamp) {
+    int nanos = timestamp.getNanos() + 1;
+    return nanos < 1_000_000_000
+        ? Timestamp.ofTimeSecondsAndNanos(timestamp.getSeconds(), nanos)
+        : Timestamp.ofTimeSecondsAndNanos(timestamp.getSeconds() + 1, 0);
+  }
+}
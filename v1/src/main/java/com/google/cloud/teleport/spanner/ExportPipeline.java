@@ -249,6 +249,18 @@ public class ExportPipeline {
     ValueProvider<ChecksumAlgorithm> getChecksumAlgorithm();
 
     void setChecksumAlgorithm(ValueProvider<ChecksumAlgorithm> value);
+
+    @TemplateParameter.Long(
+        order = 15,
+        groupName = "Source",
+        optional = true,
+        description = "Target number of rows per key range",
+        helpText =
+            "When greater than 0, large tables of GoogleSQL databases are split into ranges of their first primary key column, each holding about this number of rows, which are read in parallel. The ranges are estimated from a sample of the table. The default value is 0, which reads every table as a single query.")
+    @Default.Long(0)
+    ValueProvider<Long> getKeyRangeSplitTargetRows();
+
+    void setKeyRangeSplitTargetRows(ValueProvider<Long> value);
   }
 
   /**
@@ -293,7 +305,8 @@ public class ExportPipeline {
                 options.getShouldExportRelatedTables(),
                 options.getShouldExportTimestampAsLogicalType(),
                 options.getAvroTempDirectory(),
-                options.getChecksumAlgorithm()));
+                options.getChecksumAlgorithm(),
+                options.getKeyRangeSplitTargetRows()));
     PipelineResult result = p.run();
     if (options.getWaitUntilFinish()
         &&
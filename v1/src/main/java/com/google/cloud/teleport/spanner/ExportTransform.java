@@ -64,6 +64,7 @@ import java.util.Objects;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.stream.Collectors;
+import javax.annotation.Nullable;
 import org.apache.avro.Schema;
 import org.apache.avro.SchemaBuilder;
 import org.apache.avro.file.DataFileWriter;
@@ -143,6 +144,7 @@ public class ExportTransform extends PTransform<PBegin, WriteFilesResult<String>
   private final ValueProvider<String> avroTempDirectory;
   private final ValueProvider<ExportPipeline.ExportPipelineOptions.ChecksumAlgorithm>
       checksumAlgorithm;
+  private final ValueProvider<Long> keyRangeSplitTargetRows;
 
   public ExportTransform(
       SpannerConfig spannerConfig,
@@ -193,6 +195,30 @@ public class ExportTransform extends PTransform<PBegin, WriteFilesResult<String>
       ValueProvider<Boolean> shouldExportTimestampAsLogicalType,
       ValueProvider<String> avroTempDirectory,
       ValueProvider<ExportPipeline.ExportPipelineOptions.ChecksumAlgorithm> checksumAlgorithm) {
+    this(
+        spannerConfig,
+        outputDir,
+        testJobId,
+        snapshotTime,
+        tableNames,
+        exportRelatedTables,
+        shouldExportTimestampAsLogicalType,
+        avroTempDirectory,
+        checksumAlgorithm,
+        /* keyRangeSplitTargetRows= */ ValueProvider.StaticValueProvider.of(0L));
+  }
+
+  public ExportTransform(
+      SpannerConfig spannerConfig,
+      ValueProvider<String> outputDir,
+      ValueProvider<String> testJobId,
+      ValueProvider<String> snapshotTime,
+      ValueProvider<String> tableNames,
+      ValueProvider<Boolean> exportRelatedTables,
+      ValueProvider<Boolean> shouldExportTimestampAsLogicalType,
+      ValueProvider<String> avroTempDirectory,
+      ValueProvider<ExportPipeline.ExportPipelineOptions.ChecksumAlgorithm> checksumAlgorithm,
+      ValueProvider<Long> keyRangeSplitTargetRows) {
     this.spannerConfig = spannerConfig;
     this.outputDir = outputDir;
     this.testJobId = testJobId;
@@ -202,6 +228,7 @@ public class ExportTransform extends PTransform<PBegin, WriteFilesResult<String>
     this.shouldExportTimestampAsLogicalType = shouldExportTimestampAsLogicalType;
     this.avroTempDirectory = avroTempDirectory;
     this.checksumAlgorithm = checksumAlgorithm;
+    this.keyRangeSplitTargetRows = keyRangeSplitTargetRows;
   }
 
   /**
@@ -311,8 +338,14 @@ public class ExportTransform extends PTransform<PBegin, WriteFilesResult<String>
                     c.output(ddl);
                   }
                 }));
+    PCollectionView<Ddl> ddlView = ddl.apply("Cloud Spanner DDL as view", View.asSingleton());
+
     PCollection<ReadOperation> tableReadOperations =
-        ddl.apply("Build table read operations", new BuildReadFromTableOperations(tableNames));
+        ddl.apply("Build table read operations", new BuildReadFromTableOperations(tableNames))
+            .apply(
+                "Split table read operations",
+                new SplitReadOperationsByKeyRange(
+                    spannerConfig, tx, ddlView, keyRangeSplitTargetRows));
 
     PCollection<KV<String, Void>> allTableAndViewNames =
         ddl.apply(
@@ -807,13 +840,11 @@ public class ExportTransform extends PTransform<PBegin, WriteFilesResult<String>
         tableManifests.apply(
             "Combine table metadata", Combine.globally(new CombineTableMetadata()));
 
-    PCollectionView<Ddl> ddlView = ddl.apply("Cloud Spanner DDL as view", View.asSingleton());
-
     PCollection<String> metadataContent =
         metadataTables.apply(
             "Create database manifest",
-            ParDo.of(new CreateDatabaseManifest(ddlView, dialectView))
-                .withSideInputs(ddlView, dialectView));
+            ParDo.of(new CreateDatabaseManifest(ddlView, dialectView, tx))
+                .withSideInputs(ddlView, dialectView, tx));
 
     Contextful.Fn<String, FileIO.Write.FileNaming> manifestNaming =
         (element, c) ->
@@ -1016,11 +1047,24 @@ public class ExportTransform extends PTransform<PBegin, WriteFilesResult<String>
 
     private final PCollectionView<Ddl> ddlView;
     private final PCollectionView<Dialect> dialectView;
+    @Nullable private final PCollectionView<Transaction> txView;
 
     public CreateDatabaseManifest(
         PCollectionView<Ddl> ddlView, PCollectionView<Dialect> dialectView) {
+      this(ddlView, dialectView, null);
+    }
+
+    /**
+     * @param txView transaction the tables were read in. Its read timestamp is recorded as the
+     *     snapshot time of the export, which incremental exports read changes from.
+     */
+    public CreateDatabaseManifest(
+        PCollectionView<Ddl> ddlView,
+        PCollectionView<Dialect> dialectView,
+        @Nullable PCollectionView<Transaction> txView) {
       this.ddlView = ddlView;
       this.dialectView = dialectView;
+      this.txView = txView;
     }
 
     @ProcessElement
@@ -1048,6 +1092,12 @@ public class ExportTransform extends PTransform<PBegin, WriteFilesResult<String>
         exportManifest.setProtoDescriptors(ddl.protoDescriptors().toByteString());
       }
       exportManifest.addAllProtoBundle(ddl.protoBundle());
+      if (txView != null) {
+        Transaction tx = c.sideInput(txView);
+        if (tx.transactionId() != null) {
+          exportManifest.setSnapshotTime(tx.transactionId().getTimestamp().toString());
+        }
+      }
       try {
         out.output(JsonFormat.printer().print(exportManifest.build()));
       } catch (InvalidProtocolBufferException e) {
@@ -34,6 +34,7 @@ import org.apache.beam.sdk.options.PipelineOptionsFactory;
 import org.apache.beam.sdk.options.ValueProvider;
 import org.apache.beam.sdk.options.ValueProvider.NestedValueProvider;
 import org.apache.beam.sdk.transforms.SerializableFunction;
+import org.joda.time.Duration;
 
 /**
  * Avro to Cloud Spanner Import pipeline.
@@ -226,6 +227,51 @@ public class ImportPipeline {
     ValueProvider<Boolean> getRunIndexDdlInParallel();
 
     void setRunIndexDdlInParallel(ValueProvider<Boolean> value);
+
+    @TemplateParameter.Text(
+        order = 14,
+        optional = true,
+        description = "Cloud Storage directories of incremental exports",
+        helpText =
+            "A comma-separated list of Cloud Storage directories of incremental exports, created by `ExportDeltaPipeline`, to apply after the export in `inputDir`. The directories must be listed in the order in which the exports were created, and each export must start where the previous one ended.",
+        example = "gs://your-bucket/delta-1,gs://your-bucket/delta-2")
+    @Default.String("")
+    ValueProvider<String> getDeltaDirectories();
+
+    void setDeltaDirectories(ValueProvider<String> value);
+
+    @TemplateParameter.Long(
+        order = 15,
+        optional = true,
+        description = "Target commit latency in milliseconds",
+        helpText =
+            "When greater than 0, the number of mutations committed together is tuned so that commits take about this number of milliseconds, shrinking batches when commits are slow, aborted or exceed their deadline, and growing them when commits are fast. The default value is 0, which commits batches of a fixed size.")
+    @Default.Long(0)
+    ValueProvider<Long> getTargetCommitLatencyMillis();
+
+    void setTargetCommitLatencyMillis(ValueProvider<Long> value);
+
+    @TemplateParameter.Boolean(
+        order = 16,
+        optional = true,
+        description = "Create indexes during data load",
+        helpText =
+            "If `true`, the indexes of a table are created as soon as the rows of the table and of its interleaving ancestors are imported, while the rows of the other tables are still being imported. Ignored when `deltaDirectories` is set. The default value is `false`.")
+    @Default.Boolean(false)
+    ValueProvider<Boolean> getCreateIndexesDuringLoad();
+
+    void setCreateIndexesDuringLoad(ValueProvider<Boolean> value);
+
+    @TemplateParameter.Boolean(
+        order = 17,
+        optional = true,
+        description = "Partition mutations by key range",
+        helpText =
+            "If `true`, the imported rows are partitioned into contiguous ranges of the primary key, with the rows of interleaved tables placed next to their parent rows, before they are written, so that every commit touches as few splits of the database as possible. This adds a shuffle of the imported rows. The default value is `false`.")
+    @Default.Boolean(false)
+    ValueProvider<Boolean> getPartitionMutationsByKeyRange();
+
+    void setPartitionMutationsByKeyRange(ValueProvider<Boolean> value);
   }
 
   public static void main(String[] args) {
@@ -250,7 +296,11 @@ public class ImportPipeline {
             .withHost(options.getSpannerHost())
             .withInstanceId(options.getInstanceId())
             .withDatabaseId(options.getDatabaseId())
-            .withRpcPriority(options.getSpannerPriority());
+            .withRpcPriority(options.getSpannerPriority())
+            .withTargetCommitLatency(
+                NestedValueProvider.of(
+                    options.getTargetCommitLatencyMillis(),
+                    (SerializableFunction<Long, Duration>) Duration::millis));
 
     p.apply(
         new ImportTransform(
@@ -263,7 +313,10 @@ public class ImportPipeline {
             options.getEarlyIndexCreateFlag(),
             options.getDdlCreationTimeoutInMinutes(),
             options.getEarlyIndexCreateThreshold(),
-            options.getRunIndexDdlInParallel()));
+            options.getRunIndexDdlInParallel(),
+            options.getDeltaDirectories(),
+            options.getCreateIndexesDuringLoad(),
+            options.getPartitionMutationsByKeyRange()));
 
     PipelineResult result = p.run();
 
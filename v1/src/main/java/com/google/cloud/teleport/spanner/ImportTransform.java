@@ -32,6 +32,7 @@ import com.google.cloud.teleport.spanner.ddl.Udf;
 import com.google.cloud.teleport.spanner.proto.ExportProtos.Export;
 import com.google.cloud.teleport.spanner.proto.ExportProtos.ProtoDialect;
 import com.google.cloud.teleport.spanner.proto.ExportProtos.TableManifest;
+import com.google.cloud.teleport.spanner.spannerio.PartitionMutationsByKeyRange;
 import com.google.cloud.teleport.spanner.spannerio.SpannerAccessor;
 import com.google.cloud.teleport.spanner.spannerio.SpannerConfig;
 import com.google.cloud.teleport.spanner.spannerio.SpannerIO;
@@ -56,11 +57,15 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import javax.annotation.Nullable;
 import org.apache.avro.Schema;
 import org.apache.avro.file.DataFileConstants;
 import org.apache.avro.io.BinaryDecoder;
@@ -74,6 +79,7 @@ import org.apache.beam.sdk.io.fs.MatchResult;
 import org.apache.beam.sdk.io.fs.ResourceId;
 import org.apache.beam.sdk.options.ValueProvider;
 import org.apache.beam.sdk.options.ValueProvider.NestedValueProvider;
+import org.apache.beam.sdk.options.ValueProvider.StaticValueProvider;
 import org.apache.beam.sdk.transforms.Combine;
 import org.apache.beam.sdk.transforms.Create;
 import org.apache.beam.sdk.transforms.DoFn;
@@ -101,7 +107,7 @@ import org.slf4j.LoggerFactory;
 public class ImportTransform extends PTransform<PBegin, PDone> {
 
   private static final Logger LOG = LoggerFactory.getLogger(ImportTransform.class);
-  private static final int MAX_DEPTH = 8;
+  static final int MAX_DEPTH = 8;
 
   private final SpannerConfig spannerConfig;
   private final ValueProvider<String> importDirectory;
@@ -118,6 +124,13 @@ public class ImportTransform extends PTransform<PBegin, PDone> {
   private final ValueProvider<Integer> ddlCreationTimeoutInMinutes;
   private final ValueProvider<Integer> earlyIndexCreateThreshold;
   private final ValueProvider<Boolean> runIndexDdlInParallel;
+  // Comma separated directories of incremental exports to apply after the base export, in order.
+  private final ValueProvider<String> deltaDirectories;
+  // If true, the indexes of a table are created as soon as its rows are written, while the tables
+  // of the next depths are still being loaded.
+  private final ValueProvider<Boolean> createIndexesDuringLoad;
+  // If true, the mutations are partitioned into contiguous key ranges before they are written.
+  private final ValueProvider<Boolean> partitionMutationsByKeyRange;
 
   public ImportTransform(
       SpannerConfig spannerConfig,
@@ -130,6 +143,90 @@ public class ImportTransform extends PTransform<PBegin, PDone> {
       ValueProvider<Integer> ddlCreationTimeoutInMinutes,
       ValueProvider<Integer> earlyIndexCreateThreshold,
       ValueProvider<Boolean> runIndexDdlInParallel) {
+    this(
+        spannerConfig,
+        importDirectory,
+        waitForIndexes,
+        waitForForeignKeys,
+        waitForChangeStreams,
+        waitForSequences,
+        earlyIndexCreateFlag,
+        ddlCreationTimeoutInMinutes,
+        earlyIndexCreateThreshold,
+        runIndexDdlInParallel,
+        StaticValueProvider.of(""));
+  }
+
+  public ImportTransform(
+      SpannerConfig spannerConfig,
+      ValueProvider<String> importDirectory,
+      ValueProvider<Boolean> waitForIndexes,
+      ValueProvider<Boolean> waitForForeignKeys,
+      ValueProvider<Boolean> waitForChangeStreams,
+      ValueProvider<Boolean> waitForSequences,
+      ValueProvider<Boolean> earlyIndexCreateFlag,
+      ValueProvider<Integer> ddlCreationTimeoutInMinutes,
+      ValueProvider<Integer> earlyIndexCreateThreshold,
+      ValueProvider<Boolean> runIndexDdlInParallel,
+      ValueProvider<String> deltaDirectories) {
+    this(
+        spannerConfig,
+        importDirectory,
+        waitForIndexes,
+        waitForForeignKeys,
+        waitForChangeStreams,
+        waitForSequences,
+        earlyIndexCreateFlag,
+        ddlCreationTimeoutInMinutes,
+        earlyIndexCreateThreshold,
+        runIndexDdlInParallel,
+        deltaDirectories,
+        StaticValueProvider.of(false));
+  }
+
+  public ImportTransform(
+      SpannerConfig spannerConfig,
+      ValueProvider<String> importDirectory,
+      ValueProvider<Boolean> waitForIndexes,
+      ValueProvider<Boolean> waitForForeignKeys,
+      ValueProvider<Boolean> waitForChangeStreams,
+      ValueProvider<Boolean> waitForSequences,
+      ValueProvider<Boolean> earlyIndexCreateFlag,
+      ValueProvider<Integer> ddlCreationTimeoutInMinutes,
+      ValueProvider<Integer> earlyIndexCreateThreshold,
+      ValueProvider<Boolean> runIndexDdlInParallel,
+      ValueProvider<String> deltaDirectories,
+      ValueProvider<Boolean> createIndexesDuringLoad) {
+    this(
+        spannerConfig,
+        importDirectory,
+        waitForIndexes,
+        waitForForeignKeys,
+        waitForChangeStreams,
+        waitForSequences,
+        earlyIndexCreateFlag,
+        ddlCreationTimeoutInMinutes,
+        earlyIndexCreateThreshold,
+        runIndexDdlInParallel,
+        deltaDirectories,
+        createIndexesDuringLoad,
+        StaticValueProvider.of(false));
+  }
+
+  public ImportTransform(
+      SpannerConfig spannerConfig,
+      ValueProvider<String> importDirectory,
+      ValueProvider<Boolean> waitForIndexes,
+      ValueProvider<Boolean> waitForForeignKeys,
+      ValueProvider<Boolean> waitForChangeStreams,
+      ValueProvider<Boolean> waitForSequences,
+      ValueProvider<Boolean> earlyIndexCreateFlag,
+      ValueProvider<Integer> ddlCreationTimeoutInMinutes,
+      ValueProvider<Integer> earlyIndexCreateThreshold,
+      ValueProvider<Boolean> runIndexDdlInParallel,
+      ValueProvider<String> deltaDirectories,
+      ValueProvider<Boolean> createIndexesDuringLoad,
+      ValueProvider<Boolean> partitionMutationsByKeyRange) {
     this.spannerConfig = spannerConfig;
     this.importDirectory = importDirectory;
     this.waitForIndexes = waitForIndexes;
@@ -140,6 +237,9 @@ public class ImportTransform extends PTransform<PBegin, PDone> {
     this.ddlCreationTimeoutInMinutes = ddlCreationTimeoutInMinutes;
     this.earlyIndexCreateThreshold = earlyIndexCreateThreshold;
     this.runIndexDdlInParallel = runIndexDdlInParallel;
+    this.deltaDirectories = deltaDirectories;
+    this.createIndexesDuringLoad = createIndexesDuringLoad;
+    this.partitionMutationsByKeyRange = partitionMutationsByKeyRange;
   }
 
   @Override
@@ -232,6 +332,19 @@ public class ImportTransform extends PTransform<PBegin, PDone> {
                     }))
             .apply(View.asSingleton());
 
+    PCollectionView<Map<String, String>> rootTablesView =
+        ddl.apply(
+                "Root tables of interleaved tables",
+                ParDo.of(
+                    new DoFn<Ddl, Map<String, String>>() {
+
+                      @ProcessElement
+                      public void processElement(ProcessContext c) {
+                        c.output(rootTables(c.element()));
+                      }
+                    }))
+            .apply("Root tables as view", View.asSingleton());
+
     PCollection<HashMultimap<String, String>> acc =
         tableFiles
             .apply("Combine table files", Combine.globally(AsList.fn()))
@@ -275,8 +388,16 @@ public class ImportTransform extends PTransform<PBegin, PDone> {
                       .withSideInputs(levelsView))
               .apply("Wait for previous depth " + depth, Wait.on(previousComputation));
       PCollection<Mutation> mutations =
-          levelFiles.apply(
-              "Avro files as mutations " + depth, new AvroTableFileAsMutations(ddlView));
+          levelFiles
+              .apply("Avro files as mutations " + depth, new AvroTableFileAsMutations(ddlView))
+              .apply(
+                  "Partition mutations by key range " + depth,
+                  new PartitionMutationsByKeyRange(
+                      spannerConfig,
+                      dialectView,
+                      rootTablesView,
+                      ddl,
+                      partitionMutationsByKeyRange));
 
       SpannerWriteResult result =
           mutations.apply(
@@ -290,13 +411,48 @@ public class ImportTransform extends PTransform<PBegin, PDone> {
                   .withGroupingFactor(100)
                   .withDialectView(dialectView));
       previousComputation = result.getOutput();
+
+      // The indexes of the tables of this depth do not depend on the rows of the deeper tables, so
+      // they can be backfilled while those are loaded.
+      PCollectionView<List<String>> depthIndexes =
+          ddl.apply(
+                  "Indexes of depth " + depth,
+                  ParDo.of(
+                          new SelectPendingIndexes(
+                              pendingIndexes, depth, createIndexesDuringLoad, deltaDirectories))
+                      .withSideInputs(pendingIndexes))
+              .apply("As index view depth " + depth, View.asSingleton());
+      ddl.apply("Wait for depth " + depth, Wait.on(previousComputation))
+          .apply(
+              "Create Indexes depth " + depth,
+              new ApplyDDLTransform(
+                  spannerConfig,
+                  depthIndexes,
+                  waitForIndexes,
+                  runIndexDdlInParallel,
+                  /* statementType= */ "index"));
     }
+    final PCollectionView<List<String>> remainingIndexes =
+        ddl.apply(
+                "Remaining indexes",
+                ParDo.of(
+                        new SelectPendingIndexes(
+                            pendingIndexes, null, createIndexesDuringLoad, deltaDirectories))
+                    .withSideInputs(pendingIndexes))
+            .apply("As remaining index view", View.asSingleton());
+    // Incremental exports are applied on top of the base export before indexes and foreign keys
+    // are created, so that the intermediate states of the rows do not need to satisfy them.
+    previousComputation =
+        begin.apply(
+            "Apply incremental exports",
+            new ApplyDeltaExports(
+                spannerConfig, deltaDirectories, manifestView, ddlView, previousComputation));
     ddl.apply(Wait.on(previousComputation))
         .apply(
             "Create Indexes",
             new ApplyDDLTransform(
                 spannerConfig,
-                pendingIndexes,
+                remainingIndexes,
                 waitForIndexes,
                 runIndexDdlInParallel,
                 /* statementType= */ "index"))
@@ -319,6 +475,88 @@ public class ImportTransform extends PTransform<PBegin, PDone> {
     return PDone.in(begin.getPipeline());
   }
 
+  /**
+   * Maps the lower case name of every interleaved table to the lower case name of the root of its
+   * interleaving hierarchy.
+   */
+  @VisibleForTesting
+  static Map<String, String> rootTables(Ddl ddl) {
+    Map<String, String> result = new HashMap<>();
+    for (Table table : ddl.allTables()) {
+      Table root = table;
+      while (root.interleaveInParent() != null && ddl.table(root.interleaveInParent()) != null) {
+        root = ddl.table(root.interleaveInParent());
+      }
+      if (root != table) {
+        result.put(table.name().toLowerCase(), root.name().toLowerCase());
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Selects the pending indexes that are created once the tables of a depth are loaded, or, for a
+   * null depth, those that are created once all tables are loaded.
+   *
+   * <p>Indexes are only created during the load if requested, and if no incremental exports are
+   * applied: the rows written by the incremental exports may temporarily violate unique indexes.
+   */
+  @VisibleForTesting
+  static class SelectPendingIndexes extends DoFn<Ddl, List<String>> {
+
+    private final PCollectionView<List<String>> pendingIndexes;
+    private final @Nullable Integer depth;
+    private final ValueProvider<Boolean> createIndexesDuringLoad;
+    private final ValueProvider<String> deltaDirectories;
+
+    SelectPendingIndexes(
+        PCollectionView<List<String>> pendingIndexes,
+        @Nullable Integer depth,
+        ValueProvider<Boolean> createIndexesDuringLoad,
+        ValueProvider<String> deltaDirectories) {
+      this.pendingIndexes = pendingIndexes;
+      this.depth = depth;
+      this.createIndexesDuringLoad = createIndexesDuringLoad;
+      this.deltaDirectories = deltaDirectories;
+    }
+
+    @ProcessElement
+    public void processElement(ProcessContext c) {
+      Ddl ddl = c.element();
+      List<String> pending = c.sideInput(pendingIndexes);
+      boolean duringLoad =
+          Boolean.TRUE.equals(createIndexesDuringLoad.get())
+              && Strings.isNullOrEmpty(deltaDirectories.get());
+      if (depth != null) {
+        c.output(duringLoad ? indexesOfDepth(ddl, pending, depth) : new ArrayList<>());
+        return;
+      }
+      List<String> remaining = new ArrayList<>(pending);
+      if (duringLoad) {
+        for (int i = 0; i < MAX_DEPTH; i++) {
+          remaining.removeAll(indexesOfDepth(ddl, pending, i));
+        }
+      }
+      c.output(remaining);
+    }
+
+    /** Returns the pending indexes of the tables of a depth. */
+    @VisibleForTesting
+    static List<String> indexesOfDepth(Ddl ddl, List<String> pending, int depth) {
+      Set<String> tableIndexes = new HashSet<>();
+      for (String tableName : ddl.perLevelView().get(depth)) {
+        tableIndexes.addAll(ddl.table(tableName).indexes());
+      }
+      List<String> result = new ArrayList<>();
+      for (String index : pending) {
+        if (tableIndexes.contains(index)) {
+          result.add(index);
+        }
+      }
+      return result;
+    }
+  }
+
   /** Read contents of the top-level manifest file. */
   @VisibleForTesting
   static class ReadExportManifestFile extends PTransform<PBegin, PCollection<Export>> {
@@ -0,0 +1,354 @@
+/*
+ * Copyright (C) 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.cloud.teleport.spanner;
+
+import static com.google.cloud.teleport.spanner.common.NameUtils.quoteIdentifier;
+
+import com.google.cloud.spanner.BatchReadOnlyTransaction;
+import com.google.cloud.spanner.Dialect;
+import com.google.cloud.spanner.Options;
+import com.google.cloud.spanner.Partition;
+import com.google.cloud.spanner.PartitionOptions;
+import com.google.cloud.spanner.ResultSet;
+import com.google.cloud.spanner.Statement;
+import com.google.cloud.spanner.Value;
+import com.google.cloud.teleport.spanner.ddl.Column;
+import com.google.cloud.teleport.spanner.ddl.Ddl;
+import com.google.cloud.teleport.spanner.ddl.IndexColumn;
+import com.google.cloud.teleport.spanner.ddl.Table;
+import com.google.cloud.teleport.spanner.spannerio.ReadOperation;
+import com.google.cloud.teleport.spanner.spannerio.SpannerAccessor;
+import com.google.cloud.teleport.spanner.spannerio.SpannerConfig;
+import com.google.cloud.teleport.spanner.spannerio.Transaction;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.primitives.UnsignedBytes;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.apache.beam.sdk.metrics.Counter;
+import org.apache.beam.sdk.metrics.Metrics;
+import org.apache.beam.sdk.options.ValueProvider;
+import org.apache.beam.sdk.transforms.DoFn;
+import org.apache.beam.sdk.transforms.PTransform;
+import org.apache.beam.sdk.transforms.ParDo;
+import org.apache.beam.sdk.values.PCollection;
+import org.apache.beam.sdk.values.PCollectionView;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Splits the table read operations created by {@link BuildReadFromTableOperations} into several
+ * read operations over disjoint ranges of the first primary key column.
+ *
+ * <p>Cloud Spanner partitions a query into opaque partition tokens, which can not be split further
+ * once a worker started reading them. For a very large table this leaves a few long running
+ * partitions at the end of the export. Splitting the table upfront by key range lets every range be
+ * partitioned, and read, independently.
+ *
+ * <p>The key ranges are computed from a sample of the table, read in the export transaction with a
+ * partitioned query whose partitions are read in parallel. Tables of PostgreSQL dialect databases,
+ * and tables keyed by a column of an unsupported type, are not split.
+ */
+class SplitReadOperationsByKeyRange
+    extends PTransform<PCollection<ReadOperation>, PCollection<ReadOperation>> {
+
+  private static final Logger LOG = LoggerFactory.getLogger(SplitReadOperationsByKeyRange.class);
+
+  // The sample rate, and the number of rows every sampled row stands for.
+  private static final String SAMPLE_PERCENT = "0.01";
+  private static final long ROWS_PER_SAMPLE = 10000;
+
+  // Every key range is partitioned separately, cap the number of ranges so that the number of
+  // partitions stays reasonable.
+  private static final int MAX_RANGES = 100;
+
+  // Number of partitions of the sample query that are read concurrently by every worker thread.
+  private static final int SAMPLE_PARALLELISM = 16;
+
+  private static final String SPLIT_START = "splitStart";
+  private static final String SPLIT_END = "splitEnd";
+
+  private final SpannerConfig spannerConfig;
+  private final PCollectionView<Transaction> tx;
+  private final PCollectionView<Ddl> ddlView;
+  private final ValueProvider<Long> targetRowsPerRange;
+
+  /**
+   * @param spannerConfig database to read from.
+   * @param tx export transaction.
+   * @param ddlView schema of the database.
+   * @param targetRowsPerRange approximate number of rows of every key range, 0 disables splitting.
+   */
+  SplitReadOperationsByKeyRange(
+      SpannerConfig spannerConfig,
+      PCollectionView<Transaction> tx,
+      PCollectionView<Ddl> ddlView,
+      ValueProvider<Long> targetRowsPerRange) {
+    this.spannerConfig = spannerConfig;
+    this.tx = tx;
+    this.ddlView = ddlView;
+    this.targetRowsPerRange = targetRowsPerRange;
+  }
+
+  @Override
+  public PCollection<ReadOperation> expand(PCollection<ReadOperation> input) {
+    return input.apply(
+        "Split by key range",
+        ParDo.of(new SplitFn(spannerConfig, tx, ddlView, targetRowsPerRange))
+            .withSideInputs(tx, ddlView));
+  }
+
+  private static class SplitFn extends DoFn<ReadOperation, ReadOperation> {
+
+    private final Counter sampledRows = Metrics.counter(SplitFn.class, "sampled_rows");
+    private final Counter keyRanges = Metrics.counter(SplitFn.class, "key_ranges");
+
+    private final SpannerConfig spannerConfig;
+    private final PCollectionView<Transaction> tx;
+    private final PCollectionView<Ddl> ddlView;
+    private final ValueProvider<Long> targetRowsPerRange;
+
+    private transient SpannerAccessor spannerAccessor;
+    private transient ExecutorService sampleExecutor;
+
+    SplitFn(
+        SpannerConfig spannerConfig,
+        PCollectionView<Transaction> tx,
+        PCollectionView<Ddl> ddlView,
+        ValueProvider<Long> targetRowsPerRange) {
+      this.spannerConfig = spannerConfig;
+      this.tx = tx;
+      this.ddlView = ddlView;
+      this.targetRowsPerRange = targetRowsPerRange;
+    }
+
+    @Setup
+    public void setup() {
+      spannerAccessor = SpannerAccessor.getOrCreate(spannerConfig);
+      sampleExecutor = Executors.newFixedThreadPool(SAMPLE_PARALLELISM);
+    }
+
+    @Teardown
+    public void teardown() {
+      sampleExecutor.shutdownNow();
+      spannerAccessor.close();
+    }
+
+    @ProcessElement
+    public void processElement(ProcessContext c) throws Exception {
+      ReadOperation op = c.element();
+      Ddl ddl = c.sideInput(ddlView);
+      Long target = targetRowsPerRange.get();
+      Column keyColumn = splitColumn(ddl, op);
+      if (target == null || target <= 0 || keyColumn == null) {
+        c.output(op);
+        return;
+      }
+
+      List<Value> samples = sample(c.sideInput(tx), op.getQueryName(), keyColumn);
+      sampledRows.inc(samples.size());
+      long estimatedRows = samples.size() * ROWS_PER_SAMPLE;
+      int ranges = (int) Math.min(MAX_RANGES, (estimatedRows + target - 1) / target);
+      if (ranges <= 1) {
+        c.output(op);
+        return;
+      }
+
+      List<ReadOperation> splits =
+          splitByKeyRange(op, keyColumn.name(), rangeBoundaries(samples, ranges));
+      LOG.info(
+          "Splitting the export of {} (about {} rows) into {} key ranges on column {}.",
+          op.getQueryName(),
+          estimatedRows,
+          splits.size(),
+          keyColumn.name());
+      keyRanges.inc(splits.size());
+      for (ReadOperation split : splits) {
+        c.output(split);
+      }
+    }
+
+    /**
+     * Returns the sorted, non-null values of the key column of a sample of the table.
+     *
+     * <p>The sample query is partitioned like the export queries, so that the sampling scan runs in
+     * parallel over the splits of the table instead of in a single serial query. The partitions are
+     * not ordered, so the samples are sorted once all of them are read.
+     */
+    private List<Value> sample(Transaction transaction, String tableName, Column keyColumn)
+        throws InterruptedException, ExecutionException {
+      String column = quoteIdentifier(keyColumn.name(), Dialect.GOOGLE_STANDARD_SQL);
+      Statement statement =
+          Statement.of(
+              String.format(
+                  "SELECT %s FROM %s TABLESAMPLE BERNOULLI (%s PERCENT) WHERE %s IS NOT NULL",
+                  column,
+                  quoteIdentifier(tableName, Dialect.GOOGLE_STANDARD_SQL),
+                  SAMPLE_PERCENT,
+                  column));
+      BatchReadOnlyTransaction batchTx =
+          spannerAccessor.getBatchClient().batchReadOnlyTransaction(transaction.transactionId());
+      boolean dataBoostEnabled =
+          spannerConfig.getDataBoostEnabled() != null && spannerConfig.getDataBoostEnabled().get();
+      List<Partition> partitions =
+          batchTx.partitionQuery(
+              PartitionOptions.getDefaultInstance(),
+              statement,
+              Options.priority(spannerConfig.getRpcPriority().get()),
+              Options.dataBoostEnabled(dataBoostEnabled));
+
+      List<Future<List<Value>>> partitionSamples = new ArrayList<>();
+      for (Partition partition : partitions) {
+        partitionSamples.add(
+            sampleExecutor.submit(
+                () -> {
+                  List<Value> values = new ArrayList<>();
+                  try (ResultSet resultSet = batchTx.execute(partition)) {
+                    while (resultSet.next()) {
+                      values.add(resultSet.getValue(0));
+                    }
+                  }
+                  return values;
+                }));
+      }
+      List<Value> samples = new ArrayList<>();
+      try {
+        for (Future<List<Value>> future : partitionSamples) {
+          samples.addAll(future.get());
+        }
+      } finally {
+        partitionSamples.forEach(future -> future.cancel(true));
+      }
+      samples.sort(keyOrder(keyColumn));
+      return samples;
+    }
+  }
+
+  /**
+   * Returns the column to split the read operation of a table on, or null if it should not be
+   * split.
+   */
+  @VisibleForTesting
+  static Column splitColumn(Ddl ddl, ReadOperation op) {
+    if (ddl.dialect() != Dialect.GOOGLE_STANDARD_SQL || op.getQueryName() == null) {
+      return null;
+    }
+    Table table = ddl.table(op.getQueryName());
+    if (table == null || table.primaryKeys() == null || table.primaryKeys().isEmpty()) {
+      return null;
+    }
+    IndexColumn key = table.primaryKeys().get(0);
+    Column column = table.column(key.name());
+    if (column == null || column.isGenerated()) {
+      return null;
+    }
+    switch (column.type().getCode()) {
+      case INT64:
+      case STRING:
+      case BYTES:
+      case DATE:
+      case TIMESTAMP:
+      case NUMERIC:
+        return column;
+      default:
+        return null;
+    }
+  }
+
+  /**
+   * Returns the order Cloud Spanner sorts non-null values of the key column in. Strings compare by
+   * their UTF-8 encoding, which unlike {@link String#compareTo} matches the order of code points.
+   */
+  @VisibleForTesting
+  static Comparator<Value> keyOrder(Column keyColumn) {
+    switch (keyColumn.type().getCode()) {
+      case INT64:
+        return Comparator.comparing(Value::getInt64);
+      case STRING:
+        return Comparator.comparing(
+            value -> value.getString().getBytes(StandardCharsets.UTF_8),
+            UnsignedBytes.lexicographicalComparator());
+      case BYTES:
+        return Comparator.comparing(
+            value -> value.getBytes().toByteArray(), UnsignedBytes.lexicographicalComparator());
+      case DATE:
+        return Comparator.comparing(Value::getDate);
+      case TIMESTAMP:
+        return Comparator.comparing(Value::getTimestamp);
+      case NUMERIC:
+        return Comparator.comparing(Value::getNumeric);
+      default:
+        throw new IllegalArgumentException(
+            "Unsupported type of split column " + keyColumn.name() + ": " + keyColumn.type());
+    }
+  }
+
+  /**
+   * Picks {@code ranges - 1} distinct boundaries, evenly spaced over the sorted samples, that split
+   * the key space into at most {@code ranges} ranges.
+   */
+  @VisibleForTesting
+  static List<Value> rangeBoundaries(List<Value> sortedSamples, int ranges) {
+    List<Value> boundaries = new ArrayList<>();
+    for (int i = 1; i < ranges; i++) {
+      Value boundary = sortedSamples.get((int) ((long) i * sortedSamples.size() / ranges));
+      if (boundaries.isEmpty() || !boundaries.get(boundaries.size() - 1).equals(boundary)) {
+        boundaries.add(boundary);
+      }
+    }
+    return boundaries;
+  }
+
+  /**
+   * Splits a table read operation into one read operation per key range. The first range also reads
+   * the rows with a NULL key.
+   */
+  @VisibleForTesting
+  static List<ReadOperation> splitByKeyRange(
+      ReadOperation op, String keyColumn, List<Value> boundaries) {
+    List<ReadOperation> result = new ArrayList<>();
+    if (boundaries.isEmpty()) {
+      result.add(op);
+      return result;
+    }
+    String sql = op.getQuery().getSql();
+    String column = "t." + quoteIdentifier(keyColumn, Dialect.GOOGLE_STANDARD_SQL);
+    for (int i = 0; i <= boundaries.size(); i++) {
+      Statement.Builder statement = Statement.newBuilder(sql);
+      if (i == 0) {
+        statement.append(String.format(" WHERE %s < @%s OR %s IS NULL", column, SPLIT_END, column));
+      } else if (i == boundaries.size()) {
+        statement.append(String.format(" WHERE %s >= @%s", column, SPLIT_START));
+      } else {
+        statement.append(
+            String.format(" WHERE %s >= @%s AND %s < @%s", column, SPLIT_START, column, SPLIT_END));
+      }
+      if (i > 0) {
+        statement.bind(SPLIT_START).to(boundaries.get(i - 1));
+      }
+      if (i < boundaries.size()) {
+        statement.bind(SPLIT_END).to(boundaries.get(i));
+      }
+      result.add(op.withQuery(statement.build()));
+    }
+    return result;
+  }
+}
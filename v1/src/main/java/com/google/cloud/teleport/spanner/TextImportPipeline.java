@@ -34,6 +34,7 @@ import org.apache.beam.sdk.options.PipelineOptionsFactory;
 import org.apache.beam.sdk.options.ValueProvider;
 import org.apache.beam.sdk.options.ValueProvider.NestedValueProvider;
 import org.apache.beam.sdk.transforms.SerializableFunction;
+import org.joda.time.Duration;
 
 /**
  * Text files to Cloud Spanner Import pipeline. This pipeline ingests CSV and other type of
@@ -309,6 +310,17 @@ public class TextImportPipeline {
     ValueProvider<Integer> getMaxNumRows();
 
     void setMaxNumRows(ValueProvider<Integer> value);
+
+    @TemplateParameter.Long(
+        order = 18,
+        optional = true,
+        description = "Target commit latency in milliseconds",
+        helpText =
+            "When greater than 0, the number of mutations committed together is tuned so that commits take about this number of milliseconds, shrinking batches when commits are slow, aborted or exceed their deadline, and growing them when commits are fast. The default value is 0, which commits batches of a fixed size.")
+    @Default.Long(0)
+    ValueProvider<Long> getTargetCommitLatencyMillis();
+
+    void setTargetCommitLatencyMillis(ValueProvider<Long> value);
   }
 
   public static void main(String[] args) {
@@ -333,7 +345,11 @@ public class TextImportPipeline {
             .withHost(options.getSpannerHost())
             .withInstanceId(options.getInstanceId())
             .withDatabaseId(options.getDatabaseId())
-            .withRpcPriority(options.getSpannerPriority());
+            .withRpcPriority(options.getSpannerPriority())
+            .withTargetCommitLatency(
+                NestedValueProvider.of(
+                    options.getTargetCommitLatencyMillis(),
+                    (SerializableFunction<Long, Duration>) Duration::millis));
 
     p.apply(
         new TextImportTransform(
@@ -0,0 +1,116 @@
+/*
+ * Copyright (C) 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.cloud.teleport.spanner.spannerio;
+
+import java.util.concurrent.ConcurrentHashMap;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Tunes the size of the batches committed by {@link SpannerIO.Write} from the observed commit
+ * latency, see {@link SpannerConfig#withTargetCommitLatency}.
+ *
+ * <p>The batches are cut by {@link SpannerIO.GatherSortCreateBatchesFn} and committed by {@link
+ * SpannerIO.WriteToSpannerFn}, which are fused and share a sizer per worker. The configured batch
+ * limits, in bytes, mutated cells and rows, are multiplied by a common scale: commits faster than
+ * the target grow the scale, slower commits shrink it, and ABORTED or DEADLINE_EXCEEDED commits
+ * halve it.
+ *
+ * <p>Sizers are reference counted like {@link SpannerAccessor}: every DoFn that gets one must
+ * {@link #release} it in its teardown, so that the sizers of finished writes are not kept for the
+ * lifetime of the worker.
+ *
+ * <p>This class is not part of Apache Beam's SpannerIO.
+ */
+final class AdaptiveBatchSizer {
+
+  // Bounds of the scale applied to the configured batch limits.
+  static final double MIN_SCALE = 1.0 / 64;
+  static final double MAX_SCALE = 8;
+
+  // Bounds of the change of the scale after a single commit.
+  private static final double MIN_STEP = 0.5;
+  private static final double MAX_STEP = 1.25;
+
+  // Fraction of the way the scale moves towards the one that would meet the target latency.
+  private static final double SMOOTHING = 0.25;
+
+  // Cloud Spanner rejects commits of more than 80,000 mutations, or of more than 100 MB.
+  static final long MAX_COMMIT_MUTATIONS = 80_000;
+  static final long MAX_COMMIT_BYTES = 100L * 1024 * 1024;
+
+  private static final ConcurrentHashMap<String, AdaptiveBatchSizer> SIZERS =
+      new ConcurrentHashMap<>();
+
+  private final @Nullable String writeId;
+  private final long targetLatencyMillis;
+  private double scale = 1;
+  // Number of DoFns holding this sizer, guarded by SIZERS.
+  private int refcount = 0;
+
+  AdaptiveBatchSizer(long targetLatencyMillis) {
+    this(null, targetLatencyMillis);
+  }
+
+  private AdaptiveBatchSizer(@Nullable String writeId, long targetLatencyMillis) {
+    this.writeId = writeId;
+    this.targetLatencyMillis = targetLatencyMillis;
+  }
+
+  /** Returns the sizer of a write transform, shared by its DoFns running in this JVM. */
+  static AdaptiveBatchSizer getOrCreate(String writeId, long targetLatencyMillis) {
+    synchronized (SIZERS) {
+      AdaptiveBatchSizer sizer =
+          SIZERS.computeIfAbsent(writeId, id -> new AdaptiveBatchSizer(id, targetLatencyMillis));
+      sizer.refcount++;
+      return sizer;
+    }
+  }
+
+  /** Releases a sizer returned by {@link #getOrCreate}, dropping it once no DoFn holds it. */
+  void release() {
+    synchronized (SIZERS) {
+      refcount--;
+      if (refcount <= 0 && writeId != null) {
+        SIZERS.remove(writeId, this);
+      }
+    }
+  }
+
+  synchronized double scale() {
+    return scale;
+  }
+
+  /** Records a successful commit. */
+  synchronized void onCommit(long latencyMillis) {
+    double step = (double) targetLatencyMillis / Math.max(1, latencyMillis);
+    step = Math.max(MIN_STEP, Math.min(MAX_STEP, step));
+    setScale(scale * (1 - SMOOTHING + SMOOTHING * step));
+  }
+
+  /** Records a commit that was aborted or exceeded its deadline. */
+  synchronized void onFailedCommit() {
+    setScale(scale * MIN_STEP);
+  }
+
+  private void setScale(double newScale) {
+    scale = Math.max(MIN_SCALE, Math.min(MAX_SCALE, newScale));
+  }
+
+  /** Returns a configured batch limit multiplied by the scale, between 1 and {@code max}. */
+  static long scaledLimit(long configured, double scale, long max) {
+    return Math.max(1, Math.min(max, Math.round(configured * scale)));
+  }
+}
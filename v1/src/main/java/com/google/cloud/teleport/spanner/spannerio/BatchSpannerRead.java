@@ -31,7 +31,10 @@ import java.util.List;
 import java.util.Objects;
 import org.apache.beam.runners.core.metrics.ServiceCallMetric;
 import org.apache.beam.sdk.Pipeline;
+import org.apache.beam.sdk.metrics.Counter;
+import org.apache.beam.sdk.metrics.Distribution;
 import org.apache.beam.sdk.metrics.Lineage;
+import org.apache.beam.sdk.metrics.Metrics;
 import org.apache.beam.sdk.transforms.DoFn;
 import org.apache.beam.sdk.transforms.PTransform;
 import org.apache.beam.sdk.transforms.ParDo;
@@ -199,6 +202,12 @@ abstract class BatchSpannerRead
 
   private static class ReadFromPartitionFn extends DoFn<PartitionedReadOperation, Struct> {
 
+    // Number of rows between two progress logs of a partition.
+    private static final long PROGRESS_LOG_INTERVAL = 1_000_000L;
+
+    private final Distribution partitionRows =
+        Metrics.distribution(ReadFromPartitionFn.class, "partition_rows");
+
     private final SpannerConfig config;
     private final PCollectionView<? extends com.google.cloud.teleport.spanner.spannerio.Transaction>
         txView;
@@ -254,10 +263,26 @@ abstract class BatchSpannerRead
 
       PartitionedReadOperation op = c.element();
       ServiceCallMetric serviceCallMetric = metricsForReadOperation.get(op.getReadOperation());
+      // Queries are reported by name, which is the table name for the reads of an export.
+      String progressName =
+          op.getReadOperation().getQueryName() != null
+              ? op.getReadOperation().getQueryName()
+              : Objects.toString(op.getReadOperation().tryGetTableName(), "unknown");
+      Counter rowsRead = Metrics.counter(ReadFromPartitionFn.class, "rows_read_" + progressName);
+      long rows = 0;
+      long startMillis = System.currentTimeMillis();
       try (ResultSet resultSet = batchTx.execute(op.getPartition())) {
         while (resultSet.next()) {
           Struct s = resultSet.getCurrentRowAsStruct();
           c.output(s);
+          rowsRead.inc();
+          if (++rows % PROGRESS_LOG_INTERVAL == 0) {
+            LOG.info(
+                "Read {} rows of {} from a partition in {} ms.",
+                rows,
+                progressName,
+                System.currentTimeMillis() - startMillis);
+          }
         }
       } catch (SpannerException e) {
         serviceCallMetric.call(e.getErrorCode().getGrpcStatusCode().toString());
@@ -266,6 +291,14 @@ abstract class BatchSpannerRead
         throw (e);
       }
       serviceCallMetric.call("ok");
+      partitionRows.update(rows);
+      if (rows >= PROGRESS_LOG_INTERVAL) {
+        LOG.info(
+            "Finished reading {} rows of {} from a partition in {} ms.",
+            rows,
+            progressName,
+            System.currentTimeMillis() - startMillis);
+      }
       // Report Lineage metrics
       @Nullable String tableName = op.getReadOperation().tryGetTableName();
       if (!Objects.equals(reportedLineage, tableName)) {
@@ -31,7 +31,7 @@ import java.math.BigDecimal;
  * <p>WARNING: This file is forked from Apache Beam. Ensure corresponding changes are made in Apache
  * Beam to prevent code divergence. TODO: (b/402322178) Remove this local copy.
  */
-class MutationSizeEstimator {
+public class MutationSizeEstimator {
 
   // Prevent construction.
   private MutationSizeEstimator() {}
@@ -0,0 +1,257 @@
+/*
+ * Copyright (C) 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.cloud.teleport.spanner.spannerio;
+
+import com.google.cloud.spanner.Dialect;
+import com.google.cloud.spanner.Mutation;
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import org.apache.beam.sdk.coders.ByteArrayCoder;
+import org.apache.beam.sdk.coders.KvCoder;
+import org.apache.beam.sdk.coders.SerializableCoder;
+import org.apache.beam.sdk.coders.VarIntCoder;
+import org.apache.beam.sdk.metrics.Distribution;
+import org.apache.beam.sdk.metrics.Metrics;
+import org.apache.beam.sdk.options.ValueProvider;
+import org.apache.beam.sdk.transforms.ApproximateQuantiles;
+import org.apache.beam.sdk.transforms.Create;
+import org.apache.beam.sdk.transforms.DoFn;
+import org.apache.beam.sdk.transforms.Flatten;
+import org.apache.beam.sdk.transforms.GroupByKey;
+import org.apache.beam.sdk.transforms.Keys;
+import org.apache.beam.sdk.transforms.PTransform;
+import org.apache.beam.sdk.transforms.ParDo;
+import org.apache.beam.sdk.transforms.View;
+import org.apache.beam.sdk.transforms.Wait;
+import org.apache.beam.sdk.values.KV;
+import org.apache.beam.sdk.values.PCollection;
+import org.apache.beam.sdk.values.PCollectionList;
+import org.apache.beam.sdk.values.PCollectionTuple;
+import org.apache.beam.sdk.values.PCollectionView;
+import org.apache.beam.sdk.values.TupleTag;
+import org.apache.beam.sdk.values.TupleTagList;
+import org.apache.beam.vendor.guava.v32_1_2_jre.com.google.common.annotations.VisibleForTesting;
+import org.apache.beam.vendor.guava.v32_1_2_jre.com.google.common.primitives.UnsignedBytes;
+
+/**
+ * Partitions the mutations written by {@link SpannerIO.Write} into contiguous ranges of the key
+ * space, so that every bundle, and thus every batch cut by {@link
+ * SpannerIO.GatherSortCreateBatchesFn}, only touches the few Cloud Spanner splits covering one
+ * range.
+ *
+ * <p>Without it, the mutations of a bundle are spread over the whole key space and a commit of
+ * thousands of mutations involves most of the splits of the database, which increases the commit
+ * latency and the likelihood of aborts.
+ *
+ * <p>The mutations are keyed by the encoding of {@link MutationKeyEncoder}, except that the rows of
+ * interleaved tables are encoded under the name of their root table, like Cloud Spanner stores them
+ * next to their ancestors. The range boundaries are approximate quantiles of these keys.
+ *
+ * <p>This class is not part of Apache Beam's SpannerIO.
+ */
+public class PartitionMutationsByKeyRange
+    extends PTransform<PCollection<Mutation>, PCollection<Mutation>> {
+
+  // Number of key ranges. Every range is written by a single thread.
+  private static final int NUM_RANGES = 1024;
+
+  private static final SerializableCoder<Mutation> MUTATION_CODER =
+      SerializableCoder.of(Mutation.class);
+  private static final TupleTag<KV<byte[], Mutation>> KEYED_TAG =
+      new TupleTag<KV<byte[], Mutation>>("keyed") {};
+  private static final TupleTag<Mutation> UNPARTITIONED_TAG =
+      new TupleTag<Mutation>("unpartitioned") {};
+
+  private final SpannerConfig spannerConfig;
+  private final PCollectionView<Dialect> dialectView;
+  private final PCollectionView<Map<String, String>> rootTablesView;
+  private final PCollection<?> schemaReadySignal;
+  private final ValueProvider<Boolean> enabled;
+
+  /**
+   * @param spannerConfig database the mutations are written to.
+   * @param dialectView dialect of the database.
+   * @param rootTablesView lower case name of the root table of every interleaved table.
+   * @param schemaReadySignal signals that the tables of the mutations exist.
+   * @param enabled if false, the mutations are passed through unchanged.
+   */
+  public PartitionMutationsByKeyRange(
+      SpannerConfig spannerConfig,
+      PCollectionView<Dialect> dialectView,
+      PCollectionView<Map<String, String>> rootTablesView,
+      PCollection<?> schemaReadySignal,
+      ValueProvider<Boolean> enabled) {
+    this.spannerConfig = spannerConfig;
+    this.dialectView = dialectView;
+    this.rootTablesView = rootTablesView;
+    this.schemaReadySignal = schemaReadySignal;
+    this.enabled = enabled;
+  }
+
+  @Override
+  public PCollection<Mutation> expand(PCollection<Mutation> input) {
+    PCollectionView<SpannerSchema> schemaView =
+        input
+            .getPipeline()
+            .apply("Create Seed", Create.of((Void) null))
+            .apply("Wait for schema", Wait.on(schemaReadySignal))
+            .apply(
+                "Read information schema",
+                ParDo.of(new ReadSpannerSchema(spannerConfig, dialectView))
+                    .withSideInputs(dialectView))
+            .apply("Schema View", View.asSingleton());
+
+    // When disabled, all the mutations bypass the shuffle below, which then runs on no data.
+    PCollectionTuple encoded =
+        input.apply(
+            "Encode keys",
+            ParDo.of(new EncodeKeyFn(schemaView, rootTablesView, enabled))
+                .withSideInputs(schemaView, rootTablesView)
+                .withOutputTags(KEYED_TAG, TupleTagList.of(UNPARTITIONED_TAG)));
+    PCollection<KV<byte[], Mutation>> keyed =
+        encoded.get(KEYED_TAG).setCoder(KvCoder.of(ByteArrayCoder.of(), MUTATION_CODER));
+
+    PCollectionView<List<byte[]>> boundaries =
+        keyed
+            .apply("Keys", Keys.create())
+            .apply(
+                "Key range boundaries",
+                ApproximateQuantiles.globally(NUM_RANGES + 1, new EncodedKeyComparator()))
+            .apply("Boundaries view", View.asSingleton());
+
+    PCollection<Mutation> partitioned =
+        keyed
+            .apply(
+                "Assign key ranges",
+                ParDo.of(new AssignKeyRangeFn(boundaries)).withSideInputs(boundaries))
+            .setCoder(KvCoder.of(VarIntCoder.of(), MUTATION_CODER))
+            .apply("Group by key range", GroupByKey.create())
+            .apply("Ungroup key ranges", ParDo.of(new UngroupFn()))
+            .setCoder(MUTATION_CODER);
+
+    return PCollectionList.of(partitioned)
+        .and(encoded.get(UNPARTITIONED_TAG).setCoder(MUTATION_CODER))
+        .apply("Flatten", Flatten.pCollections());
+  }
+
+  /**
+   * Encodes the table name and key of a mutation, with the table name replaced by the name of its
+   * root table so that the rows of interleaved tables sort next to their ancestors.
+   */
+  @VisibleForTesting
+  static byte[] encodeRootTableAndKey(MutationKeyEncoder encoder, Mutation m, String rootTable) {
+    byte[] encoded = encoder.encodeTableNameAndKey(m);
+    String table = m.getTable().toLowerCase();
+    if (rootTable == null || rootTable.equals(table)) {
+      return encoded;
+    }
+    int tableLength = encodeTableName(table).length;
+    byte[] root = encodeTableName(rootTable);
+    byte[] result = Arrays.copyOf(root, root.length + encoded.length - tableLength);
+    System.arraycopy(encoded, tableLength, result, root.length, encoded.length - tableLength);
+    return result;
+  }
+
+  private static byte[] encodeTableName(String tableName) {
+    OrderedCode orderedCode = new OrderedCode();
+    orderedCode.writeBytes(tableName.getBytes(StandardCharsets.UTF_8));
+    return orderedCode.getEncodedBytes();
+  }
+
+  /** Returns the index of the key range of an encoded key, given the sorted range boundaries. */
+  @VisibleForTesting
+  static int keyRange(List<byte[]> boundaries, byte[] key) {
+    int index = Collections.binarySearch(boundaries, key, new EncodedKeyComparator());
+    return index >= 0 ? index + 1 : -(index + 1);
+  }
+
+  /** Orders the encoded keys lexicographically, as unsigned bytes. */
+  @VisibleForTesting
+  static class EncodedKeyComparator implements Comparator<byte[]>, Serializable {
+    @Override
+    public int compare(byte[] a, byte[] b) {
+      return UnsignedBytes.lexicographicalComparator().compare(a, b);
+    }
+  }
+
+  private static class EncodeKeyFn extends DoFn<Mutation, KV<byte[], Mutation>> {
+
+    private final PCollectionView<SpannerSchema> schemaView;
+    private final PCollectionView<Map<String, String>> rootTablesView;
+    private final ValueProvider<Boolean> enabled;
+
+    private transient MutationKeyEncoder encoder;
+
+    EncodeKeyFn(
+        PCollectionView<SpannerSchema> schemaView,
+        PCollectionView<Map<String, String>> rootTablesView,
+        ValueProvider<Boolean> enabled) {
+      this.schemaView = schemaView;
+      this.rootTablesView = rootTablesView;
+      this.enabled = enabled;
+    }
+
+    @ProcessElement
+    public void processElement(ProcessContext c) {
+      Mutation m = c.element();
+      if (!Boolean.TRUE.equals(enabled.get())) {
+        c.output(UNPARTITIONED_TAG, m);
+        return;
+      }
+      if (encoder == null) {
+        encoder = new MutationKeyEncoder(c.sideInput(schemaView));
+      }
+      String rootTable = c.sideInput(rootTablesView).get(m.getTable().toLowerCase());
+      c.output(KV.of(encodeRootTableAndKey(encoder, m, rootTable), m));
+    }
+  }
+
+  private static class AssignKeyRangeFn extends DoFn<KV<byte[], Mutation>, KV<Integer, Mutation>> {
+
+    private final PCollectionView<List<byte[]>> boundaries;
+
+    AssignKeyRangeFn(PCollectionView<List<byte[]>> boundaries) {
+      this.boundaries = boundaries;
+    }
+
+    @ProcessElement
+    public void processElement(ProcessContext c) {
+      KV<byte[], Mutation> kv = c.element();
+      c.output(KV.of(keyRange(c.sideInput(boundaries), kv.getKey()), kv.getValue()));
+    }
+  }
+
+  private static class UngroupFn extends DoFn<KV<Integer, Iterable<Mutation>>, Mutation> {
+
+    private final Distribution rangeMutations =
+        Metrics.distribution(UngroupFn.class, "key_range_mutations");
+
+    @ProcessElement
+    public void processElement(ProcessContext c) {
+      long count = 0;
+      for (Mutation m : c.element().getValue()) {
+        c.output(m);
+        count++;
+      }
+      rangeMutations.update(count);
+    }
+  }
+}
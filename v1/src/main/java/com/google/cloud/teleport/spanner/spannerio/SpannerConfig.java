@@ -79,6 +79,8 @@ public abstract class SpannerConfig implements Serializable {
 
   public abstract @Nullable ValueProvider<Duration> getMaxCommitDelay();
 
+  public abstract @Nullable ValueProvider<Duration> getTargetCommitLatency();
+
   public abstract @Nullable ValueProvider<String> getDatabaseRole();
 
   public abstract @Nullable ValueProvider<Duration> getPartitionQueryTimeout();
@@ -163,6 +165,8 @@ public abstract class SpannerConfig implements Serializable {
 
     abstract Builder setMaxCommitDelay(ValueProvider<Duration> maxCommitDelay);
 
+    abstract Builder setTargetCommitLatency(ValueProvider<Duration> targetCommitLatency);
+
     abstract Builder setDatabaseRole(ValueProvider<String> databaseRole);
 
     abstract Builder setDataBoostEnabled(ValueProvider<Boolean> dataBoostEnabled);
@@ -301,6 +305,25 @@ public abstract class SpannerConfig implements Serializable {
     return toBuilder().setMaxCommitDelay(maxCommitDelay).build();
   }
 
+  /**
+   * Specifies the commit latency that the size of the written batches is tuned for. The configured
+   * batch limits are used as initial sizes. A zero or unset latency disables the tuning.
+   */
+  public SpannerConfig withTargetCommitLatency(Duration targetCommitLatency) {
+    return withTargetCommitLatency(ValueProvider.StaticValueProvider.of(targetCommitLatency));
+  }
+
+  /**
+   * Specifies the commit latency that the size of the written batches is tuned for. The configured
+   * batch limits are used as initial sizes. A zero or unset latency disables the tuning.
+   */
+  public SpannerConfig withTargetCommitLatency(ValueProvider<Duration> targetCommitLatency) {
+    checkNotNull(
+        targetCommitLatency,
+        "withTargetCommitLatency(targetCommitLatency) called with null input.");
+    return toBuilder().setTargetCommitLatency(targetCommitLatency).build();
+  }
+
   /** Specifies the Cloud Spanner database role. */
   public SpannerConfig withDatabaseRole(ValueProvider<String> databaseRole) {
     return toBuilder().setDatabaseRole(databaseRole).build();
@@ -79,6 +79,7 @@ import java.util.Objects;
 import java.util.Optional;
 import java.util.OptionalInt;
 import java.util.Set;
+import java.util.UUID;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -90,6 +91,7 @@ import org.apache.beam.sdk.coders.SerializableCoder;
 import org.apache.beam.sdk.extensions.gcp.options.GcpOptions;
 import org.apache.beam.sdk.metrics.Counter;
 import org.apache.beam.sdk.metrics.Distribution;
+import org.apache.beam.sdk.metrics.Gauge;
 import org.apache.beam.sdk.metrics.Lineage;
 import org.apache.beam.sdk.metrics.Metrics;
 import org.apache.beam.sdk.options.PipelineOptions;
@@ -1287,6 +1289,24 @@ public class SpannerIO {
       return withSpannerConfig(config.withMaxCommitDelay(millis));
     }
 
+    /**
+     * Tunes the size of the committed batches so that commits take about {@code
+     * targetCommitLatency}. The limits set with {@link #withBatchSizeBytes(long)}, {@link
+     * #withMaxNumMutations(long)} and {@link #withMaxNumRows(ValueProvider)} are used as initial
+     * sizes, and are scaled down when commits are slow, aborted or exceed their deadline, and up
+     * when they are fast. The chosen limits are reported as gauges.
+     */
+    public Write withAdaptiveBatching(Duration targetCommitLatency) {
+      SpannerConfig config = getSpannerConfig();
+      return withSpannerConfig(config.withTargetCommitLatency(targetCommitLatency));
+    }
+
+    /** Same as {@link #withAdaptiveBatching(Duration)}, a zero latency disables the tuning. */
+    public Write withAdaptiveBatching(ValueProvider<Duration> targetCommitLatency) {
+      SpannerConfig config = getSpannerConfig();
+      return withSpannerConfig(config.withTargetCommitLatency(targetCommitLatency));
+    }
+
     /**
      * Specifies the maximum cumulative backoff time when retrying after DEADLINE_EXCEEDED errors.
      * Default is 15 mins.
@@ -1469,6 +1489,8 @@ public class SpannerIO {
     public SpannerWriteResult expand(PCollection<MutationGroup> input) {
       PCollection<Iterable<MutationGroup>> batches;
       PCollectionView<Dialect> dialectView = spec.getDialectView();
+      // Identifies the batch sizer shared by the batching and the writing DoFns of this transform.
+      String writeId = UUID.randomUUID().toString();
 
       if (dialectView == null) {
         dialectView =
@@ -1550,7 +1572,9 @@ public class SpannerIO {
                                         input.isBounded() == IsBounded.BOUNDED
                                             ? DEFAULT_GROUPING_FACTOR
                                             : 1),
-                                schemaView))
+                                schemaView,
+                                writeId,
+                                spec.getSpannerConfig().getTargetCommitLatency()))
                         .withSideInputs(schemaView));
 
         // Merge the batched and unbatchable mutation PCollections and write to Spanner.
@@ -1565,7 +1589,10 @@ public class SpannerIO {
               "Write batches to Spanner",
               ParDo.of(
                       new WriteToSpannerFn(
-                          spec.getSpannerConfig(), spec.getFailureMode(), FAILED_MUTATIONS_TAG))
+                          spec.getSpannerConfig(),
+                          spec.getFailureMode(),
+                          FAILED_MUTATIONS_TAG,
+                          writeId))
                   .withOutputTags(MAIN_OUT_TAG, TupleTagList.of(FAILED_MUTATIONS_TAG)));
 
       return new SpannerWriteResult(
@@ -1978,6 +2005,20 @@ public class SpannerIO {
     private final ArrayList<MutationGroupContainer> mutationsToSort = new ArrayList<>();
     private final ValueProvider<Integer> maxNumRows;
     private final long groupingFactor;
+    private final @Nullable String writeId;
+    private final @Nullable ValueProvider<Duration> targetCommitLatency;
+
+    private final Gauge adaptiveBatchSizeBytes =
+        Metrics.gauge(WriteGrouped.class, "adaptive_batch_size_bytes");
+    private final Gauge adaptiveBatchNumMutations =
+        Metrics.gauge(WriteGrouped.class, "adaptive_batch_num_mutations");
+    private final Gauge adaptiveBatchNumRows =
+        Metrics.gauge(WriteGrouped.class, "adaptive_batch_num_rows");
+    private final Distribution batchNumMutations =
+        Metrics.distribution(WriteGrouped.class, "mutation_group_batch_num_mutations");
+
+    // Tunes the batch limits when adaptive batching is enabled, null otherwise.
+    private transient @Nullable AdaptiveBatchSizer batchSizer;
 
     // total size of MutationGroups in mutationsToSort.
     private long sortableSizeBytes = 0;
@@ -1992,7 +2033,20 @@ public class SpannerIO {
         ValueProvider<Integer> maxNumRows,
         long groupingFactor,
         PCollectionView<SpannerSchema> schemaView) {
+      this(maxBatchSizeBytes, maxNumMutations, maxNumRows, groupingFactor, schemaView, null, null);
+    }
+
+    GatherSortCreateBatchesFn(
+        long maxBatchSizeBytes,
+        long maxNumMutations,
+        ValueProvider<Integer> maxNumRows,
+        long groupingFactor,
+        PCollectionView<SpannerSchema> schemaView,
+        @Nullable String writeId,
+        @Nullable ValueProvider<Duration> targetCommitLatency) {
       this.maxBatchSizeBytes = maxBatchSizeBytes;
+      this.writeId = writeId;
+      this.targetCommitLatency = targetCommitLatency;
       this.maxBatchNumMutations = maxNumMutations;
       this.maxNumRows = maxNumRows;
       this.groupingFactor = groupingFactor <= 0 ? 1 : groupingFactor;
@@ -2008,6 +2062,14 @@ public class SpannerIO {
     public void setup() {
       this.maxBatchNumRows = maxNumRows.get().longValue();
       this.maxSortableNumRows = maxBatchNumRows * groupingFactor;
+      this.batchSizer = adaptiveBatchSizer(writeId, targetCommitLatency);
+    }
+
+    @Teardown
+    public void teardown() {
+      if (batchSizer != null) {
+        batchSizer.release();
+      }
     }
 
     private synchronized void initSorter() {
@@ -2030,8 +2092,26 @@ public class SpannerIO {
           return;
         }
 
-        if (maxSortableNumMutations == maxBatchNumMutations) {
+        long batchSizeBytesLimit = maxBatchSizeBytes;
+        long batchNumMutationsLimit = maxBatchNumMutations;
+        long batchNumRowsLimit = maxBatchNumRows;
+        if (batchSizer != null) {
+          double scale = batchSizer.scale();
+          batchSizeBytesLimit =
+              AdaptiveBatchSizer.scaledLimit(
+                  maxBatchSizeBytes, scale, AdaptiveBatchSizer.MAX_COMMIT_BYTES);
+          batchNumMutationsLimit =
+              AdaptiveBatchSizer.scaledLimit(
+                  maxBatchNumMutations, scale, AdaptiveBatchSizer.MAX_COMMIT_MUTATIONS);
+          batchNumRowsLimit =
+              AdaptiveBatchSizer.scaledLimit(
+                  maxBatchNumRows, scale, AdaptiveBatchSizer.MAX_COMMIT_MUTATIONS);
+          adaptiveBatchSizeBytes.set(batchSizeBytesLimit);
+          adaptiveBatchNumMutations.set(batchNumMutationsLimit);
+          adaptiveBatchNumRows.set(batchNumRowsLimit);
+        } else if (maxSortableNumMutations == maxBatchNumMutations) {
           // no grouping is occurring, no need to sort and make batches, just output what we have.
+          batchNumMutations.update(sortableNumCells);
           outputBatch(out, 0, mutationsToSort.size());
           return;
         }
@@ -2052,10 +2132,12 @@ public class SpannerIO {
         while (batchEnd < mutationsToSort.size()) {
           MutationGroupContainer mg = mutationsToSort.get(batchEnd);
 
-          if (((batchCells + mg.numCells) > maxBatchNumMutations)
-              || ((batchSizeBytes + mg.sizeBytes) > maxBatchSizeBytes
-                  || (batchRows + mg.numRows > maxBatchNumRows))) {
+          if (batchEnd > batchStart
+              && (((batchCells + mg.numCells) > batchNumMutationsLimit)
+                  || ((batchSizeBytes + mg.sizeBytes) > batchSizeBytesLimit
+                      || (batchRows + mg.numRows > batchNumRowsLimit)))) {
             // Cannot add new element, current batch is full; output.
+            batchNumMutations.update(batchCells);
             outputBatch(out, batchStart, batchEnd);
             batchStart = batchEnd;
             batchSizeBytes = 0;
@@ -2071,6 +2153,7 @@ public class SpannerIO {
 
         if (batchStart < batchEnd) {
           // output remaining elements
+          batchNumMutations.update(batchCells);
           outputBatch(out, batchStart, mutationsToSort.size());
         }
       } finally {
@@ -2295,8 +2378,14 @@ public class SpannerIO {
         Metrics.counter(WriteGrouped.class, "spanner_write_timeouts");
     private final Counter spannerWriteRetries =
         Metrics.counter(WriteGrouped.class, "spanner_write_retries");
+    private final Counter spannerWriteAborts =
+        Metrics.counter(WriteGrouped.class, "spanner_write_aborts");
 
     private final TupleTag<MutationGroup> failedTag;
+    private final @Nullable String writeId;
+
+    // Tunes the batch limits when adaptive batching is enabled, null otherwise.
+    private transient @Nullable AdaptiveBatchSizer batchSizer;
 
     // Fluent Backoff is not serializable so create at runtime in setup().
     private transient FluentBackoff bundleWriteBackoff;
@@ -2304,9 +2393,18 @@ public class SpannerIO {
 
     WriteToSpannerFn(
         SpannerConfig spannerConfig, FailureMode failureMode, TupleTag<MutationGroup> failedTag) {
+      this(spannerConfig, failureMode, failedTag, null);
+    }
+
+    WriteToSpannerFn(
+        SpannerConfig spannerConfig,
+        FailureMode failureMode,
+        TupleTag<MutationGroup> failedTag,
+        @Nullable String writeId) {
       this.spannerConfig = spannerConfig;
       this.failureMode = failureMode;
       this.failedTag = failedTag;
+      this.writeId = writeId;
     }
 
     @Setup
@@ -2332,11 +2430,15 @@ public class SpannerIO {
                   });
 
       projectId = resolveSpannerProjectId(spannerConfig);
+      batchSizer = adaptiveBatchSizer(writeId, spannerConfig.getTargetCommitLatency());
     }
 
     @Teardown
     public void teardown() {
       spannerAccessor.close();
+      if (batchSizer != null) {
+        batchSizer.release();
+      }
     }
 
     @ProcessElement
@@ -2407,6 +2509,10 @@ public class SpannerIO {
         } catch (AbortedException e) {
           reportServiceCallMetricsForBatch(
               tableNames, e.getErrorCode().getGrpcStatusCode().toString());
+          spannerWriteAborts.inc();
+          if (batchSizer != null) {
+            batchSizer.onFailedCommit();
+          }
           if (retry >= ABORTED_RETRY_ATTEMPTS) {
             throw e;
           }
@@ -2472,10 +2578,16 @@ public class SpannerIO {
         try {
           spannerWriteWithRetryIfSchemaChange(mutations);
           spannerWriteSuccess.inc();
+          if (batchSizer != null) {
+            batchSizer.onCommit(timer.elapsed(TimeUnit.MILLISECONDS));
+          }
           return;
         } catch (SpannerException exception) {
           if (exception.getErrorCode() == ErrorCode.DEADLINE_EXCEEDED) {
             spannerWriteTimeouts.inc();
+            if (batchSizer != null) {
+              batchSizer.onFailedCommit();
+            }
 
             // Potentially backoff/retry after DEADLINE_EXCEEDED.
             long sleepTimeMsecs = backoff.nextBackOffMillis();
@@ -2512,6 +2624,21 @@ public class SpannerIO {
     }
   }
 
+  /**
+   * Returns the batch sizer of a write transform, or null if adaptive batching is not enabled for
+   * it.
+   */
+  private static @Nullable AdaptiveBatchSizer adaptiveBatchSizer(
+      @Nullable String writeId, @Nullable ValueProvider<Duration> targetCommitLatency) {
+    if (writeId == null
+        || targetCommitLatency == null
+        || targetCommitLatency.get() == null
+        || targetCommitLatency.get().getMillis() <= 0) {
+      return null;
+    }
+    return AdaptiveBatchSizer.getOrCreate(writeId, targetCommitLatency.get().getMillis());
+  }
+
   private SpannerIO() {} // Prevent construction.
 
   private static HashMap<String, String> buildServiceCallMetricLabels(SpannerConfig config) {
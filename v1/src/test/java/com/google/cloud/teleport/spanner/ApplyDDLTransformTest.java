@@ -16,6 +16,9 @@
 package com.google.cloud.teleport.spanner;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.isNull;
@@ -27,12 +30,14 @@ import static org.mockito.Mockito.withSettings;
 
 import com.google.api.gax.longrunning.OperationFuture;
 import com.google.cloud.ServiceFactory;
+import com.google.cloud.Timestamp;
 import com.google.cloud.spanner.DatabaseAdminClient;
 import com.google.cloud.spanner.Spanner;
 import com.google.cloud.spanner.SpannerOptions;
 import com.google.cloud.teleport.spanner.ddl.Ddl;
 import com.google.cloud.teleport.spanner.spannerio.SpannerConfig;
 import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import org.apache.beam.sdk.options.ValueProvider.StaticValueProvider;
@@ -156,4 +161,38 @@ public class ApplyDDLTransformTest implements Serializable {
         .updateDatabaseDdl(
             eq("test-instance"), eq("test-database"), eq(Arrays.asList("CREATE INDEX i2")), any());
   }
+
+  @Test
+  public void testOperationId() {
+    Timestamp createTime = Timestamp.ofTimeSecondsAndNanos(1, 0);
+    List<String> statements = Arrays.asList("CREATE INDEX i1", "CREATE INDEX i2");
+
+    String operationId = ApplyDDLTransform.operationId("foreign_key", createTime, statements);
+    assertTrue(operationId, operationId.matches("import_foreign_key_[0-9a-f]{32}"));
+    assertEquals(
+        operationId,
+        ApplyDDLTransform.operationId("foreign_key", createTime, new ArrayList<>(statements)));
+    assertNotEquals(
+        operationId,
+        ApplyDDLTransform.operationId(
+            "foreign_key", Timestamp.ofTimeSecondsAndNanos(2, 0), statements));
+    assertNotEquals(
+        operationId,
+        ApplyDDLTransform.operationId("foreign_key", createTime, statements.subList(0, 1)));
+    assertNull(ApplyDDLTransform.operationId("foreign_key", null, statements));
+  }
+
+  @Test
+  public void testDdlObjectName() {
+    assertEquals(
+        "UsersByName",
+        ApplyDDLTransform.ddlObjectName(
+            "CREATE UNIQUE NULL_FILTERED INDEX `UsersByName` ON `Users`(`name`)"));
+    assertEquals(
+        "fk_posts",
+        ApplyDDLTransform.ddlObjectName(
+            "ALTER TABLE \"Posts\" ADD CONSTRAINT \"fk_posts\" FOREIGN KEY (\"id\")"
+                + " REFERENCES \"Users\" (\"id\")"));
+    assertEquals("Stream", ApplyDDLTransform.ddlObjectName("CREATE CHANGE STREAM Stream FOR ALL"));
+  }
 }
@@ -0,0 +1,226 @@
+/*
+ * Copyright (C) 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.cloud.teleport.spanner;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import com.google.cloud.spanner.Key;
+import com.google.cloud.spanner.Mutation;
+import com.google.cloud.teleport.spanner.ddl.Ddl;
+import com.google.cloud.teleport.spanner.proto.ExportProtos.DeltaExport;
+import com.google.cloud.teleport.spanner.proto.ExportProtos.Export;
+import com.google.cloud.teleport.spanner.proto.ExportProtos.ProtoDialect;
+import com.google.protobuf.util.JsonFormat;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import org.apache.beam.sdk.Pipeline.PipelineExecutionException;
+import org.apache.beam.sdk.extensions.protobuf.ProtoCoder;
+import org.apache.beam.sdk.testing.PAssert;
+import org.apache.beam.sdk.testing.TestPipeline;
+import org.apache.beam.sdk.transforms.Create;
+import org.apache.beam.sdk.transforms.ParDo;
+import org.apache.beam.sdk.transforms.View;
+import org.apache.beam.sdk.values.KV;
+import org.apache.beam.sdk.values.PCollection;
+import org.apache.beam.sdk.values.PCollectionView;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/** Unit tests for {@link ApplyDeltaExports}. */
+public class ApplyDeltaExportsTest {
+
+  @Rule public final transient TestPipeline pipeline = TestPipeline.create();
+  @Rule public final transient TemporaryFolder tmpFolder = new TemporaryFolder();
+
+  private static final String SNAPSHOT_TIME = "2026-01-01T00:00:00Z";
+  private static final String FIRST_END_TIME = "2026-01-02T00:00:00Z";
+  private static final String SECOND_END_TIME = "2026-01-03T00:00:00Z";
+
+  private static final Ddl DDL =
+      Ddl.builder()
+          .createTable("Users")
+          .column("id")
+          .int64()
+          .notNull()
+          .endColumn()
+          .primaryKey()
+          .asc("id")
+          .end()
+          .endTable()
+          .createTable("Posts")
+          .column("id")
+          .int64()
+          .notNull()
+          .endColumn()
+          .column("post_id")
+          .int64()
+          .notNull()
+          .endColumn()
+          .primaryKey()
+          .asc("id")
+          .asc("post_id")
+          .end()
+          .interleaveInParent("Users")
+          .endTable()
+          .createTable("Comments")
+          .column("id")
+          .int64()
+          .notNull()
+          .endColumn()
+          .column("post_id")
+          .int64()
+          .notNull()
+          .endColumn()
+          .column("comment_id")
+          .int64()
+          .notNull()
+          .endColumn()
+          .primaryKey()
+          .asc("id")
+          .asc("post_id")
+          .asc("comment_id")
+          .end()
+          .interleaveInParent("Posts")
+          .endTable()
+          .build();
+
+  private static int upsertStage(String table) {
+    return ApplyDeltaExports.stage(
+        DDL, DDL.table(table), Mutation.newInsertOrUpdateBuilder(table).set("id").to(1).build());
+  }
+
+  private static int deleteStage(String table) {
+    return ApplyDeltaExports.stage(DDL, DDL.table(table), Mutation.delete(table, Key.of(1)));
+  }
+
+  @Test
+  public void testUpsertsAreWrittenParentsFirst() {
+    assertEquals(0, upsertStage("Users"));
+    assertTrue(upsertStage("Users") < upsertStage("Posts"));
+    assertTrue(upsertStage("Posts") < upsertStage("Comments"));
+  }
+
+  @Test
+  public void testDeletesAreWrittenChildrenFirstAfterUpserts() {
+    assertEquals(2 * ImportTransform.MAX_DEPTH - 1, deleteStage("Users"));
+    assertTrue(deleteStage("Comments") < deleteStage("Posts"));
+    assertTrue(deleteStage("Posts") < deleteStage("Users"));
+    // Every delete is written after the upserts of the deepest possible table.
+    assertTrue(deleteStage("Comments") > ImportTransform.MAX_DEPTH - 1);
+  }
+
+  @Test
+  public void testListDeltaFiles() throws IOException {
+    String first =
+        writeDelta("first", SNAPSHOT_TIME, FIRST_END_TIME, ProtoDialect.GOOGLE_STANDARD_SQL);
+    String second =
+        writeDelta("second", FIRST_END_TIME, SECOND_END_TIME, ProtoDialect.GOOGLE_STANDARD_SQL);
+
+    PCollection<KV<String, Integer>> files = listDeltaFiles(first + ", " + second);
+
+    PAssert.that(files)
+        .containsInAnyOrder(
+            KV.of(new File(first, "Users-delta.avro-00000-of-00001").getPath(), 0),
+            KV.of(new File(second, "Users-delta.avro-00000-of-00001").getPath(), 1));
+    pipeline.run();
+  }
+
+  @Test
+  public void testListDeltaFilesRejectsGapInChain() throws IOException {
+    String first =
+        writeDelta("first", SNAPSHOT_TIME, FIRST_END_TIME, ProtoDialect.GOOGLE_STANDARD_SQL);
+    // Misses the changes committed between the end of the first export and the second day.
+    String second =
+        writeDelta(
+            "second", "2026-01-02T12:00:00Z", SECOND_END_TIME, ProtoDialect.GOOGLE_STANDARD_SQL);
+
+    listDeltaFiles(first + "," + second);
+
+    PipelineExecutionException e = assertThrows(PipelineExecutionException.class, pipeline::run);
+    assertTrue(e.getCause() instanceof IllegalArgumentException);
+    assertTrue(e.getCause().getMessage().contains("the previous export ends at " + FIRST_END_TIME));
+  }
+
+  @Test
+  public void testListDeltaFilesRejectsExportNotStartingAtSnapshot() throws IOException {
+    String first =
+        writeDelta(
+            "first", "2025-12-31T00:00:00Z", FIRST_END_TIME, ProtoDialect.GOOGLE_STANDARD_SQL);
+
+    listDeltaFiles(first);
+
+    PipelineExecutionException e = assertThrows(PipelineExecutionException.class, pipeline::run);
+    assertTrue(e.getCause().getMessage().contains("the previous export ends at " + SNAPSHOT_TIME));
+  }
+
+  @Test
+  public void testListDeltaFilesRejectsDialectMismatch() throws IOException {
+    String first = writeDelta("first", SNAPSHOT_TIME, FIRST_END_TIME, ProtoDialect.POSTGRESQL);
+
+    listDeltaFiles(first);
+
+    PipelineExecutionException e = assertThrows(PipelineExecutionException.class, pipeline::run);
+    assertTrue(e.getCause().getMessage().startsWith("Dialect mismatches"));
+  }
+
+  private PCollection<KV<String, Integer>> listDeltaFiles(String deltaDirectories) {
+    PCollectionView<Export> manifestView =
+        pipeline
+            .apply(
+                "Base manifest",
+                Create.of(
+                        Export.newBuilder()
+                            .setSnapshotTime(SNAPSHOT_TIME)
+                            .setDialect(ProtoDialect.GOOGLE_STANDARD_SQL)
+                            .build())
+                    .withCoder(ProtoCoder.of(Export.class)))
+            .apply("Manifest as view", View.asSingleton());
+    return pipeline
+        .apply("Delta directories", Create.of(deltaDirectories))
+        .apply(
+            "List delta files",
+            ParDo.of(new ApplyDeltaExports.ListDeltaFiles(manifestView))
+                .withSideInputs(manifestView));
+  }
+
+  /** Writes an incremental export of the Users table with a single data file. */
+  private String writeDelta(String name, String startTime, String endTime, ProtoDialect dialect)
+      throws IOException {
+    File directory = tmpFolder.newFolder(name);
+    DeltaExport manifest =
+        DeltaExport.newBuilder()
+            .setStartTime(startTime)
+            .setEndTime(endTime)
+            .setChangeStreamName("Changes")
+            .setDialect(dialect)
+            .addTables(
+                Export.Table.newBuilder()
+                    .setName("Users")
+                    .addDataFiles(DeltaRecords.deltaFilePrefix("Users") + "-*"))
+            .build();
+    Files.write(
+        new File(directory, DeltaRecords.DELTA_MANIFEST_FILE).toPath(),
+        JsonFormat.printer().print(manifest).getBytes(StandardCharsets.UTF_8));
+    Files.createFile(
+        new File(directory, DeltaRecords.deltaFilePrefix("Users") + "-00000-of-00001").toPath());
+    return directory.getPath();
+  }
+}
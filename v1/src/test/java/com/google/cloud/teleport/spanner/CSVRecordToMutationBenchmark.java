@@ -0,0 +1,168 @@
+/*
+ * Copyright (C) 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.cloud.teleport.spanner;
+
+import com.google.cloud.spanner.Mutation;
+import com.google.cloud.teleport.spanner.CSVRecordToMutation.TableConverter;
+import com.google.cloud.teleport.spanner.ddl.Ddl;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVParser;
+import org.apache.commons.csv.CSVRecord;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Measures the number of CSV rows per second converted to mutations by {@link CSVRecordToMutation},
+ * for a narrow table of keys and strings and for a wide table of mixed types.
+ *
+ * <p>Run from an IDE through {@link #main(String[])}, or with {@code mvn test-compile exec:exec
+ * -Dexec.executable=java -Dexec.classpathScope=test -Dexec.args="-classpath %classpath
+ * com.google.cloud.teleport.spanner.CSVRecordToMutationBenchmark"}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CSVRecordToMutationBenchmark {
+
+  private static final int ROWS = 1000;
+
+  @Param({"narrow", "wide"})
+  public String schema;
+
+  private TableConverter converter;
+  private List<CSVRecord> rows;
+
+  @Setup(Level.Trial)
+  public void setup() throws IOException {
+    Ddl ddl =
+        Ddl.builder()
+            .createTable("Narrow")
+            .column("id")
+            .int64()
+            .notNull()
+            .endColumn()
+            .column("name")
+            .string()
+            .max()
+            .endColumn()
+            .column("email")
+            .string()
+            .max()
+            .endColumn()
+            .primaryKey()
+            .asc("id")
+            .end()
+            .endTable()
+            .createTable("Wide")
+            .column("id")
+            .int64()
+            .notNull()
+            .endColumn()
+            .column("name")
+            .string()
+            .max()
+            .endColumn()
+            .column("score")
+            .float64()
+            .endColumn()
+            .column("active")
+            .bool()
+            .endColumn()
+            .column("birth_date")
+            .date()
+            .endColumn()
+            .column("updated_at")
+            .timestamp()
+            .endColumn()
+            .column("created_at")
+            .timestamp()
+            .endColumn()
+            .column("payload")
+            .bytes()
+            .max()
+            .endColumn()
+            .column("amount")
+            .numeric()
+            .endColumn()
+            .column("attributes")
+            .json()
+            .endColumn()
+            .primaryKey()
+            .asc("id")
+            .end()
+            .endTable()
+            .build();
+
+    StringBuilder csv = new StringBuilder();
+    for (int i = 0; i < ROWS; i++) {
+      if (schema.equals("narrow")) {
+        csv.append(String.format("%d,user %d,user%d@example.com\n", i, i, i));
+      } else {
+        csv.append(
+            String.format(
+                "%d,user %d,%d.5,%s,2020-01-%02d,2024-06-01T12:00:%02dZ,%d,aGVsbG8=,%d.25,"
+                    + "\"{\"\"k\"\":%d}\"\n",
+                i, i, i, i % 2 == 0, i % 28 + 1, i % 60, 1717243200000000L + i, i, i));
+      }
+    }
+    rows = CSVParser.parse(csv.toString(), CSVFormat.DEFAULT).getRecords();
+    converter =
+        new TableConverter(
+            ddl.table(schema.equals("narrow") ? "Narrow" : "Wide"),
+            Collections.emptyList(),
+            null,
+            null);
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(ROWS)
+  public void convertRows(Blackhole blackhole) {
+    for (CSVRecord row : rows) {
+      Mutation mutation = converter.convert(row);
+      blackhole.consume(mutation);
+    }
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(
+            new OptionsBuilder()
+                .include(CSVRecordToMutationBenchmark.class.getSimpleName())
+                .build())
+        .run();
+  }
+}
@@ -15,6 +15,7 @@
  */
 package com.google.cloud.teleport.spanner;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertThrows;
 
 import com.google.cloud.ByteArray;
@@ -47,8 +48,10 @@ import org.apache.beam.sdk.transforms.ParDo;
 import org.apache.beam.sdk.transforms.View;
 import org.apache.beam.sdk.values.KV;
 import org.apache.beam.sdk.values.PCollection;
+import org.apache.beam.sdk.values.PCollectionTuple;
 import org.apache.beam.sdk.values.PCollectionView;
 import org.apache.beam.sdk.values.TupleTag;
+import org.apache.beam.sdk.values.TupleTagList;
 import org.apache.commons.csv.CSVFormat;
 import org.apache.commons.csv.CSVParser;
 import org.apache.commons.csv.CSVRecord;
@@ -746,6 +749,49 @@ public final class CSVRecordToMutationTest {
     pipeline.run();
   }
 
+  @Test
+  public void parseRowToMutationInvalidDateFormatToErrorOutput() throws Exception {
+    PCollectionView<Ddl> ddlView =
+        pipeline.apply("ddl", Create.of(getTestDdlDateOnly())).apply(View.asSingleton());
+    PCollectionView<Map<String, List<TableManifest.Column>>> tableColumnsMapView =
+        pipeline
+            .apply(
+                "tableColumnsMap",
+                Create.<Map<String, List<TableManifest.Column>>>of(getEmptyTableColumnsMap())
+                    .withCoder(
+                        MapCoder.of(
+                            StringUtf8Coder.of(),
+                            ListCoder.of(ProtoCoder.of(TableManifest.Column.class)))))
+            .apply("Map as view", View.asSingleton());
+    CSVRecord csvRecord = CSVParser.parse("1/21/1998", csvFormat).getRecords().get(0);
+    PCollection<KV<String, CSVRecord>> input =
+        pipeline.apply(
+            "input",
+            Create.of(KV.of(testTableName, csvRecord))
+                .withCoder(
+                    KvCoder.of(StringUtf8Coder.of(), SerializableCoder.of(CSVRecord.class))));
+    TupleTag<Mutation> mutationTag = new TupleTag<>();
+    PCollectionTuple outputs =
+        input.apply(
+            ParDo.of(
+                    new CSVRecordToMutation(
+                        ddlView,
+                        tableColumnsMapView,
+                        // An unknown pattern letter.
+                        StaticValueProvider.of("M/d/yyyy b"),
+                        timestampFormat,
+                        StaticValueProvider.of("gs://bucket/invalid/"),
+                        errorTag))
+                .withSideInputs(ddlView, tableColumnsMapView)
+                .withOutputTags(mutationTag, TupleTagList.of(errorTag)));
+
+    PAssert.that(outputs.get(mutationTag)).empty();
+    PAssert.that(outputs.get(errorTag).setCoder(StringUtf8Coder.of()))
+        .containsInAnyOrder("1/21/1998");
+
+    pipeline.run();
+  }
+
   @Test(expected = PipelineExecutionException.class)
   public void parseRowToMutationTooManyColumns() throws Exception {
     PCollectionView<Ddl> ddlView =
@@ -1123,6 +1169,35 @@ public final class CSVRecordToMutationTest {
     pipeline.run();
   }
 
+  @Test
+  public void tableConverterUsesManifestColumns() throws Exception {
+    Ddl ddl = getTestDdl();
+    CSVRecordToMutation.TableConverter converter =
+        new CSVRecordToMutation.TableConverter(
+            ddl.table(testTableName),
+            List.of(
+                TableManifest.Column.newBuilder().setColumnName("str_10_col").build(),
+                TableManifest.Column.newBuilder().setColumnName("int_col").build(),
+                TableManifest.Column.newBuilder().setColumnName("unknown_col").build()),
+            null,
+            null);
+
+    assertEquals(
+        Mutation.newInsertOrUpdateBuilder(testTableName)
+            .set("str_10_col")
+            .to("abc")
+            .set("int_col")
+            .to(5)
+            .build(),
+        converter.convert(CSVParser.parse("abc,5", csvFormat).getRecords().get(0)));
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> converter.convert(CSVParser.parse("abc,5,x", csvFormat).getRecords().get(0)));
+    assertThrows(
+        RuntimeException.class,
+        () -> converter.convert(CSVParser.parse("abc,5,x,y", csvFormat).getRecords().get(0)));
+  }
+
   private static Ddl getTestDdl() {
     Ddl ddl =
         Ddl.builder()
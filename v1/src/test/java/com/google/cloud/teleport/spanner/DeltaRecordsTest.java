@@ -0,0 +1,256 @@
+/*
+ * Copyright (C) 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.cloud.teleport.spanner;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThrows;
+
+import com.google.cloud.ByteArray;
+import com.google.cloud.Date;
+import com.google.cloud.Timestamp;
+import com.google.cloud.spanner.Key;
+import com.google.cloud.spanner.Mutation;
+import com.google.cloud.spanner.Value;
+import com.google.cloud.teleport.spanner.DeltaRecords.Change;
+import com.google.cloud.teleport.spanner.common.Type;
+import com.google.cloud.teleport.spanner.ddl.Ddl;
+import com.google.cloud.teleport.spanner.ddl.Table;
+import com.google.gson.JsonParser;
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Collections;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.avro.generic.GenericRecordBuilder;
+import org.junit.Test;
+
+/** Unit tests for {@link DeltaRecords}. */
+public class DeltaRecordsTest {
+
+  private static final Ddl DDL =
+      Ddl.builder()
+          .createTable("Users")
+          .column("id")
+          .int64()
+          .notNull()
+          .endColumn()
+          .column("name")
+          .string()
+          .max()
+          .endColumn()
+          .column("score")
+          .float64()
+          .endColumn()
+          .column("name_length")
+          .int64()
+          .generatedAs("LENGTH(name)")
+          .stored()
+          .endColumn()
+          .primaryKey()
+          .asc("id")
+          .end()
+          .endTable()
+          .createTable("Posts")
+          .column("id")
+          .int64()
+          .notNull()
+          .endColumn()
+          .column("post_id")
+          .string()
+          .max()
+          .notNull()
+          .endColumn()
+          .primaryKey()
+          .asc("id")
+          .asc("post_id")
+          .end()
+          .interleaveInParent("Users")
+          .endTable()
+          .build();
+
+  private static final Table USERS = DDL.table("Users");
+
+  private static Change change(
+      int deltaIndex, String commitTimestamp, String modType, String keys, String newValues) {
+    GenericRecord record =
+        new GenericRecordBuilder(DeltaRecords.SCHEMA)
+            .set("table_name", "Users")
+            .set("commit_timestamp", commitTimestamp)
+            .set("server_transaction_id", "tx")
+            .set("record_sequence", "00000000")
+            .set("mod_index", 0)
+            .set("mod_type", modType)
+            .set("keys_json", keys)
+            .set("new_values_json", newValues)
+            .build();
+    return DeltaRecords.fromAvroRecord(deltaIndex, record);
+  }
+
+  @Test
+  public void updatesOfExistingRowAreMerged() {
+    Mutation mutation =
+        DeltaRecords.toMutation(
+            USERS,
+            Arrays.asList(
+                change(0, "2026-01-01T00:00:02Z", "UPDATE", "{\"id\":\"1\"}", "{\"score\":2.5}"),
+                change(0, "2026-01-01T00:00:01Z", "UPDATE", "{\"id\":\"1\"}", "{\"name\":\"a\"}")));
+
+    assertEquals(
+        Mutation.newInsertOrUpdateBuilder("Users")
+            .set("id")
+            .to(1L)
+            .set("name")
+            .to("a")
+            .set("score")
+            .to(2.5)
+            .build(),
+        mutation);
+  }
+
+  @Test
+  public void insertFollowedByUpdateReplacesRow() {
+    Mutation mutation =
+        DeltaRecords.toMutation(
+            USERS,
+            Arrays.asList(
+                change(
+                    0,
+                    "2026-01-01T00:00:01Z",
+                    "INSERT",
+                    "{\"id\":\"1\"}",
+                    "{\"name\":\"a\",\"score\":null,\"name_length\":\"1\"}"),
+                change(1, "2026-01-01T00:00:00Z", "UPDATE", "{\"id\":\"1\"}", "{\"score\":1}")));
+
+    assertEquals(
+        Mutation.newReplaceBuilder("Users")
+            .set("id")
+            .to(1L)
+            .set("name")
+            .to("a")
+            .set("score")
+            .to(1.0)
+            .build(),
+        mutation);
+  }
+
+  @Test
+  public void lastDeleteWins() {
+    Mutation mutation =
+        DeltaRecords.toMutation(
+            USERS,
+            Arrays.asList(
+                change(0, "2026-01-01T00:00:01Z", "INSERT", "{\"id\":\"1\"}", "{\"name\":\"a\"}"),
+                change(0, "2026-01-01T00:00:02Z", "DELETE", "{\"id\":\"1\"}", null)));
+
+    assertEquals(Mutation.delete("Users", Key.of(1L)), mutation);
+  }
+
+  @Test
+  public void insertAfterDeleteReplacesRow() {
+    Mutation mutation =
+        DeltaRecords.toMutation(
+            USERS,
+            Arrays.asList(
+                change(0, "2026-01-01T00:00:01Z", "DELETE", "{\"id\":\"1\"}", null),
+                change(0, "2026-01-01T00:00:02Z", "INSERT", "{\"id\":\"1\"}", "{\"name\":\"b\"}")));
+
+    assertEquals(
+        Mutation.newReplaceBuilder("Users").set("id").to(1L).set("name").to("b").build(), mutation);
+  }
+
+  @Test
+  public void noChanges() {
+    assertNull(DeltaRecords.toMutation(USERS, Collections.emptyList()));
+  }
+
+  @Test
+  public void unknownColumn() {
+    assertThrows(
+        IllegalArgumentException.class,
+        () ->
+            DeltaRecords.toMutation(
+                USERS,
+                Collections.singletonList(
+                    change(
+                        0,
+                        "2026-01-01T00:00:01Z",
+                        "UPDATE",
+                        "{\"id\":\"1\"}",
+                        "{\"unknown\":\"a\"}"))));
+  }
+
+  @Test
+  public void rowKeyIgnoresKeyOrder() {
+    Change change1 =
+        change(0, "2026-01-01T00:00:01Z", "DELETE", "{\"id\":\"1\",\"post_id\":\"a\"}", null);
+    Change change2 =
+        change(1, "2026-01-01T00:00:02Z", "DELETE", "{\"post_id\":\"a\",\"id\":\"1\"}", null);
+
+    assertEquals(DeltaRecords.rowKey(change1), DeltaRecords.rowKey(change2));
+  }
+
+  @Test
+  public void toValue() {
+    assertEquals(
+        Value.int64(9007199254740993L),
+        DeltaRecords.toValue(Type.int64(), JsonParser.parseString("\"9007199254740993\"")));
+    assertEquals(
+        Value.float64(Double.NaN),
+        DeltaRecords.toValue(Type.float64(), JsonParser.parseString("\"NaN\"")));
+    assertEquals(
+        Value.numeric(new BigDecimal("1.25")),
+        DeltaRecords.toValue(Type.numeric(), JsonParser.parseString("\"1.25\"")));
+    assertEquals(
+        Value.bytes(ByteArray.copyFrom("abc")),
+        DeltaRecords.toValue(Type.bytes(), JsonParser.parseString("\"YWJj\"")));
+    assertEquals(
+        Value.timestamp(Timestamp.parseTimestamp("2026-01-01T00:00:00.123456Z")),
+        DeltaRecords.toValue(
+            Type.timestamp(), JsonParser.parseString("\"2026-01-01T00:00:00.123456Z\"")));
+    assertEquals(
+        Value.date(Date.fromYearMonthDay(2026, 1, 2)),
+        DeltaRecords.toValue(Type.date(), JsonParser.parseString("\"2026-01-02\"")));
+    assertEquals(
+        Value.json("{\"a\":1}"),
+        DeltaRecords.toValue(Type.json(), JsonParser.parseString("\"{\\\"a\\\":1}\"")));
+    assertEquals(
+        Value.int64Array(Arrays.asList(1L, null)),
+        DeltaRecords.toValue(Type.array(Type.int64()), JsonParser.parseString("[\"1\", null]")));
+    assertEquals(Value.string(null), DeltaRecords.toValue(Type.string(), null));
+  }
+
+  @Test
+  public void deletesOfChildTablesAreWrittenFirst() {
+    Table posts = DDL.table("Posts");
+    Mutation insert = Mutation.newInsertOrUpdateBuilder("Posts").set("id").to(1L).build();
+    Mutation delete = Mutation.delete("Posts", Key.of(1L, "a"));
+
+    assertEquals(0, ApplyDeltaExports.stage(DDL, USERS, insert));
+    assertEquals(1, ApplyDeltaExports.stage(DDL, posts, insert));
+    assertEquals(2 * ImportTransform.MAX_DEPTH - 2, ApplyDeltaExports.stage(DDL, posts, delete));
+    assertEquals(2 * ImportTransform.MAX_DEPTH - 1, ApplyDeltaExports.stage(DDL, USERS, delete));
+  }
+
+  @Test
+  public void nextTimestamp() {
+    assertEquals(
+        Timestamp.ofTimeSecondsAndNanos(10, 1),
+        ExportDeltaTransform.nextTimestamp(Timestamp.ofTimeSecondsAndNanos(10, 0)));
+    assertEquals(
+        Timestamp.ofTimeSecondsAndNanos(11, 0),
+        ExportDeltaTransform.nextTimestamp(Timestamp.ofTimeSecondsAndNanos(10, 999999999)));
+  }
+}
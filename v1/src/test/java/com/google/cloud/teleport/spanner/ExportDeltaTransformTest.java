@@ -0,0 +1,173 @@
+/*
+ * Copyright (C) 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.cloud.teleport.spanner;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import com.google.cloud.Timestamp;
+import com.google.cloud.spanner.Dialect;
+import com.google.cloud.spanner.Options.RpcPriority;
+import com.google.cloud.teleport.spanner.proto.ExportProtos.DeltaExport;
+import com.google.cloud.teleport.spanner.proto.ExportProtos.Export;
+import com.google.cloud.teleport.spanner.proto.ExportProtos.ProtoDialect;
+import com.google.cloud.teleport.spanner.spannerio.SpannerConfig;
+import com.google.protobuf.util.JsonFormat;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+import org.apache.beam.sdk.testing.TestPipeline;
+import org.apache.beam.sdk.transforms.Create;
+import org.apache.beam.sdk.transforms.ParDo;
+import org.apache.beam.sdk.transforms.View;
+import org.apache.beam.sdk.values.PCollectionView;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/** Unit tests for {@link ExportDeltaTransform}. */
+public class ExportDeltaTransformTest {
+
+  @Rule public final transient TestPipeline pipeline = TestPipeline.create();
+  @Rule public final transient TemporaryFolder tmpFolder = new TemporaryFolder();
+
+  private static final Timestamp START_TIME = Timestamp.parseTimestamp("2026-01-01T00:00:00Z");
+  private static final Timestamp END_TIME = Timestamp.parseTimestamp("2026-01-02T00:00:00Z");
+
+  @Test
+  public void testEndTimeMustBeAfterStartTime() {
+    pipeline.enableAbandonedNodeEnforcement(false);
+    ExportDeltaTransform transform =
+        new ExportDeltaTransform(
+            SpannerConfig.create(),
+            "Changes",
+            "metadata-instance",
+            "metadata-database",
+            END_TIME,
+            START_TIME,
+            RpcPriority.LOW,
+            tmpFolder.getRoot().getPath(),
+            1);
+
+    IllegalArgumentException e =
+        assertThrows(IllegalArgumentException.class, () -> pipeline.apply(transform));
+    assertTrue(e.getMessage().contains("must be after start time"));
+  }
+
+  @Test
+  public void testNextTimestamp() {
+    assertEquals(
+        Timestamp.ofTimeSecondsAndNanos(10, 1),
+        ExportDeltaTransform.nextTimestamp(Timestamp.ofTimeSecondsAndNanos(10, 0)));
+    assertEquals(
+        Timestamp.ofTimeSecondsAndNanos(11, 0),
+        ExportDeltaTransform.nextTimestamp(Timestamp.ofTimeSecondsAndNanos(10, 999_999_999)));
+  }
+
+  @Test
+  public void testWriteDeltaManifest() throws IOException {
+    String outputDir = tmpFolder.getRoot().getPath();
+    PCollectionView<Dialect> dialectView =
+        pipeline
+            .apply("Dialect", Create.of(Dialect.POSTGRESQL))
+            .apply("Dialect as view", View.asSingleton());
+    pipeline
+        .apply("Modified tables", Create.of(List.of(List.of("Users", "Albums"))))
+        .apply(
+            "Write delta manifest",
+            ParDo.of(
+                    new ExportDeltaTransform.WriteDeltaManifest(
+                        START_TIME, END_TIME, "Changes", outputDir, dialectView))
+                .withSideInputs(dialectView));
+    pipeline.run();
+
+    DeltaExport.Builder manifest = DeltaExport.newBuilder();
+    JsonFormat.parser()
+        .merge(
+            new String(
+                Files.readAllBytes(new File(outputDir, DeltaRecords.DELTA_MANIFEST_FILE).toPath()),
+                StandardCharsets.UTF_8),
+            manifest);
+    assertEquals(
+        DeltaExport.newBuilder()
+            .setStartTime(START_TIME.toString())
+            .setEndTime(END_TIME.toString())
+            .setChangeStreamName("Changes")
+            .setDialect(ProtoDialect.POSTGRESQL)
+            .addTables(
+                Export.Table.newBuilder().setName("Albums").addDataFiles("Albums-delta.avro-*"))
+            .addTables(
+                Export.Table.newBuilder().setName("Users").addDataFiles("Users-delta.avro-*"))
+            .build(),
+        manifest.build());
+  }
+
+  @Test
+  public void testReadPreviousExportTimeOfFullExport() throws IOException {
+    File exportDir = tmpFolder.newFolder("full");
+    writeFile(
+        new File(exportDir, DeltaRecords.EXPORT_MANIFEST_FILE),
+        JsonFormat.printer().print(Export.newBuilder().setSnapshotTime(START_TIME.toString())));
+
+    assertEquals(START_TIME, ExportDeltaTransform.readPreviousExportTime(exportDir.getPath()));
+  }
+
+  @Test
+  public void testReadPreviousExportTimeOfIncrementalExport() throws IOException {
+    File exportDir = tmpFolder.newFolder("delta");
+    writeFile(
+        new File(exportDir, DeltaRecords.DELTA_MANIFEST_FILE),
+        JsonFormat.printer()
+            .print(
+                DeltaExport.newBuilder()
+                    .setStartTime(START_TIME.toString())
+                    .setEndTime(END_TIME.toString())));
+
+    assertEquals(END_TIME, ExportDeltaTransform.readPreviousExportTime(exportDir.getPath()));
+  }
+
+  @Test
+  public void testReadPreviousExportTimeWithoutSnapshotTime() throws IOException {
+    File exportDir = tmpFolder.newFolder("old");
+    writeFile(
+        new File(exportDir, DeltaRecords.EXPORT_MANIFEST_FILE),
+        JsonFormat.printer().print(Export.getDefaultInstance()));
+
+    IllegalArgumentException e =
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> ExportDeltaTransform.readPreviousExportTime(exportDir.getPath()));
+    assertTrue(e.getMessage().contains("does not record its snapshot time"));
+  }
+
+  @Test
+  public void testReadPreviousExportTimeWithoutExport() throws IOException {
+    File exportDir = tmpFolder.newFolder("empty");
+
+    IllegalArgumentException e =
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> ExportDeltaTransform.readPreviousExportTime(exportDir.getPath()));
+    assertTrue(e.getMessage().startsWith("No Cloud Spanner export found"));
+  }
+
+  private static void writeFile(File file, String content) throws IOException {
+    Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+  }
+}
@@ -23,15 +23,20 @@ import com.google.cloud.teleport.spanner.ImportTransform.ReadAvroSchemas;
 import com.google.cloud.teleport.spanner.ImportTransform.ReadExportManifestFile;
 import com.google.cloud.teleport.spanner.ImportTransform.ReadManifestFiles;
 import com.google.cloud.teleport.spanner.ImportTransform.ReadTableManifestFile;
+import com.google.cloud.teleport.spanner.ImportTransform.SelectPendingIndexes;
 import com.google.cloud.teleport.spanner.ImportTransform.ValidateInputFiles;
+import com.google.cloud.teleport.spanner.ddl.Ddl;
 import com.google.cloud.teleport.spanner.proto.ExportProtos.Export;
 import com.google.cloud.teleport.spanner.proto.ExportProtos.TableManifest;
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Lists;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.LinkedList;
+import java.util.List;
 import java.util.Map;
 import org.apache.avro.Schema;
 import org.apache.avro.SchemaBuilder;
@@ -428,4 +433,97 @@ public class ImportTransformTest {
             });
     pipeline.run();
   }
+
+  @Test
+  public void pendingIndexesOfDepth() {
+    Ddl ddl =
+        Ddl.builder()
+            .createTable("Users")
+            .column("id")
+            .int64()
+            .endColumn()
+            .primaryKey()
+            .asc("id")
+            .end()
+            .indexes(ImmutableList.of("CREATE INDEX `UsersById` ON `Users`(`id`)"))
+            .endTable()
+            .createTable("Posts")
+            .column("id")
+            .int64()
+            .endColumn()
+            .column("post_id")
+            .int64()
+            .endColumn()
+            .primaryKey()
+            .asc("id")
+            .asc("post_id")
+            .end()
+            .interleaveInParent("Users")
+            .indexes(
+                ImmutableList.of(
+                    "CREATE INDEX `PostsById` ON `Posts`(`post_id`)",
+                    "CREATE INDEX `PostsEarly` ON `Posts`(`id`)"))
+            .endTable()
+            .build();
+    List<String> pending =
+        Arrays.asList(
+            "CREATE INDEX `UsersById` ON `Users`(`id`)",
+            "CREATE INDEX `PostsById` ON `Posts`(`post_id`)");
+
+    assertEquals(
+        Arrays.asList("CREATE INDEX `UsersById` ON `Users`(`id`)"),
+        SelectPendingIndexes.indexesOfDepth(ddl, pending, 0));
+    assertEquals(
+        Arrays.asList("CREATE INDEX `PostsById` ON `Posts`(`post_id`)"),
+        SelectPendingIndexes.indexesOfDepth(ddl, pending, 1));
+    assertEquals(Arrays.asList(), SelectPendingIndexes.indexesOfDepth(ddl, pending, 2));
+  }
+
+  @Test
+  public void rootTables() {
+    Ddl ddl =
+        Ddl.builder()
+            .createTable("Users")
+            .column("id")
+            .int64()
+            .endColumn()
+            .primaryKey()
+            .asc("id")
+            .end()
+            .endTable()
+            .createTable("Posts")
+            .column("id")
+            .int64()
+            .endColumn()
+            .column("post_id")
+            .int64()
+            .endColumn()
+            .primaryKey()
+            .asc("id")
+            .asc("post_id")
+            .end()
+            .interleaveInParent("Users")
+            .endTable()
+            .createTable("Comments")
+            .column("id")
+            .int64()
+            .endColumn()
+            .column("post_id")
+            .int64()
+            .endColumn()
+            .column("comment_id")
+            .int64()
+            .endColumn()
+            .primaryKey()
+            .asc("id")
+            .asc("post_id")
+            .asc("comment_id")
+            .end()
+            .interleaveInParent("Posts")
+            .endTable()
+            .build();
+
+    assertEquals(
+        ImmutableMap.of("posts", "users", "comments", "users"), ImportTransform.rootTables(ddl));
+  }
 }
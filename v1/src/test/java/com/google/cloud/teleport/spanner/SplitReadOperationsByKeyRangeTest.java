@@ -0,0 +1,154 @@
+/*
+ * Copyright (C) 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.cloud.teleport.spanner;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import com.google.cloud.spanner.Dialect;
+import com.google.cloud.spanner.Statement;
+import com.google.cloud.spanner.Value;
+import com.google.cloud.teleport.spanner.ddl.Ddl;
+import com.google.cloud.teleport.spanner.spannerio.ReadOperation;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.junit.Test;
+
+/** Tests for {@link SplitReadOperationsByKeyRange}. */
+public class SplitReadOperationsByKeyRangeTest {
+
+  private static final String SQL = "SELECT \"Users\" AS _spanner_table, t.`id` FROM `Users` AS t";
+
+  private static final ReadOperation OP =
+      ReadOperation.create().withQuery(SQL).withQueryName("Users");
+
+  private static Ddl ddl(Dialect dialect) {
+    return Ddl.builder(dialect)
+        .createTable("Users")
+        .column("id")
+        .int64()
+        .notNull()
+        .endColumn()
+        .column("name")
+        .string()
+        .max()
+        .endColumn()
+        .primaryKey()
+        .asc("id")
+        .end()
+        .endTable()
+        .createTable("Logs")
+        .column("payload")
+        .json()
+        .endColumn()
+        .primaryKey()
+        .asc("payload")
+        .end()
+        .endTable()
+        .build();
+  }
+
+  @Test
+  public void splitColumn() {
+    Ddl ddl = ddl(Dialect.GOOGLE_STANDARD_SQL);
+    assertEquals("id", SplitReadOperationsByKeyRange.splitColumn(ddl, OP).name());
+    assertNull(
+        SplitReadOperationsByKeyRange.splitColumn(ddl, ReadOperation.create().withQuery(SQL)));
+    assertNull(SplitReadOperationsByKeyRange.splitColumn(ddl, OP.withQueryName("Logs")));
+    assertNull(SplitReadOperationsByKeyRange.splitColumn(ddl, OP.withQueryName("Unknown")));
+  }
+
+  @Test
+  public void rangeBoundariesAreEvenlySpacedAndDistinct() {
+    List<Value> samples =
+        Arrays.asList(
+            Value.int64(1),
+            Value.int64(2),
+            Value.int64(3),
+            Value.int64(4),
+            Value.int64(5),
+            Value.int64(6));
+    assertEquals(
+        Arrays.asList(Value.int64(3), Value.int64(5)),
+        SplitReadOperationsByKeyRange.rangeBoundaries(samples, 3));
+
+    List<Value> duplicates =
+        Arrays.asList(Value.int64(1), Value.int64(1), Value.int64(1), Value.int64(2));
+    assertEquals(
+        Arrays.asList(Value.int64(1), Value.int64(2)),
+        SplitReadOperationsByKeyRange.rangeBoundaries(duplicates, 4));
+  }
+
+  @Test
+  public void keyOrderMatchesSpannerOrder() {
+    Ddl ddl = ddl(Dialect.GOOGLE_STANDARD_SQL);
+
+    List<Value> ids =
+        new ArrayList<>(Arrays.asList(Value.int64(3), Value.int64(-1), Value.int64(2)));
+    ids.sort(SplitReadOperationsByKeyRange.keyOrder(ddl.table("Users").column("id")));
+    assertEquals(Arrays.asList(Value.int64(-1), Value.int64(2), Value.int64(3)), ids);
+
+    // U+FF21 sorts before U+1F600 by code point, but after its surrogate pair by UTF-16 unit.
+    List<Value> names =
+        new ArrayList<>(
+            Arrays.asList(Value.string("\uD83D\uDE00"), Value.string("b"), Value.string("\uFF21")));
+    names.sort(SplitReadOperationsByKeyRange.keyOrder(ddl.table("Users").column("name")));
+    assertEquals(
+        Arrays.asList(Value.string("b"), Value.string("\uFF21"), Value.string("\uD83D\uDE00")),
+        names);
+  }
+
+  @Test
+  public void splitByKeyRange() {
+    List<ReadOperation> splits =
+        SplitReadOperationsByKeyRange.splitByKeyRange(
+            OP, "id", Arrays.asList(Value.int64(10), Value.int64(20)));
+
+    assertEquals(3, splits.size());
+    assertEquals(
+        Statement.newBuilder(SQL + " WHERE t.`id` < @splitEnd OR t.`id` IS NULL")
+            .bind("splitEnd")
+            .to(Value.int64(10))
+            .build(),
+        splits.get(0).getQuery());
+    assertEquals(
+        Statement.newBuilder(SQL + " WHERE t.`id` >= @splitStart AND t.`id` < @splitEnd")
+            .bind("splitStart")
+            .to(Value.int64(10))
+            .bind("splitEnd")
+            .to(Value.int64(20))
+            .build(),
+        splits.get(1).getQuery());
+    assertEquals(
+        Statement.newBuilder(SQL + " WHERE t.`id` >= @splitStart")
+            .bind("splitStart")
+            .to(Value.int64(20))
+            .build(),
+        splits.get(2).getQuery());
+    for (ReadOperation split : splits) {
+      assertEquals("Users", split.getQueryName());
+    }
+  }
+
+  @Test
+  public void noBoundaries() {
+    assertEquals(
+        Collections.singletonList(OP),
+        SplitReadOperationsByKeyRange.splitByKeyRange(OP, "id", Collections.emptyList()));
+  }
+}
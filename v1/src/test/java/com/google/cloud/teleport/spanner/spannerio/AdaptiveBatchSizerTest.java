@@ -0,0 +1,96 @@
+/*
+ * Copyright (C) 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.cloud.teleport.spanner.spannerio;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** Unit tests for {@link AdaptiveBatchSizer}. */
+@RunWith(JUnit4.class)
+public class AdaptiveBatchSizerTest {
+
+  @Test
+  public void fastCommitsGrowBatches() {
+    AdaptiveBatchSizer sizer = new AdaptiveBatchSizer(1000);
+    sizer.onCommit(100);
+    assertTrue(sizer.scale() > 1);
+    for (int i = 0; i < 1000; i++) {
+      sizer.onCommit(100);
+    }
+    assertEquals(AdaptiveBatchSizer.MAX_SCALE, sizer.scale(), 0);
+  }
+
+  @Test
+  public void slowCommitsShrinkBatches() {
+    AdaptiveBatchSizer sizer = new AdaptiveBatchSizer(1000);
+    sizer.onCommit(10000);
+    assertEquals(0.875, sizer.scale(), 1e-9);
+  }
+
+  @Test
+  public void commitsOnTargetKeepBatches() {
+    AdaptiveBatchSizer sizer = new AdaptiveBatchSizer(1000);
+    sizer.onCommit(1000);
+    assertEquals(1, sizer.scale(), 0);
+  }
+
+  @Test
+  public void failedCommitsHalveBatches() {
+    AdaptiveBatchSizer sizer = new AdaptiveBatchSizer(1000);
+    sizer.onFailedCommit();
+    assertEquals(0.5, sizer.scale(), 0);
+    for (int i = 0; i < 100; i++) {
+      sizer.onFailedCommit();
+    }
+    assertEquals(AdaptiveBatchSizer.MIN_SCALE, sizer.scale(), 0);
+  }
+
+  @Test
+  public void scaledLimit() {
+    assertEquals(5000, AdaptiveBatchSizer.scaledLimit(10000, 0.5, 80000));
+    assertEquals(80000, AdaptiveBatchSizer.scaledLimit(20000, 8, 80000));
+    assertEquals(1, AdaptiveBatchSizer.scaledLimit(10, 1.0 / 64, 80000));
+  }
+
+  @Test
+  public void sizerIsSharedPerWrite() {
+    assertSame(
+        AdaptiveBatchSizer.getOrCreate("write-1", 1000),
+        AdaptiveBatchSizer.getOrCreate("write-1", 1000));
+    assertTrue(
+        AdaptiveBatchSizer.getOrCreate("write-1", 1000)
+            != AdaptiveBatchSizer.getOrCreate("write-2", 1000));
+  }
+
+  @Test
+  public void sizerIsDroppedOnceReleased() {
+    AdaptiveBatchSizer sizer = AdaptiveBatchSizer.getOrCreate("write-3", 1000);
+    assertSame(sizer, AdaptiveBatchSizer.getOrCreate("write-3", 1000));
+
+    sizer.release();
+    assertSame(sizer, AdaptiveBatchSizer.getOrCreate("write-3", 1000));
+    sizer.release();
+    sizer.release();
+
+    assertNotSame(sizer, AdaptiveBatchSizer.getOrCreate("write-3", 1000));
+  }
+}
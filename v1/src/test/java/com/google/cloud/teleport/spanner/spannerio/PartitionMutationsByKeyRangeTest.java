@@ -0,0 +1,83 @@
+/*
+ * Copyright (C) 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.cloud.teleport.spanner.spannerio;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import com.google.cloud.spanner.Mutation;
+import com.google.cloud.teleport.spanner.spannerio.PartitionMutationsByKeyRange.EncodedKeyComparator;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** Unit tests for {@link PartitionMutationsByKeyRange}. */
+@RunWith(JUnit4.class)
+public class PartitionMutationsByKeyRangeTest {
+
+  private static final MutationKeyEncoder ENCODER =
+      new MutationKeyEncoder(
+          SpannerSchema.builder()
+              .addColumn("users", "id", "INT64")
+              .addKeyPart("users", "id", false)
+              .addColumn("posts", "id", "INT64")
+              .addKeyPart("posts", "id", false)
+              .addColumn("posts", "post_id", "INT64")
+              .addKeyPart("posts", "post_id", false)
+              .build());
+
+  private static byte[] user(long id) {
+    return PartitionMutationsByKeyRange.encodeRootTableAndKey(
+        ENCODER, Mutation.newInsertBuilder("Users").set("id").to(id).build(), null);
+  }
+
+  private static byte[] post(long id, long postId) {
+    return PartitionMutationsByKeyRange.encodeRootTableAndKey(
+        ENCODER,
+        Mutation.newInsertBuilder("Posts").set("id").to(id).set("post_id").to(postId).build(),
+        "users");
+  }
+
+  @Test
+  public void interleavedRowsSortNextToTheirParent() {
+    EncodedKeyComparator comparator = new EncodedKeyComparator();
+    List<byte[]> sorted = Arrays.asList(user(1), post(1, 1), post(1, 2), user(2), post(2, 1));
+    for (int i = 1; i < sorted.size(); i++) {
+      assertTrue(comparator.compare(sorted.get(i - 1), sorted.get(i)) < 0);
+    }
+  }
+
+  @Test
+  public void rootTablesKeepTheirEncoding() {
+    Mutation m = Mutation.newInsertBuilder("Users").set("id").to(1L).build();
+    assertArrayEquals(
+        ENCODER.encodeTableNameAndKey(m),
+        PartitionMutationsByKeyRange.encodeRootTableAndKey(ENCODER, m, "users"));
+  }
+
+  @Test
+  public void keyRange() {
+    List<byte[]> boundaries = Arrays.asList(user(10), user(20));
+    assertEquals(0, PartitionMutationsByKeyRange.keyRange(boundaries, user(5)));
+    assertEquals(1, PartitionMutationsByKeyRange.keyRange(boundaries, user(10)));
+    assertEquals(1, PartitionMutationsByKeyRange.keyRange(boundaries, post(10, 1)));
+    assertEquals(2, PartitionMutationsByKeyRange.keyRange(boundaries, user(25)));
+    assertEquals(0, PartitionMutationsByKeyRange.keyRange(Arrays.asList(), user(5)));
+  }
+}
@@ -0,0 +1,44 @@
+/*
+ * Copyright (C) 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.cloud.teleport.v2.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmarks of this module with the GC profiler, which reports the allocation rate of
+ * every benchmark next to its throughput.
+ *
+ * <p>The only argument, optional, is a regular expression selecting the benchmarks to run. All the
+ * benchmarks are run by default.
+ */
+public final class BenchmarkRunner {
+
+  private static final String ALL_BENCHMARKS = "com\\.google\\.cloud\\.teleport\\.v2\\..*Benchmark";
+
+  private BenchmarkRunner() {}
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(
+            new OptionsBuilder()
+                .include(args.length > 0 ? args[0] : ALL_BENCHMARKS)
+                .addProfiler(GCProfiler.class)
+                .build())
+        .run();
+  }
+}
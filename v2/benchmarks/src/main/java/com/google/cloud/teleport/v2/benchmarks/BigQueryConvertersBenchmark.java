@@ -0,0 +1,74 @@
+/*
+ * Copyright (C) 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.cloud.teleport.v2.benchmarks;
+
+import com.google.api.services.bigquery.model.TableRow;
+import com.google.cloud.teleport.v2.transforms.BigQueryConverters;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark of {@link BigQueryConverters#convertJsonToTableRow}, which parses every message of the
+ * Pub/Sub, Kafka and Datastream to BigQuery templates.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class BigQueryConvertersBenchmark {
+
+  /** A flat message of a few scalar fields. */
+  static final String FLAT_JSON =
+      "{\"id\":1234567,\"name\":\"Ada Lovelace\",\"email\":\"ada@example.com\",\"score\":98.5,"
+          + "\"active\":true,\"created_at\":\"2024-06-01T12:34:56.789Z\"}";
+
+  /** A message with nested records and repeated fields. */
+  static final String NESTED_JSON =
+      "{\"order_id\":\"o-1234567\",\"customer\":{\"id\":42,\"name\":\"Ada Lovelace\","
+          + "\"address\":{\"street\":\"12 St James's Square\",\"city\":\"London\","
+          + "\"zip\":\"SW1Y 4JH\"}},\"items\":[{\"sku\":\"A-1\",\"quantity\":2,\"price\":9.99},"
+          + "{\"sku\":\"B-22\",\"quantity\":1,\"price\":149.0},{\"sku\":\"C-333\",\"quantity\":5,"
+          + "\"price\":0.5}],\"tags\":[\"priority\",\"gift\",\"express\"],"
+          + "\"created_at\":\"2024-06-01T12:34:56.789Z\",\"total\":170.48}";
+
+  @Param({"flat", "nested"})
+  public String message;
+
+  private String json;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    json = message.equals("flat") ? FLAT_JSON : NESTED_JSON;
+  }
+
+  @Benchmark
+  public TableRow convertJsonToTableRow() {
+    return BigQueryConverters.convertJsonToTableRow(json);
+  }
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright (C) 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.cloud.teleport.v2.benchmarks;
+
+import com.google.cloud.teleport.v2.coders.FailsafeElementCoder;
+import com.google.cloud.teleport.v2.coders.GenericRecordCoder;
+import com.google.cloud.teleport.v2.values.FailsafeElement;
+import java.util.concurrent.TimeUnit;
+import org.apache.avro.Schema;
+import org.apache.avro.SchemaBuilder;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.avro.generic.GenericRecordBuilder;
+import org.apache.beam.sdk.coders.CoderException;
+import org.apache.beam.sdk.coders.StringUtf8Coder;
+import org.apache.beam.sdk.util.CoderUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark of {@link GenericRecordCoder} and {@link FailsafeElementCoder}, which encode the
+ * elements shuffled or materialized by many templates.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class CodersBenchmark {
+
+  private static final Schema SCHEMA =
+      SchemaBuilder.record("Person")
+          .namespace("com.google.cloud.teleport.v2.benchmarks")
+          .fields()
+          .requiredLong("id")
+          .requiredString("first_name")
+          .requiredString("last_name")
+          .optionalString("email")
+          .requiredInt("age")
+          .requiredDouble("score")
+          .requiredBoolean("active")
+          .optionalString("city")
+          .requiredLong("created_at_micros")
+          .optionalString("notes")
+          .endRecord();
+
+  private final GenericRecordCoder genericRecordCoder = GenericRecordCoder.of();
+  private final FailsafeElementCoder<String, String> failsafeElementCoder =
+      FailsafeElementCoder.of(StringUtf8Coder.of(), StringUtf8Coder.of());
+
+  private GenericRecord record;
+  private byte[] encodedRecord;
+  private FailsafeElement<String, String> element;
+  private byte[] encodedElement;
+
+  @Setup(Level.Trial)
+  public void setup() throws CoderException {
+    record =
+        new GenericRecordBuilder(SCHEMA)
+            .set("id", 1234567L)
+            .set("first_name", "Ada")
+            .set("last_name", "Lovelace")
+            .set("email", "ada@example.com")
+            .set("age", 36)
+            .set("score", 98.5)
+            .set("active", true)
+            .set("city", "London")
+            .set("created_at_micros", 1717245296789000L)
+            .set("notes", "Wrote the first published algorithm for a computing machine.")
+            .build();
+    encodedRecord = CoderUtils.encodeToByteArray(genericRecordCoder, record);
+
+    element =
+        FailsafeElement.of(
+                BigQueryConvertersBenchmark.NESTED_JSON, BigQueryConvertersBenchmark.NESTED_JSON)
+            .setErrorMessage("Failed to insert the row")
+            .setStacktrace("java.lang.RuntimeException: Failed to insert the row");
+    encodedElement = CoderUtils.encodeToByteArray(failsafeElementCoder, element);
+  }
+
+  @Benchmark
+  public byte[] encodeGenericRecord() throws CoderException {
+    return CoderUtils.encodeToByteArray(genericRecordCoder, record);
+  }
+
+  @Benchmark
+  public GenericRecord decodeGenericRecord() throws CoderException {
+    return CoderUtils.decodeFromByteArray(genericRecordCoder, encodedRecord);
+  }
+
+  @Benchmark
+  public byte[] encodeFailsafeElement() throws CoderException {
+    return CoderUtils.encodeToByteArray(failsafeElementCoder, element);
+  }
+
+  @Benchmark
+  public FailsafeElement<String, String> decodeFailsafeElement() throws CoderException {
+    return CoderUtils.decodeFromByteArray(failsafeElementCoder, encodedElement);
+  }
+}
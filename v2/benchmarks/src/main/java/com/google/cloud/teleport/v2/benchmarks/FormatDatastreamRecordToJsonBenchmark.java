@@ -0,0 +1,84 @@
+/*
+ * Copyright (C) 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.cloud.teleport.v2.benchmarks;
+
+import com.google.cloud.teleport.v2.datastream.transforms.FormatDatastreamRecordToJson;
+import com.google.cloud.teleport.v2.values.FailsafeElement;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.apache.avro.file.DataFileStream;
+import org.apache.avro.generic.GenericDatumReader;
+import org.apache.avro.generic.GenericRecord;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark of {@link FormatDatastreamRecordToJson}, which converts every Avro record written by
+ * Datastream into the JSON change event of the Datastream templates.
+ *
+ * <p>The records are MySQL change events read from {@code fixtures/datastream_mysql_people.avro}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class FormatDatastreamRecordToJsonBenchmark {
+
+  static final String FIXTURE = "/fixtures/datastream_mysql_people.avro";
+
+  private final FormatDatastreamRecordToJson formatter = FormatDatastreamRecordToJson.create();
+  private List<GenericRecord> records;
+  private int next;
+
+  @Setup(Level.Trial)
+  public void setup() throws IOException {
+    records = readRecords(FIXTURE);
+  }
+
+  static List<GenericRecord> readRecords(String resource) throws IOException {
+    List<GenericRecord> records = new ArrayList<>();
+    try (InputStream in =
+            FormatDatastreamRecordToJsonBenchmark.class.getResourceAsStream(resource);
+        DataFileStream<GenericRecord> stream =
+            new DataFileStream<>(in, new GenericDatumReader<>())) {
+      for (GenericRecord record : stream) {
+        records.add(record);
+      }
+    }
+    return records;
+  }
+
+  @Benchmark
+  public FailsafeElement<String, String> format() {
+    GenericRecord record = records.get(next);
+    next = (next + 1) % records.size();
+    return formatter.apply(record);
+  }
+}
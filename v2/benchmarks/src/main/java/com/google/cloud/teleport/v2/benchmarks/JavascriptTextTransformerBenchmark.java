@@ -0,0 +1,84 @@
+/*
+ * Copyright (C) 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.cloud.teleport.v2.benchmarks;
+
+import com.google.cloud.teleport.v2.transforms.JavascriptTextTransformer.JavascriptRuntime;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import javax.script.ScriptException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark of the JavaScript UDFs run by {@link JavascriptRuntime} for every message of the
+ * templates that accept a {@code javascriptTextTransformGcsPath}.
+ *
+ * <p>The UDF is read from a local file, which the runtime accepts like a Cloud Storage path.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class JavascriptTextTransformerBenchmark {
+
+  private static final String UDF =
+      "function transform(inJson) {\n"
+          + "  var obj = JSON.parse(inJson);\n"
+          + "  obj.name = obj.name.toUpperCase();\n"
+          + "  obj.processed = true;\n"
+          + "  return JSON.stringify(obj);\n"
+          + "}\n";
+
+  private Path udfFile;
+  private JavascriptRuntime runtime;
+
+  @Setup(Level.Trial)
+  public void setup() throws IOException {
+    udfFile = Files.createTempFile("udf", ".js");
+    Files.write(udfFile, UDF.getBytes(StandardCharsets.UTF_8));
+    runtime =
+        JavascriptRuntime.newBuilder()
+            .setFileSystemPath(udfFile.toString())
+            .setFunctionName("transform")
+            .setReloadIntervalMinutes(0)
+            .build();
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws IOException {
+    Files.deleteIfExists(udfFile);
+  }
+
+  @Benchmark
+  public String invoke() throws ScriptException, IOException, NoSuchMethodException {
+    return runtime.invoke(BigQueryConvertersBenchmark.FLAT_JSON);
+  }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright (C) 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.cloud.teleport.v2.templates;
+
+import com.github.vincentrussell.json.datagenerator.JsonDataGenerator;
+import com.github.vincentrussell.json.datagenerator.JsonDataGeneratorException;
+import com.github.vincentrussell.json.datagenerator.impl.JsonDataGeneratorImpl;
+import java.io.ByteArrayOutputStream;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark of the message generation of the Streaming Data Generator, with a schema compiled into
+ * a {@link MessageTemplate} and with the json-data-generator parsing the schema for every message.
+ *
+ * <p>It lives in the package of the template, because {@link MessageTemplate} is package-private.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class MessageTemplateBenchmark {
+
+  private static final String SCHEMA =
+      "{\"eventId\": \"{{uuid()}}\", "
+          + "\"eventTime\": {{timestamp()}}, "
+          + "\"score\": {{integer(0,100)}}, "
+          + "\"teamavg\": {{float(100000, 10000000,\"%.7f\")}}, "
+          + "\"completed\": {{bool()}}, "
+          + "\"reporter\": \"{{random(\"SRC\", \"DEST\")}}\"}";
+
+  private MessageTemplate template;
+  private JsonDataGenerator dataGenerator;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    template = MessageTemplate.compile(SCHEMA);
+    dataGenerator = new JsonDataGeneratorImpl();
+  }
+
+  @Benchmark
+  public byte[] compiledTemplate() throws JsonDataGeneratorException {
+    return template.generate(null);
+  }
+
+  @Benchmark
+  public byte[] dataGenerator() throws JsonDataGeneratorException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    dataGenerator.generateTestDataJson(SCHEMA, out);
+    return out.toByteArray();
+  }
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright (C) 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.cloud.teleport.v2.templates.datastream;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.cloud.spanner.Mutation;
+import com.google.cloud.teleport.v2.spanner.ddl.Ddl;
+import com.google.cloud.teleport.v2.spanner.migrations.exceptions.ChangeEventConvertorException;
+import com.google.cloud.teleport.v2.spanner.migrations.exceptions.InvalidChangeEventException;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark of {@link ChangeEventConvertor#changeEventToMutation}, which converts every change
+ * event of the Datastream to Spanner template into a Cloud Spanner mutation.
+ *
+ * <p>It lives in the package of the template, because the conversion is package-private.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class ChangeEventConvertorBenchmark {
+
+  private static final String INSERT_EVENT =
+      "{\"first_name\":\"Ada\",\"last_name\":\"Love\",\"age\":\"36\",\"bool_field\":\"true\","
+          + "\"int64_field\":\"2344\",\"float64_field\":\"2344.34\","
+          + "\"string_field\":\"Wrote the first published algorithm\","
+          + "\"timestamp_field\":\"2020-12-30T04:12:12.123Z\",\"date_field\":\"2020-12-30\","
+          + "\"_metadata_table\":\"Users\",\"_metadata_change_type\":\"INSERT\"}";
+
+  private static final String DELETE_EVENT =
+      "{\"first_name\":\"Ada\",\"last_name\":\"Love\","
+          + "\"_metadata_table\":\"Users\",\"_metadata_change_type\":\"DELETE\"}";
+
+  private Ddl ddl;
+  private JsonNode insertEvent;
+  private JsonNode deleteEvent;
+
+  @Setup(Level.Trial)
+  public void setup() throws IOException {
+    ddl =
+        Ddl.builder()
+            .createTable("Users")
+            .column("first_name")
+            .string()
+            .max()
+            .endColumn()
+            .column("last_name")
+            .string()
+            .size(5)
+            .endColumn()
+            .column("age")
+            .int64()
+            .endColumn()
+            .column("bool_field")
+            .bool()
+            .endColumn()
+            .column("int64_field")
+            .int64()
+            .endColumn()
+            .column("float64_field")
+            .float64()
+            .endColumn()
+            .column("string_field")
+            .string()
+            .max()
+            .endColumn()
+            .column("timestamp_field")
+            .timestamp()
+            .endColumn()
+            .column("date_field")
+            .date()
+            .endColumn()
+            .primaryKey()
+            .asc("first_name")
+            .desc("last_name")
+            .end()
+            .endTable()
+            .build();
+    ObjectMapper mapper = new ObjectMapper();
+    mapper.enable(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS);
+    insertEvent = mapper.readTree(INSERT_EVENT);
+    deleteEvent = mapper.readTree(DELETE_EVENT);
+  }
+
+  @Benchmark
+  public Mutation insert() throws ChangeEventConvertorException, InvalidChangeEventException {
+    return ChangeEventConvertor.changeEventToMutation(ddl, insertEvent);
+  }
+
+  @Benchmark
+  public Mutation delete() throws ChangeEventConvertorException, InvalidChangeEventException {
+    return ChangeEventConvertor.changeEventToMutation(ddl, deleteEvent);
+  }
+}
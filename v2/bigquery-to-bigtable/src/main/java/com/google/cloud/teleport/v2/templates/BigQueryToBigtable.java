@@ -27,14 +27,21 @@ import com.google.cloud.teleport.v2.bigtable.transforms.BigtableConverters;
 import com.google.cloud.teleport.v2.common.UncaughtExceptionLogger;
 import com.google.cloud.teleport.v2.templates.BigQueryToBigtable.BigQueryToBigtableOptions;
 import com.google.cloud.teleport.v2.transforms.BigQueryConverters;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
 import org.apache.beam.sdk.Pipeline;
 import org.apache.beam.sdk.extensions.gcp.options.GcpOptions;
 import org.apache.beam.sdk.io.gcp.bigquery.BigQueryIO;
+import org.apache.beam.sdk.io.gcp.bigquery.BigQueryIO.TypedRead;
 import org.apache.beam.sdk.options.Default;
 import org.apache.beam.sdk.options.PipelineOptionsFactory;
 import org.apache.beam.sdk.options.Validation.Required;
 import org.apache.beam.sdk.transforms.DoFn;
 import org.apache.beam.sdk.transforms.ParDo;
+import org.apache.beam.vendor.guava.v32_1_2_jre.com.google.common.base.Splitter;
+import org.apache.beam.vendor.guava.v32_1_2_jre.com.google.common.base.Strings;
 import org.apache.hadoop.hbase.client.Mutation;
 import org.apache.hadoop.hbase.client.Put;
 import org.apache.hadoop.hbase.util.Bytes;
@@ -121,6 +128,34 @@ public class BigQueryToBigtable {
     Boolean getSkipNullValues();
 
     void setSkipNullValues(Boolean value);
+
+    @TemplateParameter.Text(
+        order = 4,
+        optional = true,
+        description = "List of field names",
+        helpText =
+            "A comma-separated list of fields to read from the input BigQuery table. The unique"
+                + " identifier and timestamp columns are always read. Only applies when reading"
+                + " from `inputTableSpec`. If not set, all columns are read.")
+    @Default.String("")
+    String getFields();
+
+    void setFields(String value);
+
+    @TemplateParameter.Text(
+        order = 5,
+        optional = true,
+        description = "Row restrictions/filter.",
+        helpText =
+            "Read only rows which match the specified filter, which must be a SQL expression"
+                + " compatible with Google standard SQL"
+                + " (https://cloud.google.com/bigquery/docs/reference/standard-sql). The filter is"
+                + " applied by the BigQuery Storage Read API. Only applies when reading from"
+                + " `inputTableSpec`. If no value is specified, then all rows are returned.")
+    @Default.String("")
+    String getRowRestriction();
+
+    void setRowRestriction(String value);
   }
 
   /**
@@ -145,13 +180,15 @@ public class BigQueryToBigtable {
             BigQueryConverters.ReadBigQuery.<Mutation>newBuilder()
                 .setOptions(options.as(BigQueryToBigtableOptions.class))
                 .setReadFunction(
-                    BigQueryIO.read(
-                        BigtableConverters.AvroToMutation.newBuilder()
-                            .setColumnFamily(options.getBigtableWriteColumnFamily())
-                            .setRowkey(options.getReadIdColumn())
-                            .setSkipNullValues(options.getSkipNullValues())
-                            .setTimestampColumn(options.getTimestampColumn())
-                            .build()))
+                    withStorageReadPushdown(
+                        BigQueryIO.read(
+                            BigtableConverters.AvroToMutation.newBuilder()
+                                .setColumnFamily(options.getBigtableWriteColumnFamily())
+                                .setRowkey(options.getReadIdColumn())
+                                .setSkipNullValues(options.getSkipNullValues())
+                                .setTimestampColumn(options.getTimestampColumn())
+                                .build()),
+                        options))
                 .build())
         .apply("VerifyAndFilterMutations", ParDo.of((new VerifyAndFilterMutationsFn())))
         .apply("WriteToTable", CloudBigtableIO.writeToTable(bigtableTableConfig));
@@ -159,6 +196,41 @@ public class BigQueryToBigtable {
     pipeline.run();
   }
 
+  /**
+   * Pushes the selected fields and row restriction down into the BigQuery Storage Read API session,
+   * so only the needed columns and rows are read and converted to mutations. Both are only valid
+   * for table reads, so they are ignored when a query is used.
+   */
+  static <T> TypedRead<T> withStorageReadPushdown(
+      TypedRead<T> read, BigQueryToBigtableOptions options) {
+    if (!Strings.isNullOrEmpty(options.getQuery())) {
+      return read;
+    }
+    List<String> fields = selectedFields(options);
+    if (!fields.isEmpty()) {
+      read = read.withSelectedFields(fields);
+    }
+    if (!Strings.isNullOrEmpty(options.getRowRestriction())) {
+      read = read.withRowRestriction(options.getRowRestriction());
+    }
+    return read;
+  }
+
+  /** Returns the fields to read, always including the row key and timestamp columns. */
+  static List<String> selectedFields(BigQueryToBigtableOptions options) {
+    if (Strings.isNullOrEmpty(options.getFields())) {
+      return new ArrayList<>();
+    }
+    Set<String> fields =
+        new LinkedHashSet<>(
+            Splitter.on(',').trimResults().omitEmptyStrings().splitToList(options.getFields()));
+    fields.add(options.getReadIdColumn());
+    if (!Strings.isNullOrEmpty(options.getTimestampColumn())) {
+      fields.add(options.getTimestampColumn());
+    }
+    return new ArrayList<>(fields);
+  }
+
   /**
    * Filter out invalid Bigtable Mutations, additional validations/filters may be applied e.g. An
    * empty mutation is one that contains no actual cell set.
@@ -0,0 +1,49 @@
+/*
+ * Copyright (C) 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.cloud.teleport.v2.templates;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import com.google.cloud.teleport.v2.templates.BigQueryToBigtable.BigQueryToBigtableOptions;
+import org.apache.beam.sdk.options.PipelineOptionsFactory;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** Unit tests for {@link BigQueryToBigtable#selectedFields}. */
+@RunWith(JUnit4.class)
+public class StorageReadPushdownTest {
+
+  @Test
+  public void testNoFieldsReadsAllColumns() {
+    BigQueryToBigtableOptions options = PipelineOptionsFactory.as(BigQueryToBigtableOptions.class);
+    options.setReadIdColumn("id");
+
+    assertThat(BigQueryToBigtable.selectedFields(options)).isEmpty();
+  }
+
+  @Test
+  public void testSelectedFieldsIncludeRowKeyAndTimestamp() {
+    BigQueryToBigtableOptions options = PipelineOptionsFactory.as(BigQueryToBigtableOptions.class);
+    options.setReadIdColumn("id");
+    options.setTimestampColumn("ts");
+    options.setFields("name, age,,id");
+
+    assertThat(BigQueryToBigtable.selectedFields(options))
+        .containsExactly("name", "age", "id", "ts")
+        .inOrder();
+  }
+}
@@ -17,6 +17,7 @@ package com.google.cloud.teleport.v2.templates;
 
 import com.google.api.gax.rpc.InvalidArgumentException;
 import com.google.api.services.bigquery.model.TableReference;
+import com.google.cloud.bigquery.storage.v1.BigQueryReadClient;
 import com.google.cloud.bigquery.storage.v1beta1.BigQueryStorageClient;
 import com.google.cloud.bigquery.storage.v1beta1.ReadOptions.TableReadOptions;
 import com.google.cloud.bigquery.storage.v1beta1.Storage.CreateReadSessionRequest;
@@ -27,10 +28,13 @@ import com.google.cloud.teleport.metadata.TemplateCategory;
 import com.google.cloud.teleport.metadata.TemplateParameter;
 import com.google.cloud.teleport.v2.common.UncaughtExceptionLogger;
 import com.google.cloud.teleport.v2.templates.BigQueryToParquet.BigQueryToParquetOptions;
+import com.google.cloud.teleport.v2.transforms.ArrowParquetWriteSupport;
+import com.google.cloud.teleport.v2.transforms.BigQueryArrowToParquet;
 import com.google.common.base.Splitter;
 import com.google.common.base.Strings;
 import java.io.IOException;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import org.apache.avro.Schema;
 import org.apache.avro.generic.GenericRecord;
@@ -119,12 +123,7 @@ public class BigQueryToParquet {
         TableReadOptions tableReadOptions) {
       String tableString = options.getTableRef();
       TableReference tableReference = BigQueryHelpers.parseTableSpec(tableString);
-      BigQueryOptions bigQueryOptions = options.as(BigQueryOptions.class);
-      String parentProjectId =
-          bigQueryOptions.getBigQueryProject() == null
-              ? bigQueryOptions.getProject()
-              : bigQueryOptions.getBigQueryProject();
-      String parentProjectIdResource = "projects/" + parentProjectId;
+      String parentProjectIdResource = "projects/" + parentProjectId(options);
 
       TableReferenceProto.TableReference storageTableRef =
           TableReferenceProto.TableReference.newBuilder()
@@ -147,6 +146,40 @@ public class BigQueryToParquet {
     }
   }
 
+  /**
+   * Creates an Arrow ReadSession of the table for the columnar export, see {@link
+   * BigQueryArrowToParquet}.
+   *
+   * @param options BigQueryToParquetOptions options.
+   * @return session ReadSession object that contains the Arrow schema and streams of the export.
+   */
+  static com.google.cloud.bigquery.storage.v1.ReadSession createArrowReadSession(
+      BigQueryToParquetOptions options) {
+    List<String> selectedFields =
+        options.getFields() == null
+            ? Collections.emptyList()
+            : Arrays.asList(options.getFields().split(",\\s*"));
+    try (BigQueryReadClient client = BigQueryReadClient.create()) {
+      return BigQueryArrowToParquet.createReadSession(
+          client,
+          parentProjectId(options),
+          BigQueryHelpers.parseTableSpec(options.getTableRef()),
+          selectedFields,
+          Strings.emptyToNull(options.getRowRestriction()),
+          options.getNumShards());
+    } catch (IOException e) {
+      LOG.error("Error connecting to BigQueryStorage API: " + e.getMessage());
+      throw new RuntimeException(e);
+    }
+  }
+
+  private static String parentProjectId(BigQueryToParquetOptions options) {
+    BigQueryOptions bigQueryOptions = options.as(BigQueryOptions.class);
+    return bigQueryOptions.getBigQueryProject() == null
+        ? bigQueryOptions.getProject()
+        : bigQueryOptions.getBigQueryProject();
+  }
+
   /**
    * The {@link BigQueryToParquetOptions} class provides the custom execution options passed by the
    * executor at the command-line.
@@ -205,6 +238,19 @@ public class BigQueryToParquet {
     String getRowRestriction();
 
     void setRowRestriction(String restriction);
+
+    @TemplateParameter.Boolean(
+        order = 6,
+        optional = true,
+        description = "Use the Arrow read format",
+        helpText =
+            "If set to `true`, the table is read in the Arrow format of the BigQuery Storage API and every record batch is written to Parquet column by column, "
+                + "without converting the rows to Avro records. One file is written per read stream, at most `numShards` if set. "
+                + "Tables with STRUCT or ARRAY columns are exported through Avro records regardless. Defaults to `false`.")
+    @Default.Boolean(false)
+    Boolean getUseArrowReadFormat();
+
+    void setUseArrowReadFormat(Boolean useArrowReadFormat);
   }
 
   /**
@@ -249,6 +295,24 @@ public class BigQueryToParquet {
     // Create the pipeline.
     Pipeline pipeline = Pipeline.create(options);
 
+    if (options.getUseArrowReadFormat()) {
+      com.google.cloud.bigquery.storage.v1.ReadSession arrowSession =
+          createArrowReadSession(options);
+      if (ArrowParquetWriteSupport.isSupported(BigQueryArrowToParquet.arrowSchema(arrowSession))) {
+        LOG.info(
+            "Exporting {} through the Arrow format, in {} streams.",
+            options.getTableRef(),
+            arrowSession.getStreamsCount());
+        pipeline.apply(
+            "ExportWithArrow",
+            new BigQueryArrowToParquet(arrowSession, options.getBucket(), FILE_SUFFIX));
+        return pipeline.run();
+      }
+      LOG.warn(
+          "{} has nested or unsupported columns, exporting it through Avro records.",
+          options.getTableRef());
+    }
+
     TableReadOptions.Builder builder = TableReadOptions.newBuilder();
 
     /* Add fields to filter export on, if any. */
@@ -0,0 +1,273 @@
+/*
+ * Copyright (C) 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.cloud.teleport.v2.transforms;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import javax.annotation.Nullable;
+import org.apache.arrow.vector.BaseVariableWidthVector;
+import org.apache.arrow.vector.BigIntVector;
+import org.apache.arrow.vector.BitVector;
+import org.apache.arrow.vector.DateDayVector;
+import org.apache.arrow.vector.Decimal256Vector;
+import org.apache.arrow.vector.DecimalVector;
+import org.apache.arrow.vector.FieldVector;
+import org.apache.arrow.vector.Float8Vector;
+import org.apache.arrow.vector.TimeMicroVector;
+import org.apache.arrow.vector.TimeStampMicroTZVector;
+import org.apache.arrow.vector.TimeStampMicroVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.types.DateUnit;
+import org.apache.arrow.vector.types.FloatingPointPrecision;
+import org.apache.arrow.vector.types.TimeUnit;
+import org.apache.arrow.vector.types.pojo.ArrowType;
+import org.apache.arrow.vector.types.pojo.Field;
+import org.apache.arrow.vector.types.pojo.Schema;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.parquet.hadoop.api.WriteSupport;
+import org.apache.parquet.io.api.Binary;
+import org.apache.parquet.io.api.RecordConsumer;
+import org.apache.parquet.schema.LogicalTypeAnnotation;
+import org.apache.parquet.schema.MessageType;
+import org.apache.parquet.schema.PrimitiveType.PrimitiveTypeName;
+import org.apache.parquet.schema.Type.Repetition;
+import org.apache.parquet.schema.Types;
+
+/**
+ * Writes the rows of an Arrow {@link VectorSchemaRoot} to Parquet, reading the values straight from
+ * the column vectors instead of converting every row to an Avro {@link
+ * org.apache.avro.generic.GenericRecord} first.
+ *
+ * <p>Every record written is the index of a row of the current record batch, see {@link
+ * #setRoot(VectorSchemaRoot)}. The Parquet schema matches the one written by {@link
+ * org.apache.beam.sdk.io.parquet.ParquetIO} from the Avro schema of the BigQuery Storage API, so
+ * the files are interchangeable. Only flat schemas of the types returned by BigQuery are supported,
+ * see {@link #of(Schema)}.
+ */
+public class ArrowParquetWriteSupport extends WriteSupport<Integer> {
+
+  /** Writes the value of a non-null cell of a vector. */
+  private interface ValueWriter {
+    void write(RecordConsumer consumer, FieldVector vector, int row);
+  }
+
+  /** DATETIME with whole seconds, as represented by the Avro schema of BigQuery. */
+  private static final DateTimeFormatter DATETIME_FORMATTER =
+      DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss");
+
+  /** DATETIME with a fraction of a second, as represented by the Avro schema of BigQuery. */
+  private static final DateTimeFormatter DATETIME_MICROS_FORMATTER =
+      DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSSSSS");
+
+  private final MessageType parquetSchema;
+  private final List<String> fieldNames;
+  private final List<ValueWriter> writers;
+  private RecordConsumer consumer;
+  private VectorSchemaRoot root;
+
+  private ArrowParquetWriteSupport(
+      MessageType parquetSchema, List<String> fieldNames, List<ValueWriter> writers) {
+    this.parquetSchema = parquetSchema;
+    this.fieldNames = fieldNames;
+    this.writers = writers;
+  }
+
+  /**
+   * Returns the write support of an Arrow schema, or null if one of its fields is nested or of a
+   * type BigQuery does not return.
+   */
+  @Nullable
+  public static ArrowParquetWriteSupport of(Schema arrowSchema) {
+    Types.MessageTypeBuilder builder = Types.buildMessage();
+    List<String> fieldNames = new ArrayList<>();
+    List<ValueWriter> writers = new ArrayList<>();
+    for (Field field : arrowSchema.getFields()) {
+      if (!field.getChildren().isEmpty() || !addField(builder, writers, field)) {
+        return null;
+      }
+      fieldNames.add(field.getName());
+    }
+    return new ArrowParquetWriteSupport(builder.named("root"), fieldNames, writers);
+  }
+
+  /** Returns whether the rows of an Arrow schema can be written by this class. */
+  public static boolean isSupported(Schema arrowSchema) {
+    return of(arrowSchema) != null;
+  }
+
+  private static boolean addField(
+      Types.MessageTypeBuilder builder, List<ValueWriter> writers, Field field) {
+    Repetition repetition = field.isNullable() ? Repetition.OPTIONAL : Repetition.REQUIRED;
+    String name = field.getName();
+    ArrowType type = field.getType();
+    switch (type.getTypeID()) {
+      case Int:
+        if (((ArrowType.Int) type).getBitWidth() != 64) {
+          return false;
+        }
+        builder.primitive(PrimitiveTypeName.INT64, repetition).named(name);
+        writers.add((c, v, row) -> c.addLong(((BigIntVector) v).get(row)));
+        return true;
+      case FloatingPoint:
+        if (((ArrowType.FloatingPoint) type).getPrecision() != FloatingPointPrecision.DOUBLE) {
+          return false;
+        }
+        builder.primitive(PrimitiveTypeName.DOUBLE, repetition).named(name);
+        writers.add((c, v, row) -> c.addDouble(((Float8Vector) v).get(row)));
+        return true;
+      case Bool:
+        builder.primitive(PrimitiveTypeName.BOOLEAN, repetition).named(name);
+        writers.add((c, v, row) -> c.addBoolean(((BitVector) v).get(row) != 0));
+        return true;
+      case Utf8:
+        // STRING, GEOGRAPHY and JSON.
+        builder
+            .primitive(PrimitiveTypeName.BINARY, repetition)
+            .as(LogicalTypeAnnotation.stringType())
+            .named(name);
+        writers.add(ArrowParquetWriteSupport::writeVariableWidth);
+        return true;
+      case Binary:
+        builder.primitive(PrimitiveTypeName.BINARY, repetition).named(name);
+        writers.add(ArrowParquetWriteSupport::writeVariableWidth);
+        return true;
+      case Date:
+        if (((ArrowType.Date) type).getUnit() != DateUnit.DAY) {
+          return false;
+        }
+        builder
+            .primitive(PrimitiveTypeName.INT32, repetition)
+            .as(LogicalTypeAnnotation.dateType())
+            .named(name);
+        writers.add((c, v, row) -> c.addInteger(((DateDayVector) v).get(row)));
+        return true;
+      case Time:
+        if (((ArrowType.Time) type).getUnit() != TimeUnit.MICROSECOND) {
+          return false;
+        }
+        builder
+            .primitive(PrimitiveTypeName.INT64, repetition)
+            .as(LogicalTypeAnnotation.timeType(true, LogicalTypeAnnotation.TimeUnit.MICROS))
+            .named(name);
+        writers.add((c, v, row) -> c.addLong(((TimeMicroVector) v).get(row)));
+        return true;
+      case Timestamp:
+        ArrowType.Timestamp timestamp = (ArrowType.Timestamp) type;
+        if (timestamp.getUnit() != TimeUnit.MICROSECOND) {
+          return false;
+        }
+        if (timestamp.getTimezone() != null) {
+          // TIMESTAMP
+          builder
+              .primitive(PrimitiveTypeName.INT64, repetition)
+              .as(LogicalTypeAnnotation.timestampType(true, LogicalTypeAnnotation.TimeUnit.MICROS))
+              .named(name);
+          writers.add((c, v, row) -> c.addLong(((TimeStampMicroTZVector) v).get(row)));
+        } else {
+          // DATETIME, which the Avro schema of BigQuery represents as a string.
+          builder
+              .primitive(PrimitiveTypeName.BINARY, repetition)
+              .as(LogicalTypeAnnotation.stringType())
+              .named(name);
+          writers.add(
+              (c, v, row) ->
+                  c.addBinary(
+                      Binary.fromString(
+                          formatDatetime(((TimeStampMicroVector) v).getObject(row)))));
+        }
+        return true;
+      case Decimal:
+        // NUMERIC and BIGNUMERIC, as the big-endian two's complement of their unscaled value.
+        ArrowType.Decimal decimal = (ArrowType.Decimal) type;
+        builder
+            .primitive(PrimitiveTypeName.BINARY, repetition)
+            .as(LogicalTypeAnnotation.decimalType(decimal.getScale(), decimal.getPrecision()))
+            .named(name);
+        if (decimal.getBitWidth() == 256) {
+          writers.add((c, v, row) -> writeDecimal(c, ((Decimal256Vector) v).getObject(row)));
+        } else {
+          writers.add((c, v, row) -> writeDecimal(c, ((DecimalVector) v).getObject(row)));
+        }
+        return true;
+      default:
+        return false;
+    }
+  }
+
+  private static void writeVariableWidth(RecordConsumer consumer, FieldVector vector, int row) {
+    BaseVariableWidthVector variableWidth = (BaseVariableWidthVector) vector;
+    // The buffer is reused by the next record batch, Parquet copies the values it retains.
+    consumer.addBinary(
+        Binary.fromReusedByteBuffer(
+            variableWidth
+                .getDataBuffer()
+                .nioBuffer(variableWidth.getStartOffset(row), variableWidth.getValueLength(row))));
+  }
+
+  /**
+   * Formats a DATETIME as {@code yyyy-MM-dd'T'HH:mm:ss[.SSSSSS]}. Unlike {@link
+   * LocalDateTime#toString()}, the seconds are always written.
+   */
+  private static String formatDatetime(LocalDateTime datetime) {
+    return datetime.getNano() == 0
+        ? DATETIME_FORMATTER.format(datetime)
+        : DATETIME_MICROS_FORMATTER.format(datetime);
+  }
+
+  private static void writeDecimal(RecordConsumer consumer, BigDecimal value) {
+    consumer.addBinary(Binary.fromConstantByteArray(value.unscaledValue().toByteArray()));
+  }
+
+  /** Returns the Parquet schema the rows are written with. */
+  public MessageType getParquetSchema() {
+    return parquetSchema;
+  }
+
+  /** Sets the record batch the written row indexes refer to. */
+  public void setRoot(VectorSchemaRoot root) {
+    this.root = root;
+  }
+
+  @Override
+  public WriteContext init(Configuration configuration) {
+    return new WriteContext(parquetSchema, Collections.emptyMap());
+  }
+
+  @Override
+  public void prepareForWrite(RecordConsumer recordConsumer) {
+    this.consumer = recordConsumer;
+  }
+
+  @Override
+  public void write(Integer row) {
+    consumer.startMessage();
+    for (int i = 0; i < writers.size(); i++) {
+      FieldVector vector = root.getVector(i);
+      if (vector.isNull(row)) {
+        continue;
+      }
+      String name = fieldNames.get(i);
+      consumer.startField(name, i);
+      writers.get(i).write(consumer, vector, row);
+      consumer.endField(name, i);
+    }
+    consumer.endMessage();
+  }
+}
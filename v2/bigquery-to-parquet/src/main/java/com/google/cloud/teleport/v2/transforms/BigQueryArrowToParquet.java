@@ -0,0 +1,335 @@
+/*
+ * Copyright (C) 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.cloud.teleport.v2.transforms;
+
+import com.google.api.services.bigquery.model.TableReference;
+import com.google.cloud.bigquery.storage.v1.BigQueryReadClient;
+import com.google.cloud.bigquery.storage.v1.CreateReadSessionRequest;
+import com.google.cloud.bigquery.storage.v1.DataFormat;
+import com.google.cloud.bigquery.storage.v1.ReadRowsRequest;
+import com.google.cloud.bigquery.storage.v1.ReadRowsResponse;
+import com.google.cloud.bigquery.storage.v1.ReadSession;
+import com.google.cloud.bigquery.storage.v1.ReadStream;
+import com.google.common.annotations.VisibleForTesting;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.util.ArrayList;
+import java.util.List;
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.VectorLoader;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.ipc.ReadChannel;
+import org.apache.arrow.vector.ipc.message.ArrowRecordBatch;
+import org.apache.arrow.vector.ipc.message.MessageSerializer;
+import org.apache.arrow.vector.types.pojo.Schema;
+import org.apache.beam.sdk.io.FileSystems;
+import org.apache.beam.sdk.io.fs.ResolveOptions.StandardResolveOptions;
+import org.apache.beam.sdk.io.fs.ResourceId;
+import org.apache.beam.sdk.metrics.Counter;
+import org.apache.beam.sdk.metrics.Metrics;
+import org.apache.beam.sdk.transforms.Create;
+import org.apache.beam.sdk.transforms.DoFn;
+import org.apache.beam.sdk.transforms.PTransform;
+import org.apache.beam.sdk.transforms.ParDo;
+import org.apache.beam.sdk.transforms.Reshuffle;
+import org.apache.beam.sdk.util.MimeTypes;
+import org.apache.beam.sdk.values.KV;
+import org.apache.beam.sdk.values.PBegin;
+import org.apache.beam.sdk.values.PCollection;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.parquet.hadoop.ParquetFileWriter;
+import org.apache.parquet.hadoop.ParquetWriter;
+import org.apache.parquet.hadoop.api.WriteSupport;
+import org.apache.parquet.hadoop.metadata.CompressionCodecName;
+import org.apache.parquet.io.OutputFile;
+import org.apache.parquet.io.PositionOutputStream;
+
+/**
+ * Exports a BigQuery table to Parquet files through the Arrow format of the BigQuery Storage Read
+ * API, writing one file per read stream.
+ *
+ * <p>Every Arrow record batch is loaded into column vectors and written to Parquet by {@link
+ * ArrowParquetWriteSupport}, so the rows are never materialized as Avro records nor encoded by a
+ * {@link org.apache.beam.sdk.coders.Coder}. The read session is created when the pipeline is
+ * constructed, see {@link #createReadSession}, and its streams are distributed over the workers.
+ *
+ * <p>Outputs the names of the written files.
+ */
+public class BigQueryArrowToParquet extends PTransform<PBegin, PCollection<String>> {
+
+  private final List<String> streams;
+  private final byte[] serializedArrowSchema;
+  private final String outputDirectory;
+  private final String suffix;
+
+  /**
+   * @param session Arrow read session of the table, see {@link #createReadSession}.
+   * @param outputDirectory directory to write the files to.
+   * @param suffix suffix of the file names.
+   */
+  public BigQueryArrowToParquet(ReadSession session, String outputDirectory, String suffix) {
+    this.streams = new ArrayList<>();
+    for (ReadStream stream : session.getStreamsList()) {
+      streams.add(stream.getName());
+    }
+    this.serializedArrowSchema = session.getArrowSchema().getSerializedSchema().toByteArray();
+    this.outputDirectory = outputDirectory;
+    this.suffix = suffix;
+  }
+
+  /**
+   * Creates a read session of a table in the Arrow format.
+   *
+   * @param client client of the BigQuery Storage Read API.
+   * @param parentProject project billed for the read.
+   * @param table table to read.
+   * @param selectedFields fields to read, or empty to read all of them.
+   * @param rowRestriction filter of the rows to read, or null to read all of them.
+   * @param maxStreams maximum number of streams, and thus of files, or 0 to let BigQuery pick it.
+   */
+  public static ReadSession createReadSession(
+      BigQueryReadClient client,
+      String parentProject,
+      TableReference table,
+      List<String> selectedFields,
+      String rowRestriction,
+      int maxStreams) {
+    ReadSession.TableReadOptions.Builder readOptions =
+        ReadSession.TableReadOptions.newBuilder().addAllSelectedFields(selectedFields);
+    if (rowRestriction != null) {
+      readOptions.setRowRestriction(rowRestriction);
+    }
+    CreateReadSessionRequest request =
+        CreateReadSessionRequest.newBuilder()
+            .setParent("projects/" + parentProject)
+            .setReadSession(
+                ReadSession.newBuilder()
+                    .setTable(
+                        String.format(
+                            "projects/%s/datasets/%s/tables/%s",
+                            table.getProjectId(), table.getDatasetId(), table.getTableId()))
+                    .setDataFormat(DataFormat.ARROW)
+                    .setReadOptions(readOptions))
+            .setMaxStreamCount(maxStreams)
+            .build();
+    return client.createReadSession(request);
+  }
+
+  /** Returns the Arrow schema of a read session. */
+  public static Schema arrowSchema(ReadSession session) {
+    return deserializeSchema(session.getArrowSchema().getSerializedSchema().toByteArray());
+  }
+
+  private static Schema deserializeSchema(byte[] serializedSchema) {
+    try {
+      return MessageSerializer.deserializeSchema(
+          new ReadChannel(Channels.newChannel(new ByteArrayInputStream(serializedSchema))));
+    } catch (IOException e) {
+      throw new RuntimeException("Failed to deserialize the Arrow schema", e);
+    }
+  }
+
+  @VisibleForTesting
+  static String fileName(int stream, int streamCount, String suffix) {
+    return String.format("output-%05d-of-%05d%s", stream, streamCount, suffix);
+  }
+
+  @Override
+  public PCollection<String> expand(PBegin input) {
+    List<KV<Integer, String>> indexedStreams = new ArrayList<>();
+    for (int i = 0; i < streams.size(); i++) {
+      indexedStreams.add(KV.of(i, streams.get(i)));
+    }
+    return input
+        .apply("Create Streams", Create.of(indexedStreams))
+        .apply("Distribute Streams", Reshuffle.viaRandomKey())
+        .apply(
+            "Write Streams",
+            ParDo.of(
+                new WriteStreamFn(serializedArrowSchema, outputDirectory, suffix, streams.size())));
+  }
+
+  /** Reads a stream of the session and writes its rows to a Parquet file. */
+  private static class WriteStreamFn extends DoFn<KV<Integer, String>, String> {
+
+    private final Counter rows = Metrics.counter(WriteStreamFn.class, "rows");
+    private final Counter recordBatches = Metrics.counter(WriteStreamFn.class, "record_batches");
+
+    private final byte[] serializedArrowSchema;
+    private final String outputDirectory;
+    private final String suffix;
+    private final int streamCount;
+
+    private transient BigQueryReadClient client;
+    private transient BufferAllocator allocator;
+
+    WriteStreamFn(
+        byte[] serializedArrowSchema, String outputDirectory, String suffix, int streamCount) {
+      this.serializedArrowSchema = serializedArrowSchema;
+      this.outputDirectory = outputDirectory;
+      this.suffix = suffix;
+      this.streamCount = streamCount;
+    }
+
+    @Setup
+    public void setup() throws IOException {
+      client = BigQueryReadClient.create();
+      allocator = new RootAllocator(Long.MAX_VALUE);
+    }
+
+    @Teardown
+    public void teardown() {
+      if (client != null) {
+        client.close();
+      }
+      if (allocator != null) {
+        allocator.close();
+      }
+    }
+
+    @ProcessElement
+    public void processElement(@Element KV<Integer, String> stream, OutputReceiver<String> out)
+        throws IOException {
+      Schema arrowSchema = deserializeSchema(serializedArrowSchema);
+      ArrowParquetWriteSupport writeSupport = ArrowParquetWriteSupport.of(arrowSchema);
+      if (writeSupport == null) {
+        throw new IllegalArgumentException("Unsupported Arrow schema: " + arrowSchema);
+      }
+      ResourceId file =
+          FileSystems.matchNewResource(outputDirectory, true)
+              .resolve(
+                  fileName(stream.getKey(), streamCount, suffix),
+                  StandardResolveOptions.RESOLVE_FILE);
+
+      try (VectorSchemaRoot root = VectorSchemaRoot.create(arrowSchema, allocator);
+          ParquetWriter<Integer> writer =
+              new Builder(new BeamOutputFile(file), writeSupport)
+                  .withWriteMode(ParquetFileWriter.Mode.OVERWRITE)
+                  .withCompressionCodec(CompressionCodecName.SNAPPY)
+                  .build()) {
+        writeSupport.setRoot(root);
+        VectorLoader loader = new VectorLoader(root);
+        ReadRowsRequest request =
+            ReadRowsRequest.newBuilder().setReadStream(stream.getValue()).build();
+        for (ReadRowsResponse response : client.readRowsCallable().call(request)) {
+          if (!response.hasArrowRecordBatch()) {
+            continue;
+          }
+          try (ArrowRecordBatch batch =
+              MessageSerializer.deserializeRecordBatch(
+                  new ReadChannel(
+                      Channels.newChannel(
+                          response.getArrowRecordBatch().getSerializedRecordBatch().newInput())),
+                  allocator)) {
+            loader.load(batch);
+          }
+          for (int row = 0; row < root.getRowCount(); row++) {
+            writer.write(row);
+          }
+          rows.inc(root.getRowCount());
+          recordBatches.inc();
+        }
+      }
+      out.output(file.toString());
+    }
+  }
+
+  /** Builds a {@link ParquetWriter} of {@link ArrowParquetWriteSupport}. */
+  @VisibleForTesting
+  static class Builder extends ParquetWriter.Builder<Integer, Builder> {
+
+    private final ArrowParquetWriteSupport writeSupport;
+
+    Builder(OutputFile file, ArrowParquetWriteSupport writeSupport) {
+      super(file);
+      this.writeSupport = writeSupport;
+    }
+
+    @Override
+    protected Builder self() {
+      return this;
+    }
+
+    @Override
+    protected WriteSupport<Integer> getWriteSupport(Configuration conf) {
+      return writeSupport;
+    }
+  }
+
+  /** A Parquet {@link OutputFile} written through Beam's {@link FileSystems}. */
+  @VisibleForTesting
+  static class BeamOutputFile implements OutputFile {
+
+    private final ResourceId resourceId;
+
+    BeamOutputFile(ResourceId resourceId) {
+      this.resourceId = resourceId;
+    }
+
+    @Override
+    public PositionOutputStream create(long blockSizeHint) throws IOException {
+      return createOrOverwrite(blockSizeHint);
+    }
+
+    @Override
+    public PositionOutputStream createOrOverwrite(long blockSizeHint) throws IOException {
+      OutputStream out = Channels.newOutputStream(FileSystems.create(resourceId, MimeTypes.BINARY));
+      return new PositionOutputStream() {
+        private long position = 0;
+
+        @Override
+        public long getPos() {
+          return position;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+          out.write(b);
+          position++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+          out.write(b, off, len);
+          position += len;
+        }
+
+        @Override
+        public void flush() throws IOException {
+          out.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+          out.close();
+        }
+      };
+    }
+
+    @Override
+    public boolean supportsBlockSize() {
+      return false;
+    }
+
+    @Override
+    public long defaultBlockSize() {
+      return 0;
+    }
+  }
+}
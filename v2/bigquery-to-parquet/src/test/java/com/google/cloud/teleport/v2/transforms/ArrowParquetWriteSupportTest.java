@@ -0,0 +1,196 @@
+/*
+ * Copyright (C) 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.cloud.teleport.v2.transforms;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.BigIntVector;
+import org.apache.arrow.vector.TimeStampMicroTZVector;
+import org.apache.arrow.vector.TimeStampMicroVector;
+import org.apache.arrow.vector.VarCharVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.types.FloatingPointPrecision;
+import org.apache.arrow.vector.types.TimeUnit;
+import org.apache.arrow.vector.types.pojo.ArrowType;
+import org.apache.arrow.vector.types.pojo.Field;
+import org.apache.arrow.vector.types.pojo.FieldType;
+import org.apache.arrow.vector.types.pojo.Schema;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.beam.sdk.io.FileSystems;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.Path;
+import org.apache.parquet.avro.AvroParquetReader;
+import org.apache.parquet.hadoop.ParquetReader;
+import org.apache.parquet.hadoop.ParquetWriter;
+import org.apache.parquet.hadoop.util.HadoopInputFile;
+import org.apache.parquet.schema.MessageTypeParser;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** Unit tests for {@link ArrowParquetWriteSupport}. */
+@RunWith(JUnit4.class)
+public class ArrowParquetWriteSupportTest {
+
+  @Rule public final TemporaryFolder tmpDir = new TemporaryFolder();
+
+  private static final Schema SCHEMA =
+      new Schema(
+          Arrays.asList(
+              new Field("id", FieldType.notNullable(new ArrowType.Int(64, true)), null),
+              Field.nullable("name", new ArrowType.Utf8()),
+              Field.nullable("updated", new ArrowType.Timestamp(TimeUnit.MICROSECOND, "UTC")),
+              Field.nullable("created", new ArrowType.Timestamp(TimeUnit.MICROSECOND, null)),
+              Field.nullable("score", new ArrowType.FloatingPoint(FloatingPointPrecision.DOUBLE)),
+              Field.nullable("price", new ArrowType.Decimal(38, 9, 128))));
+
+  @Test
+  public void testParquetSchema() {
+    assertEquals(
+        MessageTypeParser.parseMessageType(
+            "message root {"
+                + " required int64 id;"
+                + " optional binary name (STRING);"
+                + " optional int64 updated (TIMESTAMP(MICROS,true));"
+                + " optional binary created (STRING);"
+                + " optional double score;"
+                + " optional binary price (DECIMAL(38,9));"
+                + " }"),
+        ArrowParquetWriteSupport.of(SCHEMA).getParquetSchema());
+  }
+
+  @Test
+  public void testNestedSchemaIsNotSupported() {
+    Schema nested =
+        new Schema(
+            Collections.singletonList(
+                new Field(
+                    "tags",
+                    FieldType.nullable(new ArrowType.List()),
+                    Collections.singletonList(Field.nullable("item", new ArrowType.Utf8())))));
+    assertNull(ArrowParquetWriteSupport.of(nested));
+    assertFalse(ArrowParquetWriteSupport.isSupported(nested));
+  }
+
+  @Test
+  public void testWriteRecordBatch() throws Exception {
+    Schema schema =
+        new Schema(
+            Arrays.asList(
+                new Field("id", FieldType.notNullable(new ArrowType.Int(64, true)), null),
+                Field.nullable("name", new ArrowType.Utf8()),
+                Field.nullable("updated", new ArrowType.Timestamp(TimeUnit.MICROSECOND, "UTC"))));
+    File file = new File(tmpDir.getRoot(), "output.parquet");
+    ArrowParquetWriteSupport writeSupport = ArrowParquetWriteSupport.of(schema);
+
+    try (BufferAllocator allocator = new RootAllocator();
+        VectorSchemaRoot root = VectorSchemaRoot.create(schema, allocator)) {
+      BigIntVector id = (BigIntVector) root.getVector("id");
+      VarCharVector name = (VarCharVector) root.getVector("name");
+      TimeStampMicroTZVector updated = (TimeStampMicroTZVector) root.getVector("updated");
+      root.allocateNew();
+      id.setSafe(0, 1);
+      name.setSafe(0, "first".getBytes(StandardCharsets.UTF_8));
+      updated.setSafe(0, 1_000_000L);
+      id.setSafe(1, 2);
+      name.setNull(1);
+      updated.setSafe(1, 2_000_000L);
+      root.setRowCount(2);
+
+      writeSupport.setRoot(root);
+      try (ParquetWriter<Integer> writer =
+          new BigQueryArrowToParquet.Builder(
+                  new BigQueryArrowToParquet.BeamOutputFile(
+                      FileSystems.matchNewResource(file.getPath(), false)),
+                  writeSupport)
+              .build()) {
+        writer.write(0);
+        writer.write(1);
+      }
+    }
+
+    try (ParquetReader<GenericRecord> reader =
+        AvroParquetReader.<GenericRecord>builder(
+                HadoopInputFile.fromPath(new Path(file.getPath()), new Configuration()))
+            .build()) {
+      GenericRecord first = reader.read();
+      assertEquals(1L, first.get("id"));
+      assertEquals("first", first.get("name").toString());
+      assertEquals(1_000_000L, first.get("updated"));
+      GenericRecord second = reader.read();
+      assertEquals(2L, second.get("id"));
+      assertNull(second.get("name"));
+      assertNull(reader.read());
+    }
+  }
+
+  @Test
+  public void testWriteDatetime() throws Exception {
+    Schema schema =
+        new Schema(
+            Collections.singletonList(
+                Field.nullable("created", new ArrowType.Timestamp(TimeUnit.MICROSECOND, null))));
+    File file = new File(tmpDir.getRoot(), "datetime.parquet");
+    ArrowParquetWriteSupport writeSupport = ArrowParquetWriteSupport.of(schema);
+
+    try (BufferAllocator allocator = new RootAllocator();
+        VectorSchemaRoot root = VectorSchemaRoot.create(schema, allocator)) {
+      TimeStampMicroVector created = (TimeStampMicroVector) root.getVector("created");
+      root.allocateNew();
+      // 2024-01-02T03:04:00, whose seconds LocalDateTime#toString() would drop.
+      created.setSafe(0, 1_704_164_640_000_000L);
+      // 2024-01-02T03:04:05.000006
+      created.setSafe(1, 1_704_164_645_000_006L);
+      root.setRowCount(2);
+
+      writeSupport.setRoot(root);
+      try (ParquetWriter<Integer> writer =
+          new BigQueryArrowToParquet.Builder(
+                  new BigQueryArrowToParquet.BeamOutputFile(
+                      FileSystems.matchNewResource(file.getPath(), false)),
+                  writeSupport)
+              .build()) {
+        writer.write(0);
+        writer.write(1);
+      }
+    }
+
+    try (ParquetReader<GenericRecord> reader =
+        AvroParquetReader.<GenericRecord>builder(
+                HadoopInputFile.fromPath(new Path(file.getPath()), new Configuration()))
+            .build()) {
+      assertEquals("2024-01-02T03:04:00", reader.read().get("created").toString());
+      assertEquals("2024-01-02T03:04:05.000006", reader.read().get("created").toString());
+      assertNull(reader.read());
+    }
+  }
+
+  @Test
+  public void testFileName() {
+    assertEquals(
+        "output-00002-of-00010.parquet", BigQueryArrowToParquet.fileName(2, 10, ".parquet"));
+  }
+}
@@ -30,12 +30,16 @@ import org.apache.beam.sdk.io.hbase.HBaseIO;
 import org.apache.beam.sdk.options.Default;
 import org.apache.beam.sdk.options.ExperimentalOptions;
 import org.apache.beam.sdk.options.PipelineOptionsFactory;
+import org.apache.beam.sdk.transforms.FlatMapElements;
+import org.apache.beam.sdk.transforms.SimpleFunction;
 import org.apache.beam.sdk.values.KV;
 import org.apache.beam.sdk.values.PCollection;
 import org.apache.hadoop.conf.Configuration;
 import org.apache.hadoop.hbase.HBaseConfiguration;
 import org.apache.hadoop.hbase.HConstants;
+import org.apache.hadoop.hbase.client.Mutation;
 import org.apache.hadoop.hbase.client.RowMutations;
+import org.joda.time.Duration;
 import org.joda.time.Instant;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -144,6 +148,16 @@ public class BigtableChangeStreamsToHBase {
     Boolean getFilterGCMutations();
 
     void setFilterGCMutations(Boolean filterGCMutations);
+
+    @TemplateParameter.Integer(
+        optional = true,
+        description = "Row coalescing window in milliseconds",
+        helpText =
+            "How long the mutations of a row are buffered and merged into a single write to Hbase. Reduces the write load of frequently updated rows, at the cost of as much replication lag. 0 disables coalescing")
+    @Default.Integer(0)
+    Integer getRowCoalescingWindowMs();
+
+    void setRowCoalescingWindowMs(Integer rowCoalescingWindowMs);
   }
 
   /**
@@ -182,11 +196,25 @@ public class BigtableChangeStreamsToHBase {
                     .withBidirectionalReplication(
                         pipelineOptions.getBidirectionalReplicationEnabled(),
                         pipelineOptions.getCbtQualifier(),
-                        pipelineOptions.getHbaseQualifier()));
+                        pipelineOptions.getHbaseQualifier())
+                    .withCoalescing(Duration.millis(pipelineOptions.getRowCoalescingWindowMs())));
 
     // Write to Hbase if dry run mode is not enabled
     if (pipelineOptions.getDryRunEnabled()) {
       LOG.info("Dry run mode enabled, not writing to Hbase.");
+    } else if (pipelineOptions.getRowCoalescingWindowMs() > 0
+        && !pipelineOptions.getBidirectionalReplicationEnabled()) {
+      // Coalesced mutations are ordered by timestamp only, they don't need the atomic RowMutations
+      // writes and go through the buffered mutator of HBaseIO.write() instead. The source tag of
+      // bidirectional replication has to be written atomically with the mutations it marks,
+      // otherwise the HBase replicator could send them back, so it keeps the RowMutations writes.
+      convertedMutations
+          .apply("Flatten row mutations", FlatMapElements.via(new FlattenRowMutationsFn()))
+          .apply(
+              "Write mutations to HBase",
+              HBaseIO.write()
+                  .withConfiguration(hbaseConf)
+                  .withTableId(pipelineOptions.getBigtableReadTableId()));
     } else {
       convertedMutations.apply(
           "Write row mutations to HBase",
@@ -198,6 +226,15 @@ public class BigtableChangeStreamsToHBase {
     return pipeline.run();
   }
 
+  /** Flattens the coalesced {@link RowMutations} of a row into their individual mutations. */
+  static class FlattenRowMutationsFn
+      extends SimpleFunction<KV<byte[], RowMutations>, Iterable<Mutation>> {
+    @Override
+    public Iterable<Mutation> apply(KV<byte[], RowMutations> input) {
+      return input.getValue().getMutations();
+    }
+  }
+
   public static void main(String[] args) {
     // Create pipeline options from args.
     BigtableToHbasePipelineOptions pipelineOptions =
@@ -26,6 +26,7 @@ import com.google.protobuf.ByteString;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.util.List;
+import org.apache.beam.sdk.coders.KvCoder;
 import org.apache.beam.sdk.metrics.Metrics;
 import org.apache.beam.sdk.transforms.DoFn;
 import org.apache.beam.sdk.transforms.PTransform;
@@ -38,6 +39,7 @@ import org.apache.hadoop.hbase.CellUtil;
 import org.apache.hadoop.hbase.client.Delete;
 import org.apache.hadoop.hbase.client.Mutation;
 import org.apache.hadoop.hbase.client.RowMutations;
+import org.joda.time.Duration;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -67,6 +69,7 @@ public class ChangeStreamToRowMutations {
     private String cbtQualifier;
     private String hbaseQualifier;
     private boolean filterGCMutations;
+    private Duration coalescingWindow;
 
     /**
      * Call converter with this function with the necessary params to enable bidirectional
@@ -87,7 +90,25 @@ public class ChangeStreamToRowMutations {
           bidirectionalReplicationEnabledInput,
           cbtQualifierInput,
           hbaseQualifierInput,
-          filterGCMutations);
+          filterGCMutations,
+          coalescingWindow);
+    }
+
+    /**
+     * Call converter with this function to coalesce the mutations of every row over a window of
+     * processing time before they are written, see {@link CoalesceRowMutationsFn}.
+     *
+     * @param coalescingWindowInput how long the mutations of a row are buffered, null or zero
+     *     disables coalescing
+     * @return ConvertChangeStream object to be used in change stream conversion transformations
+     */
+    public ConvertChangeStream withCoalescing(Duration coalescingWindowInput) {
+      return new ConvertChangeStream(
+          bidirectionalReplicationEnabled,
+          cbtQualifier,
+          hbaseQualifier,
+          filterGCMutations,
+          coalescingWindowInput);
     }
 
     public ConvertChangeStream(boolean filterGCMutationsInput) {
@@ -98,7 +119,8 @@ public class ChangeStreamToRowMutations {
         boolean bidirectionalReplicationEnabledInput,
         String cbtQualifierInput,
         String hbaseQualifierInput,
-        boolean filterGCMutationsInput) {
+        boolean filterGCMutationsInput,
+        Duration coalescingWindowInput) {
       if (bidirectionalReplicationEnabledInput) {
         checkArgument(cbtQualifierInput != null, "cbt qualifier cannot be null.");
         checkArgument(hbaseQualifierInput != null, "hbase qualifier cannot be null.");
@@ -107,18 +129,41 @@ public class ChangeStreamToRowMutations {
       cbtQualifier = cbtQualifierInput;
       hbaseQualifier = hbaseQualifierInput;
       filterGCMutations = filterGCMutationsInput;
+      coalescingWindow = coalescingWindowInput;
     }
 
     @Override
     public PCollection<KV<byte[], RowMutations>> expand(
         PCollection<KV<ByteString, ChangeStreamMutation>> input) {
-      return input.apply(
+      if (coalescingWindow == null || !coalescingWindow.isLongerThan(Duration.ZERO)) {
+        return input.apply(
+            ParDo.of(
+                new ConvertChangeStreamFn(
+                    bidirectionalReplicationEnabled,
+                    cbtQualifier,
+                    hbaseQualifier,
+                    filterGCMutations)));
+      }
+
+      // The source tag is appended once to the coalesced mutations.
+      PCollection<KV<byte[], RowMutations>> converted =
+          input.apply(
+              "Convert",
+              ParDo.of(
+                  new ConvertChangeStreamFn(
+                      bidirectionalReplicationEnabled,
+                      cbtQualifier,
+                      hbaseQualifier,
+                      filterGCMutations,
+                      false)));
+      KvCoder<byte[], RowMutations> coder = (KvCoder<byte[], RowMutations>) converted.getCoder();
+      return converted.apply(
+          "Coalesce",
           ParDo.of(
-              new ConvertChangeStreamFn(
-                  bidirectionalReplicationEnabled,
-                  cbtQualifier,
-                  hbaseQualifier,
-                  filterGCMutations)));
+              new CoalesceRowMutationsFn(
+                  coder.getValueCoder(),
+                  coalescingWindow,
+                  bidirectionalReplicationEnabled ? cbtQualifier : null)));
     }
   }
 
@@ -133,16 +178,36 @@ public class ChangeStreamToRowMutations {
     private boolean bidirectionalReplicationEnabled;
 
     private boolean filterGCMutations;
+    private boolean appendSourceTag;
 
     public ConvertChangeStreamFn(
         boolean bidirectionalReplicationEnabledInput,
         String cbtQualifierInput,
         String hbaseQualifierInput,
         boolean filterGCMutationsInput) {
+      this(
+          bidirectionalReplicationEnabledInput,
+          cbtQualifierInput,
+          hbaseQualifierInput,
+          filterGCMutationsInput,
+          true);
+    }
+
+    /**
+     * @param appendSourceTagInput whether to append the source tag of bidirectional replication to
+     *     the converted mutations, false if it is appended further down the pipeline
+     */
+    public ConvertChangeStreamFn(
+        boolean bidirectionalReplicationEnabledInput,
+        String cbtQualifierInput,
+        String hbaseQualifierInput,
+        boolean filterGCMutationsInput,
+        boolean appendSourceTagInput) {
       bidirectionalReplicationEnabled = bidirectionalReplicationEnabledInput;
       hbaseQualifier = hbaseQualifierInput;
       cbtQualifier = cbtQualifierInput;
       filterGCMutations = filterGCMutationsInput;
+      appendSourceTag = appendSourceTagInput;
     }
 
     @ProcessElement
@@ -161,7 +226,7 @@ public class ChangeStreamToRowMutations {
       }
       RowMutations hbaseMutations = RowMutationsBuilder.buildRowMutations(mutation);
       // Append origin information to mutations.
-      if (bidirectionalReplicationEnabled) {
+      if (bidirectionalReplicationEnabled && appendSourceTag) {
         appendSourceTagToMutations(hbaseMutations, cbtQualifier);
       }
       c.output(KV.of(hbaseMutations.getRow(), hbaseMutations));
@@ -196,41 +261,42 @@ public class ChangeStreamToRowMutations {
     static byte[] convertUtf8String(String string) {
       return string.getBytes(StandardCharsets.UTF_8);
     }
+  }
 
-    /**
-     * Appends origin information to row mutation for bidirectional replication. The Hbase-Bigtable
-     * replicator at the destination Hbase will check for this source tag and filter out the
-     * mutation that this replicator sends out. This prevents replication loops from forming.
-     *
-     * @param hbaseMutations row mutation to append origin info to
-     * @param cbtQualifierInput origin info string denoting mutation is from bigtable
-     * @throws IOException
-     */
-    private void appendSourceTagToMutations(RowMutations hbaseMutations, String cbtQualifierInput)
-        throws IOException {
-      byte[] lastEntryCf = getLastCellColFamily(hbaseMutations);
-      Delete hiddenDelete = new Delete(hbaseMutations.getRow(), 0L);
-      hiddenDelete.addColumns(lastEntryCf, convertUtf8String(cbtQualifierInput));
-      hbaseMutations.add(hiddenDelete);
-    }
+  /**
+   * Appends origin information to row mutation for bidirectional replication. The Hbase-Bigtable
+   * replicator at the destination Hbase will check for this source tag and filter out the mutation
+   * that this replicator sends out. This prevents replication loops from forming.
+   *
+   * @param hbaseMutations row mutation to append origin info to
+   * @param cbtQualifierInput origin info string denoting mutation is from bigtable
+   * @throws IOException
+   */
+  static void appendSourceTagToMutations(RowMutations hbaseMutations, String cbtQualifierInput)
+      throws IOException {
+    byte[] lastEntryCf = getLastCellColFamily(hbaseMutations);
+    Delete hiddenDelete = new Delete(hbaseMutations.getRow(), 0L);
+    hiddenDelete.addColumns(
+        lastEntryCf, ConvertChangeStreamFn.convertUtf8String(cbtQualifierInput));
+    hbaseMutations.add(hiddenDelete);
+  }
 
-    /**
-     * Gets column family from last mutation of row mutations.
-     *
-     * @param hbaseMutations rowMutations object
-     * @return columnFamily byte array
-     * @throws IOException
-     */
-    private byte[] getLastCellColFamily(RowMutations hbaseMutations) throws IOException {
-      Mutation lastMutation =
-          hbaseMutations.getMutations().get(hbaseMutations.getMutations().size() - 1);
-      CellScanner scanner = lastMutation.cellScanner();
-      // Get last cell of last mutation.
-      Cell cell = scanner.current();
-      while (scanner.advance()) {
-        cell = scanner.current();
-      }
-      return CellUtil.cloneFamily(cell);
+  /**
+   * Gets column family from last mutation of row mutations.
+   *
+   * @param hbaseMutations rowMutations object
+   * @return columnFamily byte array
+   * @throws IOException
+   */
+  private static byte[] getLastCellColFamily(RowMutations hbaseMutations) throws IOException {
+    Mutation lastMutation =
+        hbaseMutations.getMutations().get(hbaseMutations.getMutations().size() - 1);
+    CellScanner scanner = lastMutation.cellScanner();
+    // Get last cell of last mutation.
+    Cell cell = scanner.current();
+    while (scanner.advance()) {
+      cell = scanner.current();
     }
+    return CellUtil.cloneFamily(cell);
   }
 }
@@ -0,0 +1,317 @@
+/*
+ * Copyright (C) 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.cloud.teleport.v2.templates.transforms;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import org.apache.beam.sdk.coders.Coder;
+import org.apache.beam.sdk.coders.InstantCoder;
+import org.apache.beam.sdk.coders.KvCoder;
+import org.apache.beam.sdk.coders.VarLongCoder;
+import org.apache.beam.sdk.metrics.Counter;
+import org.apache.beam.sdk.metrics.Distribution;
+import org.apache.beam.sdk.metrics.Metrics;
+import org.apache.beam.sdk.state.BagState;
+import org.apache.beam.sdk.state.StateSpec;
+import org.apache.beam.sdk.state.StateSpecs;
+import org.apache.beam.sdk.state.TimeDomain;
+import org.apache.beam.sdk.state.Timer;
+import org.apache.beam.sdk.state.TimerSpec;
+import org.apache.beam.sdk.state.TimerSpecs;
+import org.apache.beam.sdk.state.ValueState;
+import org.apache.beam.sdk.transforms.DoFn;
+import org.apache.beam.sdk.values.KV;
+import org.apache.hadoop.hbase.Cell;
+import org.apache.hadoop.hbase.CellUtil;
+import org.apache.hadoop.hbase.client.Delete;
+import org.apache.hadoop.hbase.client.Mutation;
+import org.apache.hadoop.hbase.client.Put;
+import org.apache.hadoop.hbase.client.RowMutations;
+import org.joda.time.Duration;
+import org.joda.time.Instant;
+
+/**
+ * Coalesces the {@link RowMutations} of a row key over a window of processing time into a single
+ * {@link RowMutations}. The cells of a row are then sent to HBase in one round trip per window,
+ * however many change stream records touched the row, at the cost of up to a window of extra
+ * replication lag.
+ *
+ * <p>HBase resolves deletes by timestamp: a delete marker masks the cells of its column or family
+ * with a timestamp lower or equal to its own, whatever the order the mutations are applied in. The
+ * coalesced mutations therefore keep the latest delete marker of every column and family, and the
+ * puts that none of them masks, the last one winning when a cell version was written more than
+ * once. The result is the same as applying the mutations one by one.
+ *
+ * <p>If bidirectional replication is enabled, the source tag is appended once to the coalesced
+ * mutations, see {@link ChangeStreamToRowMutations.ConvertChangeStreamFn}. The output must then be
+ * written atomically, for example with {@code HBaseIO.writeRowMutations()}, so that the tag isn't
+ * applied apart from the mutations it marks.
+ */
+public class CoalesceRowMutationsFn
+    extends DoFn<KV<byte[], RowMutations>, KV<byte[], RowMutations>> {
+
+  private static final Counter INPUT_MUTATIONS =
+      Metrics.counter(CoalesceRowMutationsFn.class, "coalesced_input_row_mutations");
+  private static final Counter OUTPUT_MUTATIONS =
+      Metrics.counter(CoalesceRowMutationsFn.class, "coalesced_output_row_mutations");
+  private static final Counter INPUT_CELLS =
+      Metrics.counter(CoalesceRowMutationsFn.class, "coalesced_input_cells");
+  private static final Counter OUTPUT_CELLS =
+      Metrics.counter(CoalesceRowMutationsFn.class, "coalesced_output_cells");
+  private static final Distribution MUTATIONS_PER_FLUSH =
+      Metrics.distribution(CoalesceRowMutationsFn.class, "row_mutations_per_flush");
+  private static final Distribution REPLICATION_LAG_MS =
+      Metrics.distribution(CoalesceRowMutationsFn.class, "replication_lag_ms");
+
+  private final Duration window;
+  private final String cbtQualifier;
+
+  // Bag state isn't ordered, the mutations are numbered to be coalesced in order.
+  @StateId("buffer")
+  private final StateSpec<BagState<KV<Long, RowMutations>>> bufferSpec;
+
+  @StateId("sequence")
+  private final StateSpec<ValueState<Long>> sequenceSpec = StateSpecs.value(VarLongCoder.of());
+
+  @StateId("oldestCommit")
+  private final StateSpec<ValueState<Instant>> oldestCommitSpec =
+      StateSpecs.value(InstantCoder.of());
+
+  @TimerId("flush")
+  private final TimerSpec flushSpec = TimerSpecs.timer(TimeDomain.PROCESSING_TIME);
+
+  /**
+   * @param rowMutationsCoder coder of the buffered {@link RowMutations}
+   * @param window how long the mutations of a row are buffered before being written
+   * @param cbtQualifier source tag to append to the coalesced mutations, or null if bidirectional
+   *     replication is disabled
+   */
+  public CoalesceRowMutationsFn(
+      Coder<RowMutations> rowMutationsCoder, Duration window, String cbtQualifier) {
+    this.bufferSpec = StateSpecs.bag(KvCoder.of(VarLongCoder.of(), rowMutationsCoder));
+    this.window = window;
+    this.cbtQualifier = cbtQualifier;
+  }
+
+  @ProcessElement
+  public void processElement(
+      @Element KV<byte[], RowMutations> element,
+      @Timestamp Instant timestamp,
+      @StateId("buffer") BagState<KV<Long, RowMutations>> buffer,
+      @StateId("sequence") ValueState<Long> sequence,
+      @StateId("oldestCommit") ValueState<Instant> oldestCommit,
+      @TimerId("flush") Timer flushTimer) {
+    Long next = sequence.read();
+    if (next == null) {
+      // The first mutation of the window. Hold the watermark at its commit timestamp.
+      next = 0L;
+      flushTimer.offset(window).withOutputTimestamp(timestamp).setRelative();
+      oldestCommit.write(timestamp);
+    }
+    buffer.add(KV.of(next, element.getValue()));
+    sequence.write(next + 1);
+  }
+
+  @OnTimer("flush")
+  public void onFlush(
+      @Key byte[] row,
+      @StateId("buffer") BagState<KV<Long, RowMutations>> buffer,
+      @StateId("sequence") ValueState<Long> sequence,
+      @StateId("oldestCommit") ValueState<Instant> oldestCommit,
+      OutputReceiver<KV<byte[], RowMutations>> output)
+      throws IOException {
+    flush(row, buffer, sequence, oldestCommit, output);
+  }
+
+  /**
+   * Coalesces and writes the mutations still buffered for the row when a drain expires the global
+   * window, since the processing time flush timer is dropped at that point.
+   */
+  @OnWindowExpiration
+  public void onWindowExpiration(
+      @Key byte[] row,
+      @StateId("buffer") BagState<KV<Long, RowMutations>> buffer,
+      @StateId("sequence") ValueState<Long> sequence,
+      @StateId("oldestCommit") ValueState<Instant> oldestCommit,
+      OutputReceiver<KV<byte[], RowMutations>> output)
+      throws IOException {
+    flush(row, buffer, sequence, oldestCommit, output);
+  }
+
+  private void flush(
+      byte[] row,
+      BagState<KV<Long, RowMutations>> buffer,
+      ValueState<Long> sequence,
+      ValueState<Instant> oldestCommit,
+      OutputReceiver<KV<byte[], RowMutations>> output)
+      throws IOException {
+    List<KV<Long, RowMutations>> buffered = new ArrayList<>();
+    buffer.read().forEach(buffered::add);
+    Instant oldest = oldestCommit.read();
+    buffer.clear();
+    sequence.clear();
+    oldestCommit.clear();
+    if (buffered.isEmpty()) {
+      return;
+    }
+    buffered.sort(Comparator.comparing(KV::getKey));
+
+    List<RowMutations> mutations = new ArrayList<>(buffered.size());
+    for (KV<Long, RowMutations> kv : buffered) {
+      mutations.add(kv.getValue());
+      INPUT_CELLS.inc(countCells(kv.getValue()));
+    }
+    RowMutations coalesced = coalesce(row, mutations);
+    if (coalesced.getMutations().isEmpty()) {
+      return;
+    }
+    INPUT_MUTATIONS.inc(mutations.size());
+    OUTPUT_MUTATIONS.inc();
+    OUTPUT_CELLS.inc(countCells(coalesced));
+    MUTATIONS_PER_FLUSH.update(mutations.size());
+    if (oldest != null) {
+      REPLICATION_LAG_MS.update(Instant.now().getMillis() - oldest.getMillis());
+    }
+
+    if (cbtQualifier != null) {
+      ChangeStreamToRowMutations.appendSourceTagToMutations(coalesced, cbtQualifier);
+    }
+    output.output(KV.of(row, coalesced));
+  }
+
+  /**
+   * Coalesces the mutations of a row, in the order they were made, into a single {@link
+   * RowMutations} with at most one {@link Delete} followed by one {@link Put}.
+   */
+  public static RowMutations coalesce(byte[] row, List<RowMutations> mutations) throws IOException {
+    Map<CellKey, Long> familyDeletes = new LinkedHashMap<>();
+    Map<CellKey, Long> columnDeletes = new LinkedHashMap<>();
+    Map<CellKey, Cell> puts = new LinkedHashMap<>();
+
+    for (RowMutations rowMutations : mutations) {
+      for (Mutation mutation : rowMutations.getMutations()) {
+        for (List<Cell> cells : mutation.getFamilyCellMap().values()) {
+          for (Cell cell : cells) {
+            byte[] family = CellUtil.cloneFamily(cell);
+            switch (cell.getType()) {
+              case Put:
+                puts.put(
+                    new CellKey(family, CellUtil.cloneQualifier(cell), cell.getTimestamp()), cell);
+                break;
+              case DeleteColumn:
+                columnDeletes.merge(
+                    new CellKey(family, CellUtil.cloneQualifier(cell), 0),
+                    cell.getTimestamp(),
+                    Math::max);
+                break;
+              case DeleteFamily:
+                familyDeletes.merge(new CellKey(family, null, 0), cell.getTimestamp(), Math::max);
+                break;
+              default:
+                throw new IllegalStateException(
+                    "Can't coalesce cells of type " + cell.getType() + ".");
+            }
+          }
+        }
+      }
+    }
+
+    RowMutations coalesced = new RowMutations(row);
+    Delete delete = new Delete(row);
+    for (Map.Entry<CellKey, Long> familyDelete : familyDeletes.entrySet()) {
+      delete.addFamily(familyDelete.getKey().family, familyDelete.getValue());
+    }
+    for (Map.Entry<CellKey, Long> columnDelete : columnDeletes.entrySet()) {
+      CellKey column = columnDelete.getKey();
+      if (maskedBy(familyDeletes.get(column.family()), columnDelete.getValue())) {
+        continue;
+      }
+      delete.addColumns(column.family, column.qualifier, columnDelete.getValue());
+    }
+    if (!delete.isEmpty()) {
+      coalesced.add(delete);
+    }
+
+    Put put = new Put(row);
+    for (Map.Entry<CellKey, Cell> cell : puts.entrySet()) {
+      CellKey key = cell.getKey();
+      if (maskedBy(familyDeletes.get(key.family()), key.timestamp)
+          || maskedBy(columnDeletes.get(key.column()), key.timestamp)) {
+        continue;
+      }
+      put.add(cell.getValue());
+    }
+    if (!put.isEmpty()) {
+      coalesced.add(put);
+    }
+    return coalesced;
+  }
+
+  private static boolean maskedBy(Long deleteTimestamp, long timestamp) {
+    return deleteTimestamp != null && deleteTimestamp >= timestamp;
+  }
+
+  private static int countCells(RowMutations rowMutations) {
+    int cells = 0;
+    for (Mutation mutation : rowMutations.getMutations()) {
+      cells += mutation.size();
+    }
+    return cells;
+  }
+
+  /** Identifies a cell version, a column (timestamp 0) or a family (null qualifier). */
+  private static final class CellKey {
+    private final byte[] family;
+    private final byte[] qualifier;
+    private final long timestamp;
+
+    CellKey(byte[] family, byte[] qualifier, long timestamp) {
+      this.family = family;
+      this.qualifier = qualifier;
+      this.timestamp = timestamp;
+    }
+
+    CellKey family() {
+      return new CellKey(family, null, 0);
+    }
+
+    CellKey column() {
+      return new CellKey(family, qualifier, 0);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (!(o instanceof CellKey)) {
+        return false;
+      }
+      CellKey other = (CellKey) o;
+      return timestamp == other.timestamp
+          && Arrays.equals(family, other.family)
+          && Arrays.equals(qualifier, other.qualifier);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(Arrays.hashCode(family), Arrays.hashCode(qualifier), timestamp);
+    }
+  }
+}
@@ -0,0 +1,210 @@
+/*
+ * Copyright (C) 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.cloud.teleport.v2.templates;
+
+import static com.google.cloud.teleport.v2.templates.utils.TestConstants.cbtQualifier;
+import static com.google.cloud.teleport.v2.templates.utils.TestConstants.colFamily;
+import static com.google.cloud.teleport.v2.templates.utils.TestConstants.colQualifier;
+import static com.google.cloud.teleport.v2.templates.utils.TestConstants.colQualifier2;
+import static com.google.cloud.teleport.v2.templates.utils.TestConstants.rowKey;
+import static com.google.cloud.teleport.v2.templates.utils.TestConstants.rowKey2;
+import static com.google.cloud.teleport.v2.templates.utils.TestConstants.timeT;
+import static com.google.cloud.teleport.v2.templates.utils.TestConstants.value;
+import static com.google.cloud.teleport.v2.templates.utils.TestConstants.value2;
+
+import com.google.cloud.teleport.v2.templates.transforms.CoalesceRowMutationsFn;
+import com.google.cloud.teleport.v2.templates.utils.HashUtils;
+import com.google.cloud.teleport.v2.templates.utils.HashUtils.HashHbaseRowMutations;
+import com.google.cloud.teleport.v2.templates.utils.HbaseUtils.HbaseMutationBuilder;
+import java.util.Arrays;
+import java.util.List;
+import org.apache.beam.sdk.coders.ByteArrayCoder;
+import org.apache.beam.sdk.coders.Coder;
+import org.apache.beam.sdk.coders.KvCoder;
+import org.apache.beam.sdk.testing.PAssert;
+import org.apache.beam.sdk.testing.TestPipeline;
+import org.apache.beam.sdk.testing.TestStream;
+import org.apache.beam.sdk.transforms.ParDo;
+import org.apache.beam.sdk.values.KV;
+import org.apache.beam.sdk.values.PCollection;
+import org.apache.beam.sdk.values.TimestampedValue;
+import org.apache.hadoop.hbase.client.Delete;
+import org.apache.hadoop.hbase.client.Mutation;
+import org.apache.hadoop.hbase.client.Put;
+import org.apache.hadoop.hbase.client.RowMutations;
+import org.joda.time.Duration;
+import org.joda.time.Instant;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** Tests the merging of row mutations by {@link CoalesceRowMutationsFn}. */
+@RunWith(JUnit4.class)
+public class CoalesceRowMutationsFnTest {
+
+  @Rule public final transient TestPipeline pipeline = TestPipeline.create();
+
+  private static RowMutations rowMutations(Mutation mutation) throws Exception {
+    return new RowMutations(rowKey.getBytes()).add(mutation);
+  }
+
+  @Test
+  public void testLastPutOfCellVersionWins() throws Exception {
+    RowMutations coalesced =
+        CoalesceRowMutationsFn.coalesce(
+            rowKey.getBytes(),
+            Arrays.asList(
+                rowMutations(
+                    HbaseMutationBuilder.createPut(rowKey, colFamily, colQualifier, value, timeT)),
+                rowMutations(
+                    HbaseMutationBuilder.createPut(rowKey, colFamily, colQualifier2, value, timeT)),
+                rowMutations(
+                    HbaseMutationBuilder.createPut(
+                        rowKey, colFamily, colQualifier, value2, timeT))));
+
+    RowMutations expected =
+        new RowMutations(rowKey.getBytes())
+            .add(
+                new Put(rowKey.getBytes(), timeT)
+                    .addColumn(colFamily.getBytes(), colQualifier.getBytes(), value2.getBytes())
+                    .addColumn(colFamily.getBytes(), colQualifier2.getBytes(), value.getBytes()));
+    HashUtils.assertRowMutationsEquals(expected, coalesced);
+  }
+
+  @Test
+  public void testDeleteMasksOlderPuts() throws Exception {
+    RowMutations coalesced =
+        CoalesceRowMutationsFn.coalesce(
+            rowKey.getBytes(),
+            Arrays.asList(
+                rowMutations(
+                    HbaseMutationBuilder.createPut(rowKey, colFamily, colQualifier, value, timeT)),
+                rowMutations(
+                    HbaseMutationBuilder.createDelete(rowKey, colFamily, colQualifier, timeT + 1)),
+                rowMutations(
+                    HbaseMutationBuilder.createPut(
+                        rowKey, colFamily, colQualifier, value2, timeT + 2))));
+
+    RowMutations expected =
+        new RowMutations(rowKey.getBytes())
+            .add(
+                Arrays.asList(
+                    HbaseMutationBuilder.createDelete(rowKey, colFamily, colQualifier, timeT + 1),
+                    HbaseMutationBuilder.createPut(
+                        rowKey, colFamily, colQualifier, value2, timeT + 2)));
+    HashUtils.assertRowMutationsEquals(expected, coalesced);
+  }
+
+  @Test
+  public void testFamilyDeleteSubsumesColumnDeletes() throws Exception {
+    RowMutations coalesced =
+        CoalesceRowMutationsFn.coalesce(
+            rowKey.getBytes(),
+            Arrays.asList(
+                rowMutations(
+                    HbaseMutationBuilder.createDelete(rowKey, colFamily, colQualifier, timeT)),
+                rowMutations(
+                    HbaseMutationBuilder.createPut(rowKey, colFamily, colQualifier2, value, timeT)),
+                rowMutations(HbaseMutationBuilder.createDeleteFamily(rowKey, colFamily, timeT + 1)),
+                rowMutations(HbaseMutationBuilder.createDeleteFamily(rowKey, colFamily, timeT))));
+
+    RowMutations expected =
+        new RowMutations(rowKey.getBytes())
+            .add(HbaseMutationBuilder.createDeleteFamily(rowKey, colFamily, timeT + 1));
+    HashUtils.assertRowMutationsEquals(expected, coalesced);
+  }
+
+  @Test
+  public void testBuffersRowsUntilFlushAndAppendsSourceTag() throws Exception {
+    Coder<RowMutations> rowMutationsCoder =
+        pipeline.getCoderRegistry().getCoder(RowMutations.class);
+    Instant commit = new Instant(timeT);
+
+    PCollection<KV<String, List<String>>> output =
+        pipeline
+            .apply(
+                "Create row mutations",
+                TestStream.create(KvCoder.of(ByteArrayCoder.of(), rowMutationsCoder))
+                    .addElements(
+                        TimestampedValue.of(
+                            rowMutationsKv(
+                                HbaseMutationBuilder.createPut(
+                                    rowKey, colFamily, colQualifier, value, timeT)),
+                            commit),
+                        TimestampedValue.of(
+                            rowMutationsKv(
+                                HbaseMutationBuilder.createPut(
+                                    rowKey, colFamily, colQualifier, value2, timeT)),
+                            commit),
+                        TimestampedValue.of(
+                            rowMutationsKv(
+                                HbaseMutationBuilder.createPut(
+                                    rowKey2, colFamily, colQualifier, value, timeT)),
+                            commit))
+                    // Flushes the mutations buffered so far.
+                    .advanceProcessingTime(Duration.standardSeconds(2))
+                    .addElements(
+                        TimestampedValue.of(
+                            rowMutationsKv(
+                                HbaseMutationBuilder.createPut(
+                                    rowKey, colFamily, colQualifier2, value, timeT + 1)),
+                            commit.plus(1)))
+                    // Flushes the last mutation when the input ends.
+                    .advanceWatermarkToInfinity())
+            .apply(
+                "Coalesce row mutations",
+                ParDo.of(
+                    new CoalesceRowMutationsFn(
+                        rowMutationsCoder, Duration.standardSeconds(1), cbtQualifier)))
+            .apply("Hash hbase mutation for comparison purposes", new HashHbaseRowMutations());
+
+    // Special mutation that denotes origin of replication, appended once per flush.
+    Delete sourceTag =
+        new Delete(rowKey.getBytes()).addColumns(colFamily.getBytes(), cbtQualifier.getBytes(), 0L);
+    Delete sourceTag2 =
+        new Delete(rowKey2.getBytes())
+            .addColumns(colFamily.getBytes(), cbtQualifier.getBytes(), 0L);
+    PAssert.that(output)
+        .containsInAnyOrder(
+            KV.of(
+                rowKey,
+                HashUtils.hashMutationList(
+                    Arrays.asList(
+                        HbaseMutationBuilder.createPut(
+                            rowKey, colFamily, colQualifier, value2, timeT),
+                        sourceTag))),
+            KV.of(
+                rowKey2,
+                HashUtils.hashMutationList(
+                    Arrays.asList(
+                        HbaseMutationBuilder.createPut(
+                            rowKey2, colFamily, colQualifier, value, timeT),
+                        sourceTag2))),
+            KV.of(
+                rowKey,
+                HashUtils.hashMutationList(
+                    Arrays.asList(
+                        HbaseMutationBuilder.createPut(
+                            rowKey, colFamily, colQualifier2, value, timeT + 1),
+                        sourceTag))));
+    pipeline.run().waitUntilFinish();
+  }
+
+  private static KV<byte[], RowMutations> rowMutationsKv(Mutation mutation) throws Exception {
+    return KV.of(mutation.getRow(), new RowMutations(mutation.getRow()).add(mutation));
+  }
+}
@@ -0,0 +1,364 @@
+/*
+ * Copyright (C) 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.cloud.teleport.v2.io;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.io.IOException;
+import java.nio.channels.WritableByteChannel;
+import java.util.concurrent.ThreadLocalRandom;
+import org.apache.beam.sdk.coders.Coder;
+import org.apache.beam.sdk.coders.InstantCoder;
+import org.apache.beam.sdk.coders.KvCoder;
+import org.apache.beam.sdk.coders.StringUtf8Coder;
+import org.apache.beam.sdk.coders.VarIntCoder;
+import org.apache.beam.sdk.coders.VarLongCoder;
+import org.apache.beam.sdk.io.FileBasedSink.OutputFileHints;
+import org.apache.beam.sdk.io.FileIO;
+import org.apache.beam.sdk.io.FileSystems;
+import org.apache.beam.sdk.io.fs.ResourceId;
+import org.apache.beam.sdk.metrics.Counter;
+import org.apache.beam.sdk.metrics.Distribution;
+import org.apache.beam.sdk.metrics.Metrics;
+import org.apache.beam.sdk.state.BagState;
+import org.apache.beam.sdk.state.StateSpec;
+import org.apache.beam.sdk.state.StateSpecs;
+import org.apache.beam.sdk.state.TimeDomain;
+import org.apache.beam.sdk.state.Timer;
+import org.apache.beam.sdk.state.TimerSpec;
+import org.apache.beam.sdk.state.TimerSpecs;
+import org.apache.beam.sdk.state.ValueState;
+import org.apache.beam.sdk.transforms.DoFn;
+import org.apache.beam.sdk.transforms.PTransform;
+import org.apache.beam.sdk.transforms.ParDo;
+import org.apache.beam.sdk.transforms.SerializableFunction;
+import org.apache.beam.sdk.transforms.windowing.GlobalWindows;
+import org.apache.beam.sdk.transforms.windowing.IntervalWindow;
+import org.apache.beam.sdk.transforms.windowing.PaneInfo;
+import org.apache.beam.sdk.transforms.windowing.Window;
+import org.apache.beam.sdk.util.MimeTypes;
+import org.apache.beam.sdk.values.KV;
+import org.apache.beam.sdk.values.PCollection;
+import org.joda.time.Duration;
+import org.joda.time.Instant;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Writes the elements of an unbounded {@link PCollection} to files rolled by size and age, rather
+ * than to a file per window and shard like {@code TextIO.write().withWindowedWrites()} does.
+ *
+ * <p>The elements are spread over {@code numShards} shards, and each shard buffers its elements in
+ * state until their estimated size reaches the target file size, or the oldest of them has been
+ * buffered for the maximum file age. The buffered elements are then written to a single file, so
+ * the files stay close to the target size when the traffic is high, and are written at least every
+ * maximum file age when it is low.
+ *
+ * <p>The files are named by the {@link WindowedFilenamePolicy}, with the window spanning the
+ * timestamps of the elements of the file and the pane index numbering the files of a shard. A file
+ * is written in place, and its name only depends on the state of the shard, so a retried flush
+ * overwrites the file of the failed attempt. Outputs the names of the written files.
+ */
+public class RollingFileWrite<T> extends PTransform<PCollection<T>, PCollection<String>> {
+
+  /**
+   * The number of shards when it isn't set. A single shard would send every element through one
+   * key, and so through one worker.
+   */
+  public static final int DEFAULT_NUM_SHARDS = 16;
+
+  private final FileIO.Sink<T> sink;
+  private final SerializableFunction<T, Long> sizeEstimator;
+  private final WindowedFilenamePolicy filenamePolicy;
+  private final int numShards;
+  private final long targetFileSizeBytes;
+  private final Duration maxFileAge;
+
+  private RollingFileWrite(
+      FileIO.Sink<T> sink,
+      SerializableFunction<T, Long> sizeEstimator,
+      WindowedFilenamePolicy filenamePolicy,
+      int numShards,
+      long targetFileSizeBytes,
+      Duration maxFileAge) {
+    this.sink = sink;
+    this.sizeEstimator = sizeEstimator;
+    this.filenamePolicy = filenamePolicy;
+    this.numShards = numShards;
+    this.targetFileSizeBytes = targetFileSizeBytes;
+    this.maxFileAge = maxFileAge;
+  }
+
+  /**
+   * Writes the elements with {@code sink} to the files named by {@code filenamePolicy}, estimating
+   * the size an element takes in a file with {@code sizeEstimator}.
+   */
+  public static <T> RollingFileWrite<T> to(
+      FileIO.Sink<T> sink,
+      SerializableFunction<T, Long> sizeEstimator,
+      WindowedFilenamePolicy filenamePolicy) {
+    return new RollingFileWrite<>(
+        sink,
+        sizeEstimator,
+        filenamePolicy,
+        DEFAULT_NUM_SHARDS,
+        128L * 1024 * 1024,
+        Duration.standardMinutes(5));
+  }
+
+  /**
+   * Sets the number of shards, each writing its own files. Defaults to {@link #DEFAULT_NUM_SHARDS}.
+   */
+  public RollingFileWrite<T> withNumShards(int numShards) {
+    checkArgument(numShards > 0, "numShards must be positive, but was: %s", numShards);
+    return new RollingFileWrite<>(
+        sink, sizeEstimator, filenamePolicy, numShards, targetFileSizeBytes, maxFileAge);
+  }
+
+  /** Sets the size at which a file is rolled. Defaults to 128 MB. */
+  public RollingFileWrite<T> withTargetFileSizeBytes(long targetFileSizeBytes) {
+    checkArgument(
+        targetFileSizeBytes > 0,
+        "targetFileSizeBytes must be positive, but was: %s",
+        targetFileSizeBytes);
+    return new RollingFileWrite<>(
+        sink, sizeEstimator, filenamePolicy, numShards, targetFileSizeBytes, maxFileAge);
+  }
+
+  /** Sets how long an element is buffered at most before its file is rolled. Defaults to 5m. */
+  public RollingFileWrite<T> withMaxFileAge(Duration maxFileAge) {
+    checkArgument(
+        maxFileAge.isLongerThan(Duration.ZERO), "maxFileAge must be positive: %s", maxFileAge);
+    return new RollingFileWrite<>(
+        sink, sizeEstimator, filenamePolicy, numShards, targetFileSizeBytes, maxFileAge);
+  }
+
+  @Override
+  public PCollection<String> expand(PCollection<T> input) {
+    Coder<T> elementCoder = input.getCoder();
+    return input
+        .apply("Global Window", Window.into(new GlobalWindows()))
+        .apply("Assign Shards", ParDo.of(new AssignShardFn<>(numShards)))
+        .setCoder(KvCoder.of(VarIntCoder.of(), elementCoder))
+        .apply(
+            "Roll Files",
+            ParDo.of(
+                new RollFilesFn<>(
+                    elementCoder,
+                    sink,
+                    sizeEstimator,
+                    filenamePolicy,
+                    numShards,
+                    targetFileSizeBytes,
+                    maxFileAge)))
+        .setCoder(StringUtf8Coder.of());
+  }
+
+  private static class AssignShardFn<T> extends DoFn<T, KV<Integer, T>> {
+    private final int numShards;
+
+    AssignShardFn(int numShards) {
+      this.numShards = numShards;
+    }
+
+    @ProcessElement
+    public void processElement(@Element T element, OutputReceiver<KV<Integer, T>> output) {
+      output.output(KV.of(ThreadLocalRandom.current().nextInt(numShards), element));
+    }
+  }
+
+  /** Buffers the elements of a shard, and writes them to a file when it should be rolled. */
+  private static class RollFilesFn<T> extends DoFn<KV<Integer, T>, String> {
+
+    private static final Logger LOG = LoggerFactory.getLogger(RollFilesFn.class);
+
+    private static final Counter FILES_WRITTEN =
+        Metrics.counter(RollFilesFn.class, "rollingFilesWritten");
+    private static final Distribution FILE_SIZE_BYTES =
+        Metrics.distribution(RollFilesFn.class, "rollingFileEstimatedSizeBytes");
+
+    private final FileIO.Sink<T> sink;
+    private final SerializableFunction<T, Long> sizeEstimator;
+    private final WindowedFilenamePolicy filenamePolicy;
+    private final int numShards;
+    private final long targetFileSizeBytes;
+    private final Duration maxFileAge;
+
+    @StateId("buffer")
+    private final StateSpec<BagState<T>> bufferSpec;
+
+    @StateId("bytes")
+    private final StateSpec<ValueState<Long>> bytesSpec = StateSpecs.value(VarLongCoder.of());
+
+    @StateId("minTimestamp")
+    private final StateSpec<ValueState<Instant>> minTimestampSpec =
+        StateSpecs.value(InstantCoder.of());
+
+    @StateId("maxTimestamp")
+    private final StateSpec<ValueState<Instant>> maxTimestampSpec =
+        StateSpecs.value(InstantCoder.of());
+
+    @StateId("fileIndex")
+    private final StateSpec<ValueState<Long>> fileIndexSpec = StateSpecs.value(VarLongCoder.of());
+
+    @TimerId("maxAge")
+    private final TimerSpec maxAgeSpec = TimerSpecs.timer(TimeDomain.PROCESSING_TIME);
+
+    RollFilesFn(
+        Coder<T> elementCoder,
+        FileIO.Sink<T> sink,
+        SerializableFunction<T, Long> sizeEstimator,
+        WindowedFilenamePolicy filenamePolicy,
+        int numShards,
+        long targetFileSizeBytes,
+        Duration maxFileAge) {
+      this.bufferSpec = StateSpecs.bag(elementCoder);
+      this.sink = sink;
+      this.sizeEstimator = sizeEstimator;
+      this.filenamePolicy = filenamePolicy;
+      this.numShards = numShards;
+      this.targetFileSizeBytes = targetFileSizeBytes;
+      this.maxFileAge = maxFileAge;
+    }
+
+    @ProcessElement
+    public void processElement(
+        @Element KV<Integer, T> element,
+        @Timestamp Instant timestamp,
+        @StateId("buffer") BagState<T> buffer,
+        @StateId("bytes") ValueState<Long> bytes,
+        @StateId("minTimestamp") ValueState<Instant> minTimestamp,
+        @StateId("maxTimestamp") ValueState<Instant> maxTimestamp,
+        @StateId("fileIndex") ValueState<Long> fileIndex,
+        @TimerId("maxAge") Timer maxAgeTimer,
+        OutputReceiver<String> output)
+        throws IOException {
+      Long size = bytes.read();
+      if (size == null) {
+        // The first element of a file, which must be written within the maximum file age.
+        size = 0L;
+        maxAgeTimer.offset(maxFileAge).setRelative();
+      }
+      size += sizeEstimator.apply(element.getValue());
+
+      buffer.add(element.getValue());
+      Instant min = minTimestamp.read();
+      if (min == null || timestamp.isBefore(min)) {
+        minTimestamp.write(timestamp);
+      }
+      Instant max = maxTimestamp.read();
+      if (max == null || timestamp.isAfter(max)) {
+        maxTimestamp.write(timestamp);
+      }
+
+      if (size >= targetFileSizeBytes) {
+        roll(element.getKey(), size, buffer, bytes, minTimestamp, maxTimestamp, fileIndex, output);
+        maxAgeTimer.clear();
+      } else {
+        bytes.write(size);
+      }
+    }
+
+    @OnTimer("maxAge")
+    public void onMaxAge(
+        @Key Integer shard,
+        @StateId("buffer") BagState<T> buffer,
+        @StateId("bytes") ValueState<Long> bytes,
+        @StateId("minTimestamp") ValueState<Instant> minTimestamp,
+        @StateId("maxTimestamp") ValueState<Instant> maxTimestamp,
+        @StateId("fileIndex") ValueState<Long> fileIndex,
+        OutputReceiver<String> output)
+        throws IOException {
+      roll(shard, bytes.read(), buffer, bytes, minTimestamp, maxTimestamp, fileIndex, output);
+    }
+
+    /**
+     * Rolls the partial file of the shard. Neither the size check nor the age timer fires again
+     * once the global window expires, at the end of a bounded input or on drain, so the elements
+     * still buffered would otherwise never reach a file.
+     */
+    @OnWindowExpiration
+    public void onWindowExpiration(
+        @Key Integer shard,
+        @StateId("buffer") BagState<T> buffer,
+        @StateId("bytes") ValueState<Long> bytes,
+        @StateId("minTimestamp") ValueState<Instant> minTimestamp,
+        @StateId("maxTimestamp") ValueState<Instant> maxTimestamp,
+        @StateId("fileIndex") ValueState<Long> fileIndex,
+        OutputReceiver<String> output)
+        throws IOException {
+      roll(shard, bytes.read(), buffer, bytes, minTimestamp, maxTimestamp, fileIndex, output);
+    }
+
+    private void roll(
+        int shard,
+        Long size,
+        BagState<T> buffer,
+        ValueState<Long> bytes,
+        ValueState<Instant> minTimestamp,
+        ValueState<Instant> maxTimestamp,
+        ValueState<Long> fileIndex,
+        OutputReceiver<String> output)
+        throws IOException {
+      Instant min = minTimestamp.read();
+      if (min == null) {
+        return;
+      }
+      Long index = fileIndex.read();
+      if (index == null) {
+        index = 0L;
+      }
+
+      ResourceId file =
+          filenamePolicy.windowedFilename(
+              shard,
+              numShards,
+              new IntervalWindow(min, maxTimestamp.read().plus(Duration.millis(1))),
+              PaneInfo.createPane(index == 0, false, PaneInfo.Timing.EARLY, index, -1),
+              new BinaryFileHints());
+      try (WritableByteChannel channel = FileSystems.create(file, MimeTypes.BINARY)) {
+        sink.open(channel);
+        for (T element : buffer.read()) {
+          sink.write(element);
+        }
+        sink.flush();
+      }
+      LOG.debug("Wrote file {} of about {} bytes.", file, size);
+      FILES_WRITTEN.inc();
+      FILE_SIZE_BYTES.update(size == null ? 0 : size);
+
+      buffer.clear();
+      bytes.clear();
+      minTimestamp.clear();
+      maxTimestamp.clear();
+      fileIndex.write(index + 1);
+      output.output(file.toString());
+    }
+  }
+
+  /** The files are written as they are encoded by the sink, without a suggested suffix. */
+  private static class BinaryFileHints implements OutputFileHints {
+    @Override
+    public String getMimeType() {
+      return MimeTypes.BINARY;
+    }
+
+    @Override
+    public String getSuggestedFilenameSuffix() {
+      return "";
+    }
+  }
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright (C) 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.cloud.teleport.v2.options;
+
+import com.google.cloud.teleport.metadata.TemplateParameter;
+import org.apache.beam.sdk.options.Default;
+import org.apache.beam.sdk.options.PipelineOptions;
+
+/**
+ * Provides options for writing files rolled by size and age with {@link
+ * com.google.cloud.teleport.v2.io.RollingFileWrite}, instead of a file per window and shard.
+ */
+public interface RollingFileOptions extends PipelineOptions {
+
+  @TemplateParameter.Integer(
+      order = 1,
+      optional = true,
+      description = "Target file size in MB",
+      helpText =
+          "If greater than 0, the files are rolled by size and age instead of being written per window: each shard "
+              + "buffers its records until they reach about this size, or until the oldest of them reaches "
+              + "`maxFileAge`, and then writes them to a single file. `numShards` sets the number of shards, "
+              + "16 if unset, and `windowDuration` is ignored. Defaults to 0 (disabled).")
+  @Default.Integer(0)
+  Integer getTargetFileSizeMb();
+
+  void setTargetFileSizeMb(Integer value);
+
+  @TemplateParameter.Duration(
+      order = 2,
+      optional = true,
+      description = "Maximum file age",
+      helpText =
+          "When `targetFileSizeMb` is set, the maximum time a record is buffered before its file is "
+              + "written, which bounds the latency when the traffic is low. Allowed formats are: `[int]s` "
+              + "(for seconds, example: `5s`), `[int]m` (for minutes, example: `12m`), `[int]h` (for hours, "
+              + "example: `2h`).",
+      example = "5m")
+  @Default.String("5m")
+  String getMaxFileAge();
+
+  void setMaxFileAge(String value);
+}
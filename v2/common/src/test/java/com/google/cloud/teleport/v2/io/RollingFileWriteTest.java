@@ -0,0 +1,133 @@
+/*
+ * Copyright (C) 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.cloud.teleport.v2.io;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.apache.beam.sdk.coders.StringUtf8Coder;
+import org.apache.beam.sdk.io.TextIO;
+import org.apache.beam.sdk.testing.NeedsRunner;
+import org.apache.beam.sdk.testing.TestPipeline;
+import org.apache.beam.sdk.testing.TestStream;
+import org.apache.beam.sdk.transforms.Create;
+import org.apache.beam.sdk.transforms.SerializableFunction;
+import org.apache.beam.sdk.values.TimestampedValue;
+import org.joda.time.Duration;
+import org.joda.time.Instant;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** Test class for {@link RollingFileWrite}. */
+@RunWith(JUnit4.class)
+public class RollingFileWriteTest {
+
+  @Rule public final transient TestPipeline pipeline = TestPipeline.create();
+  @Rule public final TemporaryFolder tmpFolder = new TemporaryFolder();
+
+  @Test
+  @Category(NeedsRunner.class)
+  public void testFilesAreRolledBySize() throws IOException {
+    String outputDirectory = tmpFolder.getRoot().getAbsolutePath() + "/";
+    Instant start = Instant.parse("2024-01-01T00:00:00Z");
+
+    pipeline
+        .apply(
+            Create.timestamped(
+                TimestampedValue.of("line1", start),
+                TimestampedValue.of("line2", start.plus(1000)),
+                TimestampedValue.of("line3", start.plus(2000)),
+                TimestampedValue.of("line4", start.plus(3000)),
+                TimestampedValue.of("line5", start.plus(4000))))
+        .apply(
+            RollingFileWrite.to(
+                    TextIO.sink(),
+                    (SerializableFunction<String, Long>) line -> line.length() + 1L,
+                    WindowedFilenamePolicy.writeWindowedFiles()
+                        .withOutputDirectory(outputDirectory)
+                        .withOutputFilenamePrefix("output")
+                        .withShardTemplate("P-SS-of-NN")
+                        .withSuffix(".txt"))
+                .withNumShards(1)
+                .withTargetFileSizeBytes(12));
+    pipeline.run();
+
+    // Every two lines reach the target size, the last line is written when the input ends.
+    File[] files = tmpFolder.getRoot().listFiles((dir, name) -> name.endsWith(".txt"));
+    assertThat(files).hasLength(3);
+    List<String> lines = new ArrayList<>();
+    for (File file : files) {
+      List<String> fileLines = Files.readAllLines(file.toPath(), StandardCharsets.UTF_8);
+      assertThat(fileLines.size()).isAtMost(2);
+      lines.addAll(fileLines);
+    }
+    assertThat(lines)
+        .containsExactlyElementsIn(Arrays.asList("line1", "line2", "line3", "line4", "line5"));
+  }
+
+  @Test
+  @Category(NeedsRunner.class)
+  public void testFilesAreRolledByAge() throws IOException {
+    String outputDirectory = tmpFolder.getRoot().getAbsolutePath() + "/";
+    Instant start = Instant.parse("2024-01-01T00:00:00Z");
+
+    pipeline
+        .apply(
+            TestStream.create(StringUtf8Coder.of())
+                .addElements(
+                    TimestampedValue.of("line1", start),
+                    TimestampedValue.of("line2", start.plus(1000)))
+                .advanceProcessingTime(Duration.standardMinutes(2))
+                .addElements(TimestampedValue.of("line3", start.plus(2000)))
+                .advanceWatermarkToInfinity())
+        .apply(
+            RollingFileWrite.to(
+                    TextIO.sink(),
+                    (SerializableFunction<String, Long>) line -> line.length() + 1L,
+                    WindowedFilenamePolicy.writeWindowedFiles()
+                        .withOutputDirectory(outputDirectory)
+                        .withOutputFilenamePrefix("output")
+                        .withShardTemplate("P-SS-of-NN")
+                        .withSuffix(".txt"))
+                .withNumShards(1)
+                .withTargetFileSizeBytes(1024)
+                .withMaxFileAge(Duration.standardMinutes(1)));
+    pipeline.run();
+
+    // The first two lines are written when the oldest reaches the maximum age, far below the
+    // target size, and the last line when the input ends.
+    File[] files = tmpFolder.getRoot().listFiles((dir, name) -> name.endsWith(".txt"));
+    assertThat(files).hasLength(2);
+    List<List<String>> fileLines = new ArrayList<>();
+    for (File file : files) {
+      List<String> lines = Files.readAllLines(file.toPath(), StandardCharsets.UTF_8);
+      Collections.sort(lines);
+      fileLines.add(lines);
+    }
+    assertThat(fileLines).containsExactly(Arrays.asList("line1", "line2"), Arrays.asList("line3"));
+  }
+}
@@ -0,0 +1,26 @@
+/*
+ * Copyright (C) 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.cloud.teleport.v2.clients;
+
+import com.google.cloud.bigquery.storage.v1beta1.BigQueryStorageClient;
+import java.io.IOException;
+import java.io.Serializable;
+
+/** A simple factory for creating {@link BigQueryStorageClient} instances. */
+public interface BigQueryStorageClientFactory extends Serializable {
+  /** Creates a new instance of {@link BigQueryStorageClient}. */
+  BigQueryStorageClient createClient() throws IOException;
+}
@@ -167,4 +167,15 @@ public interface DataplexBigQueryToGcsOptions
   Boolean getEnforceSamePartitionKey();
 
   void setEnforceSamePartitionKey(Boolean enforceSamePartitionKey);
+
+  @TemplateParameter.Boolean(
+      order = 11,
+      optional = true,
+      description = "Export tables dynamically.",
+      helpText =
+          "Whether to discover and export the tables and partitions at runtime in a single branch of the pipeline, reading them with the BigQuery Storage Read API. Every stream of the read session of a table or partition is exported to its own file in parallel. The size of the job graph and the launch time then don't depend on the number of tables and partitions, which is recommended for datasets with many tables. If false (the default), the tables are listed at launch time and each table and partition is exported by its own branch.")
+  @Default.Boolean(false)
+  Boolean getDynamicExport();
+
+  void setDynamicExport(Boolean dynamicExport);
 }
@@ -264,4 +264,56 @@ public interface DataplexJdbcIngestionOptions
   Integer getFetchSize();
 
   void setFetchSize(Integer fetchSize);
+
+  @TemplateParameter.Text(
+      order = 17,
+      optional = true,
+      description = "Table to read with uniform partitions.",
+      helpText =
+          "If set, this table is read instead of running `query`, in parallel over balanced ranges of its primary key. "
+              + "The ranges are discovered and refined with count queries, so any indexed column type is supported, including strings and composite keys. "
+              + "Supported for MySQL and PostgreSQL only. The table name can be qualified by its database or schema.",
+      example = "sampledb.sample_table")
+  String getTable();
+
+  void setTable(String table);
+
+  @TemplateParameter.Text(
+      order = 18,
+      optional = true,
+      description = "Watermark column for incremental reads",
+      helpText =
+          "A monotonically increasing column of the `query` results, of numeric, date or timestamp type, such as an auto-incremented id or a last update time. "
+              + "When set, every run only reads the rows whose value is greater than the highest value read by the previous run, which is persisted to `watermarkStatePath`. "
+              + "Rows with a NULL value are not read. Can only be used with `query` and a BigQuery dataset asset, and not with `WRITE_TRUNCATE` or the BigQuery Storage Write API.",
+      example = "updated_at")
+  String getWatermarkColumn();
+
+  void setWatermarkColumn(String watermarkColumn);
+
+  @TemplateParameter.GcsWriteFile(
+      order = 19,
+      optional = true,
+      description = "Watermark state file",
+      helpText =
+          "The Cloud Storage file holding the highest value of `watermarkColumn` read by the previous run. "
+              + "It is created by the first run, which reads all the rows, and replaced once the rows of every run are written. "
+              + "Required if `watermarkColumn` is set. Use a distinct file for every query.",
+      example = "gs://your-bucket/state/orders.watermark")
+  String getWatermarkStatePath();
+
+  void setWatermarkStatePath(String watermarkStatePath);
+
+  @TemplateParameter.Duration(
+      order = 20,
+      optional = true,
+      description = "Watermark lookback",
+      helpText =
+          "How far before the persisted watermark every run starts reading, to pick up the rows that were committed late with an older `watermarkColumn` value. "
+              + "These rows are read again and must be deduplicated downstream. Only applies to date and timestamp columns. "
+              + "Allowed formats are: Ns (for seconds, example: 5s), Nm (for minutes, example: 12m), Nh (for hours, example: 2h).",
+      example = "10m")
+  String getWatermarkLookback();
+
+  void setWatermarkLookback(String watermarkLookback);
 }
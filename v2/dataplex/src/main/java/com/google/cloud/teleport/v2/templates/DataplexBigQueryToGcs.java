@@ -27,12 +27,15 @@ import com.google.cloud.bigquery.DatasetId;
 import com.google.cloud.bigquery.storage.v1beta1.BigQueryStorageClient;
 import com.google.cloud.teleport.metadata.Template;
 import com.google.cloud.teleport.metadata.TemplateCategory;
+import com.google.cloud.teleport.v2.clients.BigQueryStorageClientFactory;
 import com.google.cloud.teleport.v2.clients.DataplexClient;
 import com.google.cloud.teleport.v2.clients.DataplexClientFactory;
 import com.google.cloud.teleport.v2.clients.DefaultDataplexClient;
 import com.google.cloud.teleport.v2.common.UncaughtExceptionLogger;
 import com.google.cloud.teleport.v2.options.DataplexBigQueryToGcsOptions;
+import com.google.cloud.teleport.v2.transforms.BigQueryTableToGcsFn;
 import com.google.cloud.teleport.v2.transforms.BigQueryTableToGcsTransform;
+import com.google.cloud.teleport.v2.transforms.CreateBigQueryReadStreamsFn;
 import com.google.cloud.teleport.v2.transforms.DataplexBigQueryToGcsUpdateMetadata;
 import com.google.cloud.teleport.v2.transforms.DeleteBigQueryDataFn;
 import com.google.cloud.teleport.v2.transforms.DeleteBigQueryDataFn.BigQueryClientFactory;
@@ -43,6 +46,7 @@ import com.google.cloud.teleport.v2.utils.BigQueryUtils;
 import com.google.cloud.teleport.v2.utils.DataplexBigQueryToGcsFilter;
 import com.google.cloud.teleport.v2.utils.DataplexUtils;
 import com.google.cloud.teleport.v2.utils.GCSUtils;
+import com.google.cloud.teleport.v2.values.BigQueryReadStream;
 import com.google.cloud.teleport.v2.values.BigQueryTable;
 import com.google.cloud.teleport.v2.values.BigQueryTablePartition;
 import com.google.cloud.teleport.v2.values.DataplexEnums.DataplexAssetResourceSpec;
@@ -54,18 +58,29 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ExecutionException;
+import javax.annotation.Nullable;
 import org.apache.beam.sdk.Pipeline;
+import org.apache.beam.sdk.coders.Coder;
+import org.apache.beam.sdk.coders.KvCoder;
+import org.apache.beam.sdk.coders.NullableCoder;
+import org.apache.beam.sdk.coders.StringUtf8Coder;
 import org.apache.beam.sdk.io.gcp.bigquery.BigQueryServices;
 import org.apache.beam.sdk.options.PipelineOptionsFactory;
+import org.apache.beam.sdk.schemas.NoSuchSchemaException;
+import org.apache.beam.sdk.transforms.Create;
+import org.apache.beam.sdk.transforms.DoFn;
 import org.apache.beam.sdk.transforms.Flatten;
 import org.apache.beam.sdk.transforms.MapElements;
 import org.apache.beam.sdk.transforms.ParDo;
+import org.apache.beam.sdk.transforms.Reshuffle;
 import org.apache.beam.sdk.transforms.SerializableFunction;
+import org.apache.beam.sdk.transforms.View;
 import org.apache.beam.sdk.transforms.Wait;
 import org.apache.beam.sdk.transforms.WithKeys;
 import org.apache.beam.sdk.values.KV;
 import org.apache.beam.sdk.values.PCollection;
 import org.apache.beam.sdk.values.PCollectionList;
+import org.apache.beam.sdk.values.PCollectionView;
 import org.apache.beam.sdk.values.TypeDescriptor;
 import org.apache.beam.sdk.values.TypeDescriptors;
 import org.slf4j.Logger;
@@ -189,6 +204,14 @@ public class DataplexBigQueryToGcs {
       throws ExecutionException, InterruptedException, IOException {
 
     Pipeline pipeline = Pipeline.create(options);
+
+    if (options.getDynamicExport()) {
+      LOG.info("Tables will be loaded and exported at runtime.");
+      DataplexClientFactory dcf = DataplexClientFactory.defaultFactory(options.getGcpCredential());
+      transformPipelineDynamically(pipeline, datasetId, options, targetRootPath, dcf, null, null);
+      return pipeline;
+    }
+
     List<String> existingTargetFiles = GCSUtils.getFilesInDirectory(targetRootPath);
 
     LOG.info("Loading BigQuery metadata...");
@@ -238,23 +261,52 @@ public class DataplexBigQueryToGcs {
           String.format(
               "%s/%s", targetRootPath, directoryNaming.getTableDirectory(table.getTableName()));
       GoogleCloudDataplexV1Entity entity = dataPathToEntity.get(targetPath);
-      if (entity != null) {
-        verifyEntityIsUserManaged(entity, dataplex);
-      } else {
-        entity = createNewEntity(options, dataplex, table, assetName, targetPath, directoryNaming);
-      }
-      enrichedTables.add(table.toBuilder().setDataplexEntityName(entity.getName()).build());
+      String entityName =
+          resolveEntityName(
+              options,
+              dataplex,
+              table,
+              entity != null ? entity.getName() : null,
+              targetPath,
+              directoryNaming);
+      enrichedTables.add(table.toBuilder().setDataplexEntityName(entityName).build());
     }
 
     return enrichedTables;
   }
 
-  private static void verifyEntityIsUserManaged(
-      GoogleCloudDataplexV1Entity entity, DataplexClient dataplex) throws IOException {
+  /**
+   * Verifies the existing entity for the data path {@code targetPath} of a table, or creates a new
+   * one if there is none, and returns its name.
+   */
+  private static String resolveEntityName(
+      DataplexBigQueryToGcsOptions options,
+      DataplexClient dataplex,
+      BigQueryTable table,
+      @Nullable String existingEntityName,
+      String targetPath,
+      BigQueryToGcsDirectoryNaming directoryNaming)
+      throws IOException {
+    if (existingEntityName != null) {
+      verifyEntityIsUserManaged(existingEntityName, dataplex);
+      return existingEntityName;
+    }
+    return createNewEntity(
+            options,
+            dataplex,
+            table,
+            options.getDestinationStorageBucketAssetName(),
+            targetPath,
+            directoryNaming)
+        .getName();
+  }
+
+  private static void verifyEntityIsUserManaged(String entityName, DataplexClient dataplex)
+      throws IOException {
     // We have to reload each existing entity 1 by 1 to check the userManaged flag
     // because the listEntities API call never returns schemas, only getEntity call does.
-    GoogleCloudDataplexV1Entity richEntity = dataplex.getEntity(entity.getName());
-    checkNotNull(richEntity, String.format("Could not load entity %s", entity.getName()));
+    GoogleCloudDataplexV1Entity richEntity = dataplex.getEntity(entityName);
+    checkNotNull(richEntity, String.format("Could not load entity %s", entityName));
     DataplexUtils.verifyEntityIsUserManaged(richEntity);
   }
 
@@ -337,17 +389,8 @@ public class DataplexBigQueryToGcs {
     PCollection<KV<BigQueryTable, KV<BigQueryTablePartition, String>>> exportFileResults =
         PCollectionList.of(fileCollections).apply("FlattenTableResults", Flatten.pCollections());
 
-    PCollection<Void> metadataUpdateResults =
+    PCollection<KV<BigQueryTable, BigQueryTablePartition>> exportUnits =
         exportFileResults.apply(
-            "UpdateDataplexMetadata",
-            new DataplexBigQueryToGcsUpdateMetadata(
-                options.getFileFormat(),
-                options.getFileCompression(),
-                dataplexClientFactory,
-                options.getEnforceSamePartitionKey()));
-
-    exportFileResults
-        .apply(
             MapElements.into(
                     TypeDescriptors.kvs(
                         TypeDescriptor.of(BigQueryTable.class),
@@ -356,13 +399,261 @@ public class DataplexBigQueryToGcs {
                     (SerializableFunction<
                             KV<BigQueryTable, KV<BigQueryTablePartition, String>>,
                             KV<BigQueryTable, BigQueryTablePartition>>)
-                        input -> KV.of(input.getKey(), input.getValue().getKey())))
+                        input -> KV.of(input.getKey(), input.getValue().getKey())));
+
+    updateMetadataAndDeleteSourceData(
+        exportFileResults, exportUnits, options, dataplexClientFactory, testBqClientFactory);
+  }
+
+  /**
+   * Builds a pipeline that loads the metadata of the tables in the dataset, and exports them, at
+   * runtime. Unlike {@link #transformPipeline}, the size of the job graph doesn't depend on the
+   * number of tables and partitions: they are elements of a single branch, and the Dataplex
+   * entities of the tables are verified or created in parallel.
+   */
+  @VisibleForTesting
+  static void transformPipelineDynamically(
+      Pipeline pipeline,
+      DatasetId datasetId,
+      DataplexBigQueryToGcsOptions options,
+      String targetRootPath,
+      DataplexClientFactory dataplexClientFactory,
+      BigQueryClientFactory testBqClientFactory,
+      BigQueryStorageClientFactory testBqsClientFactory) {
+
+    PCollection<BigQueryTable> tables =
+        pipeline
+            .apply(
+                "CreateDataset",
+                Create.of(
+                    String.format(
+                        "projects/%s/datasets/%s", datasetId.getProject(), datasetId.getDataset())))
+            .apply(
+                "LoadTables",
+                ParDo.of(
+                    new LoadTablesFn(targetRootPath, testBqClientFactory, testBqsClientFactory)))
+            .apply("ReshuffleTables", Reshuffle.viaRandomKey());
+
+    if (options.getUpdateDataplexMetadata()) {
+      PCollectionView<Map<String, String>> entityNames =
+          pipeline
+              .apply("CreateAsset", Create.of(options.getDestinationStorageBucketAssetName()))
+              .apply("LoadEntityNames", ParDo.of(new LoadEntityNamesFn(dataplexClientFactory)))
+              .apply("EntityNamesView", View.asMap());
+      tables =
+          tables.apply(
+              "ResolveEntities",
+              ParDo.of(new ResolveEntityFn(dataplexClientFactory, targetRootPath, entityNames))
+                  .withSideInputs(entityNames));
+    }
+
+    Coder<BigQueryTable> tableCoder = schemaCoder(pipeline, BigQueryTable.class);
+    Coder<BigQueryTablePartition> partitionCoder =
+        NullableCoder.of(schemaCoder(pipeline, BigQueryTablePartition.class));
+
+    KvCoder<BigQueryTable, BigQueryTablePartition> exportUnitCoder =
+        KvCoder.of(tableCoder, partitionCoder);
+
+    PCollection<KV<BigQueryTable, BigQueryTablePartition>> exportUnits =
+        tables
+            .apply("ExpandPartitions", ParDo.of(new ExpandPartitionsFn()))
+            .setCoder(exportUnitCoder);
+
+    // Every stream of a read session is a separate element, so that the streams of a large table
+    // or partition are exported to separate files in parallel.
+    PCollection<KV<BigQueryTable, KV<BigQueryTablePartition, String>>> exportFileResults =
+        exportUnits
+            .apply("ReshufflePartitions", Reshuffle.viaRandomKey())
+            .apply(
+                "CreateReadStreams",
+                ParDo.of(
+                    new CreateBigQueryReadStreamsFn(
+                            targetRootPath,
+                            options.getFileFormat(),
+                            options.getEnforceSamePartitionKey())
+                        .withTestBqClientFactory(testBqClientFactory)
+                        .withTestBqsClientFactory(testBqsClientFactory)))
+            .setCoder(KvCoder.of(exportUnitCoder, schemaCoder(pipeline, BigQueryReadStream.class)))
+            .apply("ReshuffleStreams", Reshuffle.viaRandomKey())
+            .apply(
+                "ExportStreams",
+                ParDo.of(
+                    new BigQueryTableToGcsFn(
+                            options.getFileFormat(),
+                            options.getFileCompression(),
+                            options.getEnforceSamePartitionKey())
+                        .withTestBqsClientFactory(testBqsClientFactory)))
+            .setCoder(KvCoder.of(tableCoder, KvCoder.of(partitionCoder, StringUtf8Coder.of())));
+
+    updateMetadataAndDeleteSourceData(
+        exportFileResults, exportUnits, options, dataplexClientFactory, testBqClientFactory);
+  }
+
+  /**
+   * Updates the Dataplex metadata of the exported files, and then deletes the exported tables and
+   * partitions {@code exportUnits} from BigQuery if requested. A table or partition may have been
+   * exported to more than one file, so it is deleted once per element of {@code exportUnits}, not
+   * per file.
+   */
+  private static void updateMetadataAndDeleteSourceData(
+      PCollection<KV<BigQueryTable, KV<BigQueryTablePartition, String>>> exportFileResults,
+      PCollection<KV<BigQueryTable, BigQueryTablePartition>> exportUnits,
+      DataplexBigQueryToGcsOptions options,
+      DataplexClientFactory dataplexClientFactory,
+      BigQueryClientFactory testBqClientFactory) {
+
+    PCollection<Void> metadataUpdateResults =
+        exportFileResults.apply(
+            "UpdateDataplexMetadata",
+            new DataplexBigQueryToGcsUpdateMetadata(
+                options.getFileFormat(),
+                options.getFileCompression(),
+                dataplexClientFactory,
+                options.getEnforceSamePartitionKey()));
+
+    exportUnits
         .apply("WaitForMetadataUpdate", Wait.on(metadataUpdateResults))
         .apply(
             "TruncateBigQueryData",
             ParDo.of(new DeleteBigQueryDataFn().withTestBqClientFactory(testBqClientFactory)));
   }
 
+  private static <T> Coder<T> schemaCoder(Pipeline pipeline, Class<T> clazz) {
+    try {
+      return pipeline.getSchemaRegistry().getSchemaCoder(clazz);
+    } catch (NoSuchSchemaException e) {
+      throw new IllegalStateException("No schema for " + clazz.getName(), e);
+    }
+  }
+
+  /** Loads the metadata of the tables of a dataset, filtered like at launch time. */
+  private static class LoadTablesFn extends DoFn<String, BigQueryTable> {
+    private final String targetRootPath;
+    private final BigQueryClientFactory testBqClientFactory;
+    private final BigQueryStorageClientFactory testBqsClientFactory;
+
+    LoadTablesFn(
+        String targetRootPath,
+        BigQueryClientFactory testBqClientFactory,
+        BigQueryStorageClientFactory testBqsClientFactory) {
+      this.targetRootPath = targetRootPath;
+      this.testBqClientFactory = testBqClientFactory;
+      this.testBqsClientFactory = testBqsClientFactory;
+    }
+
+    @ProcessElement
+    public void processElement(ProcessContext c)
+        throws IOException, ExecutionException, InterruptedException {
+      DataplexBigQueryToGcsOptions options =
+          c.getPipelineOptions().as(DataplexBigQueryToGcsOptions.class);
+      List<String> existingTargetFiles = GCSUtils.getFilesInDirectory(targetRootPath);
+
+      LOG.info("Loading BigQuery metadata...");
+      try (BigQueryStorageClient bqsClient =
+          testBqsClientFactory != null
+              ? testBqsClientFactory.createClient()
+              : BigQueryStorageClient.create()) {
+        BigQueryMetadataLoader metadataLoader =
+            new BigQueryMetadataLoader(
+                testBqClientFactory != null
+                    ? testBqClientFactory.createClient()
+                    : BigQueryOptions.getDefaultInstance().getService(),
+                bqsClient,
+                options.getMaxParallelBigQueryMetadataRequests());
+        List<BigQueryTable> tables =
+            metadataLoader.loadDatasetMetadata(
+                BigQueryUtils.parseDatasetUrn(c.element()),
+                new DataplexBigQueryToGcsFilter(options, existingTargetFiles));
+        LOG.info("Loaded {} table(s).", tables.size());
+        tables.forEach(c::output);
+      }
+    }
+  }
+
+  /** Loads the names of the existing entities of an asset, keyed by their data path. */
+  private static class LoadEntityNamesFn extends DoFn<String, KV<String, String>> {
+    private final DataplexClientFactory dataplexClientFactory;
+
+    LoadEntityNamesFn(DataplexClientFactory dataplexClientFactory) {
+      this.dataplexClientFactory = dataplexClientFactory;
+    }
+
+    @ProcessElement
+    public void processElement(ProcessContext c) throws IOException {
+      LOG.info("Checking existing Dataplex metadata...");
+      Map<String, GoogleCloudDataplexV1Entity> dataPathToEntity =
+          DataplexUtils.getDataPathToEntityMappingForAsset(
+              dataplexClientFactory.createClient(),
+              c.element(),
+              DataplexUtils.GCS_PATH_ONLY_FILTER);
+      dataPathToEntity.forEach((path, entity) -> c.output(KV.of(path, entity.getName())));
+    }
+  }
+
+  /** Verifies or creates the Dataplex entity of a table, see {@link #loadDataplexMetadata}. */
+  private static class ResolveEntityFn extends DoFn<BigQueryTable, BigQueryTable> {
+    private final DataplexClientFactory dataplexClientFactory;
+    private final String targetRootPath;
+    private final PCollectionView<Map<String, String>> entityNames;
+    private transient DataplexClient dataplex;
+
+    ResolveEntityFn(
+        DataplexClientFactory dataplexClientFactory,
+        String targetRootPath,
+        PCollectionView<Map<String, String>> entityNames) {
+      this.dataplexClientFactory = dataplexClientFactory;
+      this.targetRootPath = targetRootPath;
+      this.entityNames = entityNames;
+    }
+
+    @Setup
+    public void setup() throws IOException {
+      dataplex = dataplexClientFactory.createClient();
+    }
+
+    @ProcessElement
+    public void processElement(ProcessContext c) throws IOException {
+      DataplexBigQueryToGcsOptions options =
+          c.getPipelineOptions().as(DataplexBigQueryToGcsOptions.class);
+      BigQueryToGcsDirectoryNaming directoryNaming =
+          new BigQueryToGcsDirectoryNaming(options.getEnforceSamePartitionKey());
+      BigQueryTable table = c.element();
+      String targetPath =
+          String.format(
+              "%s/%s", targetRootPath, directoryNaming.getTableDirectory(table.getTableName()));
+      String entityName =
+          resolveEntityName(
+              options,
+              dataplex,
+              table,
+              c.sideInput(entityNames).get(targetPath),
+              targetPath,
+              directoryNaming);
+      c.output(table.toBuilder().setDataplexEntityName(entityName).build());
+    }
+  }
+
+  /**
+   * Splits a table into the units of export: the table itself if it isn't partitioned, or else each
+   * of its partitions.
+   */
+  private static class ExpandPartitionsFn
+      extends DoFn<BigQueryTable, KV<BigQueryTable, BigQueryTablePartition>> {
+    @ProcessElement
+    public void processElement(ProcessContext c) {
+      BigQueryTable table = c.element();
+      if (!table.isPartitioned()) {
+        c.output(KV.of(table, null));
+        return;
+      }
+      // Every unit carries its table, don't make it carry all the partitions too.
+      BigQueryTable key = table.toBuilder().setPartitions(null).build();
+      for (BigQueryTablePartition partition : table.getPartitions()) {
+        c.output(KV.of(key, partition));
+      }
+    }
+  }
+
   /**
    * Resolves a Dataplex asset name into the corresponding resource spec, verifying that the asset
    * is of the correct type.
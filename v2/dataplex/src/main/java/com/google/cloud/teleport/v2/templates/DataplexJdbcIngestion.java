@@ -31,6 +31,7 @@ import com.google.cloud.teleport.v2.clients.DataplexClientFactory;
 import com.google.cloud.teleport.v2.clients.DefaultDataplexClient;
 import com.google.cloud.teleport.v2.common.UncaughtExceptionLogger;
 import com.google.cloud.teleport.v2.options.DataplexJdbcIngestionOptions;
+import com.google.cloud.teleport.v2.reader.io.jdbc.iowrapper.UniformPartitionsTableRead;
 import com.google.cloud.teleport.v2.transforms.BeamRowToGenericRecordFn;
 import com.google.cloud.teleport.v2.transforms.DataplexJdbcIngestionUpdateMetadata;
 import com.google.cloud.teleport.v2.transforms.GenericRecordsToGcsPartitioned;
@@ -38,7 +39,9 @@ import com.google.cloud.teleport.v2.utils.BigQueryIOUtils;
 import com.google.cloud.teleport.v2.utils.DataplexJdbcIngestionFilter;
 import com.google.cloud.teleport.v2.utils.DataplexJdbcIngestionNaming;
 import com.google.cloud.teleport.v2.utils.DataplexUtils;
+import com.google.cloud.teleport.v2.utils.DurationUtils;
 import com.google.cloud.teleport.v2.utils.GCSUtils;
+import com.google.cloud.teleport.v2.utils.IncrementalJdbcQuery;
 import com.google.cloud.teleport.v2.utils.JdbcConverters;
 import com.google.cloud.teleport.v2.utils.JdbcIngestionWriteDisposition.MapWriteDisposition;
 import com.google.cloud.teleport.v2.utils.JdbcIngestionWriteDisposition.WriteDispositionException;
@@ -52,23 +55,30 @@ import com.google.cloud.teleport.v2.values.DataplexEnums.PartitionStyle;
 import com.google.cloud.teleport.v2.values.DataplexEnums.StorageSystem;
 import com.google.cloud.teleport.v2.values.DataplexPartitionMetadata;
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Strings;
 import java.io.IOException;
 import java.util.List;
 import java.util.stream.Collectors;
 import org.apache.avro.generic.GenericRecord;
 import org.apache.beam.sdk.Pipeline;
+import org.apache.beam.sdk.coders.Coder;
+import org.apache.beam.sdk.coders.RowCoder;
 import org.apache.beam.sdk.extensions.avro.coders.AvroCoder;
 import org.apache.beam.sdk.extensions.avro.schemas.utils.AvroUtils;
 import org.apache.beam.sdk.io.gcp.bigquery.BigQueryIO;
 import org.apache.beam.sdk.io.gcp.bigquery.TableRowJsonCoder;
+import org.apache.beam.sdk.io.gcp.bigquery.WriteResult;
 import org.apache.beam.sdk.io.jdbc.JdbcIO;
 import org.apache.beam.sdk.io.jdbc.JdbcIO.DataSourceConfiguration;
+import org.apache.beam.sdk.io.jdbc.SchemaUtil;
 import org.apache.beam.sdk.options.PipelineOptionsFactory;
 import org.apache.beam.sdk.options.ValueProvider.StaticValueProvider;
 import org.apache.beam.sdk.schemas.Schema;
 import org.apache.beam.sdk.transforms.Distinct;
 import org.apache.beam.sdk.transforms.DoFn;
+import org.apache.beam.sdk.transforms.PTransform;
 import org.apache.beam.sdk.transforms.ParDo;
+import org.apache.beam.sdk.values.PBegin;
 import org.apache.beam.sdk.values.PCollection;
 import org.apache.beam.sdk.values.PCollectionTuple;
 import org.apache.beam.sdk.values.Row;
@@ -144,6 +154,10 @@ public class DataplexJdbcIngestion {
     if (DataplexAssetResourceSpec.BIGQUERY_DATASET.name().equals(assetType)) {
       buildBigQueryPipeline(pipeline, options, dataSourceConfig);
     } else if (DataplexAssetResourceSpec.STORAGE_BUCKET.name().equals(assetType)) {
+      if (!Strings.isNullOrEmpty(options.getWatermarkColumn())) {
+        throw new IllegalArgumentException(
+            "watermarkColumn is only supported for BigQuery dataset assets.");
+      }
       String targetRootPath =
           "gs://" + asset.getResourceSpec().getName() + "/" + options.getOutputTable();
       DataplexClientFactory dcf = DataplexClientFactory.defaultFactory(options.getGcpCredential());
@@ -279,21 +293,58 @@ public class DataplexJdbcIngestion {
     if (options.getUpdateDataplexMetadata()) {
       LOG.warn("Dataplex metadata updates enabled, but not supported for BigQuery targets.");
     }
+    if (!Strings.isNullOrEmpty(options.getWatermarkColumn())) {
+      if (options.getTable() != null) {
+        throw new IllegalArgumentException(
+            "watermarkColumn can only be specified with query, and not with table.");
+      }
+      if (options.getWriteDisposition() == WriteDispositionOptions.WRITE_TRUNCATE) {
+        throw new IllegalArgumentException(
+            "watermarkColumn cannot be specified with WRITE_TRUNCATE, as every run would replace the rows of the previous runs.");
+      }
+      // The Storage Write API does not signal when the rows are committed, so the watermark could
+      // be persisted before the rows it covers are written.
+      if (options.getUseStorageWriteApi() || options.getUseStorageWriteApiAtLeastOnce()) {
+        throw new IllegalArgumentException(
+            "watermarkColumn cannot be specified if BigQuery Storage Write API is enabled either with useStorageWriteApi or useStorageWriteApiAtLeastOnce.");
+      }
+    }
 
-    JdbcIO.Read<TableRow> readIO =
-        JdbcIO.<TableRow>read()
-            .withDataSourceConfiguration(dataSourceConfig)
-            .withQuery(options.getQuery())
-            .withCoder(TableRowJsonCoder.of())
-            .withRowMapper(JdbcConverters.getResultSetToTableRow(options.getUseColumnAlias()));
-
-    if (options.getFetchSize() != null && options.getFetchSize() > 0) {
-      readIO = readIO.withFetchSize(options.getFetchSize());
+    PCollection<TableRow> rows;
+    IncrementalJdbcQuery incrementalQuery = null;
+    if (options.getTable() != null) {
+      rows =
+          pipeline.apply(
+              "Read from JDBC with Uniform Partitions",
+              readTableWithUniformPartitions(
+                  options,
+                  dataSourceConfig,
+                  JdbcConverters.getResultSetToTableRow(options.getUseColumnAlias()),
+                  TableRowJsonCoder.of()));
+    } else {
+      JdbcIO.Read<TableRow> readIO =
+          JdbcIO.<TableRow>read()
+              .withDataSourceConfiguration(dataSourceConfig)
+              .withQuery(options.getQuery())
+              .withCoder(TableRowJsonCoder.of())
+              .withRowMapper(JdbcConverters.getResultSetToTableRow(options.getUseColumnAlias()));
+
+      if (!Strings.isNullOrEmpty(options.getWatermarkColumn())) {
+        // Only read the rows added since the previous run.
+        incrementalQuery = incrementalQuery(options, dataSourceConfig);
+        readIO =
+            readIO
+                .withQuery(incrementalQuery.query())
+                .withStatementPreparator(incrementalQuery.statementPreparator());
+      }
+      if (options.getFetchSize() != null && options.getFetchSize() > 0) {
+        readIO = readIO.withFetchSize(options.getFetchSize());
+      }
+      rows = pipeline.apply("Read from JdbcIO", readIO);
     }
 
-    pipeline
-        .apply("Read from JdbcIO", readIO)
-        .apply(
+    WriteResult writeResult =
+        rows.apply(
             "Write to BigQuery",
             BigQueryIO.writeTableRows()
                 .withoutValidation()
@@ -303,6 +354,10 @@ public class DataplexJdbcIngestion {
                 .withWriteDisposition(
                     MapWriteDisposition.mapWriteDisposition(options.getWriteDisposition()))
                 .to(options.getOutputTable()));
+
+    if (incrementalQuery != null) {
+      incrementalQuery.persistAfter(writeResult.getSuccessfulTableLoads());
+    }
   }
 
   @VisibleForTesting
@@ -316,22 +371,36 @@ public class DataplexJdbcIngestion {
       throws IOException {
     List<String> existingFiles = GCSUtils.getFilesInDirectory(targetRootPath);
     // Auto inferring beam schema
+    String schemaQuery =
+        options.getTable() != null ? "select * from " + options.getTable() : options.getQuery();
     Schema beamSchema =
-        Schemas.jdbcSchemaToBeamSchema(dataSourceConfig.buildDatasource(), options.getQuery());
+        Schemas.jdbcSchemaToBeamSchema(dataSourceConfig.buildDatasource(), schemaQuery);
     // Convert to Avro Schema
     org.apache.avro.Schema avroSchema = AvroUtils.toAvroSchema(beamSchema);
 
-    // Read from JdbcIO and convert ResultSet to Beam Row
-    JdbcIO.ReadRows readIO =
-        JdbcIO.readRows()
-            .withDataSourceConfiguration(dataSourceConfig)
-            .withQuery(options.getQuery());
+    PCollection<Row> resultRows;
+    if (options.getTable() != null) {
+      resultRows =
+          pipeline.apply(
+              "Read from JDBC with Uniform Partitions",
+              readTableWithUniformPartitions(
+                  options,
+                  dataSourceConfig,
+                  SchemaUtil.BeamRowMapper.of(beamSchema),
+                  RowCoder.of(beamSchema)));
+    } else {
+      // Read from JdbcIO and convert ResultSet to Beam Row
+      JdbcIO.ReadRows readIO =
+          JdbcIO.readRows()
+              .withDataSourceConfiguration(dataSourceConfig)
+              .withQuery(options.getQuery());
+
+      if (options.getFetchSize() != null && options.getFetchSize() > 0) {
+        readIO = readIO.withFetchSize(options.getFetchSize());
+      }
 
-    if (options.getFetchSize() != null && options.getFetchSize() > 0) {
-      readIO = readIO.withFetchSize(options.getFetchSize());
+      resultRows = pipeline.apply("Read from JdbcIO", readIO);
     }
-
-    PCollection<Row> resultRows = pipeline.apply("Read from JdbcIO", readIO);
     // Convert Beam Row to GenericRecord
     PCollection<GenericRecord> genericRecords =
         resultRows
@@ -490,6 +559,54 @@ public class DataplexJdbcIngestion {
     return DataplexUtils.storageFormat(options.getFileFormat(), DataplexCompression.SNAPPY);
   }
 
+  /**
+   * Reads {@link DataplexJdbcIngestionOptions#getTable()} over ranges of its primary key that are
+   * discovered and balanced by the uniform splitter, see {@link UniformPartitionsTableRead}.
+   */
+  private static <T> PTransform<PBegin, PCollection<T>> readTableWithUniformPartitions(
+      DataplexJdbcIngestionOptions options,
+      DataSourceConfiguration dataSourceConfig,
+      JdbcIO.RowMapper<T> rowMapper,
+      Coder<T> coder) {
+    String connectionUrl =
+        maybeDecrypt(options.getConnectionURL(), options.getKMSEncryptionKey()).get();
+    UniformPartitionsTableRead.Dialect dialect =
+        UniformPartitionsTableRead.dialectOf(connectionUrl);
+    if (dialect == null) {
+      throw new IllegalArgumentException(
+          "Reading a table with uniform partitions is only supported for MySQL and PostgreSQL.");
+    }
+    return UniformPartitionsTableRead.of(
+        dataSourceConfig,
+        dialect,
+        options.getTable(),
+        null,
+        null,
+        options.getFetchSize(),
+        rowMapper,
+        coder);
+  }
+
+  /**
+   * Plans the incremental read of {@link DataplexJdbcIngestionOptions#getQuery()} on {@link
+   * DataplexJdbcIngestionOptions#getWatermarkColumn()}, see {@link IncrementalJdbcQuery}.
+   */
+  private static IncrementalJdbcQuery incrementalQuery(
+      DataplexJdbcIngestionOptions options, DataSourceConfiguration dataSourceConfig) {
+    if (Strings.isNullOrEmpty(options.getWatermarkStatePath())) {
+      throw new IllegalArgumentException(
+          "watermarkStatePath must be specified if watermarkColumn is specified.");
+    }
+    return IncrementalJdbcQuery.create(
+        dataSourceConfig.buildDatasource(),
+        options.getQuery(),
+        options.getWatermarkColumn(),
+        options.getWatermarkStatePath(),
+        Strings.isNullOrEmpty(options.getWatermarkLookback())
+            ? null
+            : DurationUtils.parseDuration(options.getWatermarkLookback()));
+  }
+
   static DataSourceConfiguration configDataSource(DataplexJdbcIngestionOptions options) {
     JdbcIO.DataSourceConfiguration dataSourceConfiguration =
         JdbcIO.DataSourceConfiguration.create(
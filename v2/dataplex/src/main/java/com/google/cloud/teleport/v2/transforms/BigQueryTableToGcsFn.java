@@ -0,0 +1,161 @@
+/*
+ * Copyright (C) 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.cloud.teleport.v2.transforms;
+
+import com.google.cloud.bigquery.storage.v1beta1.BigQueryStorageClient;
+import com.google.cloud.bigquery.storage.v1beta1.Storage.ReadRowsRequest;
+import com.google.cloud.bigquery.storage.v1beta1.Storage.ReadRowsResponse;
+import com.google.cloud.bigquery.storage.v1beta1.Storage.Stream;
+import com.google.cloud.bigquery.storage.v1beta1.Storage.StreamPosition;
+import com.google.cloud.teleport.v2.clients.BigQueryStorageClientFactory;
+import com.google.cloud.teleport.v2.utils.FileFormat.FileFormatOptions;
+import com.google.cloud.teleport.v2.values.BigQueryReadStream;
+import com.google.cloud.teleport.v2.values.BigQueryTable;
+import com.google.cloud.teleport.v2.values.BigQueryTablePartition;
+import com.google.cloud.teleport.v2.values.DataplexCompression;
+import java.io.IOException;
+import java.nio.channels.WritableByteChannel;
+import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericDatumReader;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.avro.io.BinaryDecoder;
+import org.apache.avro.io.DecoderFactory;
+import org.apache.beam.sdk.io.FileIO.Sink;
+import org.apache.beam.sdk.io.FileSystems;
+import org.apache.beam.sdk.metrics.Counter;
+import org.apache.beam.sdk.metrics.Metrics;
+import org.apache.beam.sdk.transforms.DoFn;
+import org.apache.beam.sdk.util.MimeTypes;
+import org.apache.beam.sdk.values.KV;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Exports a stream of a BigQuery Storage API read session, created by {@link
+ * CreateBigQueryReadStreamsFn}, to one file in Cloud Storage, and outputs {@code <BigQueryTable,
+ * <BigQueryTablePartition, String>>} pairs with the path of the file, like {@link
+ * BigQueryTableToGcsTransform} does.
+ *
+ * <p>Unlike {@link BigQueryTableToGcsTransform}, the tables, partitions and streams to export are
+ * elements of the input, so a single instance of this DoFn exports a whole dataset without adding
+ * anything to the job graph per table, and the streams of a large table or partition are exported
+ * in parallel. The file is written in place, a retried element overwrites the file of the failed
+ * attempt.
+ */
+public class BigQueryTableToGcsFn
+    extends DoFn<
+        KV<KV<BigQueryTable, BigQueryTablePartition>, BigQueryReadStream>,
+        KV<BigQueryTable, KV<BigQueryTablePartition, String>>> {
+
+  private static final Logger LOG = LoggerFactory.getLogger(BigQueryTableToGcsFn.class);
+
+  private final Counter exportedRows = Metrics.counter(BigQueryTableToGcsFn.class, "exported_rows");
+  private final Counter exportedFiles =
+      Metrics.counter(BigQueryTableToGcsFn.class, "exported_files");
+
+  private final FileFormatOptions outputFileFormat;
+  private final DataplexCompression outputFileCompression;
+  private final boolean enforceSamePartitionKey;
+
+  private BigQueryStorageClientFactory testBqsClientFactory;
+
+  private transient BigQueryStorageClient bqsClient;
+  private transient BinaryDecoder decoder;
+
+  public BigQueryTableToGcsFn(
+      FileFormatOptions outputFileFormat,
+      DataplexCompression outputFileCompression,
+      boolean enforceSamePartitionKey) {
+    this.outputFileFormat = outputFileFormat;
+    this.outputFileCompression = outputFileCompression;
+    this.enforceSamePartitionKey = enforceSamePartitionKey;
+  }
+
+  public BigQueryTableToGcsFn withTestBqsClientFactory(BigQueryStorageClientFactory factory) {
+    this.testBqsClientFactory = factory;
+    return this;
+  }
+
+  @Setup
+  public void setup() throws IOException {
+    bqsClient =
+        testBqsClientFactory != null
+            ? testBqsClientFactory.createClient()
+            : BigQueryStorageClient.create();
+  }
+
+  @Teardown
+  public void teardown() {
+    if (bqsClient != null) {
+      bqsClient.close();
+    }
+  }
+
+  @ProcessElement
+  public void processElement(ProcessContext c) throws IOException {
+    BigQueryTable table = c.element().getKey().getKey();
+    BigQueryTablePartition partition = c.element().getKey().getValue();
+    BigQueryReadStream stream = c.element().getValue();
+
+    Sink<GenericRecord> sink =
+        BigQueryTableToGcsTransform.createSink(
+            table, outputFileFormat, outputFileCompression, enforceSamePartitionKey);
+    long rows = 0;
+    try (WritableByteChannel channel =
+        FileSystems.create(
+            FileSystems.matchNewResource(stream.getFileName(), false), MimeTypes.BINARY)) {
+      sink.open(channel);
+      // A session without streams still gets a file, like with FileIO's fixed sharding.
+      if (stream.getStreamName() != null) {
+        GenericDatumReader<GenericRecord> reader =
+            new GenericDatumReader<>(
+                new Schema.Parser().parse(stream.getAvroSchema()), table.getSchema());
+        rows = readStream(stream.getStreamName(), reader, sink);
+      }
+      sink.flush();
+    }
+
+    LOG.info(
+        "Exported {} rows of table {} to {}.", rows, table.getTableName(), stream.getFileName());
+    exportedRows.inc(rows);
+    exportedFiles.inc();
+    c.output(KV.of(table, KV.of(partition, stream.getFileName())));
+  }
+
+  private long readStream(
+      String streamName, GenericDatumReader<GenericRecord> reader, Sink<GenericRecord> sink)
+      throws IOException {
+    ReadRowsRequest request =
+        ReadRowsRequest.newBuilder()
+            .setReadPosition(
+                StreamPosition.newBuilder().setStream(Stream.newBuilder().setName(streamName)))
+            .build();
+    long rows = 0;
+    GenericRecord record = null;
+    for (ReadRowsResponse response : bqsClient.readRowsCallable().call(request)) {
+      decoder =
+          DecoderFactory.get()
+              .binaryDecoder(response.getAvroRows().getSerializedBinaryRows().newInput(), decoder);
+      while (!decoder.isEnd()) {
+        // The sinks don't keep the records, so the record can be reused.
+        record = reader.read(record, decoder);
+        sink.write(record);
+        rows++;
+      }
+    }
+    return rows;
+  }
+}
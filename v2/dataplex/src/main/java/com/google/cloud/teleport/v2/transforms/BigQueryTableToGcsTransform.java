@@ -91,6 +91,33 @@ public class BigQueryTableToGcsTransform
 
   @Override
   public PCollection<KV<BigQueryTablePartition, String>> expand(PBegin begin) {
+    Sink<GenericRecord> sink =
+        createSink(table, outputFileFormat, outputFileCompression, enforceSamePartitionKey);
+
+    BigQueryToGcsDirectoryNaming dn = new BigQueryToGcsDirectoryNaming(enforceSamePartitionKey);
+
+    if (!table.isPartitioned()) {
+      return transformTable(begin, sink, dn);
+    }
+    if (table.getPartitions() == null || table.getPartitions().isEmpty()) {
+      throw new IllegalStateException(
+          String.format(
+              "Expected at least 1 partition for a partitioned table %s, but got none.",
+              table.getTableName()));
+    }
+
+    List<PCollection<KV<BigQueryTablePartition, String>>> collections = new ArrayList<>();
+    table.getPartitions().forEach(p -> collections.add(transformPartition(begin, sink, p, dn)));
+    return PCollectionList.of(collections)
+        .apply(tableNodeName("FlattenPartitionResults"), Flatten.pCollections());
+  }
+
+  /** Creates the sink writing the records of a table to files of the requested format. */
+  public static Sink<GenericRecord> createSink(
+      BigQueryTable table,
+      FileFormatOptions outputFileFormat,
+      DataplexCompression outputFileCompression,
+      boolean enforceSamePartitionKey) {
     Schema targetFileSchema = table.getSchema();
     if (table.isPartitioned() && enforceSamePartitionKey) {
       // Apart from renaming the field in the schema we don't need to anything else (e.g. replace
@@ -103,39 +130,17 @@ public class BigQueryTableToGcsTransform
               table.getPartitioningColumn() + PARTITION_COLUMN_RENAME_SUFFIX);
     }
 
-    Sink<GenericRecord> sink;
     switch (outputFileFormat) {
       case PARQUET:
-        sink =
-            ParquetIO.sink(targetFileSchema)
-                .withCompressionCodec(outputFileCompression.getParquetCodec());
-        break;
+        return ParquetIO.sink(targetFileSchema)
+            .withCompressionCodec(outputFileCompression.getParquetCodec());
       case AVRO:
-        sink =
-            AvroIO.<GenericRecord>sink(targetFileSchema)
-                .withCodec(outputFileCompression.getAvroCodec());
-        break;
+        return AvroIO.<GenericRecord>sink(targetFileSchema)
+            .withCodec(outputFileCompression.getAvroCodec());
       default:
         throw new UnsupportedOperationException(
             "Output format is not implemented: " + outputFileFormat);
     }
-
-    BigQueryToGcsDirectoryNaming dn = new BigQueryToGcsDirectoryNaming(enforceSamePartitionKey);
-
-    if (!table.isPartitioned()) {
-      return transformTable(begin, sink, dn);
-    }
-    if (table.getPartitions() == null || table.getPartitions().isEmpty()) {
-      throw new IllegalStateException(
-          String.format(
-              "Expected at least 1 partition for a partitioned table %s, but got none.",
-              table.getTableName()));
-    }
-
-    List<PCollection<KV<BigQueryTablePartition, String>>> collections = new ArrayList<>();
-    table.getPartitions().forEach(p -> collections.add(transformPartition(begin, sink, p, dn)));
-    return PCollectionList.of(collections)
-        .apply(tableNodeName("FlattenPartitionResults"), Flatten.pCollections());
   }
 
   private PCollection<KV<BigQueryTablePartition, String>> transformTable(
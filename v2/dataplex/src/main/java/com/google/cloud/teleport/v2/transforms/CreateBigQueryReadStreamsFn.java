@@ -0,0 +1,362 @@
+/*
+ * Copyright (C) 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.cloud.teleport.v2.transforms;
+
+import static com.google.common.base.Preconditions.checkState;
+
+import com.google.cloud.bigquery.BigQuery;
+import com.google.cloud.bigquery.BigQueryOptions;
+import com.google.cloud.bigquery.DatasetId;
+import com.google.cloud.bigquery.RangePartitioning;
+import com.google.cloud.bigquery.StandardSQLTypeName;
+import com.google.cloud.bigquery.StandardTableDefinition;
+import com.google.cloud.bigquery.Table;
+import com.google.cloud.bigquery.TableId;
+import com.google.cloud.bigquery.TimePartitioning;
+import com.google.cloud.bigquery.storage.v1beta1.BigQueryStorageClient;
+import com.google.cloud.bigquery.storage.v1beta1.ReadOptions.TableReadOptions;
+import com.google.cloud.bigquery.storage.v1beta1.Storage.ReadSession;
+import com.google.cloud.teleport.v2.clients.BigQueryStorageClientFactory;
+import com.google.cloud.teleport.v2.transforms.DeleteBigQueryDataFn.BigQueryClientFactory;
+import com.google.cloud.teleport.v2.utils.BigQueryToGcsDirectoryNaming;
+import com.google.cloud.teleport.v2.utils.BigQueryToGcsFileNaming;
+import com.google.cloud.teleport.v2.utils.BigQueryUtils;
+import com.google.cloud.teleport.v2.utils.FileFormat.FileFormatOptions;
+import com.google.cloud.teleport.v2.values.BigQueryReadStream;
+import com.google.cloud.teleport.v2.values.BigQueryTable;
+import com.google.cloud.teleport.v2.values.BigQueryTablePartition;
+import com.google.common.annotations.VisibleForTesting;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.apache.beam.sdk.io.Compression;
+import org.apache.beam.sdk.io.FileSystems;
+import org.apache.beam.sdk.io.fs.EmptyMatchTreatment;
+import org.apache.beam.sdk.io.fs.MatchResult;
+import org.apache.beam.sdk.io.fs.MoveOptions.StandardMoveOptions;
+import org.apache.beam.sdk.io.fs.ResourceId;
+import org.apache.beam.sdk.transforms.DoFn;
+import org.apache.beam.sdk.transforms.windowing.GlobalWindow;
+import org.apache.beam.sdk.transforms.windowing.PaneInfo;
+import org.apache.beam.sdk.values.KV;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Creates a BigQuery Storage API read session for a table or a single partition of it, and outputs
+ * every stream of the session with the Cloud Storage file {@link BigQueryTableToGcsFn} exports it
+ * to. If the partition in the input is {@code null} the whole table is exported.
+ *
+ * <p>The first stream is exported to the file {@link BigQueryTableToGcsTransform} writes for the
+ * table or partition, so that existing files are still found by {@link
+ * com.google.cloud.teleport.v2.utils.DataplexBigQueryToGcsFilter}. The other streams add their
+ * index to the name of that file. Files of the table or partition left over by an earlier export
+ * with more streams are deleted. A session without streams, for example of an empty table, is
+ * output as a single stream without a name, so that an empty file is still written.
+ *
+ * <p>The Storage Read API doesn't support partition decorators, so the rows of a partition are
+ * selected with a row restriction over the partitioning column.
+ */
+public class CreateBigQueryReadStreamsFn
+    extends DoFn<
+        KV<BigQueryTable, BigQueryTablePartition>,
+        KV<KV<BigQueryTable, BigQueryTablePartition>, BigQueryReadStream>> {
+
+  private static final Logger LOG = LoggerFactory.getLogger(CreateBigQueryReadStreamsFn.class);
+
+  private static final String NULL_PARTITION = "__NULL__";
+  private static final String UNPARTITIONED_PARTITION = "__UNPARTITIONED__";
+
+  /** Time-unit column partitioning only covers the values in [1960-01-01, 2160-01-01). */
+  private static final LocalDateTime MIN_PARTITION_TIME = LocalDateTime.of(1960, 1, 1, 0, 0);
+
+  private static final LocalDateTime MAX_PARTITION_TIME = LocalDateTime.of(2160, 1, 1, 0, 0);
+
+  private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+  private static final DateTimeFormatter DATETIME_FORMAT =
+      DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+  /** The number of table definitions cached by each instance. */
+  private static final int MAX_CACHED_DEFINITIONS = 1000;
+
+  private final String targetRootPath;
+  private final FileFormatOptions outputFileFormat;
+  private final boolean enforceSamePartitionKey;
+
+  private BigQueryClientFactory testBqClientFactory;
+  private BigQueryStorageClientFactory testBqsClientFactory;
+
+  private transient BigQuery bqClient;
+  private transient BigQueryStorageClient bqsClient;
+  private transient BigQueryToGcsDirectoryNaming directoryNaming;
+  private transient Map<String, StandardTableDefinition> definitions;
+
+  public CreateBigQueryReadStreamsFn(
+      String targetRootPath, FileFormatOptions outputFileFormat, boolean enforceSamePartitionKey) {
+    this.targetRootPath = targetRootPath;
+    this.outputFileFormat = outputFileFormat;
+    this.enforceSamePartitionKey = enforceSamePartitionKey;
+  }
+
+  public CreateBigQueryReadStreamsFn withTestBqClientFactory(BigQueryClientFactory factory) {
+    this.testBqClientFactory = factory;
+    return this;
+  }
+
+  public CreateBigQueryReadStreamsFn withTestBqsClientFactory(
+      BigQueryStorageClientFactory factory) {
+    this.testBqsClientFactory = factory;
+    return this;
+  }
+
+  @Setup
+  public void setup() throws IOException {
+    bqClient =
+        testBqClientFactory != null
+            ? testBqClientFactory.createClient()
+            : BigQueryOptions.getDefaultInstance().getService();
+    bqsClient =
+        testBqsClientFactory != null
+            ? testBqsClientFactory.createClient()
+            : BigQueryStorageClient.create();
+    directoryNaming = new BigQueryToGcsDirectoryNaming(enforceSamePartitionKey);
+    definitions = new HashMap<>();
+  }
+
+  @Teardown
+  public void teardown() {
+    if (bqsClient != null) {
+      bqsClient.close();
+    }
+  }
+
+  @ProcessElement
+  public void processElement(ProcessContext c) throws IOException {
+    BigQueryTable table = c.element().getKey();
+    BigQueryTablePartition partition = c.element().getValue();
+
+    TableReadOptions.Builder readOptions = TableReadOptions.newBuilder();
+    String targetPath;
+    BigQueryToGcsFileNaming fileNaming;
+    if (partition == null) {
+      targetPath =
+          String.format(
+              "%s/%s", targetRootPath, directoryNaming.getTableDirectory(table.getTableName()));
+      fileNaming =
+          new BigQueryToGcsFileNaming(outputFileFormat.getFileSuffix(), table.getTableName());
+    } else {
+      readOptions.setRowRestriction(
+          partitionRowRestriction(
+              getDefinition(table), table.getPartitioningColumn(), partition.getPartitionName()));
+      targetPath =
+          String.format(
+              "%s/%s",
+              targetRootPath,
+              directoryNaming.getPartitionDirectory(
+                  table.getTableName(),
+                  partition.getPartitionName(),
+                  table.getPartitioningColumn()));
+      fileNaming =
+          new BigQueryToGcsFileNaming(
+              outputFileFormat.getFileSuffix(), table.getTableName(), partition.getPartitionName());
+    }
+    String fileName =
+        fileNaming.getFilename(
+            GlobalWindow.INSTANCE, PaneInfo.NO_FIRING, 1, 0, Compression.UNCOMPRESSED);
+
+    ReadSession session =
+        BigQueryUtils.createReadSession(
+            bqsClient,
+            DatasetId.of(table.getProject(), table.getDataset()),
+            table.getTableName(),
+            readOptions.build());
+
+    int streamCount = Math.max(1, session.getStreamsCount());
+    List<BigQueryReadStream> streams = new ArrayList<>(streamCount);
+    for (int i = 0; i < streamCount; i++) {
+      streams.add(
+          BigQueryReadStream.builder()
+              .setStreamName(i < session.getStreamsCount() ? session.getStreams(i).getName() : null)
+              .setAvroSchema(session.getAvroSchema().getSchema())
+              .setFileName(
+                  String.format(
+                      "%s/%s",
+                      targetPath, streamFileName(fileName, outputFileFormat.getFileSuffix(), i)))
+              .build());
+    }
+    deleteStaleFiles(targetPath, fileName, streamCount);
+
+    LOG.info(
+        "Exporting table {}{} in {} stream(s).",
+        table.getTableName(),
+        partition != null ? "$" + partition.getPartitionName() : "",
+        streams.size());
+    for (BigQueryReadStream stream : streams) {
+      c.output(KV.of(c.element(), stream));
+    }
+  }
+
+  /**
+   * Returns the name of the file of the stream {@code streamIndex}, given the name {@code fileName}
+   * of the file of the first stream.
+   */
+  @VisibleForTesting
+  static String streamFileName(String fileName, String suffix, int streamIndex) {
+    if (streamIndex == 0) {
+      return fileName;
+    }
+    return String.format(
+        "%s-%d%s", fileName.substring(0, fileName.length() - suffix.length()), streamIndex, suffix);
+  }
+
+  /**
+   * Deletes the files of the streams of the table or partition that are not part of this export,
+   * written by an earlier export with more streams.
+   */
+  private void deleteStaleFiles(String targetPath, String fileName, int streamCount)
+      throws IOException {
+    String suffix = outputFileFormat.getFileSuffix();
+    Set<String> fileNames = new HashSet<>();
+    for (int i = 0; i < streamCount; i++) {
+      fileNames.add(streamFileName(fileName, suffix, i));
+    }
+    String streamFilePattern =
+        String.format(
+            "%s/%s-*%s",
+            targetPath, fileName.substring(0, fileName.length() - suffix.length()), suffix);
+    List<ResourceId> staleFiles = new ArrayList<>();
+    for (MatchResult.Metadata metadata :
+        FileSystems.match(streamFilePattern, EmptyMatchTreatment.ALLOW).metadata()) {
+      if (!fileNames.contains(metadata.resourceId().getFilename())) {
+        staleFiles.add(metadata.resourceId());
+      }
+    }
+    if (!staleFiles.isEmpty()) {
+      LOG.info("Deleting {} file(s) of an earlier export: {}", staleFiles.size(), staleFiles);
+      FileSystems.delete(staleFiles, StandardMoveOptions.IGNORE_MISSING_FILES);
+    }
+  }
+
+  private StandardTableDefinition getDefinition(BigQueryTable table) {
+    TableId tableId = TableId.of(table.getProject(), table.getDataset(), table.getTableName());
+    String key = tableId.toString();
+    StandardTableDefinition definition = definitions.get(key);
+    if (definition == null) {
+      Table bqTable = bqClient.getTable(tableId);
+      checkState(bqTable != null, "Table %s not found.", table.getTableName());
+      definition = bqTable.getDefinition();
+      if (definitions.size() >= MAX_CACHED_DEFINITIONS) {
+        definitions.clear();
+      }
+      definitions.put(key, definition);
+    }
+    return definition;
+  }
+
+  /**
+   * Returns the row restriction selecting the rows of the partition {@code partitionId} of a table
+   * partitioned by the column {@code partitioningColumn}.
+   *
+   * <p>The Storage Read API doesn't support partition decorators, so the partition is selected by
+   * the range of values of the partitioning column it covers.
+   */
+  @VisibleForTesting
+  static String partitionRowRestriction(
+      StandardTableDefinition definition, String partitioningColumn, String partitionId) {
+    String column = "`" + partitioningColumn + "`";
+    if (NULL_PARTITION.equals(partitionId)) {
+      return column + " IS NULL";
+    }
+
+    RangePartitioning rangePartitioning = definition.getRangePartitioning();
+    if (rangePartitioning != null) {
+      RangePartitioning.Range range = rangePartitioning.getRange();
+      if (UNPARTITIONED_PARTITION.equals(partitionId)) {
+        return String.format(
+            "%s < %d OR %s >= %d", column, range.getStart(), column, range.getEnd());
+      }
+      long start = Long.parseLong(partitionId);
+      long end = Math.min(start + range.getInterval(), range.getEnd());
+      return String.format("%s >= %d AND %s < %d", column, start, column, end);
+    }
+
+    TimePartitioning timePartitioning = definition.getTimePartitioning();
+    checkState(
+        timePartitioning != null,
+        "Table partitioned by %s has neither time nor range partitioning.",
+        partitioningColumn);
+    StandardSQLTypeName type =
+        definition.getSchema().getFields().get(partitioningColumn).getType().getStandardType();
+    if (UNPARTITIONED_PARTITION.equals(partitionId)) {
+      return String.format(
+          "%s < %s OR %s >= %s",
+          column,
+          timeLiteral(type, MIN_PARTITION_TIME),
+          column,
+          timeLiteral(type, MAX_PARTITION_TIME));
+    }
+
+    ChronoUnit unit;
+    switch (timePartitioning.getType()) {
+      case HOUR:
+        unit = ChronoUnit.HOURS;
+        break;
+      case DAY:
+        unit = ChronoUnit.DAYS;
+        break;
+      case MONTH:
+        unit = ChronoUnit.MONTHS;
+        break;
+      case YEAR:
+        unit = ChronoUnit.YEARS;
+        break;
+      default:
+        throw new IllegalStateException(
+            "Unsupported time partitioning type: " + timePartitioning.getType());
+    }
+    // Partition IDs are yyyy, yyyyMM, yyyyMMdd or yyyyMMddHH depending on the partitioning type.
+    LocalDateTime start =
+        LocalDateTime.of(
+            Integer.parseInt(partitionId.substring(0, 4)),
+            partitionId.length() >= 6 ? Integer.parseInt(partitionId.substring(4, 6)) : 1,
+            partitionId.length() >= 8 ? Integer.parseInt(partitionId.substring(6, 8)) : 1,
+            partitionId.length() >= 10 ? Integer.parseInt(partitionId.substring(8, 10)) : 0,
+            0);
+    return String.format(
+        "%s >= %s AND %s < %s",
+        column, timeLiteral(type, start), column, timeLiteral(type, start.plus(1, unit)));
+  }
+
+  private static String timeLiteral(StandardSQLTypeName type, LocalDateTime time) {
+    switch (type) {
+      case DATE:
+        return String.format("DATE '%s'", DATE_FORMAT.format(time));
+      case DATETIME:
+        return String.format("DATETIME '%s'", DATETIME_FORMAT.format(time));
+      case TIMESTAMP:
+        return String.format("TIMESTAMP '%s UTC'", DATETIME_FORMAT.format(time));
+      default:
+        throw new IllegalStateException("Unsupported time partitioning column type: " + type);
+    }
+  }
+}
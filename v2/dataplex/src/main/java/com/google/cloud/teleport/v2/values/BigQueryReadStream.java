@@ -0,0 +1,57 @@
+/*
+ * Copyright (C) 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.cloud.teleport.v2.values;
+
+import com.google.auto.value.AutoValue;
+import java.io.Serializable;
+import javax.annotation.Nullable;
+import org.apache.beam.sdk.coders.DefaultCoder;
+import org.apache.beam.sdk.schemas.AutoValueSchema;
+import org.apache.beam.sdk.schemas.SchemaCoder;
+import org.apache.beam.sdk.schemas.annotations.DefaultSchema;
+
+/** A stream of a BigQuery Storage API read session, and the file the stream is exported to. */
+@AutoValue
+@DefaultCoder(SchemaCoder.class)
+@DefaultSchema(AutoValueSchema.class)
+public abstract class BigQueryReadStream implements Serializable {
+
+  /** Name of the stream, {@code null} if the read session has no streams. */
+  @Nullable
+  public abstract String getStreamName();
+
+  /** Avro schema of the rows of the read session. */
+  public abstract String getAvroSchema();
+
+  /** Path of the file the rows of the stream are written to. */
+  public abstract String getFileName();
+
+  public static Builder builder() {
+    return new AutoValue_BigQueryReadStream.Builder();
+  }
+
+  /** Builder for {@link BigQueryReadStream}. */
+  @AutoValue.Builder
+  public abstract static class Builder {
+    public abstract Builder setStreamName(@Nullable String value);
+
+    public abstract Builder setAvroSchema(String value);
+
+    public abstract Builder setFileName(String value);
+
+    public abstract BigQueryReadStream build();
+  }
+}
@@ -22,12 +22,15 @@ import static org.junit.Assert.fail;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
 import com.google.api.client.util.Base64;
+import com.google.api.gax.rpc.ServerStream;
+import com.google.api.gax.rpc.ServerStreamingCallable;
 import com.google.api.services.bigquery.model.JobConfigurationQuery;
 import com.google.api.services.bigquery.model.JobReference;
 import com.google.api.services.bigquery.model.JobStatistics;
@@ -51,8 +54,12 @@ import com.google.cloud.bigquery.FieldValueList;
 import com.google.cloud.bigquery.QueryJobConfiguration;
 import com.google.cloud.bigquery.TableId;
 import com.google.cloud.bigquery.TableResult;
+import com.google.cloud.bigquery.storage.v1beta1.AvroProto.AvroRows;
 import com.google.cloud.bigquery.storage.v1beta1.AvroProto.AvroSchema;
 import com.google.cloud.bigquery.storage.v1beta1.BigQueryStorageClient;
+import com.google.cloud.bigquery.storage.v1beta1.Storage;
+import com.google.cloud.bigquery.storage.v1beta1.Storage.ReadRowsRequest;
+import com.google.cloud.bigquery.storage.v1beta1.Storage.ReadRowsResponse;
 import com.google.cloud.bigquery.storage.v1beta1.Storage.ReadSession;
 import com.google.cloud.teleport.v2.clients.DataplexClient;
 import com.google.cloud.teleport.v2.clients.DataplexClientFactory;
@@ -72,12 +79,15 @@ import com.google.cloud.teleport.v2.values.DataplexEnums.FieldType;
 import com.google.cloud.teleport.v2.values.DataplexEnums.StorageFormat;
 import com.google.cloud.teleport.v2.values.DataplexEnums.StorageSystem;
 import com.google.common.collect.ImmutableList;
+import com.google.protobuf.ByteString;
 import com.google.re2j.Pattern;
 import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalTime;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -91,6 +101,10 @@ import java.util.stream.Stream;
 import org.apache.avro.Schema;
 import org.apache.avro.data.TimeConversions;
 import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericDatumWriter;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.avro.io.BinaryEncoder;
+import org.apache.avro.io.EncoderFactory;
 import org.apache.beam.sdk.Pipeline;
 import org.apache.beam.sdk.coders.KvCoder;
 import org.apache.beam.sdk.coders.ListCoder;
@@ -139,8 +153,8 @@ public class DataplexBigQueryToGcsTest {
   // These have to be static, otherwise they won't be serialized properly when passed to transforms.
   @Mock private static BigQuery bqMock;
   @Mock private static DataplexClient dataplexClientMock;
+  @Mock private static BigQueryStorageClient bqsMock;
 
-  @Mock private BigQueryStorageClient bqsMock;
   @Mock private TableResult tableResultMock;
 
   private BigQueryMetadataLoader metadataLoader;
@@ -837,6 +851,119 @@ public class DataplexBigQueryToGcsTest {
     verify(dataplexClientMock, times(1)).createEntity(any(), any());
   }
 
+  /**
+   * Tests that {@link DataplexBigQueryToGcs#transformPipelineDynamically} exports every stream of
+   * the read session of a table to its own file, and truncates the table only once.
+   */
+  @Test
+  @Category(NeedsRunner.class)
+  public void testE2E_dynamicExport_exportsEveryStreamAndTruncatesTableOnce() throws Exception {
+    options.setFileFormat(FileFormatOptions.AVRO);
+    options.setUpdateDataplexMetadata(false);
+    options.setDeleteSourceData(true);
+
+    when(bqsMock.createReadSession(any()))
+        .thenReturn(
+            ReadSession.newBuilder()
+                .setAvroSchema(AvroSchema.newBuilder().setSchema(avroSchema.toString()))
+                .addStreams(Storage.Stream.newBuilder().setName("s0"))
+                .addStreams(Storage.Stream.newBuilder().setName("s1"))
+                .build());
+    Map<String, ReadRowsResponse> streamRows = new HashMap<>();
+    streamRows.put("s0", readRowsResponse(Arrays.copyOfRange(defaultRecords, 0, 2)));
+    streamRows.put("s1", readRowsResponse(Arrays.copyOfRange(defaultRecords, 2, 5)));
+    @SuppressWarnings("unchecked")
+    ServerStreamingCallable<ReadRowsRequest, ReadRowsResponse> readRowsMock =
+        mock(ServerStreamingCallable.class);
+    when(bqsMock.readRowsCallable()).thenReturn(readRowsMock);
+    when(readRowsMock.call(any()))
+        .thenAnswer(
+            invocation -> {
+              ReadRowsRequest request = invocation.getArgument(0);
+              @SuppressWarnings("unchecked")
+              ServerStream<ReadRowsResponse> stream = mock(ServerStream.class);
+              when(stream.iterator())
+                  .thenReturn(
+                      Collections.singletonList(
+                              streamRows.get(request.getReadPosition().getStream().getName()))
+                          .iterator());
+              return stream;
+            });
+
+    Pipeline p = Pipeline.create(options);
+    DataplexBigQueryToGcs.transformPipelineDynamically(
+        p,
+        DatasetId.of(PROJECT, DATASET),
+        options,
+        outDir.getAbsolutePath(),
+        dataplexClientFactory,
+        () -> bqMock,
+        () -> bqsMock);
+    p.run();
+
+    verify(bqMock, times(1))
+        .query(
+            QueryJobConfiguration.newBuilder(
+                    "truncate table `test-project1.test-dataset1.unpartitioned_table`")
+                .build());
+
+    PCollection<String> actualRecords0 =
+        testPipeline
+            .apply(
+                "readStream0File",
+                AvroIO.readGenericRecords(avroSchema)
+                    .from(
+                        outDir.getAbsolutePath()
+                            + "/unpartitioned_table/output-unpartitioned_table.avro"))
+            .apply(
+                "mapStream0File",
+                MapElements.into(TypeDescriptors.strings()).via(Object::toString));
+    PCollection<String> actualRecords1 =
+        testPipeline
+            .apply(
+                "readStream1File",
+                AvroIO.readGenericRecords(avroSchema)
+                    .from(
+                        outDir.getAbsolutePath()
+                            + "/unpartitioned_table/output-unpartitioned_table-1.avro"))
+            .apply(
+                "mapStream1File",
+                MapElements.into(TypeDescriptors.strings()).via(Object::toString));
+
+    PAssert.that(actualRecords0)
+        .containsInAnyOrder(Arrays.copyOfRange(defaultExpectedRecords, 0, 2));
+    PAssert.that(actualRecords1)
+        .containsInAnyOrder(Arrays.copyOfRange(defaultExpectedRecords, 2, 5));
+
+    testPipeline.run();
+  }
+
+  /**
+   * Encodes {@code records} like the Storage Read API does. The values are written without the
+   * logical type conversions registered in {@link #setUp}, like BigQuery sends them.
+   */
+  private ReadRowsResponse readRowsResponse(TableRow... records) throws IOException {
+    GenericDatumWriter<GenericRecord> writer =
+        new GenericDatumWriter<>(avroSchema, new GenericData());
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    BinaryEncoder encoder = EncoderFactory.get().binaryEncoder(out, null);
+    for (TableRow row : records) {
+      GenericRecord record = new GenericData.Record(avroSchema);
+      record.put("ts", row.get("ts"));
+      record.put("s1", row.get("s1"));
+      record.put("d1", (int) LocalDate.parse((String) row.get("d1")).toEpochDay());
+      record.put("t1", LocalTime.parse((String) row.get("t1")).toNanoOfDay() / 1000);
+      record.put("dt", row.get("dt"));
+      record.put("i1", row.get("i1"));
+      writer.write(record, encoder);
+    }
+    encoder.flush();
+    return ReadRowsResponse.newBuilder()
+        .setAvroRows(
+            AvroRows.newBuilder().setSerializedBinaryRows(ByteString.copyFrom(out.toByteArray())))
+        .build();
+  }
+
   private String readFirstLine(File outputFile) throws FileNotFoundException {
     Scanner fileReader = new Scanner(outputFile);
     String result = fileReader.nextLine();
@@ -0,0 +1,223 @@
+/*
+ * Copyright (C) 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.cloud.teleport.v2.transforms;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.google.api.gax.rpc.ServerStream;
+import com.google.api.gax.rpc.ServerStreamingCallable;
+import com.google.cloud.bigquery.storage.v1beta1.AvroProto.AvroRows;
+import com.google.cloud.bigquery.storage.v1beta1.BigQueryStorageClient;
+import com.google.cloud.bigquery.storage.v1beta1.Storage.ReadRowsRequest;
+import com.google.cloud.bigquery.storage.v1beta1.Storage.ReadRowsResponse;
+import com.google.cloud.teleport.v2.utils.FileFormat.FileFormatOptions;
+import com.google.cloud.teleport.v2.utils.SerializableSchemaSupplier;
+import com.google.cloud.teleport.v2.values.BigQueryReadStream;
+import com.google.cloud.teleport.v2.values.BigQueryTable;
+import com.google.cloud.teleport.v2.values.BigQueryTablePartition;
+import com.google.cloud.teleport.v2.values.DataplexCompression;
+import com.google.protobuf.ByteString;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.avro.Schema;
+import org.apache.avro.file.DataFileReader;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericDatumReader;
+import org.apache.avro.generic.GenericDatumWriter;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.avro.io.BinaryEncoder;
+import org.apache.avro.io.EncoderFactory;
+import org.apache.beam.sdk.coders.CannotProvideCoderException;
+import org.apache.beam.sdk.coders.Coder;
+import org.apache.beam.sdk.coders.CoderRegistry;
+import org.apache.beam.sdk.coders.KvCoder;
+import org.apache.beam.sdk.coders.NullableCoder;
+import org.apache.beam.sdk.testing.NeedsRunner;
+import org.apache.beam.sdk.testing.PAssert;
+import org.apache.beam.sdk.testing.TestPipeline;
+import org.apache.beam.sdk.transforms.Create;
+import org.apache.beam.sdk.transforms.MapElements;
+import org.apache.beam.sdk.transforms.ParDo;
+import org.apache.beam.sdk.values.KV;
+import org.apache.beam.sdk.values.PCollection;
+import org.apache.beam.sdk.values.TypeDescriptors;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+
+/** Unit tests for {@link BigQueryTableToGcsFn}. */
+@RunWith(JUnit4.class)
+public class BigQueryTableToGcsFnTest {
+  private static final Schema AVRO_SCHEMA =
+      new Schema.Parser()
+          .parse(
+              "{\"type\":\"record\",\"name\":\"__root__\",\"fields\":"
+                  + "[{\"name\":\"s1\",\"type\":[\"null\",\"string\"]},"
+                  + "{\"name\":\"i1\",\"type\":[\"null\",\"long\"]}]}");
+
+  @Rule public final MockitoRule mockito = MockitoJUnit.rule();
+  @Rule public final TemporaryFolder tmpDir = new TemporaryFolder();
+  @Rule public final TestPipeline testPipeline = TestPipeline.create();
+
+  // This has to be static, otherwise it won't be serialized properly when passed to transforms.
+  @Mock private static BigQueryStorageClient bqsMock;
+
+  private BigQueryTable table;
+  private Coder<KV<KV<BigQueryTable, BigQueryTablePartition>, BigQueryReadStream>> fnCoder;
+  private final Map<String, List<ReadRowsResponse>> streamResponses = new HashMap<>();
+
+  @Before
+  public void setUp() throws CannotProvideCoderException {
+    table =
+        BigQueryTable.builder()
+            .setTableName("t1")
+            .setProject("pr1")
+            .setDataset("d1")
+            .setLastModificationTime(123L)
+            .setSchemaSupplier(SerializableSchemaSupplier.of(AVRO_SCHEMA))
+            .build();
+
+    CoderRegistry cr = testPipeline.getCoderRegistry();
+    fnCoder =
+        KvCoder.of(
+            KvCoder.of(
+                cr.getCoder(BigQueryTable.class),
+                NullableCoder.of(cr.getCoder(BigQueryTablePartition.class))),
+            cr.getCoder(BigQueryReadStream.class));
+
+    @SuppressWarnings("unchecked")
+    ServerStreamingCallable<ReadRowsRequest, ReadRowsResponse> readRowsMock =
+        mock(ServerStreamingCallable.class);
+    when(bqsMock.readRowsCallable()).thenReturn(readRowsMock);
+    when(readRowsMock.call(any()))
+        .thenAnswer(
+            invocation -> {
+              ReadRowsRequest request = invocation.getArgument(0);
+              List<ReadRowsResponse> responses =
+                  streamResponses.get(request.getReadPosition().getStream().getName());
+              @SuppressWarnings("unchecked")
+              ServerStream<ReadRowsResponse> stream = mock(ServerStream.class);
+              when(stream.iterator()).thenReturn(responses.iterator());
+              return stream;
+            });
+  }
+
+  @Test
+  @Category(NeedsRunner.class)
+  public void testProcessElement_writesEveryStreamToItsFile() throws IOException {
+    streamResponses.put(
+        "s0",
+        Arrays.asList(response(record("a", 1L), record("b", 2L)), response(record("c", null))));
+    streamResponses.put("s1", Arrays.asList(response(record("d", 4L))));
+    String file0 = tmpDir.getRoot().getAbsolutePath() + "/output-t1.avro";
+    String file1 = tmpDir.getRoot().getAbsolutePath() + "/output-t1-1.avro";
+
+    PCollection<String> actual = runFn(stream("s0", file0), stream("s1", file1));
+    PAssert.that(actual).containsInAnyOrder(file0, file1);
+    testPipeline.run();
+
+    assertThat(readFile(file0))
+        .containsExactly(record("a", 1L), record("b", 2L), record("c", null))
+        .inOrder();
+    assertThat(readFile(file1)).containsExactly(record("d", 4L));
+  }
+
+  @Test
+  @Category(NeedsRunner.class)
+  public void testProcessElement_withoutStreamName_writesEmptyFile() throws IOException {
+    String file = tmpDir.getRoot().getAbsolutePath() + "/output-t1.avro";
+
+    PCollection<String> actual = runFn(stream(null, file));
+    PAssert.that(actual).containsInAnyOrder(file);
+    testPipeline.run();
+
+    assertThat(readFile(file)).isEmpty();
+  }
+
+  private PCollection<String> runFn(BigQueryReadStream... streams) {
+    List<KV<KV<BigQueryTable, BigQueryTablePartition>, BigQueryReadStream>> input =
+        new ArrayList<>();
+    for (BigQueryReadStream stream : streams) {
+      input.add(KV.of(KV.of(table, (BigQueryTablePartition) null), stream));
+    }
+    return testPipeline
+        .apply("CreateInput", Create.of(input).withCoder(fnCoder))
+        .apply(
+            "TestBigQueryTableToGcsFn",
+            ParDo.of(
+                new BigQueryTableToGcsFn(
+                        FileFormatOptions.AVRO, DataplexCompression.UNCOMPRESSED, false)
+                    .withTestBqsClientFactory(() -> bqsMock)))
+        .apply(
+            "GetFileNames",
+            MapElements.into(TypeDescriptors.strings()).via(kv -> kv.getValue().getValue()));
+  }
+
+  private static BigQueryReadStream stream(String streamName, String fileName) {
+    return BigQueryReadStream.builder()
+        .setStreamName(streamName)
+        .setAvroSchema(AVRO_SCHEMA.toString())
+        .setFileName(fileName)
+        .build();
+  }
+
+  private static GenericRecord record(String s1, Long i1) {
+    GenericRecord record = new GenericData.Record(AVRO_SCHEMA);
+    record.put("s1", s1);
+    record.put("i1", i1);
+    return record;
+  }
+
+  private static ReadRowsResponse response(GenericRecord... records) throws IOException {
+    GenericDatumWriter<GenericRecord> writer = new GenericDatumWriter<>(AVRO_SCHEMA);
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    BinaryEncoder encoder = EncoderFactory.get().binaryEncoder(out, null);
+    for (GenericRecord record : records) {
+      writer.write(record, encoder);
+    }
+    encoder.flush();
+    return ReadRowsResponse.newBuilder()
+        .setAvroRows(
+            AvroRows.newBuilder().setSerializedBinaryRows(ByteString.copyFrom(out.toByteArray())))
+        .build();
+  }
+
+  private static List<GenericRecord> readFile(String fileName) throws IOException {
+    List<GenericRecord> records = new ArrayList<>();
+    try (DataFileReader<GenericRecord> reader =
+        new DataFileReader<>(new File(fileName), new GenericDatumReader<>(AVRO_SCHEMA))) {
+      // Strings are read as Utf8, so the records are copied to compare them with the expected ones.
+      reader.forEach(r -> records.add(record(r.get("s1").toString(), (Long) r.get("i1"))));
+    }
+    return records;
+  }
+}
@@ -0,0 +1,256 @@
+/*
+ * Copyright (C) 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.cloud.teleport.v2.transforms;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.when;
+
+import com.google.cloud.bigquery.BigQuery;
+import com.google.cloud.bigquery.Field;
+import com.google.cloud.bigquery.RangePartitioning;
+import com.google.cloud.bigquery.Schema;
+import com.google.cloud.bigquery.StandardSQLTypeName;
+import com.google.cloud.bigquery.StandardTableDefinition;
+import com.google.cloud.bigquery.TimePartitioning;
+import com.google.cloud.bigquery.storage.v1beta1.AvroProto.AvroSchema;
+import com.google.cloud.bigquery.storage.v1beta1.BigQueryStorageClient;
+import com.google.cloud.bigquery.storage.v1beta1.Storage.ReadSession;
+import com.google.cloud.bigquery.storage.v1beta1.Storage.Stream;
+import com.google.cloud.teleport.v2.utils.FileFormat.FileFormatOptions;
+import com.google.cloud.teleport.v2.utils.SerializableSchemaSupplier;
+import com.google.cloud.teleport.v2.values.BigQueryReadStream;
+import com.google.cloud.teleport.v2.values.BigQueryTable;
+import com.google.cloud.teleport.v2.values.BigQueryTablePartition;
+import java.io.File;
+import java.io.IOException;
+import org.apache.beam.sdk.coders.CannotProvideCoderException;
+import org.apache.beam.sdk.coders.Coder;
+import org.apache.beam.sdk.coders.CoderRegistry;
+import org.apache.beam.sdk.coders.KvCoder;
+import org.apache.beam.sdk.coders.NullableCoder;
+import org.apache.beam.sdk.testing.NeedsRunner;
+import org.apache.beam.sdk.testing.PAssert;
+import org.apache.beam.sdk.testing.TestPipeline;
+import org.apache.beam.sdk.transforms.Create;
+import org.apache.beam.sdk.transforms.ParDo;
+import org.apache.beam.sdk.transforms.Values;
+import org.apache.beam.sdk.values.KV;
+import org.apache.beam.sdk.values.PCollection;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+
+/** Unit tests for {@link CreateBigQueryReadStreamsFn}. */
+@RunWith(JUnit4.class)
+public class CreateBigQueryReadStreamsFnTest {
+  private static final String AVRO_SCHEMA =
+      "{\"type\":\"record\",\"name\":\"__root__\",\"fields\":"
+          + "[{\"name\":\"i1\",\"type\":[\"null\",\"long\"]}]}";
+
+  @Rule public final MockitoRule mockito = MockitoJUnit.rule();
+  @Rule public final TemporaryFolder tmpDir = new TemporaryFolder();
+  @Rule public final TestPipeline testPipeline = TestPipeline.create();
+
+  // These have to be static, otherwise they won't be serialized properly when passed to transforms.
+  @Mock private static BigQuery bqMock;
+  @Mock private static BigQueryStorageClient bqsMock;
+
+  private BigQueryTable table;
+  private String tableDir;
+  private Coder<KV<BigQueryTable, BigQueryTablePartition>> fnCoder;
+
+  @Before
+  public void setUp() throws CannotProvideCoderException, IOException {
+    table =
+        BigQueryTable.builder()
+            .setTableName("t1")
+            .setProject("pr1")
+            .setDataset("d1")
+            .setLastModificationTime(123L)
+            .setSchemaSupplier(
+                SerializableSchemaSupplier.of(
+                    new org.apache.avro.Schema.Parser().parse(AVRO_SCHEMA)))
+            .build();
+    tableDir = tmpDir.newFolder("out", "t1").getAbsolutePath();
+
+    CoderRegistry cr = testPipeline.getCoderRegistry();
+    fnCoder =
+        KvCoder.of(
+            cr.getCoder(BigQueryTable.class),
+            NullableCoder.of(cr.getCoder(BigQueryTablePartition.class)));
+  }
+
+  @Test
+  public void testStreamFileName() {
+    assertThat(CreateBigQueryReadStreamsFn.streamFileName("output-t1.parquet", ".parquet", 0))
+        .isEqualTo("output-t1.parquet");
+    assertThat(CreateBigQueryReadStreamsFn.streamFileName("output-t1.parquet", ".parquet", 2))
+        .isEqualTo("output-t1-2.parquet");
+  }
+
+  @Test
+  @Category(NeedsRunner.class)
+  public void testProcessElement_outputsEveryStreamAndDeletesStaleFiles() throws IOException {
+    when(bqsMock.createReadSession(any()))
+        .thenReturn(
+            ReadSession.newBuilder()
+                .setAvroSchema(AvroSchema.newBuilder().setSchema(AVRO_SCHEMA))
+                .addStreams(Stream.newBuilder().setName("s0"))
+                .addStreams(Stream.newBuilder().setName("s1"))
+                .build());
+    // Files of an earlier export with more streams:
+    File keptFile = new File(tableDir, "output-t1-1.parquet");
+    File staleFile = new File(tableDir, "output-t1-2.parquet");
+    assertThat(keptFile.createNewFile()).isTrue();
+    assertThat(staleFile.createNewFile()).isTrue();
+
+    PCollection<BigQueryReadStream> actual = runFn();
+    PAssert.that(actual)
+        .containsInAnyOrder(stream("s0", "output-t1.parquet"), stream("s1", "output-t1-1.parquet"));
+    testPipeline.run();
+
+    assertThat(keptFile.exists()).isTrue();
+    assertThat(staleFile.exists()).isFalse();
+  }
+
+  @Test
+  @Category(NeedsRunner.class)
+  public void testProcessElement_withoutStreams_outputsOneStreamWithoutName() {
+    when(bqsMock.createReadSession(any()))
+        .thenReturn(
+            ReadSession.newBuilder()
+                .setAvroSchema(AvroSchema.newBuilder().setSchema(AVRO_SCHEMA))
+                .build());
+
+    PCollection<BigQueryReadStream> actual = runFn();
+    PAssert.that(actual).containsInAnyOrder(stream(null, "output-t1.parquet"));
+    testPipeline.run();
+  }
+
+  private PCollection<BigQueryReadStream> runFn() {
+    return testPipeline
+        .apply(
+            "CreateInput",
+            Create.of(KV.of(table, (BigQueryTablePartition) null)).withCoder(fnCoder))
+        .apply(
+            "TestCreateBigQueryReadStreamsFn",
+            ParDo.of(
+                new CreateBigQueryReadStreamsFn(
+                        tmpDir.getRoot().getAbsolutePath() + "/out",
+                        FileFormatOptions.PARQUET,
+                        false)
+                    .withTestBqClientFactory(() -> bqMock)
+                    .withTestBqsClientFactory(() -> bqsMock)))
+        .apply("GetStreams", Values.create());
+  }
+
+  private BigQueryReadStream stream(String streamName, String fileName) {
+    return BigQueryReadStream.builder()
+        .setStreamName(streamName)
+        .setAvroSchema(AVRO_SCHEMA)
+        .setFileName(tableDir + "/" + fileName)
+        .build();
+  }
+
+  private static StandardTableDefinition timePartitioned(
+      StandardSQLTypeName type, TimePartitioning.Type partitioningType) {
+    return StandardTableDefinition.newBuilder()
+        .setSchema(Schema.of(Field.of("id", StandardSQLTypeName.INT64), Field.of("ts", type)))
+        .setTimePartitioning(TimePartitioning.newBuilder(partitioningType).setField("ts").build())
+        .build();
+  }
+
+  @Test
+  public void testPartitionRowRestriction_datePartitions() {
+    StandardTableDefinition definition =
+        timePartitioned(StandardSQLTypeName.DATE, TimePartitioning.Type.DAY);
+
+    assertThat(CreateBigQueryReadStreamsFn.partitionRowRestriction(definition, "ts", "20240131"))
+        .isEqualTo("`ts` >= DATE '2024-01-31' AND `ts` < DATE '2024-02-01'");
+    assertThat(CreateBigQueryReadStreamsFn.partitionRowRestriction(definition, "ts", "__NULL__"))
+        .isEqualTo("`ts` IS NULL");
+    assertThat(
+            CreateBigQueryReadStreamsFn.partitionRowRestriction(
+                definition, "ts", "__UNPARTITIONED__"))
+        .isEqualTo("`ts` < DATE '1960-01-01' OR `ts` >= DATE '2160-01-01'");
+  }
+
+  @Test
+  public void testPartitionRowRestriction_timestampPartitions() {
+    assertThat(
+            CreateBigQueryReadStreamsFn.partitionRowRestriction(
+                timePartitioned(StandardSQLTypeName.TIMESTAMP, TimePartitioning.Type.HOUR),
+                "ts",
+                "2024013123"))
+        .isEqualTo(
+            "`ts` >= TIMESTAMP '2024-01-31 23:00:00 UTC'"
+                + " AND `ts` < TIMESTAMP '2024-02-01 00:00:00 UTC'");
+    assertThat(
+            CreateBigQueryReadStreamsFn.partitionRowRestriction(
+                timePartitioned(StandardSQLTypeName.TIMESTAMP, TimePartitioning.Type.YEAR),
+                "ts",
+                "2024"))
+        .isEqualTo(
+            "`ts` >= TIMESTAMP '2024-01-01 00:00:00 UTC'"
+                + " AND `ts` < TIMESTAMP '2025-01-01 00:00:00 UTC'");
+  }
+
+  @Test
+  public void testPartitionRowRestriction_datetimePartitions() {
+    assertThat(
+            CreateBigQueryReadStreamsFn.partitionRowRestriction(
+                timePartitioned(StandardSQLTypeName.DATETIME, TimePartitioning.Type.MONTH),
+                "ts",
+                "202412"))
+        .isEqualTo(
+            "`ts` >= DATETIME '2024-12-01 00:00:00' AND `ts` < DATETIME '2025-01-01 00:00:00'");
+  }
+
+  @Test
+  public void testPartitionRowRestriction_rangePartitions() {
+    StandardTableDefinition definition =
+        StandardTableDefinition.newBuilder()
+            .setSchema(Schema.of(Field.of("id", StandardSQLTypeName.INT64)))
+            .setRangePartitioning(
+                RangePartitioning.newBuilder()
+                    .setField("id")
+                    .setRange(
+                        RangePartitioning.Range.newBuilder()
+                            .setStart(0L)
+                            .setEnd(25L)
+                            .setInterval(10L)
+                            .build())
+                    .build())
+            .build();
+
+    assertThat(CreateBigQueryReadStreamsFn.partitionRowRestriction(definition, "id", "10"))
+        .isEqualTo("`id` >= 10 AND `id` < 20");
+    assertThat(CreateBigQueryReadStreamsFn.partitionRowRestriction(definition, "id", "20"))
+        .isEqualTo("`id` >= 20 AND `id` < 25");
+    assertThat(
+            CreateBigQueryReadStreamsFn.partitionRowRestriction(
+                definition, "id", "__UNPARTITIONED__"))
+        .isEqualTo("`id` < 0 OR `id` >= 25");
+  }
+}
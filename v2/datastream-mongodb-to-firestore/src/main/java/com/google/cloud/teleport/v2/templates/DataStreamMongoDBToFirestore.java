@@ -38,6 +38,7 @@ import com.google.cloud.teleport.v2.transforms.DLQWriteTransform;
 import com.google.cloud.teleport.v2.transforms.JavascriptTextTransformer.FailsafeJavascriptUdf;
 import com.google.cloud.teleport.v2.transforms.JavascriptTextTransformer.JavascriptTextTransformerOptions;
 import com.google.cloud.teleport.v2.transforms.MongoDbEventDeadLetterQueueSanitizer;
+import com.google.cloud.teleport.v2.transforms.ParallelBackfillWriteFn;
 import com.google.cloud.teleport.v2.transforms.ProcessChangeEventFn;
 import com.google.cloud.teleport.v2.transforms.Utils;
 import com.google.cloud.teleport.v2.values.FailsafeElement;
@@ -401,6 +402,44 @@ public class DataStreamMongoDBToFirestore {
     Integer getBatchSize();
 
     void setBatchSize(Integer value);
+
+    @TemplateParameter.Boolean(
+        order = 25,
+        optional = true,
+        description = "Use parallel backfill writer",
+        helpText =
+            "When true, backfill events processed without shadow tables are written with bulk"
+                + " writes kept in flight concurrently across collections, sized by BSON bytes and"
+                + " backing off when the target throttles. Default: false")
+    @Default.Boolean(false)
+    Boolean getUseParallelBackfillWriter();
+
+    void setUseParallelBackfillWriter(Boolean value);
+
+    @TemplateParameter.Integer(
+        order = 26,
+        optional = true,
+        description = "Maximum in flight backfill writes",
+        helpText =
+            "The maximum number of concurrent bulk writes per worker thread used by the parallel"
+                + " backfill writer. Defaults to `8`.")
+    @Default.Integer(8)
+    Integer getBackfillMaxInFlightWrites();
+
+    void setBackfillMaxInFlightWrites(Integer value);
+
+    @TemplateParameter.Long(
+        order = 27,
+        optional = true,
+        description = "Maximum backfill batch bytes",
+        helpText =
+            "The maximum BSON size in bytes of a bulk write issued by the parallel backfill"
+                + " writer. A batch is written when it reaches either this size or the batch size."
+                + " Defaults to `4194304`.")
+    @Default.Long(4194304L)
+    Long getBackfillMaxBatchBytes();
+
+    void setBackfillMaxBatchBytes(Long value);
   }
 
   /**
@@ -601,6 +640,27 @@ public class DataStreamMongoDBToFirestore {
                           ProcessChangeEventFn.successfulWriteTag,
                           TupleTagList.of(ProcessChangeEventFn.failedWriteTag)
                               .and(ProcessChangeEventFn.severeFailedWriteTag)));
+    } else if (options.getUseParallelBackfillWriter()) {
+      // Process backfill without shadow tables, keeping bulk writes in flight concurrently
+      backfillResult =
+          splitEvents
+              .get(SplitBackfillAndCdcEventsFn.backfillTag)
+              .apply(
+                  "Process Backfill with Parallel Writer",
+                  ParDo.of(
+                          new ParallelBackfillWriteFn(
+                              connectionString,
+                              options.getDatabaseName(),
+                              options.getBatchSize(),
+                              options.getBackfillMaxBatchBytes(),
+                              options.getBackfillMaxInFlightWrites(),
+                              ProcessBackfillEventFn.successfulWriteTag,
+                              ProcessBackfillEventFn.failedWriteTag,
+                              ProcessBackfillEventFn.severeFailedWriteTag))
+                      .withOutputTags(
+                          ProcessBackfillEventFn.successfulWriteTag,
+                          TupleTagList.of(ProcessBackfillEventFn.failedWriteTag)
+                              .and(ProcessBackfillEventFn.severeFailedWriteTag)));
     } else {
       // Process backfill without shadow tables
       backfillResult =
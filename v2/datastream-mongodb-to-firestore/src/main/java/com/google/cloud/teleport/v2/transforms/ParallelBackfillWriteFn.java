@@ -0,0 +1,535 @@
+/*
+ * Copyright (C) 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.cloud.teleport.v2.transforms;
+
+import static com.mongodb.client.model.Filters.eq;
+
+import com.google.cloud.teleport.v2.templates.datastream.MongoDbChangeEventContext;
+import com.google.cloud.teleport.v2.values.FailsafeElement;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Throwables;
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.MongoClientSettings;
+import com.mongodb.MongoException;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.DeleteOneModel;
+import com.mongodb.client.model.ReplaceOneModel;
+import com.mongodb.client.model.ReplaceOptions;
+import com.mongodb.client.model.WriteModel;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.beam.sdk.metrics.Counter;
+import org.apache.beam.sdk.metrics.Distribution;
+import org.apache.beam.sdk.metrics.Gauge;
+import org.apache.beam.sdk.metrics.Metrics;
+import org.apache.beam.sdk.transforms.DoFn;
+import org.apache.beam.sdk.transforms.windowing.GlobalWindow;
+import org.apache.beam.sdk.values.TupleTag;
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.UuidRepresentation;
+import org.bson.codecs.Codec;
+import org.bson.conversions.Bson;
+import org.joda.time.Instant;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * DoFn to process backfill events using bulk writes which are kept in flight concurrently across
+ * collections.
+ *
+ * <p>Events are buffered per collection and flushed when either {@code batchSize} events or {@code
+ * maxBatchBytes} BSON bytes are buffered. Documents are encoded to {@link RawBsonDocument} once
+ * when buffered, which gives the exact batch size and lets the driver send the bytes without
+ * encoding the document again.
+ *
+ * <p>Bulk writes are submitted to a thread pool. The batches of a collection are written one after
+ * the other, in the order they were buffered, so that a replace and a delete of the same document
+ * in consecutive batches are applied in order. The number of writes in flight is bounded by an
+ * adaptive limit, which is halved whenever the target reports throttling and grows back by one
+ * after as many successful writes as the current limit, up to {@code maxInFlightWrites}. Throttled
+ * writes are retried with exponential backoff before being sent to the retry DLQ.
+ */
+public class ParallelBackfillWriteFn
+    extends DoFn<MongoDbChangeEventContext, MongoDbChangeEventContext> {
+
+  private static final Logger LOG = LoggerFactory.getLogger(ParallelBackfillWriteFn.class);
+
+  // Error codes reported when the target is overloaded or a request ran out of time.
+  private static final int EXCEEDED_TIME_LIMIT = 262;
+  private static final int REQUEST_RATE_TOO_LARGE = 16500;
+  private static final int MAX_TIME_MS_EXPIRED = 50;
+
+  private static final int MAX_THROTTLE_RETRIES = 5;
+  private static final long INITIAL_BACKOFF_MS = 500;
+  private static final long MAX_BACKOFF_MS = 30_000;
+
+  private static final Codec<Document> DOCUMENT_CODEC =
+      MongoClientSettings.getDefaultCodecRegistry().get(Document.class);
+
+  private final String connectionString;
+  private final String targetDatabaseName;
+  private final int batchSize;
+  private final long maxBatchBytes;
+  private final int maxInFlightWrites;
+  private final TupleTag<MongoDbChangeEventContext> successfulWriteTag;
+  private final TupleTag<FailsafeElement<MongoDbChangeEventContext, MongoDbChangeEventContext>>
+      failedWriteTag;
+  private final TupleTag<FailsafeElement<MongoDbChangeEventContext, MongoDbChangeEventContext>>
+      severeFailedWriteTag;
+
+  private transient MongoClient client;
+  private transient ExecutorService executor;
+  private transient AdaptiveLimit inFlightLimit;
+  private transient Map<String, Batch> batches;
+  private transient List<CompletableFuture<Void>> futures;
+  // The last write submitted for every collection, which the next one of the collection waits for.
+  private transient Map<String, CompletableFuture<Void>> lastWrites;
+  private transient ConcurrentLinkedQueue<WriteOutcome> outcomes;
+
+  private final Counter successfulWrites =
+      Metrics.counter(ParallelBackfillWriteFn.class, "successfulWrites");
+  private final Counter retriableFailedWrites =
+      Metrics.counter(ParallelBackfillWriteFn.class, "retriableFailedWrites");
+  private final Counter severeFailedWrites =
+      Metrics.counter(ParallelBackfillWriteFn.class, "severeFailedWrites");
+  private final Counter writtenBytes =
+      Metrics.counter(ParallelBackfillWriteFn.class, "writtenBytes");
+  private final Counter throttledWrites =
+      Metrics.counter(ParallelBackfillWriteFn.class, "throttledWrites");
+  private final Distribution batchBytes =
+      Metrics.distribution(ParallelBackfillWriteFn.class, "batchBytes");
+  private final Distribution bulkWriteLatencyMs =
+      Metrics.distribution(ParallelBackfillWriteFn.class, "bulkWriteLatencyMs");
+  private final Gauge inFlightWrites =
+      Metrics.gauge(ParallelBackfillWriteFn.class, "inFlightWrites");
+  private final Gauge inFlightLimitGauge =
+      Metrics.gauge(ParallelBackfillWriteFn.class, "inFlightWriteLimit");
+
+  public ParallelBackfillWriteFn(
+      String connectionString,
+      String databaseName,
+      int batchSize,
+      long maxBatchBytes,
+      int maxInFlightWrites,
+      TupleTag<MongoDbChangeEventContext> successfulWriteTag,
+      TupleTag<FailsafeElement<MongoDbChangeEventContext, MongoDbChangeEventContext>>
+          failedWriteTag,
+      TupleTag<FailsafeElement<MongoDbChangeEventContext, MongoDbChangeEventContext>>
+          severeFailedWriteTag) {
+    this.connectionString = connectionString;
+    this.targetDatabaseName = databaseName;
+    this.batchSize = batchSize;
+    this.maxBatchBytes = maxBatchBytes;
+    this.maxInFlightWrites = Math.max(1, maxInFlightWrites);
+    this.successfulWriteTag = successfulWriteTag;
+    this.failedWriteTag = failedWriteTag;
+    this.severeFailedWriteTag = severeFailedWriteTag;
+  }
+
+  @VisibleForTesting
+  ParallelBackfillWriteFn(
+      MongoClient client,
+      String databaseName,
+      int batchSize,
+      long maxBatchBytes,
+      int maxInFlightWrites,
+      TupleTag<MongoDbChangeEventContext> successfulWriteTag,
+      TupleTag<FailsafeElement<MongoDbChangeEventContext, MongoDbChangeEventContext>>
+          failedWriteTag,
+      TupleTag<FailsafeElement<MongoDbChangeEventContext, MongoDbChangeEventContext>>
+          severeFailedWriteTag) {
+    this(
+        "",
+        databaseName,
+        batchSize,
+        maxBatchBytes,
+        maxInFlightWrites,
+        successfulWriteTag,
+        failedWriteTag,
+        severeFailedWriteTag);
+    this.client = client;
+  }
+
+  @Setup
+  public void setup() {
+    LOG.info(
+        "Setting up parallel backfill writer with batch size: {}, max batch bytes: {}, max in"
+            + " flight writes: {}",
+        batchSize,
+        maxBatchBytes,
+        maxInFlightWrites);
+    if (client == null) {
+      MongoClientSettings settings =
+          MongoClientSettings.builder()
+              .applyConnectionString(new com.mongodb.ConnectionString(connectionString))
+              .applyToSocketSettings(
+                  builder -> {
+                    builder.connectTimeout(60, TimeUnit.SECONDS);
+                    builder.readTimeout(60, TimeUnit.SECONDS);
+                  })
+              .applyToClusterSettings(
+                  builder -> builder.serverSelectionTimeout(10, TimeUnit.MINUTES))
+              // Every in flight write needs its own connection.
+              .applyToConnectionPoolSettings(
+                  builder -> builder.maxSize(Math.max(100, maxInFlightWrites)))
+              .uuidRepresentation(UuidRepresentation.STANDARD)
+              .build();
+      client = MongoClients.create(settings);
+    }
+    executor = Executors.newFixedThreadPool(maxInFlightWrites);
+    inFlightLimit = new AdaptiveLimit(maxInFlightWrites);
+    batches = new HashMap<>();
+  }
+
+  @StartBundle
+  public void startBundle() {
+    batches.clear();
+    futures = new ArrayList<>();
+    lastWrites = new HashMap<>();
+    outcomes = new ConcurrentLinkedQueue<>();
+  }
+
+  @ProcessElement
+  public void processElement(ProcessContext context, MultiOutputReceiver out)
+      throws InterruptedException {
+    MongoDbChangeEventContext element = context.element();
+    String collectionName = element.getDataCollection();
+
+    WriteModel<RawBsonDocument> model;
+    long size;
+    try {
+      Bson lookupById = eq("_id", element.getDocumentId());
+      if (element.isDeleteEvent()) {
+        model = new DeleteOneModel<>(lookupById);
+        size = 0;
+      } else {
+        RawBsonDocument document =
+            new RawBsonDocument(
+                Utils.jsonToDocument(element.getDataAsJsonString(), element.getDocumentId()),
+                DOCUMENT_CODEC);
+        model = new ReplaceOneModel<>(lookupById, document, new ReplaceOptions().upsert(true));
+        size = document.getByteBuffer().remaining();
+      }
+    } catch (Exception e) {
+      // The event cannot be converted to a document, retrying it will not help.
+      out.get(severeFailedWriteTag).output(toFailsafeElement(element, e.getMessage(), e));
+      severeFailedWrites.inc();
+      return;
+    }
+
+    Batch batch = batches.computeIfAbsent(collectionName, Batch::new);
+    if (!batch.isEmpty() && batch.bytes + size > maxBatchBytes) {
+      submit(batches.remove(collectionName));
+      batch = batches.computeIfAbsent(collectionName, Batch::new);
+    }
+    batch.add(element, model, size);
+    if (batch.events.size() >= batchSize || batch.bytes >= maxBatchBytes) {
+      submit(batches.remove(collectionName));
+    }
+
+    // Emit the outcome of writes which completed in the meantime.
+    WriteOutcome outcome;
+    while ((outcome = outcomes.poll()) != null) {
+      out.get(outcome.tag).output(outcome.value);
+    }
+  }
+
+  @FinishBundle
+  public void finishBundle(FinishBundleContext context) throws InterruptedException {
+    for (Batch batch : new ArrayList<>(batches.values())) {
+      submit(batch);
+    }
+    batches.clear();
+    CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+
+    WriteOutcome outcome;
+    while ((outcome = outcomes.poll()) != null) {
+      context.output(outcome.tag, outcome.value, Instant.now(), GlobalWindow.INSTANCE);
+    }
+  }
+
+  @Teardown
+  public void teardown() {
+    if (executor != null) {
+      executor.shutdown();
+    }
+    if (client != null) {
+      client.close();
+      client = null;
+    }
+  }
+
+  private void submit(Batch batch) throws InterruptedException {
+    if (batch == null || batch.isEmpty()) {
+      return;
+    }
+    inFlightLimit.acquire();
+    inFlightWrites.set(inFlightLimit.inFlight());
+    CompletableFuture<Void> previous =
+        lastWrites.getOrDefault(batch.collectionName, CompletableFuture.completedFuture(null));
+    CompletableFuture<Void> future =
+        previous.thenRunAsync(
+            () -> {
+              try {
+                write(batch);
+              } finally {
+                inFlightLimit.release();
+              }
+            },
+            executor);
+    lastWrites.put(batch.collectionName, future);
+    futures.add(future);
+  }
+
+  /** Writes a batch, retrying the documents rejected because the target is throttling. */
+  private void write(Batch batch) {
+    MongoCollection<RawBsonDocument> collection =
+        client
+            .getDatabase(targetDatabaseName)
+            .getCollection(batch.collectionName, RawBsonDocument.class);
+    batchBytes.update(batch.bytes);
+
+    List<MongoDbChangeEventContext> events = batch.events;
+    List<WriteModel<RawBsonDocument>> models = batch.models;
+    int attempt = 0;
+    while (true) {
+      long start = System.currentTimeMillis();
+      try {
+        collection.bulkWrite(models, new BulkWriteOptions().ordered(false));
+        bulkWriteLatencyMs.update(System.currentTimeMillis() - start);
+        inFlightLimit.onSuccess();
+        succeeded(events);
+        writtenBytes.inc(batch.bytes);
+        return;
+      } catch (MongoBulkWriteException e) {
+        bulkWriteLatencyMs.update(System.currentTimeMillis() - start);
+        List<MongoDbChangeEventContext> retryEvents = new ArrayList<>();
+        List<WriteModel<RawBsonDocument>> retryModels = new ArrayList<>();
+        boolean[] failed = new boolean[events.size()];
+        for (BulkWriteError error : e.getWriteErrors()) {
+          failed[error.getIndex()] = true;
+          MongoDbChangeEventContext event = events.get(error.getIndex());
+          if (error.getCode() == ProcessChangeEventFn.INVALID_ARGUMENT) {
+            severe(event, error.getMessage(), e);
+          } else if (isThrottlingCode(error.getCode()) && attempt < MAX_THROTTLE_RETRIES) {
+            retryEvents.add(event);
+            retryModels.add(models.get(error.getIndex()));
+          } else {
+            retriable(event, error.getMessage(), e);
+          }
+        }
+        List<MongoDbChangeEventContext> written = new ArrayList<>();
+        for (int i = 0; i < events.size(); i++) {
+          if (!failed[i]) {
+            written.add(events.get(i));
+          }
+        }
+        succeeded(written);
+        if (retryEvents.isEmpty()) {
+          return;
+        }
+        events = retryEvents;
+        models = retryModels;
+      } catch (Exception e) {
+        if (!isThrottling(e) || attempt >= MAX_THROTTLE_RETRIES) {
+          LOG.error(
+              "Error processing backfill batch for collection {}: {}",
+              batch.collectionName,
+              e.getMessage(),
+              e);
+          for (MongoDbChangeEventContext event : events) {
+            retriable(event, e.getMessage(), e);
+          }
+          return;
+        }
+      }
+
+      throttledWrites.inc(events.size());
+      inFlightLimit.onThrottled();
+      inFlightLimitGauge.set(inFlightLimit.limit());
+      if (!sleep(backoffMillis(attempt))) {
+        for (MongoDbChangeEventContext event : events) {
+          retriable(event, "Interrupted while retrying throttled write", null);
+        }
+        return;
+      }
+      attempt++;
+    }
+  }
+
+  @VisibleForTesting
+  static long backoffMillis(int attempt) {
+    long backoff = Math.min(MAX_BACKOFF_MS, INITIAL_BACKOFF_MS << Math.min(attempt, 16));
+    // Full jitter, so that writers throttled at the same time do not retry in lockstep.
+    return backoff / 2 + ThreadLocalRandom.current().nextLong(backoff / 2 + 1);
+  }
+
+  @VisibleForTesting
+  static boolean isThrottling(Exception e) {
+    if (!(e instanceof MongoException mongoException)) {
+      return false;
+    }
+    if (isThrottlingCode(mongoException.getCode())) {
+      return true;
+    }
+    String message = mongoException.getMessage();
+    return message != null
+        && (message.contains("RESOURCE_EXHAUSTED") || message.contains("Too many requests"));
+  }
+
+  private static boolean isThrottlingCode(int code) {
+    return code == REQUEST_RATE_TOO_LARGE
+        || code == EXCEEDED_TIME_LIMIT
+        || code == MAX_TIME_MS_EXPIRED;
+  }
+
+  private static boolean sleep(long millis) {
+    try {
+      TimeUnit.MILLISECONDS.sleep(millis);
+      return true;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return false;
+    }
+  }
+
+  private void succeeded(List<MongoDbChangeEventContext> events) {
+    for (MongoDbChangeEventContext event : events) {
+      outcomes.add(new WriteOutcome(successfulWriteTag, event));
+    }
+    successfulWrites.inc(events.size());
+  }
+
+  private void retriable(MongoDbChangeEventContext event, String message, Exception e) {
+    outcomes.add(new WriteOutcome(failedWriteTag, toFailsafeElement(event, message, e)));
+    retriableFailedWrites.inc();
+  }
+
+  private void severe(MongoDbChangeEventContext event, String message, Exception e) {
+    outcomes.add(new WriteOutcome(severeFailedWriteTag, toFailsafeElement(event, message, e)));
+    severeFailedWrites.inc();
+  }
+
+  private static FailsafeElement<MongoDbChangeEventContext, MongoDbChangeEventContext>
+      toFailsafeElement(MongoDbChangeEventContext event, String message, Exception e) {
+    FailsafeElement<MongoDbChangeEventContext, MongoDbChangeEventContext> failedElement =
+        FailsafeElement.of(event, event);
+    failedElement.setErrorMessage(message);
+    if (e != null) {
+      failedElement.setStacktrace(Throwables.getStackTraceAsString(e));
+    }
+    return failedElement;
+  }
+
+  /** Events buffered for one collection. */
+  private static class Batch {
+    private final String collectionName;
+    private final List<MongoDbChangeEventContext> events = new ArrayList<>();
+    private final List<WriteModel<RawBsonDocument>> models = new ArrayList<>();
+    private long bytes;
+
+    private Batch(String collectionName) {
+      this.collectionName = collectionName;
+    }
+
+    private void add(
+        MongoDbChangeEventContext event, WriteModel<RawBsonDocument> model, long size) {
+      events.add(event);
+      models.add(model);
+      bytes += size;
+    }
+
+    private boolean isEmpty() {
+      return events.isEmpty();
+    }
+  }
+
+  /** An element to output once the write which produced it completed. */
+  private static class WriteOutcome {
+    private final TupleTag<Object> tag;
+    private final Object value;
+
+    @SuppressWarnings("unchecked")
+    private <T> WriteOutcome(TupleTag<T> tag, T value) {
+      this.tag = (TupleTag<Object>) tag;
+      this.value = value;
+    }
+  }
+
+  /**
+   * Bounds the number of concurrent writes. The limit is halved when the target throttles and
+   * increased by one after {@code limit} successful writes, between 1 and the configured maximum.
+   */
+  @VisibleForTesting
+  static class AdaptiveLimit {
+    private final int max;
+    private int limit;
+    private int inFlight;
+    private final AtomicInteger successesSinceThrottle = new AtomicInteger();
+
+    AdaptiveLimit(int max) {
+      this.max = max;
+      this.limit = max;
+    }
+
+    synchronized void acquire() throws InterruptedException {
+      while (inFlight >= limit) {
+        wait();
+      }
+      inFlight++;
+    }
+
+    synchronized void release() {
+      inFlight--;
+      notifyAll();
+    }
+
+    synchronized void onThrottled() {
+      limit = Math.max(1, limit / 2);
+      successesSinceThrottle.set(0);
+    }
+
+    synchronized void onSuccess() {
+      if (limit < max && successesSinceThrottle.incrementAndGet() >= limit) {
+        limit++;
+        successesSinceThrottle.set(0);
+        notifyAll();
+      }
+    }
+
+    synchronized int limit() {
+      return limit;
+    }
+
+    synchronized int inFlight() {
+      return inFlight;
+    }
+  }
+}
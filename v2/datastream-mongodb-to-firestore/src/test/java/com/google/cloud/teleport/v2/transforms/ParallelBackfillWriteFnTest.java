@@ -0,0 +1,229 @@
+/*
+ * Copyright (C) 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.cloud.teleport.v2.transforms;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.google.cloud.teleport.v2.templates.datastream.MongoDbChangeEventContext;
+import com.google.cloud.teleport.v2.values.FailsafeElement;
+import com.mongodb.MongoCommandException;
+import com.mongodb.ServerAddress;
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.model.DeleteOneModel;
+import com.mongodb.client.model.ReplaceOneModel;
+import java.util.List;
+import org.apache.beam.sdk.transforms.DoFn;
+import org.apache.beam.sdk.transforms.DoFn.MultiOutputReceiver;
+import org.apache.beam.sdk.transforms.windowing.GlobalWindow;
+import org.apache.beam.sdk.values.TupleTag;
+import org.bson.BsonDocument;
+import org.bson.BsonInt32;
+import org.bson.BsonString;
+import org.bson.RawBsonDocument;
+import org.joda.time.Instant;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+import org.mockito.ArgumentCaptor;
+
+@RunWith(JUnit4.class)
+public class ParallelBackfillWriteFnTest {
+  private static final String DATABASE_NAME = "test_db";
+  private static final String COLLECTION_NAME = "test_col";
+
+  private static final TupleTag<MongoDbChangeEventContext> SUCCESS_TAG = new TupleTag<>("success");
+  private static final TupleTag<
+          FailsafeElement<MongoDbChangeEventContext, MongoDbChangeEventContext>>
+      FAILURE_TAG = new TupleTag<>("failure");
+  private static final TupleTag<
+          FailsafeElement<MongoDbChangeEventContext, MongoDbChangeEventContext>>
+      SEVERE_FAILURE_TAG = new TupleTag<>("severeFailure");
+
+  private MongoClient mockClient;
+  private MongoCollection<RawBsonDocument> mockCollection;
+  private MultiOutputReceiver mockReceiver;
+  private DoFn.ProcessContext mockContext;
+  private DoFn.FinishBundleContext mockFinishBundleContext;
+  private ParallelBackfillWriteFn fn;
+
+  @Before
+  @SuppressWarnings("unchecked")
+  public void setUp() {
+    mockClient = mock(MongoClient.class);
+    MongoDatabase mockDatabase = mock(MongoDatabase.class);
+    mockCollection = mock(MongoCollection.class);
+    mockReceiver = mock(MultiOutputReceiver.class);
+    mockContext = mock(DoFn.ProcessContext.class);
+    mockFinishBundleContext = mock(DoFn.FinishBundleContext.class);
+
+    when(mockClient.getDatabase(DATABASE_NAME)).thenReturn(mockDatabase);
+    when(mockDatabase.getCollection(COLLECTION_NAME, RawBsonDocument.class))
+        .thenReturn(mockCollection);
+  }
+
+  @After
+  public void tearDown() {
+    if (fn != null) {
+      fn.teardown();
+    }
+  }
+
+  private ParallelBackfillWriteFn createFn(int batchSize, long maxBatchBytes) {
+    fn =
+        new ParallelBackfillWriteFn(
+            mockClient,
+            DATABASE_NAME,
+            batchSize,
+            maxBatchBytes,
+            2,
+            SUCCESS_TAG,
+            FAILURE_TAG,
+            SEVERE_FAILURE_TAG);
+    fn.setup();
+    fn.startBundle();
+    return fn;
+  }
+
+  private static MongoDbChangeEventContext event(String id) {
+    MongoDbChangeEventContext event = mock(MongoDbChangeEventContext.class);
+    when(event.getDataCollection()).thenReturn(COLLECTION_NAME);
+    when(event.getDocumentId()).thenReturn(id);
+    when(event.getDataAsJsonString())
+        .thenReturn("{\"data\": {\"_id\":\"" + id + "\", \"payload\": \"0123456789\"}}");
+    return event;
+  }
+
+  @Test
+  public void testBatchesAreSplitByBytes() throws Exception {
+    when(mockCollection.bulkWrite(anyList(), any())).thenReturn(mock(BulkWriteResult.class));
+    // Every document is larger than 20 bytes, so no two documents fit in the same batch.
+    createFn(100, 20);
+
+    MongoDbChangeEventContext event1 = event("id1");
+    MongoDbChangeEventContext event2 = event("id2");
+    when(mockContext.element()).thenReturn(event1).thenReturn(event2);
+    fn.processElement(mockContext, mockReceiver);
+    fn.processElement(mockContext, mockReceiver);
+    fn.finishBundle(mockFinishBundleContext);
+
+    ArgumentCaptor<List> batches = ArgumentCaptor.forClass(List.class);
+    verify(mockCollection, times(2)).bulkWrite(batches.capture(), any());
+    assertEquals(1, batches.getAllValues().get(0).size());
+    assertEquals(1, batches.getAllValues().get(1).size());
+  }
+
+  @Test
+  public void testThrottledWriteIsRetried() throws Exception {
+    MongoCommandException throttled =
+        new MongoCommandException(
+            new BsonDocument("code", new BsonInt32(16500))
+                .append("errmsg", new BsonString("Too many requests")),
+            new ServerAddress());
+    when(mockCollection.bulkWrite(anyList(), any()))
+        .thenThrow(throttled)
+        .thenReturn(mock(BulkWriteResult.class));
+    createFn(100, 1024 * 1024);
+
+    MongoDbChangeEventContext event1 = event("id1");
+    when(mockContext.element()).thenReturn(event1);
+    fn.processElement(mockContext, mockReceiver);
+    fn.finishBundle(mockFinishBundleContext);
+
+    verify(mockCollection, times(2)).bulkWrite(anyList(), any());
+    verify(mockFinishBundleContext, times(1))
+        .output(eq(SUCCESS_TAG), eq(event1), any(Instant.class), any(GlobalWindow.class));
+  }
+
+  @Test
+  public void testBatchesOfCollectionAreWrittenInOrder() throws Exception {
+    MongoCommandException throttled =
+        new MongoCommandException(
+            new BsonDocument("code", new BsonInt32(16500))
+                .append("errmsg", new BsonString("Too many requests")),
+            new ServerAddress());
+    // The first batch is throttled, so it is still being retried when the second one is submitted.
+    when(mockCollection.bulkWrite(anyList(), any()))
+        .thenThrow(throttled)
+        .thenReturn(mock(BulkWriteResult.class));
+    createFn(1, 1024 * 1024);
+
+    MongoDbChangeEventContext replace = event("id1");
+    MongoDbChangeEventContext delete = event("id1");
+    when(delete.isDeleteEvent()).thenReturn(true);
+    when(mockContext.element()).thenReturn(replace).thenReturn(delete);
+    fn.processElement(mockContext, mockReceiver);
+    fn.processElement(mockContext, mockReceiver);
+    fn.finishBundle(mockFinishBundleContext);
+
+    ArgumentCaptor<List> batches = ArgumentCaptor.forClass(List.class);
+    verify(mockCollection, times(3)).bulkWrite(batches.capture(), any());
+    assertTrue(batches.getAllValues().get(0).get(0) instanceof ReplaceOneModel);
+    assertTrue(batches.getAllValues().get(1).get(0) instanceof ReplaceOneModel);
+    assertTrue(batches.getAllValues().get(2).get(0) instanceof DeleteOneModel);
+  }
+
+  @Test
+  public void testIsThrottling() {
+    assertTrue(
+        ParallelBackfillWriteFn.isThrottling(
+            new MongoCommandException(
+                new BsonDocument("code", new BsonInt32(16500)), new ServerAddress())));
+    assertFalse(
+        ParallelBackfillWriteFn.isThrottling(
+            new MongoCommandException(
+                new BsonDocument("code", new BsonInt32(2)), new ServerAddress())));
+    assertFalse(ParallelBackfillWriteFn.isThrottling(new RuntimeException("RESOURCE_EXHAUSTED")));
+  }
+
+  @Test
+  public void testAdaptiveLimit() throws Exception {
+    ParallelBackfillWriteFn.AdaptiveLimit limit = new ParallelBackfillWriteFn.AdaptiveLimit(8);
+    assertEquals(8, limit.limit());
+
+    limit.onThrottled();
+    assertEquals(4, limit.limit());
+    limit.onThrottled();
+    limit.onThrottled();
+    limit.onThrottled();
+    assertEquals(1, limit.limit());
+
+    limit.onSuccess();
+    assertEquals(2, limit.limit());
+    limit.onSuccess();
+    assertEquals(2, limit.limit());
+    limit.onSuccess();
+    assertEquals(3, limit.limit());
+
+    limit.acquire();
+    assertEquals(1, limit.inFlight());
+    limit.release();
+    assertEquals(0, limit.inFlight());
+  }
+}
@@ -585,6 +585,32 @@ public class DataStreamToSpanner {
     String getFailureInjectionParameter();
 
     void setFailureInjectionParameter(String value);
+
+    @TemplateParameter.Integer(
+        order = 35,
+        optional = true,
+        description = "Batch size for custom transformation",
+        helpText =
+            "Maximum number of rows passed to a single call of a custom transformation class that"
+                + " implements IBatchSpannerMigrationTransformer. Values of 1 or less transform each"
+                + " row separately. Defaults to 1.")
+    @Default.Integer(1)
+    Integer getTransformationBatchSize();
+
+    void setTransformationBatchSize(Integer value);
+
+    @TemplateParameter.Long(
+        order = 36,
+        optional = true,
+        description = "Maximum batch latency for custom transformation in milliseconds",
+        helpText =
+            "Maximum time in milliseconds a row waits for its custom transformation batch to fill"
+                + " up before the batch is transformed. Only used if transformationBatchSize is"
+                + " greater than 1. Defaults to 1000.")
+    @Default.Long(1000)
+    Long getTransformationBatchMaxLatencyMs();
+
+    void setTransformationBatchMaxLatencyMs(Long value);
   }
 
   static void validateSourceType(Options options) {
@@ -823,6 +849,8 @@ public class DataStreamToSpanner {
         CustomTransformation.builder(
                 options.getTransformationJarPath(), options.getTransformationClassName())
             .setCustomParameters(options.getTransformationCustomParameters())
+            .setBatchSize(options.getTransformationBatchSize())
+            .setMaxBatchLatencyMs(options.getTransformationBatchMaxLatencyMs())
             .build();
 
     // Create the overrides mapping.
@@ -33,11 +33,14 @@ import com.google.cloud.teleport.v2.spanner.migrations.schema.ISchemaOverridesPa
 import com.google.cloud.teleport.v2.spanner.migrations.schema.Schema;
 import com.google.cloud.teleport.v2.spanner.migrations.shard.ShardingContext;
 import com.google.cloud.teleport.v2.spanner.migrations.transformation.CustomTransformation;
+import com.google.cloud.teleport.v2.spanner.migrations.transformation.CustomTransformationBatcher;
+import com.google.cloud.teleport.v2.spanner.migrations.transformation.CustomTransformationBatcher.TransformedRow;
 import com.google.cloud.teleport.v2.spanner.migrations.transformation.TransformationContext;
 import com.google.cloud.teleport.v2.spanner.migrations.utils.CustomTransformationImplFetcher;
 import com.google.cloud.teleport.v2.spanner.utils.ISpannerMigrationTransformer;
 import com.google.cloud.teleport.v2.spanner.utils.MigrationTransformationRequest;
 import com.google.cloud.teleport.v2.spanner.utils.MigrationTransformationResponse;
+import com.google.cloud.teleport.v2.spanner.utils.MigrationTransformationResult;
 import com.google.cloud.teleport.v2.templates.constants.DatastreamToSpannerConstants;
 import com.google.cloud.teleport.v2.values.FailsafeElement;
 import java.io.Serializable;
@@ -49,6 +52,7 @@ import org.apache.beam.sdk.metrics.Counter;
 import org.apache.beam.sdk.metrics.Distribution;
 import org.apache.beam.sdk.metrics.Metrics;
 import org.apache.beam.sdk.transforms.DoFn;
+import org.apache.beam.sdk.transforms.windowing.BoundedWindow;
 import org.apache.beam.sdk.values.PCollectionView;
 import org.apache.beam.sdk.values.TupleTag;
 import org.joda.time.Duration;
@@ -68,6 +72,9 @@ public abstract class ChangeEventTransformerDoFn
 
   private ISpannerMigrationTransformer datastreamToSpannerTransformer;
 
+  // Collects change events for transformers that implement IBatchSpannerMigrationTransformer.
+  private transient CustomTransformationBatcher<PendingEvent> transformationBatcher;
+
   // ChangeEventSessionConvertor utility object.
   private ChangeEventSessionConvertor changeEventSessionConvertor;
 
@@ -154,8 +161,8 @@ public abstract class ChangeEventTransformerDoFn
   public void setup() {
     mapper = new ObjectMapper();
     mapper.enable(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS);
-    datastreamToSpannerTransformer =
-        CustomTransformationImplFetcher.getCustomTransformationLogicImpl(customTransformation());
+    setDatastreamToSpannerTransformer(
+        CustomTransformationImplFetcher.getCustomTransformationLogicImpl(customTransformation()));
     changeEventSessionConvertor =
         new ChangeEventSessionConvertor(
             schema(),
@@ -167,8 +174,33 @@ public abstract class ChangeEventTransformerDoFn
     spannerAccessor = SpannerAccessor.getOrCreate(spannerConfig());
   }
 
+  /**
+   * Allows a batch flushed while processing an element to output the change events buffered earlier
+   * in the bundle with their own, possibly older, timestamps. Those events are part of the same
+   * bundle, so the watermark has not passed their timestamps yet.
+   */
+  @Override
+  public Duration getAllowedTimestampSkew() {
+    return Duration.millis(Long.MAX_VALUE);
+  }
+
+  /** Transforms the change events still waiting for their custom transformation batch. */
+  @FinishBundle
+  public void finishBundle(FinishBundleContext context) {
+    if (transformationBatcher != null && !transformationBatcher.isEmpty()) {
+      flushTransformationBatch(
+          new EventOutput() {
+            @Override
+            public <T> void output(
+                TupleTag<T> tag, T value, Instant timestamp, BoundedWindow window) {
+              context.output(tag, value, timestamp, window);
+            }
+          });
+    }
+  }
+
   @ProcessElement
-  public void processElement(ProcessContext c) {
+  public void processElement(ProcessContext c, BoundedWindow window) {
     FailsafeElement<String, String> msg = c.element();
     processedEvents.inc();
     Instant startTimestamp = Instant.now();
@@ -205,6 +237,27 @@ public abstract class ChangeEventTransformerDoFn
                 changeEvent, spannerAccessor.getDatabaseClient(), ddl);
       }
 
+      // Failed Spanner mutations are retried one at a time, they have no batch counterpart.
+      if (transformationBatcher != null && !isSpannerMutation) {
+        boolean batchReady =
+            transformationBatcher.add(
+                new PendingEvent(msg, changeEvent, migrationShardId, startTimestamp),
+                getTransformationRequest(changeEvent, sourceRecord),
+                c.timestamp(),
+                window);
+        if (batchReady) {
+          flushTransformationBatch(
+              new EventOutput() {
+                @Override
+                public <T> void output(
+                    TupleTag<T> tag, T value, Instant timestamp, BoundedWindow outputWindow) {
+                  c.outputWithTimestamp(tag, value, timestamp);
+                }
+              });
+        }
+        return;
+      }
+
       // If custom jar is specified apply custom transformation to the change event
       if (datastreamToSpannerTransformer != null) {
         MigrationTransformationResponse migrationTransformationResponse = null;
@@ -272,15 +325,81 @@ public abstract class ChangeEventTransformerDoFn
     }
   }
 
+  /**
+   * Applies the batched custom transformation to the pending change events and outputs them. Events
+   * flushed while processing an element are output in the context of that element, events flushed
+   * at the end of the bundle keep their own timestamp and window.
+   */
+  private void flushTransformationBatch(EventOutput eventOutput) {
+    for (TransformedRow<PendingEvent> transformedRow : transformationBatcher.flushToSpannerRows()) {
+      PendingEvent event = transformedRow.getState();
+      Instant timestamp = transformedRow.getTimestamp();
+      BoundedWindow window = transformedRow.getWindow();
+      String migrationShardId = event.migrationShardId;
+      try {
+        MigrationTransformationResult result = transformedRow.getResult();
+        if (result.isFailed()) {
+          throw result.getException();
+        }
+        MigrationTransformationResponse migrationTransformationResponse = result.getResponse();
+        if (migrationTransformationResponse.isEventFiltered()) {
+          filteredEvents.inc();
+          eventOutput.output(
+              DatastreamToSpannerConstants.FILTERED_EVENT_TAG,
+              event.msg.getOriginalPayload(),
+              timestamp,
+              window);
+          continue;
+        }
+        JsonNode changeEvent = event.changeEvent;
+        if (migrationTransformationResponse.getResponseRow() != null) {
+          changeEvent =
+              ChangeEventToMapConvertor.transformChangeEventViaCustomTransformation(
+                  changeEvent, migrationTransformationResponse.getResponseRow());
+          if (changeEvent.get(SHARD_ID_COLUMN_NAME) != null) {
+            migrationShardId =
+                changeEvent.get(changeEvent.get(SHARD_ID_COLUMN_NAME).asText()).asText();
+          }
+        }
+        transformationLatencyMs.update(
+            new Duration(event.startTimestamp, Instant.now()).getMillis());
+        transformedEvents.inc();
+        eventOutput.output(
+            DatastreamToSpannerConstants.TRANSFORMED_EVENT_TAG,
+            FailsafeElement.of(event.msg.getOriginalPayload(), changeEvent.toString()),
+            timestamp,
+            window);
+      } catch (Exception e) {
+        // Errors that result from the custom JAR during transformation are not retryable.
+        LOG.error("Error in Transformation.", e);
+        FailsafeElement<String, String> output = FailsafeElement.of(event.msg);
+        output.setErrorMessage(new InvalidTransformationException(e).getMessage());
+        eventOutput.output(
+            DatastreamToSpannerConstants.PERMANENT_ERROR_TAG, output, timestamp, window);
+        customTransformationException.inc();
+        if (migrationShardId != null) {
+          Metrics.counter(
+                  ChangeEventTransformerDoFn.class, migrationShardId + " : Permanent errors")
+              .inc();
+        }
+      }
+    }
+  }
+
+  MigrationTransformationRequest getTransformationRequest(
+      JsonNode changeEvent, Map<String, Object> sourceRecord) {
+    String shardId = changeEventSessionConvertor.getShardId(changeEvent);
+    String tableName = changeEvent.get(EVENT_TABLE_NAME_KEY).asText();
+    return new MigrationTransformationRequest(
+        tableName, sourceRecord, shardId, changeEvent.get(EVENT_CHANGE_TYPE_KEY).asText());
+  }
+
   MigrationTransformationResponse getTransformationResponse(
       JsonNode changeEvent, Map<String, Object> sourceRecord, boolean isSpannerMutation)
       throws InvalidTransformationException {
-    String shardId = changeEventSessionConvertor.getShardId(changeEvent);
-    String tableName = changeEvent.get(EVENT_TABLE_NAME_KEY).asText();
     Instant startTimestamp = Instant.now();
     MigrationTransformationRequest migrationTransformationRequest =
-        new MigrationTransformationRequest(
-            tableName, sourceRecord, shardId, changeEvent.get(EVENT_CHANGE_TYPE_KEY).asText());
+        getTransformationRequest(changeEvent, sourceRecord);
     MigrationTransformationResponse migrationTransformationResponse;
     if (isSpannerMutation) {
       migrationTransformationResponse =
@@ -320,9 +439,35 @@ public abstract class ChangeEventTransformerDoFn
   public void setDatastreamToSpannerTransformer(
       ISpannerMigrationTransformer datastreamToSpannerTransformer) {
     this.datastreamToSpannerTransformer = datastreamToSpannerTransformer;
+    this.transformationBatcher =
+        CustomTransformationBatcher.create(datastreamToSpannerTransformer, customTransformation());
   }
 
   public void setSpannerAccessor(SpannerAccessor spannerAccessor) {
     this.spannerAccessor = spannerAccessor;
   }
+
+  /** A change event waiting for its custom transformation batch. */
+  private static class PendingEvent {
+    private final FailsafeElement<String, String> msg;
+    private final JsonNode changeEvent;
+    @Nullable private final String migrationShardId;
+    private final Instant startTimestamp;
+
+    private PendingEvent(
+        FailsafeElement<String, String> msg,
+        JsonNode changeEvent,
+        @Nullable String migrationShardId,
+        Instant startTimestamp) {
+      this.msg = msg;
+      this.changeEvent = changeEvent;
+      this.migrationShardId = migrationShardId;
+      this.startTimestamp = startTimestamp;
+    }
+  }
+
+  /** Outputs an event either from {@code @ProcessElement} or from {@code @FinishBundle}. */
+  private interface EventOutput {
+    <T> void output(TupleTag<T> tag, T value, Instant timestamp, BoundedWindow window);
+  }
 }
@@ -18,11 +18,13 @@ package com.google.cloud.teleport.v2.templates.transform;
 import static com.google.cloud.teleport.v2.templates.datastream.DatastreamConstants.EVENT_CHANGE_TYPE_KEY;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.refEq;
 import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -42,19 +44,24 @@ import com.google.cloud.teleport.v2.spanner.migrations.schema.Schema;
 import com.google.cloud.teleport.v2.spanner.migrations.shard.ShardingContext;
 import com.google.cloud.teleport.v2.spanner.migrations.transformation.CustomTransformation;
 import com.google.cloud.teleport.v2.spanner.migrations.transformation.TransformationContext;
+import com.google.cloud.teleport.v2.spanner.utils.IBatchSpannerMigrationTransformer;
 import com.google.cloud.teleport.v2.spanner.utils.ISpannerMigrationTransformer;
 import com.google.cloud.teleport.v2.spanner.utils.MigrationTransformationRequest;
 import com.google.cloud.teleport.v2.spanner.utils.MigrationTransformationResponse;
+import com.google.cloud.teleport.v2.spanner.utils.MigrationTransformationResult;
 import com.google.cloud.teleport.v2.templates.constants.DatastreamToSpannerConstants;
 import com.google.cloud.teleport.v2.templates.datastream.DatastreamConstants;
 import com.google.cloud.teleport.v2.templates.source.mysql.MySqlDsToSpSourceConnector;
 import com.google.cloud.teleport.v2.values.FailsafeElement;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import org.apache.beam.sdk.io.gcp.spanner.SpannerAccessor;
 import org.apache.beam.sdk.io.gcp.spanner.SpannerConfig;
 import org.apache.beam.sdk.transforms.DoFn;
+import org.apache.beam.sdk.transforms.windowing.GlobalWindow;
 import org.apache.beam.sdk.values.PCollectionView;
+import org.joda.time.Instant;
 import org.junit.Test;
 import org.mockito.ArgumentCaptor;
 
@@ -103,7 +110,7 @@ public class ChangeEventTransformerDoFnTest {
     changeEventTransformerDoFn.setMapper(mapper);
     changeEventTransformerDoFn.setChangeEventSessionConvertor(changeEventSessionConvertor);
     changeEventTransformerDoFn.setSpannerAccessor(spannerAccessor);
-    changeEventTransformerDoFn.processElement(processContextMock);
+    changeEventTransformerDoFn.processElement(processContextMock, GlobalWindow.INSTANCE);
 
     ArgumentCaptor<FailsafeElement> argument = ArgumentCaptor.forClass(FailsafeElement.class);
     verify(processContextMock, times(1))
@@ -167,7 +174,7 @@ public class ChangeEventTransformerDoFnTest {
     changeEventTransformerDoFn.setDatastreamToSpannerTransformer(spannerMigrationTransformer);
     changeEventTransformerDoFn.setSpannerAccessor(spannerAccessor);
     changeEventTransformerDoFn.setChangeEventSessionConvertor(changeEventSessionConvertor);
-    changeEventTransformerDoFn.processElement(processContextMock);
+    changeEventTransformerDoFn.processElement(processContextMock, GlobalWindow.INSTANCE);
 
     ArgumentCaptor<FailsafeElement> argument = ArgumentCaptor.forClass(FailsafeElement.class);
     verify(processContextMock, times(1))
@@ -245,7 +252,7 @@ public class ChangeEventTransformerDoFnTest {
     changeEventTransformerDoFn.setDatastreamToSpannerTransformer(spannerMigrationTransformer);
     changeEventTransformerDoFn.setSpannerAccessor(spannerAccessor);
     changeEventTransformerDoFn.setChangeEventSessionConvertor(changeEventSessionConvertor);
-    changeEventTransformerDoFn.processElement(processContextMock);
+    changeEventTransformerDoFn.processElement(processContextMock, GlobalWindow.INSTANCE);
 
     ArgumentCaptor<FailsafeElement> argument = ArgumentCaptor.forClass(FailsafeElement.class);
     verify(processContextMock, times(1))
@@ -325,7 +332,7 @@ public class ChangeEventTransformerDoFnTest {
     changeEventTransformerDoFn.setDatastreamToSpannerTransformer(spannerMigrationTransformer);
     changeEventTransformerDoFn.setSpannerAccessor(spannerAccessor);
     changeEventTransformerDoFn.setChangeEventSessionConvertor(changeEventSessionConvertor);
-    changeEventTransformerDoFn.processElement(processContextMock);
+    changeEventTransformerDoFn.processElement(processContextMock, GlobalWindow.INSTANCE);
 
     ArgumentCaptor<FailsafeElement> argument = ArgumentCaptor.forClass(FailsafeElement.class);
     verify(processContextMock, times(1))
@@ -389,7 +396,7 @@ public class ChangeEventTransformerDoFnTest {
     changeEventTransformerDoFn.setDatastreamToSpannerTransformer(spannerMigrationTransformer);
     changeEventTransformerDoFn.setSpannerAccessor(spannerAccessor);
     changeEventTransformerDoFn.setChangeEventSessionConvertor(changeEventSessionConvertor);
-    changeEventTransformerDoFn.processElement(processContextMock);
+    changeEventTransformerDoFn.processElement(processContextMock, GlobalWindow.INSTANCE);
 
     ArgumentCaptor<String> argument = ArgumentCaptor.forClass(String.class);
     verify(processContextMock, times(1))
@@ -448,7 +455,7 @@ public class ChangeEventTransformerDoFnTest {
     changeEventTransformerDoFn.setDatastreamToSpannerTransformer(spannerMigrationTransformer);
     changeEventTransformerDoFn.setSpannerAccessor(spannerAccessor);
     changeEventTransformerDoFn.setChangeEventSessionConvertor(changeEventSessionConvertor);
-    changeEventTransformerDoFn.processElement(processContextMock);
+    changeEventTransformerDoFn.processElement(processContextMock, GlobalWindow.INSTANCE);
 
     ArgumentCaptor<FailsafeElement<String, String>> argument =
         ArgumentCaptor.forClass(FailsafeElement.class);
@@ -488,7 +495,7 @@ public class ChangeEventTransformerDoFnTest {
         ChangeEventTransformerDoFn.create(
             schema, null, null, null, "mysql", customTransformation, false, ddl, spannerConfig);
     changeEventTransformerDoFn.setMapper(mapper);
-    changeEventTransformerDoFn.processElement(processContextMock);
+    changeEventTransformerDoFn.processElement(processContextMock, GlobalWindow.INSTANCE);
     verify(processContextMock, times(0)).output(any());
   }
 
@@ -533,7 +540,7 @@ public class ChangeEventTransformerDoFnTest {
     changeEventTransformerDoFn.setMapper(mapper);
     changeEventTransformerDoFn.setSpannerAccessor(spannerAccessor);
     changeEventTransformerDoFn.setChangeEventSessionConvertor(changeEventSessionConvertor);
-    changeEventTransformerDoFn.processElement(processContextMock);
+    changeEventTransformerDoFn.processElement(processContextMock, GlobalWindow.INSTANCE);
     ArgumentCaptor<FailsafeElement<String, String>> argument =
         ArgumentCaptor.forClass(FailsafeElement.class);
     verify(processContextMock, times(1))
@@ -563,7 +570,7 @@ public class ChangeEventTransformerDoFnTest {
         ChangeEventTransformerDoFn.create(
             schema, null, null, null, "mysql", customTransformation, false, ddl, spannerConfig);
     changeEventTransformerDoFn.setMapper(mapper);
-    changeEventTransformerDoFn.processElement(processContextMock);
+    changeEventTransformerDoFn.processElement(processContextMock, GlobalWindow.INSTANCE);
 
     ArgumentCaptor<FailsafeElement<String, String>> argument =
         ArgumentCaptor.forClass(FailsafeElement.class);
@@ -609,7 +616,7 @@ public class ChangeEventTransformerDoFnTest {
     changeEventTransformerDoFn.setChangeEventSessionConvertor(changeEventSessionConvertor);
     changeEventTransformerDoFn.setMapper(mapper);
 
-    changeEventTransformerDoFn.processElement(processContextMock);
+    changeEventTransformerDoFn.processElement(processContextMock, GlobalWindow.INSTANCE);
     ArgumentCaptor<FailsafeElement<String, String>> argument =
         ArgumentCaptor.forClass(FailsafeElement.class);
     verify(processContextMock, times(1))
@@ -675,7 +682,7 @@ public class ChangeEventTransformerDoFnTest {
     changeEventTransformerDoFn.setDatastreamToSpannerTransformer(spannerMigrationTransformer);
     changeEventTransformerDoFn.setSpannerAccessor(spannerAccessor);
     changeEventTransformerDoFn.setChangeEventSessionConvertor(changeEventSessionConvertor);
-    changeEventTransformerDoFn.processElement(processContextMock);
+    changeEventTransformerDoFn.processElement(processContextMock, GlobalWindow.INSTANCE);
 
     ArgumentCaptor<FailsafeElement> argument = ArgumentCaptor.forClass(FailsafeElement.class);
     verify(processContextMock, times(1))
@@ -745,7 +752,7 @@ public class ChangeEventTransformerDoFnTest {
     changeEventTransformerDoFn.setDatastreamToSpannerTransformer(spannerMigrationTransformer);
     changeEventTransformerDoFn.setSpannerAccessor(spannerAccessor);
     changeEventTransformerDoFn.setChangeEventSessionConvertor(changeEventSessionConvertor);
-    changeEventTransformerDoFn.processElement(processContextMock);
+    changeEventTransformerDoFn.processElement(processContextMock, GlobalWindow.INSTANCE);
 
     ArgumentCaptor<FailsafeElement> argument = ArgumentCaptor.forClass(FailsafeElement.class);
     verify(processContextMock, times(1))
@@ -812,7 +819,7 @@ public class ChangeEventTransformerDoFnTest {
     changeEventTransformerDoFn.setMapper(mapper);
     changeEventTransformerDoFn.setSpannerAccessor(spannerAccessor);
     changeEventTransformerDoFn.setChangeEventSessionConvertor(changeEventSessionConvertor);
-    changeEventTransformerDoFn.processElement(processContextMock);
+    changeEventTransformerDoFn.processElement(processContextMock, GlobalWindow.INSTANCE);
 
     verify(changeEventSessionConvertor, times(1))
         .transformChangeEventData(changeEvent, databaseClientMock, ddl);
@@ -878,7 +885,7 @@ public class ChangeEventTransformerDoFnTest {
     changeEventTransformerDoFn.setMapper(mapper);
     changeEventTransformerDoFn.setChangeEventSessionConvertor(changeEventSessionConvertor);
     changeEventTransformerDoFn.setSpannerAccessor(spannerAccessor);
-    changeEventTransformerDoFn.processElement(processContextMock);
+    changeEventTransformerDoFn.processElement(processContextMock, GlobalWindow.INSTANCE);
 
     ArgumentCaptor<FailsafeElement> argument = ArgumentCaptor.forClass(FailsafeElement.class);
     verify(processContextMock, times(1))
@@ -942,7 +949,7 @@ public class ChangeEventTransformerDoFnTest {
     changeEventTransformerDoFn.setSpannerAccessor(spannerAccessor);
     changeEventTransformerDoFn.setDatastreamToSpannerTransformer(spannerMigrationTransformer);
 
-    changeEventTransformerDoFn.processElement(processContextMock);
+    changeEventTransformerDoFn.processElement(processContextMock, GlobalWindow.INSTANCE);
 
     ArgumentCaptor<FailsafeElement<String, String>> argument =
         ArgumentCaptor.forClass(FailsafeElement.class);
@@ -1001,7 +1008,7 @@ public class ChangeEventTransformerDoFnTest {
     changeEventTransformerDoFn.setSpannerAccessor(spannerAccessor);
     changeEventTransformerDoFn.setDatastreamToSpannerTransformer(spannerMigrationTransformer);
 
-    changeEventTransformerDoFn.processElement(processContextMock);
+    changeEventTransformerDoFn.processElement(processContextMock, GlobalWindow.INSTANCE);
 
     verify(processContextMock, times(1))
         .output(eq(DatastreamToSpannerConstants.FILTERED_EVENT_TAG), eq(changeEvent.toString()));
@@ -1053,7 +1060,7 @@ public class ChangeEventTransformerDoFnTest {
     changeEventTransformerDoFn.setSpannerAccessor(spannerAccessor);
     changeEventTransformerDoFn.setDatastreamToSpannerTransformer(spannerMigrationTransformer);
 
-    changeEventTransformerDoFn.processElement(processContextMock);
+    changeEventTransformerDoFn.processElement(processContextMock, GlobalWindow.INSTANCE);
 
     ArgumentCaptor<FailsafeElement<String, String>> argument =
         ArgumentCaptor.forClass(FailsafeElement.class);
@@ -1099,7 +1106,7 @@ public class ChangeEventTransformerDoFnTest {
     changeEventTransformerDoFn.setChangeEventSessionConvertor(changeEventSessionConvertor);
     changeEventTransformerDoFn.setSpannerAccessor(spannerAccessor);
 
-    changeEventTransformerDoFn.processElement(processContextMock);
+    changeEventTransformerDoFn.processElement(processContextMock, GlobalWindow.INSTANCE);
 
     ArgumentCaptor<FailsafeElement<String, String>> argument =
         ArgumentCaptor.forClass(FailsafeElement.class);
@@ -1107,4 +1114,147 @@ public class ChangeEventTransformerDoFnTest {
         .output(eq(DatastreamToSpannerConstants.TRANSFORMED_EVENT_TAG), argument.capture());
     assertEquals(changeEvent.toString(), argument.getValue().getPayload());
   }
+
+  @Test
+  public void testProcessElementWithBatchedCustomTransformation() throws Exception {
+    ObjectMapper mapper = new ObjectMapper();
+    mapper.enable(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS);
+    Schema schema = mock(Schema.class);
+    DoFn.ProcessContext processContextMock = mock(DoFn.ProcessContext.class);
+    IBatchSpannerMigrationTransformer spannerMigrationTransformer =
+        mock(IBatchSpannerMigrationTransformer.class);
+    ChangeEventSessionConvertor changeEventSessionConvertor =
+        mock(ChangeEventSessionConvertor.class);
+    PCollectionView<Ddl> ddl = mock(PCollectionView.class);
+    SpannerConfig spannerConfig = mock(SpannerConfig.class);
+    SpannerAccessor spannerAccessor = mock(SpannerAccessor.class);
+    DatabaseClient databaseClientMock = mock(DatabaseClient.class);
+    CustomTransformation customTransformation =
+        CustomTransformation.builder("gs://bucket/transform.jar", "com.custom.Transform")
+            .setBatchSize(2)
+            .setMaxBatchLatencyMs(60_000)
+            .build();
+
+    ObjectNode firstEvent = mapper.createObjectNode();
+    firstEvent.put(DatastreamConstants.EVENT_SOURCE_TYPE_KEY, Constants.MYSQL_SOURCE_TYPE);
+    firstEvent.put(DatastreamConstants.EVENT_TABLE_NAME_KEY, "Users");
+    firstEvent.put(DatastreamConstants.EVENT_CHANGE_TYPE_KEY, "INSERT");
+    firstEvent.put("first_name", "Johnny");
+    ObjectNode secondEvent = firstEvent.deepCopy();
+    secondEvent.put("first_name", "Jack");
+    Instant firstTimestamp = Instant.ofEpochMilli(1000);
+    Instant secondTimestamp = Instant.ofEpochMilli(2000);
+
+    when(schema.isEmpty()).thenReturn(true);
+    when(processContextMock.element())
+        .thenReturn(FailsafeElement.of(firstEvent.toString(), firstEvent.toString()))
+        .thenReturn(FailsafeElement.of(secondEvent.toString(), secondEvent.toString()));
+    when(processContextMock.timestamp()).thenReturn(firstTimestamp).thenReturn(secondTimestamp);
+    when(spannerAccessor.getDatabaseClient()).thenReturn(databaseClientMock);
+    when(changeEventSessionConvertor.transformChangeEventData(firstEvent, databaseClientMock, null))
+        .thenReturn(firstEvent);
+    when(changeEventSessionConvertor.transformChangeEventData(
+            secondEvent, databaseClientMock, null))
+        .thenReturn(secondEvent);
+    when(changeEventSessionConvertor.getShardId(any())).thenReturn("");
+    when(spannerMigrationTransformer.toSpannerRows(anyList()))
+        .thenReturn(
+            List.of(
+                MigrationTransformationResult.success(
+                    new MigrationTransformationResponse(null, false)),
+                MigrationTransformationResult.failure(
+                    new InvalidTransformationException("bad row"))));
+
+    ChangeEventTransformerDoFn changeEventTransformerDoFn =
+        ChangeEventTransformerDoFn.create(
+            schema, null, null, null, "mysql", customTransformation, false, ddl, spannerConfig);
+    changeEventTransformerDoFn.setMapper(mapper);
+    changeEventTransformerDoFn.setDatastreamToSpannerTransformer(spannerMigrationTransformer);
+    changeEventTransformerDoFn.setSpannerAccessor(spannerAccessor);
+    changeEventTransformerDoFn.setChangeEventSessionConvertor(changeEventSessionConvertor);
+
+    // The first event waits for the batch to fill up.
+    changeEventTransformerDoFn.processElement(processContextMock, GlobalWindow.INSTANCE);
+    verify(spannerMigrationTransformer, never()).toSpannerRows(anyList());
+
+    // The second event completes the batch, each event keeps the timestamp of its element.
+    changeEventTransformerDoFn.processElement(processContextMock, GlobalWindow.INSTANCE);
+    ArgumentCaptor<FailsafeElement> transformed = ArgumentCaptor.forClass(FailsafeElement.class);
+    verify(processContextMock, times(1))
+        .outputWithTimestamp(
+            eq(DatastreamToSpannerConstants.TRANSFORMED_EVENT_TAG),
+            transformed.capture(),
+            eq(firstTimestamp));
+    assertEquals(firstEvent.toString(), transformed.getValue().getPayload());
+    ArgumentCaptor<FailsafeElement> failed = ArgumentCaptor.forClass(FailsafeElement.class);
+    verify(processContextMock, times(1))
+        .outputWithTimestamp(
+            eq(DatastreamToSpannerConstants.PERMANENT_ERROR_TAG),
+            failed.capture(),
+            eq(secondTimestamp));
+    assertEquals(secondEvent.toString(), failed.getValue().getOriginalPayload());
+    assertNotNull(failed.getValue().getErrorMessage());
+  }
+
+  @Test
+  public void testFinishBundleFlushesBatchedCustomTransformation() throws Exception {
+    ObjectMapper mapper = new ObjectMapper();
+    mapper.enable(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS);
+    Schema schema = mock(Schema.class);
+    DoFn.ProcessContext processContextMock = mock(DoFn.ProcessContext.class);
+    DoFn.FinishBundleContext finishBundleContextMock = mock(DoFn.FinishBundleContext.class);
+    IBatchSpannerMigrationTransformer spannerMigrationTransformer =
+        mock(IBatchSpannerMigrationTransformer.class);
+    ChangeEventSessionConvertor changeEventSessionConvertor =
+        mock(ChangeEventSessionConvertor.class);
+    PCollectionView<Ddl> ddl = mock(PCollectionView.class);
+    SpannerConfig spannerConfig = mock(SpannerConfig.class);
+    SpannerAccessor spannerAccessor = mock(SpannerAccessor.class);
+    DatabaseClient databaseClientMock = mock(DatabaseClient.class);
+    CustomTransformation customTransformation =
+        CustomTransformation.builder("gs://bucket/transform.jar", "com.custom.Transform")
+            .setBatchSize(2)
+            .setMaxBatchLatencyMs(60_000)
+            .build();
+
+    ObjectNode changeEvent = mapper.createObjectNode();
+    changeEvent.put(DatastreamConstants.EVENT_SOURCE_TYPE_KEY, Constants.MYSQL_SOURCE_TYPE);
+    changeEvent.put(DatastreamConstants.EVENT_TABLE_NAME_KEY, "Users");
+    changeEvent.put(DatastreamConstants.EVENT_CHANGE_TYPE_KEY, "INSERT");
+    changeEvent.put("first_name", "Johnny");
+    Instant timestamp = Instant.ofEpochMilli(1000);
+
+    when(schema.isEmpty()).thenReturn(true);
+    when(processContextMock.element())
+        .thenReturn(FailsafeElement.of(changeEvent.toString(), changeEvent.toString()));
+    when(processContextMock.timestamp()).thenReturn(timestamp);
+    when(spannerAccessor.getDatabaseClient()).thenReturn(databaseClientMock);
+    when(changeEventSessionConvertor.transformChangeEventData(
+            changeEvent, databaseClientMock, null))
+        .thenReturn(changeEvent);
+    when(changeEventSessionConvertor.getShardId(any())).thenReturn("");
+    when(spannerMigrationTransformer.toSpannerRows(anyList()))
+        .thenReturn(
+            List.of(
+                MigrationTransformationResult.success(
+                    new MigrationTransformationResponse(null, true))));
+
+    ChangeEventTransformerDoFn changeEventTransformerDoFn =
+        ChangeEventTransformerDoFn.create(
+            schema, null, null, null, "mysql", customTransformation, false, ddl, spannerConfig);
+    changeEventTransformerDoFn.setMapper(mapper);
+    changeEventTransformerDoFn.setDatastreamToSpannerTransformer(spannerMigrationTransformer);
+    changeEventTransformerDoFn.setSpannerAccessor(spannerAccessor);
+    changeEventTransformerDoFn.setChangeEventSessionConvertor(changeEventSessionConvertor);
+
+    changeEventTransformerDoFn.processElement(processContextMock, GlobalWindow.INSTANCE);
+    changeEventTransformerDoFn.finishBundle(finishBundleContextMock);
+
+    verify(finishBundleContextMock, times(1))
+        .output(
+            eq(DatastreamToSpannerConstants.FILTERED_EVENT_TAG),
+            eq(changeEvent.toString()),
+            eq(timestamp),
+            eq(GlobalWindow.INSTANCE));
+  }
 }
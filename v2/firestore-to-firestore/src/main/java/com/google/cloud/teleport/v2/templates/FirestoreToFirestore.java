@@ -20,8 +20,10 @@ import com.google.cloud.teleport.metadata.TemplateCategory;
 import com.google.cloud.teleport.metadata.TemplateParameter;
 import com.google.cloud.teleport.v2.common.UncaughtExceptionLogger;
 import com.google.cloud.teleport.v2.transforms.CreatePartitionQueryRequestFn;
+import com.google.cloud.teleport.v2.transforms.PartitionCollectionGroupFn;
 import com.google.cloud.teleport.v2.transforms.PrepareWritesFn;
 import com.google.cloud.teleport.v2.transforms.RunQueryResponseToDocumentFn;
+import com.google.cloud.teleport.v2.transforms.SplitOversizedPartitionFn;
 import com.google.datastore.v1.Entity;
 import com.google.datastore.v1.KindExpression;
 import com.google.datastore.v1.Query;
@@ -44,6 +46,7 @@ import org.apache.beam.sdk.options.PipelineOptionsFactory;
 import org.apache.beam.sdk.transforms.Create;
 import org.apache.beam.sdk.transforms.DoFn;
 import org.apache.beam.sdk.transforms.ParDo;
+import org.apache.beam.sdk.transforms.Reshuffle;
 import org.apache.beam.sdk.values.PCollection;
 import org.joda.time.Instant;
 import org.slf4j.Logger;
@@ -154,6 +157,51 @@ public class FirestoreToFirestore {
     String getReadTime();
 
     void setReadTime(String readTime);
+
+    @TemplateParameter.Long(
+        groupName = "Source",
+        order = 7,
+        optional = true,
+        description = "Target documents per partition",
+        helpText =
+            "The number of documents each read partition should hold. The number of partitions for"
+                + " a collection group is derived from its document count, and partitions that"
+                + " turn out to hold more than twice this number are split again. Set to 0 to use"
+                + " a fixed number of partitions equal to the maximum number of workers.",
+        example = "50000")
+    @Default.Long(50000)
+    Long getTargetDocumentsPerPartition();
+
+    void setTargetDocumentsPerPartition(Long value);
+
+    @TemplateParameter.Integer(
+        groupName = "Source",
+        order = 8,
+        optional = true,
+        description = "Maximum partitions per collection group",
+        helpText = "The maximum number of read partitions to create for a single collection group.",
+        example = "10000")
+    @Default.Integer(10000)
+    Integer getMaxPartitionsPerCollectionGroup();
+
+    void setMaxPartitionsPerCollectionGroup(Integer value);
+
+    @TemplateParameter.Integer(
+        groupName = "Destination",
+        order = 9,
+        optional = true,
+        description = "Write ramp-up worker hint",
+        helpText =
+            "The number of workers the write ramp-up budget is divided across. Writes start at 500"
+                + " operations per second in total and grow by 50% every 5 minutes, backing off"
+                + " when the destination reports contention or RESOURCE_EXHAUSTED. Defaults to the"
+                + " maximum number of workers, or the initial number of workers if that is not"
+                + " set.",
+        example = "20")
+    @Default.Integer(0)
+    Integer getWriteRampUpNumWorkers();
+
+    void setWriteRampUpNumWorkers(Integer value);
   }
 
   public static void main(String[] args) {
@@ -184,6 +232,12 @@ public class FirestoreToFirestore {
           options.getMaxNumWorkers() > 0 ? options.getMaxNumWorkers() : DEFAULT_MAX_NUM_WORKERS;
       RpcQosOptions rpcQosOptions =
           RpcQosOptions.newBuilder().withHintMaxNumWorkers(maxNumWorkers).build();
+      // FirestoreIO applies the 500/50/5 ramp-up and adaptive throttling on writes, splitting the
+      // budget across the hinted number of workers. Over-estimating the worker count makes every
+      // worker start far below its share, so the hint defaults to the workers actually requested.
+      int writeRampUpNumWorkers = getWriteRampUpNumWorkers(options, maxNumWorkers);
+      RpcQosOptions writeRpcQosOptions =
+          RpcQosOptions.newBuilder().withHintMaxNumWorkers(writeRampUpNumWorkers).build();
 
       Instant readTime =
           options.getReadTime().isEmpty() ? Instant.now() : Instant.parse(options.getReadTime());
@@ -193,33 +247,56 @@ public class FirestoreToFirestore {
       LOG.info(
           "Starting pipeline execution with options: sourceProjectId={}, sourceDatabaseId={}, "
               + "destinationProjectId={}, destinationDatabaseId={}, collectionGroupIds={}, "
-              + "maxNumWorkers={}, readTime={}",
+              + "maxNumWorkers={}, writeRampUpNumWorkers={}, readTime={}",
           sourceProjectId,
           sourceDatabaseIdForFirestore,
           destinationProjectId,
           destinationDatabaseIdForFirestore,
           options.getCollectionGroupIds().isEmpty() ? "ALL" : options.getCollectionGroupIds(),
           maxNumWorkers,
+          writeRampUpNumWorkers,
           readTime);
 
-      // 1. Construct the PartitionQuery requests for the collections.
-      PCollection<PartitionQueryRequest> partitionQueryRequests =
-          collectionGroupIds.apply(
-              new CreatePartitionQueryRequestFn(
-                  sourceProjectId, sourceDatabaseIdForFirestore, maxNumWorkers, readTime));
-
-      // 2. Apply FirestoreIO to get partitions (as RunQueryRequests)
-      PCollection<RunQueryRequest> partitionedQueries =
-          partitionQueryRequests.apply(
-              "Get Partitions",
-              FirestoreIO.v1()
-                  .read()
-                  .partitionQuery()
-                  .withProjectId(sourceProjectId)
-                  .withDatabaseId(sourceDatabaseIdForFirestore)
-                  .withReadTime(readTime)
-                  .withRpcQosOptions(rpcQosOptions)
-                  .build());
+      // 1-2. Split each collection group into partitions (as RunQueryRequests)
+      PCollection<RunQueryRequest> partitionedQueries;
+      if (options.getTargetDocumentsPerPartition() > 0) {
+        partitionedQueries =
+            collectionGroupIds
+                .apply(
+                    "Get Size-Based Partitions",
+                    ParDo.of(
+                        new PartitionCollectionGroupFn(
+                            sourceProjectId,
+                            sourceDatabaseIdForFirestore,
+                            options.getTargetDocumentsPerPartition(),
+                            options.getMaxPartitionsPerCollectionGroup(),
+                            readTime)))
+                // Count the partitions in parallel rather than on the partitioning worker.
+                .apply("Distribute Partitions To Count", Reshuffle.viaRandomKey())
+                .apply(
+                    "Split Oversized Partitions",
+                    ParDo.of(
+                        new SplitOversizedPartitionFn(
+                            options.getTargetDocumentsPerPartition(), readTime)))
+                .apply("Distribute Partitions", Reshuffle.viaRandomKey());
+      } else {
+        PCollection<PartitionQueryRequest> partitionQueryRequests =
+            collectionGroupIds.apply(
+                new CreatePartitionQueryRequestFn(
+                    sourceProjectId, sourceDatabaseIdForFirestore, maxNumWorkers, readTime));
+
+        partitionedQueries =
+            partitionQueryRequests.apply(
+                "Get Partitions",
+                FirestoreIO.v1()
+                    .read()
+                    .partitionQuery()
+                    .withProjectId(sourceProjectId)
+                    .withDatabaseId(sourceDatabaseIdForFirestore)
+                    .withReadTime(readTime)
+                    .withRpcQosOptions(rpcQosOptions)
+                    .build());
+      }
 
       // 3. Execute each partitioned query
       PCollection<RunQueryResponse> responses =
@@ -252,7 +329,7 @@ public class FirestoreToFirestore {
               .withProjectId(destinationProjectId)
               .withDatabaseId(destinationDatabaseIdForFirestore)
               .batchWrite()
-              .withRpcQosOptions(rpcQosOptions)
+              .withRpcQosOptions(writeRpcQosOptions)
               .build());
 
       // 7. Run the pipeline
@@ -279,6 +356,19 @@ public class FirestoreToFirestore {
     }
   }
 
+  private static int getWriteRampUpNumWorkers(Options options, int maxNumWorkers) {
+    if (options.getWriteRampUpNumWorkers() > 0) {
+      return options.getWriteRampUpNumWorkers();
+    }
+    if (options.getMaxNumWorkers() > 0) {
+      return options.getMaxNumWorkers();
+    }
+    if (options.getNumWorkers() > 0) {
+      return options.getNumWorkers();
+    }
+    return maxNumWorkers;
+  }
+
   private static PCollection<String> getCollectionGroupIds(Pipeline p, Options options) {
     if (options.getCollectionGroupIds() == null || options.getCollectionGroupIds().isEmpty()) {
       LOG.info("No collectionGroupIds provided. Discovering all...");
@@ -0,0 +1,314 @@
+/*
+ * Copyright (C) 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.cloud.teleport.v2.transforms;
+
+import com.google.api.gax.rpc.ServerStream;
+import com.google.cloud.firestore.v1.FirestoreClient;
+import com.google.cloud.firestore.v1.FirestoreSettings;
+import com.google.firestore.v1.Cursor;
+import com.google.firestore.v1.DocumentRootName;
+import com.google.firestore.v1.PartitionQueryRequest;
+import com.google.firestore.v1.RunAggregationQueryRequest;
+import com.google.firestore.v1.RunAggregationQueryResponse;
+import com.google.firestore.v1.RunQueryRequest;
+import com.google.firestore.v1.StructuredAggregationQuery;
+import com.google.firestore.v1.StructuredAggregationQuery.Aggregation;
+import com.google.firestore.v1.StructuredQuery;
+import com.google.firestore.v1.StructuredQuery.CollectionSelector;
+import com.google.firestore.v1.StructuredQuery.Direction;
+import com.google.firestore.v1.StructuredQuery.FieldReference;
+import com.google.firestore.v1.StructuredQuery.Order;
+import com.google.firestore.v1.Value;
+import com.google.protobuf.Timestamp;
+import com.google.protobuf.util.Timestamps;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import javax.annotation.Nullable;
+import org.apache.beam.sdk.transforms.DoFn;
+import org.apache.beam.sdk.values.KV;
+import org.joda.time.Instant;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Splits a collection group into {@link RunQueryRequest}s whose partition count is derived from the
+ * number of documents in the collection group rather than a fixed value.
+ *
+ * <p>The document count is obtained with a {@code COUNT} aggregation at the pipeline read time and
+ * divided by {@code targetDocumentsPerPartition}. Every partition is output with the finer splits
+ * of its range, taken from a partition query {@code RESPLIT_FACTOR} times finer. Firestore does not
+ * allow cursors on a partition query, so this finer query covers the whole collection group and is
+ * only run once. The partitions are then counted in parallel by {@link SplitOversizedPartitionFn},
+ * which replaces any partition holding more than twice the target by its finer splits.
+ */
+public class PartitionCollectionGroupFn
+    extends DoFn<String, KV<RunQueryRequest, List<RunQueryRequest>>> {
+
+  private static final Logger LOG = LoggerFactory.getLogger(PartitionCollectionGroupFn.class);
+
+  /** Number of times finer the re-split partition query is compared to the initial one. */
+  private static final int RESPLIT_FACTOR = 8;
+
+  private static final String COUNT_ALIAS = "count";
+  private static final String DOCUMENTS_SEPARATOR = "/documents/";
+
+  private final String projectId;
+  private final String databaseId;
+  private final long targetDocumentsPerPartition;
+  private final int maxPartitions;
+  @Nullable private final Instant readTime;
+
+  private transient FirestoreClient client;
+
+  public PartitionCollectionGroupFn(
+      String projectId,
+      String databaseId,
+      long targetDocumentsPerPartition,
+      int maxPartitions,
+      @Nullable Instant readTime) {
+    this.projectId = projectId;
+    this.databaseId = databaseId;
+    this.targetDocumentsPerPartition = targetDocumentsPerPartition;
+    this.maxPartitions = maxPartitions;
+    this.readTime = readTime;
+  }
+
+  @Setup
+  public void setup() throws IOException {
+    client = FirestoreClient.create(FirestoreSettings.newBuilder().build());
+  }
+
+  @Teardown
+  public void teardown() {
+    if (client != null) {
+      client.close();
+      client = null;
+    }
+  }
+
+  @ProcessElement
+  public void processElement(
+      @Element String collectionGroupId,
+      OutputReceiver<KV<RunQueryRequest, List<RunQueryRequest>>> c) {
+    String parent = DocumentRootName.of(projectId, databaseId).toString();
+    StructuredQuery query = collectionGroupQuery(collectionGroupId);
+
+    long documentCount = count(client, parent, query, readTime);
+    int partitionCount =
+        partitionCountFor(documentCount, targetDocumentsPerPartition, maxPartitions);
+    LOG.info(
+        "Collection group {} has {} documents, requesting {} partitions",
+        collectionGroupId,
+        documentCount,
+        partitionCount);
+
+    List<Cursor> cursors = partitionCursors(parent, query, partitionCount);
+    List<RunQueryRequest> partitions = toRunQueryRequests(parent, query, cursors, readTime);
+    if (partitions.size() == 1 || partitionCount >= maxPartitions) {
+      // The partitions cannot be split any further.
+      for (RunQueryRequest partition : partitions) {
+        c.output(KV.of(partition, Collections.emptyList()));
+      }
+      return;
+    }
+
+    List<Cursor> fineCursors =
+        partitionCursors(
+            parent, query, (int) Math.min(maxPartitions, (long) partitionCount * RESPLIT_FACTOR));
+    for (int i = 0; i < partitions.size(); i++) {
+      Cursor start = i == 0 ? null : cursors.get(i - 1);
+      Cursor end = i == cursors.size() ? null : cursors.get(i);
+      c.output(
+          KV.of(partitions.get(i), splitsWithin(parent, query, fineCursors, start, end, readTime)));
+    }
+  }
+
+  /**
+   * Returns the ranges the finer cursors split the range from {@code start} to {@code end} into, or
+   * an empty list if no finer cursor falls inside of it.
+   */
+  static List<RunQueryRequest> splitsWithin(
+      String parent,
+      StructuredQuery query,
+      List<Cursor> fineCursors,
+      @Nullable Cursor start,
+      @Nullable Cursor end,
+      @Nullable Instant readTime) {
+    List<Cursor> within = cursorsWithin(fineCursors, start, end);
+    if (within.isEmpty()) {
+      return Collections.emptyList();
+    }
+    List<Cursor> subCursors = new ArrayList<>();
+    if (start != null) {
+      subCursors.add(start);
+    }
+    subCursors.addAll(within);
+    if (end != null) {
+      subCursors.add(end);
+    }
+    List<RunQueryRequest> splits = toRunQueryRequests(parent, query, subCursors, readTime);
+    // Drop the leading and trailing ranges, which fall outside of this partition.
+    int from = start == null ? 0 : 1;
+    int to = end == null ? splits.size() : splits.size() - 1;
+    return new ArrayList<>(splits.subList(from, to));
+  }
+
+  /** Returns the number of documents matched by {@code query}, with a {@code COUNT} aggregation. */
+  static long count(
+      FirestoreClient client, String parent, StructuredQuery query, @Nullable Instant readTime) {
+    RunAggregationQueryRequest.Builder request =
+        RunAggregationQueryRequest.newBuilder()
+            .setParent(parent)
+            .setStructuredAggregationQuery(
+                StructuredAggregationQuery.newBuilder()
+                    .setStructuredQuery(query)
+                    .addAggregations(
+                        Aggregation.newBuilder()
+                            .setAlias(COUNT_ALIAS)
+                            .setCount(Aggregation.Count.getDefaultInstance())));
+    if (readTime != null) {
+      request.setReadTime(Timestamps.fromMillis(readTime.getMillis()));
+    }
+
+    ServerStream<RunAggregationQueryResponse> responses =
+        client.runAggregationQueryCallable().call(request.build());
+    long count = 0;
+    for (RunAggregationQueryResponse response : responses) {
+      if (response.hasResult()) {
+        Value value = response.getResult().getAggregateFieldsMap().get(COUNT_ALIAS);
+        if (value != null) {
+          count = value.getIntegerValue();
+        }
+      }
+    }
+    return count;
+  }
+
+  private List<Cursor> partitionCursors(String parent, StructuredQuery query, int partitionCount) {
+    if (partitionCount <= 1) {
+      return new ArrayList<>();
+    }
+    PartitionQueryRequest.Builder request =
+        PartitionQueryRequest.newBuilder()
+            .setParent(parent)
+            .setStructuredQuery(query)
+            // partition_count is the number of split points, so N partitions need N - 1 of them.
+            .setPartitionCount(partitionCount - 1);
+    if (readTime != null) {
+      request.setReadTime(Timestamps.fromMillis(readTime.getMillis()));
+    }
+
+    List<Cursor> cursors = new ArrayList<>();
+    for (Cursor cursor : client.partitionQuery(request.build()).iterateAll()) {
+      cursors.add(cursor);
+    }
+    cursors.sort(CURSOR_COMPARATOR);
+    return cursors;
+  }
+
+  static StructuredQuery collectionGroupQuery(String collectionGroupId) {
+    return StructuredQuery.newBuilder()
+        .addFrom(
+            CollectionSelector.newBuilder()
+                .setCollectionId(collectionGroupId)
+                .setAllDescendants(true))
+        .addOrderBy(
+            Order.newBuilder()
+                .setField(FieldReference.newBuilder().setFieldPath("__name__").build())
+                .setDirection(Direction.ASCENDING)
+                .build())
+        .build();
+  }
+
+  /** Returns the number of partitions to request for a collection group of the given size. */
+  static int partitionCountFor(long documentCount, long targetDocumentsPerPartition, int max) {
+    if (targetDocumentsPerPartition <= 0 || documentCount <= targetDocumentsPerPartition) {
+      return 1;
+    }
+    long partitions =
+        (documentCount + targetDocumentsPerPartition - 1) / targetDocumentsPerPartition;
+    return (int) Math.max(1, Math.min(max, partitions));
+  }
+
+  /**
+   * Converts sorted partition cursors to one {@link RunQueryRequest} per range, in the same way as
+   * {@code FirestoreIO}'s partition query does: each range starts before its lower cursor and ends
+   * before its upper cursor.
+   */
+  static List<RunQueryRequest> toRunQueryRequests(
+      String parent, StructuredQuery query, List<Cursor> cursors, @Nullable Instant readTime) {
+    List<RunQueryRequest> requests = new ArrayList<>();
+    Timestamp timestamp = readTime == null ? null : Timestamps.fromMillis(readTime.getMillis());
+    for (int i = 0; i <= cursors.size(); i++) {
+      StructuredQuery.Builder range = query.toBuilder();
+      if (i > 0) {
+        range.setStartAt(cursors.get(i - 1).toBuilder().setBefore(true));
+      }
+      if (i < cursors.size()) {
+        range.setEndAt(cursors.get(i).toBuilder().setBefore(true));
+      }
+      RunQueryRequest.Builder request =
+          RunQueryRequest.newBuilder().setParent(parent).setStructuredQuery(range);
+      if (timestamp != null) {
+        request.setReadTime(timestamp);
+      }
+      requests.add(request.build());
+    }
+    return requests;
+  }
+
+  /** Returns the cursors strictly between {@code start} and {@code end}; null bounds are open. */
+  static List<Cursor> cursorsWithin(
+      List<Cursor> cursors, @Nullable Cursor start, @Nullable Cursor end) {
+    List<Cursor> within = new ArrayList<>();
+    for (Cursor cursor : cursors) {
+      if ((start == null || CURSOR_COMPARATOR.compare(cursor, start) > 0)
+          && (end == null || CURSOR_COMPARATOR.compare(cursor, end) < 0)) {
+        within.add(cursor);
+      }
+    }
+    return within;
+  }
+
+  /** Orders partition cursors by the document path they point at, segment by segment. */
+  static final Comparator<Cursor> CURSOR_COMPARATOR =
+      (left, right) -> compareReferences(referenceOf(left), referenceOf(right));
+
+  private static String referenceOf(Cursor cursor) {
+    return cursor.getValuesCount() == 0 ? "" : cursor.getValues(0).getReferenceValue();
+  }
+
+  static int compareReferences(String left, String right) {
+    String[] leftSegments = relativePath(left).split("/");
+    String[] rightSegments = relativePath(right).split("/");
+    int length = Math.min(leftSegments.length, rightSegments.length);
+    for (int i = 0; i < length; i++) {
+      int compare = leftSegments[i].compareTo(rightSegments[i]);
+      if (compare != 0) {
+        return compare;
+      }
+    }
+    return Integer.compare(leftSegments.length, rightSegments.length);
+  }
+
+  private static String relativePath(String reference) {
+    int index = reference.indexOf(DOCUMENTS_SEPARATOR);
+    return index < 0 ? reference : reference.substring(index + DOCUMENTS_SEPARATOR.length());
+  }
+}
@@ -17,6 +17,10 @@ package com.google.cloud.teleport.v2.transforms;
 
 import com.google.firestore.v1.Document;
 import com.google.firestore.v1.Write;
+import java.util.HashMap;
+import java.util.Map;
+import org.apache.beam.sdk.metrics.Counter;
+import org.apache.beam.sdk.metrics.Metrics;
 import org.apache.beam.sdk.transforms.DoFn;
 
 // DoFn to convert Document to Write requests for the destination database
@@ -25,11 +29,19 @@ public class PrepareWritesFn extends DoFn<Document, Write> {
   private final String projectId;
   private final String databaseId;
 
+  // Per collection group counters; their rate is the documents/sec copied for each collection.
+  private transient Map<String, Counter> documentCounters;
+
   public PrepareWritesFn(String projectId, String databaseId) {
     this.projectId = projectId;
     this.databaseId = databaseId;
   }
 
+  @Setup
+  public void setup() {
+    documentCounters = new HashMap<>();
+  }
+
   @ProcessElement
   public void processElement(ProcessContext c) {
     Document doc = c.element();
@@ -44,5 +56,16 @@ public class PrepareWritesFn extends DoFn<Document, Write> {
 
     Document newDoc = doc.toBuilder().setName(newName).build();
     c.output(Write.newBuilder().setUpdate(newDoc).build());
+    documentCounters
+        .computeIfAbsent(
+            collectionGroupOf(path),
+            collectionId -> Metrics.counter(PrepareWritesFn.class, "documents_" + collectionId))
+        .inc();
+  }
+
+  /** Returns the ID of the collection that directly contains the document at {@code path}. */
+  static String collectionGroupOf(String path) {
+    String[] segments = path.split("/");
+    return segments.length >= 2 ? segments[segments.length - 2] : "";
   }
 }
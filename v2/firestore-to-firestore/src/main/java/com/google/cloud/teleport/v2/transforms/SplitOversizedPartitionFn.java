@@ -0,0 +1,102 @@
+/*
+ * Copyright (C) 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.cloud.teleport.v2.transforms;
+
+import com.google.cloud.firestore.v1.FirestoreClient;
+import com.google.cloud.firestore.v1.FirestoreSettings;
+import com.google.firestore.v1.RunQueryRequest;
+import java.io.IOException;
+import java.util.List;
+import javax.annotation.Nullable;
+import org.apache.beam.sdk.metrics.Counter;
+import org.apache.beam.sdk.metrics.Distribution;
+import org.apache.beam.sdk.metrics.Metrics;
+import org.apache.beam.sdk.transforms.DoFn;
+import org.apache.beam.sdk.values.KV;
+import org.joda.time.Instant;
+
+/**
+ * Counts a partition output by {@link PartitionCollectionGroupFn} and replaces it by its finer
+ * splits if it holds more than twice {@code targetDocumentsPerPartition} documents.
+ *
+ * <p>The partitions are reshuffled before this DoFn, so that they are counted in parallel rather
+ * than one after the other by the worker which partitioned the collection group. Partitions without
+ * finer splits are output as they are, without being counted.
+ */
+public class SplitOversizedPartitionFn
+    extends DoFn<KV<RunQueryRequest, List<RunQueryRequest>>, RunQueryRequest> {
+
+  private static final Counter OVERSIZED_PARTITIONS =
+      Metrics.counter(SplitOversizedPartitionFn.class, "oversizedPartitions");
+  private static final Distribution DOCUMENTS_PER_PARTITION =
+      Metrics.distribution(SplitOversizedPartitionFn.class, "documentsPerPartition");
+
+  private final long targetDocumentsPerPartition;
+  @Nullable private final Instant readTime;
+
+  private transient FirestoreClient client;
+
+  public SplitOversizedPartitionFn(long targetDocumentsPerPartition, @Nullable Instant readTime) {
+    this.targetDocumentsPerPartition = targetDocumentsPerPartition;
+    this.readTime = readTime;
+  }
+
+  @Setup
+  public void setup() throws IOException {
+    client = FirestoreClient.create(FirestoreSettings.newBuilder().build());
+  }
+
+  @Teardown
+  public void teardown() {
+    if (client != null) {
+      client.close();
+      client = null;
+    }
+  }
+
+  @ProcessElement
+  public void processElement(
+      @Element KV<RunQueryRequest, List<RunQueryRequest>> element,
+      OutputReceiver<RunQueryRequest> c) {
+    RunQueryRequest partition = element.getKey();
+    List<RunQueryRequest> splits = element.getValue();
+    Counter partitions =
+        Metrics.counter(
+            SplitOversizedPartitionFn.class,
+            "partitions_" + partition.getStructuredQuery().getFrom(0).getCollectionId());
+    if (splits.isEmpty()) {
+      c.output(partition);
+      partitions.inc();
+      return;
+    }
+
+    long partitionSize =
+        PartitionCollectionGroupFn.count(
+            client, partition.getParent(), partition.getStructuredQuery(), readTime);
+    DOCUMENTS_PER_PARTITION.update(partitionSize);
+    if (partitionSize <= 2 * targetDocumentsPerPartition) {
+      c.output(partition);
+      partitions.inc();
+      return;
+    }
+
+    OVERSIZED_PARTITIONS.inc();
+    for (RunQueryRequest split : splits) {
+      c.output(split);
+    }
+    partitions.inc(splits.size());
+  }
+}
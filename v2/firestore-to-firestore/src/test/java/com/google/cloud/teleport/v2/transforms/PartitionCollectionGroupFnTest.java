@@ -0,0 +1,134 @@
+/*
+ * Copyright (C) 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.cloud.teleport.v2.transforms;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import com.google.common.collect.ImmutableList;
+import com.google.firestore.v1.Cursor;
+import com.google.firestore.v1.RunQueryRequest;
+import com.google.firestore.v1.StructuredQuery;
+import com.google.firestore.v1.Value;
+import com.google.protobuf.util.Timestamps;
+import java.util.ArrayList;
+import java.util.List;
+import org.joda.time.Instant;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+@RunWith(JUnit4.class)
+public class PartitionCollectionGroupFnTest {
+
+  private static final String PARENT = "projects/test-project/databases/test-db/documents";
+
+  private static Cursor cursor(String path) {
+    return Cursor.newBuilder()
+        .addValues(Value.newBuilder().setReferenceValue(PARENT + "/" + path))
+        .build();
+  }
+
+  @Test
+  public void testPartitionCountFor() {
+    assertThat(PartitionCollectionGroupFn.partitionCountFor(0, 1000, 100)).isEqualTo(1);
+    assertThat(PartitionCollectionGroupFn.partitionCountFor(1000, 1000, 100)).isEqualTo(1);
+    assertThat(PartitionCollectionGroupFn.partitionCountFor(1001, 1000, 100)).isEqualTo(2);
+    assertThat(PartitionCollectionGroupFn.partitionCountFor(50_000, 1000, 100)).isEqualTo(50);
+    assertThat(PartitionCollectionGroupFn.partitionCountFor(10_000_000, 1000, 100)).isEqualTo(100);
+  }
+
+  @Test
+  public void testCompareReferencesOrdersBySegment() {
+    // "users/a/x" sorts before "users-2/b" segment by segment, although not as a plain string.
+    assertThat(
+            PartitionCollectionGroupFn.compareReferences(
+                PARENT + "/users/a/messages/x", PARENT + "/users-2/b"))
+        .isLessThan(0);
+    assertThat(
+            PartitionCollectionGroupFn.compareReferences(PARENT + "/users/a", PARENT + "/users/a"))
+        .isEqualTo(0);
+    assertThat(
+            PartitionCollectionGroupFn.compareReferences(
+                PARENT + "/users/a/messages/x", PARENT + "/users/a"))
+        .isGreaterThan(0);
+  }
+
+  @Test
+  public void testToRunQueryRequests() {
+    StructuredQuery query = PartitionCollectionGroupFn.collectionGroupQuery("users");
+    Instant readTime = Instant.parse("2021-10-12T07:20:50.52Z");
+    List<RunQueryRequest> requests =
+        PartitionCollectionGroupFn.toRunQueryRequests(
+            PARENT, query, ImmutableList.of(cursor("users/b"), cursor("users/d")), readTime);
+
+    assertThat(requests).hasSize(3);
+    assertThat(requests.get(0).getStructuredQuery().hasStartAt()).isFalse();
+    assertThat(requests.get(0).getStructuredQuery().getEndAt())
+        .isEqualTo(cursor("users/b").toBuilder().setBefore(true).build());
+    assertThat(requests.get(1).getStructuredQuery().getStartAt())
+        .isEqualTo(cursor("users/b").toBuilder().setBefore(true).build());
+    assertThat(requests.get(1).getStructuredQuery().getEndAt())
+        .isEqualTo(cursor("users/d").toBuilder().setBefore(true).build());
+    assertThat(requests.get(2).getStructuredQuery().hasEndAt()).isFalse();
+    for (RunQueryRequest request : requests) {
+      assertThat(request.getParent()).isEqualTo(PARENT);
+      assertThat(request.getReadTime()).isEqualTo(Timestamps.fromMillis(readTime.getMillis()));
+    }
+  }
+
+  @Test
+  public void testCursorsWithin() {
+    List<Cursor> cursors = new ArrayList<>();
+    for (String id : new String[] {"a", "b", "c", "d", "e"}) {
+      cursors.add(cursor("users/" + id));
+    }
+
+    assertThat(
+            PartitionCollectionGroupFn.cursorsWithin(cursors, cursor("users/b"), cursor("users/e")))
+        .containsExactly(cursor("users/c"), cursor("users/d"))
+        .inOrder();
+    assertThat(PartitionCollectionGroupFn.cursorsWithin(cursors, null, cursor("users/b")))
+        .containsExactly(cursor("users/a"));
+    assertThat(PartitionCollectionGroupFn.cursorsWithin(cursors, cursor("users/d"), null))
+        .containsExactly(cursor("users/e"));
+  }
+
+  @Test
+  public void testSplitsWithin() {
+    StructuredQuery query = PartitionCollectionGroupFn.collectionGroupQuery("users");
+    List<Cursor> fineCursors =
+        ImmutableList.of(cursor("users/a"), cursor("users/c"), cursor("users/e"));
+
+    List<RunQueryRequest> splits =
+        PartitionCollectionGroupFn.splitsWithin(
+            PARENT, query, fineCursors, cursor("users/b"), cursor("users/f"), null);
+
+    // The range from b to f is split at c and e.
+    assertThat(splits).hasSize(3);
+    assertThat(splits.get(0).getStructuredQuery().getStartAt())
+        .isEqualTo(cursor("users/b").toBuilder().setBefore(true).build());
+    assertThat(splits.get(0).getStructuredQuery().getEndAt())
+        .isEqualTo(cursor("users/c").toBuilder().setBefore(true).build());
+    assertThat(splits.get(2).getStructuredQuery().getStartAt())
+        .isEqualTo(cursor("users/e").toBuilder().setBefore(true).build());
+    assertThat(splits.get(2).getStructuredQuery().getEndAt())
+        .isEqualTo(cursor("users/f").toBuilder().setBefore(true).build());
+    assertThat(
+            PartitionCollectionGroupFn.splitsWithin(
+                PARENT, query, fineCursors, cursor("users/c"), cursor("users/d"), null))
+        .isEmpty();
+  }
+}
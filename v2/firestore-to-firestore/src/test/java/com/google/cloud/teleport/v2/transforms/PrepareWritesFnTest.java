@@ -15,6 +15,8 @@
  */
 package com.google.cloud.teleport.v2.transforms;
 
+import static org.junit.Assert.assertEquals;
+
 import com.google.common.collect.ImmutableList;
 import com.google.firestore.v1.Document;
 import com.google.firestore.v1.MapValue;
@@ -57,6 +59,13 @@ public class PrepareWritesFnTest {
     p.run();
   }
 
+  @Test
+  public void testCollectionGroupOf() {
+    assertEquals("myCol", PrepareWritesFn.collectionGroupOf("documents/myCol/docId1"));
+    assertEquals(
+        "messages", PrepareWritesFn.collectionGroupOf("documents/users/bob/messages/msg1"));
+  }
+
   @Test
   public void testPrepareWritesFn_preservesFields() {
     String sourceName = "projects/source/databases/(default)/documents/data/item1";
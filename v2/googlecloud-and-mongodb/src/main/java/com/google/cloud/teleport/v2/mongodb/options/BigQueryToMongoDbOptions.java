@@ -17,6 +17,7 @@ package com.google.cloud.teleport.v2.mongodb.options;
 
 import com.google.cloud.teleport.metadata.TemplateParameter;
 import org.apache.beam.runners.dataflow.options.DataflowPipelineOptions;
+import org.apache.beam.sdk.options.Default;
 import org.apache.beam.sdk.options.PipelineOptions;
 
 /**
@@ -69,5 +70,51 @@ public class BigQueryToMongoDbOptions {
     String getInputTableSpec();
 
     void setInputTableSpec(String inputTableSpec);
+
+    @TemplateParameter.Text(
+        order = 2,
+        groupName = "Source",
+        optional = true,
+        description = "List of field names",
+        helpText =
+            "A comma-separated list of fields to select from the input BigQuery table. Only these"
+                + " columns are read through the BigQuery Storage Read API. If not set, all columns"
+                + " are read.",
+        example = "name,age,address")
+    String getFields();
+
+    void setFields(String fields);
+
+    @TemplateParameter.Text(
+        order = 3,
+        groupName = "Source",
+        optional = true,
+        description = "Row restrictions/filter.",
+        helpText =
+            "Read only rows which match the specified filter, which must be a SQL expression"
+                + " compatible with Google standard SQL"
+                + " (https://cloud.google.com/bigquery/docs/reference/standard-sql). The filter is"
+                + " applied by the BigQuery Storage Read API. If no value is specified, then all"
+                + " rows are returned.",
+        example = "age > 18")
+    String getRowRestriction();
+
+    void setRowRestriction(String rowRestriction);
+
+    @TemplateParameter.Boolean(
+        order = 4,
+        groupName = "Source",
+        optional = true,
+        description = "Use the BigQuery Storage Read API",
+        helpText =
+            "If true, rows are read with the BigQuery Storage Read API and converted to documents"
+                + " directly, keeping BigQuery types such as INT64, NUMERIC and TIMESTAMP as the"
+                + " matching BSON types. If false, rows are exported and every value is converted"
+                + " through its JSON representation. Always enabled when `fields` or"
+                + " `rowRestriction` is set.")
+    @Default.Boolean(false)
+    Boolean getUseStorageReadApi();
+
+    void setUseStorageReadApi(Boolean useStorageReadApi);
   }
 }
@@ -0,0 +1,131 @@
+/*
+ * Copyright (C) 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.cloud.teleport.v2.mongodb.templates;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import org.apache.avro.LogicalType;
+import org.apache.avro.LogicalTypes;
+import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.beam.sdk.io.gcp.bigquery.SchemaAndRecord;
+import org.apache.beam.sdk.transforms.SerializableFunction;
+import org.bson.Document;
+import org.bson.types.Binary;
+import org.bson.types.Decimal128;
+
+/**
+ * Converts the Avro records returned by the BigQuery Storage Read API straight into MongoDB {@link
+ * Document}s, without going through an intermediate {@code TableRow}.
+ *
+ * <p>INT64, FLOAT64, BOOL, BYTES, NUMERIC and TIMESTAMP columns keep their native BSON types;
+ * NUMERIC values that do not fit in a {@link Decimal128}, as well as DATE, TIME, DATETIME and
+ * GEOGRAPHY values, are written as strings. RECORD columns become embedded documents and REPEATED
+ * columns become arrays. As with the export based read, a top level {@code _id} column is dropped.
+ */
+public class BigQueryRecordToDocument implements SerializableFunction<SchemaAndRecord, Document> {
+
+  private static final String ID_FIELD = "_id";
+
+  @Override
+  public Document apply(SchemaAndRecord input) {
+    return toDocument(input.getRecord(), true);
+  }
+
+  static Document toDocument(GenericRecord record, boolean dropId) {
+    Document document = new Document();
+    for (Schema.Field field : record.getSchema().getFields()) {
+      if (dropId && field.name().equals(ID_FIELD)) {
+        continue;
+      }
+      document.append(field.name(), convert(field.schema(), record.get(field.pos())));
+    }
+    return document;
+  }
+
+  private static Object convert(Schema schema, Object value) {
+    if (value == null) {
+      return null;
+    }
+    schema = unwrapNullable(schema);
+
+    switch (schema.getType()) {
+      case RECORD:
+        return toDocument((GenericRecord) value, false);
+      case ARRAY:
+        List<Object> values = new ArrayList<>();
+        for (Object element : (Iterable<?>) value) {
+          values.add(convert(schema.getElementType(), element));
+        }
+        return values;
+      case STRING:
+      case ENUM:
+        return value.toString();
+      case BYTES:
+        return convertBytes(schema, (ByteBuffer) value);
+      case INT:
+        if (schema.getLogicalType() instanceof LogicalTypes.Date) {
+          return LocalDate.ofEpochDay((Integer) value).toString();
+        }
+        return value;
+      case LONG:
+        LogicalType logicalType = schema.getLogicalType();
+        if (logicalType instanceof LogicalTypes.TimestampMicros) {
+          return new Date(Math.floorDiv((Long) value, 1000L));
+        } else if (logicalType instanceof LogicalTypes.TimeMicros) {
+          return LocalTime.ofNanoOfDay((Long) value * 1000L).toString();
+        }
+        return value;
+      default:
+        return value;
+    }
+  }
+
+  private static Object convertBytes(Schema schema, ByteBuffer buffer) {
+    byte[] bytes = new byte[buffer.remaining()];
+    buffer.duplicate().get(bytes);
+    if (!(schema.getLogicalType() instanceof LogicalTypes.Decimal)) {
+      return new Binary(bytes);
+    }
+
+    int scale = ((LogicalTypes.Decimal) schema.getLogicalType()).getScale();
+    BigDecimal decimal = new BigDecimal(new BigInteger(bytes), scale);
+    try {
+      return new Decimal128(decimal);
+    } catch (NumberFormatException e) {
+      // BIGNUMERIC and wide NUMERIC values do not fit in 34 digits.
+      return decimal.toPlainString();
+    }
+  }
+
+  private static Schema unwrapNullable(Schema schema) {
+    if (schema.getType() != Schema.Type.UNION) {
+      return schema;
+    }
+    for (Schema type : schema.getTypes()) {
+      if (type.getType() != Schema.Type.NULL) {
+        return type;
+      }
+    }
+    return schema;
+  }
+}
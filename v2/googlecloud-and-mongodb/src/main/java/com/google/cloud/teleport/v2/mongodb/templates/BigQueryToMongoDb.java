@@ -23,12 +23,18 @@ import com.google.cloud.teleport.v2.mongodb.options.BigQueryToMongoDbOptions.Big
 import com.google.cloud.teleport.v2.mongodb.options.BigQueryToMongoDbOptions.MongoDbOptions;
 import com.google.cloud.teleport.v2.mongodb.templates.BigQueryToMongoDb.Options;
 import org.apache.beam.sdk.Pipeline;
+import org.apache.beam.sdk.coders.SerializableCoder;
 import org.apache.beam.sdk.io.gcp.bigquery.BigQueryIO;
+import org.apache.beam.sdk.io.gcp.bigquery.BigQueryIO.TypedRead;
+import org.apache.beam.sdk.io.gcp.bigquery.BigQueryIO.TypedRead.Method;
 import org.apache.beam.sdk.io.mongodb.MongoDbIO;
 import org.apache.beam.sdk.options.PipelineOptions;
 import org.apache.beam.sdk.options.PipelineOptionsFactory;
 import org.apache.beam.sdk.transforms.DoFn;
 import org.apache.beam.sdk.transforms.ParDo;
+import org.apache.beam.sdk.values.PCollection;
+import org.apache.beam.vendor.guava.v32_1_2_jre.com.google.common.base.Splitter;
+import org.apache.beam.vendor.guava.v32_1_2_jre.com.google.common.base.Strings;
 import org.bson.Document;
 
 /**
@@ -82,31 +88,59 @@ public class BigQueryToMongoDb {
   public static boolean run(Options options) {
     Pipeline pipeline = Pipeline.create(options);
 
-    pipeline
-        .apply(BigQueryIO.readTableRows().withoutValidation().from(options.getInputTableSpec()))
-        .apply(
-            "bigQueryDataset",
-            ParDo.of(
-                new DoFn<TableRow, Document>() {
-                  @ProcessElement
-                  public void process(ProcessContext c) {
-                    Document doc = new Document();
-                    TableRow row = c.element();
-                    row.forEach(
-                        (key, value) -> {
-                          if (!key.equals("_id")) {
-                            doc.append(key, value);
-                          }
-                        });
-                    c.output(doc);
-                  }
-                }))
-        .apply(
-            MongoDbIO.write()
-                .withUri(options.getMongoDbUri())
-                .withDatabase(options.getDatabase())
-                .withCollection(options.getCollection()));
+    PCollection<Document> documents;
+    if (useStorageReadApi(options)) {
+      TypedRead<Document> read =
+          BigQueryIO.read(new BigQueryRecordToDocument())
+              .withCoder(SerializableCoder.of(Document.class))
+              .withoutValidation()
+              .from(options.getInputTableSpec())
+              .withMethod(Method.DIRECT_READ);
+      if (!Strings.isNullOrEmpty(options.getFields())) {
+        read =
+            read.withSelectedFields(
+                Splitter.on(',').trimResults().omitEmptyStrings().splitToList(options.getFields()));
+      }
+      if (!Strings.isNullOrEmpty(options.getRowRestriction())) {
+        read = read.withRowRestriction(options.getRowRestriction());
+      }
+      documents = pipeline.apply("ReadFromBigQueryStorage", read);
+    } else {
+      documents =
+          pipeline
+              .apply(
+                  BigQueryIO.readTableRows().withoutValidation().from(options.getInputTableSpec()))
+              .apply(
+                  "bigQueryDataset",
+                  ParDo.of(
+                      new DoFn<TableRow, Document>() {
+                        @ProcessElement
+                        public void process(ProcessContext c) {
+                          Document doc = new Document();
+                          TableRow row = c.element();
+                          row.forEach(
+                              (key, value) -> {
+                                if (!key.equals("_id")) {
+                                  doc.append(key, value);
+                                }
+                              });
+                          c.output(doc);
+                        }
+                      }));
+    }
+
+    documents.apply(
+        MongoDbIO.write()
+            .withUri(options.getMongoDbUri())
+            .withDatabase(options.getDatabase())
+            .withCollection(options.getCollection()));
     pipeline.run();
     return true;
   }
+
+  private static boolean useStorageReadApi(Options options) {
+    return options.getUseStorageReadApi()
+        || !Strings.isNullOrEmpty(options.getFields())
+        || !Strings.isNullOrEmpty(options.getRowRestriction());
+  }
 }
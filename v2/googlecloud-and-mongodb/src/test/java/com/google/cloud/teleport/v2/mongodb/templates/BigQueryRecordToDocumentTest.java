@@ -0,0 +1,97 @@
+/*
+ * Copyright (C) 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.cloud.teleport.v2.mongodb.templates;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Date;
+import org.apache.avro.LogicalTypes;
+import org.apache.avro.Schema;
+import org.apache.avro.SchemaBuilder;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericRecord;
+import org.bson.Document;
+import org.bson.types.Decimal128;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** Test cases for the {@link BigQueryRecordToDocument} class. */
+@RunWith(JUnit4.class)
+public class BigQueryRecordToDocumentTest {
+
+  @Test
+  public void testConvertsTypedColumns() {
+    Schema timestamp = LogicalTypes.timestampMicros().addToSchema(Schema.create(Schema.Type.LONG));
+    Schema numeric = LogicalTypes.decimal(38, 9).addToSchema(Schema.create(Schema.Type.BYTES));
+    Schema date = LogicalTypes.date().addToSchema(Schema.create(Schema.Type.INT));
+    Schema nested = SchemaBuilder.record("nested").fields().requiredString("city").endRecord();
+    Schema schema =
+        SchemaBuilder.record("row")
+            .fields()
+            .requiredString("_id")
+            .requiredLong("count")
+            .optionalString("name")
+            .name("created")
+            .type(timestamp)
+            .noDefault()
+            .name("price")
+            .type(numeric)
+            .noDefault()
+            .name("day")
+            .type(date)
+            .noDefault()
+            .name("tags")
+            .type()
+            .array()
+            .items()
+            .stringType()
+            .noDefault()
+            .name("address")
+            .type(nested)
+            .noDefault()
+            .endRecord();
+
+    GenericRecord address = new GenericData.Record(nested);
+    address.put("city", "Paris");
+    GenericRecord record = new GenericData.Record(schema);
+    record.put("_id", "ignored");
+    record.put("count", 42L);
+    record.put("name", null);
+    record.put("created", 1_600_000_000_123_456L);
+    record.put(
+        "price", ByteBuffer.wrap(new BigDecimal("12.500000000").unscaledValue().toByteArray()));
+    record.put("day", 18_262);
+    record.put("tags", Arrays.asList("a", "b"));
+    record.put("address", address);
+
+    Document document = BigQueryRecordToDocument.toDocument(record, true);
+
+    assertFalse(document.containsKey("_id"));
+    assertEquals(42L, document.get("count"));
+    assertNull(document.get("name"));
+    assertEquals(new Date(1_600_000_000_123L), document.get("created"));
+    assertEquals(new Decimal128(new BigDecimal("12.500000000")), document.get("price"));
+    assertEquals("2020-01-01", document.get("day"));
+    assertEquals(Arrays.asList("a", "b"), document.get("tags"));
+    assertEquals(new Document("city", "Paris"), document.get("address"));
+  }
+}
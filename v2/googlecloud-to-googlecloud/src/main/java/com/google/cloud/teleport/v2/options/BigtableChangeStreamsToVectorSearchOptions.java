@@ -213,4 +213,65 @@ public interface BigtableChangeStreamsToVectorSearchOptions
 
   @SuppressWarnings("unused")
   void setDlqDirectory(String value);
+
+  @TemplateParameter.Boolean(
+      order = 16,
+      optional = true,
+      description = "Coalesce datapoint operations before writing to Vector Search",
+      helpText =
+          "When true, upserts and removes are buffered per datapoint ID and only the latest"
+              + " operation for each ID is sent to Vector Search when the buffer is flushed."
+              + " Flushes happen when upsertMaxBatchSize upserts or deleteMaxBatchSize removes are"
+              + " pending, when vectorSearchMaxBatchBytes is reached, or when"
+              + " coalesceWindowDuration has passed. Defaults to: false.")
+  @Default.Boolean(false)
+  Boolean getCoalesceDatapointOperations();
+
+  @SuppressWarnings("unused")
+  void setCoalesceDatapointOperations(Boolean value);
+
+  @TemplateParameter.Duration(
+      order = 17,
+      optional = true,
+      description = "Maximum duration a datapoint operation is held for coalescing",
+      helpText =
+          "The maximum delay before coalesced datapoint operations are sent to Vector Search. Only"
+              + " used when coalesceDatapointOperations is true. Allowed formats are: Ns (for"
+              + " seconds, example: 5s), Nm (for minutes, example: 12m), Nh (for hours, example:"
+              + " 2h).",
+      example = "1s")
+  @Default.String("1s")
+  String getCoalesceWindowDuration();
+
+  @SuppressWarnings("unused")
+  void setCoalesceWindowDuration(String value);
+
+  @TemplateParameter.Long(
+      order = 18,
+      optional = true,
+      description = "Maximum request size in bytes for Vector Search",
+      helpText =
+          "The approximate maximum size, in bytes, of the datapoints sent in a single Vector Search"
+              + " request when coalesceDatapointOperations is true.",
+      example = "5000000")
+  @Default.Long(5_000_000L)
+  Long getVectorSearchMaxBatchBytes();
+
+  @SuppressWarnings("unused")
+  void setVectorSearchMaxBatchBytes(Long value);
+
+  @TemplateParameter.Integer(
+      order = 19,
+      optional = true,
+      description = "Maximum number of concurrent Vector Search writers",
+      helpText =
+          "The number of shards datapoint IDs are hashed into when coalesceDatapointOperations is"
+              + " true. Each shard sends at most one request at a time, so this bounds the number"
+              + " of concurrent requests to the index endpoint.",
+      example = "8")
+  @Default.Integer(8)
+  Integer getVectorSearchMaxConcurrency();
+
+  @SuppressWarnings("unused")
+  void setVectorSearchMaxConcurrency(Integer value);
 }
@@ -21,9 +21,13 @@ import com.google.cloud.teleport.metadata.Template;
 import com.google.cloud.teleport.metadata.TemplateCategory;
 import com.google.cloud.teleport.metadata.TemplateParameter;
 import com.google.cloud.teleport.v2.avro.AvroPubsubMessageRecord;
+import com.google.cloud.teleport.v2.io.RollingFileWrite;
 import com.google.cloud.teleport.v2.io.WindowedFilenamePolicy;
+import com.google.cloud.teleport.v2.options.RollingFileOptions;
 import com.google.cloud.teleport.v2.options.WindowedFilenamePolicyOptions;
 import com.google.cloud.teleport.v2.templates.PubsubToAvro.Options;
+import com.google.common.base.Utf8;
+import java.util.Map;
 import org.apache.beam.sdk.Pipeline;
 import org.apache.beam.sdk.PipelineResult;
 import org.apache.beam.sdk.extensions.avro.io.AvroIO;
@@ -37,6 +41,7 @@ import org.apache.beam.sdk.options.StreamingOptions;
 import org.apache.beam.sdk.options.Validation.Required;
 import org.apache.beam.sdk.transforms.DoFn;
 import org.apache.beam.sdk.transforms.ParDo;
+import org.apache.beam.sdk.transforms.SerializableFunction;
 import org.apache.beam.sdk.transforms.windowing.FixedWindows;
 import org.apache.beam.sdk.transforms.windowing.Window;
 import org.apache.beam.sdk.values.PCollection;
@@ -87,7 +92,7 @@ public class PubsubToAvro {
    * <p>Inherits standard configuration options.
    */
   public interface Options
-      extends PipelineOptions, StreamingOptions, WindowedFilenamePolicyOptions {
+      extends PipelineOptions, StreamingOptions, WindowedFilenamePolicyOptions, RollingFileOptions {
     @TemplateParameter.PubsubSubscription(
         order = 1,
         groupName = "Source",
@@ -192,6 +197,8 @@ public class PubsubToAvro {
      *   1) Read messages from PubSub
      *   2) Window the messages into minute intervals specified by the executor.
      *   3) Output the windowed data into Avro files, one per window by default.
+     * or, if targetFileSizeMb is set, buffer the records per shard and write them to files rolled
+     * by size and age.
      */
 
     if (options.getInputSubscription() != null) {
@@ -206,8 +213,40 @@ public class PubsubToAvro {
               "Read PubSub Events",
               PubsubIO.readMessagesWithAttributes().fromTopic(options.getInputTopic()));
     }
-    messages
-        .apply("Map to Archive", ParDo.of(new PubsubMessageToArchiveDoFn()))
+    WindowedFilenamePolicy filenamePolicy =
+        WindowedFilenamePolicy.writeWindowedFiles()
+            .withOutputDirectory(options.getOutputDirectory())
+            .withOutputFilenamePrefix(options.getOutputFilenamePrefix())
+            .withShardTemplate(options.getOutputShardTemplate())
+            .withSuffix(options.getOutputFilenameSuffix())
+            .withYearPattern(options.getYearPattern())
+            .withMonthPattern(options.getMonthPattern())
+            .withDayPattern(options.getDayPattern())
+            .withHourPattern(options.getHourPattern())
+            .withMinutePattern(options.getMinutePattern());
+
+    PCollection<AvroPubsubMessageRecord> records =
+        messages.apply("Map to Archive", ParDo.of(new PubsubMessageToArchiveDoFn()));
+
+    if (options.getTargetFileSizeMb() > 0) {
+      // Roll the files by size and age instead.
+      records.apply(
+          "Write Rolling File(s)",
+          RollingFileWrite.to(
+                  AvroIO.sink(AvroPubsubMessageRecord.class),
+                  (SerializableFunction<AvroPubsubMessageRecord, Long>)
+                      PubsubToAvro::estimatedSizeBytes,
+                  filenamePolicy)
+              .withNumShards(
+                  options.getNumShards() > 0
+                      ? options.getNumShards()
+                      : RollingFileWrite.DEFAULT_NUM_SHARDS)
+              .withTargetFileSizeBytes(options.getTargetFileSizeMb() * 1024L * 1024L)
+              .withMaxFileAge(parseDuration(options.getMaxFileAge())));
+      return pipeline.run();
+    }
+
+    records
         .apply(
             options.getWindowDuration() + " Window",
             Window.into(FixedWindows.of(parseDuration(options.getWindowDuration()))))
@@ -217,17 +256,7 @@ public class PubsubToAvro {
         .apply(
             "Write File(s)",
             AvroIO.write(AvroPubsubMessageRecord.class)
-                .to(
-                    WindowedFilenamePolicy.writeWindowedFiles()
-                        .withOutputDirectory(options.getOutputDirectory())
-                        .withOutputFilenamePrefix(options.getOutputFilenamePrefix())
-                        .withShardTemplate(options.getOutputShardTemplate())
-                        .withSuffix(options.getOutputFilenameSuffix())
-                        .withYearPattern(options.getYearPattern())
-                        .withMonthPattern(options.getMonthPattern())
-                        .withDayPattern(options.getDayPattern())
-                        .withHourPattern(options.getHourPattern())
-                        .withMinutePattern(options.getMinutePattern()))
+                .to(filenamePolicy)
                 .withTempDirectory(
                     FileBasedSink.convertToFileResourceIfPossible(options.getOutputDirectory()))
                 .withWindowedWrites()
@@ -237,6 +266,21 @@ public class PubsubToAvro {
     return pipeline.run();
   }
 
+  /**
+   * Estimates the size of a record in an Avro file: its payload, attributes and timestamp, before
+   * compression.
+   */
+  static long estimatedSizeBytes(AvroPubsubMessageRecord record) {
+    long size = record.getMessage().length + Long.BYTES;
+    if (record.getAttributes() == null) {
+      return size;
+    }
+    for (Map.Entry<String, String> attribute : record.getAttributes().entrySet()) {
+      size += Utf8.encodedLength(attribute.getKey()) + Utf8.encodedLength(attribute.getValue());
+    }
+    return size;
+  }
+
   /**
    * Converts an incoming {@link PubsubMessage} to the {@link AvroPubsubMessageRecord} class by
    * copying its fields and the timestamp of the message.
@@ -31,12 +31,19 @@ import java.util.List;
 import org.apache.beam.runners.dataflow.options.DataflowPipelineOptions;
 import org.apache.beam.sdk.Pipeline;
 import org.apache.beam.sdk.PipelineResult;
+import org.apache.beam.sdk.coders.KvCoder;
+import org.apache.beam.sdk.coders.SerializableCoder;
+import org.apache.beam.sdk.coders.VarIntCoder;
 import org.apache.beam.sdk.io.gcp.bigtable.BigtableIO;
 import org.apache.beam.sdk.options.PipelineOptionsFactory;
+import org.apache.beam.sdk.transforms.Flatten;
 import org.apache.beam.sdk.transforms.GroupIntoBatches;
 import org.apache.beam.sdk.transforms.ParDo;
 import org.apache.beam.sdk.transforms.Values;
 import org.apache.beam.sdk.transforms.WithKeys;
+import org.apache.beam.sdk.values.KV;
+import org.apache.beam.sdk.values.PCollection;
+import org.apache.beam.sdk.values.PCollectionList;
 import org.apache.beam.sdk.values.PCollectionTuple;
 import org.apache.beam.sdk.values.TupleTagList;
 import org.apache.commons.lang3.StringUtils;
@@ -126,6 +133,7 @@ public final class BigtableChangeStreamsToVectorSearch {
     LOG.info("  - crowdingTagColumn {}", options.getCrowdingTagColumn());
     LOG.info("  - project {}", options.getProject());
     LOG.info("  - indexName {}", options.getVectorSearchIndex());
+    LOG.info("  - coalesceDatapointOperations {}", options.getCoalesceDatapointOperations());
 
     String indexName = options.getVectorSearchIndex();
 
@@ -171,6 +179,51 @@ public final class BigtableChangeStreamsToVectorSearch {
                         ChangeStreamMutationToDatapointOperationFn.UPSERT_DATAPOINT_TAG,
                         TupleTagList.of(
                             ChangeStreamMutationToDatapointOperationFn.REMOVE_DATAPOINT_TAG)));
+
+    if (options.getCoalesceDatapointOperations()) {
+      int numShards = bufferSizeOption(options.getVectorSearchMaxConcurrency());
+      KvCoder<Integer, DatapointOperation> operationCoder =
+          KvCoder.of(VarIntCoder.of(), SerializableCoder.of(DatapointOperation.class));
+
+      PCollection<KV<Integer, DatapointOperation>> upserts =
+          results
+              .get(ChangeStreamMutationToDatapointOperationFn.UPSERT_DATAPOINT_TAG)
+              .apply(
+                  "Key Upserts by Shard",
+                  ParDo.of(new CoalesceDatapointOperationsFn.KeyUpsertsFn(numShards)))
+              .setCoder(operationCoder);
+      PCollection<KV<Integer, DatapointOperation>> removes =
+          results
+              .get(ChangeStreamMutationToDatapointOperationFn.REMOVE_DATAPOINT_TAG)
+              .apply(
+                  "Key Removes by Shard",
+                  ParDo.of(new CoalesceDatapointOperationsFn.KeyRemovesFn(numShards)))
+              .setCoder(operationCoder);
+
+      PCollectionList.of(upserts)
+          .and(removes)
+          .apply("Merge Datapoint Operations", Flatten.pCollections())
+          .apply(
+              "Coalesce and Write Datapoints to VectorSearch",
+              ParDo.of(
+                  new CoalesceDatapointOperationsFn(
+                      vertexEndpoint,
+                      indexName,
+                      bufferSizeOption(options.getUpsertMaxBatchSize()),
+                      bufferSizeOption(options.getDeleteMaxBatchSize()),
+                      options.getVectorSearchMaxBatchBytes(),
+                      bufferDurationOption(options.getCoalesceWindowDuration()))))
+          .apply(
+              "Write errors to DLQ",
+              DLQWriteTransform.WriteDLQ.newBuilder()
+                  .withDlqDirectory(dlqManager.getSevereDlqDirectory() + "YYYY/MM/dd/HH/mm/")
+                  .withTmpDirectory(dlqManager.getSevereDlqDirectory() + "tmp/")
+                  .setIncludePaneInfo(true)
+                  .build());
+
+      return pipeline.run();
+    }
+
     results
         .get(ChangeStreamMutationToDatapointOperationFn.UPSERT_DATAPOINT_TAG)
         .apply("Add placeholer keys", WithKeys.of("placeholder"))
@@ -109,14 +109,14 @@ public class ChangeStreamMutationToDatapointOperationFn
     IndexDatapoint.Builder datapointBuilder = IndexDatapoint.newBuilder();
     var datapointId = mutation.getRowKey().toStringUtf8();
     if (datapointId.isEmpty()) {
-      LOG.info("Have a mutation with no rowkey");
+      LOG.warn("Have a mutation with no rowkey");
       return;
     }
 
     datapointBuilder.setDatapointId(datapointId);
 
     for (Entry entry : mutation.getEntries()) {
-      LOG.info("Processing {}", entry);
+      LOG.debug("Processing {}", entry);
 
       // We're only interested in SetCell mutations; everything else should be ignored
       if (!(entry instanceof SetCell)) {
@@ -124,7 +124,7 @@ public class ChangeStreamMutationToDatapointOperationFn
       }
 
       SetCell m = (SetCell) entry;
-      LOG.info("Have value {}", m.getValue());
+      LOG.debug("Have value {}", m.getValue());
 
       var family = m.getFamilyName();
       var qualifier = m.getQualifier().toStringUtf8();
@@ -137,7 +137,7 @@ public class ChangeStreamMutationToDatapointOperationFn
 
         datapointBuilder.addAllFeatureVector(floats);
       } else if (col.equals(crowdingTagColumn)) {
-        LOG.info("Setting crowding tag {}", m.getValue().toStringUtf8());
+        LOG.debug("Setting crowding tag {}", m.getValue().toStringUtf8());
         datapointBuilder
             .getCrowdingTagBuilder()
             .setCrowdingAttribute(m.getValue().toStringUtf8())
@@ -178,12 +178,12 @@ public class ChangeStreamMutationToDatapointOperationFn
       }
     }
 
-    LOG.info("Emitting an upsert datapoint");
+    LOG.debug("Emitting an upsert datapoint");
     output.get(UPSERT_DATAPOINT_TAG).output(datapointBuilder.build());
   }
 
   private void processDelete(ChangeStreamMutation mutation, MultiOutputReceiver output) {
-    LOG.info("Handling mutation as a deletion");
+    LOG.debug("Handling mutation as a deletion");
 
     Boolean isDelete =
         mutation.getEntries().stream()
@@ -196,32 +196,32 @@ public class ChangeStreamMutationToDatapointOperationFn
                   // covers the embeddings column's family, we treat the mutation as a deletion of
                   // the Datapoint.
                   if (entry instanceof DeleteCells) {
-                    LOG.info("Have a DeleteCells");
+                    LOG.debug("Have a DeleteCells");
                     DeleteCells m = (DeleteCells) entry;
-                    LOG.info("Have embeddings col {}", this.embeddingsColumn);
-                    LOG.info("Have computed {}", m.getFamilyName() + ":" + m.getQualifier());
+                    LOG.debug("Have embeddings col {}", this.embeddingsColumn);
+                    LOG.debug("Have computed {}", m.getFamilyName() + ":" + m.getQualifier());
 
                     Boolean match =
                         (m.getFamilyName() + ":" + m.getQualifier()).matches(this.embeddingsColumn);
-                    LOG.info("Match: {}", match);
+                    LOG.debug("Match: {}", match);
                     return match;
                   } else if (entry instanceof DeleteFamily) {
-                    LOG.info("Have a DeleteFamily");
+                    LOG.debug("Have a DeleteFamily");
                     DeleteFamily m = (DeleteFamily) entry;
-                    LOG.info("Have family name {}", m.getFamilyName());
-                    LOG.info("have stored family name {}", this.embeddingsColumnFamilyName);
+                    LOG.debug("Have family name {}", m.getFamilyName());
+                    LOG.debug("have stored family name {}", this.embeddingsColumnFamilyName);
                     Boolean match = m.getFamilyName().matches(this.embeddingsColumnFamilyName);
-                    LOG.info("Have match {}", match);
+                    LOG.debug("Have match {}", match);
                     return match;
                   }
 
                   return false;
                 });
 
-    LOG.info("Have isDeleted {}", isDelete);
+    LOG.debug("Have isDeleted {}", isDelete);
     if (isDelete) {
       String rowkey = mutation.getRowKey().toStringUtf8();
-      LOG.info("Emitting a remove datapoint: {}", rowkey);
+      LOG.debug("Emitting a remove datapoint: {}", rowkey);
       output.get(REMOVE_DATAPOINT_TAG).output(rowkey);
     }
   }
@@ -0,0 +1,295 @@
+/*
+ * Copyright (C) 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.cloud.teleport.v2.templates.bigtablechangestreamstovectorsearch;
+
+import com.google.cloud.aiplatform.v1.IndexDatapoint;
+import com.google.cloud.aiplatform.v1.RemoveDatapointsRequest;
+import com.google.cloud.aiplatform.v1.UpsertDatapointsRequest;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.apache.beam.sdk.coders.SerializableCoder;
+import org.apache.beam.sdk.coders.StringUtf8Coder;
+import org.apache.beam.sdk.coders.VarIntCoder;
+import org.apache.beam.sdk.coders.VarLongCoder;
+import org.apache.beam.sdk.metrics.Counter;
+import org.apache.beam.sdk.metrics.Distribution;
+import org.apache.beam.sdk.metrics.Metrics;
+import org.apache.beam.sdk.state.MapState;
+import org.apache.beam.sdk.state.StateSpec;
+import org.apache.beam.sdk.state.StateSpecs;
+import org.apache.beam.sdk.state.TimeDomain;
+import org.apache.beam.sdk.state.Timer;
+import org.apache.beam.sdk.state.TimerSpec;
+import org.apache.beam.sdk.state.TimerSpecs;
+import org.apache.beam.sdk.state.ValueState;
+import org.apache.beam.sdk.transforms.DoFn;
+import org.apache.beam.sdk.values.KV;
+import org.joda.time.Duration;
+import org.joda.time.Instant;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A stateful {@link DoFn} that buffers datapoint operations per shard, keeps only the latest
+ * operation for each datapoint ID, and flushes the surviving upserts and removes to Vector Search
+ * when the configured count, size or time limit is reached.
+ *
+ * <p>Inputs are keyed by shard, and a shard only ever processes one element or timer at a time, so
+ * the number of shards bounds the number of concurrent requests sent to the index endpoint.
+ * Requests that fail are emitted as error messages for the dead letter queue.
+ */
+public class CoalesceDatapointOperationsFn
+    extends DatapointOperationFn<KV<Integer, DatapointOperation>> {
+
+  private static final Logger LOG = LoggerFactory.getLogger(CoalesceDatapointOperationsFn.class);
+
+  private static final Counter OPERATIONS_RECEIVED =
+      Metrics.counter(CoalesceDatapointOperationsFn.class, "datapointOperationsReceived");
+  private static final Counter OPERATIONS_COALESCED =
+      Metrics.counter(CoalesceDatapointOperationsFn.class, "datapointOperationsCoalesced");
+  private static final Counter UPSERT_REQUESTS =
+      Metrics.counter(CoalesceDatapointOperationsFn.class, "upsertRequests");
+  private static final Counter REMOVE_REQUESTS =
+      Metrics.counter(CoalesceDatapointOperationsFn.class, "removeRequests");
+  private static final Counter FAILED_REQUESTS =
+      Metrics.counter(CoalesceDatapointOperationsFn.class, "failedRequests");
+  private static final Distribution REQUEST_LATENCY_MS =
+      Metrics.distribution(CoalesceDatapointOperationsFn.class, "requestLatencyMs");
+  private static final Distribution DATAPOINTS_PER_FLUSH =
+      Metrics.distribution(CoalesceDatapointOperationsFn.class, "datapointsPerFlush");
+
+  private final int maxUpsertBatchSize;
+  private final int maxRemoveBatchSize;
+  private final long maxBatchBytes;
+  private final Duration maxBufferDuration;
+
+  @StateId("pending")
+  private final StateSpec<MapState<String, DatapointOperation>> pendingSpec =
+      StateSpecs.map(StringUtf8Coder.of(), SerializableCoder.of(DatapointOperation.class));
+
+  @StateId("upsertCount")
+  private final StateSpec<ValueState<Integer>> upsertCountSpec = StateSpecs.value(VarIntCoder.of());
+
+  @StateId("removeCount")
+  private final StateSpec<ValueState<Integer>> removeCountSpec = StateSpecs.value(VarIntCoder.of());
+
+  @StateId("bytes")
+  private final StateSpec<ValueState<Long>> bytesSpec = StateSpecs.value(VarLongCoder.of());
+
+  @TimerId("flush")
+  private final TimerSpec flushSpec = TimerSpecs.timer(TimeDomain.PROCESSING_TIME);
+
+  public CoalesceDatapointOperationsFn(
+      String endpoint,
+      String indexName,
+      int maxUpsertBatchSize,
+      int maxRemoveBatchSize,
+      long maxBatchBytes,
+      Duration maxBufferDuration) {
+    super(endpoint, indexName);
+    this.maxUpsertBatchSize = maxUpsertBatchSize;
+    this.maxRemoveBatchSize = maxRemoveBatchSize;
+    this.maxBatchBytes = maxBatchBytes;
+    this.maxBufferDuration = maxBufferDuration;
+  }
+
+  @ProcessElement
+  public void processElement(
+      @Element KV<Integer, DatapointOperation> element,
+      @StateId("pending") MapState<String, DatapointOperation> pending,
+      @StateId("upsertCount") ValueState<Integer> upsertCount,
+      @StateId("removeCount") ValueState<Integer> removeCount,
+      @StateId("bytes") ValueState<Long> bytes,
+      @TimerId("flush") Timer flushTimer,
+      OutputReceiver<String> output) {
+    OPERATIONS_RECEIVED.inc();
+
+    DatapointOperation operation = element.getValue();
+    DatapointOperation previous = pending.get(operation.getDatapointId()).read();
+
+    int upserts = firstNonNull(upsertCount.read());
+    int removes = firstNonNull(removeCount.read());
+    long size = firstNonNull(bytes.read());
+
+    if (upserts + removes == 0) {
+      flushTimer.offset(maxBufferDuration).setRelative();
+    }
+
+    if (previous != null) {
+      // Whichever of the two operations loses is never sent to Vector Search.
+      OPERATIONS_COALESCED.inc();
+      if (!operation.supersedes(previous)) {
+        return;
+      }
+      if (previous.isRemove()) {
+        removes--;
+      } else {
+        upserts--;
+      }
+      size -= previous.estimatedSizeBytes();
+    }
+
+    pending.put(operation.getDatapointId(), operation);
+    if (operation.isRemove()) {
+      removes++;
+    } else {
+      upserts++;
+    }
+    size += operation.estimatedSizeBytes();
+
+    if (upserts >= maxUpsertBatchSize || removes >= maxRemoveBatchSize || size >= maxBatchBytes) {
+      flush(pending, output);
+      clear(pending, upsertCount, removeCount, bytes);
+      flushTimer.clear();
+      return;
+    }
+
+    upsertCount.write(upserts);
+    removeCount.write(removes);
+    bytes.write(size);
+  }
+
+  @OnTimer("flush")
+  public void onFlush(
+      @StateId("pending") MapState<String, DatapointOperation> pending,
+      @StateId("upsertCount") ValueState<Integer> upsertCount,
+      @StateId("removeCount") ValueState<Integer> removeCount,
+      @StateId("bytes") ValueState<Long> bytes,
+      OutputReceiver<String> output) {
+    flush(pending, output);
+    clear(pending, upsertCount, removeCount, bytes);
+  }
+
+  private void flush(MapState<String, DatapointOperation> pending, OutputReceiver<String> output) {
+    List<IndexDatapoint> upserts = new ArrayList<>();
+    List<String> removes = new ArrayList<>();
+    for (Map.Entry<String, DatapointOperation> entry : pending.entries().read()) {
+      DatapointOperation operation = entry.getValue();
+      if (operation.isRemove()) {
+        removes.add(operation.getDatapointId());
+      } else {
+        upserts.add(operation.getDatapoint());
+      }
+    }
+
+    if (upserts.isEmpty() && removes.isEmpty()) {
+      return;
+    }
+    DATAPOINTS_PER_FLUSH.update(upserts.size() + removes.size());
+    LOG.debug("Flushing {} upserts and {} removes", upserts.size(), removes.size());
+
+    if (!upserts.isEmpty()) {
+      UpsertDatapointsRequest request =
+          UpsertDatapointsRequest.newBuilder()
+              .addAllDatapoints(upserts)
+              .setIndex(indexName)
+              .build();
+      long start = System.currentTimeMillis();
+      try {
+        client.upsertDatapoints(request);
+        UPSERT_REQUESTS.inc();
+      } catch (Exception e) {
+        FAILED_REQUESTS.inc();
+        LOG.warn("Failed to upsert {} datapoints: {}", upserts.size(), e.getLocalizedMessage());
+        output.output("Error writing to vector search:" + e.getLocalizedMessage());
+      }
+      REQUEST_LATENCY_MS.update(System.currentTimeMillis() - start);
+    }
+
+    if (!removes.isEmpty()) {
+      RemoveDatapointsRequest request =
+          RemoveDatapointsRequest.newBuilder()
+              .addAllDatapointIds(removes)
+              .setIndex(indexName)
+              .build();
+      long start = System.currentTimeMillis();
+      try {
+        client.removeDatapoints(request);
+        REMOVE_REQUESTS.inc();
+      } catch (Exception e) {
+        FAILED_REQUESTS.inc();
+        LOG.warn("Failed to remove {} datapoints: {}", removes.size(), e.getLocalizedMessage());
+        output.output("Error deleting datapoint: " + e.getLocalizedMessage());
+      }
+      REQUEST_LATENCY_MS.update(System.currentTimeMillis() - start);
+    }
+  }
+
+  private static void clear(
+      MapState<String, DatapointOperation> pending,
+      ValueState<Integer> upsertCount,
+      ValueState<Integer> removeCount,
+      ValueState<Long> bytes) {
+    pending.clear();
+    upsertCount.clear();
+    removeCount.clear();
+    bytes.clear();
+  }
+
+  private static int firstNonNull(Integer value) {
+    return value == null ? 0 : value;
+  }
+
+  private static long firstNonNull(Long value) {
+    return value == null ? 0L : value;
+  }
+
+  /** Returns the shard for a datapoint ID, so every operation on an ID lands on the same key. */
+  public static int shardFor(String datapointId, int numShards) {
+    return Math.floorMod(datapointId.hashCode(), numShards);
+  }
+
+  /** Wraps upserted datapoints as sharded {@link DatapointOperation}s. */
+  public static class KeyUpsertsFn extends DoFn<IndexDatapoint, KV<Integer, DatapointOperation>> {
+    private final int numShards;
+
+    public KeyUpsertsFn(int numShards) {
+      this.numShards = numShards;
+    }
+
+    @ProcessElement
+    public void processElement(
+        @Element IndexDatapoint datapoint,
+        @Timestamp Instant timestamp,
+        OutputReceiver<KV<Integer, DatapointOperation>> output) {
+      output.output(
+          KV.of(
+              shardFor(datapoint.getDatapointId(), numShards),
+              DatapointOperation.upsert(datapoint, timestamp.getMillis())));
+    }
+  }
+
+  /** Wraps removed datapoint IDs as sharded {@link DatapointOperation}s. */
+  public static class KeyRemovesFn extends DoFn<String, KV<Integer, DatapointOperation>> {
+    private final int numShards;
+
+    public KeyRemovesFn(int numShards) {
+      this.numShards = numShards;
+    }
+
+    @ProcessElement
+    public void processElement(
+        @Element String datapointId,
+        @Timestamp Instant timestamp,
+        OutputReceiver<KV<Integer, DatapointOperation>> output) {
+      output.output(
+          KV.of(
+              shardFor(datapointId, numShards),
+              DatapointOperation.remove(datapointId, timestamp.getMillis())));
+    }
+  }
+}
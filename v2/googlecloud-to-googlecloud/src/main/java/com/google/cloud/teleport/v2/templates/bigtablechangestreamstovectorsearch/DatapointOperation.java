@@ -0,0 +1,103 @@
+/*
+ * Copyright (C) 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.cloud.teleport.v2.templates.bigtablechangestreamstovectorsearch;
+
+import com.google.cloud.aiplatform.v1.IndexDatapoint;
+import java.io.Serializable;
+import java.util.Objects;
+import javax.annotation.Nullable;
+
+/**
+ * A single upsert or remove of a Vector Search datapoint, along with the commit timestamp of the
+ * Bigtable change that produced it. Used by {@link CoalesceDatapointOperationsFn} to keep only the
+ * latest operation per datapoint ID.
+ */
+public class DatapointOperation implements Serializable {
+
+  private final String datapointId;
+  @Nullable private final IndexDatapoint datapoint;
+  private final long commitTimestampMillis;
+
+  private DatapointOperation(
+      String datapointId, @Nullable IndexDatapoint datapoint, long commitTimestampMillis) {
+    this.datapointId = datapointId;
+    this.datapoint = datapoint;
+    this.commitTimestampMillis = commitTimestampMillis;
+  }
+
+  public static DatapointOperation upsert(IndexDatapoint datapoint, long commitTimestampMillis) {
+    return new DatapointOperation(datapoint.getDatapointId(), datapoint, commitTimestampMillis);
+  }
+
+  public static DatapointOperation remove(String datapointId, long commitTimestampMillis) {
+    return new DatapointOperation(datapointId, null, commitTimestampMillis);
+  }
+
+  public String getDatapointId() {
+    return datapointId;
+  }
+
+  /** Returns the datapoint to upsert, or null if this operation removes the datapoint. */
+  @Nullable
+  public IndexDatapoint getDatapoint() {
+    return datapoint;
+  }
+
+  public boolean isRemove() {
+    return datapoint == null;
+  }
+
+  public long getCommitTimestampMillis() {
+    return commitTimestampMillis;
+  }
+
+  /** Approximate number of bytes this operation contributes to a Vector Search request. */
+  public long estimatedSizeBytes() {
+    return datapoint != null ? datapoint.getSerializedSize() : datapointId.length();
+  }
+
+  /**
+   * Returns true if this operation should replace {@code other}. Ties are resolved in favour of the
+   * operation that arrived last.
+   */
+  public boolean supersedes(@Nullable DatapointOperation other) {
+    return other == null || commitTimestampMillis >= other.commitTimestampMillis;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof DatapointOperation)) {
+      return false;
+    }
+    DatapointOperation that = (DatapointOperation) o;
+    return commitTimestampMillis == that.commitTimestampMillis
+        && datapointId.equals(that.datapointId)
+        && Objects.equals(datapoint, that.datapoint);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(datapointId, datapoint, commitTimestampMillis);
+  }
+
+  @Override
+  public String toString() {
+    return (isRemove() ? "remove " : "upsert ") + datapointId + "@" + commitTimestampMillis;
+  }
+}
@@ -20,14 +20,19 @@ import com.google.cloud.aiplatform.v1.IndexServiceSettings;
 import java.io.IOException;
 import org.apache.beam.sdk.transforms.DoFn;
 import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 public abstract class DatapointOperationFn<InputT> extends DoFn<InputT, String> {
+  private static final Logger LOG = LoggerFactory.getLogger(DatapointOperationFn.class);
+
   private String endpoint;
   protected String indexName;
 
   protected transient IndexServiceClient client;
 
-  protected abstract Logger logger();
+  protected Logger logger() {
+    return LOG;
+  }
 
   public DatapointOperationFn(String endpoint, String indexName) {
     this.indexName = indexName;
@@ -40,11 +45,23 @@ public abstract class DatapointOperationFn<InputT> extends DoFn<InputT, String>
     logger().info("Using index {}", indexName);
 
     try {
-      client =
-          IndexServiceClient.create(
-              IndexServiceSettings.newBuilder().setEndpoint(endpoint).build());
+      client = createClient();
     } catch (IOException e) {
       throw new RuntimeException(e);
     }
   }
+
+  /** Creates the client of the index service, overridden by tests. */
+  protected IndexServiceClient createClient() throws IOException {
+    return IndexServiceClient.create(
+        IndexServiceSettings.newBuilder().setEndpoint(endpoint).build());
+  }
+
+  @Teardown
+  public void teardown() {
+    if (client != null) {
+      client.close();
+      client = null;
+    }
+  }
 }
@@ -34,7 +34,7 @@ public class RemoveDatapointsFn extends DatapointOperationFn<Iterable<String>> {
   @ProcessElement
   public void processElement(ProcessContext c) {
     var datapointIds = c.element();
-    LOG.info("Deleting datapoints: {}", datapointIds);
+    LOG.debug("Deleting datapoints: {}", datapointIds);
 
     // Appears to work, even when some datapoints don't exist
     RemoveDatapointsRequest request =
@@ -46,10 +46,8 @@ public class RemoveDatapointsFn extends DatapointOperationFn<Iterable<String>> {
     try {
       client.removeDatapoints(request);
     } catch (io.grpc.StatusRuntimeException e) {
-      LOG.info("Failed to remove datapoints: {}", e.getLocalizedMessage());
+      LOG.warn("Failed to remove datapoints: {}", e.getLocalizedMessage());
       c.output("Error deleting datapoint: " + e.getLocalizedMessage());
     }
-
-    LOG.info("Done");
   }
 }
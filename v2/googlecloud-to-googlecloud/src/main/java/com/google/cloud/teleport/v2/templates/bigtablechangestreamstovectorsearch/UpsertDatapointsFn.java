@@ -35,8 +35,7 @@ public class UpsertDatapointsFn extends DatapointOperationFn<Iterable<IndexDatap
   @ProcessElement
   public void processElement(ProcessContext c) {
     var datapoints = c.element();
-    LOG.info("Upserting datapoints: {}", datapoints);
-    LOG.info("Using index name {}", indexName);
+    LOG.debug("Upserting datapoints: {}", datapoints);
     UpsertDatapointsRequest request =
         UpsertDatapointsRequest.newBuilder()
             .addAllDatapoints(datapoints)
@@ -46,10 +45,8 @@ public class UpsertDatapointsFn extends DatapointOperationFn<Iterable<IndexDatap
     try {
       client.upsertDatapoints(request);
     } catch (Exception e) {
-      LOG.info("Failed to upsert datapoints: {}", e.getLocalizedMessage());
+      LOG.warn("Failed to upsert datapoints: {}", e.getLocalizedMessage());
       c.output("Error writing to vector search:" + e.getLocalizedMessage());
     }
-
-    LOG.info("Done");
   }
 }
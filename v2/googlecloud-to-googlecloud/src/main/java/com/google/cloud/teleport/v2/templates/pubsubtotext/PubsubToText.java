@@ -19,11 +19,14 @@ import com.google.cloud.teleport.metadata.Template;
 import com.google.cloud.teleport.metadata.TemplateCategory;
 import com.google.cloud.teleport.metadata.TemplateParameter;
 import com.google.cloud.teleport.v2.common.UncaughtExceptionLogger;
+import com.google.cloud.teleport.v2.io.RollingFileWrite;
 import com.google.cloud.teleport.v2.io.WindowedFilenamePolicy;
+import com.google.cloud.teleport.v2.options.RollingFileOptions;
 import com.google.cloud.teleport.v2.options.WindowedFilenamePolicyOptions;
 import com.google.cloud.teleport.v2.templates.pubsubtotext.PubsubToText.Options;
 import com.google.cloud.teleport.v2.utils.DurationUtils;
 import com.google.common.base.Strings;
+import com.google.common.base.Utf8;
 import org.apache.beam.sdk.Pipeline;
 import org.apache.beam.sdk.PipelineResult;
 import org.apache.beam.sdk.io.FileBasedSink;
@@ -34,6 +37,7 @@ import org.apache.beam.sdk.options.PipelineOptions;
 import org.apache.beam.sdk.options.PipelineOptionsFactory;
 import org.apache.beam.sdk.options.StreamingOptions;
 import org.apache.beam.sdk.options.Validation.Required;
+import org.apache.beam.sdk.transforms.SerializableFunction;
 import org.apache.beam.sdk.transforms.windowing.FixedWindows;
 import org.apache.beam.sdk.transforms.windowing.Window;
 import org.apache.beam.sdk.values.PCollection;
@@ -73,7 +77,7 @@ public class PubsubToText {
    * <p>Inherits standard configuration options.
    */
   public interface Options
-      extends PipelineOptions, StreamingOptions, WindowedFilenamePolicyOptions {
+      extends PipelineOptions, StreamingOptions, WindowedFilenamePolicyOptions, RollingFileOptions {
 
     @TemplateParameter.PubsubTopic(
         order = 1,
@@ -190,6 +194,8 @@ public class PubsubToText {
      *   1) Read string messages from PubSub
      *   2) Window the messages into minute intervals specified by the executor.
      *   3) Output the windowed files to GCS
+     * or, if targetFileSizeMb is set, buffer the messages per shard and write them to files rolled
+     * by size and age.
      */
     if (useInputSubscription) {
       messages =
@@ -201,6 +207,35 @@ public class PubsubToText {
           pipeline.apply(
               "Read PubSub Events", PubsubIO.readStrings().fromTopic(options.getInputTopic()));
     }
+    WindowedFilenamePolicy filenamePolicy =
+        WindowedFilenamePolicy.writeWindowedFiles()
+            .withOutputDirectory(options.getOutputDirectory())
+            .withOutputFilenamePrefix(options.getOutputFilenamePrefix())
+            .withShardTemplate(options.getOutputShardTemplate())
+            .withSuffix(options.getOutputFilenameSuffix())
+            .withYearPattern(options.getYearPattern())
+            .withMonthPattern(options.getMonthPattern())
+            .withDayPattern(options.getDayPattern())
+            .withHourPattern(options.getHourPattern())
+            .withMinutePattern(options.getMinutePattern());
+
+    if (options.getTargetFileSizeMb() > 0) {
+      // Roll the files by size and age instead, every message takes its line in the file.
+      messages.apply(
+          "Write Rolling File(s)",
+          RollingFileWrite.to(
+                  TextIO.sink(),
+                  (SerializableFunction<String, Long>) message -> Utf8.encodedLength(message) + 1L,
+                  filenamePolicy)
+              .withNumShards(
+                  options.getNumShards() > 0
+                      ? options.getNumShards()
+                      : RollingFileWrite.DEFAULT_NUM_SHARDS)
+              .withTargetFileSizeBytes(options.getTargetFileSizeMb() * 1024L * 1024L)
+              .withMaxFileAge(DurationUtils.parseDuration(options.getMaxFileAge())));
+      return pipeline.run();
+    }
+
     messages
         .apply(
             options.getWindowDuration() + " Window",
@@ -212,17 +247,7 @@ public class PubsubToText {
             TextIO.write()
                 .withWindowedWrites()
                 .withNumShards(options.getNumShards())
-                .to(
-                    WindowedFilenamePolicy.writeWindowedFiles()
-                        .withOutputDirectory(options.getOutputDirectory())
-                        .withOutputFilenamePrefix(options.getOutputFilenamePrefix())
-                        .withShardTemplate(options.getOutputShardTemplate())
-                        .withSuffix(options.getOutputFilenameSuffix())
-                        .withYearPattern(options.getYearPattern())
-                        .withMonthPattern(options.getMonthPattern())
-                        .withDayPattern(options.getDayPattern())
-                        .withHourPattern(options.getHourPattern())
-                        .withMinutePattern(options.getMinutePattern()))
+                .to(filenamePolicy)
                 .withTempDirectory(
                     FileBasedSink.convertToFileResourceIfPossible(
                         maybeUseUserTempLocation(
@@ -0,0 +1,171 @@
+/*
+ * Copyright (C) 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.cloud.teleport.v2.templates.bigtablechangestreamstovectorsearch;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.google.cloud.aiplatform.v1.IndexDatapoint;
+import com.google.cloud.aiplatform.v1.IndexServiceClient;
+import com.google.cloud.aiplatform.v1.RemoveDatapointsRequest;
+import com.google.cloud.aiplatform.v1.UpsertDatapointsRequest;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.apache.beam.sdk.coders.KvCoder;
+import org.apache.beam.sdk.coders.SerializableCoder;
+import org.apache.beam.sdk.coders.VarIntCoder;
+import org.apache.beam.sdk.testing.PAssert;
+import org.apache.beam.sdk.testing.TestPipeline;
+import org.apache.beam.sdk.testing.TestStream;
+import org.apache.beam.sdk.transforms.ParDo;
+import org.apache.beam.sdk.values.KV;
+import org.apache.beam.sdk.values.PCollection;
+import org.joda.time.Duration;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+import org.mockito.ArgumentCaptor;
+
+/** Test cases for the {@link CoalesceDatapointOperationsFn} class. */
+@RunWith(JUnit4.class)
+public class CoalesceDatapointOperationsFnTest {
+
+  private static final Duration MAX_BUFFER_DURATION = Duration.standardSeconds(10);
+
+  @Rule public final transient TestPipeline pipeline = TestPipeline.create();
+
+  // Static, so that the deserialized copies of the DoFn share it.
+  private static IndexServiceClient client;
+
+  @Before
+  public void setUp() {
+    client = mock(IndexServiceClient.class);
+  }
+
+  /** Sends the requests to the mocked client instead of an index endpoint. */
+  private static class TestCoalesceFn extends CoalesceDatapointOperationsFn {
+    TestCoalesceFn(int maxUpsertBatchSize, int maxRemoveBatchSize) {
+      super(
+          "endpoint",
+          "index",
+          maxUpsertBatchSize,
+          maxRemoveBatchSize,
+          1 << 20,
+          MAX_BUFFER_DURATION);
+    }
+
+    @Override
+    protected IndexServiceClient createClient() {
+      return client;
+    }
+  }
+
+  private static IndexDatapoint datapoint(String id) {
+    return IndexDatapoint.newBuilder().setDatapointId(id).addFeatureVector(1.0f).build();
+  }
+
+  private static TestStream.Builder<KV<Integer, DatapointOperation>> stream() {
+    return TestStream.create(
+        KvCoder.of(VarIntCoder.of(), SerializableCoder.of(DatapointOperation.class)));
+  }
+
+  private PCollection<String> coalesce(
+      TestStream<KV<Integer, DatapointOperation>> stream, int maxUpserts, int maxRemoves) {
+    return pipeline.apply(stream).apply(ParDo.of(new TestCoalesceFn(maxUpserts, maxRemoves)));
+  }
+
+  private static List<String> upsertedIds(UpsertDatapointsRequest request) {
+    return request.getDatapointsList().stream()
+        .map(IndexDatapoint::getDatapointId)
+        .sorted()
+        .collect(Collectors.toList());
+  }
+
+  @Test
+  public void testTimerFlushesLatestOperationPerId() {
+    TestStream<KV<Integer, DatapointOperation>> stream =
+        stream()
+            .addElements(
+                KV.of(0, DatapointOperation.upsert(datapoint("a"), 10)),
+                KV.of(0, DatapointOperation.remove("a", 20)),
+                KV.of(0, DatapointOperation.upsert(datapoint("b"), 10)),
+                KV.of(0, DatapointOperation.upsert(datapoint("b"), 5)))
+            .advanceProcessingTime(MAX_BUFFER_DURATION.plus(Duration.standardSeconds(1)))
+            .advanceWatermarkToInfinity();
+
+    PAssert.that(coalesce(stream, 100, 100)).empty();
+    pipeline.run();
+
+    ArgumentCaptor<UpsertDatapointsRequest> upserts =
+        ArgumentCaptor.forClass(UpsertDatapointsRequest.class);
+    verify(client).upsertDatapoints(upserts.capture());
+    assertEquals(List.of("b"), upsertedIds(upserts.getValue()));
+
+    ArgumentCaptor<RemoveDatapointsRequest> removes =
+        ArgumentCaptor.forClass(RemoveDatapointsRequest.class);
+    verify(client).removeDatapoints(removes.capture());
+    assertEquals(List.of("a"), removes.getValue().getDatapointIdsList());
+  }
+
+  @Test
+  public void testBatchSizeFlushesBeforeTimer() {
+    TestStream<KV<Integer, DatapointOperation>> stream =
+        stream()
+            .addElements(
+                KV.of(0, DatapointOperation.upsert(datapoint("a"), 10)),
+                KV.of(0, DatapointOperation.upsert(datapoint("b"), 10)))
+            .advanceWatermarkToInfinity();
+
+    PAssert.that(coalesce(stream, 2, 100)).empty();
+    pipeline.run();
+
+    ArgumentCaptor<UpsertDatapointsRequest> upserts =
+        ArgumentCaptor.forClass(UpsertDatapointsRequest.class);
+    verify(client).upsertDatapoints(upserts.capture());
+    assertEquals(List.of("a", "b"), upsertedIds(upserts.getValue()));
+    verify(client, never()).removeDatapoints(any(RemoveDatapointsRequest.class));
+  }
+
+  @Test
+  public void testFailedRequestIsOutputAsError() {
+    when(client.upsertDatapoints(any(UpsertDatapointsRequest.class)))
+        .thenThrow(new RuntimeException("unavailable"));
+    TestStream<KV<Integer, DatapointOperation>> stream =
+        stream()
+            .addElements(KV.of(0, DatapointOperation.upsert(datapoint("a"), 10)))
+            .advanceWatermarkToInfinity();
+
+    PAssert.that(coalesce(stream, 1, 100))
+        .containsInAnyOrder("Error writing to vector search:unavailable");
+    pipeline.run();
+  }
+
+  @Test
+  public void testShardForIsStableAndInRange() {
+    for (String id : new String[] {"", "a", "row#1", "another-row-key"}) {
+      int shard = CoalesceDatapointOperationsFn.shardFor(id, 8);
+      assertTrue(shard >= 0 && shard < 8);
+      assertEquals(shard, CoalesceDatapointOperationsFn.shardFor(id, 8));
+    }
+  }
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright (C) 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.cloud.teleport.v2.templates.bigtablechangestreamstovectorsearch;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import com.google.cloud.aiplatform.v1.IndexDatapoint;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** Test cases for the {@link DatapointOperation} class. */
+@RunWith(JUnit4.class)
+public class DatapointOperationTest {
+
+  private static IndexDatapoint datapoint(String id) {
+    return IndexDatapoint.newBuilder().setDatapointId(id).addFeatureVector(1.0f).build();
+  }
+
+  @Test
+  public void testUpsertAndRemove() {
+    DatapointOperation upsert = DatapointOperation.upsert(datapoint("a"), 10);
+    assertEquals("a", upsert.getDatapointId());
+    assertFalse(upsert.isRemove());
+    assertEquals(datapoint("a").getSerializedSize(), upsert.estimatedSizeBytes());
+
+    DatapointOperation remove = DatapointOperation.remove("a", 20);
+    assertTrue(remove.isRemove());
+    assertNull(remove.getDatapoint());
+    assertEquals(1, remove.estimatedSizeBytes());
+  }
+
+  @Test
+  public void testSupersedes() {
+    DatapointOperation older = DatapointOperation.upsert(datapoint("a"), 10);
+    DatapointOperation newer = DatapointOperation.remove("a", 20);
+    DatapointOperation sameTime = DatapointOperation.upsert(datapoint("a"), 20);
+
+    assertTrue(older.supersedes(null));
+    assertTrue(newer.supersedes(older));
+    assertFalse(older.supersedes(newer));
+    assertTrue(sameTime.supersedes(newer));
+  }
+}
@@ -285,4 +285,56 @@ public interface JdbcToBigQueryOptions
   String getOutputDeadletterTable();
 
   void setOutputDeadletterTable(String value);
+
+  @TemplateParameter.Boolean(
+      order = 23,
+      optional = true,
+      description = "Whether to read the table with uniform partitions.",
+      helpText =
+          "If set to `true`, the `table` is read in parallel over balanced ranges of its primary key, or of the comma separated columns of `partitionColumn`, "
+              + "which are discovered and refined with count queries. Any indexed column type is supported, including strings and composite keys. "
+              + "Supported for MySQL and PostgreSQL only. `table` must be a table name, optionally qualified by its database or schema. Defaults to `false`.")
+  @Default.Boolean(false)
+  Boolean getUseUniformPartitions();
+
+  void setUseUniformPartitions(Boolean useUniformPartitions);
+
+  @TemplateParameter.Text(
+      order = 24,
+      optional = true,
+      description = "Watermark column for incremental reads",
+      helpText =
+          "A monotonically increasing column of the `query` results, of numeric, date or timestamp type, such as an auto-incremented id or a last update time. "
+              + "When set, every run only reads the rows whose value is greater than the highest value read by the previous run, which is persisted to `watermarkStatePath`. "
+              + "Rows with a NULL value are not read. Can only be used with `query`, and not with `isTruncate` or the BigQuery Storage Write API.",
+      example = "updated_at")
+  String getWatermarkColumn();
+
+  void setWatermarkColumn(String watermarkColumn);
+
+  @TemplateParameter.GcsWriteFile(
+      order = 25,
+      optional = true,
+      description = "Watermark state file",
+      helpText =
+          "The Cloud Storage file holding the highest value of `watermarkColumn` read by the previous run. "
+              + "It is created by the first run, which reads all the rows, and replaced once the rows of every run are written. "
+              + "Required if `watermarkColumn` is set. Use a distinct file for every query.",
+      example = "gs://your-bucket/state/orders.watermark")
+  String getWatermarkStatePath();
+
+  void setWatermarkStatePath(String watermarkStatePath);
+
+  @TemplateParameter.Duration(
+      order = 26,
+      optional = true,
+      description = "Watermark lookback",
+      helpText =
+          "How far before the persisted watermark every run starts reading, to pick up the rows that were committed late with an older `watermarkColumn` value. "
+              + "These rows are read again and must be deduplicated downstream. Only applies to date and timestamp columns. "
+              + "Allowed formats are: Ns (for seconds, example: 5s), Nm (for minutes, example: 12m), Nh (for hours, example: 2h).",
+      example = "10m")
+  String getWatermarkLookback();
+
+  void setWatermarkLookback(String watermarkLookback);
 }
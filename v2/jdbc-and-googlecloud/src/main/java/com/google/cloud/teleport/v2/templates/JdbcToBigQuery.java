@@ -26,14 +26,18 @@ import com.google.cloud.teleport.metadata.TemplateCategory;
 import com.google.cloud.teleport.v2.coders.FailsafeElementCoder;
 import com.google.cloud.teleport.v2.common.UncaughtExceptionLogger;
 import com.google.cloud.teleport.v2.options.JdbcToBigQueryOptions;
+import com.google.cloud.teleport.v2.reader.io.jdbc.iowrapper.UniformPartitionsTableRead;
 import com.google.cloud.teleport.v2.transforms.ErrorConverters;
 import com.google.cloud.teleport.v2.utils.BigQueryIOUtils;
+import com.google.cloud.teleport.v2.utils.DurationUtils;
 import com.google.cloud.teleport.v2.utils.GCSAwareValueProvider;
+import com.google.cloud.teleport.v2.utils.IncrementalJdbcQuery;
 import com.google.cloud.teleport.v2.utils.JdbcConverters;
 import com.google.cloud.teleport.v2.utils.ResourceUtils;
 import com.google.cloud.teleport.v2.utils.SecretManagerUtils;
 import com.google.cloud.teleport.v2.values.FailsafeElement;
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Splitter;
 import com.google.common.base.Strings;
 import java.util.List;
 import java.util.Objects;
@@ -50,10 +54,13 @@ import org.apache.beam.sdk.io.gcp.bigquery.TableRowJsonCoder;
 import org.apache.beam.sdk.io.gcp.bigquery.WriteResult;
 import org.apache.beam.sdk.io.jdbc.JdbcIO;
 import org.apache.beam.sdk.options.PipelineOptionsFactory;
+import org.apache.beam.sdk.options.ValueProvider;
 import org.apache.beam.sdk.options.ValueProvider.StaticValueProvider;
 import org.apache.beam.sdk.transforms.DoFn;
 import org.apache.beam.sdk.transforms.MapElements;
+import org.apache.beam.sdk.transforms.PTransform;
 import org.apache.beam.sdk.transforms.ParDo;
+import org.apache.beam.sdk.values.PBegin;
 import org.apache.beam.sdk.values.PCollection;
 import org.apache.beam.sdk.values.TypeDescriptor;
 import org.apache.beam.sdk.values.TypeDescriptors;
@@ -129,6 +136,28 @@ public class JdbcToBigQuery {
       throw new IllegalArgumentException(
           "outputDeadletterTable can only be specified if BigQuery Storage Write API is enabled either with useStorageWriteApi or useStorageWriteApiAtLeastOnce.");
     }
+    if (!Strings.isNullOrEmpty(options.getWatermarkColumn())) {
+      if (options.getQuery() == null
+          || options.getUseUniformPartitions()
+          || options.getPartitionColumn() != null) {
+        throw new IllegalArgumentException(
+            "watermarkColumn can only be specified with query, and not with partitionColumn or useUniformPartitions.");
+      }
+      if (Strings.isNullOrEmpty(options.getWatermarkStatePath())) {
+        throw new IllegalArgumentException(
+            "watermarkStatePath must be specified if watermarkColumn is specified.");
+      }
+      if (options.getIsTruncate()) {
+        throw new IllegalArgumentException(
+            "watermarkColumn cannot be specified with isTruncate, as every run would replace the rows of the previous runs.");
+      }
+      // The Storage Write API does not signal when the rows are committed, so the watermark could
+      // be persisted before the rows it covers are written.
+      if (options.getUseStorageWriteApi() || options.getUseStorageWriteApiAtLeastOnce()) {
+        throw new IllegalArgumentException(
+            "watermarkColumn cannot be specified if BigQuery Storage Write API is enabled either with useStorageWriteApi or useStorageWriteApiAtLeastOnce.");
+      }
+    }
 
     // Create the pipeline
     Pipeline pipeline = Pipeline.create(options);
@@ -137,11 +166,11 @@ public class JdbcToBigQuery {
      * Steps: 1) Read records via JDBC and convert to TableRow via RowMapper
      *        2) Append TableRow to BigQuery via BigQueryIO
      */
+    ValueProvider<String> connectionUrl =
+        maybeDecrypt(maybeParseSecret(options.getConnectionURL()), options.getKMSEncryptionKey());
     JdbcIO.DataSourceConfiguration dataSourceConfiguration =
         JdbcIO.DataSourceConfiguration.create(
-                StaticValueProvider.of(options.getDriverClassName()),
-                maybeDecrypt(
-                    maybeParseSecret(options.getConnectionURL()), options.getKMSEncryptionKey()))
+                StaticValueProvider.of(options.getDriverClassName()), connectionUrl)
             .withUsername(
                 maybeDecrypt(
                     maybeParseSecret(options.getUsername()), options.getKMSEncryptionKey()))
@@ -163,7 +192,13 @@ public class JdbcToBigQuery {
      *         via {@link org.apache.beam.sdk.io.jdbc.JdbcIO.RowMapper}
      */
     PCollection<TableRow> rows;
-    if (options.getPartitionColumn() != null && options.getTable() != null) {
+    IncrementalJdbcQuery incrementalQuery = null;
+    if (options.getUseUniformPartitions()) {
+      rows =
+          pipeline.apply(
+              "Read from JDBC with Uniform Partitions",
+              readWithUniformPartitions(options, dataSourceConfiguration, connectionUrl));
+    } else if (options.getPartitionColumn() != null && options.getTable() != null) {
       // Read with Partitions
       JdbcIO.ReadWithPartitions<TableRow, ?> readIO = null;
       final String partitionColumnType = options.getPartitionColumnType();
@@ -233,6 +268,22 @@ public class JdbcToBigQuery {
               .withCoder(TableRowJsonCoder.of())
               .withRowMapper(JdbcConverters.getResultSetToTableRow(options.getUseColumnAlias()));
 
+      if (!Strings.isNullOrEmpty(options.getWatermarkColumn())) {
+        // Only read the rows added since the previous run.
+        incrementalQuery =
+            IncrementalJdbcQuery.create(
+                dataSourceConfiguration.buildDatasource(),
+                new GCSAwareValueProvider(options.getQuery()).get(),
+                options.getWatermarkColumn(),
+                options.getWatermarkStatePath(),
+                Strings.isNullOrEmpty(options.getWatermarkLookback())
+                    ? null
+                    : DurationUtils.parseDuration(options.getWatermarkLookback()));
+        readIO =
+            readIO
+                .withQuery(incrementalQuery.query())
+                .withStatementPreparator(incrementalQuery.statementPreparator());
+      }
       if (options.getFetchSize() != null && options.getFetchSize() > 0) {
         readIO = readIO.withFetchSize(options.getFetchSize());
       }
@@ -288,10 +339,50 @@ public class JdbcToBigQuery {
       }
     }
 
+    /*
+     * Step 4: Persist the new watermark of an incremental read once the rows are written
+     */
+    if (incrementalQuery != null) {
+      incrementalQuery.persistAfter(writeResult.getSuccessfulTableLoads());
+    }
+
     // Execute the pipeline and return the result.
     return pipeline.run();
   }
 
+  /**
+   * Reads the table over ranges of its key that are discovered and balanced by the uniform
+   * splitter, see {@link UniformPartitionsTableRead}.
+   */
+  private static PTransform<PBegin, PCollection<TableRow>> readWithUniformPartitions(
+      JdbcToBigQueryOptions options,
+      JdbcIO.DataSourceConfiguration dataSourceConfiguration,
+      ValueProvider<String> connectionUrl) {
+    if (options.getTable() == null) {
+      throw new IllegalArgumentException(
+          "'table' must be specified to read from JDBC with uniform partitions");
+    }
+    UniformPartitionsTableRead.Dialect dialect =
+        UniformPartitionsTableRead.dialectOf(connectionUrl.get());
+    if (dialect == null) {
+      throw new IllegalArgumentException(
+          "Uniform partitions are only supported for MySQL and PostgreSQL connection URLs");
+    }
+    List<String> partitionColumns =
+        options.getPartitionColumn() == null
+            ? null
+            : Splitter.on(',').trimResults().splitToList(options.getPartitionColumn());
+    return UniformPartitionsTableRead.of(
+        dataSourceConfiguration,
+        dialect,
+        options.getTable(),
+        partitionColumns,
+        options.getNumPartitions(),
+        options.getFetchSize(),
+        JdbcConverters.getResultSetToTableRow(options.getUseColumnAlias()),
+        TableRowJsonCoder.of());
+  }
+
   static class ThrowWriteErrorsDoFn extends DoFn<BigQueryInsertError, Void> {
     @ProcessElement
     public void processElement(ProcessContext c) {
@@ -16,6 +16,7 @@
 package com.google.cloud.teleport.v2.templates;
 
 import static com.google.common.truth.Truth.assertThat;
+import static org.junit.Assert.assertThrows;
 
 import com.google.api.services.bigquery.model.Table;
 import com.google.api.services.bigquery.model.TableFieldSchema;
@@ -141,4 +142,36 @@ public class JdbcToBigQueryTest {
     assertThat(fakeDatasetService.getAllRows(PROJECT, DATASET, TABLE))
         .isEqualTo(ImmutableList.of(new TableRow().set("book_id", "1").set("title", "ABC")));
   }
+
+  @Test
+  public void testWatermarkColumnWithTruncateIsRejected() throws IOException {
+    options.setWatermarkColumn("BOOK_ID");
+    options.setWatermarkStatePath(tmp.newFile("book.watermark").getPath());
+    options.setIsTruncate(true);
+
+    IllegalArgumentException exception =
+        assertThrows(
+            IllegalArgumentException.class,
+            () ->
+                JdbcToBigQuery.run(
+                    options,
+                    JdbcToBigQuery.writeToBQTransform(options).withTestServices(bigQueryServices)));
+    assertThat(exception).hasMessageThat().contains("isTruncate");
+  }
+
+  @Test
+  public void testWatermarkColumnWithStorageWriteApiIsRejected() throws IOException {
+    options.setWatermarkColumn("BOOK_ID");
+    options.setWatermarkStatePath(tmp.newFile("book.watermark").getPath());
+    options.setUseStorageWriteApi(true);
+
+    IllegalArgumentException exception =
+        assertThrows(
+            IllegalArgumentException.class,
+            () ->
+                JdbcToBigQuery.run(
+                    options,
+                    JdbcToBigQuery.writeToBQTransform(options).withTestServices(bigQueryServices)));
+    assertThat(exception).hasMessageThat().contains("Storage Write API");
+  }
 }
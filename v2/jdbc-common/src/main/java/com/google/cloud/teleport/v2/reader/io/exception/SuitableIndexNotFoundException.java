@@ -15,15 +15,16 @@
  */
 package com.google.cloud.teleport.v2.reader.io.exception;
 
-import com.google.cloud.teleport.v2.reader.io.jdbc.iowrapper.JdbcIoWrapper;
-import com.google.cloud.teleport.v2.reader.io.jdbc.iowrapper.config.JdbcIoWrapperConfigGroup;
+import com.google.cloud.teleport.v2.reader.io.jdbc.iowrapper.UniformPartitionsTableRead;
+import com.google.common.collect.ImmutableList;
+import java.util.List;
 
 /**
  * Exception thrown when a suitable indexed column that can act as the partition column is not
  * found.
  *
- * <p>Please refer to {@link JdbcIoWrapper#of(JdbcIoWrapperConfigGroup)} for details on the cases
- * where this is thrown.
+ * <p>Please refer to {@link UniformPartitionsTableRead#inferPartitionColumns(ImmutableList, List)}
+ * for details on the cases where this is thrown.
  */
 public class SuitableIndexNotFoundException extends SchemaDiscoveryException {
   public SuitableIndexNotFoundException(Throwable cause) {
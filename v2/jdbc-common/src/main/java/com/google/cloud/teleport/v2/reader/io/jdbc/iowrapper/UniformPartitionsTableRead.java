@@ -0,0 +1,383 @@
+/*
+ * Copyright (C) 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.cloud.teleport.v2.reader.io.jdbc.iowrapper;
+
+import com.google.cloud.teleport.v2.reader.io.exception.RetriableSchemaDiscoveryException;
+import com.google.cloud.teleport.v2.reader.io.exception.SchemaDiscoveryRetriesExhaustedException;
+import com.google.cloud.teleport.v2.reader.io.exception.SuitableIndexNotFoundException;
+import com.google.cloud.teleport.v2.reader.io.jdbc.JdbcSchemaReference;
+import com.google.cloud.teleport.v2.reader.io.jdbc.dialectadapter.UniformSplitterDialectAdapter;
+import com.google.cloud.teleport.v2.reader.io.jdbc.uniformsplitter.DataSourceProviderImpl;
+import com.google.cloud.teleport.v2.reader.io.jdbc.uniformsplitter.range.PartitionColumn;
+import com.google.cloud.teleport.v2.reader.io.jdbc.uniformsplitter.range.TableIdentifier;
+import com.google.cloud.teleport.v2.reader.io.jdbc.uniformsplitter.range.TableReadSpecification;
+import com.google.cloud.teleport.v2.reader.io.jdbc.uniformsplitter.range.TableSplitSpecification;
+import com.google.cloud.teleport.v2.reader.io.jdbc.uniformsplitter.transforms.ReadWithUniformPartitions;
+import com.google.cloud.teleport.v2.reader.io.schema.SourceColumnIndexInfo;
+import com.google.cloud.teleport.v2.reader.io.schema.SourceColumnIndexInfo.IndexType;
+import com.google.cloud.teleport.v2.source.mysql.reader.io.jdbc.dialectadapter.mysql.MysqlUniformSplitterDBAdapter;
+import com.google.cloud.teleport.v2.source.postgres.reader.io.jdbc.dialectadapter.postgresql.PostgreSQLUniformSplitterDBAdapter;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Strings;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import javax.annotation.Nullable;
+import org.apache.beam.sdk.coders.Coder;
+import org.apache.beam.sdk.io.jdbc.JdbcIO.DataSourceConfiguration;
+import org.apache.beam.sdk.io.jdbc.JdbcIO.PoolableDataSourceProvider;
+import org.apache.beam.sdk.io.jdbc.JdbcIO.RowMapper;
+import org.apache.beam.sdk.options.ValueProvider;
+import org.apache.beam.sdk.util.BackOff;
+import org.apache.beam.sdk.util.FluentBackoff;
+import org.joda.time.Duration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Builds a {@link ReadWithUniformPartitions} that reads a single table of a MySQL or PostgreSQL
+ * database, for templates that read through a plain {@link DataSourceConfiguration}.
+ *
+ * <p>The partition columns are discovered from the indexes of the table, see {@link
+ * #inferPartitionColumns(ImmutableList, List)}: the configured columns if any, otherwise the
+ * supported columns of the primary key, which may be strings or composite keys. The ranges are then
+ * refined with count queries until they are balanced, so the values of the key need not be evenly
+ * distributed.
+ */
+public final class UniformPartitionsTableRead {
+
+  private static final Logger LOG = LoggerFactory.getLogger(UniformPartitionsTableRead.class);
+
+  private static final String DATA_SOURCE_ID = "0";
+
+  private static final FluentBackoff MYSQL_SCHEMA_DISCOVERY_BACKOFF =
+      FluentBackoff.DEFAULT.withMaxCumulativeBackoff(Duration.standardMinutes(5L));
+
+  /** Index types that the uniform splitter can partition a table on. */
+  private static final ImmutableSet<IndexType> SUPPORTED_INDEX_TYPES =
+      ImmutableSet.of(
+          IndexType.NUMERIC,
+          IndexType.STRING,
+          IndexType.BIG_INT_UNSIGNED,
+          IndexType.BINARY,
+          IndexType.TIME_STAMP,
+          IndexType.DATE,
+          IndexType.DECIMAL,
+          IndexType.FLOAT,
+          IndexType.DOUBLE,
+          IndexType.DURATION);
+
+  /** Dialects supported by the uniform splitter. */
+  public enum Dialect {
+    MYSQL,
+    POSTGRESQL
+  }
+
+  private UniformPartitionsTableRead() {}
+
+  /**
+   * Returns the dialect of a JDBC connection URL, or null if it is not supported by the uniform
+   * splitter.
+   */
+  @Nullable
+  public static Dialect dialectOf(String connectionUrl) {
+    if (connectionUrl.startsWith("jdbc:mysql:")) {
+      return Dialect.MYSQL;
+    }
+    if (connectionUrl.startsWith("jdbc:postgresql:")) {
+      return Dialect.POSTGRESQL;
+    }
+    return null;
+  }
+
+  /**
+   * Creates the transform reading a table with uniform partitions. The indexes of the table are
+   * discovered when this method is called, typically at pipeline construction.
+   *
+   * @param dataSourceConfiguration connection to the database.
+   * @param dialect dialect of the database.
+   * @param table name of the table, optionally qualified by its database (MySQL) or schema
+   *     (PostgreSQL).
+   * @param partitionColumns columns to partition the table on, or null to use its primary key.
+   * @param maxPartitions hint for the number of partitions, or null to infer it from the size of
+   *     the table.
+   * @param fetchSize fetch size of the reads, or null for the default.
+   * @param rowMapper maps the rows read.
+   * @param coder coder of the mapped rows.
+   */
+  public static <T> ReadWithUniformPartitions<T> of(
+      DataSourceConfiguration dataSourceConfiguration,
+      Dialect dialect,
+      String table,
+      @Nullable List<String> partitionColumns,
+      @Nullable Integer maxPartitions,
+      @Nullable Integer fetchSize,
+      RowMapper<T> rowMapper,
+      Coder<T> coder) {
+    UniformSplitterDialectAdapter dialectAdapter;
+    FluentBackoff backoff;
+    if (dialect == Dialect.MYSQL) {
+      dialectAdapter = new MysqlUniformSplitterDBAdapter();
+      backoff = MYSQL_SCHEMA_DISCOVERY_BACKOFF;
+      // The read and split queries delimit the identifiers with double quotes, and the collation
+      // discovery of string columns runs several statements at once.
+      dataSourceConfiguration =
+          dataSourceConfiguration
+              .withConnectionInitSqls(
+                  ImmutableList.of(MysqlUniformSplitterDBAdapter.ENABLE_ANSI_QUOTES_INIT_SEQ))
+              .withConnectionProperties(
+                  withProperty(
+                      dataSourceConfiguration.getConnectionProperties(), "allowMultiQueries=true"));
+    } else {
+      dialectAdapter = new PostgreSQLUniformSplitterDBAdapter();
+      backoff = FluentBackoff.DEFAULT;
+    }
+
+    String qualifier = null;
+    String tableName = table;
+    int dot = table.lastIndexOf('.');
+    if (dot >= 0) {
+      qualifier = table.substring(0, dot);
+      tableName = table.substring(dot + 1);
+    }
+
+    ImmutableList<SourceColumnIndexInfo> indexes =
+        discoverIndexes(
+            dataSourceConfiguration, dialect, dialectAdapter, backoff, qualifier, tableName);
+    ImmutableList<PartitionColumn> columns = inferPartitionColumns(indexes, partitionColumns);
+    if (columns.isEmpty()) {
+      throw new SuitableIndexNotFoundException(
+          new Throwable(
+              "No Suitable Index Found for partition column inference for table " + table));
+    }
+    LOG.info("Reading table {} with uniform partitions on columns {}", table, columns);
+
+    TableIdentifier tableIdentifier =
+        TableIdentifier.builder()
+            .setTableName(delimitTableName(qualifier, tableName))
+            .setDataSourceId(DATA_SOURCE_ID)
+            .build();
+    TableSplitSpecification.Builder splitSpecification =
+        TableSplitSpecification.builder()
+            .setTableIdentifier(tableIdentifier)
+            .setPartitionColumns(columns)
+            .setApproxRowCount(approxRowCount(indexes));
+    if (maxPartitions != null && maxPartitions > 0) {
+      splitSpecification.setMaxPartitionsHint((long) maxPartitions);
+    }
+    TableReadSpecification.Builder<T> readSpecification =
+        TableReadSpecification.<T>builder()
+            .setTableIdentifier(tableIdentifier)
+            .setRowMapper(rowMapper);
+    if (fetchSize != null && fetchSize > 0) {
+      readSpecification.setFetchSize(fetchSize);
+    }
+
+    return ReadWithUniformPartitions.<T>builder()
+        .setDataSourceProvider(
+            DataSourceProviderImpl.builder()
+                .addDataSource(
+                    DATA_SOURCE_ID, PoolableDataSourceProvider.of(dataSourceConfiguration))
+                .build())
+        .setDbAdapter(dialectAdapter)
+        .setTableSplitSpecifications(ImmutableList.of(splitSpecification.build()))
+        .setTableReadSpecifications(ImmutableMap.of(tableIdentifier, readSpecification.build()))
+        .setCoder(coder)
+        .build();
+  }
+
+  /**
+   * Picks the partition columns of a table from its indexes. The configured columns are used if
+   * any, otherwise the columns of the primary key that are of a type supported by the uniform
+   * splitter.
+   *
+   * @param tableIndexInfo indexes of the table.
+   * @param configuredColumns partition columns configured for the table, or null.
+   * @return the partition columns, in the order of the index.
+   * @throws SuitableIndexNotFoundException if a configured column is not indexed, or is of a type
+   *     that the uniform splitter does not support.
+   */
+  public static ImmutableList<PartitionColumn> inferPartitionColumns(
+      ImmutableList<SourceColumnIndexInfo> tableIndexInfo, @Nullable List<String> configuredColumns)
+      throws SuitableIndexNotFoundException {
+    if (configuredColumns != null) {
+      return configuredColumns.stream()
+          .map(
+              colName ->
+                  tableIndexInfo.stream()
+                      .filter(info -> info.columnName().equals(colName))
+                      .findFirst()
+                      .orElseThrow(
+                          () ->
+                              new SuitableIndexNotFoundException(
+                                  new Throwable(
+                                      "No index found on the configured partition column "
+                                          + colName))))
+          .sorted()
+          .map(UniformPartitionsTableRead::partitionColumnFromIndexInfo)
+          .collect(ImmutableList.toImmutableList());
+    }
+    // Every column of a composite primary key is returned. The split stages aren't capped, see
+    // TableSplitSpecification, so a range of the leading column that can't be split any further
+    // is split on the next column.
+    return tableIndexInfo.stream()
+        .filter(
+            idxInfo -> (idxInfo.isPrimary() && SUPPORTED_INDEX_TYPES.contains(idxInfo.indexType())))
+        .sorted()
+        .map(UniformPartitionsTableRead::partitionColumnFromIndexInfo)
+        .collect(ImmutableList.toImmutableList());
+  }
+
+  @VisibleForTesting
+  static java.lang.Class indexTypeToColumnClass(SourceColumnIndexInfo indexInfo)
+      throws SuitableIndexNotFoundException {
+    if (SourceColumnIndexInfo.INDEX_TYPE_TO_CLASS.containsKey(indexInfo.indexType())) {
+      return SourceColumnIndexInfo.INDEX_TYPE_TO_CLASS.get(indexInfo.indexType());
+    } else {
+      throw new SuitableIndexNotFoundException(
+          new Throwable("No class Mapping for IndexType " + indexInfo));
+    }
+  }
+
+  /**
+   * Delimit the Identifiers as per <a
+   * href=https://github.com/ronsavage/SQL/blob/master/sql-99.bnf>sql-99</a>. This is needed to
+   * handle cases where the user might use reserved keywords as column or table names.
+   *
+   * @param identifier identifier to delimit.
+   * @return the delimited identifier.
+   */
+  public static String delimitIdentifier(String identifier) {
+    return "\"" + identifier.replaceAll("\"", "\"\"") + "\"";
+  }
+
+  private static PartitionColumn partitionColumnFromIndexInfo(SourceColumnIndexInfo idxInfo) {
+    return PartitionColumn.builder()
+        .setColumnName(delimitIdentifier(idxInfo.columnName()))
+        .setColumnClass(indexTypeToColumnClass(idxInfo))
+        .setStringCollation(idxInfo.collationReference())
+        .setStringMaxLength(idxInfo.stringMaxLength())
+        .setNumericScale(idxInfo.numericScale())
+        .setDecimalStepSize(idxInfo.decimalStepSize())
+        .setDatetimePrecision(idxInfo.datetimePrecision())
+        .setColumnTypeName(idxInfo.columnTypeName())
+        .build();
+  }
+
+  private static ImmutableList<SourceColumnIndexInfo> discoverIndexes(
+      DataSourceConfiguration dataSourceConfiguration,
+      Dialect dialect,
+      UniformSplitterDialectAdapter dialectAdapter,
+      FluentBackoff backoff,
+      @Nullable String qualifier,
+      String tableName) {
+    javax.sql.DataSource dataSource = dataSourceConfiguration.buildDatasource();
+    try {
+      JdbcSchemaReference schemaReference = schemaReference(dataSource, dialect, qualifier);
+      ImmutableMap<String, ImmutableList<SourceColumnIndexInfo>> indexes =
+          discoverTableIndexesWithRetries(
+              dialectAdapter, backoff, dataSource, schemaReference, tableName);
+      if (!indexes.containsKey(tableName)) {
+        throw new SuitableIndexNotFoundException(
+            new Throwable("No Index Found for partition column inference for table " + tableName));
+      }
+      return indexes.get(tableName);
+    } finally {
+      if (dataSource instanceof AutoCloseable) {
+        try {
+          ((AutoCloseable) dataSource).close();
+        } catch (Exception e) {
+          LOG.warn("Exception while closing datasource {}", dataSource, e);
+        }
+      }
+    }
+  }
+
+  /** Discovers the indexes of the table, retrying retriable errors as per {@code backoff}. */
+  private static ImmutableMap<String, ImmutableList<SourceColumnIndexInfo>>
+      discoverTableIndexesWithRetries(
+          UniformSplitterDialectAdapter dialectAdapter,
+          FluentBackoff backoff,
+          javax.sql.DataSource dataSource,
+          JdbcSchemaReference schemaReference,
+          String tableName) {
+    BackOff backOff = backoff.backoff();
+    do {
+      try {
+        return dialectAdapter.discoverTableIndexes(
+            dataSource, schemaReference, ImmutableList.of(tableName));
+      } catch (RetriableSchemaDiscoveryException e) {
+        try {
+          long nextBackOffMillis = backOff.nextBackOffMillis();
+          if (nextBackOffMillis == BackOff.STOP) {
+            throw new SchemaDiscoveryRetriesExhaustedException(e);
+          }
+          Thread.sleep(nextBackOffMillis);
+        } catch (InterruptedException interrupted) {
+          Thread.currentThread().interrupt();
+          throw new SchemaDiscoveryRetriesExhaustedException(interrupted);
+        } catch (IOException ioException) {
+          throw new SchemaDiscoveryRetriesExhaustedException(ioException);
+        }
+      }
+    } while (true);
+  }
+
+  /**
+   * Returns the schema of the table: its MySQL database, or its PostgreSQL database and schema,
+   * defaulting to the ones of the connection.
+   */
+  private static JdbcSchemaReference schemaReference(
+      javax.sql.DataSource dataSource, Dialect dialect, @Nullable String qualifier) {
+    try (Connection connection = dataSource.getConnection()) {
+      if (dialect == Dialect.MYSQL) {
+        return JdbcSchemaReference.builder()
+            .setDbName(qualifier != null ? qualifier : connection.getCatalog())
+            .build();
+      }
+      return JdbcSchemaReference.builder()
+          .setDbName(connection.getCatalog())
+          .setNamespace(qualifier != null ? qualifier : connection.getSchema())
+          .build();
+    } catch (SQLException e) {
+      throw new RuntimeException("Unable to connect to the database to discover its schema", e);
+    }
+  }
+
+  @VisibleForTesting
+  static String delimitTableName(@Nullable String qualifier, String tableName) {
+    String delimited = delimitIdentifier(tableName);
+    return qualifier == null ? delimited : delimitIdentifier(qualifier) + "." + delimited;
+  }
+
+  private static String withProperty(
+      @Nullable ValueProvider<String> connectionProperties, String property) {
+    String properties = connectionProperties == null ? null : connectionProperties.get();
+    return Strings.isNullOrEmpty(properties) ? property : properties + ";" + property;
+  }
+
+  private static long approxRowCount(ImmutableList<SourceColumnIndexInfo> indexes) {
+    return indexes.stream()
+        .filter(info -> info.isPrimary() && info.ordinalPosition() == 1)
+        .mapToLong(SourceColumnIndexInfo::cardinality)
+        .findFirst()
+        .orElse(0L);
+  }
+}
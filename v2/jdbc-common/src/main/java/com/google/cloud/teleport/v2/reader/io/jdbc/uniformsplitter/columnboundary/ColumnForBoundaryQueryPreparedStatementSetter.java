@@ -20,7 +20,7 @@ import com.google.cloud.teleport.v2.reader.io.jdbc.uniformsplitter.range.Partiti
 import com.google.cloud.teleport.v2.reader.io.jdbc.uniformsplitter.range.Range;
 import com.google.cloud.teleport.v2.reader.io.jdbc.uniformsplitter.range.TableIdentifier;
 import com.google.cloud.teleport.v2.reader.io.jdbc.uniformsplitter.range.TableSplitSpecification;
-import com.google.cloud.teleport.v2.source.mysql.reader.io.jdbc.dialectadapter.mysql.MysqlDialectAdapter;
+import com.google.cloud.teleport.v2.source.mysql.reader.io.jdbc.dialectadapter.mysql.MysqlUniformSplitterDBAdapter;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import java.sql.PreparedStatement;
@@ -68,7 +68,7 @@ public class ColumnForBoundaryQueryPreparedStatementSetter
    * @param element details of the column for which boundary is to be found.
    * @param preparedStatement the prepared statement.
    * @throws Exception coming form jdbc. Since this is in run-time, beam will retry the exception.
-   * @see MysqlDialectAdapter#getBoundaryQuery(String, ImmutableList, String)
+   * @see MysqlUniformSplitterDBAdapter#getBoundaryQuery(String, ImmutableList, String)
    */
   @Override
   public void setParameters(
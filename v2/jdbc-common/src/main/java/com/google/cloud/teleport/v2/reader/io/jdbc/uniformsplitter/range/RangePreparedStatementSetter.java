@@ -16,7 +16,7 @@
 package com.google.cloud.teleport.v2.reader.io.jdbc.uniformsplitter.range;
 
 import com.google.cloud.teleport.v2.reader.io.jdbc.JdbcCommonConstants;
-import com.google.cloud.teleport.v2.source.mysql.reader.io.jdbc.dialectadapter.mysql.MysqlDialectAdapter;
+import com.google.cloud.teleport.v2.source.mysql.reader.io.jdbc.dialectadapter.mysql.MysqlUniformSplitterDBAdapter;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import java.sql.PreparedStatement;
@@ -73,8 +73,8 @@ public class RangePreparedStatementSetter implements PreparedStatementSetter<Ran
    * @param preparedStatement the prepared statement.
    * @param startParameterIdx initial parameter index in case of chaining.
    * @throws Exception coming form jdbc. Since this is in run-time, beam will retry the exception.
-   * @see MysqlDialectAdapter#getReadQuery(String, ImmutableList)
-   * @see MysqlDialectAdapter#getCountQuery(String, ImmutableList, long)
+   * @see MysqlUniformSplitterDBAdapter#getReadQuery(String, ImmutableList)
+   * @see MysqlUniformSplitterDBAdapter#getCountQuery(String, ImmutableList, long)
    */
   private void setRangeParameters(
       Range element,
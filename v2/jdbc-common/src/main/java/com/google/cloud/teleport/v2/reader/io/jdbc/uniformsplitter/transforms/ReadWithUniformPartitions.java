@@ -40,6 +40,7 @@ import java.util.Objects;
 import java.util.stream.Collectors;
 import javax.annotation.Nullable;
 import javax.sql.DataSource;
+import org.apache.beam.sdk.coders.Coder;
 import org.apache.beam.sdk.io.jdbc.JdbcIO;
 import org.apache.beam.sdk.io.jdbc.JdbcIO.PreparedStatementSetter;
 import org.apache.beam.sdk.io.jdbc.JdbcIO.ReadAll;
@@ -175,6 +176,13 @@ public abstract class ReadWithUniformPartitions<T> extends PTransform<PBegin, PC
   @Nullable
   abstract String transformPrefix();
 
+  /**
+   * Coder for the rows read from the tables. Defaults to null, in which case the coder is inferred
+   * from the coder registry.
+   */
+  @Nullable
+  abstract Coder<T> coder();
+
   /**
    * Orchestrates the multi-table partitioning and reading process.
    *
@@ -319,6 +327,17 @@ public abstract class ReadWithUniformPartitions<T> extends PTransform<PBegin, PC
         new RangePreparedStatementSetter(tableSplitSpecifications());
 
     // 4. Final Read operation
+    MultiTableReadAll<Range, T> rangeRead =
+        buildMultiTableRead(
+            MultiTableReadAll.builder(),
+            tableSplitSpecifications(),
+            tableReadSpecifications(),
+            dbAdapter(),
+            rangePrepareator,
+            dataSourceProvider());
+    if (coder() != null) {
+      rangeRead = rangeRead.withCoder(coder());
+    }
     // We reshuffle before the read to ensure that ranges from thousands of tables
     // are distributed across all available workers, preventing any single worker
     // from becoming a bottleneck.
@@ -326,15 +345,7 @@ public abstract class ReadWithUniformPartitions<T> extends PTransform<PBegin, PC
         .apply(
             getTransformName("ReshuffleFinal", null, null),
             Reshuffle.<Range>viaRandomKey().withNumBuckets(dbParallelizationForReads()))
-        .apply(
-            getTransformName("RangeRead", null, null),
-            buildMultiTableRead(
-                MultiTableReadAll.builder(),
-                tableSplitSpecifications(),
-                tableReadSpecifications(),
-                dbAdapter(),
-                rangePrepareator,
-                dataSourceProvider()));
+        .apply(getTransformName("RangeRead", null, null), rangeRead);
   }
 
   @VisibleForTesting
@@ -597,6 +608,8 @@ public abstract class ReadWithUniformPartitions<T> extends PTransform<PBegin, PC
 
     public abstract Builder<T> setTransformPrefix(@Nullable String value);
 
+    public abstract Builder<T> setCoder(@Nullable Coder<T> value);
+
     @Nullable
     abstract String transformPrefix();
 
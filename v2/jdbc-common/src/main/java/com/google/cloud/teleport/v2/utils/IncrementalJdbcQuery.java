@@ -0,0 +1,359 @@
+/*
+ * Copyright (C) 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.cloud.teleport.v2.utils;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import com.google.common.annotations.VisibleForTesting;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.math.BigDecimal;
+import java.nio.channels.Channels;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Properties;
+import javax.annotation.Nullable;
+import javax.sql.DataSource;
+import org.apache.beam.sdk.io.FileSystems;
+import org.apache.beam.sdk.io.fs.EmptyMatchTreatment;
+import org.apache.beam.sdk.io.fs.MatchResult;
+import org.apache.beam.sdk.io.jdbc.JdbcIO;
+import org.apache.beam.sdk.transforms.Create;
+import org.apache.beam.sdk.transforms.DoFn;
+import org.apache.beam.sdk.transforms.ParDo;
+import org.apache.beam.sdk.transforms.Wait;
+import org.apache.beam.sdk.util.MimeTypes;
+import org.apache.beam.sdk.values.PCollection;
+import org.joda.time.Duration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Incremental read of a JDBC query, tracking a high-water mark on a monotonically increasing column
+ * such as an auto-incremented id or an update timestamp.
+ *
+ * <p>When the pipeline is constructed, the previous high-water mark is loaded from a small state
+ * file and the current one is queried from the source. The query is then restricted to the rows in
+ * between, optionally starting a lookback earlier to catch rows committed late with an older value.
+ * Once the rows are written, the new high-water mark replaces the state file, so a failed run reads
+ * the same rows again on the next attempt.
+ *
+ * <p>Rows with a NULL watermark column are never read.
+ */
+public final class IncrementalJdbcQuery implements Serializable {
+
+  private static final Logger LOG = LoggerFactory.getLogger(IncrementalJdbcQuery.class);
+
+  private static final String SOURCE_ALIAS = "incremental_source";
+
+  private final String query;
+  private final String column;
+  private final String statePath;
+  @Nullable private final Watermark lowerBound;
+  @Nullable private final Watermark upperBound;
+
+  private IncrementalJdbcQuery(
+      String query,
+      String column,
+      String statePath,
+      @Nullable Watermark lowerBound,
+      @Nullable Watermark upperBound) {
+    this.query = query;
+    this.column = column;
+    this.statePath = statePath;
+    this.lowerBound = lowerBound;
+    this.upperBound = upperBound;
+  }
+
+  /**
+   * Plans the incremental read of a query.
+   *
+   * @param dataSource source database, used to query the current high-water mark.
+   * @param query query to read incrementally.
+   * @param column monotonically increasing column of the query, of numeric, date or timestamp type.
+   * @param statePath path of the file holding the high-water mark of the previous run.
+   * @param lookback how far before the previous high-water mark to start reading, or null. Only
+   *     applies to date and timestamp columns.
+   */
+  public static IncrementalJdbcQuery create(
+      DataSource dataSource,
+      String query,
+      String column,
+      String statePath,
+      @Nullable Duration lookback) {
+    Watermark previous = readState(statePath);
+    Watermark lowerBound =
+        previous == null || lookback == null ? previous : previous.minus(lookback);
+    Watermark upperBound = queryMax(dataSource, query, column);
+    LOG.info(
+        "Reading {} incrementally on column {}, from {} (previous run: {}) to {}",
+        query,
+        column,
+        lowerBound,
+        previous,
+        upperBound);
+    return new IncrementalJdbcQuery(query, column, statePath, lowerBound, upperBound);
+  }
+
+  /** Returns the query restricted to the rows between the high-water marks. */
+  public String query() {
+    return restrictedQuery(query, column, lowerBound != null, upperBound != null);
+  }
+
+  /**
+   * Returns the {@link JdbcIO.StatementPreparator} binding the high-water marks of {@link
+   * #query()}.
+   */
+  public JdbcIO.StatementPreparator statementPreparator() {
+    Watermark lower = lowerBound;
+    Watermark upper = upperBound;
+    return statement -> {
+      int index = 1;
+      if (lower != null) {
+        lower.bind(statement, index++);
+      }
+      if (upper != null) {
+        upper.bind(statement, index);
+      }
+    };
+  }
+
+  /**
+   * Replaces the state file with the new high-water mark once {@code signal} is complete, which
+   * must only happen once the rows read are committed, such as the successful table loads of a
+   * BigQuery file loads write. The outputs of a BigQuery Storage Write API write can complete
+   * before the rows are committed, so they are not suitable signals.
+   */
+  public void persistAfter(PCollection<?> signal) {
+    if (upperBound == null) {
+      // The source is empty, keep the previous high-water mark.
+      return;
+    }
+    signal
+        .getPipeline()
+        .apply("Create Watermark", Create.of(upperBound.serialize()))
+        .apply("Wait for Write", Wait.on(signal))
+        .apply("Persist Watermark", ParDo.of(new WriteStateFn(statePath)));
+  }
+
+  @VisibleForTesting
+  static String restrictedQuery(
+      String query, String column, boolean hasLowerBound, boolean hasUpperBound) {
+    StringBuilder restricted =
+        new StringBuilder("SELECT * FROM (")
+            .append(query)
+            .append(") ")
+            .append(SOURCE_ALIAS)
+            .append(" WHERE ")
+            .append(SOURCE_ALIAS)
+            .append('.')
+            .append(column)
+            .append(" IS NOT NULL");
+    if (hasLowerBound) {
+      restricted.append(" AND ").append(SOURCE_ALIAS).append('.').append(column).append(" > ?");
+    }
+    if (hasUpperBound) {
+      restricted.append(" AND ").append(SOURCE_ALIAS).append('.').append(column).append(" <= ?");
+    }
+    return restricted.toString();
+  }
+
+  @Nullable
+  private static Watermark queryMax(DataSource dataSource, String query, String column) {
+    String maxQuery =
+        String.format("SELECT MAX(%s.%s) FROM (%s) %s", SOURCE_ALIAS, column, query, SOURCE_ALIAS);
+    try (Connection connection = dataSource.getConnection();
+        PreparedStatement statement = connection.prepareStatement(maxQuery);
+        ResultSet resultSet = statement.executeQuery()) {
+      resultSet.next();
+      return Watermark.fromResultSet(resultSet, 1);
+    } catch (SQLException e) {
+      throw new RuntimeException("Failed to query the high-water mark: " + maxQuery, e);
+    }
+  }
+
+  @Nullable
+  private static Watermark readState(String statePath) {
+    try {
+      MatchResult match = FileSystems.match(statePath, EmptyMatchTreatment.ALLOW);
+      if (match.metadata().isEmpty()) {
+        return null;
+      }
+    } catch (IOException e) {
+      throw new RuntimeException("Failed to look up the watermark state " + statePath, e);
+    }
+    return Watermark.parse(GCSUtils.getGcsFileAsString(statePath));
+  }
+
+  /** Writes the serialized high-water mark to the state file. */
+  private static class WriteStateFn extends DoFn<String, Void> {
+
+    private final String statePath;
+
+    WriteStateFn(String statePath) {
+      this.statePath = statePath;
+    }
+
+    @ProcessElement
+    public void processElement(@Element String state) throws IOException {
+      try (OutputStream out =
+          Channels.newOutputStream(
+              FileSystems.create(FileSystems.matchNewResource(statePath, false), MimeTypes.TEXT))) {
+        out.write(state.getBytes(UTF_8));
+      }
+      LOG.info("Persisted watermark {} to {}", state, statePath);
+    }
+  }
+
+  /** A high-water mark, as a value of the watermark column. */
+  @VisibleForTesting
+  static final class Watermark implements Serializable {
+
+    /** Type of the watermark column. */
+    enum Type {
+      NUMBER,
+      DATE,
+      TIMESTAMP
+    }
+
+    private final Type type;
+    private final String value;
+
+    Watermark(Type type, String value) {
+      this.type = type;
+      this.value = value;
+    }
+
+    @Nullable
+    static Watermark fromResultSet(ResultSet resultSet, int index) throws SQLException {
+      int sqlType = resultSet.getMetaData().getColumnType(index);
+      switch (sqlType) {
+        case Types.TINYINT:
+        case Types.SMALLINT:
+        case Types.INTEGER:
+        case Types.BIGINT:
+        case Types.DECIMAL:
+        case Types.NUMERIC:
+          BigDecimal number = resultSet.getBigDecimal(index);
+          return number == null ? null : new Watermark(Type.NUMBER, number.toPlainString());
+        case Types.DATE:
+          Date date = resultSet.getDate(index);
+          return date == null ? null : new Watermark(Type.DATE, date.toLocalDate().toString());
+        case Types.TIMESTAMP:
+        case Types.TIMESTAMP_WITH_TIMEZONE:
+          Timestamp timestamp = resultSet.getTimestamp(index);
+          return timestamp == null
+              ? null
+              : new Watermark(Type.TIMESTAMP, timestamp.toLocalDateTime().toString());
+        default:
+          throw new IllegalArgumentException(
+              "Unsupported type of watermark column: "
+                  + resultSet.getMetaData().getColumnTypeName(index)
+                  + ". Use a numeric, date or timestamp column.");
+      }
+    }
+
+    /** Returns the watermark moved back by a lookback, which only applies to dates and times. */
+    Watermark minus(Duration lookback) {
+      switch (type) {
+        case DATE:
+          long days =
+              (lookback.getMillis() + Duration.standardDays(1).getMillis() - 1)
+                  / Duration.standardDays(1).getMillis();
+          return new Watermark(type, LocalDate.parse(value).minusDays(days).toString());
+        case TIMESTAMP:
+          return new Watermark(
+              type,
+              LocalDateTime.parse(value)
+                  .minus(java.time.Duration.ofMillis(lookback.getMillis()))
+                  .toString());
+        default:
+          return this;
+      }
+    }
+
+    void bind(PreparedStatement statement, int index) throws SQLException {
+      switch (type) {
+        case NUMBER:
+          statement.setBigDecimal(index, new BigDecimal(value));
+          break;
+        case DATE:
+          statement.setDate(index, Date.valueOf(LocalDate.parse(value)));
+          break;
+        case TIMESTAMP:
+          statement.setTimestamp(index, Timestamp.valueOf(LocalDateTime.parse(value)));
+          break;
+      }
+    }
+
+    String serialize() {
+      Properties properties = new Properties();
+      properties.setProperty("type", type.name());
+      properties.setProperty("value", value);
+      StringWriter writer = new StringWriter();
+      try {
+        properties.store(writer, "High-water mark of an incremental JDBC ingestion");
+      } catch (IOException e) {
+        throw new RuntimeException(e);
+      }
+      return writer.toString();
+    }
+
+    static Watermark parse(String state) {
+      Properties properties = new Properties();
+      try {
+        properties.load(new StringReader(state));
+      } catch (IOException e) {
+        throw new RuntimeException(e);
+      }
+      String type = properties.getProperty("type");
+      String value = properties.getProperty("value");
+      if (type == null || value == null) {
+        throw new IllegalArgumentException("Invalid watermark state: " + state);
+      }
+      return new Watermark(Type.valueOf(type), value);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (!(o instanceof Watermark)) {
+        return false;
+      }
+      Watermark other = (Watermark) o;
+      return type == other.type && value.equals(other.value);
+    }
+
+    @Override
+    public int hashCode() {
+      return 31 * type.hashCode() + value.hashCode();
+    }
+
+    @Override
+    public String toString() {
+      return type + " " + value;
+    }
+  }
+}
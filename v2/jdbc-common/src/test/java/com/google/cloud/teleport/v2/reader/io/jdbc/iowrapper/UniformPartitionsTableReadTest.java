@@ -0,0 +1,142 @@
+/*
+ * Copyright (C) 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.cloud.teleport.v2.reader.io.jdbc.iowrapper;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.Assert.assertThrows;
+
+import com.google.cloud.teleport.v2.reader.io.exception.SuitableIndexNotFoundException;
+import com.google.cloud.teleport.v2.reader.io.jdbc.iowrapper.UniformPartitionsTableRead.Dialect;
+import com.google.cloud.teleport.v2.reader.io.jdbc.uniformsplitter.range.PartitionColumn;
+import com.google.cloud.teleport.v2.reader.io.schema.SourceColumnIndexInfo;
+import com.google.cloud.teleport.v2.reader.io.schema.SourceColumnIndexInfo.IndexType;
+import com.google.common.collect.ImmutableList;
+import java.math.BigDecimal;
+import java.util.stream.Collectors;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** Test class for {@link UniformPartitionsTableRead}. */
+@RunWith(JUnit4.class)
+public class UniformPartitionsTableReadTest {
+
+  private static final ImmutableList<SourceColumnIndexInfo> INDEXES =
+      ImmutableList.of(
+          indexInfo("PRIMARY", "region_id", true, 2),
+          indexInfo("PRIMARY", "customer_id", true, 1),
+          indexInfo("created_idx", "created", false, 1));
+
+  @Test
+  public void testDialectOf() {
+    assertThat(UniformPartitionsTableRead.dialectOf("jdbc:mysql://localhost:3306/db"))
+        .isEqualTo(Dialect.MYSQL);
+    assertThat(UniformPartitionsTableRead.dialectOf("jdbc:postgresql://localhost:5432/db"))
+        .isEqualTo(Dialect.POSTGRESQL);
+    assertThat(UniformPartitionsTableRead.dialectOf("jdbc:oracle:thin:@localhost:1521:db"))
+        .isNull();
+  }
+
+  @Test
+  public void testDelimitTableName() {
+    assertThat(UniformPartitionsTableRead.delimitTableName(null, "orders")).isEqualTo("\"orders\"");
+    assertThat(UniformPartitionsTableRead.delimitTableName("sales", "orders"))
+        .isEqualTo("\"sales\".\"orders\"");
+  }
+
+  @Test
+  public void testInferPartitionColumnsFromCompositePrimaryKey() {
+    ImmutableList<PartitionColumn> columns =
+        UniformPartitionsTableRead.inferPartitionColumns(INDEXES, null);
+
+    assertThat(columns.stream().map(PartitionColumn::columnName).collect(Collectors.toList()))
+        .containsExactly("\"customer_id\"", "\"region_id\"")
+        .inOrder();
+  }
+
+  @Test
+  public void testInferConfiguredPartitionColumns() {
+    ImmutableList<PartitionColumn> columns =
+        UniformPartitionsTableRead.inferPartitionColumns(INDEXES, ImmutableList.of("created"));
+
+    assertThat(columns.stream().map(PartitionColumn::columnName).collect(Collectors.toList()))
+        .containsExactly("\"created\"");
+  }
+
+  @Test
+  public void testInferUnindexedPartitionColumnThrows() {
+    SuitableIndexNotFoundException exception =
+        assertThrows(
+            SuitableIndexNotFoundException.class,
+            () ->
+                UniformPartitionsTableRead.inferPartitionColumns(
+                    INDEXES, ImmutableList.of("unindexed")));
+
+    assertThat(exception).hasCauseThat().hasMessageThat().contains("unindexed");
+  }
+
+  @Test
+  public void testIndexTypeToColumnClass() {
+
+    assertThat(
+            UniformPartitionsTableRead.indexTypeToColumnClass(
+                SourceColumnIndexInfo.builder()
+                    .setColumnTypeName("dummy")
+                    .setColumnName("col1")
+                    .setIndexType(IndexType.BIG_INT_UNSIGNED)
+                    .setOrdinalPosition(1)
+                    .setIndexName("PRIMARY")
+                    .setIsPrimary(true)
+                    .setCardinality(42L)
+                    .setIsUnique(true)
+                    .build()))
+        .isEqualTo(BigDecimal.class);
+    assertThrows(
+        SuitableIndexNotFoundException.class,
+        () ->
+            UniformPartitionsTableRead.indexTypeToColumnClass(
+                SourceColumnIndexInfo.builder()
+                    .setColumnTypeName("dummy")
+                    .setColumnName("col1")
+                    .setIndexType(IndexType.OTHER)
+                    .setOrdinalPosition(1)
+                    .setIndexName("PRIMARY")
+                    .setIsPrimary(true)
+                    .setCardinality(42L)
+                    .setIsUnique(true)
+                    .build()));
+  }
+
+  @Test
+  public void testIdentifierEscaping() {
+    assertThat(UniformPartitionsTableRead.delimitIdentifier("key")).isEqualTo("\"key\"");
+    assertThat(UniformPartitionsTableRead.delimitIdentifier("ke\"y")).isEqualTo("\"ke\"\"y\"");
+  }
+
+  private static SourceColumnIndexInfo indexInfo(
+      String indexName, String columnName, boolean isPrimary, long ordinalPosition) {
+    return SourceColumnIndexInfo.builder()
+        .setColumnTypeName("bigint")
+        .setIndexType(IndexType.NUMERIC)
+        .setIndexName(indexName)
+        .setIsPrimary(isPrimary)
+        .setCardinality(42L)
+        .setColumnName(columnName)
+        .setIsUnique(isPrimary)
+        .setOrdinalPosition(ordinalPosition)
+        .build();
+  }
+}
@@ -26,8 +26,7 @@ import com.google.cloud.teleport.v2.reader.io.jdbc.uniformsplitter.range.Partiti
 import com.google.cloud.teleport.v2.reader.io.jdbc.uniformsplitter.range.Range;
 import com.google.cloud.teleport.v2.reader.io.jdbc.uniformsplitter.range.TableIdentifier;
 import com.google.cloud.teleport.v2.reader.io.jdbc.uniformsplitter.range.TableSplitSpecification;
-import com.google.cloud.teleport.v2.source.mysql.reader.io.jdbc.dialectadapter.mysql.MysqlDialectAdapter;
-import com.google.cloud.teleport.v2.source.mysql.reader.io.jdbc.dialectadapter.mysql.MysqlDialectAdapter.MySqlVersion;
+import com.google.cloud.teleport.v2.source.mysql.reader.io.jdbc.dialectadapter.mysql.MysqlUniformSplitterDBAdapter;
 import com.google.common.collect.ImmutableList;
 import java.sql.Connection;
 import java.sql.DriverManager;
@@ -473,7 +472,7 @@ public class ColumnForBoundaryQueryPreparedStatementSetterTest {
             .build();
 
     String boundaryQueryCol1 =
-        new MysqlDialectAdapter(MySqlVersion.DEFAULT)
+        new MysqlUniformSplitterDBAdapter()
             .getBoundaryQuery(
                 "test_table_column_boundary", ImmutableList.of("col1", "col2"), "col1");
     try (PreparedStatement boundaryStmtCol1 = connection.prepareStatement(boundaryQueryCol1)) {
@@ -506,7 +505,7 @@ public class ColumnForBoundaryQueryPreparedStatementSetterTest {
             .build();
 
     String boundaryQueryCol2 =
-        new MysqlDialectAdapter(MySqlVersion.DEFAULT)
+        new MysqlUniformSplitterDBAdapter()
             .getBoundaryQuery(
                 "test_table_column_boundary", ImmutableList.of("col1", "col2"), "col2");
     try (PreparedStatement boundaryStmtCol2 = connection.prepareStatement(boundaryQueryCol2)) {
@@ -20,8 +20,7 @@ import static org.junit.Assert.assertThrows;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 
-import com.google.cloud.teleport.v2.source.mysql.reader.io.jdbc.dialectadapter.mysql.MysqlDialectAdapter;
-import com.google.cloud.teleport.v2.source.mysql.reader.io.jdbc.dialectadapter.mysql.MysqlDialectAdapter.MySqlVersion;
+import com.google.cloud.teleport.v2.source.mysql.reader.io.jdbc.dialectadapter.mysql.MysqlUniformSplitterDBAdapter;
 import com.google.common.collect.ImmutableList;
 import java.sql.Connection;
 import java.sql.DriverManager;
@@ -217,8 +216,7 @@ public class RangePreparedStatementSetterTest {
             .setIsLast(false)
             .build();
     String readQuery =
-        new MysqlDialectAdapter(MySqlVersion.DEFAULT)
-            .getReadQuery("test_table_range_setter", partitionCols);
+        new MysqlUniformSplitterDBAdapter().getReadQuery("test_table_range_setter", partitionCols);
     PreparedStatement readStmtSingleColNonLast = connection.prepareStatement(readQuery);
     rangePreparedStatementSetter.setParameters(singleColNonLastRange, readStmtSingleColNonLast);
     ImmutableList.Builder<String> readSingleColNonLastRangedataPointsBuilder =
@@ -231,7 +229,7 @@ public class RangePreparedStatementSetterTest {
     readStmtSingleColNonLastResultSet.close();
 
     String countQuery =
-        new MysqlDialectAdapter(MySqlVersion.DEFAULT)
+        new MysqlUniformSplitterDBAdapter()
             .getCountQuery("test_table_range_setter", partitionCols, 0);
     PreparedStatement countStmtSingleColNonLast = connection.prepareStatement(countQuery);
     rangePreparedStatementSetter.setParameters(singleColNonLastRange, countStmtSingleColNonLast);
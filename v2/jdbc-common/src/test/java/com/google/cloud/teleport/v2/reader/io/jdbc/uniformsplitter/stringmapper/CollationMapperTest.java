@@ -27,8 +27,8 @@ import static org.junit.Assert.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.when;
 
-import com.google.cloud.teleport.v2.source.mysql.reader.io.jdbc.dialectadapter.mysql.MysqlDialectAdapter;
-import com.google.cloud.teleport.v2.source.mysql.reader.io.jdbc.dialectadapter.mysql.MysqlDialectAdapter.MySqlVersion;
+import com.google.cloud.teleport.v2.source.mysql.reader.io.jdbc.dialectadapter.mysql.MysqlUniformSplitterDBAdapter;
+import com.google.common.collect.ImmutableList;
 import java.io.IOException;
 import java.math.BigInteger;
 import java.sql.Connection;
@@ -39,7 +39,6 @@ import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
-import org.testcontainers.shaded.com.google.common.collect.ImmutableList;
 
 /** Test class for {@link CollationMapper}. */
 @RunWith(MockitoJUnitRunner.class)
@@ -261,7 +260,7 @@ public class CollationMapperTest {
 
     CollationMapper collationMapper =
         CollationMapper.fromDB(
-            mockConnection, new MysqlDialectAdapter(MySqlVersion.DEFAULT), testCollationReference);
+            mockConnection, new MysqlUniformSplitterDBAdapter(), testCollationReference);
 
     assertThat(collationMapper.allPositionsIndex().characterToIndex().size()).isEqualTo(1);
     assertThat(collationMapper.collationReference().dbCollation()).isEqualTo("testCollation");
@@ -293,9 +292,7 @@ public class CollationMapperTest {
           SQLException.class,
           () ->
               CollationMapper.fromDB(
-                  mockConnection,
-                  new MysqlDialectAdapter(MySqlVersion.DEFAULT),
-                  testCollationReference));
+                  mockConnection, new MysqlUniformSplitterDBAdapter(), testCollationReference));
     }
   }
 
@@ -315,9 +312,7 @@ public class CollationMapperTest {
         RuntimeException.class,
         () ->
             CollationMapper.fromDB(
-                mockConnection,
-                new MysqlDialectAdapter(MySqlVersion.DEFAULT),
-                testCollationReference));
+                mockConnection, new MysqlUniformSplitterDBAdapter(), testCollationReference));
   }
 
   @Test
@@ -336,9 +331,7 @@ public class CollationMapperTest {
         RuntimeException.class,
         () ->
             CollationMapper.fromDB(
-                mockConnection,
-                new MysqlDialectAdapter(MySqlVersion.DEFAULT),
-                testCollationReference));
+                mockConnection, new MysqlUniformSplitterDBAdapter(), testCollationReference));
   }
 
   @Test
@@ -360,7 +353,7 @@ public class CollationMapperTest {
             "TestCollations/collation-output-mysql-utf8mb4-0900-ai-ci.tsv", mockResultSet);
     CollationMapper collationMapper =
         CollationMapper.fromDB(
-            mockConnection, new MysqlDialectAdapter(MySqlVersion.DEFAULT), collationReference);
+            mockConnection, new MysqlUniformSplitterDBAdapter(), collationReference);
     // All characters are mapped.
     assertThat(
             collationMapper.allPositionsIndex().characterToIndex().size()
@@ -412,7 +405,7 @@ public class CollationMapperTest {
             "TestCollations/collation-output-mysql-utf8mb4-0900-as-cs.tsv", mockResultSet);
     CollationMapper collationMapper =
         CollationMapper.fromDB(
-            mockConnection, new MysqlDialectAdapter(MySqlVersion.DEFAULT), collationReference);
+            mockConnection, new MysqlUniformSplitterDBAdapter(), collationReference);
     // All characters are mapped.
     assertThat(
             collationMapper.allPositionsIndex().characterToIndex().size()
@@ -451,7 +444,7 @@ public class CollationMapperTest {
             "TestCollations/collation-output-mysql-utf8mb4-unicode-ci.tsv", mockResultSet);
     CollationMapper collationMapper =
         CollationMapper.fromDB(
-            mockConnection, new MysqlDialectAdapter(MySqlVersion.DEFAULT), collationReference);
+            mockConnection, new MysqlUniformSplitterDBAdapter(), collationReference);
     // All characters are mapped.
     assertThat(
             collationMapper.allPositionsIndex().characterToIndex().size()
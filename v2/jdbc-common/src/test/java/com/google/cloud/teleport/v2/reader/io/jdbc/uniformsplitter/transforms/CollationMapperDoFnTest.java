@@ -32,8 +32,7 @@ import static org.mockito.Mockito.withSettings;
 import com.google.cloud.teleport.v2.reader.io.jdbc.uniformsplitter.DataSourceProvider;
 import com.google.cloud.teleport.v2.reader.io.jdbc.uniformsplitter.stringmapper.CollationMapper;
 import com.google.cloud.teleport.v2.reader.io.jdbc.uniformsplitter.stringmapper.CollationReference;
-import com.google.cloud.teleport.v2.source.mysql.reader.io.jdbc.dialectadapter.mysql.MysqlDialectAdapter;
-import com.google.cloud.teleport.v2.source.mysql.reader.io.jdbc.dialectadapter.mysql.MysqlDialectAdapter.MySqlVersion;
+import com.google.cloud.teleport.v2.source.mysql.reader.io.jdbc.dialectadapter.mysql.MysqlUniformSplitterDBAdapter;
 import java.sql.Connection;
 import java.sql.ResultSet;
 import java.sql.SQLException;
@@ -95,8 +94,7 @@ public class CollationMapperDoFnTest {
             .build();
 
     CollationMapperDoFn collationMapperDoFn =
-        new CollationMapperDoFn(
-            mockDataSourceProvider, new MysqlDialectAdapter(MySqlVersion.DEFAULT));
+        new CollationMapperDoFn(mockDataSourceProvider, new MysqlUniformSplitterDBAdapter());
     collationMapperDoFn.startBundle();
     collationMapperDoFn.processElement(
         KV.of("b1a1ec3b-195d-4755-b04b-02bc64dc4458", testCollationReference), mockOut);
@@ -125,8 +123,7 @@ public class CollationMapperDoFnTest {
             .build();
 
     CollationMapperDoFn collationMapperDoFn =
-        new CollationMapperDoFn(
-            mockDataSourceProvider, new MysqlDialectAdapter(MySqlVersion.DEFAULT));
+        new CollationMapperDoFn(mockDataSourceProvider, new MysqlUniformSplitterDBAdapter());
     collationMapperDoFn.startBundle();
     assertThrows(
         SQLException.class,
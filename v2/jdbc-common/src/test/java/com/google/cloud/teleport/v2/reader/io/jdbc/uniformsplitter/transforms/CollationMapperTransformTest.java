@@ -31,8 +31,7 @@ import static org.mockito.Mockito.withSettings;
 import com.google.cloud.teleport.v2.reader.io.jdbc.uniformsplitter.DataSourceProvider;
 import com.google.cloud.teleport.v2.reader.io.jdbc.uniformsplitter.stringmapper.CollationMapper;
 import com.google.cloud.teleport.v2.reader.io.jdbc.uniformsplitter.stringmapper.CollationReference;
-import com.google.cloud.teleport.v2.source.mysql.reader.io.jdbc.dialectadapter.mysql.MysqlDialectAdapter;
-import com.google.cloud.teleport.v2.source.mysql.reader.io.jdbc.dialectadapter.mysql.MysqlDialectAdapter.MySqlVersion;
+import com.google.cloud.teleport.v2.source.mysql.reader.io.jdbc.dialectadapter.mysql.MysqlUniformSplitterDBAdapter;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
 import java.io.Serializable;
@@ -155,7 +154,7 @@ public class CollationMapperTransformTest implements Serializable {
                     testCollationReferenceSecond,
                     /* test that pick distinct collationReferences to avoid un-necessary collation discovery work. */ testCollationReferenceFirst))
             .setDataSourceProvider(mockDataSourceProvider)
-            .setDbAdapter(new MysqlDialectAdapter(MySqlVersion.DEFAULT))
+            .setDbAdapter(new MysqlUniformSplitterDBAdapter())
             .build();
     PCollectionView<Map<CollationReference, CollationMapper>> collationMapperView =
         testPipeline.apply(collationMapperTransform);
@@ -188,7 +187,7 @@ public class CollationMapperTransformTest implements Serializable {
               CollationMapperTransform.builder()
                   .setCollationReferencesToDiscover(ImmutableList.of())
                   .setDataSourceProvider(mockDataSourceProvider)
-                  .setDbAdapter(new MysqlDialectAdapter(MySqlVersion.DEFAULT))
+                  .setDbAdapter(new MysqlUniformSplitterDBAdapter())
                   .build();
           testPipeline.apply(collationMapperTransform);
         });
@@ -256,7 +255,7 @@ public class CollationMapperTransformTest implements Serializable {
         CollationMapperTransform.builder()
             .setCollationReferencesToDiscover(ImmutableList.of(refA, refB, refC))
             .setDataSourceProvider(mockDataSourceProvider)
-            .setDbAdapter(new MysqlDialectAdapter(MySqlVersion.DEFAULT))
+            .setDbAdapter(new MysqlUniformSplitterDBAdapter())
             .build();
 
     PCollectionView<Map<CollationReference, CollationMapper>> collationMapperView =
@@ -32,8 +32,7 @@ import com.google.cloud.teleport.v2.reader.io.jdbc.uniformsplitter.range.Partiti
 import com.google.cloud.teleport.v2.reader.io.jdbc.uniformsplitter.range.Range;
 import com.google.cloud.teleport.v2.reader.io.jdbc.uniformsplitter.range.TableIdentifier;
 import com.google.cloud.teleport.v2.reader.io.jdbc.uniformsplitter.range.TableSplitSpecification;
-import com.google.cloud.teleport.v2.source.mysql.reader.io.jdbc.dialectadapter.mysql.MysqlDialectAdapter;
-import com.google.cloud.teleport.v2.source.mysql.reader.io.jdbc.dialectadapter.mysql.MysqlDialectAdapter.MySqlVersion;
+import com.google.cloud.teleport.v2.source.mysql.reader.io.jdbc.dialectadapter.mysql.MysqlUniformSplitterDBAdapter;
 import com.google.common.collect.ImmutableList;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
@@ -86,7 +85,7 @@ public class RangeBoundaryDoFnTest {
             DataSourceProviderImpl.builder()
                 .addDataSource("b1a1ec3b-195d-4755-b04b-02bc64dc4458", mockDataSourceProviderFn)
                 .build(),
-            new MysqlDialectAdapter(MySqlVersion.DEFAULT),
+            new MysqlUniformSplitterDBAdapter(),
             ImmutableList.of(
                 TableSplitSpecification.builder()
                     .setTableIdentifier(
@@ -157,7 +156,7 @@ public class RangeBoundaryDoFnTest {
             DataSourceProviderImpl.builder()
                 .addDataSource("b1a1ec3b-195d-4755-b04b-02bc64dc4458", mockDataSourceProviderFn)
                 .build(),
-            new MysqlDialectAdapter(MySqlVersion.DEFAULT),
+            new MysqlUniformSplitterDBAdapter(),
             ImmutableList.of(
                 TableSplitSpecification.builder()
                     .setTableIdentifier(
@@ -216,7 +215,7 @@ public class RangeBoundaryDoFnTest {
             DataSourceProviderImpl.builder()
                 .addDataSource("b1a1ec3b-195d-4755-b04b-02bc64dc4458", mockDataSourceProviderFn)
                 .build(),
-            new MysqlDialectAdapter(MySqlVersion.DEFAULT),
+            new MysqlUniformSplitterDBAdapter(),
             ImmutableList.of(
                 TableSplitSpecification.builder()
                     .setTableIdentifier(
@@ -23,8 +23,7 @@ import com.google.cloud.teleport.v2.reader.io.jdbc.uniformsplitter.range.Range;
 import com.google.cloud.teleport.v2.reader.io.jdbc.uniformsplitter.range.RangePreparedStatementSetter;
 import com.google.cloud.teleport.v2.reader.io.jdbc.uniformsplitter.range.TableIdentifier;
 import com.google.cloud.teleport.v2.reader.io.jdbc.uniformsplitter.range.TableSplitSpecification;
-import com.google.cloud.teleport.v2.source.mysql.reader.io.jdbc.dialectadapter.mysql.MysqlDialectAdapter;
-import com.google.cloud.teleport.v2.source.mysql.reader.io.jdbc.dialectadapter.mysql.MysqlDialectAdapter.MySqlVersion;
+import com.google.cloud.teleport.v2.source.mysql.reader.io.jdbc.dialectadapter.mysql.MysqlUniformSplitterDBAdapter;
 import com.google.common.collect.ImmutableList;
 import java.sql.SQLException;
 import javax.sql.DataSource;
@@ -131,7 +130,7 @@ public class RangeBoundaryTransformTest {
 
     RangeBoundaryTransform transform =
         RangeBoundaryTransform.builder()
-            .setDbAdapter(new MysqlDialectAdapter(MySqlVersion.DEFAULT))
+            .setDbAdapter(new MysqlUniformSplitterDBAdapter())
             .setTableSplitSpecifications(
                 ImmutableList.of(
                     TableSplitSpecification.builder()
@@ -293,7 +292,7 @@ public class RangeBoundaryTransformTest {
         testPipeline.apply(Create.of(firstColumnForBoundaryQuery, secondColumnForBoundaryQuery));
     RangeBoundaryTransform rangeBoundaryTransform =
         RangeBoundaryTransform.builder()
-            .setDbAdapter(new MysqlDialectAdapter(MySqlVersion.DEFAULT))
+            .setDbAdapter(new MysqlUniformSplitterDBAdapter())
             .setTableSplitSpecifications(
                 ImmutableList.of(
                     TableSplitSpecification.builder()
@@ -396,7 +395,7 @@ public class RangeBoundaryTransformTest {
         testPipeline.apply(Create.of(firstColumnForBoundaryQuery, secondColumnForBoundaryQuery));
     RangeBoundaryTransform rangeBoundaryTransform =
         RangeBoundaryTransform.builder()
-            .setDbAdapter(new MysqlDialectAdapter(MySqlVersion.DEFAULT))
+            .setDbAdapter(new MysqlUniformSplitterDBAdapter())
             .setTableSplitSpecifications(
                 ImmutableList.of(
                     TableSplitSpecification.builder()
@@ -33,8 +33,7 @@ import com.google.cloud.teleport.v2.reader.io.jdbc.uniformsplitter.range.Partiti
 import com.google.cloud.teleport.v2.reader.io.jdbc.uniformsplitter.range.Range;
 import com.google.cloud.teleport.v2.reader.io.jdbc.uniformsplitter.range.TableIdentifier;
 import com.google.cloud.teleport.v2.reader.io.jdbc.uniformsplitter.range.TableSplitSpecification;
-import com.google.cloud.teleport.v2.source.mysql.reader.io.jdbc.dialectadapter.mysql.MysqlDialectAdapter;
-import com.google.cloud.teleport.v2.source.mysql.reader.io.jdbc.dialectadapter.mysql.MysqlDialectAdapter.MySqlVersion;
+import com.google.cloud.teleport.v2.source.mysql.reader.io.jdbc.dialectadapter.mysql.MysqlUniformSplitterDBAdapter;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import java.sql.Connection;
@@ -89,7 +88,7 @@ public class RangeCountDoFnTest {
                 .addDataSource("b1a1ec3b-195d-4755-b04b-02bc64dc4458", mockDataSourceProviderFn)
                 .build(),
             2000L,
-            new MysqlDialectAdapter(MySqlVersion.DEFAULT),
+            new MysqlUniformSplitterDBAdapter(),
             ImmutableList.of(
                 TableSplitSpecification.builder()
                     .setTableIdentifier(
@@ -153,7 +152,7 @@ public class RangeCountDoFnTest {
                 .addDataSource("b1a1ec3b-195d-4755-b04b-02bc64dc4458", mockDataSourceProviderFn)
                 .build(),
             2000L,
-            new MysqlDialectAdapter(MySqlVersion.DEFAULT),
+            new MysqlUniformSplitterDBAdapter(),
             ImmutableList.of(
                 TableSplitSpecification.builder()
                     .setTableIdentifier(
@@ -214,7 +213,7 @@ public class RangeCountDoFnTest {
                 .addDataSource("b1a1ec3b-195d-4755-b04b-02bc64dc4458", mockDataSourceProviderFn)
                 .build(),
             2000L,
-            new MysqlDialectAdapter(MySqlVersion.DEFAULT),
+            new MysqlUniformSplitterDBAdapter(),
             ImmutableList.of(
                 TableSplitSpecification.builder()
                     .setTableIdentifier(
@@ -272,7 +271,7 @@ public class RangeCountDoFnTest {
                 .addDataSource("b1a1ec3b-195d-4755-b04b-02bc64dc4458", mockDataSourceProviderFn)
                 .build(),
             2000L,
-            new MysqlDialectAdapter(MySqlVersion.DEFAULT),
+            new MysqlUniformSplitterDBAdapter(),
             ImmutableList.of(
                 TableSplitSpecification.builder()
                     .setTableIdentifier(
@@ -341,7 +340,7 @@ public class RangeCountDoFnTest {
                 .addDataSource("b1a1ec3b-195d-4755-b04b-02bc64dc4458", mockDataSourceProviderFn)
                 .build(),
             2000L,
-            new MysqlDialectAdapter(MySqlVersion.DEFAULT),
+            new MysqlUniformSplitterDBAdapter(),
             ImmutableList.of(tableSpec1));
 
     Range inputMissingTable =
@@ -488,7 +487,7 @@ public class RangeCountDoFnTest {
                 .addDataSource("b1a1ec3b-195d-4755-b04b-02bc64dc4458", mockDataSourceProviderFn)
                 .build(),
             2000L,
-            new MysqlDialectAdapter(MySqlVersion.DEFAULT),
+            new MysqlUniformSplitterDBAdapter(),
             ImmutableList.of(tableSpec1, tableSpec2));
 
     // Use reflection to get the dbAdapter from rangeCountDoFn
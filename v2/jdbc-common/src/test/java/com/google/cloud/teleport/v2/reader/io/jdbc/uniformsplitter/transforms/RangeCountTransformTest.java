@@ -21,8 +21,7 @@ import com.google.cloud.teleport.v2.reader.io.jdbc.uniformsplitter.range.Partiti
 import com.google.cloud.teleport.v2.reader.io.jdbc.uniformsplitter.range.Range;
 import com.google.cloud.teleport.v2.reader.io.jdbc.uniformsplitter.range.TableIdentifier;
 import com.google.cloud.teleport.v2.reader.io.jdbc.uniformsplitter.range.TableSplitSpecification;
-import com.google.cloud.teleport.v2.source.mysql.reader.io.jdbc.dialectadapter.mysql.MysqlDialectAdapter;
-import com.google.cloud.teleport.v2.source.mysql.reader.io.jdbc.dialectadapter.mysql.MysqlDialectAdapter.MySqlVersion;
+import com.google.cloud.teleport.v2.source.mysql.reader.io.jdbc.dialectadapter.mysql.MysqlUniformSplitterDBAdapter;
 import com.google.common.collect.ImmutableList;
 import java.sql.SQLException;
 import javax.sql.DataSource;
@@ -115,7 +114,7 @@ public class RangeCountTransformTest {
 
     RangeCountTransform transform =
         RangeCountTransform.builder()
-            .setDbAdapter(new MysqlDialectAdapter(MySqlVersion.DEFAULT))
+            .setDbAdapter(new MysqlUniformSplitterDBAdapter())
             .setTableSplitSpecifications(
                 ImmutableList.of(
                     TableSplitSpecification.builder()
@@ -222,7 +221,7 @@ public class RangeCountTransformTest {
     PCollection<Range> input = testPipeline.apply(Create.of(singleColNonLastRange, bothColRange));
     RangeCountTransform rangeCountTransform =
         RangeCountTransform.builder()
-            .setDbAdapter(new MysqlDialectAdapter(MySqlVersion.DEFAULT))
+            .setDbAdapter(new MysqlUniformSplitterDBAdapter())
             .setTableSplitSpecifications(
                 ImmutableList.of(
                     TableSplitSpecification.builder()
@@ -32,8 +32,7 @@ import com.google.cloud.teleport.v2.reader.io.jdbc.uniformsplitter.range.TableId
 import com.google.cloud.teleport.v2.reader.io.jdbc.uniformsplitter.range.TableReadSpecification;
 import com.google.cloud.teleport.v2.reader.io.jdbc.uniformsplitter.range.TableSplitSpecification;
 import com.google.cloud.teleport.v2.reader.io.jdbc.uniformsplitter.stringmapper.CollationReference;
-import com.google.cloud.teleport.v2.source.mysql.reader.io.jdbc.dialectadapter.mysql.MysqlDialectAdapter;
-import com.google.cloud.teleport.v2.source.mysql.reader.io.jdbc.dialectadapter.mysql.MysqlDialectAdapter.MySqlVersion;
+import com.google.cloud.teleport.v2.source.mysql.reader.io.jdbc.dialectadapter.mysql.MysqlUniformSplitterDBAdapter;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import java.io.Serializable;
@@ -155,7 +154,7 @@ public class ReadWithUniformPartitionsTest implements Serializable {
         ReadWithUniformPartitions.<String>builder()
             .setTableSplitSpecifications(ImmutableList.of(spec1, spec2))
             .setTableReadSpecifications(ImmutableMap.of(id1, readSpec1, id2, readSpec2))
-            .setDbAdapter(new MysqlDialectAdapter(MySqlVersion.DEFAULT))
+            .setDbAdapter(new MysqlUniformSplitterDBAdapter())
             .setDataSourceProvider(
                 DataSourceProviderImpl.builder()
                     .addDataSource(shard1Id, dataSourceProviderFn)
@@ -485,7 +484,7 @@ public class ReadWithUniformPartitionsTest implements Serializable {
         ReadWithUniformPartitions.<String>builder()
             .setTableSplitSpecifications(ImmutableList.of(specBuilder.build()))
             .setTableReadSpecifications(ImmutableMap.of(tableIdentifier, readSpec))
-            .setDbAdapter(new MysqlDialectAdapter(MySqlVersion.DEFAULT))
+            .setDbAdapter(new MysqlUniformSplitterDBAdapter())
             .setDataSourceProvider(
                 DataSourceProviderImpl.builder()
                     .addDataSource("b1a1ec3b-195d-4755-b04b-02bc64dc4458", dataSourceProviderFn)
@@ -786,7 +785,7 @@ public class ReadWithUniformPartitionsTest implements Serializable {
         ReadWithUniformPartitions.<String>builder()
             .setTableSplitSpecifications(ImmutableList.of(spec))
             .setTableReadSpecifications(ImmutableMap.of(tableIdentifier, readSpec))
-            .setDbAdapter(new MysqlDialectAdapter(MySqlVersion.DEFAULT))
+            .setDbAdapter(new MysqlUniformSplitterDBAdapter())
             .setDataSourceProvider(
                 DataSourceProviderImpl.builder()
                     .addDataSource("b1a1ec3b-195d-4755-b04b-02bc64dc4458", dataSourceProviderFn)
@@ -890,7 +889,7 @@ public class ReadWithUniformPartitionsTest implements Serializable {
               .setTableReadSpecifications(
                   ImmutableMap.of(
                       spec1.tableIdentifier(), readSpec1, spec2.tableIdentifier(), readSpec2))
-              .setDbAdapter(new MysqlDialectAdapter(MySqlVersion.DEFAULT))
+              .setDbAdapter(new MysqlUniformSplitterDBAdapter())
               .setDataSourceProvider(
                   DataSourceProviderImpl.builder()
                       .addDataSource("b1a1ec3b-195d-4755-b04b-02bc64dc4458", dataSourceProviderFn)
@@ -1077,7 +1076,7 @@ public class ReadWithUniformPartitionsTest implements Serializable {
         ReadWithUniformPartitions.<String>builder()
             .setTableSplitSpecifications(ImmutableList.of(splitSpec1))
             .setTableReadSpecifications(ImmutableMap.of(tableIdentifier2, readSpec2))
-            .setDbAdapter(new MysqlDialectAdapter(MySqlVersion.DEFAULT))
+            .setDbAdapter(new MysqlUniformSplitterDBAdapter())
             .setDataSourceProvider(
                 DataSourceProviderImpl.builder()
                     .addDataSource("b1a1ec3b-195d-4755-b04b-02bc64dc4458", dataSourceProviderFn)
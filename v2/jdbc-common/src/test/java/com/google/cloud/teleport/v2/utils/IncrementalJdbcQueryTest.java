@@ -0,0 +1,92 @@
+/*
+ * Copyright (C) 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.cloud.teleport.v2.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.verify;
+
+import com.google.cloud.teleport.v2.utils.IncrementalJdbcQuery.Watermark;
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import org.joda.time.Duration;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+
+/** Unit tests for {@link IncrementalJdbcQuery}. */
+@RunWith(JUnit4.class)
+public class IncrementalJdbcQueryTest {
+  @Rule public final MockitoRule mockito = MockitoJUnit.rule();
+  @Mock private PreparedStatement statement;
+
+  private static final String QUERY = "select id, updated_at from orders";
+
+  @Test
+  public void testRestrictedQuery() {
+    assertEquals(
+        "SELECT * FROM (select id, updated_at from orders) incremental_source"
+            + " WHERE incremental_source.updated_at IS NOT NULL"
+            + " AND incremental_source.updated_at > ?"
+            + " AND incremental_source.updated_at <= ?",
+        IncrementalJdbcQuery.restrictedQuery(QUERY, "updated_at", true, true));
+    assertEquals(
+        "SELECT * FROM (select id, updated_at from orders) incremental_source"
+            + " WHERE incremental_source.updated_at IS NOT NULL"
+            + " AND incremental_source.updated_at <= ?",
+        IncrementalJdbcQuery.restrictedQuery(QUERY, "updated_at", false, true));
+  }
+
+  @Test
+  public void testWatermarkSerialization() {
+    Watermark watermark = new Watermark(Watermark.Type.TIMESTAMP, "2026-01-02T03:04:05.123456");
+    assertEquals(watermark, Watermark.parse(watermark.serialize()));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidWatermarkState() {
+    Watermark.parse("value=12");
+  }
+
+  @Test
+  public void testLookback() {
+    assertEquals(
+        new Watermark(Watermark.Type.TIMESTAMP, "2026-01-02T02:54:05.123456"),
+        new Watermark(Watermark.Type.TIMESTAMP, "2026-01-02T03:04:05.123456")
+            .minus(Duration.standardMinutes(10)));
+    assertEquals(
+        new Watermark(Watermark.Type.DATE, "2025-12-31"),
+        new Watermark(Watermark.Type.DATE, "2026-01-02").minus(Duration.standardHours(25)));
+    assertEquals(
+        new Watermark(Watermark.Type.NUMBER, "42"),
+        new Watermark(Watermark.Type.NUMBER, "42").minus(Duration.standardHours(1)));
+  }
+
+  @Test
+  public void testBind() throws Exception {
+    new Watermark(Watermark.Type.NUMBER, "42").bind(statement, 1);
+    new Watermark(Watermark.Type.TIMESTAMP, "2026-01-02T03:04:05.123456").bind(statement, 2);
+
+    verify(statement).setBigDecimal(1, new BigDecimal("42"));
+    verify(statement)
+        .setTimestamp(2, Timestamp.valueOf(LocalDateTime.parse("2026-01-02T03:04:05.123456")));
+  }
+}
@@ -236,4 +236,49 @@ public interface KafkaToBigQueryFlexOptions
   Boolean getUseStorageWriteApiAtLeastOnce();
 
   void setUseStorageWriteApiAtLeastOnce(Boolean value);
+
+  @TemplateParameter.Boolean(
+      order = 14,
+      groupName = "Destination",
+      optional = true,
+      description = "Upsert the records on their primary key",
+      helpText =
+          "If true, every record upserts the row of its primary key instead of being appended, through the change data capture support of the BigQuery Storage Write API. "
+              + "The Kafka offset of a record is its change sequence number, so all the updates of a key must be written to the same Kafka partition. "
+              + "The output table must have a primary key, see `upsertKeyFields`, and a `max_staleness` option. "
+              + "Only supported with the `AVRO_BINARY_ENCODING` message format, and the `AVRO_CONFLUENT_WIRE_FORMAT` message format with a single schema file. Default is `false`.")
+  @Default.Boolean(false)
+  Boolean getUseUpserts();
+
+  void setUseUpserts(Boolean value);
+
+  @TemplateParameter.Text(
+      order = 15,
+      groupName = "Destination",
+      optional = true,
+      parentName = "useUpserts",
+      parentTriggerValues = {"true"},
+      description = "Primary key fields of the upserts",
+      helpText =
+          "A comma-separated list of the record fields that make up the primary key of the output table. "
+              + "If not set, the Kafka message key is the primary key, in the `_key` field written when `persistKafkaKey` is true.",
+      example = "customer_id,order_id")
+  String getUpsertKeyFields();
+
+  void setUpsertKeyFields(String value);
+
+  @TemplateParameter.Integer(
+      order = 16,
+      groupName = "Destination",
+      optional = true,
+      parentName = "useUpserts",
+      parentTriggerValues = {"true"},
+      description = "Deduplication window of the upserts in seconds",
+      helpText =
+          "If greater than 0, the updates of every primary key are buffered for this many seconds, and only the last one is written to BigQuery. "
+              + "Superseded updates are dropped before they are written, at the cost of this much extra latency. Default is `0`.")
+  @Default.Integer(0)
+  Integer getUpsertDeduplicationWindowSec();
+
+  void setUpsertDeduplicationWindowSec(Integer value);
 }
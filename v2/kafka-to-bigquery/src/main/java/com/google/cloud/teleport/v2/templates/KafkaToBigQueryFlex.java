@@ -33,10 +33,13 @@ import com.google.cloud.teleport.v2.options.KafkaToBigQueryFlexOptions;
 import com.google.cloud.teleport.v2.transforms.BigQueryWriteUtils;
 import com.google.cloud.teleport.v2.transforms.ErrorConverters;
 import com.google.cloud.teleport.v2.transforms.StringMessageToTableRow;
+import com.google.cloud.teleport.v2.utils.BigQueryConstants;
 import com.google.cloud.teleport.v2.utils.BigQueryIOUtils;
 import com.google.cloud.teleport.v2.utils.MetadataValidator;
 import com.google.cloud.teleport.v2.utils.SchemaUtils;
 import com.google.cloud.teleport.v2.values.FailsafeElement;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Splitter;
 import com.google.common.base.Strings;
 import java.io.IOException;
 import java.util.ArrayList;
@@ -184,6 +187,10 @@ public class KafkaToBigQueryFlex {
           throw new IllegalArgumentException(
               "An output BigQuery dataset is required. It will be used to create tables per schema.");
         }
+        if (options.getUseUpserts()) {
+          throw new IllegalArgumentException(
+              "useUpserts is not supported with the SCHEMA_REGISTRY schema format.");
+        }
       } else {
         throw new IllegalArgumentException(
             "Unsupported schemaFormat parameter value: " + options.getSchemaFormat());
@@ -327,6 +334,7 @@ public class KafkaToBigQueryFlex {
               options.getPersistKafkaKey(),
               options.getUseAutoSharding());
     }
+    bigQueryWrite = maybeWithUpserts(bigQueryWrite, options);
     writeResult =
         kafkaRecords
             .apply(
@@ -383,6 +391,7 @@ public class KafkaToBigQueryFlex {
               options.getPersistKafkaKey(),
               options.getUseAutoSharding());
     }
+    bigQueryWrite = maybeWithUpserts(bigQueryWrite, options);
     writeResult =
         kafkaRecords
             .apply(
@@ -441,6 +450,31 @@ public class KafkaToBigQueryFlex {
     return writeResult;
   }
 
+  /** Makes {@code bigQueryWrite} upsert the records if {@code useUpserts} is enabled. */
+  @VisibleForTesting
+  static BigQueryWriteUtils.BigQueryWrite maybeWithUpserts(
+      BigQueryWriteUtils.BigQueryWrite bigQueryWrite, KafkaToBigQueryFlexOptions options) {
+    if (!options.getUseUpserts()) {
+      return bigQueryWrite;
+    }
+    List<String> keyFields;
+    if (Strings.isNullOrEmpty(options.getUpsertKeyFields())) {
+      if (!options.getPersistKafkaKey()) {
+        throw new IllegalArgumentException(
+            "upsertKeyFields must be specified with useUpserts, unless persistKafkaKey is true.");
+      }
+      keyFields = new ArrayList<>(List.of(BigQueryConstants.KAFKA_KEY_FIELD));
+    } else {
+      keyFields =
+          new ArrayList<>(
+              Splitter.on(',')
+                  .trimResults()
+                  .omitEmptyStrings()
+                  .splitToList(options.getUpsertKeyFields()));
+    }
+    return bigQueryWrite.withUpserts(keyFields, options.getUpsertDeduplicationWindowSec());
+  }
+
   public static Pipeline runAvroPipeline(
       Pipeline pipeline,
       KafkaToBigQueryFlexOptions options,
@@ -492,6 +526,11 @@ public class KafkaToBigQueryFlex {
       String bootstrapServers,
       Map<String, Object> kafkaConfig) {
 
+    if (options.getUseUpserts()) {
+      throw new IllegalArgumentException(
+          "useUpserts is not supported with the JSON message format.");
+    }
+
     // Register the coder for pipeline
     FailsafeElementCoder<KafkaRecord<String, String>, String> coder =
         FailsafeElementCoder.of(
@@ -23,15 +23,19 @@ import com.google.cloud.teleport.v2.utils.BigQueryAvroUtils;
 import com.google.cloud.teleport.v2.utils.BigQueryConstants;
 import com.google.cloud.teleport.v2.values.FailsafeElement;
 import java.io.Serializable;
+import java.util.List;
 import org.apache.avro.Schema;
 import org.apache.avro.generic.GenericRecord;
 import org.apache.beam.sdk.coders.ByteArrayCoder;
 import org.apache.beam.sdk.coders.KvCoder;
 import org.apache.beam.sdk.coders.NullableCoder;
+import org.apache.beam.sdk.coders.StringUtf8Coder;
+import org.apache.beam.sdk.coders.VarLongCoder;
 import org.apache.beam.sdk.extensions.avro.schemas.utils.AvroUtils;
 import org.apache.beam.sdk.io.gcp.bigquery.BigQueryIO;
 import org.apache.beam.sdk.io.gcp.bigquery.BigQueryUtils;
 import org.apache.beam.sdk.io.gcp.bigquery.InsertRetryPolicy;
+import org.apache.beam.sdk.io.gcp.bigquery.RowMutationInformation;
 import org.apache.beam.sdk.io.gcp.bigquery.TableRowJsonCoder;
 import org.apache.beam.sdk.io.gcp.bigquery.WriteResult;
 import org.apache.beam.sdk.io.kafka.KafkaRecord;
@@ -39,10 +43,12 @@ import org.apache.beam.sdk.io.kafka.KafkaRecordCoder;
 import org.apache.beam.sdk.transforms.DoFn;
 import org.apache.beam.sdk.transforms.PTransform;
 import org.apache.beam.sdk.transforms.ParDo;
+import org.apache.beam.sdk.transforms.WithKeys;
 import org.apache.beam.sdk.transforms.errorhandling.BadRecord;
 import org.apache.beam.sdk.transforms.errorhandling.ErrorHandler;
 import org.apache.beam.sdk.values.KV;
 import org.apache.beam.sdk.values.PCollection;
+import org.apache.beam.sdk.values.TypeDescriptors;
 import org.joda.time.Duration;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -56,6 +62,15 @@ public class BigQueryWriteUtils {
           PCollection<FailsafeElement<KafkaRecord<byte[], byte[]>, GenericRecord>>, WriteResult> {
 
     private static final Logger LOG = LoggerFactory.getLogger(AvroTransform.class);
+
+    /**
+     * The write method of the upserts, whatever the Storage Write API options. Change data capture
+     * is only supported by the at-least-once mode, which appends the rows as they arrive instead of
+     * at a triggering frequency.
+     */
+    public static final BigQueryIO.Write.Method UPSERT_WRITE_METHOD =
+        BigQueryIO.Write.Method.STORAGE_API_AT_LEAST_ONCE;
+
     private String outputTableSpec;
 
     private Boolean persistKafkaKey;
@@ -74,6 +89,11 @@ public class BigQueryWriteUtils {
     // Dead letter queue params
     private ErrorHandler<BadRecord, ?> errorHandler;
 
+    // Upsert params, the records are appended if upsertKeyFields is null.
+    private List<String> upsertKeyFields;
+
+    private Integer upsertDeduplicationWindowSec;
+
     public BigQueryWrite(
         Schema avroSchema,
         String outputTableSpec,
@@ -158,6 +178,40 @@ public class BigQueryWriteUtils {
           errorHandler);
     }
 
+    /**
+     * Upserts the records instead of appending them, through the change data capture support of the
+     * BigQuery Storage Write API. The Kafka offset of a record is its change sequence number.
+     *
+     * @param keyFields primary key of the output table.
+     * @param deduplicationWindowSec if greater than 0, the records are buffered for this many
+     *     seconds and only the last update of every primary key is written, see {@link
+     *     DeduplicateUpsertsFn}.
+     */
+    public BigQueryWrite withUpserts(List<String> keyFields, Integer deduplicationWindowSec) {
+      this.upsertKeyFields = keyFields;
+      this.upsertDeduplicationWindowSec = deduplicationWindowSec;
+      return this;
+    }
+
+    /** Returns the primary key of the upserts, or null if the records are appended. */
+    public List<String> getUpsertKeyFields() {
+      return upsertKeyFields;
+    }
+
+    /** Returns the deduplication window of the upserts in seconds, or null if not set. */
+    public Integer getUpsertDeduplicationWindowSec() {
+      return upsertDeduplicationWindowSec;
+    }
+
+    /**
+     * Returns the upsert of a row, sequenced by the Kafka offset of its record. BigQuery reads the
+     * change sequence number as a hexadecimal string, so the offset is hex encoded.
+     */
+    public static RowMutationInformation upsertMutationInformation(KV<Long, TableRow> row) {
+      return RowMutationInformation.of(
+          RowMutationInformation.MutationType.UPSERT, Long.toHexString(row.getKey()));
+    }
+
     private static class GenericRecordToTableRowFn
         extends DoFn<
             FailsafeElement<KafkaRecord<byte[], byte[]>, GenericRecord>,
@@ -194,8 +248,21 @@ public class BigQueryWriteUtils {
       }
     }
 
+    private static class FailsafeElementToSequencedRowFn
+        extends DoFn<FailsafeElement<KafkaRecord<byte[], byte[]>, TableRow>, KV<Long, TableRow>> {
+
+      @ProcessElement
+      public void processElement(ProcessContext context) {
+        FailsafeElement<KafkaRecord<byte[], byte[]>, TableRow> element = context.element();
+        context.output(KV.of(element.getOriginalPayload().getOffset(), element.getPayload()));
+      }
+    }
+
     public WriteResult expand(
         PCollection<FailsafeElement<KafkaRecord<byte[], byte[]>, GenericRecord>> input) {
+      if (this.upsertKeyFields != null) {
+        return expandUpserts(input);
+      }
       BigQueryIO.Write<TableRow> writeToBigQuery =
           BigQueryIO.<TableRow>write()
               .withSchema(
@@ -239,6 +306,67 @@ public class BigQueryWriteUtils {
               .apply(writeToBigQuery);
       return writeResult;
     }
+
+    private WriteResult expandUpserts(
+        PCollection<FailsafeElement<KafkaRecord<byte[], byte[]>, GenericRecord>> input) {
+      KvCoder<Long, TableRow> sequencedRowCoder =
+          KvCoder.of(VarLongCoder.of(), TableRowJsonCoder.of());
+      PCollection<KV<Long, TableRow>> sequencedRows =
+          input
+              .apply(
+                  "ConvertGenericRecordToTableRow",
+                  ParDo.of(new GenericRecordToTableRowFn(this.persistKafkaKey)))
+              .setCoder(
+                  FailsafeElementCoder.of(
+                      KafkaRecordCoder.of(
+                          NullableCoder.of(ByteArrayCoder.of()), ByteArrayCoder.of()),
+                      TableRowJsonCoder.of()))
+              .apply("AttachKafkaOffsets", ParDo.of(new FailsafeElementToSequencedRowFn()))
+              .setCoder(sequencedRowCoder);
+
+      if (this.upsertDeduplicationWindowSec != null && this.upsertDeduplicationWindowSec > 0) {
+        List<String> keyFields = this.upsertKeyFields;
+        sequencedRows =
+            sequencedRows
+                .apply(
+                    "KeyByPrimaryKey",
+                    WithKeys.of(
+                            (KV<Long, TableRow> row) ->
+                                DeduplicateUpsertsFn.upsertKey(row.getValue(), keyFields))
+                        .withKeyType(TypeDescriptors.strings()))
+                .setCoder(KvCoder.of(StringUtf8Coder.of(), sequencedRowCoder))
+                .apply(
+                    "DeduplicateUpserts",
+                    ParDo.of(
+                        new DeduplicateUpsertsFn(
+                            Duration.standardSeconds(
+                                this.upsertDeduplicationWindowSec.longValue()))))
+                .setCoder(sequencedRowCoder);
+      }
+
+      BigQueryIO.Write<KV<Long, TableRow>> upsertToBigQuery =
+          BigQueryIO.<KV<Long, TableRow>>write()
+              .withSchema(
+                  BigQueryAvroUtils.convertAvroSchemaToTableSchema(
+                      avroSchema, this.persistKafkaKey))
+              .withPrimaryKey(this.upsertKeyFields)
+              .withWriteDisposition(
+                  BigQueryIO.Write.WriteDisposition.valueOf(this.writeDisposition))
+              .withCreateDisposition(
+                  BigQueryIO.Write.CreateDisposition.valueOf(this.createDisposition))
+              .withFormatFunction(KV::getValue)
+              .withRowMutationInformationFn(BigQueryWrite::upsertMutationInformation)
+              .withMethod(UPSERT_WRITE_METHOD);
+
+      if (!(errorHandler instanceof ErrorHandler.DefaultErrorHandler)) {
+        upsertToBigQuery = upsertToBigQuery.withErrorHandler(errorHandler);
+      }
+
+      if (this.outputTableSpec != null) {
+        upsertToBigQuery = upsertToBigQuery.to(this.outputTableSpec);
+      }
+      return sequencedRows.apply(upsertToBigQuery);
+    }
   }
 
   // Write to BigQuery when schema is unknown during runtime.
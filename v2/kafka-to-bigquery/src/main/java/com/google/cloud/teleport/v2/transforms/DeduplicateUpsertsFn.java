@@ -0,0 +1,143 @@
+/*
+ * Copyright (C) 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.cloud.teleport.v2.transforms;
+
+import com.google.api.services.bigquery.model.TableRow;
+import java.util.Base64;
+import java.util.List;
+import org.apache.beam.sdk.coders.KvCoder;
+import org.apache.beam.sdk.coders.VarLongCoder;
+import org.apache.beam.sdk.io.gcp.bigquery.TableRowJsonCoder;
+import org.apache.beam.sdk.metrics.Counter;
+import org.apache.beam.sdk.metrics.Metrics;
+import org.apache.beam.sdk.state.StateSpec;
+import org.apache.beam.sdk.state.StateSpecs;
+import org.apache.beam.sdk.state.TimeDomain;
+import org.apache.beam.sdk.state.Timer;
+import org.apache.beam.sdk.state.TimerSpec;
+import org.apache.beam.sdk.state.TimerSpecs;
+import org.apache.beam.sdk.state.ValueState;
+import org.apache.beam.sdk.transforms.DoFn;
+import org.apache.beam.sdk.values.KV;
+import org.joda.time.Duration;
+import org.joda.time.Instant;
+
+/**
+ * Keeps the last update of every primary key over a window of processing time. Only the row with
+ * the highest offset is held in state, the superseded updates are dropped on arrival, as BigQuery
+ * would overwrite them with the later upsert of the same key anyway.
+ *
+ * <p>The input is keyed by primary key, see {@link #upsertKey(TableRow, List)}, and its values are
+ * the rows with the Kafka offset they were read at. The update with the highest offset wins, which
+ * is the last one produced as long as all the updates of a key are written to the same Kafka
+ * partition.
+ */
+public class DeduplicateUpsertsFn extends DoFn<KV<String, KV<Long, TableRow>>, KV<Long, TableRow>> {
+
+  private static final Counter INPUT_ROWS =
+      Metrics.counter(DeduplicateUpsertsFn.class, "upsert_input_rows");
+  private static final Counter SUPERSEDED_ROWS =
+      Metrics.counter(DeduplicateUpsertsFn.class, "upsert_superseded_rows");
+
+  private final Duration window;
+
+  @StateId("latest")
+  private final StateSpec<ValueState<KV<Long, TableRow>>> latestSpec =
+      StateSpecs.value(KvCoder.of(VarLongCoder.of(), TableRowJsonCoder.of()));
+
+  @TimerId("flush")
+  private final TimerSpec flushSpec = TimerSpecs.timer(TimeDomain.PROCESSING_TIME);
+
+  /**
+   * @param window how long the updates of a key are buffered before the last one is written
+   */
+  public DeduplicateUpsertsFn(Duration window) {
+    this.window = window;
+  }
+
+  @ProcessElement
+  public void processElement(
+      @Element KV<String, KV<Long, TableRow>> element,
+      @Timestamp Instant timestamp,
+      @StateId("latest") ValueState<KV<Long, TableRow>> latest,
+      @TimerId("flush") Timer flushTimer) {
+    INPUT_ROWS.inc();
+    KV<Long, TableRow> update = element.getValue();
+    KV<Long, TableRow> buffered = latest.read();
+    if (buffered == null) {
+      // The first update of the window. Hold the watermark at its timestamp.
+      flushTimer.offset(window).withOutputTimestamp(timestamp).setRelative();
+      latest.write(update);
+      return;
+    }
+    SUPERSEDED_ROWS.inc();
+    if (update.getKey() > buffered.getKey()) {
+      latest.write(update);
+    }
+  }
+
+  @OnTimer("flush")
+  public void onFlush(
+      @StateId("latest") ValueState<KV<Long, TableRow>> latest,
+      OutputReceiver<KV<Long, TableRow>> output) {
+    flush(latest, output);
+  }
+
+  /**
+   * Outputs the update held for the key when a drain expires the global window, as its flush timer
+   * would otherwise never fire.
+   */
+  @OnWindowExpiration
+  public void onWindowExpiration(
+      @StateId("latest") ValueState<KV<Long, TableRow>> latest,
+      OutputReceiver<KV<Long, TableRow>> output) {
+    flush(latest, output);
+  }
+
+  private static void flush(
+      ValueState<KV<Long, TableRow>> latest, OutputReceiver<KV<Long, TableRow>> output) {
+    KV<Long, TableRow> buffered = latest.read();
+    latest.clear();
+    if (buffered != null) {
+      output.output(buffered);
+    }
+  }
+
+  /**
+   * Returns the primary key of a row, made of the values of its key fields. {@code BYTES} values,
+   * such as the Kafka key, are Base64 encoded.
+   */
+  public static String upsertKey(TableRow row, List<String> keyFields) {
+    StringBuilder key = new StringBuilder();
+    for (String field : keyFields) {
+      Object value = row.get(field);
+      String encoded;
+      if (value == null) {
+        encoded = "";
+        key.append('-');
+      } else {
+        encoded =
+            value instanceof byte[]
+                ? Base64.getEncoder().encodeToString((byte[]) value)
+                : value.toString();
+        // Length prefixed, so that the key of ("a:", "b") differs from the key of ("a", ":b").
+        key.append(encoded.length());
+      }
+      key.append(':').append(encoded);
+    }
+    return key.toString();
+  }
+}
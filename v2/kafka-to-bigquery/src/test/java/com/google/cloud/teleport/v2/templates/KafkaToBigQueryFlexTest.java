@@ -0,0 +1,162 @@
+/*
+ * Copyright (C) 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.cloud.teleport.v2.templates;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThrows;
+
+import com.google.api.services.bigquery.model.TableRow;
+import com.google.cloud.teleport.v2.kafka.values.KafkaTemplateParameters.MessageFormatConstants;
+import com.google.cloud.teleport.v2.kafka.values.KafkaTemplateParameters.SchemaFormat;
+import com.google.cloud.teleport.v2.options.KafkaToBigQueryFlexOptions;
+import com.google.cloud.teleport.v2.transforms.BigQueryWriteUtils.BigQueryWrite;
+import com.google.cloud.teleport.v2.utils.BigQueryConstants;
+import java.util.HashMap;
+import java.util.List;
+import org.apache.avro.Schema;
+import org.apache.avro.SchemaBuilder;
+import org.apache.beam.sdk.coders.ByteArrayCoder;
+import org.apache.beam.sdk.coders.NullableCoder;
+import org.apache.beam.sdk.io.gcp.bigquery.BigQueryIO;
+import org.apache.beam.sdk.io.gcp.bigquery.RowMutationInformation;
+import org.apache.beam.sdk.io.kafka.KafkaRecord;
+import org.apache.beam.sdk.io.kafka.KafkaRecordCoder;
+import org.apache.beam.sdk.options.PipelineOptionsFactory;
+import org.apache.beam.sdk.testing.TestPipeline;
+import org.apache.beam.sdk.transforms.Create;
+import org.apache.beam.sdk.values.KV;
+import org.apache.beam.sdk.values.PCollection;
+import org.junit.Rule;
+import org.junit.Test;
+
+/** Tests the upsert wiring of the {@link KafkaToBigQueryFlex} template. */
+public class KafkaToBigQueryFlexTest {
+
+  @Rule
+  public final transient TestPipeline pipeline =
+      TestPipeline.create().enableAbandonedNodeEnforcement(false);
+
+  private static final Schema AVRO_SCHEMA =
+      SchemaBuilder.record("Entity").fields().requiredLong("id").requiredString("name").endRecord();
+
+  @Test
+  public void testUpsertKeyFieldsAreParsed() {
+    KafkaToBigQueryFlexOptions options = upsertOptions();
+    options.setUpsertKeyFields(" id, name ,");
+    options.setUpsertDeduplicationWindowSec(10);
+
+    BigQueryWrite write = KafkaToBigQueryFlex.maybeWithUpserts(bigQueryWrite(false), options);
+
+    assertEquals(List.of("id", "name"), write.getUpsertKeyFields());
+    assertEquals(Integer.valueOf(10), write.getUpsertDeduplicationWindowSec());
+  }
+
+  @Test
+  public void testUpsertKeyDefaultsToKafkaKey() {
+    KafkaToBigQueryFlexOptions options = upsertOptions();
+    options.setPersistKafkaKey(true);
+
+    BigQueryWrite write = KafkaToBigQueryFlex.maybeWithUpserts(bigQueryWrite(true), options);
+
+    assertEquals(List.of(BigQueryConstants.KAFKA_KEY_FIELD), write.getUpsertKeyFields());
+  }
+
+  @Test
+  public void testUpsertKeyIsRequiredWithoutKafkaKey() {
+    KafkaToBigQueryFlexOptions options = upsertOptions();
+
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> KafkaToBigQueryFlex.maybeWithUpserts(bigQueryWrite(false), options));
+  }
+
+  @Test
+  public void testRecordsAreAppendedWithoutUpserts() {
+    KafkaToBigQueryFlexOptions options =
+        PipelineOptionsFactory.create().as(KafkaToBigQueryFlexOptions.class);
+    options.setUpsertKeyFields("id");
+
+    BigQueryWrite write = KafkaToBigQueryFlex.maybeWithUpserts(bigQueryWrite(false), options);
+
+    assertNull(write.getUpsertKeyFields());
+  }
+
+  @Test
+  public void testUpsertIsSequencedByHexOffset() {
+    RowMutationInformation mutation =
+        BigQueryWrite.upsertMutationInformation(KV.of(255L, new TableRow().set("id", 1L)));
+
+    assertEquals(RowMutationInformation.MutationType.UPSERT, mutation.getMutationType());
+    assertEquals("ff", mutation.getChangeSequenceNumber());
+  }
+
+  @Test
+  public void testUpsertsUseAtLeastOnceStorageWriteApi() {
+    assertEquals(
+        BigQueryIO.Write.Method.STORAGE_API_AT_LEAST_ONCE, BigQueryWrite.UPSERT_WRITE_METHOD);
+  }
+
+  @Test
+  public void testUpsertsAreRejectedWithJsonMessages() {
+    KafkaToBigQueryFlexOptions options = upsertOptions();
+    options.setMessageFormat(MessageFormatConstants.JSON);
+    options.setUpsertKeyFields("id");
+
+    assertThrows(
+        IllegalArgumentException.class,
+        () ->
+            KafkaToBigQueryFlex.runJsonPipeline(
+                pipeline, options, List.of("topic"), "localhost:9092", new HashMap<>()));
+  }
+
+  @Test
+  public void testUpsertsAreRejectedWithSchemaRegistry() {
+    KafkaToBigQueryFlexOptions options = upsertOptions();
+    options.setMessageFormat(MessageFormatConstants.AVRO_CONFLUENT_WIRE_FORMAT);
+    options.setSchemaFormat(SchemaFormat.SCHEMA_REGISTRY);
+    options.setSchemaRegistryConnectionUrl("http://localhost:8081");
+    options.setOutputDataset("dataset");
+    options.setUpsertKeyFields("id");
+    PCollection<KafkaRecord<byte[], byte[]>> kafkaRecords =
+        pipeline.apply(
+            Create.empty(
+                KafkaRecordCoder.of(NullableCoder.of(ByteArrayCoder.of()), ByteArrayCoder.of())));
+
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> KafkaToBigQueryFlex.processKafkaRecords(kafkaRecords, options));
+  }
+
+  private static KafkaToBigQueryFlexOptions upsertOptions() {
+    KafkaToBigQueryFlexOptions options =
+        PipelineOptionsFactory.create().as(KafkaToBigQueryFlexOptions.class);
+    options.setUseUpserts(true);
+    return options;
+  }
+
+  private static BigQueryWrite bigQueryWrite(boolean persistKafkaKey) {
+    return BigQueryWrite.of(
+        AVRO_SCHEMA,
+        "project:dataset.table",
+        "WRITE_APPEND",
+        "CREATE_NEVER",
+        1,
+        5,
+        persistKafkaKey,
+        false);
+  }
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright (C) 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.cloud.teleport.v2.transforms;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+import com.google.api.services.bigquery.model.TableRow;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import org.apache.beam.sdk.coders.KvCoder;
+import org.apache.beam.sdk.coders.StringUtf8Coder;
+import org.apache.beam.sdk.coders.VarLongCoder;
+import org.apache.beam.sdk.io.gcp.bigquery.TableRowJsonCoder;
+import org.apache.beam.sdk.testing.PAssert;
+import org.apache.beam.sdk.testing.TestPipeline;
+import org.apache.beam.sdk.testing.TestStream;
+import org.apache.beam.sdk.transforms.ParDo;
+import org.apache.beam.sdk.values.KV;
+import org.apache.beam.sdk.values.PCollection;
+import org.apache.beam.sdk.values.TimestampedValue;
+import org.joda.time.Duration;
+import org.joda.time.Instant;
+import org.junit.Rule;
+import org.junit.Test;
+
+/** Tests for {@link DeduplicateUpsertsFn}. */
+public class DeduplicateUpsertsFnTest {
+
+  @Rule public final transient TestPipeline pipeline = TestPipeline.create();
+
+  @Test
+  public void highestOffsetWinsAndIsFlushed() {
+    Instant timestamp = new Instant(0L);
+
+    PCollection<KV<Long, TableRow>> output =
+        pipeline
+            .apply(
+                "Create updates",
+                TestStream.create(
+                        KvCoder.of(
+                            StringUtf8Coder.of(),
+                            KvCoder.of(VarLongCoder.of(), TableRowJsonCoder.of())))
+                    .addElements(
+                        TimestampedValue.of(update("1:a", 2L, "second"), timestamp),
+                        // Read out of order, but superseded by the update at offset 2.
+                        TimestampedValue.of(update("1:a", 1L, "first"), timestamp),
+                        TimestampedValue.of(update("1:b", 3L, "other"), timestamp))
+                    // Flushes the updates buffered so far.
+                    .advanceProcessingTime(Duration.standardSeconds(2))
+                    .addElements(TimestampedValue.of(update("1:a", 4L, "third"), timestamp))
+                    // Flushes the last update when the input ends.
+                    .advanceWatermarkToInfinity())
+            .apply(
+                "Deduplicate upserts",
+                ParDo.of(new DeduplicateUpsertsFn(Duration.standardSeconds(1))));
+
+    PAssert.that(output)
+        .containsInAnyOrder(
+            KV.of(2L, new TableRow().set("value", "second")),
+            KV.of(3L, new TableRow().set("value", "other")),
+            KV.of(4L, new TableRow().set("value", "third")));
+    pipeline.run().waitUntilFinish();
+  }
+
+  @Test
+  public void upsertKeyOfSingleField() {
+    TableRow row = new TableRow().set("id", 42L).set("name", "a");
+    assertEquals("2:42", DeduplicateUpsertsFn.upsertKey(row, List.of("id")));
+  }
+
+  @Test
+  public void upsertKeyOfBytesField() {
+    TableRow row = new TableRow().set("_key", "key".getBytes(StandardCharsets.UTF_8));
+    assertEquals("4:a2V5", DeduplicateUpsertsFn.upsertKey(row, List.of("_key")));
+  }
+
+  @Test
+  public void upsertKeysOfCompositeFieldsDoNotCollide() {
+    TableRow first = new TableRow().set("a", "x:").set("b", "y");
+    TableRow second = new TableRow().set("a", "x").set("b", ":y");
+    assertNotEquals(
+        DeduplicateUpsertsFn.upsertKey(first, List.of("a", "b")),
+        DeduplicateUpsertsFn.upsertKey(second, List.of("a", "b")));
+  }
+
+  @Test
+  public void upsertKeysOfNullAndEmptyFieldsDiffer() {
+    TableRow empty = new TableRow().set("a", "");
+    assertNotEquals(
+        DeduplicateUpsertsFn.upsertKey(new TableRow(), List.of("a")),
+        DeduplicateUpsertsFn.upsertKey(empty, List.of("a")));
+  }
+
+  private static KV<String, KV<Long, TableRow>> update(String key, long offset, String value) {
+    return KV.of(key, KV.of(offset, new TableRow().set("value", value)));
+  }
+}
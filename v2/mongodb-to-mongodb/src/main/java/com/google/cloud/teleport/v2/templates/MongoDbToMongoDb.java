@@ -18,6 +18,7 @@ package com.google.cloud.teleport.v2.templates;
 import com.google.cloud.teleport.metadata.Template;
 import com.google.cloud.teleport.metadata.TemplateCategory;
 import com.google.cloud.teleport.metadata.TemplateParameter;
+import com.google.cloud.teleport.v2.transforms.ChangeStreamTransforms;
 import com.google.cloud.teleport.v2.transforms.DocumentWithMetadata;
 import com.google.cloud.teleport.v2.transforms.JavascriptTextTransformer;
 import com.google.cloud.teleport.v2.transforms.MongoDbTransforms;
@@ -27,7 +28,9 @@ import com.mongodb.client.MongoDatabase;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Date;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import org.apache.beam.runners.dataflow.options.DataflowPipelineOptions;
 import org.apache.beam.sdk.Pipeline;
 import org.apache.beam.sdk.coders.SerializableCoder;
@@ -37,16 +40,17 @@ import org.apache.beam.sdk.metrics.Counter;
 import org.apache.beam.sdk.metrics.Metrics;
 import org.apache.beam.sdk.options.Default;
 import org.apache.beam.sdk.options.PipelineOptionsFactory;
+import org.apache.beam.sdk.options.StreamingOptions;
 import org.apache.beam.sdk.options.Validation;
 import org.apache.beam.sdk.transforms.DoFn;
 import org.apache.beam.sdk.transforms.PTransform;
 import org.apache.beam.sdk.transforms.ParDo;
 import org.apache.beam.sdk.values.PCollection;
 import org.apache.beam.sdk.values.PCollectionTuple;
-import org.apache.beam.sdk.values.PDone;
 import org.apache.beam.sdk.values.TupleTag;
 import org.apache.beam.sdk.values.TupleTagList;
 import org.bson.Document;
+import org.joda.time.Duration;
 
 /** Dataflow template which copies data from one MongoDB database to another. */
 @Template(
@@ -221,6 +225,61 @@ public class MongoDbToMongoDb {
     Boolean getReadFromDlq();
 
     void setReadFromDlq(Boolean value);
+
+    @TemplateParameter.Boolean(
+        order = 18,
+        groupName = "Source",
+        optional = true,
+        description = "Enable Change Stream Sync",
+        helpText =
+            "If true, the job runs in streaming mode and keeps the target in sync with the source"
+                + " after the initial copy by tailing MongoDB change streams from the cluster time"
+                + " captured before the copy. Requires a replica set or sharded cluster. The target"
+                + " documents hold the version of the last change event applied in a"
+                + " `_dataflow_version` field, and documents deleted at the source are kept as"
+                + " tombstones with `_dataflow_deleted` set to true.")
+    @Default.Boolean(false)
+    Boolean getEnableChangeStream();
+
+    void setEnableChangeStream(Boolean value);
+
+    @TemplateParameter.Integer(
+        order = 19,
+        groupName = "Source",
+        optional = true,
+        description = "Change Stream Poll Interval Seconds",
+        helpText =
+            "Interval in seconds between two polls of the change stream of a collection. Also"
+                + " bounds how long partial write batches are buffered.")
+    @Default.Integer(5)
+    Integer getChangeStreamPollIntervalSeconds();
+
+    void setChangeStreamPollIntervalSeconds(Integer value);
+
+    @TemplateParameter.Integer(
+        order = 20,
+        groupName = "Source",
+        optional = true,
+        description = "Max Change Events Per Poll",
+        helpText = "Maximum number of change events read from a collection in a single poll.")
+    @Default.Integer(10000)
+    Integer getMaxChangeEventsPerPoll();
+
+    void setMaxChangeEventsPerPoll(Integer value);
+
+    @TemplateParameter.Text(
+        order = 21,
+        groupName = "Target",
+        optional = true,
+        description = "Resume Token Collection",
+        helpText =
+            "Collection in the target database used to persist change stream resume tokens. A"
+                + " restarted job resumes tailing collections which have a persisted token instead"
+                + " of copying them again.")
+    @Default.String(ChangeStreamTransforms.DEFAULT_RESUME_TOKEN_COLLECTION)
+    String getResumeTokenCollection();
+
+    void setResumeTokenCollection(String value);
   }
 
   public static void main(String[] args) {
@@ -229,6 +288,10 @@ public class MongoDbToMongoDb {
   }
 
   public static void run(Options options) {
+    boolean changeStreamEnabled = isChangeStreamEnabled(options);
+    if (changeStreamEnabled) {
+      options.as(StreamingOptions.class).setStreaming(true);
+    }
     Pipeline pipeline = Pipeline.create(options);
 
     String sourceUri = options.getSourceUri();
@@ -278,26 +341,107 @@ public class MongoDbToMongoDb {
       documents.apply(
           "ProcessDlq", new ProcessDocuments(options, retryableDlqPath, permanentDlqPath));
     } else {
+      Map<String, String> targetCollections = new LinkedHashMap<>();
       for (String inputCollection : sourceCollections) {
         String targetCollectionRaw = options.getTargetCollection();
-        final String targetCollection =
+        targetCollections.put(
+            inputCollection,
             (targetCollectionRaw == null || targetCollectionRaw.isEmpty())
                 ? inputCollection
-                : targetCollectionRaw;
+                : targetCollectionRaw);
+      }
 
+      List<String> collectionsToCopy = sourceCollections;
+      PCollectionTuple changeStreams = null;
+      if (changeStreamEnabled) {
+        // Capture the cluster time before the initial copy starts, so that every write missed by
+        // the copy is replayed from the change stream.
+        long startAtOperationTime =
+            ChangeStreamTransforms.currentClusterTime(sourceUri, sourceDatabase);
+        collectionsToCopy =
+            ChangeStreamTransforms.collectionsWithoutResumeToken(
+                options.getTargetUri(),
+                options.getTargetDatabase(),
+                options.getResumeTokenCollection(),
+                sourceDatabase,
+                targetCollections);
+        LOG.info(
+            "Tailing change streams of {} from cluster time {}, initial copy of {}",
+            targetCollections.keySet(),
+            startAtOperationTime,
+            collectionsToCopy);
+
+        ChangeStreamTransforms.ReadChangeStreams readChangeStreams =
+            ChangeStreamTransforms.readChangeStreams()
+                .withUri(sourceUri)
+                .withDatabase(sourceDatabase)
+                .withStartAtOperationTime(startAtOperationTime)
+                .withPollInterval(
+                    Duration.standardSeconds(options.getChangeStreamPollIntervalSeconds()))
+                .withMaxEventsPerPoll(options.getMaxChangeEventsPerPoll())
+                .withResumeTokenStore(
+                    options.getTargetUri(),
+                    options.getTargetDatabase(),
+                    options.getResumeTokenCollection());
+        targetCollections.forEach(readChangeStreams::withCollection);
+
+        changeStreams = pipeline.apply("ReadChangeStreams", readChangeStreams);
+      }
+
+      List<PCollection<DocumentWithMetadata>> copyWrites = new ArrayList<>();
+      for (String inputCollection : collectionsToCopy) {
         PCollection<DocumentWithMetadata> documents =
-            readFromMongo(pipeline, options, inputCollection, targetCollection);
-        documents.apply(
-            "Process_" + inputCollection,
-            new ProcessDocuments(options, retryableDlqPath, permanentDlqPath));
+            readFromMongo(
+                pipeline, options, inputCollection, targetCollections.get(inputCollection));
+        copyWrites.add(
+            documents.apply(
+                "Process_" + inputCollection,
+                new ProcessDocuments(options, retryableDlqPath, permanentDlqPath)));
+      }
+
+      if (changeStreams != null) {
+        PCollection<DocumentWithMetadata> changeStreamWrites =
+            changeStreams
+                .get(ChangeStreamTransforms.EVENTS)
+                .apply(
+                    "ProcessChangeStreams",
+                    new ProcessDocuments(options, retryableDlqPath, permanentDlqPath));
+
+        // A token is only persisted once the initial copy is done and the events read before it
+        // are written, so that a new job never skips a collection or events which were not
+        // applied to the target.
+        ChangeStreamTransforms.PersistResumeTokens persistResumeTokens =
+            ChangeStreamTransforms.persistResumeTokens()
+                .withResumeTokenStore(
+                    options.getTargetUri(),
+                    options.getTargetDatabase(),
+                    options.getResumeTokenCollection())
+                .withSourceDatabase(sourceDatabase)
+                .withWindow(Duration.standardSeconds(options.getChangeStreamPollIntervalSeconds()))
+                .withWindowedSignal(changeStreamWrites);
+        copyWrites.forEach(persistResumeTokens::withGlobalSignal);
+        changeStreams
+            .get(ChangeStreamTransforms.RESUME_TOKENS)
+            .apply("PersistResumeTokens", persistResumeTokens);
       }
     }
 
     pipeline.run();
   }
 
+  /** Change streams are not tailed when the job only reprocesses the DLQ. */
+  private static boolean isChangeStreamEnabled(Options options) {
+    return options.getEnableChangeStream() != null
+        && options.getEnableChangeStream()
+        && !(options.getReadFromDlq() != null && options.getReadFromDlq());
+  }
+
+  /**
+   * Applies the UDF to the documents and writes them to the target. Returns the documents which
+   * failed to be written, which can also be used as a signal that the writes are done.
+   */
   public static class ProcessDocuments
-      extends PTransform<PCollection<DocumentWithMetadata>, PDone> {
+      extends PTransform<PCollection<DocumentWithMetadata>, PCollection<DocumentWithMetadata>> {
     private final transient Options options;
     private final String retryableDlqPath;
     private final String permanentDlqPath;
@@ -309,7 +453,7 @@ public class MongoDbToMongoDb {
     }
 
     @Override
-    public PDone expand(PCollection<DocumentWithMetadata> input) {
+    public PCollection<DocumentWithMetadata> expand(PCollection<DocumentWithMetadata> input) {
       PCollection<DocumentWithMetadata> documents =
           input.apply(
               "CountTotalProcessed",
@@ -402,23 +546,33 @@ public class MongoDbToMongoDb {
       // Write Stage with DLQ
       PCollection<DocumentWithMetadata> validDocs = processed.get(successTag);
 
-      PCollection<DocumentWithMetadata> writeFailures =
-          validDocs.apply(
-              "Write",
-              MongoDbTransforms.writeWithDlq()
-                  .withUri(options.getTargetUri())
-                  .withDatabase(options.getTargetDatabase())
-                  .withBatchSize(options.getBatchSize())
-                  .withMaxConcurrentAsyncWrites(options.getMaxConcurrentAsyncWrites())
-                  .withMaxWriteRetries(options.getMaxWriteRetries())
-                  .withDlqMaxRetries(options.getDlqMaxRetries()));
+      MongoDbTransforms.WriteWithDlq write =
+          MongoDbTransforms.writeWithDlq()
+              .withUri(options.getTargetUri())
+              .withDatabase(options.getTargetDatabase())
+              .withBatchSize(options.getBatchSize())
+              .withMaxConcurrentAsyncWrites(options.getMaxConcurrentAsyncWrites())
+              .withMaxWriteRetries(options.getMaxWriteRetries())
+              .withDlqMaxRetries(options.getDlqMaxRetries());
+      if (isChangeStreamEnabled(options)) {
+        // The initial copy runs concurrently with the change stream, so it must never overwrite
+        // a document, or tombstone, already written from a change event.
+        write =
+            write
+                .withOrderedById(true)
+                .withInsertOnly(true)
+                .withMaxBufferingDuration(
+                    Duration.standardSeconds(options.getChangeStreamPollIntervalSeconds()));
+      }
+
+      PCollection<DocumentWithMetadata> writeFailures = validDocs.apply("Write", write);
 
       writeFailures.apply(
           "WriteToDlq_Write",
           new MongoDbTransforms.WriteToDlq(
               retryableDlqPath, permanentDlqPath, options.getTempLocation()));
 
-      return PDone.in(input.getPipeline());
+      return writeFailures;
     }
   }
 
@@ -0,0 +1,612 @@
+/*
+ * Copyright (C) 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.cloud.teleport.v2.transforms;
+
+import com.mongodb.client.ChangeStreamIterable;
+import com.mongodb.client.MongoChangeStreamCursor;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.ReplaceOptions;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.client.model.changestream.FullDocument;
+import com.mongodb.client.model.changestream.OperationType;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.apache.beam.sdk.coders.KvCoder;
+import org.apache.beam.sdk.coders.SerializableCoder;
+import org.apache.beam.sdk.coders.StringUtf8Coder;
+import org.apache.beam.sdk.coders.VarIntCoder;
+import org.apache.beam.sdk.coders.VarLongCoder;
+import org.apache.beam.sdk.metrics.Counter;
+import org.apache.beam.sdk.metrics.Distribution;
+import org.apache.beam.sdk.metrics.Metrics;
+import org.apache.beam.sdk.state.StateSpec;
+import org.apache.beam.sdk.state.StateSpecs;
+import org.apache.beam.sdk.state.ValueState;
+import org.apache.beam.sdk.transforms.DoFn;
+import org.apache.beam.sdk.transforms.FlatMapElements;
+import org.apache.beam.sdk.transforms.Latest;
+import org.apache.beam.sdk.transforms.PTransform;
+import org.apache.beam.sdk.transforms.ParDo;
+import org.apache.beam.sdk.transforms.PeriodicImpulse;
+import org.apache.beam.sdk.transforms.SerializableFunction;
+import org.apache.beam.sdk.transforms.Wait;
+import org.apache.beam.sdk.transforms.windowing.FixedWindows;
+import org.apache.beam.sdk.transforms.windowing.Window;
+import org.apache.beam.sdk.values.KV;
+import org.apache.beam.sdk.values.PBegin;
+import org.apache.beam.sdk.values.PCollection;
+import org.apache.beam.sdk.values.PCollectionTuple;
+import org.apache.beam.sdk.values.PDone;
+import org.apache.beam.sdk.values.TupleTag;
+import org.apache.beam.sdk.values.TupleTagList;
+import org.apache.beam.sdk.values.TypeDescriptors;
+import org.bson.BsonDocument;
+import org.bson.BsonTimestamp;
+import org.bson.Document;
+import org.joda.time.Duration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Transforms which tail MongoDB change streams so that the target keeps up with the source after
+ * the initial copy.
+ *
+ * <p>Every collection is polled on a fixed interval by a stateful {@link DoFn} keyed by the source
+ * collection, so polls for the same collection never overlap. The first poll starts at the cluster
+ * time captured before the initial copy; subsequent polls resume from the resume token kept in
+ * state. The resume token is also persisted in a collection of the target database by {@link
+ * PersistResumeTokens}, once the initial copy finished and the events read before the token were
+ * written, so that a new job started with the same token collection resumes where the previous one
+ * stopped instead of copying the collection again.
+ */
+public class ChangeStreamTransforms {
+
+  public static final String DEFAULT_RESUME_TOKEN_COLLECTION = "_dataflow_resume_tokens";
+
+  static final String RESUME_TOKEN_FIELD = "resumeToken";
+  static final String UPDATED_AT_FIELD = "updatedAt";
+
+  /** The change events read by {@link ReadChangeStreams}. */
+  public static final TupleTag<DocumentWithMetadata> EVENTS =
+      new TupleTag<DocumentWithMetadata>() {};
+
+  /**
+   * The resume tokens reached by {@link ReadChangeStreams}, keyed by source collection, to be
+   * persisted by {@link PersistResumeTokens}.
+   */
+  public static final TupleTag<KV<String, String>> RESUME_TOKENS =
+      new TupleTag<KV<String, String>>() {};
+
+  public static ReadChangeStreams readChangeStreams() {
+    return new ReadChangeStreams();
+  }
+
+  public static PersistResumeTokens persistResumeTokens() {
+    return new PersistResumeTokens();
+  }
+
+  /**
+   * Returns the current cluster time of the deployment behind {@code uri} as a {@link
+   * BsonTimestamp} value. Change streams started at this time observe every write which is not
+   * visible to a read started afterwards.
+   */
+  public static long currentClusterTime(String uri, String database) {
+    try (MongoClient client = MongoClients.create(uri)) {
+      Document hello = client.getDatabase(database).runCommand(new Document("hello", 1));
+      BsonTimestamp operationTime = hello.get("operationTime", BsonTimestamp.class);
+      if (operationTime == null) {
+        throw new IllegalStateException(
+            "Source MongoDB did not report an operationTime. Change streams require a replica set"
+                + " or a sharded cluster.");
+      }
+      return operationTime.getValue();
+    }
+  }
+
+  /**
+   * Returns the key of the resume token persisted for {@code collection} in the token collection.
+   */
+  static String resumeTokenKey(String database, String collection) {
+    return database + "." + collection;
+  }
+
+  /**
+   * Returns the resume token persisted for {@code sourceCollection} by a previous job, or null if
+   * the collection has not been tailed before.
+   */
+  public static String readPersistedResumeToken(
+      MongoDatabase tokenDatabase,
+      String tokenCollection,
+      String sourceDatabase,
+      String sourceCollection) {
+    Document stored =
+        tokenDatabase
+            .getCollection(tokenCollection)
+            .find(Filters.eq("_id", resumeTokenKey(sourceDatabase, sourceCollection)))
+            .first();
+    return stored != null ? stored.getString(RESUME_TOKEN_FIELD) : null;
+  }
+
+  /**
+   * Reads change events for a set of collections as an unbounded {@link PCollection}, tagged {@link
+   * #EVENTS}, along with the resume tokens reached by every poll, tagged {@link #RESUME_TOKENS}.
+   */
+  public static class ReadChangeStreams extends PTransform<PBegin, PCollectionTuple> {
+    private String uri;
+    private String database;
+    private final List<KV<String, String>> collections = new ArrayList<>();
+    private Long startAtOperationTime;
+    private Duration pollInterval = Duration.standardSeconds(5);
+    private Integer maxEventsPerPoll = 10000;
+    private String tokenUri;
+    private String tokenDatabase;
+    private String tokenCollection = DEFAULT_RESUME_TOKEN_COLLECTION;
+    private SerializableFunction<String, MongoClient> clientFactory = MongoClients::create;
+
+    public ReadChangeStreams withUri(String uri) {
+      this.uri = uri;
+      return this;
+    }
+
+    public ReadChangeStreams withDatabase(String database) {
+      this.database = database;
+      return this;
+    }
+
+    /** Tails {@code sourceCollection} and applies its events to {@code targetCollection}. */
+    public ReadChangeStreams withCollection(String sourceCollection, String targetCollection) {
+      this.collections.add(KV.of(sourceCollection, targetCollection));
+      return this;
+    }
+
+    /**
+     * Starts change streams without a persisted resume token at this cluster time, as returned by
+     * {@link #currentClusterTime(String, String)}.
+     */
+    public ReadChangeStreams withStartAtOperationTime(Long startAtOperationTime) {
+      this.startAtOperationTime = startAtOperationTime;
+      return this;
+    }
+
+    public ReadChangeStreams withPollInterval(Duration pollInterval) {
+      if (pollInterval != null) {
+        this.pollInterval = pollInterval;
+      }
+      return this;
+    }
+
+    public ReadChangeStreams withMaxEventsPerPoll(Integer maxEventsPerPoll) {
+      if (maxEventsPerPoll != null) {
+        this.maxEventsPerPoll = maxEventsPerPoll;
+      }
+      return this;
+    }
+
+    /** Persists resume tokens in {@code collection} of the given database. */
+    public ReadChangeStreams withResumeTokenStore(String uri, String database, String collection) {
+      this.tokenUri = uri;
+      this.tokenDatabase = database;
+      if (collection != null && !collection.isEmpty()) {
+        this.tokenCollection = collection;
+      }
+      return this;
+    }
+
+    public ReadChangeStreams withClientFactory(
+        SerializableFunction<String, MongoClient> clientFactory) {
+      if (clientFactory != null) {
+        this.clientFactory = clientFactory;
+      }
+      return this;
+    }
+
+    @Override
+    public PCollectionTuple expand(PBegin input) {
+      if (collections.isEmpty()) {
+        throw new IllegalArgumentException("At least one collection must be tailed.");
+      }
+      if (tokenUri == null || tokenDatabase == null) {
+        throw new IllegalArgumentException("A resume token store must be configured.");
+      }
+      final List<KV<String, String>> tailedCollections = new ArrayList<>(collections);
+
+      PCollectionTuple output =
+          input
+              .apply("PollInterval", PeriodicImpulse.create().withInterval(pollInterval))
+              .apply(
+                  "ExpandCollections",
+                  FlatMapElements.into(
+                          TypeDescriptors.kvs(TypeDescriptors.strings(), TypeDescriptors.strings()))
+                      .via(tick -> tailedCollections))
+              .apply(
+                  "PollChangeStreams",
+                  ParDo.of(
+                          new PollChangeStreamFn(
+                              uri,
+                              database,
+                              startAtOperationTime,
+                              maxEventsPerPoll,
+                              pollInterval,
+                              tokenUri,
+                              tokenDatabase,
+                              tokenCollection,
+                              clientFactory))
+                      .withOutputTags(EVENTS, TupleTagList.of(RESUME_TOKENS)));
+      output.get(EVENTS).setCoder(SerializableCoder.of(DocumentWithMetadata.class));
+      output.get(RESUME_TOKENS).setCoder(KvCoder.of(StringUtf8Coder.of(), StringUtf8Coder.of()));
+      return output;
+    }
+  }
+
+  /**
+   * Persists the resume tokens read by {@link ReadChangeStreams} in the token collection, once the
+   * writes of the events read before them are done.
+   *
+   * <p>The tokens are grouped in windows of the poll interval, and the latest token of every
+   * collection in a window is only persisted after the signals, typically the write results of the
+   * change events and of the initial copy, are complete for that window. Signals in the global
+   * window, such as the writes of the bounded initial copy, hold back every token until they are
+   * done. A token persisted out of order only makes a new job replay some events, which the
+   * versioned writes of {@link MongoDbTransforms.WriteFn} ignore.
+   */
+  public static class PersistResumeTokens
+      extends PTransform<PCollection<KV<String, String>>, PDone> {
+    private String uri;
+    private String database;
+    private String sourceDatabase;
+    private String tokenCollection = DEFAULT_RESUME_TOKEN_COLLECTION;
+    private Duration window = Duration.standardSeconds(5);
+    private final List<PCollection<?>> windowedSignals = new ArrayList<>();
+    private final List<PCollection<?>> globalSignals = new ArrayList<>();
+    private SerializableFunction<String, MongoClient> clientFactory = MongoClients::create;
+
+    /** Persists the tokens in {@code collection} of the given database. */
+    public PersistResumeTokens withResumeTokenStore(
+        String uri, String database, String collection) {
+      this.uri = uri;
+      this.database = database;
+      if (collection != null && !collection.isEmpty()) {
+        this.tokenCollection = collection;
+      }
+      return this;
+    }
+
+    /** The database the tokens were read from. */
+    public PersistResumeTokens withSourceDatabase(String sourceDatabase) {
+      this.sourceDatabase = sourceDatabase;
+      return this;
+    }
+
+    /** Groups the tokens in windows of {@code window}, usually the poll interval. */
+    public PersistResumeTokens withWindow(Duration window) {
+      if (window != null) {
+        this.window = window;
+      }
+      return this;
+    }
+
+    /**
+     * Waits for {@code signal}, in windows of the same size as the tokens, before persisting the
+     * tokens of every window. Used for the writes of the change events.
+     */
+    public PersistResumeTokens withWindowedSignal(PCollection<?> signal) {
+      this.windowedSignals.add(signal);
+      return this;
+    }
+
+    /** Waits for {@code signal} to be complete before persisting any token. */
+    public PersistResumeTokens withGlobalSignal(PCollection<?> signal) {
+      this.globalSignals.add(signal);
+      return this;
+    }
+
+    public PersistResumeTokens withClientFactory(
+        SerializableFunction<String, MongoClient> clientFactory) {
+      if (clientFactory != null) {
+        this.clientFactory = clientFactory;
+      }
+      return this;
+    }
+
+    @Override
+    public PDone expand(PCollection<KV<String, String>> input) {
+      if (uri == null || database == null) {
+        throw new IllegalArgumentException("A resume token store must be configured.");
+      }
+      List<PCollection<?>> signals = new ArrayList<>(globalSignals);
+      for (int i = 0; i < windowedSignals.size(); i++) {
+        signals.add(windowSignal(windowedSignals.get(i), "WindowSignal" + i, window));
+      }
+      input
+          .apply("WindowTokens", Window.into(FixedWindows.of(window)))
+          .apply("LatestTokens", Latest.perKey())
+          .apply("WaitForWrites", Wait.on(signals))
+          .apply(
+              "PersistTokens",
+              ParDo.of(
+                  new PersistResumeTokenFn(
+                      uri, database, tokenCollection, sourceDatabase, clientFactory)));
+      return PDone.in(input.getPipeline());
+    }
+
+    private static <T> PCollection<T> windowSignal(
+        PCollection<T> signal, String name, Duration window) {
+      return signal.apply(name, Window.<T>into(FixedWindows.of(window)));
+    }
+  }
+
+  /** Writes resume tokens, keyed by source collection, to the token collection. */
+  static class PersistResumeTokenFn extends DoFn<KV<String, String>, Void> {
+    private final String uri;
+    private final String database;
+    private final String tokenCollection;
+    private final String sourceDatabase;
+    private final SerializableFunction<String, MongoClient> clientFactory;
+
+    private transient MongoClient client;
+
+    PersistResumeTokenFn(
+        String uri,
+        String database,
+        String tokenCollection,
+        String sourceDatabase,
+        SerializableFunction<String, MongoClient> clientFactory) {
+      this.uri = uri;
+      this.database = database;
+      this.tokenCollection = tokenCollection;
+      this.sourceDatabase = sourceDatabase;
+      this.clientFactory = clientFactory;
+    }
+
+    @Setup
+    public void setup() {
+      client = clientFactory.apply(uri);
+    }
+
+    @Teardown
+    public void teardown() {
+      if (client != null) {
+        client.close();
+      }
+    }
+
+    @ProcessElement
+    public void processElement(ProcessContext c) {
+      String key = resumeTokenKey(sourceDatabase, c.element().getKey());
+      client
+          .getDatabase(database)
+          .getCollection(tokenCollection)
+          .replaceOne(
+              Filters.eq("_id", key),
+              new Document("_id", key)
+                  .append(RESUME_TOKEN_FIELD, c.element().getValue())
+                  .append(UPDATED_AT_FIELD, new Date()),
+              new ReplaceOptions().upsert(true));
+    }
+  }
+
+  /**
+   * A stateful {@link DoFn} which reads the change events of one source collection since the last
+   * poll. The input is a pair of source and target collection names. The resume token reached by a
+   * poll is output to {@link #RESUME_TOKENS}.
+   */
+  public static class PollChangeStreamFn extends DoFn<KV<String, String>, DocumentWithMetadata> {
+
+    private static final Logger LOG = LoggerFactory.getLogger(PollChangeStreamFn.class);
+
+    private final String uri;
+    private final String database;
+    private final Long startAtOperationTime;
+    private final int maxEventsPerPoll;
+    private final Duration maxAwaitTime;
+    private final String tokenUri;
+    private final String tokenDatabase;
+    private final String tokenCollection;
+    private final SerializableFunction<String, MongoClient> clientFactory;
+
+    private final Counter changeEvents = Metrics.counter(PollChangeStreamFn.class, "changeEvents");
+    private final Counter deleteEvents = Metrics.counter(PollChangeStreamFn.class, "deleteEvents");
+    private final Counter unsupportedEvents =
+        Metrics.counter(PollChangeStreamFn.class, "unsupportedEvents");
+    private final Distribution replicationLagMs =
+        Metrics.distribution(PollChangeStreamFn.class, "replicationLagMs");
+
+    @StateId("resumeToken")
+    private final StateSpec<ValueState<String>> resumeTokenSpec =
+        StateSpecs.value(StringUtf8Coder.of());
+
+    // Cluster time and ordinal of the last event read, so that the ordinals of the events of a
+    // transaction which spans two polls keep increasing.
+    @StateId("lastEvent")
+    private final StateSpec<ValueState<KV<Long, Integer>>> lastEventSpec =
+        StateSpecs.value(KvCoder.of(VarLongCoder.of(), VarIntCoder.of()));
+
+    private transient MongoClient sourceClient;
+    private transient MongoClient tokenClient;
+
+    public PollChangeStreamFn(
+        String uri,
+        String database,
+        Long startAtOperationTime,
+        int maxEventsPerPoll,
+        Duration maxAwaitTime,
+        String tokenUri,
+        String tokenDatabase,
+        String tokenCollection,
+        SerializableFunction<String, MongoClient> clientFactory) {
+      this.uri = uri;
+      this.database = database;
+      this.startAtOperationTime = startAtOperationTime;
+      this.maxEventsPerPoll = maxEventsPerPoll;
+      this.maxAwaitTime = maxAwaitTime;
+      this.tokenUri = tokenUri;
+      this.tokenDatabase = tokenDatabase;
+      this.tokenCollection = tokenCollection;
+      this.clientFactory = clientFactory;
+    }
+
+    @Setup
+    public void setup() {
+      sourceClient = clientFactory.apply(uri);
+      tokenClient = tokenUri.equals(uri) ? sourceClient : clientFactory.apply(tokenUri);
+    }
+
+    @Teardown
+    public void teardown() {
+      if (tokenClient != null && tokenClient != sourceClient) {
+        tokenClient.close();
+      }
+      if (sourceClient != null) {
+        sourceClient.close();
+      }
+    }
+
+    @ProcessElement
+    public void processElement(
+        ProcessContext c,
+        @StateId("resumeToken") ValueState<String> resumeTokenState,
+        @StateId("lastEvent") ValueState<KV<Long, Integer>> lastEventState) {
+      String sourceCollection = c.element().getKey();
+      String targetCollection = c.element().getValue();
+
+      String resumeToken = resumeTokenState.read();
+      if (resumeToken == null) {
+        resumeToken =
+            readPersistedResumeToken(
+                tokenClient.getDatabase(tokenDatabase),
+                tokenCollection,
+                database,
+                sourceCollection);
+      }
+
+      MongoCollection<Document> collection =
+          sourceClient.getDatabase(database).getCollection(sourceCollection);
+      ChangeStreamIterable<Document> changeStream =
+          collection
+              .watch()
+              .fullDocument(FullDocument.UPDATE_LOOKUP)
+              .maxAwaitTime(maxAwaitTime.getMillis(), TimeUnit.MILLISECONDS);
+      if (resumeToken != null) {
+        changeStream = changeStream.resumeAfter(BsonDocument.parse(resumeToken));
+      } else if (startAtOperationTime != null) {
+        changeStream = changeStream.startAtOperationTime(new BsonTimestamp(startAtOperationTime));
+      }
+
+      try (MongoChangeStreamCursor<ChangeStreamDocument<Document>> cursor = changeStream.cursor()) {
+        KV<Long, Integer> lastEvent = lastEventState.read();
+        long lastClusterTime = lastEvent != null ? lastEvent.getKey() : 0;
+        int ordinal = lastEvent != null ? lastEvent.getValue() : 0;
+        int events = 0;
+        ChangeStreamDocument<Document> event;
+        while (events < maxEventsPerPoll && (event = cursor.tryNext()) != null) {
+          events++;
+          long clusterTime = event.getClusterTime().getValue();
+          ordinal = clusterTime == lastClusterTime ? ordinal + 1 : 0;
+          lastClusterTime = clusterTime;
+
+          DocumentWithMetadata item =
+              toDocument(event, clusterTime, ordinal, sourceCollection, targetCollection);
+          if (item != null) {
+            changeEvents.inc();
+            replicationLagMs.update(
+                System.currentTimeMillis()
+                    - TimeUnit.SECONDS.toMillis(event.getClusterTime().getTime()));
+            c.output(item);
+          }
+        }
+
+        if (events > 0) {
+          lastEventState.write(KV.of(lastClusterTime, ordinal));
+        }
+        BsonDocument nextToken = cursor.getResumeToken();
+        if (nextToken != null && !nextToken.toJson().equals(resumeToken)) {
+          resumeTokenState.write(nextToken.toJson());
+          c.output(RESUME_TOKENS, KV.of(sourceCollection, nextToken.toJson()));
+        }
+      }
+    }
+
+    private DocumentWithMetadata toDocument(
+        ChangeStreamDocument<Document> event,
+        long clusterTime,
+        int ordinal,
+        String sourceCollection,
+        String targetCollection) {
+      OperationType operationType = event.getOperationType();
+      switch (operationType) {
+        case INSERT:
+        case UPDATE:
+        case REPLACE:
+          if (event.getFullDocument() == null) {
+            // The document was deleted before it could be looked up, its delete event follows.
+            return null;
+          }
+          return DocumentWithMetadata.ofChangeEvent(
+              event.getFullDocument(),
+              DocumentWithMetadata.OperationType.UPSERT,
+              clusterTime,
+              ordinal,
+              sourceCollection,
+              targetCollection);
+        case DELETE:
+          deleteEvents.inc();
+          Document key = Document.parse(event.getDocumentKey().toJson());
+          return DocumentWithMetadata.ofChangeEvent(
+              new Document("_id", key.get("_id")),
+              DocumentWithMetadata.OperationType.DELETE,
+              clusterTime,
+              ordinal,
+              sourceCollection,
+              targetCollection);
+        default:
+          unsupportedEvents.inc();
+          LOG.warn(
+              "Ignoring change event of type {} on collection {}.{}",
+              operationType,
+              database,
+              sourceCollection);
+          return null;
+      }
+    }
+  }
+
+  /** Returns the source collections of {@code collections} without a persisted resume token. */
+  public static List<String> collectionsWithoutResumeToken(
+      String tokenUri,
+      String tokenDatabase,
+      String tokenCollection,
+      String sourceDatabase,
+      Map<String, String> collections) {
+    List<String> result = new ArrayList<>();
+    try (MongoClient client = MongoClients.create(tokenUri)) {
+      MongoDatabase db = client.getDatabase(tokenDatabase);
+      for (String sourceCollection : collections.keySet()) {
+        if (readPersistedResumeToken(db, tokenCollection, sourceDatabase, sourceCollection)
+            == null) {
+          result.add(sourceCollection);
+        }
+      }
+    }
+    return result;
+  }
+}
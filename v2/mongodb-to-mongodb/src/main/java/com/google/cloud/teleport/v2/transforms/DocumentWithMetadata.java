@@ -41,6 +41,9 @@ public class DocumentWithMetadata implements Serializable {
   public static final String METADATA_TARGET_COLLECTION = "_metadata_target_collection";
   public static final String METADATA_ERROR_MESSAGE = "_metadata_error_message";
   public static final String METADATA_FAILURE_STAGE = "_metadata_failure_stage";
+  public static final String METADATA_OPERATION_TYPE = "_metadata_operation_type";
+  public static final String METADATA_CLUSTER_TIME = "_metadata_cluster_time";
+  public static final String METADATA_EVENT_ORDINAL = "_metadata_event_ordinal";
 
   public enum ErrorType {
     RETRYABLE,
@@ -53,6 +56,12 @@ public class DocumentWithMetadata implements Serializable {
     WRITE
   }
 
+  /** The write applied to the target for this document. */
+  public enum OperationType {
+    UPSERT,
+    DELETE
+  }
+
   private final Document document;
   private final String originalDocument;
   private final Integer retryCount;
@@ -61,6 +70,9 @@ public class DocumentWithMetadata implements Serializable {
   private final String sourceCollection;
   private final String targetCollection;
   private final FailureStage failureStage;
+  private final OperationType operationType;
+  private final Long clusterTime;
+  private final Integer eventOrdinal;
 
   public DocumentWithMetadata(
       Document document,
@@ -71,6 +83,32 @@ public class DocumentWithMetadata implements Serializable {
       String sourceCollection,
       String targetCollection,
       FailureStage failureStage) {
+    this(
+        document,
+        originalDocument,
+        retryCount,
+        errorMessage,
+        errorType,
+        sourceCollection,
+        targetCollection,
+        failureStage,
+        OperationType.UPSERT,
+        null,
+        null);
+  }
+
+  public DocumentWithMetadata(
+      Document document,
+      String originalDocument,
+      Integer retryCount,
+      String errorMessage,
+      ErrorType errorType,
+      String sourceCollection,
+      String targetCollection,
+      FailureStage failureStage,
+      OperationType operationType,
+      Long clusterTime,
+      Integer eventOrdinal) {
     this.document = document;
     this.originalDocument = originalDocument;
     this.retryCount = retryCount;
@@ -79,6 +117,9 @@ public class DocumentWithMetadata implements Serializable {
     this.sourceCollection = sourceCollection;
     this.targetCollection = targetCollection;
     this.failureStage = failureStage;
+    this.operationType = operationType != null ? operationType : OperationType.UPSERT;
+    this.clusterTime = clusterTime;
+    this.eventOrdinal = eventOrdinal;
   }
 
   /** Returns the current BSON document. */
@@ -129,6 +170,96 @@ public class DocumentWithMetadata implements Serializable {
     return failureStage;
   }
 
+  /** Returns the write applied to the target, {@link OperationType#UPSERT} for bulk copies. */
+  public OperationType getOperationType() {
+    return operationType;
+  }
+
+  /**
+   * Returns the cluster time of the change event as a {@code BsonTimestamp} value, or null if the
+   * document was not read from a change stream.
+   */
+  public Long getClusterTime() {
+    return clusterTime;
+  }
+
+  /** Returns the position of the change event among events sharing the same cluster time. */
+  public Integer getEventOrdinal() {
+    return eventOrdinal;
+  }
+
+  /**
+   * Returns the version of the change event, a string which sorts like the events of the change
+   * stream, or null if the document was not read from a change stream.
+   */
+  public String getVersion() {
+    if (!isChangeEvent()) {
+      return null;
+    }
+    return String.format("%016x%08x", clusterTime, eventOrdinal != null ? eventOrdinal : 0);
+  }
+
+  /** Returns true if the document was read from a change stream. */
+  public boolean isChangeEvent() {
+    return clusterTime != null;
+  }
+
+  /**
+   * Returns true if this change event happened after {@code other}. Documents which are not change
+   * events are always considered older than change events.
+   */
+  public boolean isNewerThan(DocumentWithMetadata other) {
+    if (other == null || !other.isChangeEvent()) {
+      return true;
+    }
+    if (!isChangeEvent()) {
+      return false;
+    }
+    int cmp = Long.compareUnsigned(clusterTime, other.clusterTime);
+    if (cmp != 0) {
+      return cmp > 0;
+    }
+    int ordinal = eventOrdinal != null ? eventOrdinal : 0;
+    int otherOrdinal = other.eventOrdinal != null ? other.eventOrdinal : 0;
+    return ordinal >= otherOrdinal;
+  }
+
+  /** Returns a copy of this document with {@code document} replacing the current document. */
+  public DocumentWithMetadata withDocument(Document document) {
+    return new DocumentWithMetadata(
+        document,
+        originalDocument,
+        retryCount,
+        errorMessage,
+        errorType,
+        sourceCollection,
+        targetCollection,
+        failureStage,
+        operationType,
+        clusterTime,
+        eventOrdinal);
+  }
+
+  /**
+   * Returns a copy of this document carrying the DLQ context. Change event metadata is preserved so
+   * that deletes are still applied as deletes when the event is retried.
+   */
+  public DocumentWithMetadata withFailure(
+      Integer retryCount, String errorMessage, ErrorType errorType, FailureStage failureStage) {
+    return new DocumentWithMetadata(
+        document,
+        originalDocument,
+        retryCount,
+        errorMessage,
+        errorType,
+        sourceCollection,
+        targetCollection,
+        failureStage,
+        operationType,
+        clusterTime,
+        eventOrdinal);
+  }
+
   public static DocumentWithMetadata of(
       Document document,
       String originalDocument,
@@ -200,6 +331,38 @@ public class DocumentWithMetadata implements Serializable {
         failureStage);
   }
 
+  /**
+   * Creates a document read from a change stream.
+   *
+   * @param document the full document for upserts, or a document holding only {@code _id} for
+   *     deletes
+   * @param operationType the write to apply to the target
+   * @param clusterTime the cluster time of the event as a {@code BsonTimestamp} value
+   * @param eventOrdinal the position of the event among events sharing the same cluster time
+   * @param sourceCollection the collection the event was read from
+   * @param targetCollection the collection the event is applied to
+   */
+  public static DocumentWithMetadata ofChangeEvent(
+      Document document,
+      OperationType operationType,
+      long clusterTime,
+      int eventOrdinal,
+      String sourceCollection,
+      String targetCollection) {
+    return new DocumentWithMetadata(
+        document,
+        document.toJson(CANONICAL_JSON_SETTINGS),
+        0,
+        null,
+        null,
+        sourceCollection,
+        targetCollection,
+        null,
+        operationType,
+        clusterTime,
+        eventOrdinal);
+  }
+
   /**
    * Serializes the event for DLQ.
    *
@@ -219,6 +382,11 @@ public class DocumentWithMetadata implements Serializable {
       dlqNode.put(METADATA_SOURCE_COLLECTION, sourceCollection);
       dlqNode.put(METADATA_TARGET_COLLECTION, targetCollection);
       dlqNode.put(METADATA_FAILURE_STAGE, failureStage != null ? failureStage.name() : null);
+      dlqNode.put(METADATA_OPERATION_TYPE, operationType.name());
+      if (isChangeEvent()) {
+        dlqNode.put(METADATA_CLUSTER_TIME, clusterTime);
+        dlqNode.put(METADATA_EVENT_ORDINAL, eventOrdinal);
+      }
 
       return dlqNode.toString();
     } catch (Exception e) {
@@ -258,6 +426,15 @@ public class DocumentWithMetadata implements Serializable {
       String failureStageStr = getOrDefault(jsonNode, METADATA_FAILURE_STAGE, null);
       FailureStage failureStage =
           failureStageStr != null ? FailureStage.valueOf(failureStageStr) : null;
+      String operationTypeStr = getOrDefault(jsonNode, METADATA_OPERATION_TYPE, null);
+      OperationType operationType =
+          operationTypeStr != null ? OperationType.valueOf(operationTypeStr) : null;
+      Long clusterTime =
+          jsonNode.hasNonNull(METADATA_CLUSTER_TIME)
+              ? jsonNode.get(METADATA_CLUSTER_TIME).asLong()
+              : null;
+      Integer eventOrdinal =
+          clusterTime != null ? getIntOrDefault(jsonNode, METADATA_EVENT_ORDINAL, 0) : null;
 
       return new DocumentWithMetadata(
           doc,
@@ -267,7 +444,10 @@ public class DocumentWithMetadata implements Serializable {
           errorType,
           sourceCollection,
           targetCollection,
-          failureStage);
+          failureStage,
+          operationType,
+          clusterTime,
+          eventOrdinal);
     } catch (Exception e) {
       throw new RuntimeException("Failed to parse DLQ message", e);
     }
@@ -26,13 +26,19 @@ import com.mongodb.client.MongoClient;
 import com.mongodb.client.MongoClients;
 import com.mongodb.client.MongoCollection;
 import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.DeleteOneModel;
 import com.mongodb.client.model.ReplaceOneModel;
 import com.mongodb.client.model.ReplaceOptions;
+import com.mongodb.client.model.UpdateOneModel;
+import com.mongodb.client.model.UpdateOptions;
 import com.mongodb.client.model.WriteModel;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
@@ -72,6 +78,14 @@ import org.slf4j.LoggerFactory;
 /** Transforms for the MongoDB to MongoDB template. */
 public class MongoDbTransforms {
 
+  private static final int NUM_WRITE_KEYS = 1000;
+
+  /** Field of the target documents holding the version of the last change event applied. */
+  public static final String VERSION_FIELD = "_dataflow_version";
+
+  /** Field marking the target documents which are tombstones of documents deleted at the source. */
+  public static final String DELETED_FIELD = "_dataflow_deleted";
+
   public static WriteWithDlq writeWithDlq() {
     return new WriteWithDlq();
   }
@@ -85,6 +99,9 @@ public class MongoDbTransforms {
     private Integer maxConcurrentAsyncWrites = 10;
     private Integer maxWriteRetries = 3;
     private Integer dlqMaxRetries = 3;
+    private Boolean orderedById = false;
+    private Boolean insertOnly = false;
+    private Duration maxBufferingDuration;
     private SerializableFunction<String, MongoClient> clientFactory = MongoClients::create;
 
     public WriteWithDlq withUri(String uri) {
@@ -132,23 +149,69 @@ public class MongoDbTransforms {
       return this;
     }
 
+    /**
+     * Batches change events by a hash of their target collection and {@code _id} instead of a
+     * random key, so that only the latest event per {@code _id} in a batch is written. The order of
+     * events across batches is enforced by the target, see {@link WriteFn#toWriteModel}.
+     */
+    public WriteWithDlq withOrderedById(Boolean orderedById) {
+      if (orderedById != null) {
+        this.orderedById = orderedById;
+      }
+      return this;
+    }
+
+    /**
+     * Writes documents only if no document with the same {@code _id} exists in the target. Used by
+     * the initial copy when change events are applied concurrently, so that a snapshot read never
+     * overwrites a newer version of the document written from the change stream.
+     */
+    public WriteWithDlq withInsertOnly(Boolean insertOnly) {
+      if (insertOnly != null) {
+        this.insertOnly = insertOnly;
+      }
+      return this;
+    }
+
+    /**
+     * Flushes partial batches after {@code maxBufferingDuration}. Required for unbounded inputs,
+     * where a batch would otherwise only be written once it is full.
+     */
+    public WriteWithDlq withMaxBufferingDuration(Duration maxBufferingDuration) {
+      this.maxBufferingDuration = maxBufferingDuration;
+      return this;
+    }
+
     @Override
     public PCollection<DocumentWithMetadata> expand(PCollection<DocumentWithMetadata> input) {
+      GroupIntoBatches<String, DocumentWithMetadata> groupIntoBatches =
+          GroupIntoBatches.ofSize(batchSize);
+      if (maxBufferingDuration != null) {
+        groupIntoBatches = groupIntoBatches.withMaxBufferingDuration(maxBufferingDuration);
+      }
+
       TupleTag<DocumentWithMetadata> successTag = new TupleTag<DocumentWithMetadata>() {};
       TupleTag<DocumentWithMetadata> failureTag = new TupleTag<DocumentWithMetadata>() {};
 
+      final boolean keyById = orderedById;
       PCollectionTuple writeResults =
           input
               .apply(
-                  "AddRandomKey",
+                  keyById ? "AddIdKey" : "AddRandomKey",
                   WithKeys.of(
                       doc ->
-                          String.valueOf(
-                              java.util.concurrent.ThreadLocalRandom.current().nextInt(1000))))
+                          keyById
+                              ? String.valueOf(
+                                  Math.floorMod(
+                                      Objects.hash(doc.getTargetCollection(), doc.getId()),
+                                      NUM_WRITE_KEYS))
+                              : String.valueOf(
+                                  java.util.concurrent.ThreadLocalRandom.current()
+                                      .nextInt(NUM_WRITE_KEYS))))
               .setCoder(
                   KvCoder.of(
                       StringUtf8Coder.of(), SerializableCoder.of(DocumentWithMetadata.class)))
-              .apply("GroupIntoBatches", GroupIntoBatches.ofSize(batchSize))
+              .apply("GroupIntoBatches", groupIntoBatches)
               .apply(
                   "WriteBatches",
                   ParDo.of(
@@ -158,6 +221,8 @@ public class MongoDbTransforms {
                               .withMaxConcurrentAsyncWrites(maxConcurrentAsyncWrites)
                               .withMaxWriteRetries(maxWriteRetries)
                               .withDlqMaxRetries(dlqMaxRetries)
+                              .withOrderedById(orderedById)
+                              .withInsertOnly(insertOnly)
                               .withClientFactory(clientFactory)
                               .withFailureTag(failureTag)
                               .build())
@@ -249,6 +314,8 @@ public class MongoDbTransforms {
     private final Integer maxConcurrentAsyncWrites;
     private final Integer maxWriteRetries;
     private final Integer dlqMaxRetries;
+    private final boolean orderedById;
+    private final boolean insertOnly;
     private final SerializableFunction<String, MongoClient> clientFactory;
     private final TupleTag<DocumentWithMetadata> failureTag;
     private transient FluentBackoff backoffSpec;
@@ -261,11 +328,14 @@ public class MongoDbTransforms {
     private final Counter dlqRetries = Metrics.counter(WriteWithDlq.class, "dlqRetries");
     private final Counter permanentFailures =
         Metrics.counter(WriteWithDlq.class, "permanentFailures");
+    private final Counter versionConflicts =
+        Metrics.counter(WriteWithDlq.class, "versionConflicts");
 
     private transient MongoClient mongoClient;
     private transient ExecutorService executor;
     private transient Semaphore semaphore;
     private transient ConcurrentLinkedQueue<CompletableFuture<Void>> futures;
+    private transient Map<String, CompletableFuture<Void>> lastFutureByKey;
     private transient ConcurrentLinkedQueue<DocumentWithMetadata> failures;
     private transient AtomicLong successfulCount;
     private transient ConcurrentHashMap<String, AtomicLong> dynamicCounters;
@@ -273,6 +343,7 @@ public class MongoDbTransforms {
     private transient AtomicLong severeFailedWritesCount;
     private transient AtomicLong dlqRetriesCount;
     private transient AtomicLong permanentFailuresCount;
+    private transient AtomicLong versionConflictsCount;
 
     private void incDynamicCounter(String prefix, String exceptionName, int code, long count) {
       String counterName = prefix + "_" + exceptionName + "_" + code;
@@ -289,11 +360,35 @@ public class MongoDbTransforms {
         Integer dlqMaxRetries,
         SerializableFunction<String, MongoClient> clientFactory,
         TupleTag<DocumentWithMetadata> failureTag) {
+      this(
+          uri,
+          database,
+          maxConcurrentAsyncWrites,
+          maxWriteRetries,
+          dlqMaxRetries,
+          false,
+          false,
+          clientFactory,
+          failureTag);
+    }
+
+    public WriteFn(
+        String uri,
+        String database,
+        Integer maxConcurrentAsyncWrites,
+        Integer maxWriteRetries,
+        Integer dlqMaxRetries,
+        boolean orderedById,
+        boolean insertOnly,
+        SerializableFunction<String, MongoClient> clientFactory,
+        TupleTag<DocumentWithMetadata> failureTag) {
       this.uri = uri;
       this.database = database;
       this.maxConcurrentAsyncWrites = maxConcurrentAsyncWrites;
       this.maxWriteRetries = maxWriteRetries;
       this.dlqMaxRetries = dlqMaxRetries;
+      this.orderedById = orderedById;
+      this.insertOnly = insertOnly;
       this.clientFactory = clientFactory;
       this.failureTag = failureTag;
     }
@@ -308,6 +403,8 @@ public class MongoDbTransforms {
       private Integer maxConcurrentAsyncWrites;
       private Integer maxWriteRetries;
       private Integer dlqMaxRetries = 3;
+      private boolean orderedById = false;
+      private boolean insertOnly = false;
       private SerializableFunction<String, MongoClient> clientFactory;
       private TupleTag<DocumentWithMetadata> failureTag;
 
@@ -336,6 +433,16 @@ public class MongoDbTransforms {
         return this;
       }
 
+      public Builder withOrderedById(boolean orderedById) {
+        this.orderedById = orderedById;
+        return this;
+      }
+
+      public Builder withInsertOnly(boolean insertOnly) {
+        this.insertOnly = insertOnly;
+        return this;
+      }
+
       public Builder withClientFactory(SerializableFunction<String, MongoClient> clientFactory) {
         this.clientFactory = clientFactory;
         return this;
@@ -353,6 +460,8 @@ public class MongoDbTransforms {
             maxConcurrentAsyncWrites,
             maxWriteRetries,
             dlqMaxRetries,
+            orderedById,
+            insertOnly,
             clientFactory,
             failureTag);
       }
@@ -381,6 +490,7 @@ public class MongoDbTransforms {
       mongoClient = clientFactory.apply(uri);
 
       futures = new ConcurrentLinkedQueue<>();
+      lastFutureByKey = new HashMap<>();
       failures = new ConcurrentLinkedQueue<>();
       successfulCount = new AtomicLong(0);
       dynamicCounters = new ConcurrentHashMap<>();
@@ -388,11 +498,13 @@ public class MongoDbTransforms {
       severeFailedWritesCount = new AtomicLong(0);
       dlqRetriesCount = new AtomicLong(0);
       permanentFailuresCount = new AtomicLong(0);
+      versionConflictsCount = new AtomicLong(0);
     }
 
     @ProcessElement
     public void processElement(ProcessContext c) throws InterruptedException {
-      Iterable<DocumentWithMetadata> items = c.element().getValue();
+      Iterable<DocumentWithMetadata> items =
+          orderedById ? latestById(c.element().getValue()) : c.element().getValue();
 
       Map<String, List<WriteModel<Document>>> updatesByCollection = new HashMap<>();
       Map<String, List<DocumentWithMetadata>> itemsByCollection = new HashMap<>();
@@ -405,39 +517,126 @@ public class MongoDbTransforms {
         if (id != null) {
           updatesByCollection
               .computeIfAbsent(targetCol, k -> new ArrayList<>())
-              .add(
-                  new ReplaceOneModel<>(
-                      new Document("_id", id), doc, new ReplaceOptions().upsert(true)));
+              .add(toWriteModel(item, insertOnly, true));
           itemsByCollection.computeIfAbsent(targetCol, k -> new ArrayList<>()).add(item);
         }
       }
 
       if (!updatesByCollection.isEmpty()) {
+        Runnable write =
+            () -> {
+              try {
+                for (Map.Entry<String, List<WriteModel<Document>>> entry :
+                    updatesByCollection.entrySet()) {
+                  String colName = entry.getKey();
+                  List<WriteModel<Document>> currentUpdates = entry.getValue();
+                  List<DocumentWithMetadata> currentItemList = itemsByCollection.get(colName);
+
+                  MongoCollection<Document> col =
+                      mongoClient.getDatabase(database).getCollection(colName);
+
+                  writeBatchWithRetry(col, currentUpdates, currentItemList);
+                }
+              } finally {
+                semaphore.release();
+              }
+            };
+
         semaphore.acquire();
-        CompletableFuture<Void> future =
-            CompletableFuture.runAsync(
-                () -> {
-                  try {
-                    for (Map.Entry<String, List<WriteModel<Document>>> entry :
-                        updatesByCollection.entrySet()) {
-                      String colName = entry.getKey();
-                      List<WriteModel<Document>> currentUpdates = entry.getValue();
-                      List<DocumentWithMetadata> currentItemList = itemsByCollection.get(colName);
-
-                      MongoCollection<Document> col =
-                          mongoClient.getDatabase(database).getCollection(colName);
-
-                      writeBatchWithRetry(col, currentUpdates, currentItemList);
-                    }
-                  } finally {
-                    semaphore.release();
-                  }
-                },
-                executor);
+        CompletableFuture<Void> future;
+        if (orderedById) {
+          // Batches for the same key hold events for the same documents, chain them so that their
+          // conditional writes do not conflict with each other.
+          CompletableFuture<Void> previous = lastFutureByKey.get(c.element().getKey());
+          future =
+              previous == null
+                  ? CompletableFuture.runAsync(write, executor)
+                  : previous.thenRunAsync(write, executor);
+          lastFutureByKey.put(c.element().getKey(), future);
+        } else {
+          future = CompletableFuture.runAsync(write, executor);
+        }
         futures.add(future);
       }
     }
 
+    /**
+     * Returns the write applying {@code item} to the target.
+     *
+     * <p>Change events are only applied if the version stored in the target document, see {@link
+     * DocumentWithMetadata#getVersion()}, is older than theirs, so that an event retried or written
+     * by a later bundle never overwrites a newer one. Deletes replace the document with a tombstone
+     * holding the version of the delete, which keeps older events and the initial copy from
+     * bringing the document back. If the stored version is newer, the upsert fails with a duplicate
+     * key error and the write is retried without upsert, which leaves the document as is.
+     *
+     * <p>With {@code insertOnly}, documents of the initial copy are only inserted if no document,
+     * or tombstone, with the same {@code _id} exists in the target.
+     */
+    static WriteModel<Document> toWriteModel(
+        DocumentWithMetadata item, boolean insertOnly, boolean upsert) {
+      Object id = item.getId();
+      boolean delete = item.getOperationType() == DocumentWithMetadata.OperationType.DELETE;
+      if (item.isChangeEvent()) {
+        String version = item.getVersion();
+        Document filter =
+            new Document("_id", id)
+                .append(
+                    "$or",
+                    Arrays.asList(
+                        new Document(VERSION_FIELD, new Document("$exists", false)),
+                        new Document(VERSION_FIELD, new Document("$lt", version))));
+        Document replacement =
+            delete
+                ? new Document("_id", id).append(DELETED_FIELD, true)
+                : new Document(item.getDocument());
+        replacement.put(VERSION_FIELD, version);
+        return new ReplaceOneModel<>(filter, replacement, new ReplaceOptions().upsert(upsert));
+      }
+      Document filter = new Document("_id", id);
+      if (delete) {
+        return new DeleteOneModel<>(filter);
+      }
+      if (insertOnly) {
+        Document fields = new Document(item.getDocument());
+        fields.remove("_id");
+        return new UpdateOneModel<>(
+            filter, new Document("$setOnInsert", fields), new UpdateOptions().upsert(true));
+      }
+      return new ReplaceOneModel<>(filter, item.getDocument(), new ReplaceOptions().upsert(true));
+    }
+
+    /**
+     * Returns true if a duplicate key error on {@code update} means that the target document holds
+     * a newer change event. The write is then retried without upsert, which only applies it if the
+     * version in the target is older after all, e.g. if the document was inserted concurrently.
+     */
+    private static boolean isVersionConflict(
+        int code, DocumentWithMetadata item, WriteModel<Document> update) {
+      return ErrorCategory.fromErrorCode(code) == ErrorCategory.DUPLICATE_KEY
+          && item.isChangeEvent()
+          && update instanceof ReplaceOneModel
+          && ((ReplaceOneModel<Document>) update).getReplaceOptions().isUpsert();
+    }
+
+    /**
+     * Keeps only the latest change event per target collection and {@code _id}, since the
+     * operations of an unordered bulk write may be applied in any order.
+     */
+    static List<DocumentWithMetadata> latestById(Iterable<DocumentWithMetadata> items) {
+      Map<List<Object>, DocumentWithMetadata> latest = new LinkedHashMap<>();
+      for (DocumentWithMetadata item : items) {
+        if (item.getDocument() == null) {
+          continue;
+        }
+        latest.merge(
+            Arrays.asList(item.getTargetCollection(), item.getId()),
+            item,
+            (current, candidate) -> candidate.isNewerThan(current) ? candidate : current);
+      }
+      return new ArrayList<>(latest.values());
+    }
+
     private void writeBatchWithRetry(
         MongoCollection<Document> col,
         List<WriteModel<Document>> currentUpdates,
@@ -456,14 +655,16 @@ public class MongoDbTransforms {
 
           List<WriteModel<Document>> nextUpdates = new ArrayList<>();
           List<DocumentWithMetadata> nextItemList = new ArrayList<>();
-          generateRetryBatch(
-              writeErrors, currentUpdates, currentItemList, nextUpdates, nextItemList);
+          boolean transientErrors =
+              generateRetryBatch(
+                  writeErrors, currentUpdates, currentItemList, nextUpdates, nextItemList);
 
           if (nextUpdates.isEmpty()) {
             break;
           }
 
-          if (handleBackoff(sleeper, backoff, nextItemList)) {
+          // Version conflicts are retried right away, only transient errors need a backoff.
+          if (transientErrors && handleBackoff(sleeper, backoff, nextItemList)) {
             break;
           }
 
@@ -511,19 +712,25 @@ public class MongoDbTransforms {
       return false;
     }
 
-    private void generateRetryBatch(
+    /** Returns true if some of the writes to retry failed with a transient error. */
+    private boolean generateRetryBatch(
         List<BulkWriteError> writeErrors,
         List<WriteModel<Document>> currentUpdates,
         List<DocumentWithMetadata> currentItemList,
         List<WriteModel<Document>> nextUpdates,
         List<DocumentWithMetadata> nextItemList) {
+      boolean transientErrors = false;
       for (BulkWriteError error : writeErrors) {
         int index = error.getIndex();
         if (index >= 0 && index < currentItemList.size()) {
           DocumentWithMetadata failedItem = currentItemList.get(index);
           WriteModel<Document> failedUpdate = currentUpdates.get(index);
 
-          if (isPermanentErrorCode(error.getCode())) {
+          if (isVersionConflict(error.getCode(), failedItem, failedUpdate)) {
+            versionConflictsCount.incrementAndGet();
+            nextUpdates.add(toWriteModel(failedItem, insertOnly, false));
+            nextItemList.add(failedItem);
+          } else if (isPermanentErrorCode(error.getCode())) {
             incDynamicCounter("severeFailedWrites", "MongoBulkWriteException", error.getCode(), 1);
             if (severeFailedWritesCount != null) {
               severeFailedWritesCount.addAndGet(1);
@@ -538,9 +745,11 @@ public class MongoDbTransforms {
             }
             nextUpdates.add(failedUpdate);
             nextItemList.add(failedItem);
+            transientErrors = true;
           }
         }
       }
+      return transientErrors;
     }
 
     private void writePermanentDlqMessage(List<DocumentWithMetadata> itemList, String message) {
@@ -569,15 +778,8 @@ public class MongoDbTransforms {
         DocumentWithMetadata.ErrorType errorType = isPermanent ? PERMANENT : RETRYABLE;
 
         failures.add(
-            DocumentWithMetadata.of(
-                item.getDocument(),
-                item.getOriginalDocument(),
-                retryCount,
-                message,
-                errorType,
-                item.getSourceCollection(),
-                item.getTargetCollection(),
-                DocumentWithMetadata.FailureStage.WRITE));
+            item.withFailure(
+                retryCount, message, errorType, DocumentWithMetadata.FailureStage.WRITE));
       }
     }
 
@@ -617,6 +819,9 @@ public class MongoDbTransforms {
       if (permanentFailuresCount != null) {
         permanentFailures.inc(permanentFailuresCount.get());
       }
+      if (versionConflictsCount != null) {
+        versionConflicts.inc(versionConflictsCount.get());
+      }
       if (dynamicCounters != null) {
         dynamicCounters.forEach(
             (name, count) -> Metrics.counter(WriteWithDlq.class, name).inc(count.get()));
@@ -667,20 +872,13 @@ public class MongoDbTransforms {
     @ProcessElement
     public void processElement(ProcessContext c) {
       DocumentWithMetadata item = c.element();
-      if (javascriptRuntime != null) {
+      if (javascriptRuntime != null
+          && item.getOperationType() != DocumentWithMetadata.OperationType.DELETE) {
         try {
           String transformed = javascriptRuntime.invoke(item.getOriginalDocument());
           if (transformed != null) {
             Document doc = Document.parse(transformed);
-            c.output(
-                DocumentWithMetadata.of(
-                    doc,
-                    item.getOriginalDocument(),
-                    item.getRetryCount(),
-                    item.getErrorMessage(),
-                    item.getErrorType(),
-                    item.getSourceCollection(),
-                    item.getTargetCollection()));
+            c.output(item.withDocument(doc));
           } else {
             LOG.warn("UDF returned null for document ID: {}", item.getId());
             udfProcessingFailures.inc();
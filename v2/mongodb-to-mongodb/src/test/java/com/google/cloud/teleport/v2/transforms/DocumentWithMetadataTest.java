@@ -17,6 +17,7 @@ package com.google.cloud.teleport.v2.transforms;
 
 import static com.google.cloud.teleport.v2.transforms.DocumentWithMetadata.ErrorType.RETRYABLE;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
 import org.bson.Document;
@@ -102,4 +103,62 @@ public class DocumentWithMetadataTest {
     DocumentWithMetadata item = DocumentWithMetadata.of(doc);
     assertEquals(null, item.getId());
   }
+
+  @Test
+  public void documentWithMetadata_changeEvent_dlqRoundTripKeepsOperationType() {
+    DocumentWithMetadata delete =
+        DocumentWithMetadata.ofChangeEvent(
+            new Document("_id", 1),
+            DocumentWithMetadata.OperationType.DELETE,
+            100L,
+            0,
+            "srcCol",
+            "tgtCol");
+
+    DocumentWithMetadata reconstructed =
+        DocumentWithMetadata.fromDlqJson(delete.toDlqJson("Error message", RETRYABLE, 1));
+
+    assertEquals(DocumentWithMetadata.OperationType.DELETE, reconstructed.getOperationType());
+    assertEquals(delete.getDocument(), reconstructed.getDocument());
+    assertEquals(delete.getVersion(), reconstructed.getVersion());
+  }
+
+  @Test
+  public void documentWithMetadata_getVersion_sortsLikeChangeEvents() {
+    Document doc = new Document("_id", 1);
+    DocumentWithMetadata first =
+        DocumentWithMetadata.ofChangeEvent(
+            doc, DocumentWithMetadata.OperationType.UPSERT, 100L, 9, "srcCol", "tgtCol");
+    DocumentWithMetadata second =
+        DocumentWithMetadata.ofChangeEvent(
+            doc, DocumentWithMetadata.OperationType.UPSERT, 100L, 10, "srcCol", "tgtCol");
+    DocumentWithMetadata third =
+        DocumentWithMetadata.ofChangeEvent(
+            doc, DocumentWithMetadata.OperationType.UPSERT, 0x100L, 0, "srcCol", "tgtCol");
+
+    assertTrue(first.getVersion().compareTo(second.getVersion()) < 0);
+    assertTrue(second.getVersion().compareTo(third.getVersion()) < 0);
+    assertEquals(null, DocumentWithMetadata.of(doc, "srcCol", "tgtCol").getVersion());
+  }
+
+  @Test
+  public void documentWithMetadata_isNewerThan_comparesClusterTimeThenOrdinal() {
+    Document doc = new Document("_id", 1);
+    DocumentWithMetadata snapshot = DocumentWithMetadata.of(doc, "srcCol", "tgtCol");
+    DocumentWithMetadata first =
+        DocumentWithMetadata.ofChangeEvent(
+            doc, DocumentWithMetadata.OperationType.UPSERT, 100L, 0, "srcCol", "tgtCol");
+    DocumentWithMetadata second =
+        DocumentWithMetadata.ofChangeEvent(
+            doc, DocumentWithMetadata.OperationType.DELETE, 100L, 1, "srcCol", "tgtCol");
+    DocumentWithMetadata third =
+        DocumentWithMetadata.ofChangeEvent(
+            doc, DocumentWithMetadata.OperationType.UPSERT, 101L, 0, "srcCol", "tgtCol");
+
+    assertTrue(first.isNewerThan(snapshot));
+    assertFalse(snapshot.isNewerThan(first));
+    assertTrue(second.isNewerThan(first));
+    assertFalse(first.isNewerThan(second));
+    assertTrue(third.isNewerThan(second));
+  }
 }
@@ -16,6 +16,8 @@
 package com.google.cloud.teleport.v2.transforms;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyString;
@@ -30,6 +32,9 @@ import com.mongodb.client.MongoClient;
 import com.mongodb.client.MongoCollection;
 import com.mongodb.client.MongoDatabase;
 import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.DeleteOneModel;
+import com.mongodb.client.model.ReplaceOneModel;
+import com.mongodb.client.model.UpdateOneModel;
 import com.mongodb.client.model.WriteModel;
 import java.io.File;
 import java.io.FileWriter;
@@ -243,6 +248,182 @@ public class MongoDbTransformsTest {
     assertSuccessCount(result, 0L);
   }
 
+  @Test
+  @SuppressWarnings("unchecked")
+  public void writeWithDlq_orderedById_writesLatestChangeEventOnly() {
+    List<List<WriteModel<Document>>> writes = new java.util.concurrent.CopyOnWriteArrayList<>();
+    when(staticCollection.bulkWrite(anyList(), any(BulkWriteOptions.class)))
+        .thenAnswer(
+            invocation -> {
+              writes.add(invocation.getArgument(0));
+              return mock(BulkWriteResult.class);
+            });
+
+    PCollection<DocumentWithMetadata> input =
+        pipeline.apply(
+            Create.of(
+                DocumentWithMetadata.ofChangeEvent(
+                    new Document("_id", 1).append("v", 1),
+                    DocumentWithMetadata.OperationType.UPSERT,
+                    100L,
+                    0,
+                    "test",
+                    "test"),
+                DocumentWithMetadata.ofChangeEvent(
+                    new Document("_id", 1),
+                    DocumentWithMetadata.OperationType.DELETE,
+                    101L,
+                    0,
+                    "test",
+                    "test")));
+
+    input.apply(
+        "Write_Ordered",
+        MongoDbTransforms.writeWithDlq()
+            .withUri("mongodb://localhost:27017")
+            .withDatabase("test")
+            .withBatchSize(2)
+            .withOrderedById(true)
+            .withClientFactory(new MockClientFactory()));
+    PipelineResult result = pipeline.run();
+
+    assertEquals(1, writes.size());
+    assertEquals(1, writes.get(0).size());
+    ReplaceOneModel<Document> tombstone = (ReplaceOneModel<Document>) writes.get(0).get(0);
+    assertEquals(Boolean.TRUE, tombstone.getReplacement().get(MongoDbTransforms.DELETED_FIELD));
+    assertSuccessCount(result, 1L);
+  }
+
+  @Test
+  public void writeFn_toWriteModel_changeEventIsConditionalOnVersion() {
+    DocumentWithMetadata event =
+        DocumentWithMetadata.ofChangeEvent(
+            new Document("_id", 1).append("v", 2),
+            DocumentWithMetadata.OperationType.UPSERT,
+            100L,
+            3,
+            "test",
+            "test");
+
+    ReplaceOneModel<Document> write =
+        (ReplaceOneModel<Document>) MongoDbTransforms.WriteFn.toWriteModel(event, true, true);
+
+    Document expectedFilter =
+        new Document("_id", 1)
+            .append(
+                "$or",
+                Arrays.asList(
+                    new Document(MongoDbTransforms.VERSION_FIELD, new Document("$exists", false)),
+                    new Document(
+                        MongoDbTransforms.VERSION_FIELD, new Document("$lt", event.getVersion()))));
+    assertEquals(expectedFilter, write.getFilter());
+    assertEquals(
+        new Document("_id", 1)
+            .append("v", 2)
+            .append(MongoDbTransforms.VERSION_FIELD, event.getVersion()),
+        write.getReplacement());
+    assertTrue(write.getReplaceOptions().isUpsert());
+  }
+
+  @Test
+  public void writeFn_toWriteModel_deleteWithoutVersionDeletesDocument() {
+    DocumentWithMetadata delete =
+        new DocumentWithMetadata(
+            new Document("_id", 1),
+            null,
+            0,
+            null,
+            null,
+            "test",
+            "test",
+            null,
+            DocumentWithMetadata.OperationType.DELETE,
+            null,
+            null);
+
+    assertTrue(
+        MongoDbTransforms.WriteFn.toWriteModel(delete, false, true) instanceof DeleteOneModel);
+  }
+
+  @Test
+  public void writeWithDlq_versionConflict_retriesWithoutUpsert() {
+    List<List<WriteModel<Document>>> writes = new java.util.concurrent.CopyOnWriteArrayList<>();
+    when(staticCollection.bulkWrite(anyList(), any(BulkWriteOptions.class)))
+        .thenAnswer(
+            invocation -> {
+              writes.add(invocation.getArgument(0));
+              if (writes.size() == 1) {
+                throw new MongoBulkWriteException(
+                    mock(BulkWriteResult.class),
+                    Arrays.asList(
+                        new BulkWriteError(11000, "Duplicate Key", new BsonDocument(), 0)),
+                    null,
+                    new ServerAddress(),
+                    Collections.emptySet());
+              }
+              return mock(BulkWriteResult.class);
+            });
+
+    PCollection<DocumentWithMetadata> input =
+        pipeline.apply(
+            Create.of(
+                DocumentWithMetadata.ofChangeEvent(
+                    new Document("_id", 1).append("v", 1),
+                    DocumentWithMetadata.OperationType.UPSERT,
+                    100L,
+                    0,
+                    "test",
+                    "test")));
+
+    input.apply(
+        "Write_VersionConflict",
+        MongoDbTransforms.writeWithDlq()
+            .withUri("mongodb://localhost:27017")
+            .withDatabase("test")
+            .withBatchSize(1)
+            .withOrderedById(true)
+            .withClientFactory(new MockClientFactory()));
+    PipelineResult result = pipeline.run();
+
+    assertEquals(2, writes.size());
+    assertFalse(((ReplaceOneModel<Document>) writes.get(1).get(0)).getReplaceOptions().isUpsert());
+    assertCounter(result, "versionConflicts", 1L);
+    assertCounter(result, "permanentFailures", 0L);
+    assertSuccessCount(result, 1L);
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void writeWithDlq_insertOnly_doesNotReplaceExistingDocuments() {
+    List<List<WriteModel<Document>>> writes = new java.util.concurrent.CopyOnWriteArrayList<>();
+    when(staticCollection.bulkWrite(anyList(), any(BulkWriteOptions.class)))
+        .thenAnswer(
+            invocation -> {
+              writes.add(invocation.getArgument(0));
+              return mock(BulkWriteResult.class);
+            });
+
+    PCollection<DocumentWithMetadata> input =
+        pipeline.apply(
+            Create.of(
+                DocumentWithMetadata.of(new Document("_id", 1).append("v", 1), "test", "test")));
+
+    input.apply(
+        "Write_InsertOnly",
+        MongoDbTransforms.writeWithDlq()
+            .withUri("mongodb://localhost:27017")
+            .withDatabase("test")
+            .withBatchSize(1)
+            .withInsertOnly(true)
+            .withClientFactory(new MockClientFactory()));
+    pipeline.run();
+
+    assertEquals(1, writes.size());
+    UpdateOneModel<Document> update = (UpdateOneModel<Document>) writes.get(0).get(0);
+    assertEquals(new Document("$setOnInsert", new Document("v", 1)), update.getUpdate());
+    assertTrue(update.getOptions().isUpsert());
+  }
+
   private long getCounterValue(PipelineResult result, String counterName) {
     for (MetricResult<Long> c :
         result.metrics().queryMetrics(MetricsFilter.builder().build()).getCounters()) {
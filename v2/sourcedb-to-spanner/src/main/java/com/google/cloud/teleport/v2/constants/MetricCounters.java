@@ -27,6 +27,17 @@ public class MetricCounters {
   // Counter for errors encountered by the reader when trying to map JDBC ResultSet to a SourceRow.
   public static final String READER_MAPPING_ERRORS = "reader_mapping_errors";
 
+  // Counter for rows the reader mapped directly from a JDBC ResultSet to a Spanner mutation.
+  public static final String DIRECT_MUTATION_ROWS = "direct_mutation_rows";
+
+  // Counter for rows that could not be mapped directly to a Spanner mutation and were mapped to an
+  // Avro record for the transformer instead.
+  public static final String DIRECT_MUTATION_FALLBACKS = "direct_mutation_fallbacks";
+
+  // Distribution of the rows of a bundle that the transformer converts per second of conversion
+  // time, excluding the time spent in the fused read and in the outputs.
+  public static final String TRANSFORMER_ROWS_PER_SECOND = "transformer_rows_per_second";
+
   // Counter for errors encountered by the reader while discovering schema. This counts all sorts of
   // errors including SQLTransientConnectionException, SQLNonTransientConnectionException,
   // SQLExceptions etc.
@@ -440,4 +440,58 @@ public interface SourceDbToSpannerOptions extends CommonTemplateOptions {
   String getGcsOutputDirectory();
 
   void setGcsOutputDirectory(String value);
+
+  @TemplateParameter.Boolean(
+      order = 35,
+      optional = true,
+      description = "Map JDBC rows directly to Spanner mutations.",
+      helpText =
+          "If enabled, the reader maps rows of JDBC sources directly to Spanner mutations instead of"
+              + " intermediate Avro records, which reduces the CPU spent per row. Ignored if a"
+              + " custom transformation or gcsOutputDirectory is configured. Defaults to false.")
+  @Default.Boolean(false)
+  Boolean getDirectMutationMapping();
+
+  void setDirectMutationMapping(Boolean value);
+
+  @TemplateParameter.Long(
+      order = 36,
+      optional = true,
+      description = "Target size of a Cassandra read split in bytes.",
+      helpText =
+          "Target size in bytes of the token range splits read from Cassandra, based on the size"
+              + " estimates in system.size_estimates. Token ranges holding more data are read as"
+              + " more splits. numPartitions, if set, is the minimum number of splits. Set to 0 to"
+              + " split the token ring evenly instead. Ignored for non-Cassandra dialects."
+              + " Defaults to 128 MiB.")
+  @Default.Long(128L * 1024 * 1024)
+  Long getCassandraTargetSplitSizeBytes();
+
+  void setCassandraTargetSplitSizeBytes(Long value);
+
+  @TemplateParameter.Integer(
+      order = 37,
+      optional = true,
+      description = "Batch size for custom transformation",
+      helpText =
+          "Maximum number of rows passed to a single call of a custom transformation class that"
+              + " implements IBatchSpannerMigrationTransformer. Values of 1 or less transform each"
+              + " row separately. Defaults to 1.")
+  @Default.Integer(1)
+  Integer getTransformationBatchSize();
+
+  void setTransformationBatchSize(Integer value);
+
+  @TemplateParameter.Long(
+      order = 38,
+      optional = true,
+      description = "Maximum batch latency for custom transformation in milliseconds",
+      helpText =
+          "Maximum time in milliseconds a row waits for its custom transformation batch to fill"
+              + " up before the batch is transformed. Only used if transformationBatchSize is"
+              + " greater than 1. Defaults to 1000.")
+  @Default.Long(1000)
+  Long getTransformationBatchMaxLatencyMs();
+
+  void setTransformationBatchMaxLatencyMs(Long value);
 }
@@ -20,7 +20,6 @@ import com.google.cloud.teleport.v2.reader.io.exception.RetriableSchemaDiscovery
 import com.google.cloud.teleport.v2.reader.io.exception.SchemaDiscoveryException;
 import com.google.cloud.teleport.v2.reader.io.jdbc.JdbcSchemaReference;
 import com.google.cloud.teleport.v2.reader.io.jdbc.rowmapper.JdbcValueMappingsProvider;
-import com.google.cloud.teleport.v2.reader.io.jdbc.uniformsplitter.UniformSplitterDBAdapter;
 import com.google.cloud.teleport.v2.reader.io.schema.RetriableSchemaDiscovery;
 import com.google.cloud.teleport.v2.reader.io.schema.SourceColumnIndexInfo;
 import com.google.cloud.teleport.v2.reader.io.schema.SourceSchemaReference;
@@ -38,7 +37,7 @@ import java.util.Map;
  * <p><b>Note:</b>As a prt of M2 effort, this interface will expose more mehtods than just extending
  * {@link RetriableSchemaDiscovery}.
  */
-public interface DialectAdapter extends RetriableSchemaDiscovery, UniformSplitterDBAdapter {
+public interface DialectAdapter extends RetriableSchemaDiscovery, UniformSplitterDialectAdapter {
 
   /**
    * Set the login timeout and other connectivity properties for the datasource. //TODO- see how to
@@ -119,12 +118,6 @@ public interface DialectAdapter extends RetriableSchemaDiscovery, UniformSplitte
     return discoverTableIndexes(dataSource.jdbc(), sourceSchemaReference.jdbc(), tables);
   }
 
-  ImmutableMap<String, ImmutableList<SourceColumnIndexInfo>> discoverTableIndexes(
-      javax.sql.DataSource dataSource,
-      JdbcSchemaReference sourceSchemaReference,
-      ImmutableList<String> tables)
-      throws SchemaDiscoveryException, RetriableSchemaDiscoveryException;
-
   default long estimateRowSize(
       SourceTableSchema sourceTableSchema, JdbcValueMappingsProvider jdbcValueMappingsProvider) {
     return estimateRowSize(
@@ -146,15 +139,6 @@ public interface DialectAdapter extends RetriableSchemaDiscovery, UniformSplitte
    * @return the IN clause string.
    */
   static String generateInClause(int size) {
-    Preconditions.checkArgument(size > 0, "size must be greater than 0");
-    StringBuilder sb = new StringBuilder("(");
-    for (int i = 0; i < size; i++) {
-      sb.append("?");
-      if (i < size - 1) {
-        sb.append(",");
-      }
-    }
-    sb.append(")");
-    return sb.toString();
+    return UniformSplitterDialectAdapter.generateInClause(size);
   }
 }
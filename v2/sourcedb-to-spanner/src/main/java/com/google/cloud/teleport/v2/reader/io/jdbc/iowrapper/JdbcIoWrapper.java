@@ -23,20 +23,21 @@ import com.google.cloud.teleport.v2.reader.io.jdbc.dialectadapter.DialectAdapter
 import com.google.cloud.teleport.v2.reader.io.jdbc.iowrapper.config.JdbcIOWrapperConfig;
 import com.google.cloud.teleport.v2.reader.io.jdbc.iowrapper.config.JdbcIoWrapperConfigGroup;
 import com.google.cloud.teleport.v2.reader.io.jdbc.iowrapper.config.TableConfig;
+import com.google.cloud.teleport.v2.reader.io.jdbc.rowmapper.DirectMutationSpec;
+import com.google.cloud.teleport.v2.reader.io.jdbc.rowmapper.JdbcMutationRowMapper;
 import com.google.cloud.teleport.v2.reader.io.jdbc.rowmapper.JdbcSourceRowMapper;
 import com.google.cloud.teleport.v2.reader.io.jdbc.uniformsplitter.DataSourceProvider;
 import com.google.cloud.teleport.v2.reader.io.jdbc.uniformsplitter.DataSourceProviderImpl;
-import com.google.cloud.teleport.v2.reader.io.jdbc.uniformsplitter.range.PartitionColumn;
 import com.google.cloud.teleport.v2.reader.io.jdbc.uniformsplitter.range.Range;
 import com.google.cloud.teleport.v2.reader.io.jdbc.uniformsplitter.range.TableIdentifier;
 import com.google.cloud.teleport.v2.reader.io.jdbc.uniformsplitter.range.TableReadSpecification;
 import com.google.cloud.teleport.v2.reader.io.jdbc.uniformsplitter.range.TableSplitSpecification;
 import com.google.cloud.teleport.v2.reader.io.jdbc.uniformsplitter.transforms.ReadWithUniformPartitions;
 import com.google.cloud.teleport.v2.reader.io.row.SourceRow;
+import com.google.cloud.teleport.v2.reader.io.row.SourceRowCoder;
 import com.google.cloud.teleport.v2.reader.io.schema.SchemaDiscovery;
 import com.google.cloud.teleport.v2.reader.io.schema.SchemaDiscoveryImpl;
 import com.google.cloud.teleport.v2.reader.io.schema.SourceColumnIndexInfo;
-import com.google.cloud.teleport.v2.reader.io.schema.SourceColumnIndexInfo.IndexType;
 import com.google.cloud.teleport.v2.reader.io.schema.SourceSchema;
 import com.google.cloud.teleport.v2.reader.io.schema.SourceSchemaReference;
 import com.google.cloud.teleport.v2.reader.io.schema.SourceTableReference;
@@ -45,7 +46,6 @@ import com.google.cloud.teleport.v2.spanner.migrations.schema.SourceColumnType;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
-import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Lists;
 import java.sql.SQLException;
 import java.util.List;
@@ -423,46 +423,9 @@ public final class JdbcIoWrapper implements IoWrapper {
           .filter(info -> info.isPrimary() && info.ordinalPosition() == 1)
           .map(SourceColumnIndexInfo::cardinality)
           .forEach(tableConfigBuilder::setApproxRowCount);
-      if (config.tableVsPartitionColumns().containsKey(tableName)) {
-        config.tableVsPartitionColumns().get(tableName).stream()
-            .map(
-                colName ->
-                    tableIndexInfo.stream()
-                        .filter(info -> info.columnName().equals(colName))
-                        .findFirst()
-                        .get())
-            .sorted()
-            .map(JdbcIoWrapper::partitionColumnFromIndexInfo)
-            .forEach(tableConfigBuilder::withPartitionColum);
-      } else {
-        ImmutableSet<IndexType> supportedIndexTypes =
-            ImmutableSet.of(
-                IndexType.NUMERIC,
-                IndexType.STRING,
-                IndexType.BIG_INT_UNSIGNED,
-                IndexType.BINARY,
-                IndexType.TIME_STAMP,
-                IndexType.DATE,
-                IndexType.DECIMAL,
-                IndexType.FLOAT,
-                IndexType.DOUBLE,
-                IndexType.DURATION);
-        // As of now only Primary key index with Numeric type is supported.
-        // TODO:
-        //    1. support non-primary unique indexes.
-        //        Note: most of the implementation is generic for any unique index.
-        //        Need to benchmark and do the end to end implementation.
-        //    2. support for composite indexes
-        //       Note: though we have most of the code for composite index, since we cap the
-        // splitting stages to 1, additional indexes will not be considered for splitting as of now.
-        tableIndexInfo.stream()
-            .filter(
-                idxInfo ->
-                    (idxInfo.isPrimary() && supportedIndexTypes.contains(idxInfo.indexType())))
-            .sorted()
-            .map(JdbcIoWrapper::partitionColumnFromIndexInfo)
-            .forEach(tableConfigBuilder::withPartitionColum);
-      }
+      UniformPartitionsTableRead.inferPartitionColumns(
+              tableIndexInfo, config.tableVsPartitionColumns().get(tableName))
+          .forEach(tableConfigBuilder::withPartitionColum);
       TableConfig tableConfig = tableConfigBuilder.build();
       if (tableConfig.partitionColumns().isEmpty()) {
         throw new SuitableIndexNotFoundException(
@@ -476,17 +439,6 @@ public final class JdbcIoWrapper implements IoWrapper {
     }
   }
 
-  @VisibleForTesting
-  protected static java.lang.Class indexTypeToColumnClass(SourceColumnIndexInfo indexInfo)
-      throws SuitableIndexNotFoundException {
-    if (SourceColumnIndexInfo.INDEX_TYPE_TO_CLASS.containsKey(indexInfo.indexType())) {
-      return SourceColumnIndexInfo.INDEX_TYPE_TO_CLASS.get(indexInfo.indexType());
-    } else {
-      throw new SuitableIndexNotFoundException(
-          new Throwable("No class Mapping for IndexType " + indexInfo));
-    }
-  }
-
   /**
    * Delimit the Identifiers as per <a
    * href=https://github.com/ronsavage/SQL/blob/master/sql-99.bnf>sql-99</a>. This is needed to
@@ -497,20 +449,7 @@ public final class JdbcIoWrapper implements IoWrapper {
    */
   @VisibleForTesting
   protected static String delimitIdentifier(String identifier) {
-    return "\"" + identifier.replaceAll("\"", "\"\"") + "\"";
-  }
-
-  private static PartitionColumn partitionColumnFromIndexInfo(SourceColumnIndexInfo idxInfo) {
-    return PartitionColumn.builder()
-        .setColumnName(delimitIdentifier(idxInfo.columnName()))
-        .setColumnClass(indexTypeToColumnClass(idxInfo))
-        .setStringCollation(idxInfo.collationReference())
-        .setStringMaxLength(idxInfo.stringMaxLength())
-        .setNumericScale(idxInfo.numericScale())
-        .setDecimalStepSize(idxInfo.decimalStepSize())
-        .setDatetimePrecision(idxInfo.datetimePrecision())
-        .setColumnTypeName(idxInfo.columnTypeName())
-        .build();
+    return UniformPartitionsTableRead.delimitIdentifier(identifier);
   }
 
   @VisibleForTesting
@@ -529,6 +468,30 @@ public final class JdbcIoWrapper implements IoWrapper {
     return ImmutableList.copyOf(tables);
   }
 
+  /**
+   * Private helper to construct the {@link JdbcIO.RowMapper} for a table. Rows are mapped directly
+   * to Spanner mutations if {@link JdbcIOWrapperConfig#directMutationSpec()} is set and supports
+   * the table, and to Avro records otherwise.
+   */
+  @VisibleForTesting
+  protected static JdbcIO.RowMapper<SourceRow> getRowMapper(
+      JdbcIOWrapperConfig config,
+      SourceSchemaReference sourceSchemaReference,
+      SourceTableSchema sourceTableSchema) {
+    DirectMutationSpec directMutationSpec = config.directMutationSpec();
+    if (directMutationSpec != null
+        && JdbcMutationRowMapper.isSupported(directMutationSpec, sourceTableSchema)) {
+      return new JdbcMutationRowMapper(
+          config.valueMappingsProvider(),
+          sourceSchemaReference,
+          sourceTableSchema,
+          config.shardID(),
+          directMutationSpec);
+    }
+    return new JdbcSourceRowMapper(
+        config.valueMappingsProvider(), sourceSchemaReference, sourceTableSchema, config.shardID());
+  }
+
   /**
    * Private helper to construct {@link JdbcIO} as per the reader configuration.
    *
@@ -551,12 +514,8 @@ public final class JdbcIoWrapper implements IoWrapper {
             .withTable(delimitIdentifier(tableConfig.tableName()))
             .withPartitionColumn(tableConfig.partitionColumns().get(0).columnName())
             .withDataSourceProviderFn(JdbcIO.PoolableDataSourceProvider.of(dataSourceConfiguration))
-            .withRowMapper(
-                new JdbcSourceRowMapper(
-                    config.valueMappingsProvider(),
-                    sourceSchemaReference,
-                    sourceTableSchema,
-                    config.shardID()));
+            .withRowMapper(getRowMapper(config, sourceSchemaReference, sourceTableSchema))
+            .withCoder(SourceRowCoder.of(sourceSchemaReference, sourceTableSchema));
     if (tableConfig.maxPartitions() != null) {
       jdbcIO = jdbcIO.withNumPartitions(tableConfig.maxPartitions());
     }
@@ -632,6 +591,7 @@ public final class JdbcIoWrapper implements IoWrapper {
             .setDbParallelizationForSplitProcess(dbParallelizationForSplitProcess)
             .setDbParallelizationForReads(dbParallelizationForReads)
             .setAdditionalOperationsOnRanges(additionalOperationsOnRanges)
+            .setCoder(getSourceRowCoder(perSourceDiscoveries))
             .build();
 
     // We batch the partitions in groups of MAX_SHARDS_PER_LOG batches for
@@ -657,6 +617,31 @@ public final class JdbcIoWrapper implements IoWrapper {
     return tableReadersBuilder.build();
   }
 
+  /**
+   * Builds a {@link SourceRowCoder} that knows about the table schemas of all the sources which are
+   * read with {@link ReadWithUniformPartitions}.
+   *
+   * @param perSourceDiscoveries List of discovery results.
+   * @return coder for the rows read from these sources.
+   */
+  @VisibleForTesting
+  protected static SourceRowCoder getSourceRowCoder(
+      ImmutableList<PerSourceDiscovery> perSourceDiscoveries) {
+    ImmutableList.Builder<SourceSchemaReference> sourceSchemaReferences = ImmutableList.builder();
+    ImmutableList.Builder<SourceTableSchema> sourceTableSchemas = ImmutableList.builder();
+    for (PerSourceDiscovery perSourceDiscovery : perSourceDiscoveries) {
+      if (!perSourceDiscovery.config().readWithUniformPartitionsFeatureEnabled()) {
+        continue;
+      }
+      sourceSchemaReferences.add(perSourceDiscovery.sourceSchema().schemaReference());
+      for (TableConfig tableConfig : perSourceDiscovery.tableConfigs()) {
+        sourceTableSchemas.add(
+            findSourceTableSchema(perSourceDiscovery.sourceSchema(), tableConfig));
+      }
+    }
+    return SourceRowCoder.of(sourceSchemaReferences.build(), sourceTableSchemas.build());
+  }
+
   /**
    * Accumulates table-specific specifications (read specs, split specs, and table references) from
    * a source discovery into the provided builders.
@@ -725,12 +710,7 @@ public final class JdbcIoWrapper implements IoWrapper {
             TableReadSpecification.<SourceRow>builder()
                 .setFetchSize(fetchSize)
                 .setTableIdentifier(tableIdentifier)
-                .setRowMapper(
-                    new JdbcSourceRowMapper(
-                        config.valueMappingsProvider(),
-                        sourceSchemaReference,
-                        sourceTableSchema,
-                        config.shardID()));
+                .setRowMapper(getRowMapper(config, sourceSchemaReference, sourceTableSchema));
         readSpecsBuilder.put(tableIdentifier, tableReadSpecificationBuilder.build());
 
         tableReferencesBuilder.add(
@@ -22,6 +22,8 @@ import com.google.cloud.teleport.v2.reader.auth.dbauth.DbAuth;
 import com.google.cloud.teleport.v2.reader.io.jdbc.JdbcSchemaReference;
 import com.google.cloud.teleport.v2.reader.io.jdbc.dialectadapter.DialectAdapter;
 import com.google.cloud.teleport.v2.reader.io.jdbc.iowrapper.JdbcIoWrapper;
+import com.google.cloud.teleport.v2.reader.io.jdbc.rowmapper.DirectMutationSpec;
+import com.google.cloud.teleport.v2.reader.io.jdbc.rowmapper.JdbcMutationRowMapper;
 import com.google.cloud.teleport.v2.reader.io.jdbc.rowmapper.JdbcValueMappingsProvider;
 import com.google.cloud.teleport.v2.reader.io.jdbc.uniformsplitter.range.Range;
 import com.google.cloud.teleport.v2.reader.io.jdbc.uniformsplitter.transforms.ReadWithUniformPartitions;
@@ -168,6 +170,13 @@ public abstract class JdbcIOWrapperConfig {
   public abstract PTransform<PCollection<KV<Integer, ImmutableList<Range>>>, ?>
       additionalOperationsOnRanges();
 
+  /**
+   * If not null, rows of tables known to the schema mapper are mapped directly to Spanner mutations
+   * by {@link JdbcMutationRowMapper} instead of Avro records. Defaults to null.
+   */
+  @Nullable
+  public abstract DirectMutationSpec directMutationSpec();
+
   /**
    * Sets the {@code testOnBorrow} property. This property determines whether or not the pool will
    * validate objects before they are borrowed from the pool. Defaults to True.
@@ -342,6 +351,8 @@ public abstract class JdbcIOWrapperConfig {
     public abstract Builder setAdditionalOperationsOnRanges(
         PTransform<PCollection<KV<Integer, ImmutableList<Range>>>, ?> value);
 
+    public abstract Builder setDirectMutationSpec(@Nullable DirectMutationSpec value);
+
     public abstract Builder setTestOnBorrow(Boolean value);
 
     public abstract Builder setTestOnCreate(Boolean value);
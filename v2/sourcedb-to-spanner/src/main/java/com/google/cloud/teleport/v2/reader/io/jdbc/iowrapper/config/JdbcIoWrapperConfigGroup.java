@@ -16,6 +16,7 @@
 package com.google.cloud.teleport.v2.reader.io.jdbc.iowrapper.config;
 
 import com.google.auto.value.AutoValue;
+import com.google.cloud.teleport.v2.reader.io.jdbc.rowmapper.DirectMutationSpec;
 import com.google.common.base.Preconditions;
 import com.google.common.collect.ImmutableList;
 import java.util.Optional;
@@ -48,6 +49,24 @@ public abstract class JdbcIoWrapperConfigGroup {
    */
   public abstract SQLDialect sourceDbDialect();
 
+  /**
+   * Returns a copy of this group with {@link JdbcIOWrapperConfig#directMutationSpec()} set on every
+   * shard configuration.
+   *
+   * @param directMutationSpec spec for mapping rows directly to Spanner mutations.
+   * @return A new configuration group.
+   */
+  public JdbcIoWrapperConfigGroup withDirectMutationSpec(
+      @Nullable DirectMutationSpec directMutationSpec) {
+    return builder()
+        .setSourceDbDialect(sourceDbDialect())
+        .setShardConfigs(
+            shardConfigs().stream()
+                .map(config -> config.toBuilder().setDirectMutationSpec(directMutationSpec).build())
+                .collect(ImmutableList.toImmutableList()))
+        .build();
+  }
+
   /**
    * Returns a new builder for {@link JdbcIoWrapperConfigGroup}.
    *
@@ -0,0 +1,42 @@
+/*
+ * Copyright (C) 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.cloud.teleport.v2.reader.io.jdbc.rowmapper;
+
+import com.google.auto.value.AutoValue;
+import com.google.cloud.teleport.v2.spanner.migrations.schema.ISchemaMapper;
+import java.io.Serializable;
+
+/**
+ * Configuration needed by {@link JdbcMutationRowMapper} to map JDBC rows directly to Spanner
+ * mutations, without going through the Avro payload of a {@link
+ * com.google.cloud.teleport.v2.reader.io.row.SourceRow}.
+ *
+ * <p>Only set this when no custom transformation is configured and the Avro payload is not needed
+ * for any other purpose, like writing the rows to GCS.
+ */
+@AutoValue
+public abstract class DirectMutationSpec implements Serializable {
+
+  /** Schema mapper used to map source tables and columns to Spanner. */
+  public abstract ISchemaMapper schemaMapper();
+
+  /** True if the mutations should be inserts, false for upserts. */
+  public abstract boolean insertOnly();
+
+  public static DirectMutationSpec create(ISchemaMapper schemaMapper, boolean insertOnly) {
+    return new AutoValue_DirectMutationSpec(schemaMapper, insertOnly);
+  }
+}
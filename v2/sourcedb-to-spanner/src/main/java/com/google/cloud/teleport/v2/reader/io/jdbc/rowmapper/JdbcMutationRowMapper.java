@@ -0,0 +1,262 @@
+/*
+ * Copyright (C) 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.cloud.teleport.v2.reader.io.jdbc.rowmapper;
+
+import com.google.cloud.spanner.Mutation;
+import com.google.cloud.spanner.Value;
+import com.google.cloud.teleport.v2.constants.MetricCounters;
+import com.google.cloud.teleport.v2.reader.io.row.SourceRow;
+import com.google.cloud.teleport.v2.reader.io.schema.SourceSchemaReference;
+import com.google.cloud.teleport.v2.reader.io.schema.SourceTableSchema;
+import com.google.cloud.teleport.v2.spanner.ddl.annotations.cassandra.CassandraAnnotations;
+import com.google.cloud.teleport.v2.spanner.migrations.avro.GenericRecordTypeConvertor;
+import com.google.cloud.teleport.v2.spanner.migrations.schema.ISchemaMapper;
+import com.google.cloud.teleport.v2.spanner.type.Type;
+import com.google.common.annotations.VisibleForTesting;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.UUID;
+import org.apache.avro.Schema;
+import org.apache.beam.sdk.io.jdbc.JdbcIO;
+import org.apache.beam.sdk.metrics.Counter;
+import org.apache.beam.sdk.metrics.Metrics;
+import org.checkerframework.checker.initialization.qual.Initialized;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.checkerframework.checker.nullness.qual.UnknownKeyFor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Implement the {@link org.apache.beam.sdk.io.jdbc.JdbcIO.RowMapper} interface by binding the
+ * columns of a {@link ResultSet} directly into a Spanner {@link Mutation}.
+ *
+ * <p>{@link JdbcSourceRowMapper} builds an Avro record for every row, which {@link
+ * com.google.cloud.teleport.v2.transformer.SourceRowToMutationDoFn} then converts to a mutation,
+ * resolving every Spanner column through the schema mapper again. This mapper resolves the columns
+ * once per worker into a list of {@link ColumnBinder}s. Each binder extracts a value with the same
+ * {@link JdbcValueMapper} and converts it with the same {@link GenericRecordTypeConvertor} as the
+ * Avro based path, so the resulting mutations are identical.
+ *
+ * <p>If any column of a row can not be bound, the row is mapped by {@link JdbcSourceRowMapper}
+ * instead, so that conversion errors reach the dead letter queue exactly as before.
+ */
+public final class JdbcMutationRowMapper implements JdbcIO.RowMapper<SourceRow> {
+
+  private static final Logger LOG = LoggerFactory.getLogger(JdbcMutationRowMapper.class);
+
+  private static final Counter DIRECT_MUTATION_ROWS =
+      Metrics.counter(JdbcMutationRowMapper.class, MetricCounters.DIRECT_MUTATION_ROWS);
+
+  private static final Counter DIRECT_MUTATION_FALLBACKS =
+      Metrics.counter(JdbcMutationRowMapper.class, MetricCounters.DIRECT_MUTATION_FALLBACKS);
+
+  private final JdbcValueMappingsProvider mappingsProvider;
+  private final SourceSchemaReference sourceSchemaReference;
+  private final SourceTableSchema sourceTableSchema;
+  @Nullable private final String shardId;
+  private final DirectMutationSpec directMutationSpec;
+  private final String spannerTableName;
+  private final JdbcSourceRowMapper fallbackMapper;
+
+  private transient List<ColumnBinder> columnBinders;
+
+  /**
+   * Construct {@link JdbcMutationRowMapper}. Use {@link #isSupported(DirectMutationSpec,
+   * SourceTableSchema)} to check that the table can be mapped directly first.
+   *
+   * @param mappingsProvider Mapping Provider based on the type of database.
+   * @param sourceSchemaReference Reference to the source schema.
+   * @param sourceTableSchema Schema of source table.
+   * @param shardId Shard id of the source, null for non-sharded migrations.
+   * @param directMutationSpec Schema mapper and write mode for the mutations.
+   */
+  public JdbcMutationRowMapper(
+      JdbcValueMappingsProvider mappingsProvider,
+      SourceSchemaReference sourceSchemaReference,
+      SourceTableSchema sourceTableSchema,
+      String shardId,
+      DirectMutationSpec directMutationSpec) {
+    this.mappingsProvider = mappingsProvider;
+    this.sourceSchemaReference = sourceSchemaReference;
+    this.sourceTableSchema = sourceTableSchema;
+    this.shardId = shardId;
+    this.directMutationSpec = directMutationSpec;
+    this.spannerTableName =
+        directMutationSpec.schemaMapper().getSpannerTableName("", sourceTableSchema.tableName());
+    this.fallbackMapper =
+        new JdbcSourceRowMapper(
+            mappingsProvider, sourceSchemaReference, sourceTableSchema, shardId);
+  }
+
+  /**
+   * Returns true if rows of the given table can be mapped directly to mutations, i.e. the table is
+   * known to the schema mapper.
+   */
+  public static boolean isSupported(
+      DirectMutationSpec directMutationSpec, SourceTableSchema sourceTableSchema) {
+    try {
+      ISchemaMapper schemaMapper = directMutationSpec.schemaMapper();
+      String spannerTableName = schemaMapper.getSpannerTableName("", sourceTableSchema.tableName());
+      return spannerTableName != null
+          && schemaMapper.getSpannerColumns("", spannerTableName) != null;
+    } catch (NoSuchElementException e) {
+      LOG.info(
+          "Table {} is not known to the schema mapper, it will be mapped through Avro. {}",
+          sourceTableSchema.tableName(),
+          e.getMessage());
+      return false;
+    }
+  }
+
+  /**
+   * Map {@link java.sql.ResultSet} to a {@link SourceRow} carrying a {@link Mutation}.
+   *
+   * @param resultSet the resultSet for a read record.
+   * @return SourceRow
+   */
+  @Override
+  public @UnknownKeyFor @Nullable @Initialized SourceRow mapRow(
+      @UnknownKeyFor @NonNull @Initialized ResultSet resultSet) throws Exception {
+    if (columnBinders == null) {
+      columnBinders = buildColumnBinders();
+    }
+    Mutation.WriteBuilder builder =
+        directMutationSpec.insertOnly()
+            ? Mutation.newInsertBuilder(spannerTableName)
+            : Mutation.newInsertOrUpdateBuilder(spannerTableName);
+    try {
+      for (ColumnBinder columnBinder : columnBinders) {
+        columnBinder.bind(resultSet, builder);
+      }
+    } catch (Exception e) {
+      DIRECT_MUTATION_FALLBACKS.inc();
+      LOG.debug(
+          "Could not bind row of table {} directly, falling back to the Avro path.",
+          sourceTableSchema.tableName(),
+          e);
+      return fallbackMapper.mapRow(resultSet);
+    }
+    DIRECT_MUTATION_ROWS.inc();
+    return SourceRow.withMutation(
+        sourceSchemaReference, sourceTableSchema, shardId, builder.build());
+  }
+
+  /**
+   * Resolves every Spanner column of the table in the same order and with the same rules as {@link
+   * GenericRecordTypeConvertor#transformChangeEvent}.
+   */
+  @VisibleForTesting
+  List<ColumnBinder> buildColumnBinders() {
+    ISchemaMapper schemaMapper = directMutationSpec.schemaMapper();
+    GenericRecordTypeConvertor convertor =
+        new GenericRecordTypeConvertor(schemaMapper, "", shardId, null);
+    Schema payloadSchema = sourceTableSchema.getAvroPayload();
+    String shardIdCol = schemaMapper.getShardIdColumnName("", spannerTableName);
+    String syntheticPkCol = schemaMapper.getSyntheticPrimaryKeyColName("", spannerTableName);
+
+    List<ColumnBinder> binders = new ArrayList<>();
+    for (String spannerColName : schemaMapper.getSpannerColumns("", spannerTableName)) {
+      if (spannerColName.equals(shardIdCol)) {
+        if (shardId != null && !shardId.isBlank()) {
+          Value shardIdValue = Value.string(shardId);
+          binders.add((resultSet, builder) -> builder.set(spannerColName).to(shardIdValue));
+        }
+        continue;
+      }
+      if (schemaMapper.isGeneratedColumn("", spannerTableName, spannerColName)) {
+        continue;
+      }
+      if (spannerColName.equals(syntheticPkCol)) {
+        binders.add(
+            (resultSet, builder) ->
+                builder.set(spannerColName).to(Value.string(UUID.randomUUID().toString())));
+        continue;
+      }
+      if (!schemaMapper.colExistsAtSource("", spannerTableName, spannerColName)) {
+        continue;
+      }
+      String srcColName = schemaMapper.getSourceColumnName("", spannerTableName, spannerColName);
+      Schema.Field field = payloadSchema.getField(srcColName);
+      if (field == null) {
+        continue;
+      }
+      binders.add(
+          sourceColumnBinder(
+              convertor,
+              spannerColName,
+              srcColName,
+              field.schema(),
+              schemaMapper.getSpannerColumnType("", spannerTableName, spannerColName),
+              schemaMapper.getSpannerColumnCassandraAnnotations(
+                  "", spannerTableName, spannerColName)));
+    }
+    return binders;
+  }
+
+  private ColumnBinder sourceColumnBinder(
+      GenericRecordTypeConvertor convertor,
+      String spannerColName,
+      String srcColName,
+      Schema fieldSchema,
+      Type spannerType,
+      CassandraAnnotations cassandraAnnotations) {
+    // The Unified avro mapping produces a union of the mapped type with null type except for
+    // "Unsupported" case.
+    Schema valueSchema = fieldSchema.isUnion() ? fieldSchema.getTypes().get(1) : fieldSchema;
+    boolean nullable = acceptsNull(fieldSchema);
+    JdbcValueMapper<?> valueMapper =
+        mappingsProvider
+            .getMappings()
+            .getOrDefault(
+                sourceTableSchema
+                    .sourceColumnNameToSourceColumnType()
+                    .get(srcColName)
+                    .getName()
+                    .toUpperCase(),
+                JdbcValueMapper.UNSUPPORTED);
+    return (resultSet, builder) -> {
+      Object sourceValue = valueMapper.mapValue(resultSet, srcColName, valueSchema);
+      if (sourceValue == null && !nullable) {
+        // The Avro record would reject this value, let the fallback path report it.
+        throw new IllegalStateException("Null value for non nullable column " + srcColName);
+      }
+      Value value =
+          convertor.getSpannerValue(
+              sourceValue, fieldSchema, srcColName, spannerType, cassandraAnnotations);
+      if (value != null) {
+        builder.set(spannerColName).to(value);
+      }
+    };
+  }
+
+  private static boolean acceptsNull(Schema schema) {
+    if (schema.getType() == Schema.Type.NULL) {
+      return true;
+    }
+    return schema.isUnion()
+        && schema.getTypes().stream().anyMatch(type -> type.getType() == Schema.Type.NULL);
+  }
+
+  /** Binds the value of a single Spanner column, read from the current row of a result set. */
+  @FunctionalInterface
+  interface ColumnBinder {
+    void bind(ResultSet resultSet, Mutation.WriteBuilder builder) throws SQLException;
+  }
+}
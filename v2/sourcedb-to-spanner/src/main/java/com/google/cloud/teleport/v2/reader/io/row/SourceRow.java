@@ -16,8 +16,10 @@
 package com.google.cloud.teleport.v2.reader.io.row;
 
 import com.google.auto.value.AutoValue;
+import com.google.cloud.spanner.Mutation;
 import com.google.cloud.teleport.v2.reader.io.schema.SourceSchemaReference;
 import com.google.cloud.teleport.v2.reader.io.schema.SourceTableSchema;
+import com.google.common.base.Preconditions;
 import com.google.common.collect.ImmutableList;
 import java.io.Serializable;
 import javax.annotation.Nullable;
@@ -70,7 +72,8 @@ public abstract class SourceRow implements Serializable {
    * @return readTime
    */
   public long getReadTimeMicros() {
-    return (long) this.record().getRecord().get(SourceTableSchema.READ_TIME_STAMP_FIELD_NAME);
+    return (long)
+        this.payloadRecord().getRecord().get(SourceTableSchema.READ_TIME_STAMP_FIELD_NAME);
   }
 
   /**
@@ -79,11 +82,31 @@ public abstract class SourceRow implements Serializable {
    * @return payload as GenericRecord.
    */
   public GenericRecord getPayload() {
-    return (GenericRecord) this.record().getRecord().get(SourceTableSchema.PAYLOAD_FIELD_NAME);
+    return (GenericRecord)
+        this.payloadRecord().getRecord().get(SourceTableSchema.PAYLOAD_FIELD_NAME);
   }
 
+  /**
+   * Get the Spanner mutation for rows that were mapped directly from the source. Such rows have no
+   * payload. See {@link
+   * com.google.cloud.teleport.v2.reader.io.jdbc.rowmapper.JdbcMutationRowMapper}.
+   *
+   * @return mutation, or null if the row carries a payload.
+   */
+  @Nullable
+  public abstract Mutation mutation();
+
+  @Nullable
   abstract SerializableGenericRecord record();
 
+  private SerializableGenericRecord payloadRecord() {
+    Preconditions.checkState(
+        record() != null,
+        "Row of table %s was mapped directly to a mutation and has no payload.",
+        tableName());
+    return record();
+  }
+
   /**
    * Generates a schema that wraps the payload with metadata fields. We prioritize using the
    * payload's existing schema definition.
@@ -155,6 +178,55 @@ public abstract class SourceRow implements Serializable {
     return builder;
   }
 
+  /**
+   * Creates a SourceRow around an already built record. Used by {@link SourceRowCoder} to
+   * reconstruct decoded rows.
+   *
+   * @param sourceSchemaReference reference for the source table's schema.
+   * @param sourceTableSchema schema of the source table.
+   * @param shardId shard id of the row, null for non-sharded cases.
+   * @param record record conforming to {@link SourceTableSchema#avroSchema()}.
+   * @return SourceRow.
+   */
+  static SourceRow create(
+      SourceSchemaReference sourceSchemaReference,
+      SourceTableSchema sourceTableSchema,
+      @Nullable String shardId,
+      GenericRecord record) {
+    return new AutoValue_SourceRow.Builder()
+        .setSourceSchemaReference(sourceSchemaReference)
+        .setTableSchemaUUID(sourceTableSchema.tableSchemaUUID())
+        .setTableName(sourceTableSchema.tableName())
+        .setShardId(shardId)
+        .setPrimaryKeyColumns(sourceTableSchema.primaryKeyColumns())
+        .setRecord(new SerializableGenericRecord(record))
+        .autoBuild();
+  }
+
+  /**
+   * Creates a SourceRow that carries a Spanner mutation instead of a payload.
+   *
+   * @param sourceSchemaReference reference for the source table's schema.
+   * @param sourceTableSchema schema of the source table.
+   * @param shardId shard id of the row, null for non-sharded cases.
+   * @param mutation mutation for the row.
+   * @return SourceRow.
+   */
+  public static SourceRow withMutation(
+      SourceSchemaReference sourceSchemaReference,
+      SourceTableSchema sourceTableSchema,
+      @Nullable String shardId,
+      Mutation mutation) {
+    return new AutoValue_SourceRow.Builder()
+        .setSourceSchemaReference(sourceSchemaReference)
+        .setTableSchemaUUID(sourceTableSchema.tableSchemaUUID())
+        .setTableName(sourceTableSchema.tableName())
+        .setShardId(shardId)
+        .setPrimaryKeyColumns(sourceTableSchema.primaryKeyColumns())
+        .setMutation(mutation)
+        .autoBuild();
+  }
+
   @AutoValue.Builder
   public abstract static class Builder {
     @SuppressWarnings("CheckReturnValue")
@@ -174,6 +246,9 @@ public abstract class SourceRow implements Serializable {
     @SuppressWarnings("CheckReturnValue")
     abstract Builder setRecord(SerializableGenericRecord value);
 
+    @SuppressWarnings("CheckReturnValue")
+    abstract Builder setMutation(Mutation value);
+
     private GenericRecordBuilder recordBuilder = null;
     private GenericRecordBuilder payloadBuilder = null;
 
@@ -0,0 +1,471 @@
+/*
+ * Copyright (C) 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.cloud.teleport.v2.reader.io.row;
+
+import com.google.cloud.ByteArray;
+import com.google.cloud.Date;
+import com.google.cloud.Timestamp;
+import com.google.cloud.spanner.Mutation;
+import com.google.cloud.spanner.Type;
+import com.google.cloud.spanner.Value;
+import com.google.cloud.teleport.v2.reader.io.schema.SourceSchemaReference;
+import com.google.cloud.teleport.v2.reader.io.schema.SourceTableSchema;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import javax.annotation.Nullable;
+import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericDatumReader;
+import org.apache.avro.generic.GenericDatumWriter;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.avro.io.BinaryDecoder;
+import org.apache.avro.io.BinaryEncoder;
+import org.apache.avro.io.DecoderFactory;
+import org.apache.avro.io.EncoderFactory;
+import org.apache.beam.sdk.coders.BigDecimalCoder;
+import org.apache.beam.sdk.coders.ByteArrayCoder;
+import org.apache.beam.sdk.coders.Coder;
+import org.apache.beam.sdk.coders.CustomCoder;
+import org.apache.beam.sdk.coders.DoubleCoder;
+import org.apache.beam.sdk.coders.FloatCoder;
+import org.apache.beam.sdk.coders.NullableCoder;
+import org.apache.beam.sdk.coders.SerializableCoder;
+import org.apache.beam.sdk.coders.StringUtf8Coder;
+import org.apache.beam.sdk.util.VarInt;
+
+/**
+ * A {@link Coder} for {@link SourceRow} that relies on the {@link SourceTableSchema}s known at
+ * pipeline construction time.
+ *
+ * <p>Java serialization of a {@link SourceRow} writes the complete Avro {@link Schema} and builds a
+ * new {@link GenericDatumWriter} for every row. This coder instead encodes the index of the row's
+ * table schema and schema reference, the shard id and the Avro binary encoding of the record. The
+ * Avro datum writers and readers are created once per table schema and thread and reused.
+ *
+ * <p>Rows that carry a Spanner {@link Mutation} instead of a record are encoded with the same
+ * header followed by the operation, the table name and every column with the type code and value of
+ * its scalar {@link Value}.
+ *
+ * <p>Rows that do not match any of the known table schemas, for example rows built against a
+ * different {@link Schema}, and mutations with values this coder can not encode, such as arrays or
+ * commit timestamps, fall back to {@link SerializableCoder} so that they are never dropped or
+ * decoded with the wrong schema.
+ */
+public class SourceRowCoder extends CustomCoder<SourceRow> {
+
+  /** Marker written instead of a table index for rows encoded with {@link #FALLBACK_CODER}. */
+  private static final int FALLBACK_MARKER = 0;
+
+  /** Marker written before the table index of rows carrying a {@link Mutation}. */
+  private static final int MUTATION_MARKER = 1;
+
+  /** Offset added to the table index of rows carrying an Avro record to build their marker. */
+  private static final int RECORD_MARKER_OFFSET = 2;
+
+  private static final Coder<SourceRow> FALLBACK_CODER = SerializableCoder.of(SourceRow.class);
+  private static final Coder<String> SHARD_ID_CODER = NullableCoder.of(StringUtf8Coder.of());
+  private static final Coder<String> STRING_CODER = StringUtf8Coder.of();
+
+  private final ImmutableList<SourceSchemaReference> sourceSchemaReferences;
+  private final ImmutableList<SourceTableSchema> sourceTableSchemas;
+
+  private transient Map<String, Integer> tableIndexes;
+  private transient Map<SourceSchemaReference, Integer> referenceIndexes;
+  private transient ThreadLocal<Codecs> codecs;
+
+  private SourceRowCoder(
+      ImmutableList<SourceSchemaReference> sourceSchemaReferences,
+      ImmutableList<SourceTableSchema> sourceTableSchemas) {
+    this.sourceSchemaReferences = sourceSchemaReferences;
+    this.sourceTableSchemas = sourceTableSchemas;
+  }
+
+  /**
+   * Returns a coder for rows read with any of the given schema references and table schemas.
+   *
+   * @param sourceSchemaReferences schema references of the rows.
+   * @param sourceTableSchemas schemas of the tables the rows are read from.
+   * @return coder for {@link SourceRow}.
+   */
+  public static SourceRowCoder of(
+      Iterable<SourceSchemaReference> sourceSchemaReferences,
+      Iterable<SourceTableSchema> sourceTableSchemas) {
+    return new SourceRowCoder(
+        ImmutableSet.copyOf(sourceSchemaReferences).asList(),
+        ImmutableSet.copyOf(sourceTableSchemas).asList());
+  }
+
+  /**
+   * Returns a coder for rows of a single table.
+   *
+   * @param sourceSchemaReference schema reference of the rows.
+   * @param sourceTableSchema schema of the table the rows are read from.
+   * @return coder for {@link SourceRow}.
+   */
+  public static SourceRowCoder of(
+      SourceSchemaReference sourceSchemaReference, SourceTableSchema sourceTableSchema) {
+    return of(ImmutableList.of(sourceSchemaReference), ImmutableList.of(sourceTableSchema));
+  }
+
+  @Override
+  public void encode(SourceRow value, OutputStream outStream) throws IOException {
+    Codecs threadCodecs = codecs();
+    int tableIndex = tableIndexOf(value, threadCodecs);
+    Integer referenceIndex = referenceIndexes().get(value.sourceSchemaReference());
+    if (tableIndex < 0 || referenceIndex == null) {
+      VarInt.encode(FALLBACK_MARKER, outStream);
+      FALLBACK_CODER.encode(value, outStream);
+      return;
+    }
+    if (value.record() == null) {
+      VarInt.encode(MUTATION_MARKER, outStream);
+      VarInt.encode(tableIndex, outStream);
+      VarInt.encode(referenceIndex, outStream);
+      SHARD_ID_CODER.encode(value.shardId(), outStream);
+      encodeMutation(value.mutation(), outStream);
+      return;
+    }
+    VarInt.encode(tableIndex + RECORD_MARKER_OFFSET, outStream);
+    VarInt.encode(referenceIndex, outStream);
+    SHARD_ID_CODER.encode(value.shardId(), outStream);
+
+    threadCodecs.encoder =
+        EncoderFactory.get().directBinaryEncoder(outStream, threadCodecs.encoder);
+    threadCodecs.writer(tableIndex).write(value.record().getRecord(), threadCodecs.encoder);
+    threadCodecs.encoder.flush();
+  }
+
+  @Override
+  public SourceRow decode(InputStream inStream) throws IOException {
+    int marker = VarInt.decodeInt(inStream);
+    if (marker == FALLBACK_MARKER) {
+      return FALLBACK_CODER.decode(inStream);
+    }
+    int tableIndex =
+        marker == MUTATION_MARKER ? VarInt.decodeInt(inStream) : marker - RECORD_MARKER_OFFSET;
+    SourceTableSchema sourceTableSchema = sourceTableSchemas.get(tableIndex);
+    SourceSchemaReference sourceSchemaReference =
+        sourceSchemaReferences.get(VarInt.decodeInt(inStream));
+    String shardId = SHARD_ID_CODER.decode(inStream);
+    if (marker == MUTATION_MARKER) {
+      return SourceRow.withMutation(
+          sourceSchemaReference, sourceTableSchema, shardId, decodeMutation(inStream));
+    }
+
+    Codecs threadCodecs = codecs();
+    threadCodecs.decoder = DecoderFactory.get().directBinaryDecoder(inStream, threadCodecs.decoder);
+    GenericRecord record = threadCodecs.reader(tableIndex).read(null, threadCodecs.decoder);
+    return SourceRow.create(sourceSchemaReference, sourceTableSchema, shardId, record);
+  }
+
+  /**
+   * Avro records can contain maps, whose encoding depends on the iteration order.
+   *
+   * @throws NonDeterministicException always.
+   */
+  @Override
+  public void verifyDeterministic() throws NonDeterministicException {
+    throw new NonDeterministicException(this, "SourceRow encodes Avro records.");
+  }
+
+  /**
+   * Returns the index of the table schema the row was built with, or -1 if the row does not match
+   * any known table schema or carries a mutation that can not be encoded.
+   */
+  private int tableIndexOf(SourceRow value, Codecs threadCodecs) {
+    Integer tableIndex = tableIndexes().get(value.tableSchemaUUID());
+    if (tableIndex == null) {
+      return -1;
+    }
+    SourceTableSchema sourceTableSchema = sourceTableSchemas.get(tableIndex);
+    if (!value.tableName().equals(sourceTableSchema.tableName())
+        || !value.primaryKeyColumns().equals(sourceTableSchema.primaryKeyColumns())) {
+      return -1;
+    }
+    if (value.record() == null) {
+      return value.mutation() != null && isEncodable(value.mutation()) ? tableIndex : -1;
+    }
+    Schema recordSchema = value.record().getRecord().getSchema();
+    Schema tableSchema = sourceTableSchema.avroSchema();
+    // Rows of a table usually share a single schema instance, so the comparatively expensive
+    // Schema#equals only runs when a new instance is seen.
+    if (recordSchema != tableSchema && recordSchema != threadCodecs.matchedSchemas[tableIndex]) {
+      if (!recordSchema.equals(tableSchema)) {
+        return -1;
+      }
+      threadCodecs.matchedSchemas[tableIndex] = recordSchema;
+    }
+    return tableIndex;
+  }
+
+  /**
+   * Returns true if the mutation writes columns and all of its values are non commit timestamp
+   * scalars supported by {@link #encodeValue}.
+   */
+  private static boolean isEncodable(Mutation mutation) {
+    if (mutation.getOperation() == Mutation.Op.DELETE) {
+      return false;
+    }
+    for (Value value : mutation.getValues()) {
+      switch (value.getType().getCode()) {
+        case BOOL:
+        case INT64:
+        case FLOAT32:
+        case FLOAT64:
+        case NUMERIC:
+        case PG_NUMERIC:
+        case STRING:
+        case JSON:
+        case PG_JSONB:
+        case BYTES:
+        case DATE:
+          break;
+        case TIMESTAMP:
+          if (!value.isNull() && value.isCommitTimestamp()) {
+            return false;
+          }
+          break;
+        default:
+          return false;
+      }
+    }
+    return true;
+  }
+
+  private static void encodeMutation(Mutation mutation, OutputStream outStream) throws IOException {
+    VarInt.encode(mutation.getOperation().ordinal(), outStream);
+    STRING_CODER.encode(mutation.getTable(), outStream);
+    List<String> columns = mutation.getColumns();
+    List<Value> values = mutation.getValues();
+    VarInt.encode(columns.size(), outStream);
+    for (int i = 0; i < columns.size(); i++) {
+      STRING_CODER.encode(columns.get(i), outStream);
+      encodeValue(values.get(i), outStream);
+    }
+  }
+
+  private static Mutation decodeMutation(InputStream inStream) throws IOException {
+    Mutation.Op op = Mutation.Op.values()[VarInt.decodeInt(inStream)];
+    String table = STRING_CODER.decode(inStream);
+    Mutation.WriteBuilder builder;
+    switch (op) {
+      case INSERT:
+        builder = Mutation.newInsertBuilder(table);
+        break;
+      case UPDATE:
+        builder = Mutation.newUpdateBuilder(table);
+        break;
+      case INSERT_OR_UPDATE:
+        builder = Mutation.newInsertOrUpdateBuilder(table);
+        break;
+      case REPLACE:
+        builder = Mutation.newReplaceBuilder(table);
+        break;
+      default:
+        throw new IOException("Unexpected mutation operation " + op);
+    }
+    int columnCount = VarInt.decodeInt(inStream);
+    for (int i = 0; i < columnCount; i++) {
+      builder.set(STRING_CODER.decode(inStream)).to(decodeValue(inStream));
+    }
+    return builder.build();
+  }
+
+  private static void encodeValue(Value value, OutputStream outStream) throws IOException {
+    Type.Code code = value.getType().getCode();
+    VarInt.encode(code.ordinal(), outStream);
+    outStream.write(value.isNull() ? 1 : 0);
+    if (value.isNull()) {
+      return;
+    }
+    switch (code) {
+      case BOOL:
+        outStream.write(value.getBool() ? 1 : 0);
+        break;
+      case INT64:
+        VarInt.encode(value.getInt64(), outStream);
+        break;
+      case FLOAT32:
+        FloatCoder.of().encode(value.getFloat32(), outStream);
+        break;
+      case FLOAT64:
+        DoubleCoder.of().encode(value.getFloat64(), outStream);
+        break;
+      case NUMERIC:
+        BigDecimalCoder.of().encode(value.getNumeric(), outStream);
+        break;
+      case PG_NUMERIC:
+      case STRING:
+        STRING_CODER.encode(value.getString(), outStream);
+        break;
+      case JSON:
+        STRING_CODER.encode(value.getJson(), outStream);
+        break;
+      case PG_JSONB:
+        STRING_CODER.encode(value.getPgJsonb(), outStream);
+        break;
+      case BYTES:
+        ByteArrayCoder.of().encode(value.getBytes().toByteArray(), outStream);
+        break;
+      case TIMESTAMP:
+        VarInt.encode(value.getTimestamp().getSeconds(), outStream);
+        VarInt.encode(value.getTimestamp().getNanos(), outStream);
+        break;
+      case DATE:
+        VarInt.encode(value.getDate().getYear(), outStream);
+        VarInt.encode(value.getDate().getMonth(), outStream);
+        VarInt.encode(value.getDate().getDayOfMonth(), outStream);
+        break;
+      default:
+        throw new IOException("Unexpected value type " + value.getType());
+    }
+  }
+
+  private static Value decodeValue(InputStream inStream) throws IOException {
+    Type.Code code = Type.Code.values()[VarInt.decodeInt(inStream)];
+    boolean isNull = inStream.read() == 1;
+    switch (code) {
+      case BOOL:
+        return Value.bool(isNull ? null : inStream.read() == 1);
+      case INT64:
+        return Value.int64(isNull ? null : VarInt.decodeLong(inStream));
+      case FLOAT32:
+        return Value.float32(isNull ? null : FloatCoder.of().decode(inStream));
+      case FLOAT64:
+        return Value.float64(isNull ? null : DoubleCoder.of().decode(inStream));
+      case NUMERIC:
+        return Value.numeric(isNull ? null : BigDecimalCoder.of().decode(inStream));
+      case PG_NUMERIC:
+        return Value.pgNumeric(isNull ? null : STRING_CODER.decode(inStream));
+      case STRING:
+        return Value.string(isNull ? null : STRING_CODER.decode(inStream));
+      case JSON:
+        return Value.json(isNull ? null : STRING_CODER.decode(inStream));
+      case PG_JSONB:
+        return Value.pgJsonb(isNull ? null : STRING_CODER.decode(inStream));
+      case BYTES:
+        return Value.bytes(
+            isNull ? null : ByteArray.copyFrom(ByteArrayCoder.of().decode(inStream)));
+      case TIMESTAMP:
+        return Value.timestamp(
+            isNull
+                ? null
+                : Timestamp.ofTimeSecondsAndNanos(
+                    VarInt.decodeLong(inStream), VarInt.decodeInt(inStream)));
+      case DATE:
+        return Value.date(
+            isNull
+                ? null
+                : Date.fromYearMonthDay(
+                    VarInt.decodeInt(inStream),
+                    VarInt.decodeInt(inStream),
+                    VarInt.decodeInt(inStream)));
+      default:
+        throw new IOException("Unexpected value type " + code);
+    }
+  }
+
+  private Map<String, Integer> tableIndexes() {
+    if (tableIndexes == null) {
+      Map<String, Integer> indexes = new HashMap<>();
+      for (int i = 0; i < sourceTableSchemas.size(); i++) {
+        indexes.putIfAbsent(sourceTableSchemas.get(i).tableSchemaUUID(), i);
+      }
+      tableIndexes = indexes;
+    }
+    return tableIndexes;
+  }
+
+  private Map<SourceSchemaReference, Integer> referenceIndexes() {
+    if (referenceIndexes == null) {
+      Map<SourceSchemaReference, Integer> indexes = new HashMap<>();
+      for (int i = 0; i < sourceSchemaReferences.size(); i++) {
+        indexes.putIfAbsent(sourceSchemaReferences.get(i), i);
+      }
+      referenceIndexes = indexes;
+    }
+    return referenceIndexes;
+  }
+
+  private Codecs codecs() {
+    if (codecs == null) {
+      synchronized (this) {
+        if (codecs == null) {
+          codecs = ThreadLocal.withInitial(() -> new Codecs(sourceTableSchemas.size()));
+        }
+      }
+    }
+    return codecs.get();
+  }
+
+  /**
+   * Avro writers, readers, encoder and decoder of a single thread, along with the last record
+   * schema instance found equal to each table schema. None of these are shared across threads.
+   */
+  private final class Codecs {
+    private final GenericDatumWriter<GenericRecord>[] writers;
+    private final GenericDatumReader<GenericRecord>[] readers;
+    private final Schema[] matchedSchemas;
+    @Nullable private BinaryEncoder encoder;
+    @Nullable private BinaryDecoder decoder;
+
+    @SuppressWarnings("unchecked")
+    Codecs(int tableCount) {
+      this.writers = new GenericDatumWriter[tableCount];
+      this.readers = new GenericDatumReader[tableCount];
+      this.matchedSchemas = new Schema[tableCount];
+    }
+
+    GenericDatumWriter<GenericRecord> writer(int tableIndex) {
+      if (writers[tableIndex] == null) {
+        writers[tableIndex] =
+            new GenericDatumWriter<>(sourceTableSchemas.get(tableIndex).avroSchema());
+      }
+      return writers[tableIndex];
+    }
+
+    GenericDatumReader<GenericRecord> reader(int tableIndex) {
+      if (readers[tableIndex] == null) {
+        readers[tableIndex] =
+            new GenericDatumReader<>(sourceTableSchemas.get(tableIndex).avroSchema());
+      }
+      return readers[tableIndex];
+    }
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof SourceRowCoder)) {
+      return false;
+    }
+    SourceRowCoder that = (SourceRowCoder) o;
+    return sourceSchemaReferences.equals(that.sourceSchemaReferences)
+        && sourceTableSchemas.equals(that.sourceTableSchemas);
+  }
+
+  @Override
+  public int hashCode() {
+    return sourceTableSchemas.hashCode();
+  }
+}
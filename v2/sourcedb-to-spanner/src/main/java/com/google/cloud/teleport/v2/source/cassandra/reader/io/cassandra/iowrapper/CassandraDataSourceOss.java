@@ -48,6 +48,14 @@ public abstract class CassandraDataSourceOss {
   @Nullable
   public abstract Integer numPartitions();
 
+  /**
+   * Target size in bytes of a read split, based on the size estimates of the table.
+   *
+   * <p>Defaults to Null, which splits the token ring evenly into {@link #numPartitions()} splits.
+   */
+  @Nullable
+  public abstract Long targetSplitSizeBytes();
+
   public DriverConfigLoader driverConfigLoader() {
     return CassandraDriverConfigLoader.fromOptionsMap(optionsMap());
   }
@@ -84,7 +92,9 @@ public abstract class CassandraDataSourceOss {
   }
 
   public static Builder builder() {
-    return new AutoValue_CassandraDataSourceOss.Builder().setNumPartitions(null);
+    return new AutoValue_CassandraDataSourceOss.Builder()
+        .setNumPartitions(null)
+        .setTargetSplitSizeBytes(null);
   }
 
   public abstract Builder toBuilder();
@@ -98,6 +108,8 @@ public abstract class CassandraDataSourceOss {
 
     public abstract Builder setNumPartitions(@Nullable Integer value);
 
+    public abstract Builder setTargetSplitSizeBytes(@Nullable Long value);
+
     abstract OptionsMap optionsMap();
 
     public Builder setOptionsMapFromGcsFile(String gcsPath) throws FileNotFoundException {
@@ -41,6 +41,14 @@ public abstract class CassandraIOWrapperFactory implements IoWrapperFactory {
   @Nullable
   public abstract Integer numPartitions();
 
+  /**
+   * Target size in bytes of a read split. Defaults to Null.
+   *
+   * @see CassandraDataSourceOss#targetSplitSizeBytes()
+   */
+  @Nullable
+  public abstract Long targetSplitSizeBytes();
+
   /** Cassandra Dialect. */
   public abstract CassandraDataSource.CassandraDialect cassandraDialect();
 
@@ -60,6 +68,7 @@ public abstract class CassandraIOWrapperFactory implements IoWrapperFactory {
   private static CassandraIOWrapperFactory create(
       String gcsConfigPath,
       Integer numPartions,
+      Long targetSplitSizeBytes,
       String sourceDialect,
       GuardedStringValueProvider astraDBToken,
       String astraDBDatabaseId,
@@ -73,6 +82,7 @@ public abstract class CassandraIOWrapperFactory implements IoWrapperFactory {
     return new AutoValue_CassandraIOWrapperFactory(
         gcsConfigPath,
         numPartions,
+        targetSplitSizeBytes,
         cassandraDialect,
         astraDBToken,
         astraDBDatabaseId,
@@ -96,6 +106,7 @@ public abstract class CassandraIOWrapperFactory implements IoWrapperFactory {
     return CassandraIOWrapperFactory.create(
         options.getSourceConfigURL(),
         options.getNumPartitions(),
+        positiveOrNull(options.getCassandraTargetSplitSizeBytes()),
         options.getSourceDbDialect(),
         GuardedStringValueProvider.create(options.getAstraDBToken()),
         options.getAstraDBDatabaseId(),
@@ -103,6 +114,11 @@ public abstract class CassandraIOWrapperFactory implements IoWrapperFactory {
         options.getAstraDBRegion());
   }
 
+  /** Non-positive target split sizes disable size based splitting. */
+  private static Long positiveOrNull(Long value) {
+    return (value == null || value <= 0) ? null : value;
+  }
+
   /** Create an {@link IoWrapper} instance for a list of SourceTables. */
   @Override
   public IoWrapper getIOWrapper(List<String> sourceTables, OnSignal<?> waitOnSignal) {
@@ -115,6 +131,7 @@ public abstract class CassandraIOWrapperFactory implements IoWrapperFactory {
         astraDBToken(),
         astraDBDatabaseId(),
         astraDBKeyspace(),
-        astraDBRegion());
+        astraDBRegion(),
+        targetSplitSizeBytes());
   }
 }
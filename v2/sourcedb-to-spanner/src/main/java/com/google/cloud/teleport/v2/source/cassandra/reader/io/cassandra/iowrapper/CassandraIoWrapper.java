@@ -49,15 +49,39 @@ public final class CassandraIoWrapper implements IoWrapper {
       String astraDBDatabaseId,
       String astraDBKeyspace,
       String astraDBRegion) {
+    this(
+        gcsPath,
+        sourceTables,
+        numPartitions,
+        cassandraDialect,
+        astraDBToken,
+        astraDBDatabaseId,
+        astraDBKeyspace,
+        astraDBRegion,
+        null);
+  }
+
+  public CassandraIoWrapper(
+      String gcsPath,
+      List<String> sourceTables,
+      @Nullable Integer numPartitions,
+      CassandraDialect cassandraDialect,
+      GuardedStringValueProvider astraDBToken,
+      String astraDBDatabaseId,
+      String astraDBKeyspace,
+      String astraDBRegion,
+      @Nullable Long targetSplitSizeBytes) {
     DataSource dataSource =
-        CassandraIOWrapperHelper.buildDataSource(
-            gcsPath,
-            numPartitions,
-            cassandraDialect,
-            astraDBToken,
-            astraDBDatabaseId,
-            astraDBKeyspace,
-            astraDBRegion);
+        withTargetSplitSize(
+            CassandraIOWrapperHelper.buildDataSource(
+                gcsPath,
+                numPartitions,
+                cassandraDialect,
+                astraDBToken,
+                astraDBDatabaseId,
+                astraDBKeyspace,
+                astraDBRegion),
+            targetSplitSizeBytes);
     SchemaDiscovery schemaDiscovery = CassandraIOWrapperHelper.buildSchemaDiscovery();
     SourceSchemaReference sourceSchemaReference =
         SourceSchemaReference.ofCassandra(
@@ -74,6 +98,23 @@ public final class CassandraIoWrapper implements IoWrapper {
     this.tableReaders = CassandraIOWrapperHelper.getTableReaders(dataSource, sourceSchema);
   }
 
+  /**
+   * Sets the target split size of an OSS Cassandra data source. Astra DB reads are split by the
+   * Astra connector and ignore the target split size.
+   */
+  private static DataSource withTargetSplitSize(
+      DataSource dataSource, @Nullable Long targetSplitSizeBytes) {
+    if (targetSplitSizeBytes == null
+        || dataSource.cassandra().getDialect() != CassandraDialect.OSS) {
+      return dataSource;
+    }
+    return DataSource.ofCassandra(
+        CassandraDataSource.ofOss(
+            dataSource.cassandra().oss().toBuilder()
+                .setTargetSplitSizeBytes(targetSplitSizeBytes)
+                .build()));
+  }
+
   /** Get a list of reader transforms for Cassandra source. */
   @Override
   public ImmutableMap<
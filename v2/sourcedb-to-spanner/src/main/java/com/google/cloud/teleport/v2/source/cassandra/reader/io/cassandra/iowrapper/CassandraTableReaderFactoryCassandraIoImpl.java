@@ -19,6 +19,7 @@ import com.datastax.driver.core.ConsistencyLevel;
 import com.datastax.oss.driver.api.core.config.DriverExecutionProfile;
 import com.datastax.oss.driver.api.core.config.TypedDriverOption;
 import com.google.cloud.teleport.v2.reader.io.row.SourceRow;
+import com.google.cloud.teleport.v2.reader.io.row.SourceRowCoder;
 import com.google.cloud.teleport.v2.reader.io.schema.SourceSchemaReference;
 import com.google.cloud.teleport.v2.reader.io.schema.SourceTableSchema;
 import com.google.cloud.teleport.v2.source.cassandra.reader.io.cassandra.rowmapper.AstraDbSourceRowMapper;
@@ -27,7 +28,6 @@ import com.google.cloud.teleport.v2.source.cassandra.reader.io.cassandra.rowmapp
 import com.google.cloud.teleport.v2.source.cassandra.reader.io.cassandra.rowmapper.CassandraSourceRowMapperFactoryFn;
 import com.google.common.annotations.VisibleForTesting;
 import java.util.stream.Collectors;
-import org.apache.beam.sdk.coders.SerializableCoder;
 import org.apache.beam.sdk.io.astra.db.AstraDbIO;
 import org.apache.beam.sdk.io.localcassandra.CassandraIO;
 import org.apache.beam.sdk.io.localcassandra.CassandraIO.Read;
@@ -94,7 +94,7 @@ public class CassandraTableReaderFactoryCassandraIoImpl implements CassandraTabl
             .withTable(delimitIdentifier(sourceTableSchema.tableName()))
             // .withMinNumberOfSplits(minimalTokenRangesCount)
             .withMapperFactoryFn(AstraDbSourceRowMapperFactoryFn.create(astraDbSourceRowMapper))
-            .withCoder(SerializableCoder.of(SourceRow.class))
+            .withCoder(SourceRowCoder.of(sourceSchemaReference, sourceTableSchema))
             .withEntity(SourceRow.class);
     return setNumPartitionsAstra(astraSource, astraDbDataSource, sourceTableSchema.tableName());
   }
@@ -122,12 +122,15 @@ public class CassandraTableReaderFactoryCassandraIoImpl implements CassandraTabl
             .withConnectTimeout(getConnectionTimeout(profile))
             .withReadTimeout(getReadTimeout(profile))
             .withEntity(SourceRow.class)
-            .withCoder(SerializableCoder.of(SourceRow.class))
+            .withCoder(SourceRowCoder.of(sourceSchemaReference, sourceTableSchema))
             .withMapperFactoryFn(
                 CassandraSourceRowMapperFactoryFn.create(cassandraSourceRowMapper));
     return setSslOptions(
-        setNumPartitionsOss(
-            setCredentials(tableReader, profile),
+        setTargetSplitSizeOss(
+            setNumPartitionsOss(
+                setCredentials(tableReader, profile),
+                cassandraDataSourceOss,
+                sourceTableSchema.tableName()),
             cassandraDataSourceOss,
             sourceTableSchema.tableName()),
         profile);
@@ -196,6 +199,23 @@ public class CassandraTableReaderFactoryCassandraIoImpl implements CassandraTabl
     }
   }
 
+  @VisibleForTesting
+  protected static CassandraIO.Read<SourceRow> setTargetSplitSizeOss(
+      CassandraIO.Read<SourceRow> tableReader,
+      CassandraDataSourceOss dataSource,
+      String tableName) {
+    Long targetSplitSizeBytes = dataSource.targetSplitSizeBytes();
+    if (targetSplitSizeBytes != null && targetSplitSizeBytes > 0) {
+      LOG.info(
+          "Setting targetSplitSizeBytes as {} for DataSource {}, tableName {}",
+          targetSplitSizeBytes,
+          dataSource,
+          tableName);
+      return tableReader.withTargetSplitSizeBytes(targetSplitSizeBytes);
+    }
+    return tableReader;
+  }
+
   @VisibleForTesting
   protected static AstraDbIO.Read<SourceRow> setNumPartitionsAstra(
       AstraDbIO.Read<SourceRow> tableReader, AstraDbDataSource dataSource, String tableName) {
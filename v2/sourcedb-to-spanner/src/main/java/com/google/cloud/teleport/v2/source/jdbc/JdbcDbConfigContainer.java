@@ -18,6 +18,7 @@ package com.google.cloud.teleport.v2.source.jdbc;
 import com.google.cloud.teleport.v2.reader.io.IoWrapper;
 import com.google.cloud.teleport.v2.reader.io.jdbc.iowrapper.JdbcIoWrapper;
 import com.google.cloud.teleport.v2.reader.io.jdbc.iowrapper.config.JdbcIoWrapperConfigGroup;
+import com.google.cloud.teleport.v2.reader.io.jdbc.rowmapper.DirectMutationSpec;
 import com.google.cloud.teleport.v2.templates.DbConfigContainer;
 import java.util.List;
 import org.apache.beam.sdk.transforms.Wait;
@@ -54,4 +55,14 @@ public interface JdbcDbConfigContainer extends DbConfigContainer {
   default IoWrapper getIOWrapper(List<String> sourceTables, Wait.OnSignal<?> waitOnSignal) {
     return JdbcIoWrapper.of(getJdbcIoWrapperConfigGroup(sourceTables, waitOnSignal));
   }
+
+  @Override
+  default IoWrapper getIOWrapper(
+      List<String> sourceTables,
+      Wait.OnSignal<?> waitOnSignal,
+      DirectMutationSpec directMutationSpec) {
+    return JdbcIoWrapper.of(
+        getJdbcIoWrapperConfigGroup(sourceTables, waitOnSignal)
+            .withDirectMutationSpec(directMutationSpec));
+  }
 }
@@ -20,6 +20,7 @@ import com.google.cloud.teleport.v2.reader.io.jdbc.iowrapper.JdbcIoWrapper;
 import com.google.cloud.teleport.v2.reader.io.jdbc.rowmapper.JdbcValueMappingsProvider;
 import com.google.cloud.teleport.v2.source.mysql.reader.io.jdbc.dialectadapter.mysql.MysqlDialectAdapter;
 import com.google.cloud.teleport.v2.source.mysql.reader.io.jdbc.dialectadapter.mysql.MysqlDialectAdapter.MySqlVersion;
+import com.google.cloud.teleport.v2.source.mysql.reader.io.jdbc.dialectadapter.mysql.MysqlUniformSplitterDBAdapter;
 import com.google.cloud.teleport.v2.source.mysql.reader.io.jdbc.rowmapper.provider.MysqlJdbcValueMappings;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.ImmutableList;
@@ -55,11 +56,7 @@ public class MySqlConfigDefaults {
   /** Init Seq for enable ANSI Quotes. * */
   @VisibleForTesting
   public static final String ENABLE_ANSI_QUOTES_INIT_SEQ =
-      "SET SESSION sql_mode = \n"
-          + "  CASE \n"
-          + "    WHEN @@sql_mode LIKE '%ANSI_QUOTES%' THEN @@sql_mode \n"
-          + "    ELSE CONCAT(@@sql_mode, ',ANSI_QUOTES') \n"
-          + "  END;";
+      MysqlUniformSplitterDBAdapter.ENABLE_ANSI_QUOTES_INIT_SEQ;
 
   /**
    * Default Initialization Sequence for the JDBC connection.
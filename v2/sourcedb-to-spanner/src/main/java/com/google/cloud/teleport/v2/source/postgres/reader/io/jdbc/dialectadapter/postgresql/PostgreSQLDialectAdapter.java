@@ -16,11 +16,6 @@
 package com.google.cloud.teleport.v2.source.postgres.reader.io.jdbc.dialectadapter.postgresql;
 
 import static com.google.cloud.teleport.v2.reader.io.jdbc.JdbcCommonConstants.UUID_TYPE;
-import static com.google.cloud.teleport.v2.reader.io.jdbc.dialectadapter.ResourceUtils.CHARSET_REPLACEMENT_TAG;
-import static com.google.cloud.teleport.v2.reader.io.jdbc.dialectadapter.ResourceUtils.COLLATION_REPLACEMENT_TAG;
-import static com.google.cloud.teleport.v2.reader.io.jdbc.dialectadapter.ResourceUtils.RETURN_TYPE_REPLACEMENT_TAG;
-import static com.google.cloud.teleport.v2.reader.io.jdbc.dialectadapter.ResourceUtils.replaceTagsAndSanitize;
-import static com.google.cloud.teleport.v2.reader.io.jdbc.dialectadapter.ResourceUtils.resourceAsString;
 
 import com.google.cloud.teleport.v2.constants.MetricCounters;
 import com.google.cloud.teleport.v2.reader.io.exception.RetriableSchemaDiscoveryException;
@@ -28,38 +23,26 @@ import com.google.cloud.teleport.v2.reader.io.exception.SchemaDiscoveryException
 import com.google.cloud.teleport.v2.reader.io.jdbc.JdbcSchemaReference;
 import com.google.cloud.teleport.v2.reader.io.jdbc.dialectadapter.DialectAdapter;
 import com.google.cloud.teleport.v2.reader.io.jdbc.rowmapper.JdbcSourceRowMapper;
-import com.google.cloud.teleport.v2.reader.io.jdbc.uniformsplitter.stringmapper.CollationOrderRow;
-import com.google.cloud.teleport.v2.reader.io.jdbc.uniformsplitter.stringmapper.CollationReference;
-import com.google.cloud.teleport.v2.reader.io.jdbc.uniformsplitter.transforms.ReadWithUniformPartitions;
-import com.google.cloud.teleport.v2.reader.io.schema.SourceColumnIndexInfo;
 import com.google.cloud.teleport.v2.spanner.migrations.schema.SourceColumnType;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
-import com.google.common.collect.Sets;
-import java.io.Serializable;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.SQLNonTransientConnectionException;
-import java.sql.SQLTimeoutException;
 import java.sql.SQLTransientConnectionException;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.Objects;
-import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.stream.Collectors;
-import javax.annotation.Nullable;
 import javax.sql.DataSource;
-import org.apache.beam.sdk.metrics.Counter;
 import org.apache.beam.sdk.metrics.Metrics;
 import org.apache.commons.dbcp2.BasicDataSource;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /** Adapter for PostgreSQL dialect of JDBC databases. */
-public class PostgreSQLDialectAdapter implements DialectAdapter {
+public class PostgreSQLDialectAdapter extends PostgreSQLUniformSplitterDBAdapter
+    implements DialectAdapter {
 
   public enum PostgreSQLVersion {
     DEFAULT,
@@ -67,33 +50,11 @@ public class PostgreSQLDialectAdapter implements DialectAdapter {
 
   private static final Logger logger = LoggerFactory.getLogger(PostgreSQLDialectAdapter.class);
 
-  private static final int VARCHAR_MAX_LENGTH = 65535;
-
-  // SQLState / Error codes
-  // Ref: <a href="https://www.postgresql.org/docs/current/errcodes-appendix.html"></a>
-  private static final String SQL_STATE_ER_QUERY_CANCELLED = "57014";
-  private static final String SQL_STATE_ER_LOCK_TIMEOUT = "55P03";
-  private static final Set<String> TIMEOUT_SQL_STATES =
-      Sets.newHashSet(SQL_STATE_ER_QUERY_CANCELLED, SQL_STATE_ER_LOCK_TIMEOUT);
-
-  // Errors
-  private final Counter schemaDiscoveryErrors =
-      Metrics.counter(JdbcSourceRowMapper.class, MetricCounters.READER_SCHEMA_DISCOVERY_ERRORS);
-
-  // Collations
-  private static final String COLLATIONS_QUERY_RESOURCE_PATH =
-      "sql/postgresql_collation_order_query.sql";
-
-  private static final String PAD_SPACE_RETURN_TYPE = "CHAR(5)";
-  private static final String NO_PAD_SPACE_RETURN_TYPE = "TEXT";
-
   private final PostgreSQLVersion version;
-  private final Set<ColumnKey> uuidColumnKeys = ConcurrentHashMap.newKeySet();
-
-  // Stores parent tables so we can append 'ONLY' to their extraction queries and avoid duplicates.
-  private final Set<String> parentTables = ConcurrentHashMap.newKeySet();
 
   public PostgreSQLDialectAdapter(PostgreSQLVersion version) {
+    super(
+        Metrics.counter(JdbcSourceRowMapper.class, MetricCounters.READER_SCHEMA_DISCOVERY_ERRORS));
     this.version = version;
   }
 
@@ -247,7 +208,7 @@ public class PostgreSQLDialectAdapter implements DialectAdapter {
                 "Discovered UUID column '{}' in table '{}'; enabling text casting for boundary queries",
                 columnName,
                 tableName);
-            uuidColumnKeys.add(new ColumnKey(tableName, columnName));
+            addUuidColumn(tableName, columnName);
           }
           final long characterMaximumLength = resultSet.getLong("character_maximum_length");
           boolean typeHasMaximumCharacterLength = !resultSet.wasNull();
@@ -316,166 +277,6 @@ public class PostgreSQLDialectAdapter implements DialectAdapter {
     return tableSchema;
   }
 
-  /**
-   * Discover the indexes of tables to migrate. You can try this in <a
-   * href="https://www.db-fiddle.com/f/kTanXYXoM2VgCjSf6NZHjD/6">db-fiddle</a>.
-   *
-   * @param dataSource Provider for JDBC connection.
-   * @param sourceSchemaReference Source database name and (optionally namespace)
-   * @param tables Tables to migrate.
-   * @return The discovered indexes.
-   * @throws SchemaDiscoveryException - Fatal exception during Schema Discovery.
-   * @throws RetriableSchemaDiscoveryException - Retriable exception during Schema Discovery.
-   */
-  @Override
-  public ImmutableMap<String, ImmutableList<SourceColumnIndexInfo>> discoverTableIndexes(
-      DataSource dataSource,
-      JdbcSchemaReference sourceSchemaReference,
-      ImmutableList<String> tables)
-      throws SchemaDiscoveryException, RetriableSchemaDiscoveryException {
-    if (tables.isEmpty()) {
-      return ImmutableMap.of();
-    }
-    logger.info(
-        "Discovering Indexes for DataSource: {}, JdbcSchemaReference: {}, Tables: {}",
-        dataSource,
-        sourceSchemaReference,
-        tables);
-
-    // https://www.db-fiddle.com/f/eUSGErdEWNQL8FhMj99Kb7/0
-    final String query =
-        "SELECT ixs.tablename AS table_name,"
-            + "  a.attname AS column_name,"
-            + "  ixs.indexname AS index_name,"
-            + "  ix.indisunique AS is_unique,"
-            + "  ix.indisprimary AS is_primary,"
-            + "("
-            + "SELECT SUM(pc.reltuples)"
-            + " FROM pg_catalog.pg_class pc"
-            + "  WHERE pc.oid IN ("
-            + "  SELECT inhrelid FROM pg_catalog.pg_inherits WHERE inhparent = c.oid"
-            + "  UNION"
-            + "  SELECT c.oid"
-            + " )"
-            + ") AS cardinality,"
-            + "  a.attnum AS ordinal_position,"
-            + "  t.typname AS type_name,"
-            + "  information_schema._pg_char_max_length(a.atttypid, a.atttypmod) AS type_length,"
-            + "  t.typcategory AS type_category,"
-            + "  ico.collation_name AS collation,"
-            + "  ico.pad_attribute AS pad,"
-            + "  pg_encoding_to_char(d.encoding) AS charset"
-            + " FROM pg_catalog.pg_indexes ixs"
-            + "  JOIN pg_catalog.pg_class c ON c.relname = ixs.indexname"
-            + "  JOIN pg_catalog.pg_index ix ON c.oid = ix.indexrelid"
-            + "  JOIN pg_catalog.pg_attribute a ON c.oid = a.attrelid"
-            + "  JOIN pg_catalog.pg_type t ON t.oid = a.atttypid"
-            + "  LEFT OUTER JOIN pg_catalog.pg_collation co ON co.oid = ix.indcollation[a.attnum - 1]"
-            + "  LEFT OUTER JOIN information_schema.collations ico ON ico.collation_name = co.collname"
-            + "  LEFT OUTER JOIN pg_catalog.pg_database d ON d.datname = current_database()"
-            + " WHERE ixs.schemaname = ?"
-            + "  AND ixs.tablename IN "
-            + DialectAdapter.generateInClause(tables.size())
-            + " ORDER BY ix.indexrelid, ordinal_position ASC;";
-
-    Map<String, ImmutableList.Builder<SourceColumnIndexInfo>> builders = new HashMap<>();
-    tables.forEach(table -> builders.put(table, ImmutableList.builder()));
-
-    try (Connection conn = dataSource.getConnection();
-        PreparedStatement statement = conn.prepareStatement(query)) {
-      statement.setFetchSize(1000);
-      statement.setString(1, sourceSchemaReference.namespace());
-      for (int i = 0; i < tables.size(); i++) {
-        statement.setString(i + 2, tables.get(i));
-      }
-      try (ResultSet resultSet = statement.executeQuery()) {
-        while (resultSet.next()) {
-          final String tableName = resultSet.getString("table_name");
-          final String typeCategory = resultSet.getString("type_category");
-          final String typeName =
-              Objects.requireNonNull(resultSet.getString("type_name"), "type_name is null");
-          final String columnName = resultSet.getString("column_name");
-          if (UUID_TYPE.equalsIgnoreCase(typeName)) {
-            uuidColumnKeys.add(new ColumnKey(tableName, columnName));
-          }
-          SourceColumnIndexInfo.Builder indexBuilder =
-              SourceColumnIndexInfo.builder()
-                  .setColumnName(columnName)
-                  .setIndexName(resultSet.getString("index_name"))
-                  .setIsUnique(resultSet.getBoolean("is_unique"))
-                  .setIsPrimary(resultSet.getBoolean("is_primary"))
-                  .setCardinality(resultSet.getLong("cardinality"))
-                  .setOrdinalPosition(resultSet.getLong("ordinal_position"))
-                  .setColumnTypeName(typeName)
-                  .setIndexType(indexTypeFrom(typeCategory, typeName));
-
-          String collation = resultSet.getString("collation");
-          if (collation != null) {
-            String charset = resultSet.getString("charset");
-            Integer typeLength = resultSet.getInt("type_length");
-            if (resultSet.wasNull()) {
-              typeLength = null;
-            }
-            // Collation PAD SPACE is not supported in Postgresql
-            // (https://www.postgresql.org/docs/current/infoschema-collations.html)
-            // The only way to have blank space padding is for specific types with fixed length
-            // (https://www.postgresql.org/docs/current/datatype-character.html)
-            boolean shouldPadSpace = isBlankPaddedType(typeName, typeLength);
-            indexBuilder.setCollationReference(
-                CollationReference.builder()
-                    .setDbCharacterSet(charset)
-                    .setDbCollation(collation)
-                    .setPadSpace(shouldPadSpace)
-                    .build());
-            indexBuilder.setStringMaxLength(typeLength == null ? VARCHAR_MAX_LENGTH : typeLength);
-          }
-          if (builders.containsKey(tableName)) {
-            builders.get(tableName).add(indexBuilder.build());
-          }
-        }
-      }
-    } catch (SQLTransientConnectionException e) {
-      logger.warn(
-          "Transient connection error while discovering table indexes for datasource={} db={} tables={}",
-          dataSource,
-          sourceSchemaReference,
-          tables,
-          e);
-      schemaDiscoveryErrors.inc();
-      throw new RetriableSchemaDiscoveryException(e);
-    } catch (SQLNonTransientConnectionException e) {
-      logger.error(
-          "Non Transient connection error while discovering table indexes for datasource={}, db={} tables={}",
-          dataSource,
-          sourceSchemaReference,
-          tables,
-          e);
-      schemaDiscoveryErrors.inc();
-      throw new SchemaDiscoveryException(e);
-    } catch (SQLException e) {
-      logger.error(
-          "Sql exception while discovering table schema for datasource={} db={} tables={}",
-          dataSource,
-          sourceSchemaReference,
-          tables,
-          e);
-      schemaDiscoveryErrors.inc();
-      throw new SchemaDiscoveryException(e);
-    }
-
-    ImmutableMap.Builder<String, ImmutableList<SourceColumnIndexInfo>> result =
-        ImmutableMap.builder();
-    builders.forEach((table, builder) -> result.put(table, builder.build()));
-
-    ImmutableMap<String, ImmutableList<SourceColumnIndexInfo>> tableIndexes = result.build();
-    logger.info(
-        "Discovered Indexes for DataSource: {}, JdbcSchemaReference: {}, Tables: {}",
-        dataSource,
-        sourceSchemaReference,
-        tables);
-    return tableIndexes;
-  }
-
   /** Discovers and caches parent tables in an inheritance hierarchy. */
   private void discoverAndCacheParentTables(Connection conn) throws SchemaDiscoveryException {
     final String parentTableQuery =
@@ -503,235 +304,4 @@ public class PostgreSQLDialectAdapter implements DialectAdapter {
       throw new SchemaDiscoveryException(e);
     }
   }
-
-  /**
-   * Get query for the prepared statement to read columns within a range.
-   *
-   * @param tableName name of the table to read
-   * @param partitionColumns partition columns.
-   * @return Query Statement.
-   */
-  @Override
-  public String getReadQuery(String tableName, ImmutableList<String> partitionColumns) {
-    String extractionTableName = getExtractionTableName(tableName);
-    return addWhereClause("SELECT * FROM " + extractionTableName, partitionColumns);
-  }
-
-  /**
-   * Get query for the prepared statement to count a given range.
-   *
-   * @param tableName name of the table to read.
-   * @param partitionColumns partition columns.
-   * @param timeoutMillis timeout of the count query in milliseconds. Set to 0 to disable timeout.
-   *     Note that PG does not have an easy way of adding a server level timeout hint in the single
-   *     statement. The client side prepared statement timeout which is set by {@link
-   *     ReadWithUniformPartitions ReadWithUniformPartitions} will help in capping the time query
-   *     spends in counting the rows.
-   * @return Query Statement.
-   */
-  @Override
-  public String getCountQuery(
-      String tableName, ImmutableList<String> partitionColumns, long timeoutMillis) {
-    String extractionTableName = getExtractionTableName(tableName);
-    return addWhereClause(
-        String.format("SELECT COUNT(*) FROM %s", extractionTableName), partitionColumns);
-  }
-
-  /**
-   * Get query for the prepared statement to get min and max of a given column, optionally in the
-   * context of a parent range.
-   *
-   * @param tableName name of the table to read.
-   * @param partitionColumns if not-empty, partition columns. Set empty for first column of
-   *     partitioning.
-   * @param colName the column to evaluate for boundaries.
-   * @return The optimized SQL string.
-   */
-  @Override
-  public String getBoundaryQuery(
-      String tableName, ImmutableList<String> partitionColumns, String colName) {
-    String extractionTableName = getExtractionTableName(tableName);
-    if (uuidColumnKeys.contains(new ColumnKey(tableName, colName))) {
-      return getUuidBoundaryQuery(extractionTableName, partitionColumns, colName);
-    }
-
-    return addWhereClause(
-        String.format("SELECT MIN(%s), MAX(%s) FROM %s", colName, colName, extractionTableName),
-        partitionColumns);
-  }
-
-  /**
-   * Constructs an optimized boundary query for PostgreSQL UUID columns.
-   *
-   * <p>PostgreSQL does not support MIN/MAX aggregate functions on UUID types. Instead, we use
-   * subqueries with ORDER BY and LIMIT 1.
-   *
-   * <p>For compound/partitioned keys, we wrap the query in a CTE to specify the WHERE clause once,
-   * keeping prepared statement parameter indexes aligned with the generic binder. The 'NOT
-   * MATERIALIZED' hint prevents PostgreSQL from loading the partition into memory, forcing standard
-   * index push-down.
-   */
-  private String getUuidBoundaryQuery(
-      String tableName, ImmutableList<String> partitionColumns, String colName) {
-    String queryTemplate =
-        "SELECT (SELECT %1$s FROM %2$s ORDER BY %1$s ASC NULLS LAST LIMIT 1), "
-            + "(SELECT %1$s FROM %2$s ORDER BY %1$s DESC NULLS LAST LIMIT 1)";
-
-    if (partitionColumns.isEmpty()) {
-      return String.format(queryTemplate, colName, tableName);
-    }
-    String whereClause = addWhereClause("", partitionColumns);
-    String selectClause = String.format(queryTemplate, colName, "filtered_uuid");
-    return String.format(
-        "WITH filtered_uuid AS NOT MATERIALIZED (SELECT %1$s FROM %2$s%3$s) %4$s",
-        colName, tableName, whereClause, selectClause);
-  }
-
-  /**
-   * Check if a given {@link SQLException} is a timeout. The implementation needs to check for
-   * dialect specific {@link SQLException#getSQLState() SqlState} to check if the exception
-   * indicates a server side timeout. The client side timeout would be already checked for by
-   * handling {@link SQLTimeoutException}, so the implementation does not need to check for the
-   * same.
-   */
-  @Override
-  public boolean checkForTimeout(SQLException exception) {
-    return exception.getSQLState() != null
-        && TIMEOUT_SQL_STATES.contains(exception.getSQLState().toUpperCase());
-  }
-
-  /**
-   * Ref <a href="https://www.db-fiddle.com/f/sJyGyFpqfnoxYFpEXPxR1/0"></a> Get Query that returns
-   * order of collation. The query must return all the characters in the character set with the
-   * columns listed in {@link CollationOrderRow.CollationsOrderQueryColumns}.
-   *
-   * @param dbCharset character set used by the database for which collation ordering has to be
-   *     found.
-   * @param dbCollation collation set used by the database for which collation ordering has to be
-   *     found.
-   * @param padSpace pad space used by the database for which collation ordering has to be found. If
-   *     this is set to true, we use a fixed length character type to construct the query, which
-   *     ignores trailing space. If this is set to false, we use a variable length character type
-   *     instead.
-   */
-  @Override
-  public String getCollationsOrderQuery(String dbCharset, String dbCollation, boolean padSpace) {
-    String query = resourceAsString(COLLATIONS_QUERY_RESOURCE_PATH);
-    Map<String, String> tags = new HashMap<>();
-    tags.put(CHARSET_REPLACEMENT_TAG, dbCharset);
-    tags.put(COLLATION_REPLACEMENT_TAG, dbCollation);
-    tags.put(
-        RETURN_TYPE_REPLACEMENT_TAG, padSpace ? PAD_SPACE_RETURN_TYPE : NO_PAD_SPACE_RETURN_TYPE);
-    return replaceTagsAndSanitize(query, tags);
-  }
-
-  private String addWhereClause(String query, ImmutableList<String> partitionColumns) {
-    StringBuilder queryBuilder = new StringBuilder();
-    queryBuilder.append(query);
-    if (!partitionColumns.isEmpty()) {
-      queryBuilder.append(" WHERE ");
-      queryBuilder.append(
-          partitionColumns.stream()
-              // Include the column / range to define the where clause.
-              // `(exclude col = FALSE) OR (col >= range.start() AND (col < range.end() OR
-              // (range.isLast() = TRUE AND col = range.end()))`
-              .map(
-                  partitionColumn ->
-                      String.format(
-                          "((? = FALSE) OR (%1$s >= ? AND (%1$s < ? OR (? = TRUE AND %1$s = ?))))",
-                          partitionColumn))
-              .collect(Collectors.joining(" AND ")));
-    }
-    return queryBuilder.toString();
-  }
-
-  /**
-   * Ref <a
-   * href="https://www.postgresql.org/docs/16/catalog-pg-type.html#CATALOG-TYPCATEGORY-TABLE"></a>.
-   */
-  private SourceColumnIndexInfo.IndexType indexTypeFrom(String typeCategory, String typeName) {
-    if (UUID_TYPE.equalsIgnoreCase(typeName)) {
-      return SourceColumnIndexInfo.IndexType.BINARY;
-    }
-    switch (typeCategory) {
-      case "N":
-        return SourceColumnIndexInfo.IndexType.NUMERIC;
-      case "D":
-        return SourceColumnIndexInfo.IndexType.TIME_STAMP;
-      case "S":
-        return SourceColumnIndexInfo.IndexType.STRING;
-      default:
-        return SourceColumnIndexInfo.IndexType.OTHER;
-    }
-  }
-
-  /** Ref <a href="https://www.postgresql.org/docs/current/datatype-character.html"></a>. */
-  private boolean isBlankPaddedType(String typeName, @Nullable Integer typeLength) {
-    String upperTypeName = typeName.toUpperCase();
-    return typeLength != null
-        && (upperTypeName.equals("CHARACTER")
-            || upperTypeName.equals("CHAR")
-            || upperTypeName.equals("BPCHAR"));
-  }
-
-  private String getExtractionTableName(String tableName) {
-    // Extract the unquoted base table name (ignoring schema qualifiers) to check
-    // against the parentTables cache, which stores raw table names from pg_catalog.
-    String unquotedTableName = extractBaseTableName(tableName);
-
-    if (parentTables.contains(unquotedTableName)) {
-      return "ONLY " + tableName;
-    }
-    return tableName;
-  }
-
-  private String extractBaseTableName(String tableName) {
-    String baseName = tableName;
-
-    if (baseName.startsWith("public.")) {
-      baseName = baseName.substring("public.".length());
-    } else if (baseName.startsWith("\"public\".")) {
-      baseName = baseName.substring("\"public\".".length());
-    }
-
-    if (baseName.startsWith("\"") && baseName.endsWith("\"")) {
-      baseName = baseName.substring(1, baseName.length() - 1).replace("\"\"", "\"");
-    }
-
-    return baseName;
-  }
-
-  private static final class ColumnKey implements Serializable {
-    private final String tableName;
-    private final String columnName;
-
-    public ColumnKey(String tableName, String columnName) {
-      this.tableName = clean(tableName);
-      this.columnName = clean(columnName);
-    }
-
-    private static String clean(String identifier) {
-      if (identifier == null) {
-        return "";
-      }
-      return identifier.replace("\"", "").toLowerCase();
-    }
-
-    @Override
-    public boolean equals(Object o) {
-      if (this == o) {
-        return true;
-      }
-      if (!(o instanceof ColumnKey)) {
-        return false;
-      }
-      ColumnKey that = (ColumnKey) o;
-      return tableName.equals(that.tableName) && columnName.equals(that.columnName);
-    }
-
-    @Override
-    public int hashCode() {
-      return Objects.hash(tableName, columnName);
-    }
-  }
 }
@@ -16,6 +16,7 @@
 package com.google.cloud.teleport.v2.templates;
 
 import com.google.cloud.teleport.v2.reader.io.IoWrapper;
+import com.google.cloud.teleport.v2.reader.io.jdbc.rowmapper.DirectMutationSpec;
 import java.util.List;
 import org.apache.beam.sdk.transforms.Wait;
 
@@ -33,4 +34,21 @@ public interface DbConfigContainer {
    * @return ioWrapper.
    */
   IoWrapper getIOWrapper(List<String> sourceTables, Wait.OnSignal<?> waitOnSignal);
+
+  /**
+   * Create an {@link IoWrapper} instance for a list of SourceTables, that maps rows directly to
+   * Spanner mutations where the source supports it. Sources that don't support direct mapping
+   * ignore the {@code directMutationSpec}.
+   *
+   * @param sourceTables List of Source Table.
+   * @param waitOnSignal Wait on previous level to complete.
+   * @param directMutationSpec spec for mapping rows directly to Spanner mutations.
+   * @return ioWrapper.
+   */
+  default IoWrapper getIOWrapper(
+      List<String> sourceTables,
+      Wait.OnSignal<?> waitOnSignal,
+      DirectMutationSpec directMutationSpec) {
+    return getIOWrapper(sourceTables, waitOnSignal);
+  }
 }
@@ -98,6 +98,8 @@ public class MigrateTableTransform extends PTransform<PBegin, PCollection<Void>>
         CustomTransformation.builder(
                 options.getTransformationJarPath(), options.getTransformationClassName())
             .setCustomParameters(options.getTransformationCustomParameters())
+            .setBatchSize(options.getTransformationBatchSize())
+            .setMaxBatchLatencyMs(options.getTransformationBatchMaxLatencyMs())
             .build();
 
     // Transform source data to Spanner Compatible Data
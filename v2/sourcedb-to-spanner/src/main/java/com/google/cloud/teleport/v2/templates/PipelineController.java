@@ -18,6 +18,7 @@ package com.google.cloud.teleport.v2.templates;
 import com.google.cloud.teleport.v2.options.SourceDbToSpannerOptions;
 import com.google.cloud.teleport.v2.reader.ReaderImpl;
 import com.google.cloud.teleport.v2.reader.io.IoWrapper;
+import com.google.cloud.teleport.v2.reader.io.jdbc.rowmapper.DirectMutationSpec;
 import com.google.cloud.teleport.v2.spanner.ddl.Ddl;
 import com.google.cloud.teleport.v2.spanner.migrations.schema.ISchemaMapper;
 import com.google.cloud.teleport.v2.spanner.migrations.schema.IdentityMapper;
@@ -84,6 +85,8 @@ public class PipelineController {
       DbConfigContainer configContainer) {
 
     Map<Integer, PCollection<Void>> levelVsOutputMap = new HashMap<>();
+    DirectMutationSpec directMutationSpec =
+        getDirectMutationSpec(options, tableSelector.getSchemaMapper());
     for (int currentLevel = 0; currentLevel < levelToSpannerTableList.size(); currentLevel++) {
       List<String> spannerTables = levelToSpannerTableList.get(currentLevel);
       LOG.info("processing level: {} spanner tables: {}", currentLevel, spannerTables);
@@ -101,7 +104,10 @@ public class PipelineController {
       }
       OnSignal<@UnknownKeyFor @Nullable @Initialized Object> waitOnSignal =
           previousLevelPCollection != null ? Wait.on(previousLevelPCollection) : null;
-      IoWrapper ioWrapper = configContainer.getIOWrapper(sourceTables, waitOnSignal);
+      IoWrapper ioWrapper =
+          (directMutationSpec == null)
+              ? configContainer.getIOWrapper(sourceTables, waitOnSignal)
+              : configContainer.getIOWrapper(sourceTables, waitOnSignal, directMutationSpec);
       if (ioWrapper.getTableReaders().isEmpty()) {
         LOG.info("not creating reader as tables are not found at source: {}", sourceTables);
         // If tables of 1 level are ignored in middle, then the subsequent level will not wait to
@@ -139,6 +145,27 @@ public class PipelineController {
         new IncrementTableCounter(tableCompletionMap, "", levelToSpannerTableList));
   }
 
+  /**
+   * Returns the spec for mapping source rows directly to Spanner mutations, or null if the direct
+   * mapping is disabled or not applicable because the rows need to be available as Avro records for
+   * a custom transformation or the GCS output.
+   */
+  @VisibleForTesting
+  static DirectMutationSpec getDirectMutationSpec(
+      SourceDbToSpannerOptions options, ISchemaMapper schemaMapper) {
+    if (!Boolean.TRUE.equals(options.getDirectMutationMapping())) {
+      return null;
+    }
+    if (!StringUtils.isEmpty(options.getTransformationJarPath())
+        || !StringUtils.isEmpty(options.getGcsOutputDirectory())) {
+      LOG.warn(
+          "Ignoring directMutationMapping as a custom transformation or gcsOutputDirectory is"
+              + " configured.");
+      return null;
+    }
+    return DirectMutationSpec.create(schemaMapper, options.getInsertOnlyModeForSpannerMutations());
+  }
+
   /**
    * For the spanner tables that contain the shard id column, returns the source table to
    * shardColumn.
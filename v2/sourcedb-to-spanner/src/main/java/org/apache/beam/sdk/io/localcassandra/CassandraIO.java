@@ -197,6 +197,11 @@ public class CassandraIO {
     @Nullable
     abstract ValueProvider<SSLOptions> sslOptions();
 
+    abstract @Nullable ValueProvider<Long> targetSplitSizeBytes();
+
+    /** Estimated size of the ring ranges of this read, set for reads generated by splitting. */
+    abstract @Nullable Long estimatedSizeBytes();
+
     abstract Builder<T> builder();
 
     /** Specify the hosts of the Apache Cassandra instances. */
@@ -382,6 +387,24 @@ public class CassandraIO {
       return builder().setMapperFactoryFn(mapperFactory).build();
     }
 
+    /**
+     * Split the table into splits of roughly {@code targetSplitSizeBytes}, based on the size
+     * estimates published by Cassandra in {@code system.size_estimates}. Token ranges holding more
+     * data are split into more parts. {@link #withMinNumberOfSplits(Integer)} still applies as the
+     * minimum number of splits. If the size estimates are not available, the table is split by
+     * token count only.
+     */
+    public Read<T> withTargetSplitSizeBytes(Long targetSplitSizeBytes) {
+      checkArgument(targetSplitSizeBytes != null, "targetSplitSizeBytes can not be null");
+      checkArgument(targetSplitSizeBytes > 0, "targetSplitSizeBytes must be greater than 0");
+      return withTargetSplitSizeBytes(ValueProvider.StaticValueProvider.of(targetSplitSizeBytes));
+    }
+
+    /** See {@link #withTargetSplitSizeBytes(Long)}. */
+    public Read<T> withTargetSplitSizeBytes(ValueProvider<Long> targetSplitSizeBytes) {
+      return builder().setTargetSplitSizeBytes(targetSplitSizeBytes).build();
+    }
+
     public Read<T> withRingRanges(Set<RingRange> ringRange) {
       return withRingRanges(ValueProvider.StaticValueProvider.of(ringRange));
     }
@@ -427,12 +450,86 @@ public class CassandraIO {
       @ProcessElement
       public void process(
           @Element CassandraIO.Read<T> read, OutputReceiver<Read<T>> outputReceiver) {
+        if (read.targetSplitSizeBytes() != null && read.targetSplitSizeBytes().get() != null) {
+          List<Read<T>> splits = getSizedSplits(read);
+          if (splits != null) {
+            splits.forEach(outputReceiver::output);
+            return;
+          }
+        }
         Set<RingRange> ringRanges = getRingRanges(read);
         for (RingRange rr : ringRanges) {
           outputReceiver.output(read.withRingRanges(ImmutableSet.of(rr)));
         }
       }
 
+      /**
+       * Splits the table into reads of roughly {@link Read#targetSplitSizeBytes()} each. Returns
+       * null if the partitioner is not supported or the size estimates are not available.
+       */
+      private static <T> @Nullable List<Read<T>> getSizedSplits(Read<T> read) {
+        try (Cluster cluster =
+            getCluster(
+                read.hosts(),
+                read.port(),
+                read.username(),
+                read.password(),
+                read.localDc(),
+                read.consistencyLevel(),
+                read.connectTimeout(),
+                read.readTimeout(),
+                read.sslOptions())) {
+          if (!isMurmur3Partitioner(cluster)) {
+            return null;
+          }
+          String partitioner = cluster.getMetadata().getPartitioner();
+          TokenRangeSizeEstimates sizeEstimates;
+          try (Session session = cluster.connect()) {
+            sizeEstimates =
+                TokenRangeSizeEstimates.read(
+                    session, partitioner, read.keyspace().get(), read.table().get());
+          }
+          if (sizeEstimates.isEmpty()) {
+            LOG.warn(
+                "No size estimates available for {}.{}, splitting by token ranges",
+                read.keyspace().get(),
+                read.table().get());
+            return null;
+          }
+          long minSplitCount =
+              (read.minNumberOfSplits() != null && read.minNumberOfSplits().get() != null)
+                  ? read.minNumberOfSplits().get()
+                  : cluster.getMetadata().getAllHosts().size();
+          List<BigInteger> tokens =
+              cluster.getMetadata().getTokenRanges().stream()
+                  .map(tokenRange -> new BigInteger(tokenRange.getEnd().getValue().toString()))
+                  .sorted()
+                  .collect(Collectors.toList());
+          List<List<RingRange>> splits =
+              new SplitGenerator(partitioner)
+                  .generateSplitsBySize(
+                      minSplitCount, tokens, sizeEstimates, read.targetSplitSizeBytes().get());
+          LOG.info(
+              "Split {}.{} of about {} bytes into {} splits of about {} bytes",
+              read.keyspace().get(),
+              read.table().get(),
+              sizeEstimates.totalSize(),
+              splits.size(),
+              read.targetSplitSizeBytes().get());
+
+          List<Read<T>> reads = new ArrayList<>();
+          for (List<RingRange> split : splits) {
+            long estimatedSize = split.stream().mapToLong(sizeEstimates::estimateSize).sum();
+            reads.add(
+                read.builder()
+                    .setRingRanges(ValueProvider.StaticValueProvider.of(ImmutableSet.copyOf(split)))
+                    .setEstimatedSizeBytes(estimatedSize)
+                    .build());
+          }
+          return reads;
+        }
+      }
+
       private static <T> Set<RingRange> getRingRanges(Read<T> read) {
         try (Cluster cluster =
             getCluster(
@@ -519,6 +616,10 @@ public class CassandraIO {
 
       abstract Builder<T> setSslOptions(ValueProvider<SSLOptions> sslOptions);
 
+      abstract Builder<T> setTargetSplitSizeBytes(ValueProvider<Long> targetSplitSizeBytes);
+
+      abstract Builder<T> setEstimatedSizeBytes(Long estimatedSizeBytes);
+
       abstract Read<T> autoBuild();
 
       public Read<T> build() {
@@ -18,18 +18,29 @@
 package org.apache.beam.sdk.io.localcassandra;
 
 import com.datastax.driver.core.ColumnMetadata;
+import com.datastax.driver.core.Host;
+import com.datastax.driver.core.Metadata;
 import com.datastax.driver.core.PreparedStatement;
 import com.datastax.driver.core.ResultSet;
 import com.datastax.driver.core.Session;
+import com.datastax.driver.core.Statement;
 import com.datastax.driver.core.Token;
+import com.datastax.driver.core.TokenRange;
+import com.datastax.driver.core.exceptions.NoHostAvailableException;
 import com.google.common.annotations.VisibleForTesting;
 import java.math.BigInteger;
 import java.util.Collections;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.stream.Collectors;
+import javax.annotation.Nullable;
 import org.apache.beam.sdk.io.cassandra.Mapper;
 import org.apache.beam.sdk.io.localcassandra.CassandraIO.Read;
+import org.apache.beam.sdk.metrics.Counter;
+import org.apache.beam.sdk.metrics.Distribution;
+import org.apache.beam.sdk.metrics.Metrics;
 import org.apache.beam.sdk.transforms.DoFn;
 import org.apache.beam.vendor.guava.v32_1_2_jre.com.google.common.base.Joiner;
 import org.slf4j.Logger;
@@ -43,14 +54,35 @@ class ReadFn<T> extends DoFn<Read<T>, T> {
 
   private static final Logger LOG = LoggerFactory.getLogger(ReadFn.class);
 
+  /**
+   * Number of rows left in the current page at which the next page is requested asynchronously, so
+   * that it is fetched while the remaining rows are processed.
+   */
+  @VisibleForTesting static final int PREFETCH_THRESHOLD = 1000;
+
+  private final Counter rowsRead = Metrics.counter(ReadFn.class, "rowsRead");
+  private final Distribution rowsPerSplit = Metrics.distribution(ReadFn.class, "rowsPerSplit");
+  private final Distribution estimatedBytesPerSplit =
+      Metrics.distribution(ReadFn.class, "estimatedBytesPerSplit");
+  private final Distribution splitReadMillis =
+      Metrics.distribution(ReadFn.class, "splitReadMillis");
+
   @ProcessElement
   public void processElement(@Element Read<T> read, OutputReceiver<T> receiver) throws Exception {
+    long startMillis = System.currentTimeMillis();
+    long rows = 0;
     try {
       Session session = ConnectionManager.getSession(read);
+      Metadata metadata = session.getCluster().getMetadata();
       Mapper<T> mapper = read.mapperFactoryFn().apply(session);
       String partitionKey =
-          session.getCluster().getMetadata().getKeyspace(read.keyspace().get())
-              .getTable(read.table().get()).getPartitionKey().stream()
+          session
+              .getCluster()
+              .getMetadata()
+              .getKeyspace(read.keyspace().get())
+              .getTable(read.table().get())
+              .getPartitionKey()
+              .stream()
               .map(ColumnMetadata::getName)
               // Fix for https://github.com/apache/beam/issues/36272.
               .map(ReadFn::delimitIdentifier)
@@ -62,8 +94,8 @@ class ReadFn<T> extends DoFn<Read<T>, T> {
           read.ringRanges() == null ? Collections.emptySet() : read.ringRanges().get();
 
       for (RingRange rr : ringRanges) {
-        Token startToken = session.getCluster().getMetadata().newToken(rr.getStart().toString());
-        Token endToken = session.getCluster().getMetadata().newToken(rr.getEnd().toString());
+        Token startToken = metadata.newToken(rr.getStart().toString());
+        Token endToken = metadata.newToken(rr.getEnd().toString());
         if (rr.isWrapping()) {
           // A wrapping range is one that overlaps from the end of the partitioner range and its
           // start (ie : when the start token of the split is greater than the end token)
@@ -71,30 +103,81 @@ class ReadFn<T> extends DoFn<Read<T>, T> {
           // of
           // the partitioner range, and the other from the start of the partitioner range to the
           // end token of the split.
-          outputResults(
-              session.execute(getLowestSplitQuery(read, partitionKey, rr.getEnd())),
-              receiver,
-              mapper);
-          outputResults(
-              session.execute(getHighestSplitQuery(read, partitionKey, rr.getStart())),
-              receiver,
-              mapper);
+          rows +=
+              outputResults(
+                  session.execute(getLowestSplitQuery(read, partitionKey, rr.getEnd())),
+                  receiver,
+                  mapper);
+          rows +=
+              outputResults(
+                  session.execute(getHighestSplitQuery(read, partitionKey, rr.getStart())),
+                  receiver,
+                  mapper);
         } else {
+          Statement statement =
+              preparedStatement.bind().setToken(0, startToken).setToken(1, endToken);
           ResultSet rs =
-              session.execute(
-                  preparedStatement.bind().setToken(0, startToken).setToken(1, endToken));
-          outputResults(rs, receiver, mapper);
+              executeOnReplica(
+                  session,
+                  statement,
+                  getReplica(
+                      metadata,
+                      read.keyspace().get(),
+                      metadata.newTokenRange(startToken, endToken),
+                      read.localDc() == null ? null : read.localDc().get()));
+          rows += outputResults(rs, receiver, mapper);
         }
       }
 
       if (read.ringRanges() == null) {
         ResultSet rs = session.execute(preparedStatement.bind());
-        outputResults(rs, receiver, mapper);
+        rows += outputResults(rs, receiver, mapper);
       }
     } catch (Exception ex) {
       LOG.error("error", ex);
       throw ex;
     }
+    rowsPerSplit.update(rows);
+    splitReadMillis.update(System.currentTimeMillis() - startMillis);
+    if (read.estimatedSizeBytes() != null) {
+      estimatedBytesPerSplit.update(read.estimatedSizeBytes());
+    }
+  }
+
+  /**
+   * Returns a replica of the token range that is up, preferring replicas in the local data center,
+   * or null if there is none. A random replica is picked to spread the splits over the replicas.
+   */
+  @VisibleForTesting
+  static @Nullable Host getReplica(
+      Metadata metadata, String keyspace, TokenRange tokenRange, @Nullable String localDc) {
+    List<Host> replicas =
+        metadata.getReplicas(keyspace, tokenRange).stream()
+            .filter(Host::isUp)
+            .filter(host -> localDc == null || localDc.equals(host.getDatacenter()))
+            .collect(Collectors.toList());
+    if (replicas.isEmpty()) {
+      return null;
+    }
+    return replicas.get(ThreadLocalRandom.current().nextInt(replicas.size()));
+  }
+
+  /**
+   * Executes the statement on the given replica, so that the range is read from a node owning it
+   * instead of being coordinated by a node which has to fetch it from the replicas. Falls back to
+   * the load balancing policy if the replica fails.
+   */
+  private static ResultSet executeOnReplica(
+      Session session, Statement statement, @Nullable Host replica) {
+    if (replica != null) {
+      try {
+        return session.execute(statement.setHost(replica));
+      } catch (NoHostAvailableException e) {
+        LOG.warn("Replica {} is not available, retrying through any coordinator", replica, e);
+        statement.setHost(null);
+      }
+    }
+    return session.execute(statement);
   }
 
   /**
@@ -110,13 +193,20 @@ class ReadFn<T> extends DoFn<Read<T>, T> {
     return "\"" + identifier.replaceAll("\"", "\"\"") + "\"";
   }
 
-  private static <T> void outputResults(
-      ResultSet rs, OutputReceiver<T> outputReceiver, Mapper<T> mapper) {
+  private <T> long outputResults(ResultSet rs, OutputReceiver<T> outputReceiver, Mapper<T> mapper) {
     Iterator<T> iter = mapper.map(rs);
+    long rows = 0;
     while (iter.hasNext()) {
+      // Request the next page in the background while the rows of the current one are processed.
+      if (rs.getAvailableWithoutFetching() <= PREFETCH_THRESHOLD && !rs.isFullyFetched()) {
+        rs.fetchMoreResults();
+      }
       T n = iter.next();
       outputReceiver.output(n);
+      rows++;
     }
+    rowsRead.inc(rows);
+    return rows;
   }
 
   private static String getHighestSplitQuery(
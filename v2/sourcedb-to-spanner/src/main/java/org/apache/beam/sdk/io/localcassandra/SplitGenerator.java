@@ -83,21 +83,7 @@ final class SplitGenerator {
     for (int i = 0; i < tokenRangeCount; i++) {
       BigInteger start = ringTokens.get(i);
       BigInteger stop = ringTokens.get((i + 1) % tokenRangeCount);
-
-      if (!isInRange(start) || !isInRange(stop)) {
-        throw new RuntimeException(
-            String.format("Tokens (%s,%s) not in range of %s", start, stop, partitioner));
-      }
-      if (start.equals(stop) && tokenRangeCount != 1) {
-        throw new RuntimeException(
-            String.format("Tokens (%s,%s): two nodes have the same token", start, stop));
-      }
-
-      BigInteger rs = stop.subtract(start);
-      if (rs.compareTo(BigInteger.ZERO) <= 0) {
-        // wrap around case
-        rs = rs.add(rangeSize);
-      }
+      BigInteger rs = tokenRangeSpan(start, stop, tokenRangeCount);
 
       // the below, in essence, does this:
       // splitCount = ceiling((rangeSize / RANGE_SIZE) * totalSplitCount)
@@ -108,30 +94,121 @@ final class SplitGenerator {
           splitCountAndRemainder[0].intValue()
               + (splitCountAndRemainder[1].equals(BigInteger.ZERO) ? 0 : 1);
 
-      LOG.debug("Dividing token range [{},{}) into {} splits", start, stop, splitCount);
-
-      // Make big0 list of all the endpoints for the splits, including both start and stop
-      List<BigInteger> endpointTokens = new ArrayList<>();
-      for (int j = 0; j <= splitCount; j++) {
-        BigInteger offset =
-            rs.multiply(BigInteger.valueOf(j)).divide(BigInteger.valueOf(splitCount));
-        BigInteger token = start.add(offset);
-        if (token.compareTo(rangeMax) > 0) {
-          token = token.subtract(rangeSize);
-        }
-        // Long.MIN_VALUE is not a valid token and has to be silently incremented.
-        // See https://issues.apache.org/jira/browse/CASSANDRA-14684
-        endpointTokens.add(
-            token.equals(BigInteger.valueOf(Long.MIN_VALUE)) ? token.add(BigInteger.ONE) : token);
+      splits.addAll(splitTokenRange(start, stop, rs, splitCount));
+    }
+
+    verifyCoverage(splits);
+    return coalesceSplits(getTargetSplitSize(totalSplitCount), splits);
+  }
+
+  /**
+   * Given a properly ordered list of tokens and the size estimates of a table, compute splits of
+   * roughly {@code targetSplitSizeBytes} each. Token ranges holding more data, for example due to
+   * wide partitions, are divided into more splits, and adjacent ranges holding little data are
+   * grouped into a single split.
+   *
+   * @param minSplitCount requested minimum amount of splits. Each split spans at most {@code
+   *     1/minSplitCount} of the ring.
+   * @param ringTokens list of all start tokens in a cluster. They have to be in ring order.
+   * @param sizeEstimates size estimates of the table.
+   * @param targetSplitSizeBytes requested size of a split.
+   * @return a list of splits, each of them a list of token ranges.
+   */
+  List<List<RingRange>> generateSplitsBySize(
+      long minSplitCount,
+      List<BigInteger> ringTokens,
+      TokenRangeSizeEstimates sizeEstimates,
+      long targetSplitSizeBytes) {
+    int tokenRangeCount = ringTokens.size();
+
+    List<RingRange> splits = new ArrayList<>();
+    List<Long> splitSizes = new ArrayList<>();
+    for (int i = 0; i < tokenRangeCount; i++) {
+      BigInteger start = ringTokens.get(i);
+      BigInteger stop = ringTokens.get((i + 1) % tokenRangeCount);
+      BigInteger rs = tokenRangeSpan(start, stop, tokenRangeCount);
+
+      long estimatedSize = sizeEstimates.estimateSize(RingRange.of(start, stop));
+      // splitCount = max(ceiling(estimatedSize / targetSplitSizeBytes),
+      //                  ceiling((rangeSize / RANGE_SIZE) * minSplitCount))
+      long sizeSplitCount =
+          estimatedSize / targetSplitSizeBytes
+              + (estimatedSize % targetSplitSizeBytes == 0 ? 0 : 1);
+      BigInteger[] tokenSplitCountAndRemainder =
+          rs.multiply(BigInteger.valueOf(minSplitCount)).divideAndRemainder(rangeSize);
+      long tokenSplitCount =
+          tokenSplitCountAndRemainder[0].longValue()
+              + (tokenSplitCountAndRemainder[1].equals(BigInteger.ZERO) ? 0 : 1);
+      // A range can't be divided into more splits than it has tokens.
+      long maxSplitCount = rs.bitLength() < 31 ? rs.longValue() : Integer.MAX_VALUE;
+      int splitCount =
+          (int) Math.max(1, Math.min(maxSplitCount, Math.max(sizeSplitCount, tokenSplitCount)));
+
+      LOG.debug(
+          "Dividing token range [{},{}) of about {} bytes into {} splits",
+          start,
+          stop,
+          estimatedSize,
+          splitCount);
+      for (RingRange split : splitTokenRange(start, stop, rs, splitCount)) {
+        splits.add(split);
+        splitSizes.add(estimatedSize / splitCount);
       }
+    }
+
+    verifyCoverage(splits);
+    return coalesceSplitsBySize(
+        getTargetSplitSize(minSplitCount), targetSplitSizeBytes, splits, splitSizes);
+  }
+
+  /** Returns the number of tokens in {@code [start, stop)}, validating the tokens. */
+  private BigInteger tokenRangeSpan(BigInteger start, BigInteger stop, int tokenRangeCount) {
+    if (!isInRange(start) || !isInRange(stop)) {
+      throw new RuntimeException(
+          String.format("Tokens (%s,%s) not in range of %s", start, stop, partitioner));
+    }
+    if (start.equals(stop) && tokenRangeCount != 1) {
+      throw new RuntimeException(
+          String.format("Tokens (%s,%s): two nodes have the same token", start, stop));
+    }
 
-      // Append the splits between the endpoints
-      for (int j = 0; j < splitCount; j++) {
-        splits.add(RingRange.of(endpointTokens.get(j), endpointTokens.get(j + 1)));
-        LOG.debug("Split #{}: [{},{})", j + 1, endpointTokens.get(j), endpointTokens.get(j + 1));
+    BigInteger rs = stop.subtract(start);
+    if (rs.compareTo(BigInteger.ZERO) <= 0) {
+      // wrap around case
+      rs = rs.add(rangeSize);
+    }
+    return rs;
+  }
+
+  /** Divides the token range {@code [start, stop)} of size {@code rs} into equal splits. */
+  private List<RingRange> splitTokenRange(
+      BigInteger start, BigInteger stop, BigInteger rs, int splitCount) {
+    LOG.debug("Dividing token range [{},{}) into {} splits", start, stop, splitCount);
+
+    // Make big0 list of all the endpoints for the splits, including both start and stop
+    List<BigInteger> endpointTokens = new ArrayList<>();
+    for (int j = 0; j <= splitCount; j++) {
+      BigInteger offset = rs.multiply(BigInteger.valueOf(j)).divide(BigInteger.valueOf(splitCount));
+      BigInteger token = start.add(offset);
+      if (token.compareTo(rangeMax) > 0) {
+        token = token.subtract(rangeSize);
       }
+      // Long.MIN_VALUE is not a valid token and has to be silently incremented.
+      // See https://issues.apache.org/jira/browse/CASSANDRA-14684
+      endpointTokens.add(
+          token.equals(BigInteger.valueOf(Long.MIN_VALUE)) ? token.add(BigInteger.ONE) : token);
     }
 
+    // Append the splits between the endpoints
+    List<RingRange> splits = new ArrayList<>();
+    for (int j = 0; j < splitCount; j++) {
+      splits.add(RingRange.of(endpointTokens.get(j), endpointTokens.get(j + 1)));
+      LOG.debug("Split #{}: [{},{})", j + 1, endpointTokens.get(j), endpointTokens.get(j + 1));
+    }
+    return splits;
+  }
+
+  private void verifyCoverage(List<RingRange> splits) {
     BigInteger total = BigInteger.ZERO;
     for (RingRange split : splits) {
       BigInteger size = split.span(rangeSize);
@@ -141,7 +218,6 @@ final class SplitGenerator {
       throw new RuntimeException(
           "Some tokens are missing from the splits. " + "This should not happen.");
     }
-    return coalesceSplits(getTargetSplitSize(totalSplitCount), splits);
   }
 
   private boolean isInRange(BigInteger token) {
@@ -175,6 +251,42 @@ final class SplitGenerator {
     return coalescedSplits;
   }
 
+  private List<List<RingRange>> coalesceSplitsBySize(
+      BigInteger targetSplitTokens,
+      long targetSplitSizeBytes,
+      List<RingRange> splits,
+      List<Long> splitSizes) {
+    List<List<RingRange>> coalescedSplits = new ArrayList<>();
+    List<RingRange> tokenRangesForCurrentSplit = new ArrayList<>();
+    BigInteger tokenCount = BigInteger.ZERO;
+    long byteCount = 0;
+
+    for (int i = 0; i < splits.size(); i++) {
+      RingRange tokenRange = splits.get(i);
+      long size = splitSizes.get(i);
+      if (!tokenRangesForCurrentSplit.isEmpty()
+          && (byteCount + size > targetSplitSizeBytes
+              || tokenRange.span(rangeSize).add(tokenCount).compareTo(targetSplitTokens) > 0)) {
+        LOG.debug(
+            "Got enough data for one split ({} bytes) : {}", byteCount, tokenRangesForCurrentSplit);
+        coalescedSplits.add(tokenRangesForCurrentSplit);
+        tokenRangesForCurrentSplit = new ArrayList<>();
+        tokenCount = BigInteger.ZERO;
+        byteCount = 0;
+      }
+
+      tokenCount = tokenCount.add(tokenRange.span(rangeSize));
+      byteCount += size;
+      tokenRangesForCurrentSplit.add(tokenRange);
+    }
+
+    if (!tokenRangesForCurrentSplit.isEmpty()) {
+      coalescedSplits.add(tokenRangesForCurrentSplit);
+    }
+
+    return coalescedSplits;
+  }
+
   private BigInteger getTargetSplitSize(long splitCount) {
     return rangeMax.subtract(rangeMin).divide(BigInteger.valueOf(splitCount));
   }
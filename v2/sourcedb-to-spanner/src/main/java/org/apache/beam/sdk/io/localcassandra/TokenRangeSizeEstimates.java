@@ -0,0 +1,189 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.beam.sdk.io.localcassandra;
+
+import com.datastax.driver.core.Host;
+import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.Row;
+import com.datastax.driver.core.Session;
+import com.datastax.driver.core.SimpleStatement;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Size estimates of a Cassandra table, as reported by {@code system.size_estimates}.
+ *
+ * <p>Every node reports the estimated number of partitions and the mean partition size for each of
+ * its primary token ranges. The estimated size of an arbitrary {@link RingRange} is the size of the
+ * estimates overlapping it, scaled by the overlap. Parts of the ring without an estimate, for
+ * example ranges of a node that could not be queried, are assumed to have the mean density of the
+ * known estimates.
+ */
+final class TokenRangeSizeEstimates {
+  private static final Logger LOG = LoggerFactory.getLogger(TokenRangeSizeEstimates.class);
+
+  private static final String SIZE_ESTIMATES_QUERY =
+      "SELECT range_start, range_end, partitions_count, mean_partition_size FROM"
+          + " system.size_estimates WHERE keyspace_name = ? AND table_name = ?";
+
+  private final BigInteger rangeMin;
+  private final BigInteger rangeSize;
+  private final List<RingRange> ranges;
+  private final List<Long> sizes;
+  private final BigInteger coveredTokens;
+  private final long coveredSize;
+
+  /**
+   * @param partitioner partitioner of the cluster.
+   * @param ranges token ranges with an estimate.
+   * @param sizes estimated size in bytes of each of the {@code ranges}.
+   */
+  TokenRangeSizeEstimates(String partitioner, List<RingRange> ranges, List<Long> sizes) {
+    this.rangeMin = SplitGenerator.getRangeMin(partitioner);
+    this.rangeSize = SplitGenerator.getRangeSize(partitioner);
+    this.ranges = ranges;
+    this.sizes = sizes;
+    BigInteger tokens = BigInteger.ZERO;
+    long size = 0;
+    for (int i = 0; i < ranges.size(); i++) {
+      tokens = tokens.add(ranges.get(i).span(rangeSize));
+      size += sizes.get(i);
+    }
+    this.coveredTokens = tokens;
+    this.coveredSize = size;
+  }
+
+  /**
+   * Reads the size estimates of a table from every node of the cluster that is up.
+   *
+   * @param session session to the cluster.
+   * @param partitioner partitioner of the cluster.
+   * @param keyspace keyspace of the table, as used in CQL.
+   * @param table table name, as used in CQL.
+   */
+  static TokenRangeSizeEstimates read(
+      Session session, String partitioner, String keyspace, String table) {
+    List<RingRange> ranges = new ArrayList<>();
+    List<Long> sizes = new ArrayList<>();
+    for (Host host : session.getCluster().getMetadata().getAllHosts()) {
+      if (!host.isUp()) {
+        continue;
+      }
+      try {
+        // size_estimates is a local table, every node reports its own primary ranges.
+        ResultSet rs =
+            session.execute(
+                new SimpleStatement(
+                        SIZE_ESTIMATES_QUERY, unquoteIdentifier(keyspace), unquoteIdentifier(table))
+                    .setHost(host));
+        for (Row row : rs) {
+          ranges.add(
+              RingRange.of(
+                  new BigInteger(row.getString("range_start")),
+                  new BigInteger(row.getString("range_end"))));
+          sizes.add(row.getLong("partitions_count") * row.getLong("mean_partition_size"));
+        }
+      } catch (Exception e) {
+        LOG.warn("Unable to read size estimates of {}.{} from {}", keyspace, table, host, e);
+      }
+    }
+    LOG.info("Read {} size estimates for {}.{}", ranges.size(), keyspace, table);
+    return new TokenRangeSizeEstimates(partitioner, ranges, sizes);
+  }
+
+  /** Returns true if no part of the ring has a non-zero size estimate. */
+  boolean isEmpty() {
+    return coveredSize <= 0 || coveredTokens.signum() <= 0;
+  }
+
+  /** Returns the estimated size in bytes of the whole table. */
+  long totalSize() {
+    return estimateSize(RingRange.of(rangeMin, rangeMin));
+  }
+
+  /** Returns the estimated size in bytes of the data within {@code range}. */
+  long estimateSize(RingRange range) {
+    if (isEmpty()) {
+      return 0;
+    }
+    BigDecimal size = BigDecimal.ZERO;
+    BigInteger overlapTokens = BigInteger.ZERO;
+    for (int i = 0; i < ranges.size(); i++) {
+      BigInteger overlap = overlap(ranges.get(i), range);
+      if (overlap.signum() > 0) {
+        overlapTokens = overlapTokens.add(overlap);
+        size =
+            size.add(
+                new BigDecimal(overlap.multiply(BigInteger.valueOf(sizes.get(i))))
+                    .divide(
+                        new BigDecimal(ranges.get(i).span(rangeSize)), 0, RoundingMode.HALF_UP));
+      }
+    }
+    BigInteger uncovered = range.span(rangeSize).subtract(overlapTokens);
+    if (uncovered.signum() > 0) {
+      size = size.add(estimateUncovered(uncovered));
+    }
+    return size.longValue();
+  }
+
+  private BigDecimal estimateUncovered(BigInteger tokens) {
+    return new BigDecimal(tokens.multiply(BigInteger.valueOf(coveredSize)))
+        .divide(new BigDecimal(coveredTokens), 0, RoundingMode.HALF_UP);
+  }
+
+  /** Returns the number of tokens two ranges have in common. */
+  private BigInteger overlap(RingRange a, RingRange b) {
+    BigInteger overlap = BigInteger.ZERO;
+    for (BigInteger[] segmentA : unwrap(a)) {
+      for (BigInteger[] segmentB : unwrap(b)) {
+        BigInteger start = segmentA[0].max(segmentB[0]);
+        BigInteger end = segmentA[1].min(segmentB[1]);
+        if (end.compareTo(start) > 0) {
+          overlap = overlap.add(end.subtract(start));
+        }
+      }
+    }
+    return overlap;
+  }
+
+  /** Splits a range into non-wrapping {@code [start, end)} segments of the ring. */
+  private List<BigInteger[]> unwrap(RingRange range) {
+    List<BigInteger[]> segments = new ArrayList<>();
+    if (range.getStart().compareTo(range.getEnd()) < 0) {
+      segments.add(new BigInteger[] {range.getStart(), range.getEnd()});
+    } else {
+      BigInteger rangeEnd = rangeMin.add(rangeSize);
+      segments.add(new BigInteger[] {range.getStart(), rangeEnd});
+      segments.add(new BigInteger[] {rangeMin, range.getEnd()});
+    }
+    return segments;
+  }
+
+  /** Returns the name of a CQL identifier, as stored in the system tables. */
+  static String unquoteIdentifier(String identifier) {
+    if (identifier.length() >= 2 && identifier.startsWith("\"") && identifier.endsWith("\"")) {
+      return identifier.substring(1, identifier.length() - 1).replace("\"\"", "\"");
+    }
+    return identifier.toLowerCase();
+  }
+}
@@ -55,7 +55,6 @@ import com.google.cloud.teleport.v2.source.mysql.MySqlSrcToSpSourceConnector;
 import com.google.cloud.teleport.v2.spanner.migrations.schema.SourceColumnType;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
-import java.math.BigDecimal;
 import java.sql.SQLException;
 import java.util.stream.Collectors;
 import org.apache.beam.sdk.io.jdbc.JdbcIO;
@@ -667,38 +666,6 @@ public class JdbcIoWrapperTest {
         .isInstanceOf(JdbcIO.ReadWithPartitions.class);
   }
 
-  @Test
-  public void testIndexTypeToColumnClass() {
-
-    assertThat(
-            JdbcIoWrapper.indexTypeToColumnClass(
-                SourceColumnIndexInfo.builder()
-                    .setColumnTypeName("dummy")
-                    .setColumnName("col1")
-                    .setIndexType(IndexType.BIG_INT_UNSIGNED)
-                    .setOrdinalPosition(1)
-                    .setIndexName("PRIMARY")
-                    .setIsPrimary(true)
-                    .setCardinality(42L)
-                    .setIsUnique(true)
-                    .build()))
-        .isEqualTo(BigDecimal.class);
-    assertThrows(
-        SuitableIndexNotFoundException.class,
-        () ->
-            JdbcIoWrapper.indexTypeToColumnClass(
-                SourceColumnIndexInfo.builder()
-                    .setColumnTypeName("dummy")
-                    .setColumnName("col1")
-                    .setIndexType(IndexType.OTHER)
-                    .setOrdinalPosition(1)
-                    .setIndexName("PRIMARY")
-                    .setIsPrimary(true)
-                    .setCardinality(42L)
-                    .setIsUnique(true)
-                    .build()));
-  }
-
   @Test
   public void testIdentifierEscaping() {
     assertThat(JdbcIoWrapper.delimitIdentifier("key")).isEqualTo("\"key\"");
@@ -0,0 +1,143 @@
+/*
+ * Copyright (C) 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.cloud.teleport.v2.reader.io.jdbc.rowmapper;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.google.cloud.spanner.Dialect;
+import com.google.cloud.spanner.Mutation;
+import com.google.cloud.teleport.v2.reader.io.row.SourceRow;
+import com.google.cloud.teleport.v2.reader.io.schema.SchemaTestUtils;
+import com.google.cloud.teleport.v2.reader.io.schema.SourceSchemaReference;
+import com.google.cloud.teleport.v2.reader.io.schema.SourceTableSchema;
+import com.google.cloud.teleport.v2.source.mysql.reader.io.jdbc.rowmapper.provider.MysqlJdbcValueMappings;
+import com.google.cloud.teleport.v2.spanner.migrations.schema.ISchemaMapper;
+import com.google.cloud.teleport.v2.spanner.type.Type;
+import java.sql.ResultSet;
+import java.util.List;
+import java.util.NoSuchElementException;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+import org.mockito.Mockito;
+
+/** Test class for {@link JdbcMutationRowMapper}. */
+@RunWith(JUnit4.class)
+public class JdbcMutationRowMapperTest {
+
+  private SourceSchemaReference schemaRef;
+  private SourceTableSchema schema;
+  private ISchemaMapper schemaMapper;
+  private ResultSet resultSet;
+
+  @Before
+  public void setUp() throws Exception {
+    schemaRef = SchemaTestUtils.generateSchemaReference("public", "mydb");
+    schema = SchemaTestUtils.generateTestTableSchema("srcTable");
+
+    schemaMapper = mock(ISchemaMapper.class, Mockito.withSettings().serializable());
+    when(schemaMapper.getDialect()).thenReturn(Dialect.GOOGLE_STANDARD_SQL);
+    when(schemaMapper.getSpannerTableName(anyString(), eq("srcTable"))).thenReturn("spannerTable");
+    when(schemaMapper.getSourceColumnName(anyString(), anyString(), eq("spFirstName")))
+        .thenReturn("firstName");
+    when(schemaMapper.getSourceColumnName(anyString(), anyString(), eq("spLastName")))
+        .thenReturn("lastName");
+    when(schemaMapper.getSpannerColumnType(anyString(), anyString(), anyString()))
+        .thenReturn(Type.string());
+    when(schemaMapper.getSpannerColumns(anyString(), anyString()))
+        .thenReturn(List.of("spFirstName", "spLastName", "spShardId"));
+    when(schemaMapper.getShardIdColumnName(anyString(), anyString())).thenReturn("spShardId");
+    when(schemaMapper.colExistsAtSource(anyString(), anyString(), anyString())).thenReturn(true);
+
+    resultSet = mock(ResultSet.class);
+    when(resultSet.getString("firstName")).thenReturn("abc");
+    when(resultSet.getString("lastName")).thenReturn(null);
+  }
+
+  @Test
+  public void testMapRowToMutation() throws Exception {
+    JdbcMutationRowMapper mapper =
+        new JdbcMutationRowMapper(
+            new MysqlJdbcValueMappings(),
+            schemaRef,
+            schema,
+            "shard1",
+            DirectMutationSpec.create(schemaMapper, false));
+
+    SourceRow sourceRow = mapper.mapRow(resultSet);
+
+    assertThat(sourceRow.tableName()).isEqualTo("srcTable");
+    assertThat(sourceRow.shardId()).isEqualTo("shard1");
+    assertThat(sourceRow.mutation())
+        .isEqualTo(
+            Mutation.newInsertOrUpdateBuilder("spannerTable")
+                .set("spFirstName")
+                .to("abc")
+                .set("spShardId")
+                .to("shard1")
+                .build());
+  }
+
+  @Test
+  public void testMapRowToInsertMutation() throws Exception {
+    JdbcMutationRowMapper mapper =
+        new JdbcMutationRowMapper(
+            new MysqlJdbcValueMappings(),
+            schemaRef,
+            schema,
+            null,
+            DirectMutationSpec.create(schemaMapper, true));
+
+    assertThat(mapper.mapRow(resultSet).mutation())
+        .isEqualTo(Mutation.newInsertBuilder("spannerTable").set("spFirstName").to("abc").build());
+  }
+
+  @Test
+  public void testFallbackToPayloadOnConversionError() throws Exception {
+    when(schemaMapper.getSpannerColumnType(anyString(), anyString(), eq("spFirstName")))
+        .thenReturn(Type.int64());
+    JdbcMutationRowMapper mapper =
+        new JdbcMutationRowMapper(
+            new MysqlJdbcValueMappings(),
+            schemaRef,
+            schema,
+            null,
+            DirectMutationSpec.create(schemaMapper, false));
+
+    SourceRow sourceRow = mapper.mapRow(resultSet);
+
+    assertThat(sourceRow.mutation()).isNull();
+    assertThat(sourceRow.getPayload().get("firstName")).isEqualTo("abc");
+  }
+
+  @Test
+  public void testIsSupported() {
+    DirectMutationSpec spec = DirectMutationSpec.create(schemaMapper, false);
+    when(schemaMapper.getSpannerTableName(anyString(), eq("unknownTable")))
+        .thenThrow(new NoSuchElementException("unknownTable"));
+
+    assertThat(JdbcMutationRowMapper.isSupported(spec, schema)).isTrue();
+    assertThat(
+            JdbcMutationRowMapper.isSupported(
+                spec, SchemaTestUtils.generateTestTableSchema("unknownTable")))
+        .isFalse();
+  }
+}
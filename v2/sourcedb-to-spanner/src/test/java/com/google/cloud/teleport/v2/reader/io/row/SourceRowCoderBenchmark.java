@@ -0,0 +1,129 @@
+/*
+ * Copyright (C) 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.cloud.teleport.v2.reader.io.row;
+
+import com.google.cloud.teleport.v2.reader.io.schema.SchemaTestUtils;
+import com.google.cloud.teleport.v2.reader.io.schema.SourceSchemaReference;
+import com.google.cloud.teleport.v2.reader.io.schema.SourceTableSchema;
+import com.google.cloud.teleport.v2.spanner.migrations.schema.SourceColumnType;
+import com.google.common.collect.ImmutableList;
+import java.util.concurrent.TimeUnit;
+import org.apache.beam.sdk.coders.Coder;
+import org.apache.beam.sdk.coders.CoderException;
+import org.apache.beam.sdk.coders.SerializableCoder;
+import org.apache.beam.sdk.util.CoderUtils;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * JMH benchmark comparing {@link SourceRowCoder} with the {@link SerializableCoder} that was
+ * previously used for {@link SourceRow}.
+ *
+ * <p>Run from an IDE through {@link #main(String[])}, or with {@code mvn test-compile exec:exec
+ * -Dexec.executable=java -Dexec.classpathScope=test -Dexec.args="-classpath %classpath
+ * com.google.cloud.teleport.v2.reader.io.row.SourceRowCoderBenchmark"}. The {@code encode}
+ * benchmark also reports the {@code encodedBytes} secondary result, whose rate divided by the rate
+ * of rows encoded is the encoded size of a row.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class SourceRowCoderBenchmark {
+
+  @Param({"serializable", "sourceRow"})
+  public String coderType;
+
+  @Param({"2", "20"})
+  public int columns;
+
+  private Coder<SourceRow> coder;
+  private SourceRow row;
+  private byte[] encoded;
+
+  @Setup(Level.Trial)
+  public void setup() throws CoderException {
+    SourceSchemaReference schemaRef = SchemaTestUtils.generateSchemaReference("public", "mydb");
+    SourceTableSchema.Builder schemaBuilder =
+        SchemaTestUtils.generateTestTableSchemaBuilder("benchmarkTable")
+            .setPrimaryKeyColumns(ImmutableList.of(SchemaTestUtils.TEST_FIELD_NAME_1));
+    for (int i = 2; i < columns; i++) {
+      schemaBuilder.addSourceColumnNameToSourceColumnType(
+          "column" + i, new SourceColumnType("varchar", new Long[] {20L}, null));
+    }
+    SourceTableSchema schema = schemaBuilder.build();
+
+    SourceRow.Builder rowBuilder =
+        SourceRow.builder(schemaRef, schema, "shard1", 1712751118L)
+            .setField(SchemaTestUtils.TEST_FIELD_NAME_1, "Albert")
+            .setField(SchemaTestUtils.TEST_FIELD_NAME_2, "Einstein");
+    for (int i = 2; i < columns; i++) {
+      rowBuilder.setField("column" + i, "value" + i);
+    }
+    row = rowBuilder.build();
+
+    coder =
+        coderType.equals("sourceRow")
+            ? SourceRowCoder.of(schemaRef, schema)
+            : SerializableCoder.of(SourceRow.class);
+    encoded = CoderUtils.encodeToByteArray(coder, row);
+  }
+
+  /** Bytes written by the {@code encode} benchmark, reported as a secondary result. */
+  @State(Scope.Thread)
+  @AuxCounters(AuxCounters.Type.OPERATIONS)
+  public static class EncodedBytes {
+    public long encodedBytes;
+
+    @Setup(Level.Iteration)
+    public void reset() {
+      encodedBytes = 0;
+    }
+  }
+
+  @Benchmark
+  public byte[] encode(EncodedBytes counters) throws CoderException {
+    byte[] bytes = CoderUtils.encodeToByteArray(coder, row);
+    counters.encodedBytes += bytes.length;
+    return bytes;
+  }
+
+  @Benchmark
+  public SourceRow decode() throws CoderException {
+    return CoderUtils.decodeFromByteArray(coder, encoded);
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(new OptionsBuilder().include(SourceRowCoderBenchmark.class.getSimpleName()).build())
+        .run();
+  }
+}
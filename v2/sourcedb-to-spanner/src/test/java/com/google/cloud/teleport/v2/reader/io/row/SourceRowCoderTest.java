@@ -0,0 +1,207 @@
+/*
+ * Copyright (C) 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.cloud.teleport.v2.reader.io.row;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import com.google.cloud.ByteArray;
+import com.google.cloud.Date;
+import com.google.cloud.Timestamp;
+import com.google.cloud.spanner.Mutation;
+import com.google.cloud.spanner.Value;
+import com.google.cloud.teleport.v2.reader.io.schema.SchemaTestUtils;
+import com.google.cloud.teleport.v2.reader.io.schema.SourceSchemaReference;
+import com.google.cloud.teleport.v2.reader.io.schema.SourceTableSchema;
+import com.google.common.collect.ImmutableList;
+import java.math.BigDecimal;
+import java.util.List;
+import org.apache.beam.sdk.coders.SerializableCoder;
+import org.apache.beam.sdk.testing.CoderProperties;
+import org.apache.beam.sdk.util.CoderUtils;
+import org.apache.beam.sdk.util.SerializableUtils;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** Test class for {@link SourceRowCoder}. */
+@RunWith(JUnit4.class)
+public class SourceRowCoderTest {
+
+  private static final long TEST_READ_TIME = 1712751118L;
+
+  private static SourceRow sourceRow(
+      SourceSchemaReference schemaRef, SourceTableSchema schema, String shardId) {
+    return SourceRow.builder(schemaRef, schema, shardId, TEST_READ_TIME)
+        .setField("firstName", "abc")
+        .setField("lastName", "def")
+        .build();
+  }
+
+  @Test
+  public void testRoundTrip() throws Exception {
+    var schemaRef = SchemaTestUtils.generateSchemaReference("public", "mydb");
+    var schema =
+        SchemaTestUtils.generateTestTableSchemaBuilder("testTable")
+            .setPrimaryKeyColumns(ImmutableList.of(SchemaTestUtils.TEST_FIELD_NAME_1))
+            .build();
+    SourceRowCoder coder = SourceRowCoder.of(schemaRef, schema);
+
+    CoderProperties.coderDecodeEncodeEqual(coder, sourceRow(schemaRef, schema, "id1"));
+    CoderProperties.coderDecodeEncodeEqual(coder, sourceRow(schemaRef, schema, null));
+  }
+
+  @Test
+  public void testMultipleTablesAndReferences() throws Exception {
+    var schemaRef1 = SchemaTestUtils.generateSchemaReference("public", "db1");
+    var schemaRef2 = SchemaTestUtils.generateSchemaReference("public", "db2");
+    var schema1 = SchemaTestUtils.generateTestTableSchema("table1");
+    var schema2 = SchemaTestUtils.generateTestTableSchema("table2");
+    SourceRowCoder coder =
+        SourceRowCoder.of(
+            ImmutableList.of(schemaRef1, schemaRef2, schemaRef1),
+            ImmutableList.of(schema1, schema2));
+
+    SourceRow row = sourceRow(schemaRef2, schema2, "id2");
+    SourceRow decoded = CoderUtils.clone(coder, row);
+
+    assertThat(decoded).isEqualTo(row);
+    assertThat(decoded.sourceSchemaReference()).isEqualTo(schemaRef2);
+    assertThat(decoded.tableName()).isEqualTo("table2");
+    assertThat(decoded.getReadTimeMicros()).isEqualTo(TEST_READ_TIME);
+  }
+
+  @Test
+  public void testEncodingIsSmallerThanJavaSerialization() throws Exception {
+    var schemaRef = SchemaTestUtils.generateSchemaReference("public", "mydb");
+    var schema = SchemaTestUtils.generateTestTableSchema("testTable");
+    SourceRow row = sourceRow(schemaRef, schema, "id1");
+
+    int encodedSize =
+        CoderUtils.encodeToByteArray(SourceRowCoder.of(schemaRef, schema), row).length;
+    int serializedSize =
+        CoderUtils.encodeToByteArray(SerializableCoder.of(SourceRow.class), row).length;
+
+    assertThat(encodedSize).isLessThan(serializedSize / 10);
+  }
+
+  @Test
+  public void testUnknownTableFallsBackToJavaSerialization() throws Exception {
+    var schemaRef = SchemaTestUtils.generateSchemaReference("public", "mydb");
+    var knownSchema = SchemaTestUtils.generateTestTableSchema("knownTable");
+    var unknownSchema = SchemaTestUtils.generateTestTableSchema("unknownTable");
+    SourceRowCoder coder = SourceRowCoder.of(schemaRef, knownSchema);
+
+    SourceRow row = sourceRow(schemaRef, unknownSchema, "id1");
+    byte[] encoded = CoderUtils.encodeToByteArray(coder, row);
+
+    assertThat(encoded[0]).isEqualTo((byte) 0);
+    assertThat(CoderUtils.decodeFromByteArray(coder, encoded)).isEqualTo(row);
+  }
+
+  @Test
+  public void testUnknownReferenceFallsBackToJavaSerialization() throws Exception {
+    var knownRef = SchemaTestUtils.generateSchemaReference("public", "mydb");
+    var unknownRef = SchemaTestUtils.generateSchemaReference("public", "otherdb");
+    var schema = SchemaTestUtils.generateTestTableSchema("testTable");
+    SourceRowCoder coder = SourceRowCoder.of(knownRef, schema);
+
+    SourceRow row = sourceRow(unknownRef, schema, "id1");
+    byte[] encoded = CoderUtils.encodeToByteArray(coder, row);
+
+    assertThat(encoded[0]).isEqualTo((byte) 0);
+    assertThat(CoderUtils.decodeFromByteArray(coder, encoded)).isEqualTo(row);
+  }
+
+  @Test
+  public void testMutationRoundTrip() throws Exception {
+    var schemaRef = SchemaTestUtils.generateSchemaReference("public", "mydb");
+    var schema = SchemaTestUtils.generateTestTableSchema("testTable");
+    SourceRowCoder coder = SourceRowCoder.of(schemaRef, schema);
+    Mutation mutation =
+        Mutation.newInsertOrUpdateBuilder("testTable")
+            .set("bool_col")
+            .to(true)
+            .set("int_col")
+            .to(-42L)
+            .set("float32_col")
+            .to(1.5f)
+            .set("float64_col")
+            .to(2.25d)
+            .set("numeric_col")
+            .to(new BigDecimal("12345.6789"))
+            .set("pg_numeric_col")
+            .to(Value.pgNumeric("NaN"))
+            .set("string_col")
+            .to("abc")
+            .set("null_string_col")
+            .to((String) null)
+            .set("json_col")
+            .to(Value.json("{\"a\":1}"))
+            .set("bytes_col")
+            .to(ByteArray.copyFrom(new byte[] {0, 1, 2}))
+            .set("timestamp_col")
+            .to(Timestamp.ofTimeSecondsAndNanos(1712751118L, 123456000))
+            .set("date_col")
+            .to(Date.fromYearMonthDay(2024, 4, 10))
+            .build();
+    SourceRow row = SourceRow.withMutation(schemaRef, schema, "id1", mutation);
+
+    byte[] encoded = CoderUtils.encodeToByteArray(coder, row);
+    SourceRow decoded = CoderUtils.decodeFromByteArray(coder, encoded);
+
+    assertThat(encoded[0]).isEqualTo((byte) 1);
+    assertThat(decoded).isEqualTo(row);
+    assertThat(decoded.mutation()).isEqualTo(mutation);
+    assertThat(decoded.tableName()).isEqualTo("testTable");
+    assertThat(decoded.shardId()).isEqualTo("id1");
+    assertThat(encoded.length)
+        .isLessThan(
+            CoderUtils.encodeToByteArray(SerializableCoder.of(SourceRow.class), row).length / 4);
+  }
+
+  @Test
+  public void testMutationWithArrayFallsBackToJavaSerialization() throws Exception {
+    var schemaRef = SchemaTestUtils.generateSchemaReference("public", "mydb");
+    var schema = SchemaTestUtils.generateTestTableSchema("testTable");
+    SourceRowCoder coder = SourceRowCoder.of(schemaRef, schema);
+    Mutation mutation =
+        Mutation.newInsertBuilder("testTable")
+            .set("array_col")
+            .toInt64Array(List.of(1L, 2L))
+            .build();
+    SourceRow row = SourceRow.withMutation(schemaRef, schema, null, mutation);
+
+    byte[] encoded = CoderUtils.encodeToByteArray(coder, row);
+
+    assertThat(encoded[0]).isEqualTo((byte) 0);
+    assertThat(CoderUtils.decodeFromByteArray(coder, encoded)).isEqualTo(row);
+  }
+
+  @Test
+  public void testCoderIsSerializable() throws Exception {
+    var schemaRef = SchemaTestUtils.generateSchemaReference("public", "mydb");
+    var schema = SchemaTestUtils.generateTestTableSchema("testTable");
+    SourceRowCoder coder = SourceRowCoder.of(schemaRef, schema);
+    SourceRow row = sourceRow(schemaRef, schema, "id1");
+    // Initialize the transient caches before serializing the coder.
+    CoderUtils.clone(coder, row);
+
+    SourceRowCoder deserialized = SerializableUtils.clone(coder);
+
+    assertThat(deserialized).isEqualTo(coder);
+    assertThat(CoderUtils.clone(deserialized, row)).isEqualTo(row);
+  }
+}
@@ -270,6 +270,34 @@ public class CassandraTableReaderFactoryCassandraIoImplTest {
     verify(mockCassandraIORead, times(1)).withMinNumberOfSplits(testNumberOfSplits);
   }
 
+  @Test
+  public void testSetTargetSplitSizeOss() {
+
+    Long testTargetSplitSizeBytes = 42L;
+    CassandraIO.Read<SourceRow> mockCassandraIORead = mock(CassandraIO.Read.class);
+    when(mockCassandraIORead.withTargetSplitSizeBytes(testTargetSplitSizeBytes))
+        .thenReturn(mockCassandraIORead);
+
+    CassandraDataSourceOss cassandraDataSourceOss =
+        CassandraDataSourceOss.builder()
+            .setClusterName("testCluster")
+            .setOptionsMap(OptionsMap.driverDefaults())
+            .build();
+    assertThat(
+            CassandraTableReaderFactoryCassandraIoImpl.setTargetSplitSizeOss(
+                mockCassandraIORead, cassandraDataSourceOss, "testTable"))
+        .isEqualTo(mockCassandraIORead);
+    assertThat(
+            CassandraTableReaderFactoryCassandraIoImpl.setTargetSplitSizeOss(
+                mockCassandraIORead,
+                cassandraDataSourceOss.toBuilder()
+                    .setTargetSplitSizeBytes(testTargetSplitSizeBytes)
+                    .build(),
+                "testTable"))
+        .isEqualTo(mockCassandraIORead);
+    verify(mockCassandraIORead, times(1)).withTargetSplitSizeBytes(testTargetSplitSizeBytes);
+  }
+
   @Test
   public void testCassandraTableReaderFactoryAstraBasic() throws RetriableSchemaDiscoveryException {
 
@@ -17,10 +17,13 @@ package com.google.cloud.teleport.v2.transformer;
 
 import static org.junit.Assert.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.google.cloud.spanner.Dialect;
@@ -35,10 +38,13 @@ import com.google.cloud.teleport.v2.source.mysql.MySqlSrcToSpSourceConnector;
 import com.google.cloud.teleport.v2.spanner.exceptions.InvalidTransformationException;
 import com.google.cloud.teleport.v2.spanner.migrations.schema.ISchemaMapper;
 import com.google.cloud.teleport.v2.spanner.migrations.schema.SourceColumnType;
+import com.google.cloud.teleport.v2.spanner.migrations.transformation.CustomTransformation;
 import com.google.cloud.teleport.v2.spanner.type.Type;
+import com.google.cloud.teleport.v2.spanner.utils.IBatchSpannerMigrationTransformer;
 import com.google.cloud.teleport.v2.spanner.utils.ISpannerMigrationTransformer;
 import com.google.cloud.teleport.v2.spanner.utils.MigrationTransformationRequest;
 import com.google.cloud.teleport.v2.spanner.utils.MigrationTransformationResponse;
+import com.google.cloud.teleport.v2.spanner.utils.MigrationTransformationResult;
 import com.google.cloud.teleport.v2.templates.RowContext;
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -52,10 +58,12 @@ import org.apache.beam.sdk.transforms.Create;
 import org.apache.beam.sdk.transforms.DoFn;
 import org.apache.beam.sdk.transforms.MapElements;
 import org.apache.beam.sdk.transforms.ParDo;
+import org.apache.beam.sdk.transforms.windowing.GlobalWindow;
 import org.apache.beam.sdk.values.PCollection;
 import org.apache.beam.sdk.values.PCollectionTuple;
 import org.apache.beam.sdk.values.TupleTagList;
 import org.apache.beam.sdk.values.TypeDescriptor;
+import org.joda.time.Instant;
 import org.junit.Rule;
 import org.junit.Test;
 import org.mockito.Mockito;
@@ -209,14 +217,15 @@ public class SourceRowToMutationDoFnTest {
               return null;
             })
         .when(mockOutputReceiverForTag)
-        .output(any(RowContext.class));
+        .outputWithTimestamp(any(RowContext.class), any());
     when(outputReceiverMock.get(SourceDbToSpannerConstants.ROW_TRANSFORMATION_SUCCESS))
         .thenReturn(mockOutputReceiverForTag); // Return the mock OutputReceiver
 
     SourceRowToMutationDoFn sourceRowToMutationDoFn =
         SourceRowToMutationDoFn.create(mockIschemaMapper, null, false);
     sourceRowToMutationDoFn.setSourceDbToSpannerTransformer(spannerMigrationTransformer);
-    sourceRowToMutationDoFn.processElement(processContextMock, outputReceiverMock);
+    sourceRowToMutationDoFn.processElement(
+        processContextMock, outputReceiverMock, GlobalWindow.INSTANCE);
 
     Mutation.WriteBuilder builder = Mutation.newInsertOrUpdateBuilder("spannerTable");
     builder.set("spFirstName").to(Value.string("abc"));
@@ -289,14 +298,15 @@ public class SourceRowToMutationDoFnTest {
               return null;
             })
         .when(mockOutputReceiverForTag)
-        .output(any(RowContext.class));
+        .outputWithTimestamp(any(RowContext.class), any());
     when(outputReceiverMock.get(SourceDbToSpannerConstants.FILTERED_EVENT_TAG))
         .thenReturn(mockOutputReceiverForTag); // Return the mock OutputReceiver
 
     SourceRowToMutationDoFn sourceRowToMutationDoFn =
         SourceRowToMutationDoFn.create(mockIschemaMapper, null, false);
     sourceRowToMutationDoFn.setSourceDbToSpannerTransformer(spannerMigrationTransformer);
-    sourceRowToMutationDoFn.processElement(processContextMock, outputReceiverMock);
+    sourceRowToMutationDoFn.processElement(
+        processContextMock, outputReceiverMock, GlobalWindow.INSTANCE);
 
     assertEquals(List.of(RowContext.builder().setRow(sourceRow).build()), filteredEventsActual);
   }
@@ -344,6 +354,25 @@ public class SourceRowToMutationDoFnTest {
     pipeline.run();
   }
 
+  @Test
+  public void testSourceRowToMutationDoFn_directMutation() {
+    var schemaRef = SchemaTestUtils.generateSchemaReference("public", "mydb");
+    var schema = SchemaTestUtils.generateTestTableSchema("srcTable");
+    Mutation mutation =
+        Mutation.newInsertOrUpdateBuilder("spannerTable").set("spFirstName").to("abc").build();
+    PCollection<SourceRow> sourceRows =
+        pipeline.apply(Create.of(SourceRow.withMutation(schemaRef, schema, null, mutation)));
+    // The schema mapper is not consulted for rows that already carry a mutation.
+    ISchemaMapper mockIschemaMapper =
+        mock(ISchemaMapper.class, Mockito.withSettings().serializable());
+
+    PCollection<Mutation> mutations =
+        transform(sourceRows, SourceRowToMutationDoFn.create(mockIschemaMapper, null, false));
+
+    PAssert.that(mutations).containsInAnyOrder(mutation);
+    pipeline.run();
+  }
+
   /** Helper Method to extract mutations from transformation output. */
   private PCollection<Mutation> transform(
       PCollection<SourceRow> sourceRows, SourceRowToMutationDoFn transformDoFn) {
@@ -445,4 +474,141 @@ public class SourceRowToMutationDoFnTest {
                 .build());
     pipeline.run();
   }
+
+  @Test
+  public void testBatchedCustomTransformation() throws InvalidTransformationException {
+    var schemaRef = SchemaTestUtils.generateSchemaReference("public", "mydb");
+    var schema = SchemaTestUtils.generateTestTableSchema("srcTable");
+    SourceRow firstRow =
+        SourceRow.builder(schemaRef, schema, null, 12412435345L)
+            .setField("firstName", "abc")
+            .setField("lastName", "def")
+            .build();
+    SourceRow secondRow =
+        SourceRow.builder(schemaRef, schema, null, 12412435345L)
+            .setField("firstName", "ghi")
+            .setField("lastName", "jkl")
+            .build();
+    Instant firstTimestamp = Instant.ofEpochMilli(1000);
+    Instant secondTimestamp = Instant.ofEpochMilli(2000);
+    IBatchSpannerMigrationTransformer spannerMigrationTransformer =
+        mock(IBatchSpannerMigrationTransformer.class);
+    when(spannerMigrationTransformer.toSpannerRows(anyList()))
+        .thenReturn(
+            List.of(
+                MigrationTransformationResult.success(
+                    new MigrationTransformationResponse(Map.of("age", 10), false)),
+                MigrationTransformationResult.failure(
+                    new InvalidTransformationException("bad row"))));
+
+    DoFn.ProcessContext processContextMock = mock(DoFn.ProcessContext.class);
+    when(processContextMock.element()).thenReturn(firstRow).thenReturn(secondRow);
+    when(processContextMock.timestamp()).thenReturn(firstTimestamp).thenReturn(secondTimestamp);
+    DoFn.MultiOutputReceiver outputReceiverMock = mock(DoFn.MultiOutputReceiver.class);
+    DoFn.OutputReceiver<RowContext> successReceiver = mock(DoFn.OutputReceiver.class);
+    DoFn.OutputReceiver<RowContext> errorReceiver = mock(DoFn.OutputReceiver.class);
+    when(outputReceiverMock.get(SourceDbToSpannerConstants.ROW_TRANSFORMATION_SUCCESS))
+        .thenReturn(successReceiver);
+    when(outputReceiverMock.get(SourceDbToSpannerConstants.ROW_TRANSFORMATION_ERROR))
+        .thenReturn(errorReceiver);
+
+    SourceRowToMutationDoFn sourceRowToMutationDoFn =
+        SourceRowToMutationDoFn.create(mockSchemaMapper(), batchedTransformation(), false);
+    sourceRowToMutationDoFn.setSourceDbToSpannerTransformer(spannerMigrationTransformer);
+    sourceRowToMutationDoFn.startBundle();
+
+    // The first row waits for the batch to fill up.
+    sourceRowToMutationDoFn.processElement(
+        processContextMock, outputReceiverMock, GlobalWindow.INSTANCE);
+    verify(spannerMigrationTransformer, never()).toSpannerRows(anyList());
+
+    // The second row completes the batch, each row keeps the timestamp of its element.
+    sourceRowToMutationDoFn.processElement(
+        processContextMock, outputReceiverMock, GlobalWindow.INSTANCE);
+    Mutation expectedMutation =
+        Mutation.newInsertOrUpdateBuilder("spannerTable")
+            .set("spFirstName")
+            .to("abc")
+            .set("spLastName")
+            .to("def")
+            .set("age")
+            .to(10)
+            .build();
+    verify(successReceiver)
+        .outputWithTimestamp(
+            RowContext.builder().setRow(firstRow).setMutation(expectedMutation).build(),
+            firstTimestamp);
+    verify(errorReceiver).outputWithTimestamp(any(RowContext.class), eq(secondTimestamp));
+  }
+
+  @Test
+  public void testFinishBundleFlushesBatchedCustomTransformation()
+      throws InvalidTransformationException {
+    var schemaRef = SchemaTestUtils.generateSchemaReference("public", "mydb");
+    var schema = SchemaTestUtils.generateTestTableSchema("srcTable");
+    SourceRow sourceRow =
+        SourceRow.builder(schemaRef, schema, null, 12412435345L)
+            .setField("firstName", "abc")
+            .setField("lastName", "def")
+            .build();
+    Instant timestamp = Instant.ofEpochMilli(1000);
+    IBatchSpannerMigrationTransformer spannerMigrationTransformer =
+        mock(IBatchSpannerMigrationTransformer.class);
+    when(spannerMigrationTransformer.toSpannerRows(anyList()))
+        .thenReturn(
+            List.of(
+                MigrationTransformationResult.success(
+                    new MigrationTransformationResponse(null, true))));
+
+    DoFn.ProcessContext processContextMock = mock(DoFn.ProcessContext.class);
+    when(processContextMock.element()).thenReturn(sourceRow);
+    when(processContextMock.timestamp()).thenReturn(timestamp);
+    DoFn.MultiOutputReceiver outputReceiverMock = mock(DoFn.MultiOutputReceiver.class);
+    DoFn.FinishBundleContext finishBundleContextMock = mock(DoFn.FinishBundleContext.class);
+
+    SourceRowToMutationDoFn sourceRowToMutationDoFn =
+        SourceRowToMutationDoFn.create(mockSchemaMapper(), batchedTransformation(), false);
+    sourceRowToMutationDoFn.setSourceDbToSpannerTransformer(spannerMigrationTransformer);
+    sourceRowToMutationDoFn.startBundle();
+    sourceRowToMutationDoFn.processElement(
+        processContextMock, outputReceiverMock, GlobalWindow.INSTANCE);
+    sourceRowToMutationDoFn.finishBundle(finishBundleContextMock);
+
+    verify(finishBundleContextMock)
+        .output(
+            SourceDbToSpannerConstants.FILTERED_EVENT_TAG,
+            RowContext.builder().setRow(sourceRow).build(),
+            timestamp,
+            GlobalWindow.INSTANCE);
+  }
+
+  private static CustomTransformation batchedTransformation() {
+    return CustomTransformation.builder("gs://bucket/transform.jar", "com.custom.Transform")
+        .setBatchSize(2)
+        .setMaxBatchLatencyMs(60_000)
+        .build();
+  }
+
+  private static ISchemaMapper mockSchemaMapper() {
+    ISchemaMapper mockIschemaMapper =
+        mock(ISchemaMapper.class, Mockito.withSettings().serializable());
+    when(mockIschemaMapper.getDialect()).thenReturn(Dialect.GOOGLE_STANDARD_SQL);
+    when(mockIschemaMapper.getSpannerTableName(anyString(), anyString()))
+        .thenReturn("spannerTable");
+    when(mockIschemaMapper.getSpannerColumnName(anyString(), anyString(), eq("firstName")))
+        .thenReturn("spFirstName");
+    when(mockIschemaMapper.getSpannerColumnName(anyString(), anyString(), eq("lastName")))
+        .thenReturn("spLastName");
+    when(mockIschemaMapper.getSourceColumnName(anyString(), anyString(), eq("spFirstName")))
+        .thenReturn("firstName");
+    when(mockIschemaMapper.getSourceColumnName(anyString(), anyString(), eq("spLastName")))
+        .thenReturn("lastName");
+    when(mockIschemaMapper.getSpannerColumnType(anyString(), anyString(), anyString()))
+        .thenReturn(Type.string());
+    when(mockIschemaMapper.getSpannerColumns(anyString(), anyString()))
+        .thenReturn(List.of("spFirstName", "spLastName"));
+    when(mockIschemaMapper.colExistsAtSource(anyString(), anyString(), anyString()))
+        .thenReturn(true);
+    return mockIschemaMapper;
+  }
 }
@@ -123,6 +123,60 @@ public final class SplitGeneratorTest {
         "[(141784319550391026443072753096570088109,5], (5,6]]", segments.get(3).toString());
   }
 
+  @Test
+  public void testGenerateSplitsBySize() {
+    String partitioner = "org.apache.cassandra.dht.Murmur3Partitioner";
+    List<BigInteger> tokens =
+        Stream.of("-4611686018427387904", "0", "4611686018427387904")
+            .map(BigInteger::new)
+            .collect(Collectors.toList());
+    long gib = 1024L * 1024 * 1024;
+    long mib = 1024L * 1024;
+    TokenRangeSizeEstimates sizeEstimates =
+        new TokenRangeSizeEstimates(
+            partitioner,
+            Arrays.asList(
+                RingRange.of(tokens.get(0), tokens.get(1)),
+                RingRange.of(tokens.get(1), tokens.get(2)),
+                RingRange.of(tokens.get(2), tokens.get(0))),
+            Arrays.asList(10 * gib, 100 * mib, 100 * mib));
+
+    SplitGenerator generator = new SplitGenerator(partitioner);
+    List<List<RingRange>> segments = generator.generateSplitsBySize(1, tokens, sizeEstimates, gib);
+
+    // The large token range is divided into 10 splits, the two small ones share a split.
+    assertEquals(11, segments.size());
+    for (int i = 0; i < 10; i++) {
+      assertEquals(1, segments.get(i).size());
+    }
+    assertEquals("[(-4611686018427387904,-4150517416584649114]]", segments.get(0).toString());
+    assertEquals(
+        "[(0,4611686018427387904], (4611686018427387904,-4611686018427387904]]",
+        segments.get(10).toString());
+  }
+
+  @Test
+  public void testGenerateSplitsBySizeHonorsMinSplitCount() {
+    String partitioner = "org.apache.cassandra.dht.Murmur3Partitioner";
+    List<BigInteger> tokens =
+        Stream.of("-4611686018427387904", "4611686018427387904")
+            .map(BigInteger::new)
+            .collect(Collectors.toList());
+    TokenRangeSizeEstimates sizeEstimates =
+        new TokenRangeSizeEstimates(
+            partitioner,
+            Arrays.asList(
+                RingRange.of(tokens.get(0), tokens.get(1)),
+                RingRange.of(tokens.get(1), tokens.get(0))),
+            Arrays.asList(1L, 1L));
+
+    SplitGenerator generator = new SplitGenerator(partitioner);
+    List<List<RingRange>> segments =
+        generator.generateSplitsBySize(8, tokens, sizeEstimates, Long.MAX_VALUE);
+
+    assertEquals(8, segments.size());
+  }
+
   @Test(expected = RuntimeException.class)
   public void testDisorderedRing() {
     List<String> tokenStrings =
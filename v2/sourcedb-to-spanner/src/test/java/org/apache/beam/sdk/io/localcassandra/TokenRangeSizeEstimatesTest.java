@@ -0,0 +1,82 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.beam.sdk.io.localcassandra;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Collections;
+import org.junit.Test;
+
+/** Tests on {@link TokenRangeSizeEstimates}. */
+public final class TokenRangeSizeEstimatesTest {
+
+  private static final String PARTITIONER = "org.apache.cassandra.dht.Murmur3Partitioner";
+
+  private static RingRange range(long start, long end) {
+    return RingRange.of(BigInteger.valueOf(start), BigInteger.valueOf(end));
+  }
+
+  @Test
+  public void testEstimateSize() {
+    TokenRangeSizeEstimates estimates =
+        new TokenRangeSizeEstimates(
+            PARTITIONER,
+            Arrays.asList(range(0, 1000), range(1000, 2000)),
+            Arrays.asList(1000L, 3000L));
+
+    assertFalse(estimates.isEmpty());
+    assertEquals(500L, estimates.estimateSize(range(0, 500)));
+    assertEquals(1000L + 1500L, estimates.estimateSize(range(0, 1500)));
+    // Tokens without an estimate are assumed to have the mean density of 2 bytes per token.
+    assertEquals(3000L + 2000L, estimates.estimateSize(range(1000, 3000)));
+  }
+
+  @Test
+  public void testEstimateSizeOfWrappingRange() {
+    long quarter = Long.MAX_VALUE / 2 + 1;
+    TokenRangeSizeEstimates estimates =
+        new TokenRangeSizeEstimates(
+            PARTITIONER,
+            Arrays.asList(range(-quarter, quarter), range(quarter, -quarter)),
+            Arrays.asList(4000L, 2000L));
+
+    assertEquals(6000L, estimates.totalSize());
+    assertEquals(1000L, estimates.estimateSize(range(quarter, Long.MIN_VALUE)));
+    assertEquals(2000L + 2000L, estimates.estimateSize(range(0, -quarter)));
+  }
+
+  @Test
+  public void testEmptyEstimates() {
+    TokenRangeSizeEstimates estimates =
+        new TokenRangeSizeEstimates(PARTITIONER, Collections.emptyList(), Collections.emptyList());
+
+    assertTrue(estimates.isEmpty());
+    assertEquals(0L, estimates.totalSize());
+  }
+
+  @Test
+  public void testUnquoteIdentifier() {
+    assertEquals("mytable", TokenRangeSizeEstimates.unquoteIdentifier("MyTable"));
+    assertEquals("MyTable", TokenRangeSizeEstimates.unquoteIdentifier("\"MyTable\""));
+    assertEquals("My\"Table", TokenRangeSizeEstimates.unquoteIdentifier("\"My\"\"Table\""));
+  }
+}
@@ -132,8 +132,32 @@ public class GenericRecordTypeConvertor {
    */
   public Map<String, Value> transformChangeEvent(GenericRecord record, String srcTableName)
       throws InvalidTransformationException {
+    MigrationTransformationResponse customTransformationResponse = null;
+    if (customTransformer != null) {
+      LOG.debug("Populating custom transformation for table {}", srcTableName);
+      // TODO: verify if direct to object (Current) works the same as Object -> JsonNode-> Object
+      // (Live).
+      Map<String, Object> sourceRowMap = genericRecordToMap(record, srcTableName);
+      customTransformationResponse =
+          getCustomTransformationResponse(sourceRowMap, srcTableName, shardId);
+    }
+    return transformChangeEvent(record, srcTableName, customTransformationResponse);
+  }
+
+  /**
+   * Same as {@link #transformChangeEvent(GenericRecord, String)}, but applies a custom
+   * transformation response that was already computed for the record, for example by a batch
+   * transformer, instead of invoking the custom transformer.
+   *
+   * @param customTransformationResponse response of the custom transformation for this record, or
+   *     null if no custom transformation applies.
+   */
+  public Map<String, Value> transformChangeEvent(
+      GenericRecord record,
+      String srcTableName,
+      @Nullable MigrationTransformationResponse customTransformationResponse) {
     Map<String, Value> result = new HashMap<>();
-    result = populateCustomTransformations(result, record, srcTableName);
+    result = populateCustomTransformations(result, customTransformationResponse, srcTableName);
     // If the row needs to be filtered.
     if (result == null) {
       LOG.debug(
@@ -237,26 +261,20 @@ public class GenericRecordTypeConvertor {
    *
    * @param result The initial map of column names to Spanner values. This map will be modified
    *     in-place with any additional or changed values.
-   * @param record The GenericRecord representing the source data to be transformed.
+   * @param migrationTransformationResponse The response of the custom transformation for the source
+   *     row, or null if no custom transformation applies.
    * @param srcTableName The name of the source table.
    * @return The updated map with custom transformations applied, or `null` if the record should be
    *     filtered out based on transformation rules.
-   * @throws InvalidTransformationException If an error occurs during the transformation process,
-   *     such as incompatible data types or missing columns.
    */
   private Map<String, Value> populateCustomTransformations(
-      Map<String, Value> result, GenericRecord record, String srcTableName)
-      throws InvalidTransformationException {
-    if (customTransformer == null) {
+      Map<String, Value> result,
+      @Nullable MigrationTransformationResponse migrationTransformationResponse,
+      String srcTableName) {
+    if (migrationTransformationResponse == null) {
       return result;
     }
-    LOG.debug("Populating custom transformation for table {}: {}", srcTableName, result);
     String spannerTableName = schemaMapper.getSpannerTableName(namespace, srcTableName);
-    // TODO: verify if direct to object (Current) works the same as Object -> JsonNode-> Object
-    // (Live).
-    Map<String, Object> sourceRowMap = genericRecordToMap(record, srcTableName);
-    MigrationTransformationResponse migrationTransformationResponse =
-        getCustomTransformationResponse(sourceRowMap, srcTableName, shardId);
     if (migrationTransformationResponse.isEventFiltered()) {
       return null;
     }
@@ -406,6 +424,16 @@ public class GenericRecordTypeConvertor {
     return fieldValue;
   }
 
+  /**
+   * Builds the request passed to the custom transformation for a record, see {@link
+   * com.google.cloud.teleport.v2.spanner.utils.IBatchSpannerMigrationTransformer#toSpannerRows}.
+   */
+  public MigrationTransformationRequest getCustomTransformationRequest(
+      GenericRecord record, String srcTableName) {
+    return new MigrationTransformationRequest(
+        srcTableName, genericRecordToMap(record, srcTableName), shardId, "INSERT");
+  }
+
   @VisibleForTesting
   private MigrationTransformationResponse getCustomTransformationResponse(
       Map<String, Object> sourceRecord, String tableName, String shardId)
@@ -24,6 +24,10 @@ import org.apache.parquet.Strings;
 
 @AutoValue
 public abstract class CustomTransformation implements Serializable {
+  public static final int DEFAULT_BATCH_SIZE = 1;
+
+  public static final long DEFAULT_MAX_BATCH_LATENCY_MS = 1000;
+
   public abstract String jarPath();
 
   public abstract String classPath();
@@ -31,8 +35,22 @@ public abstract class CustomTransformation implements Serializable {
   @Nullable
   public abstract String customParameters();
 
+  /**
+   * Maximum number of rows passed to a single call of an {@link
+   * com.google.cloud.teleport.v2.spanner.utils.IBatchSpannerMigrationTransformer}. Batching is
+   * disabled for values up to 1 and for transformers that only implement the per-row interface.
+   */
+  public abstract int batchSize();
+
+  /** Maximum time a row waits for its batch to fill up before the batch is transformed. */
+  public abstract long maxBatchLatencyMs();
+
   public static CustomTransformation.Builder builder(String jarPath, String classPath) {
-    return new AutoValue_CustomTransformation.Builder().setJarPath(jarPath).setClassPath(classPath);
+    return new AutoValue_CustomTransformation.Builder()
+        .setJarPath(jarPath)
+        .setClassPath(classPath)
+        .setBatchSize(DEFAULT_BATCH_SIZE)
+        .setMaxBatchLatencyMs(DEFAULT_MAX_BATCH_LATENCY_MS);
   }
 
   @AutoValue.Builder
@@ -43,6 +61,10 @@ public abstract class CustomTransformation implements Serializable {
 
     public abstract CustomTransformation.Builder setCustomParameters(String customParameters);
 
+    public abstract CustomTransformation.Builder setBatchSize(int batchSize);
+
+    public abstract CustomTransformation.Builder setMaxBatchLatencyMs(long maxBatchLatencyMs);
+
     abstract CustomTransformation autoBuild();
 
     public CustomTransformation build() {
@@ -52,6 +74,9 @@ public abstract class CustomTransformation implements Serializable {
           (Strings.isNullOrEmpty(customTransformation.jarPath()))
               == (Strings.isNullOrEmpty(customTransformation.classPath())),
           "Both jarPath and classPath must be set or both must be empty/null.");
+      checkState(customTransformation.batchSize() > 0, "batchSize must be positive.");
+      checkState(
+          customTransformation.maxBatchLatencyMs() >= 0, "maxBatchLatencyMs must not be negative.");
       return customTransformation;
     }
   }
@@ -0,0 +1,229 @@
+/*
+ * Copyright (C) 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.cloud.teleport.v2.spanner.migrations.transformation;
+
+import com.google.cloud.teleport.v2.spanner.exceptions.InvalidTransformationException;
+import com.google.cloud.teleport.v2.spanner.utils.IBatchSpannerMigrationTransformer;
+import com.google.cloud.teleport.v2.spanner.utils.ISpannerMigrationTransformer;
+import com.google.cloud.teleport.v2.spanner.utils.MigrationTransformationRequest;
+import com.google.cloud.teleport.v2.spanner.utils.MigrationTransformationResult;
+import java.util.ArrayList;
+import java.util.List;
+import javax.annotation.Nullable;
+import org.apache.beam.sdk.metrics.Distribution;
+import org.apache.beam.sdk.metrics.Metrics;
+import org.apache.beam.sdk.transforms.windowing.BoundedWindow;
+import org.joda.time.Duration;
+import org.joda.time.Instant;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Collects the rows of a bundle that need a custom transformation, so that an {@link
+ * IBatchSpannerMigrationTransformer} can transform them with a single call.
+ *
+ * <p>A batch is ready once it holds {@link CustomTransformation#batchSize()} rows, or once its
+ * oldest row has waited {@link CustomTransformation#maxBatchLatencyMs()}. The latency bound is
+ * checked whenever a row is added, so DoFns using this class must also {@link #flush} the remaining
+ * rows when the bundle finishes. Each row keeps the timestamp and window of its input element, so
+ * that rows flushed in {@code @FinishBundle} can be output in the right window.
+ *
+ * <p>This class is not thread safe, it is meant to be held by a single DoFn instance.
+ *
+ * @param <T> the state a DoFn needs to finish processing a row once it has been transformed.
+ */
+public class CustomTransformationBatcher<T> {
+  private static final Logger LOG = LoggerFactory.getLogger(CustomTransformationBatcher.class);
+
+  private final IBatchSpannerMigrationTransformer transformer;
+  private final int batchSize;
+  private final long maxBatchLatencyMs;
+  private final List<PendingRow<T>> pendingRows = new ArrayList<>();
+  private Instant oldestRowTimestamp;
+
+  private final Distribution batchSizeMetric =
+      Metrics.distribution(CustomTransformationBatcher.class, "custom_transformation_batch_size");
+
+  private final Distribution applyCustomTransformationResponseTimeMetric =
+      Metrics.distribution(
+          CustomTransformationBatcher.class, "apply_custom_transformation_batch_latency_ms");
+
+  CustomTransformationBatcher(
+      IBatchSpannerMigrationTransformer transformer, int batchSize, long maxBatchLatencyMs) {
+    this.transformer = transformer;
+    this.batchSize = batchSize;
+    this.maxBatchLatencyMs = maxBatchLatencyMs;
+  }
+
+  /**
+   * Returns a batcher if {@code transformer} supports batching and batching is enabled by {@code
+   * customTransformation}, or null if rows have to be transformed one at a time.
+   */
+  @Nullable
+  public static <T> CustomTransformationBatcher<T> create(
+      @Nullable ISpannerMigrationTransformer transformer,
+      @Nullable CustomTransformation customTransformation) {
+    if (!(transformer instanceof IBatchSpannerMigrationTransformer)
+        || customTransformation == null
+        || customTransformation.batchSize() <= 1) {
+      return null;
+    }
+    LOG.info(
+        "Applying custom transformations in batches of up to {} rows, waiting at most {} ms",
+        customTransformation.batchSize(),
+        customTransformation.maxBatchLatencyMs());
+    return new CustomTransformationBatcher<>(
+        (IBatchSpannerMigrationTransformer) transformer,
+        customTransformation.batchSize(),
+        customTransformation.maxBatchLatencyMs());
+  }
+
+  /**
+   * Adds a row to the current batch.
+   *
+   * @return true if the batch is ready and should be flushed.
+   */
+  public boolean add(
+      T state, MigrationTransformationRequest request, Instant timestamp, BoundedWindow window) {
+    if (pendingRows.isEmpty()) {
+      oldestRowTimestamp = Instant.now();
+    }
+    pendingRows.add(new PendingRow<>(state, request, timestamp, window));
+    return pendingRows.size() >= batchSize
+        || !new Duration(oldestRowTimestamp, Instant.now())
+            .isShorterThan(Duration.millis(maxBatchLatencyMs));
+  }
+
+  public boolean isEmpty() {
+    return pendingRows.isEmpty();
+  }
+
+  /**
+   * Transforms all pending rows with {@link IBatchSpannerMigrationTransformer#toSpannerRows} and
+   * clears the batch.
+   */
+  public List<TransformedRow<T>> flushToSpannerRows() {
+    return flush(true);
+  }
+
+  /**
+   * Transforms all pending rows with {@link IBatchSpannerMigrationTransformer#toSourceRows} and
+   * clears the batch.
+   */
+  public List<TransformedRow<T>> flushToSourceRows() {
+    return flush(false);
+  }
+
+  private List<TransformedRow<T>> flush(boolean toSpanner) {
+    if (pendingRows.isEmpty()) {
+      return List.of();
+    }
+    List<PendingRow<T>> rows = new ArrayList<>(pendingRows);
+    pendingRows.clear();
+    List<MigrationTransformationRequest> requests = new ArrayList<>(rows.size());
+    for (PendingRow<T> row : rows) {
+      requests.add(row.request);
+    }
+
+    batchSizeMetric.update(rows.size());
+    Instant startTimestamp = Instant.now();
+    List<MigrationTransformationResult> results;
+    try {
+      results =
+          toSpanner ? transformer.toSpannerRows(requests) : transformer.toSourceRows(requests);
+      if (results == null || results.size() != requests.size()) {
+        throw new InvalidTransformationException(
+            String.format(
+                "Custom transformation returned %s results for a batch of %d rows",
+                results == null ? "no" : String.valueOf(results.size()), requests.size()));
+      }
+    } catch (Exception e) {
+      LOG.error("Custom transformation failed for a batch of {} rows", rows.size(), e);
+      InvalidTransformationException failure =
+          e instanceof InvalidTransformationException
+              ? (InvalidTransformationException) e
+              : new InvalidTransformationException(e);
+      results = new ArrayList<>(rows.size());
+      for (int i = 0; i < rows.size(); i++) {
+        results.add(MigrationTransformationResult.failure(failure));
+      }
+    } finally {
+      applyCustomTransformationResponseTimeMetric.update(
+          new Duration(startTimestamp, Instant.now()).getMillis());
+    }
+
+    List<TransformedRow<T>> transformedRows = new ArrayList<>(rows.size());
+    for (int i = 0; i < rows.size(); i++) {
+      PendingRow<T> row = rows.get(i);
+      MigrationTransformationResult result = results.get(i);
+      if (result == null) {
+        result =
+            MigrationTransformationResult.failure(
+                new InvalidTransformationException(
+                    "Custom transformation returned no result for " + row.request));
+      }
+      transformedRows.add(new TransformedRow<>(row.state, result, row.timestamp, row.window));
+    }
+    return transformedRows;
+  }
+
+  private static class PendingRow<T> {
+    private final T state;
+    private final MigrationTransformationRequest request;
+    private final Instant timestamp;
+    private final BoundedWindow window;
+
+    private PendingRow(
+        T state, MigrationTransformationRequest request, Instant timestamp, BoundedWindow window) {
+      this.state = state;
+      this.request = request;
+      this.timestamp = timestamp;
+      this.window = window;
+    }
+  }
+
+  /** A row of a flushed batch along with its transformation result. */
+  public static class TransformedRow<T> {
+    private final T state;
+    private final MigrationTransformationResult result;
+    private final Instant timestamp;
+    private final BoundedWindow window;
+
+    TransformedRow(
+        T state, MigrationTransformationResult result, Instant timestamp, BoundedWindow window) {
+      this.state = state;
+      this.result = result;
+      this.timestamp = timestamp;
+      this.window = window;
+    }
+
+    public T getState() {
+      return state;
+    }
+
+    public MigrationTransformationResult getResult() {
+      return result;
+    }
+
+    public Instant getTimestamp() {
+      return timestamp;
+    }
+
+    public BoundedWindow getWindow() {
+      return window;
+    }
+  }
+}
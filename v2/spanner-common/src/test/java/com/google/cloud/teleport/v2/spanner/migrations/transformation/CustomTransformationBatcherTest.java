@@ -0,0 +1,179 @@
+/*
+ * Copyright (C) 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.cloud.teleport.v2.spanner.migrations.transformation;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.google.cloud.teleport.v2.spanner.exceptions.InvalidTransformationException;
+import com.google.cloud.teleport.v2.spanner.migrations.transformation.CustomTransformationBatcher.TransformedRow;
+import com.google.cloud.teleport.v2.spanner.utils.IBatchSpannerMigrationTransformer;
+import com.google.cloud.teleport.v2.spanner.utils.ISpannerMigrationTransformer;
+import com.google.cloud.teleport.v2.spanner.utils.MigrationTransformationRequest;
+import com.google.cloud.teleport.v2.spanner.utils.MigrationTransformationResponse;
+import com.google.cloud.teleport.v2.spanner.utils.MigrationTransformationResult;
+import java.util.List;
+import java.util.Map;
+import org.apache.beam.sdk.transforms.windowing.GlobalWindow;
+import org.joda.time.Instant;
+import org.junit.Test;
+
+public class CustomTransformationBatcherTest {
+
+  private static final CustomTransformation BATCHED =
+      CustomTransformation.builder("gs://bucket/transform.jar", "com.custom.Transform")
+          .setBatchSize(2)
+          .setMaxBatchLatencyMs(60_000)
+          .build();
+
+  private static MigrationTransformationRequest request(String tableName) {
+    return new MigrationTransformationRequest(tableName, Map.of("id", 1), "shard1", "INSERT");
+  }
+
+  @Test
+  public void testCreate() {
+    IBatchSpannerMigrationTransformer batchTransformer =
+        mock(IBatchSpannerMigrationTransformer.class);
+
+    assertNull(CustomTransformationBatcher.create(null, BATCHED));
+    assertNull(
+        CustomTransformationBatcher.create(mock(ISpannerMigrationTransformer.class), BATCHED));
+    assertNull(
+        CustomTransformationBatcher.create(
+            batchTransformer,
+            CustomTransformation.builder("gs://bucket/transform.jar", "com.custom.Transform")
+                .build()));
+    assertTrue(CustomTransformationBatcher.create(batchTransformer, BATCHED) != null);
+  }
+
+  @Test
+  public void testFlushToSpannerRows() throws Exception {
+    IBatchSpannerMigrationTransformer transformer = mock(IBatchSpannerMigrationTransformer.class);
+    MigrationTransformationResponse response =
+        new MigrationTransformationResponse(Map.of("id", 2), false);
+    InvalidTransformationException failure = new InvalidTransformationException("bad row");
+    when(transformer.toSpannerRows(anyList()))
+        .thenReturn(
+            List.of(
+                MigrationTransformationResult.success(response),
+                MigrationTransformationResult.failure(failure)));
+    CustomTransformationBatcher<String> batcher =
+        CustomTransformationBatcher.create(transformer, BATCHED);
+    Instant timestamp = Instant.ofEpochMilli(42);
+
+    assertFalse(batcher.add("first", request("t1"), timestamp, GlobalWindow.INSTANCE));
+    assertTrue(batcher.add("second", request("t2"), timestamp, GlobalWindow.INSTANCE));
+    List<TransformedRow<String>> rows = batcher.flushToSpannerRows();
+
+    assertTrue(batcher.isEmpty());
+    assertEquals(2, rows.size());
+    assertEquals("first", rows.get(0).getState());
+    assertEquals(response, rows.get(0).getResult().getResponse());
+    assertEquals(timestamp, rows.get(0).getTimestamp());
+    assertEquals(GlobalWindow.INSTANCE, rows.get(0).getWindow());
+    assertEquals("second", rows.get(1).getState());
+    assertEquals(failure, rows.get(1).getResult().getException());
+  }
+
+  @Test
+  public void testBatchFailureFailsEveryRow() throws Exception {
+    IBatchSpannerMigrationTransformer transformer = mock(IBatchSpannerMigrationTransformer.class);
+    when(transformer.toSourceRows(anyList())).thenThrow(new RuntimeException("lookup failed"));
+    CustomTransformationBatcher<String> batcher =
+        CustomTransformationBatcher.create(transformer, BATCHED);
+    batcher.add("first", request("t1"), Instant.now(), GlobalWindow.INSTANCE);
+    batcher.add("second", request("t1"), Instant.now(), GlobalWindow.INSTANCE);
+
+    List<TransformedRow<String>> rows = batcher.flushToSourceRows();
+
+    assertEquals(2, rows.size());
+    assertTrue(rows.get(0).getResult().isFailed());
+    assertTrue(rows.get(1).getResult().isFailed());
+  }
+
+  @Test
+  public void testMissingResultsFailEveryRow() throws Exception {
+    IBatchSpannerMigrationTransformer transformer = mock(IBatchSpannerMigrationTransformer.class);
+    when(transformer.toSpannerRows(anyList()))
+        .thenReturn(
+            List.of(
+                MigrationTransformationResult.success(
+                    new MigrationTransformationResponse(null, true))));
+    CustomTransformationBatcher<String> batcher =
+        CustomTransformationBatcher.create(transformer, BATCHED);
+    batcher.add("first", request("t1"), Instant.now(), GlobalWindow.INSTANCE);
+    batcher.add("second", request("t1"), Instant.now(), GlobalWindow.INSTANCE);
+
+    List<TransformedRow<String>> rows = batcher.flushToSpannerRows();
+
+    assertTrue(rows.get(0).getResult().isFailed());
+    assertTrue(rows.get(1).getResult().isFailed());
+  }
+
+  @Test
+  public void testLatencyBound() {
+    CustomTransformationBatcher<String> batcher =
+        CustomTransformationBatcher.create(
+            mock(IBatchSpannerMigrationTransformer.class),
+            CustomTransformation.builder("gs://bucket/transform.jar", "com.custom.Transform")
+                .setBatchSize(100)
+                .setMaxBatchLatencyMs(0)
+                .build());
+
+    assertTrue(batcher.add("first", request("t1"), Instant.now(), GlobalWindow.INSTANCE));
+  }
+
+  @Test
+  public void testDefaultBatchMethodsTransformEachRow() throws Exception {
+    IBatchSpannerMigrationTransformer transformer =
+        new IBatchSpannerMigrationTransformer() {
+          @Override
+          public void init(String customParameters) {}
+
+          @Override
+          public MigrationTransformationResponse toSpannerRow(
+              MigrationTransformationRequest request) throws InvalidTransformationException {
+            if (request.getTableName().equals("bad")) {
+              throw new InvalidTransformationException("bad table");
+            }
+            return new MigrationTransformationResponse(request.getRequestRow(), false);
+          }
+
+          @Override
+          public MigrationTransformationResponse toSourceRow(
+              MigrationTransformationRequest request) {
+            return null;
+          }
+
+          @Override
+          public MigrationTransformationResponse transformFailedSpannerMutation(
+              MigrationTransformationRequest request) {
+            return null;
+          }
+        };
+
+    List<MigrationTransformationResult> results =
+        transformer.toSpannerRows(List.of(request("good"), request("bad")));
+
+    assertEquals(Map.of("id", 1), results.get(0).getResponse().getResponseRow());
+    assertTrue(results.get(1).isFailed());
+  }
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright (C) 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.cloud.teleport.v2.spanner.utils;
+
+import com.google.cloud.teleport.v2.spanner.exceptions.InvalidTransformationException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Optional extension of {@link ISpannerMigrationTransformer} for transformations that are cheaper
+ * to apply to many rows at once, for example because they call a lookup service per request.
+ *
+ * <p>Templates that support batching collect up to a configurable number of requests, possibly
+ * spanning several tables and shards, and pass them in a single call. The returned list must have
+ * exactly one result per request, in the order of the requests. A row that can not be transformed
+ * is reported with {@link MigrationTransformationResult#failure} and is sent to the dead letter
+ * queue without affecting the other rows of the batch. Throwing an exception fails every row of the
+ * batch.
+ *
+ * <p>The default implementations transform each request with the per-row methods, so an
+ * implementation only needs to override the directions it can batch.
+ */
+public interface IBatchSpannerMigrationTransformer extends ISpannerMigrationTransformer {
+
+  default List<MigrationTransformationResult> toSpannerRows(
+      List<MigrationTransformationRequest> requests) throws InvalidTransformationException {
+    List<MigrationTransformationResult> results = new ArrayList<>(requests.size());
+    for (MigrationTransformationRequest request : requests) {
+      try {
+        results.add(MigrationTransformationResult.success(toSpannerRow(request)));
+      } catch (InvalidTransformationException e) {
+        results.add(MigrationTransformationResult.failure(e));
+      }
+    }
+    return results;
+  }
+
+  default List<MigrationTransformationResult> toSourceRows(
+      List<MigrationTransformationRequest> requests) throws InvalidTransformationException {
+    List<MigrationTransformationResult> results = new ArrayList<>(requests.size());
+    for (MigrationTransformationRequest request : requests) {
+      try {
+        results.add(MigrationTransformationResult.success(toSourceRow(request)));
+      } catch (InvalidTransformationException e) {
+        results.add(MigrationTransformationResult.failure(e));
+      }
+    }
+    return results;
+  }
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright (C) 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.cloud.teleport.v2.spanner.utils;
+
+import com.google.cloud.teleport.v2.spanner.exceptions.InvalidTransformationException;
+
+/**
+ * Result of transforming a single row with {@link IBatchSpannerMigrationTransformer}. Holds either
+ * the response for the row or the exception that prevented the row from being transformed.
+ */
+public class MigrationTransformationResult {
+  private MigrationTransformationResponse response;
+  private InvalidTransformationException exception;
+
+  public MigrationTransformationResponse getResponse() {
+    return response;
+  }
+
+  public InvalidTransformationException getException() {
+    return exception;
+  }
+
+  public boolean isFailed() {
+    return exception != null;
+  }
+
+  private MigrationTransformationResult(
+      MigrationTransformationResponse response, InvalidTransformationException exception) {
+    this.response = response;
+    this.exception = exception;
+  }
+
+  public static MigrationTransformationResult success(MigrationTransformationResponse response) {
+    return new MigrationTransformationResult(response, null);
+  }
+
+  public static MigrationTransformationResult failure(InvalidTransformationException exception) {
+    return new MigrationTransformationResult(null, exception);
+  }
+
+  @Override
+  public String toString() {
+    return "MigrationTransformationResult{"
+        + "response="
+        + response
+        + ", exception="
+        + exception
+        + '}';
+  }
+}
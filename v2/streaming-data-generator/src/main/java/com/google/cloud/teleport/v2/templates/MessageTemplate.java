@@ -0,0 +1,395 @@
+/*
+ * Copyright (C) 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.cloud.teleport.v2.templates;
+
+import com.github.vincentrussell.json.datagenerator.JsonDataGenerator;
+import com.github.vincentrussell.json.datagenerator.JsonDataGeneratorException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import javax.annotation.Nullable;
+import org.apache.beam.vendor.guava.v32_1_2_jre.com.google.common.collect.ImmutableSet;
+
+/**
+ * A message schema of the <a
+ * href="https://github.com/vincentrussell/json-data-generator">json-data-generator</a>, compiled
+ * once into a plan of literal segments and field generators.
+ *
+ * <p>The common functions ({@code uuid()}, {@code timestamp()}, {@code bool()}, {@code ipv4()},
+ * {@code integer(min, max)}, {@code long(min, max)}, {@code float(min, max, format)}, {@code
+ * double(min, max, format)} and {@code random(...)} with literal arguments) are generated natively,
+ * straight into a buffer reused for every message. Any other expression is generated by the
+ * json-data-generator on its own, without parsing the rest of the schema again.
+ *
+ * <p>Schemas using {@code put}, {@code get}, {@code repeat} or {@code index}, which span several
+ * expressions, are not compiled and are generated by the json-data-generator as a whole.
+ *
+ * <p>Instances are not thread-safe.
+ */
+final class MessageTemplate {
+
+  private static final String START = "{{";
+  private static final String END = "}}";
+
+  // Functions whose result depends on other expressions of the schema.
+  private static final Set<String> SCHEMA_FUNCTIONS =
+      ImmutableSet.of("put", "get", "repeat", "index");
+
+  private static final Pattern FUNCTION_NAME = Pattern.compile("([A-Za-z_][A-Za-z0-9_]*)\\s*\\(");
+  private static final Pattern CALL = Pattern.compile("([A-Za-z_][A-Za-z0-9_]*)\\s*\\((.*)\\)");
+  private static final Pattern NUMBER =
+      Pattern.compile("[-+]?[0-9]+(\\.[0-9]+)?([eE][-+]?[0-9]+)?");
+
+  private static final byte[] HEX_DIGITS = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+  private static final byte[] TRUE = "true".getBytes(StandardCharsets.US_ASCII);
+  private static final byte[] FALSE = "false".getBytes(StandardCharsets.US_ASCII);
+
+  private final List<Segment> segments;
+  private final boolean needsDataGenerator;
+  private final MessageBuffer buffer = new MessageBuffer();
+
+  private MessageTemplate(List<Segment> segments, boolean needsDataGenerator) {
+    this.segments = segments;
+    this.needsDataGenerator = needsDataGenerator;
+  }
+
+  /**
+   * Compiles a schema, or returns null if it must be generated by the json-data-generator as a
+   * whole.
+   */
+  @Nullable
+  static MessageTemplate compile(String schema) {
+    List<Segment> segments = new ArrayList<>();
+    boolean needsDataGenerator = false;
+    int position = 0;
+    while (position < schema.length()) {
+      int start = schema.indexOf(START, position);
+      if (start < 0) {
+        segments.add(new LiteralSegment(schema.substring(position)));
+        break;
+      }
+      int end = schema.indexOf(END, start + START.length());
+      if (end < 0) {
+        return null;
+      }
+      if (start > position) {
+        segments.add(new LiteralSegment(schema.substring(position, start)));
+      }
+      String expression = schema.substring(start + START.length(), end).trim();
+      Matcher functionNames = FUNCTION_NAME.matcher(expression);
+      while (functionNames.find()) {
+        if (SCHEMA_FUNCTIONS.contains(functionNames.group(1))) {
+          return null;
+        }
+      }
+      Segment segment = nativeSegment(expression);
+      if (segment == null) {
+        segment = new DataGeneratorSegment(schema.substring(start, end + END.length()));
+        needsDataGenerator = true;
+      }
+      segments.add(segment);
+      position = end + END.length();
+    }
+    return new MessageTemplate(segments, needsDataGenerator);
+  }
+
+  /** Returns true if {@link #generate} needs a json-data-generator. */
+  boolean needsDataGenerator() {
+    return needsDataGenerator;
+  }
+
+  /**
+   * Generates a message.
+   *
+   * @param dataGenerator generates the expressions without a native generator, may be null if
+   *     {@link #needsDataGenerator()} is false.
+   */
+  byte[] generate(@Nullable JsonDataGenerator dataGenerator) throws JsonDataGeneratorException {
+    buffer.reset();
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    for (Segment segment : segments) {
+      segment.write(buffer, random, dataGenerator);
+    }
+    return buffer.toByteArray();
+  }
+
+  /** Returns the native generator of an expression, or null if there is none. */
+  @Nullable
+  private static Segment nativeSegment(String expression) {
+    Matcher call = CALL.matcher(expression);
+    if (!call.matches()) {
+      return null;
+    }
+    List<String> args = parseArguments(call.group(2));
+    if (args == null) {
+      return null;
+    }
+    try {
+      switch (call.group(1) + "/" + args.size()) {
+        case "uuid/0":
+          return (out, random, dataGenerator) -> writeUuid(out, random);
+        case "timestamp/0":
+          return (out, random, dataGenerator) -> out.writeLong(System.currentTimeMillis());
+        case "bool/0":
+          return (out, random, dataGenerator) -> out.write(random.nextBoolean() ? TRUE : FALSE);
+        case "ipv4/0":
+          return (out, random, dataGenerator) -> writeIpv4(out, random);
+        case "integer/2":
+          return longSegment(Integer.parseInt(args.get(0)), Integer.parseInt(args.get(1)));
+        case "long/2":
+          return longSegment(Long.parseLong(args.get(0)), Long.parseLong(args.get(1)));
+        case "float/3":
+          {
+            float min = Float.parseFloat(args.get(0));
+            float max = Float.parseFloat(args.get(1));
+            String format = args.get(2);
+            if (!(min < max)) {
+              return null;
+            }
+            return (out, random, dataGenerator) ->
+                out.writeString(
+                    String.format(format, (float) (min + random.nextDouble() * (max - min))));
+          }
+        case "double/3":
+          {
+            double min = Double.parseDouble(args.get(0));
+            double max = Double.parseDouble(args.get(1));
+            String format = args.get(2);
+            if (!(min < max)) {
+              return null;
+            }
+            return (out, random, dataGenerator) ->
+                out.writeString(String.format(format, random.nextDouble(min, max)));
+          }
+        default:
+          if (call.group(1).equals("random") && !args.isEmpty()) {
+            byte[][] values = new byte[args.size()][];
+            for (int i = 0; i < values.length; i++) {
+              values[i] = args.get(i).getBytes(StandardCharsets.UTF_8);
+            }
+            return (out, random, dataGenerator) -> out.write(values[random.nextInt(values.length)]);
+          }
+          return null;
+      }
+    } catch (NumberFormatException e) {
+      return null;
+    }
+  }
+
+  /** Generates a long in [min, max], like the json-data-generator. */
+  @Nullable
+  private static Segment longSegment(long min, long max) {
+    if (min > max || max == Long.MAX_VALUE) {
+      return null;
+    }
+    return (out, random, dataGenerator) -> out.writeLong(random.nextLong(min, max + 1));
+  }
+
+  /**
+   * Parses comma separated literal arguments, strings in double quotes or numbers, and returns them
+   * without quotes. Returns null if an argument is not a literal.
+   */
+  @Nullable
+  private static List<String> parseArguments(String arguments) {
+    List<String> args = new ArrayList<>();
+    int position = skipWhitespace(arguments, 0);
+    if (position == arguments.length()) {
+      return args;
+    }
+    while (true) {
+      int end;
+      if (arguments.charAt(position) == '"') {
+        end = arguments.indexOf('"', position + 1);
+        if (end < 0 || arguments.substring(position + 1, end).indexOf('\\') >= 0) {
+          return null;
+        }
+        args.add(arguments.substring(position + 1, end));
+        end++;
+      } else {
+        end = position;
+        while (end < arguments.length()
+            && arguments.charAt(end) != ','
+            && !Character.isWhitespace(arguments.charAt(end))) {
+          end++;
+        }
+        String number = arguments.substring(position, end);
+        if (!NUMBER.matcher(number).matches()) {
+          return null;
+        }
+        args.add(number);
+      }
+      position = skipWhitespace(arguments, end);
+      if (position == arguments.length()) {
+        return args;
+      }
+      if (arguments.charAt(position) != ',') {
+        return null;
+      }
+      position = skipWhitespace(arguments, position + 1);
+      if (position == arguments.length()) {
+        return null;
+      }
+    }
+  }
+
+  private static int skipWhitespace(String s, int position) {
+    while (position < s.length() && Character.isWhitespace(s.charAt(position))) {
+      position++;
+    }
+    return position;
+  }
+
+  /** Writes a random, version 4, UUID. */
+  private static void writeUuid(MessageBuffer out, ThreadLocalRandom random) {
+    long msb = (random.nextLong() & ~0xF000L) | 0x4000L;
+    long lsb = (random.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+    writeHex(out, msb >>> 32, 8);
+    out.write('-');
+    writeHex(out, msb >>> 16, 4);
+    out.write('-');
+    writeHex(out, msb, 4);
+    out.write('-');
+    writeHex(out, lsb >>> 48, 4);
+    out.write('-');
+    writeHex(out, lsb, 12);
+  }
+
+  /** Writes the {@code digits} lowest hexadecimal digits of a value. */
+  private static void writeHex(MessageBuffer out, long value, int digits) {
+    for (int shift = (digits - 1) * 4; shift >= 0; shift -= 4) {
+      out.write(HEX_DIGITS[(int) (value >>> shift) & 0xF]);
+    }
+  }
+
+  private static void writeIpv4(MessageBuffer out, ThreadLocalRandom random) {
+    int address = random.nextInt();
+    for (int shift = 24; shift >= 0; shift -= 8) {
+      out.writeLong((address >>> shift) & 0xFF);
+      if (shift > 0) {
+        out.write('.');
+      }
+    }
+  }
+
+  /** A part of the schema. */
+  @FunctionalInterface
+  private interface Segment {
+    void write(
+        MessageBuffer out, ThreadLocalRandom random, @Nullable JsonDataGenerator dataGenerator)
+        throws JsonDataGeneratorException;
+  }
+
+  /** Text of the schema outside of the expressions, encoded once. */
+  private static final class LiteralSegment implements Segment {
+    private final byte[] bytes;
+
+    LiteralSegment(String text) {
+      this.bytes = text.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public void write(
+        MessageBuffer out, ThreadLocalRandom random, @Nullable JsonDataGenerator dataGenerator) {
+      out.write(bytes);
+    }
+  }
+
+  /** An expression without native generator, generated by the json-data-generator. */
+  private static final class DataGeneratorSegment implements Segment {
+    private final String expression;
+
+    DataGeneratorSegment(String expression) {
+      this.expression = expression;
+    }
+
+    @Override
+    public void write(
+        MessageBuffer out, ThreadLocalRandom random, @Nullable JsonDataGenerator dataGenerator)
+        throws JsonDataGeneratorException {
+      dataGenerator.generateTestDataJson(expression, out);
+    }
+  }
+
+  /** A growable byte buffer, reused for every message. */
+  private static final class MessageBuffer extends OutputStream {
+    private byte[] bytes = new byte[1024];
+    private int size;
+
+    void reset() {
+      size = 0;
+    }
+
+    byte[] toByteArray() {
+      return Arrays.copyOf(bytes, size);
+    }
+
+    private void ensureCapacity(int additional) {
+      if (size + additional > bytes.length) {
+        bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, size + additional));
+      }
+    }
+
+    @Override
+    public void write(int b) {
+      ensureCapacity(1);
+      bytes[size++] = (byte) b;
+    }
+
+    @Override
+    public void write(byte[] b) {
+      write(b, 0, b.length);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) {
+      ensureCapacity(len);
+      System.arraycopy(b, off, bytes, size, len);
+      size += len;
+    }
+
+    void writeString(String s) {
+      write(s.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /** Writes the decimal digits of a value, without allocating. */
+    void writeLong(long value) {
+      if (value == Long.MIN_VALUE) {
+        writeString(Long.toString(value));
+        return;
+      }
+      if (value < 0) {
+        write('-');
+        value = -value;
+      }
+      int digits = 1;
+      for (long v = value / 10; v > 0; v /= 10) {
+        digits++;
+      }
+      ensureCapacity(digits);
+      for (int i = size + digits - 1; i >= size; i--) {
+        bytes[i] = (byte) ('0' + value % 10);
+        value /= 10;
+      }
+      size += digits;
+    }
+  }
+}
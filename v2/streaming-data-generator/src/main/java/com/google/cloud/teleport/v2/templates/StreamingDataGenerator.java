@@ -657,13 +657,16 @@ public class StreamingDataGenerator {
    * The {@link MessageGeneratorFn} class generates fake messages based on supplied schema
    *
    * <p>See <a href="https://github.com/vincentrussell/json-data-generator">json-data-generator</a>
-   * for instructions on how to construct the schema file.
+   * for instructions on how to construct the schema file. The schema is compiled once into a {@link
+   * MessageTemplate}, which only falls back to the json-data-generator for the expressions it can
+   * not generate natively.
    */
   @VisibleForTesting
   static class MessageGeneratorFn extends DoFn<Long, byte[]> {
 
     // Not initialized inline or constructor because {@link JsonDataGenerator} is not serializable.
     private transient JsonDataGenerator dataGenerator;
+    private transient MessageTemplate template;
     private final String schema;
 
     MessageGeneratorFn(String schema) {
@@ -672,6 +675,10 @@ public class StreamingDataGenerator {
 
     @Setup
     public void setup() {
+      template = MessageTemplate.compile(schema);
+      if (template != null && !template.needsDataGenerator()) {
+        return;
+      }
       // Use a static singleton to prevent concurrent classpath scanning.
       // This avoids 'zip file closed' errors when multiple DoFn instances are initialize on the
       // same worker simultaneously. See
@@ -694,6 +701,11 @@ public class StreamingDataGenerator {
         ProcessContext context)
         throws IOException, JsonDataGeneratorException {
 
+      if (template != null) {
+        receiver.output(template.generate(dataGenerator));
+        return;
+      }
+
       byte[] payload;
 
       // Generate the fake JSON according to the schema.
@@ -24,6 +24,7 @@ import com.google.cloud.teleport.v2.templates.StreamingDataGenerator;
 import com.google.cloud.teleport.v2.utils.GCSUtils;
 import com.google.cloud.teleport.v2.utils.SchemaUtils;
 import com.google.gson.JsonParser;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import org.apache.avro.Schema;
@@ -88,6 +89,8 @@ public abstract class StreamingDataGeneratorWriteToGcs
     private final String schema;
     private Schema avroSchema = null;
     private DatumReader<GenericRecord> genericDatumReader = null;
+    // Building a JsonDecoder parses the schema, so one decoder is reconfigured for every element.
+    private JsonDecoder jsonDecoder = null;
 
     public Utf8BytesToAvroGenericRecord(String schema) {
       this.schema = schema;
@@ -97,6 +100,7 @@ public abstract class StreamingDataGeneratorWriteToGcs
     public void setup() throws IOException {
       this.avroSchema = SchemaUtils.parseAvroSchema(this.schema);
       this.genericDatumReader = new GenericDatumReader<>(avroSchema);
+      this.jsonDecoder = DecoderFactory.get().jsonDecoder(avroSchema, "");
     }
 
     @ProcessElement
@@ -107,10 +111,8 @@ public abstract class StreamingDataGeneratorWriteToGcs
         ProcessContext context)
         throws IOException {
       // Decode the json value using json Decoder from UTF8 encoded bytes
-      JsonDecoder jsonDecoder =
-          DecoderFactory.get()
-              .jsonDecoder(this.avroSchema, new String(element, StandardCharsets.UTF_8));
-      receiver.output(this.genericDatumReader.read(null, jsonDecoder));
+      this.jsonDecoder.configure(new ByteArrayInputStream(element));
+      receiver.output(this.genericDatumReader.read(null, this.jsonDecoder));
     }
   }
 
@@ -0,0 +1,120 @@
+/*
+ * Copyright (C) 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.cloud.teleport.v2.templates;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import com.github.vincentrussell.json.datagenerator.impl.JsonDataGeneratorImpl;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import java.nio.charset.StandardCharsets;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** Test cases for the {@link MessageTemplate} class. */
+@RunWith(JUnit4.class)
+public class MessageTemplateTest {
+
+  private static final String NATIVE_SCHEMA =
+      "{\"id\": \"{{uuid()}}\", "
+          + "\"eventTime\": {{timestamp()}}, "
+          + "\"username\": \"John\", "
+          + "\"score\": {{ integer(0, 100) }}, "
+          + "\"delta\": {{long(-5,-1)}}, "
+          + "\"avg\": {{float(100000, 10000000, \"%.2f\")}}, "
+          + "\"completed\": {{bool()}}, "
+          + "\"ip\": \"{{ipv4()}}\", "
+          + "\"reporter\": \"{{random(\"SRC\", \"DEST\")}}\""
+          + "}";
+
+  @Test
+  public void testNativeFunctions() throws Exception {
+    MessageTemplate template = MessageTemplate.compile(NATIVE_SCHEMA);
+    assertNotNull(template);
+    assertFalse(template.needsDataGenerator());
+
+    for (int i = 0; i < 100; i++) {
+      JsonObject message = parse(template.generate(null));
+      assertTrue(
+          message
+              .get("id")
+              .getAsString()
+              .matches("[0-9a-f]{8}-[0-9a-f]{4}-4[0-9a-f]{3}-[89ab][0-9a-f]{3}-[0-9a-f]{12}"));
+      assertTrue(message.get("eventTime").getAsLong() > 0);
+      assertEquals("John", message.get("username").getAsString());
+      int score = message.get("score").getAsInt();
+      assertTrue(score >= 0 && score <= 100);
+      long delta = message.get("delta").getAsLong();
+      assertTrue(delta >= -5 && delta <= -1);
+      double avg = message.get("avg").getAsDouble();
+      assertTrue(avg >= 100000 && avg <= 10000000);
+      assertTrue(message.get("completed").getAsJsonPrimitive().isBoolean());
+      assertTrue(message.get("ip").getAsString().matches("(\\d{1,3}\\.){3}\\d{1,3}"));
+      String reporter = message.get("reporter").getAsString();
+      assertTrue(reporter.equals("SRC") || reporter.equals("DEST"));
+    }
+  }
+
+  @Test
+  public void testOtherFunctionsUseDataGenerator() throws Exception {
+    MessageTemplate template =
+        MessageTemplate.compile(
+            "{\"id\": \"{{uuid()}}\", \"country\": \"{{country()}}\","
+                + " \"project\": \"{{concat(\"PROJECT\", integer(0,3))}}\"}");
+    assertNotNull(template);
+    assertTrue(template.needsDataGenerator());
+
+    JsonObject message = parse(template.generate(new JsonDataGeneratorImpl()));
+    assertFalse(message.get("country").getAsString().isEmpty());
+    assertTrue(message.get("project").getAsString().matches("PROJECT[0-3]"));
+  }
+
+  @Test
+  public void testSchemaFunctionsAreNotCompiled() {
+    assertNull(
+        MessageTemplate.compile(
+            "{\"id\": \"{{put(\"id\", uuid())}}\", \"attributes\": {\"id\": \"{{get(\"id\")}}\"}}"));
+    assertNull(MessageTemplate.compile("{\"tags\": ['{{repeat(3)}}', '{{uuid()}}']}"));
+    assertNull(MessageTemplate.compile("{\"id\": \"{{uuid()\"}"));
+  }
+
+  @Test
+  public void testSchemaWithoutExpressions() throws Exception {
+    String schema = "{\"name: \"Invalid\"";
+    assertEquals(
+        schema, new String(MessageTemplate.compile(schema).generate(null), StandardCharsets.UTF_8));
+  }
+
+  @Test
+  public void testBufferIsReused() throws Exception {
+    MessageTemplate template = MessageTemplate.compile("{\"id\": \"{{uuid()}}\"}");
+    byte[] first = template.generate(null);
+    byte[] second = template.generate(null);
+    assertEquals(first.length, second.length);
+    assertFalse(
+        new String(first, StandardCharsets.UTF_8)
+            .equals(new String(second, StandardCharsets.UTF_8)));
+  }
+
+  private static JsonObject parse(byte[] message) {
+    return JsonParser.parseString(new String(message, StandardCharsets.UTF_8)).getAsJsonObject();
+  }
+}